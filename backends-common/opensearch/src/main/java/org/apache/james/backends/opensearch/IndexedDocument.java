@@ -0,0 +1,76 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.backends.opensearch;
+
+import java.util.Objects;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+public class IndexedDocument {
+    private final DocumentId id;
+    private final String content;
+    private final RoutingKey routingKey;
+
+    public IndexedDocument(DocumentId id, String content, RoutingKey routingKey) {
+        Preconditions.checkNotNull(id);
+        Preconditions.checkArgument(content != null, "content should be provided");
+        Preconditions.checkNotNull(routingKey);
+        this.id = id;
+        this.content = content;
+        this.routingKey = routingKey;
+    }
+
+    public DocumentId getId() {
+        return id;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public RoutingKey getRoutingKey() {
+        return routingKey;
+    }
+
+    @Override
+    public final boolean equals(Object o) {
+        if (o instanceof IndexedDocument) {
+            IndexedDocument other = (IndexedDocument) o;
+            return Objects.equals(id, other.id)
+                && Objects.equals(content, other.content)
+                && Objects.equals(routingKey, other.routingKey);
+        }
+        return false;
+    }
+
+    @Override
+    public final int hashCode() {
+        return Objects.hash(id, content, routingKey);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("id", id)
+            .add("routingKey", routingKey)
+            .toString();
+    }
+}
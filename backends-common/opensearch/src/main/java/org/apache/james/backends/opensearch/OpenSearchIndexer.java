@@ -70,6 +70,32 @@ public class OpenSearchIndexer {
         }
     }
 
+    public Mono<BulkResponse> index(List<IndexedDocument> documents) {
+        Preconditions.checkNotNull(documents);
+
+        if (documents.isEmpty()) {
+            return Mono.empty();
+        }
+
+        BulkRequest.Builder bulkBuilder = new BulkRequest.Builder();
+        documents.forEach(document -> {
+            logContent(document.getId(), document.getContent());
+            bulkBuilder.operations(
+                op -> op.index(idx -> idx
+                    .index(aliasName.getValue())
+                    .id(document.getId().asString())
+                    .document(new RawValue(document.getContent()))
+                    .routing(document.getRoutingKey().asString())
+                ));
+        });
+
+        try {
+            return client.bulk(bulkBuilder.build());
+        } catch (IOException e) {
+            return Mono.error(e);
+        }
+    }
+
     private void logContent(DocumentId id, String content) {
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("Indexing {}: {}", id.asString(), StringUtils.left(content, DEBUG_MAX_LENGTH_CONTENT));
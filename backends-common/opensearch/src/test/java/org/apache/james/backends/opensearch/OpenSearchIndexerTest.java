@@ -38,6 +38,7 @@ import org.opensearch.client.opensearch._types.query_dsl.MatchAllQuery;
 import org.opensearch.client.opensearch._types.query_dsl.MatchQuery;
 import org.opensearch.client.opensearch._types.query_dsl.Query;
 import org.opensearch.client.opensearch._types.query_dsl.TermQuery;
+import org.opensearch.client.opensearch.core.BulkResponse;
 import org.opensearch.client.opensearch.core.GetResponse;
 import org.opensearch.client.opensearch.core.SearchRequest;
 
@@ -98,6 +99,30 @@ class OpenSearchIndexerTest {
             .isInstanceOf(IllegalArgumentException.class);
     }
     
+    @Test
+    void indexMessagesShouldWork() throws IOException {
+        DocumentId documentId1 = DocumentId.fromString("1");
+        DocumentId documentId2 = DocumentId.fromString("2");
+
+        BulkResponse response = testee.index(ImmutableList.of(
+                new IndexedDocument(documentId1, "{\"message\": \"trying out Elasticsearch\"}", useDocumentId(documentId1)),
+                new IndexedDocument(documentId2, "{\"message\": \"trying out OpenSearch\"}", useDocumentId(documentId2))))
+            .block();
+
+        assertThat(response.errors()).isFalse();
+        awaitForOpenSearch(new MatchQuery.Builder()
+            .field("message")
+            .query(new FieldValue.Builder().stringValue("trying").build())
+            .build()
+            .toQuery(), 2L);
+    }
+
+    @Test
+    void indexMessagesShouldNotThrowWhenEmptyList() {
+        assertThatCode(() -> testee.index(ImmutableList.of()).block())
+            .doesNotThrowAnyException();
+    }
+
     @Test
     void updateMessages() throws IOException {
         String content = "{\"message\": \"trying out Elasticsearch\",\"field\":\"Should be unchanged\"}";
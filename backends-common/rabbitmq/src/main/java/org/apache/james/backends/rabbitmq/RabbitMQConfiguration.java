@@ -312,6 +312,9 @@ public class RabbitMQConfiguration {
     private static final String EVENT_BUS_NOTIFICATION_DURABILITY_ENABLED = "event.bus.notification.durability.enabled";
     private static final String EVENT_BUS_PUBLISH_CONFIRM_ENABLED = "event.bus.publish.confirm.enabled";
     private static final String EVENT_BUS_PROPAGATE_DISPATCH_ERROR = "event.bus.propagate.dispatch.error";
+    private static final String EVENT_BUS_BINARY_ENCODING_ENABLED = "event.bus.binary.encoding.enabled";
+    private static final String EVENT_BUS_KEY_COALESCING_WINDOW = "event.bus.key.coalescing.window";
+    private static final String EVENT_BUS_GROUP_PARTITIONS = "event.bus.group.partitions";
     private static final String TASK_QUEUE_CONSUMER_TIMEOUT = "task.queue.consumer.timeout";
     private static final String VHOST = "vhost";
 
@@ -413,6 +416,9 @@ public class RabbitMQConfiguration {
         private Optional<Boolean> eventBusPublishConfirmEnabled;
         private Optional<Boolean> eventBusNotificationDurabilityEnabled;
         private Optional<Boolean> eventBusPropagateDispatchError;
+        private Optional<Boolean> eventBusBinaryEncodingEnabled;
+        private Optional<Duration> eventBusKeyCoalescingWindow;
+        private Optional<Integer> eventBusGroupPartitions;
         private Optional<String> vhost;
         private Optional<Duration> taskQueueConsumerTimeout;
 
@@ -440,6 +446,9 @@ public class RabbitMQConfiguration {
             this.vhost = Optional.empty();
             this.taskQueueConsumerTimeout = Optional.empty();
             this.eventBusPropagateDispatchError = Optional.empty();
+            this.eventBusBinaryEncodingEnabled = Optional.empty();
+            this.eventBusKeyCoalescingWindow = Optional.empty();
+            this.eventBusGroupPartitions = Optional.empty();
         }
 
         public Builder maxRetries(int maxRetries) {
@@ -532,6 +541,23 @@ public class RabbitMQConfiguration {
             return this;
         }
 
+        public Builder eventBusBinaryEncodingEnabled(Boolean eventBusBinaryEncodingEnabled) {
+            this.eventBusBinaryEncodingEnabled = Optional.ofNullable(eventBusBinaryEncodingEnabled);
+            return this;
+        }
+
+        public Builder eventBusKeyCoalescingWindow(Optional<Duration> eventBusKeyCoalescingWindow) {
+            eventBusKeyCoalescingWindow.ifPresent(window -> Preconditions.checkArgument(window.isPositive(), "'%s' must be strictly positive", EVENT_BUS_KEY_COALESCING_WINDOW));
+            this.eventBusKeyCoalescingWindow = eventBusKeyCoalescingWindow;
+            return this;
+        }
+
+        public Builder eventBusGroupPartitions(Optional<Integer> eventBusGroupPartitions) {
+            eventBusGroupPartitions.ifPresent(partitions -> Preconditions.checkArgument(partitions > 0, "'%s' must be strictly positive", EVENT_BUS_GROUP_PARTITIONS));
+            this.eventBusGroupPartitions = eventBusGroupPartitions;
+            return this;
+        }
+
         public Builder useSslManagement(Boolean useSslForManagement) {
             this.useSslManagement = Optional.of(useSslForManagement);
             return this;
@@ -589,7 +615,10 @@ public class RabbitMQConfiguration {
                     eventBusNotificationDurabilityEnabled.orElse(true),
                     vhost,
                     taskQueueConsumerTimeout.orElse(DEFAULT_TASK_QUEUE_CONSUMER_TIMEOUT),
-                    eventBusPropagateDispatchError.orElse(true));
+                    eventBusPropagateDispatchError.orElse(true),
+                    eventBusBinaryEncodingEnabled.orElse(false),
+                    eventBusKeyCoalescingWindow,
+                    eventBusGroupPartitions);
         }
 
         private List<Host> hostsDefaultingToUri() {
@@ -649,6 +678,9 @@ public class RabbitMQConfiguration {
         Optional<Duration> taskQueueConsumerTimeout = Optional.ofNullable(configuration.getString(TASK_QUEUE_CONSUMER_TIMEOUT, null))
             .map(value -> DurationParser.parse(value, ChronoUnit.SECONDS));
 
+        Optional<Duration> eventBusKeyCoalescingWindow = Optional.ofNullable(configuration.getString(EVENT_BUS_KEY_COALESCING_WINDOW, null))
+            .map(value -> DurationParser.parse(value, ChronoUnit.MILLIS));
+
         return builder()
             .amqpUri(amqpUri)
             .managementUri(managementUri)
@@ -665,6 +697,9 @@ public class RabbitMQConfiguration {
             .eventBusNotificationDurabilityEnabled(configuration.getBoolean(EVENT_BUS_NOTIFICATION_DURABILITY_ENABLED, null))
             .eventBusPublishConfirmEnabled(configuration.getBoolean(EVENT_BUS_PUBLISH_CONFIRM_ENABLED, null))
             .eventBusPropagateDispatchError(configuration.getBoolean(EVENT_BUS_PROPAGATE_DISPATCH_ERROR, null))
+            .eventBusBinaryEncodingEnabled(configuration.getBoolean(EVENT_BUS_BINARY_ENCODING_ENABLED, null))
+            .eventBusKeyCoalescingWindow(eventBusKeyCoalescingWindow)
+            .eventBusGroupPartitions(Optional.ofNullable(configuration.getInteger(EVENT_BUS_GROUP_PARTITIONS, null)))
             .vhost(vhost)
             .taskQueueConsumerTimeout(taskQueueConsumerTimeout)
             .build();
@@ -741,13 +776,18 @@ public class RabbitMQConfiguration {
     private final Optional<String> vhost;
     private final Duration taskQueueConsumerTimeout;
     private final boolean eventBusPropagateDispatchError;
+    private final boolean eventBusBinaryEncodingEnabled;
+    private final Optional<Duration> eventBusKeyCoalescingWindow;
+    private final Optional<Integer> eventBusGroupPartitions;
 
     private RabbitMQConfiguration(URI uri, URI managementUri, ManagementCredentials managementCredentials, int maxRetries, int minDelayInMs,
                                   int connectionTimeoutInMs, int channelRpcTimeoutInMs, int handshakeTimeoutInMs, int shutdownTimeoutInMs,
                                   int networkRecoveryIntervalInMs, Boolean useSsl, Boolean useSslManagement, SSLConfiguration sslConfiguration,
                                   boolean useQuorumQueues, Optional<Integer> quorumQueueDeliveryLimit, int quorumQueueReplicationFactor, List<Host> hosts, Optional<Long> queueTTL,
                                   boolean eventBusPublishConfirmEnabled, boolean eventBusNotificationDurabilityEnabled,
-                                  Optional<String> vhost, Duration taskQueueConsumerTimeout, boolean eventBusPropagateDispatchError) {
+                                  Optional<String> vhost, Duration taskQueueConsumerTimeout, boolean eventBusPropagateDispatchError,
+                                  boolean eventBusBinaryEncodingEnabled, Optional<Duration> eventBusKeyCoalescingWindow,
+                                  Optional<Integer> eventBusGroupPartitions) {
         this.uri = uri;
         this.managementUri = managementUri;
         this.managementCredentials = managementCredentials;
@@ -771,6 +811,9 @@ public class RabbitMQConfiguration {
         this.vhost = vhost;
         this.taskQueueConsumerTimeout = taskQueueConsumerTimeout;
         this.eventBusPropagateDispatchError = eventBusPropagateDispatchError;
+        this.eventBusBinaryEncodingEnabled = eventBusBinaryEncodingEnabled;
+        this.eventBusKeyCoalescingWindow = eventBusKeyCoalescingWindow;
+        this.eventBusGroupPartitions = eventBusGroupPartitions;
     }
 
     public URI getUri() {
@@ -887,6 +930,18 @@ public class RabbitMQConfiguration {
         return eventBusPropagateDispatchError;
     }
 
+    public boolean isEventBusBinaryEncodingEnabled() {
+        return eventBusBinaryEncodingEnabled;
+    }
+
+    public Optional<Duration> getEventBusKeyCoalescingWindow() {
+        return eventBusKeyCoalescingWindow;
+    }
+
+    public Optional<Integer> getEventBusGroupPartitions() {
+        return eventBusGroupPartitions;
+    }
+
     @Override
     public final boolean equals(Object o) {
         if (o instanceof RabbitMQConfiguration) {
@@ -914,7 +969,10 @@ public class RabbitMQConfiguration {
                 && Objects.equals(this.eventBusNotificationDurabilityEnabled, that.eventBusNotificationDurabilityEnabled)
                 && Objects.equals(this.vhost, that.vhost)
                 && Objects.equals(this.taskQueueConsumerTimeout, that.taskQueueConsumerTimeout)
-                && Objects.equals(this.eventBusPropagateDispatchError, that.eventBusPropagateDispatchError);
+                && Objects.equals(this.eventBusPropagateDispatchError, that.eventBusPropagateDispatchError)
+                && Objects.equals(this.eventBusBinaryEncodingEnabled, that.eventBusBinaryEncodingEnabled)
+                && Objects.equals(this.eventBusKeyCoalescingWindow, that.eventBusKeyCoalescingWindow)
+                && Objects.equals(this.eventBusGroupPartitions, that.eventBusGroupPartitions);
         }
         return false;
     }
@@ -923,6 +981,7 @@ public class RabbitMQConfiguration {
     public final int hashCode() {
         return Objects.hash(uri, managementUri, maxRetries, minDelayInMs, connectionTimeoutInMs, quorumQueueReplicationFactor, quorumQueueDeliveryLimit, useQuorumQueues, hosts,
             channelRpcTimeoutInMs, handshakeTimeoutInMs, shutdownTimeoutInMs, networkRecoveryIntervalInMs, managementCredentials, useSsl, useSslManagement,
-            sslConfiguration, queueTTL, eventBusPublishConfirmEnabled, eventBusNotificationDurabilityEnabled, vhost, taskQueueConsumerTimeout, eventBusPropagateDispatchError);
+            sslConfiguration, queueTTL, eventBusPublishConfirmEnabled, eventBusNotificationDurabilityEnabled, vhost, taskQueueConsumerTimeout, eventBusPropagateDispatchError,
+            eventBusBinaryEncodingEnabled, eventBusKeyCoalescingWindow, eventBusGroupPartitions);
     }
 }
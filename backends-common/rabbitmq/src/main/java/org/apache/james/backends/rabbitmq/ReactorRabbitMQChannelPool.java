@@ -810,6 +810,19 @@ public class ReactorRabbitMQChannelPool implements ChannelPool, Startable {
             .then();
     }
 
+    /**
+     * A passive declaration of a missing queue closes the channel it is issued on, hence the use of a dedicated sender.
+     */
+    public Mono<Boolean> queueExists(String queueName) {
+        return Mono.using(this::createSender,
+                managementSender -> managementSender.declareQueue(QueueSpecification.queue(queueName).passive(true)),
+                Sender::close)
+            .map(any -> true)
+            .onErrorResume(
+                e -> e instanceof ShutdownSignalException && e.getMessage().contains("reply-code=404"),
+                e -> Mono.just(false));
+    }
+
     @PreDestroy
     @Override
     public void close() {
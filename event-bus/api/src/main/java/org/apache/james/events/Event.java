@@ -80,4 +80,12 @@ public interface Event {
     boolean isNoop();
 
     EventId getEventId();
+
+    /**
+     * Events sharing a partition key are handled in order by group listeners when the event bus partitions their
+     * consumption. Defaults to the user the event belongs to.
+     */
+    default String partitionKey() {
+        return getUsername().asString();
+    }
 }
@@ -0,0 +1,35 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.events;
+
+import java.util.Optional;
+
+/**
+ * Compact binary representation of events, offered by an {@link EventSerializer} supporting it.
+ */
+public interface EventBinaryCodec {
+    /**
+     * @return the binary representation of the event, read back by {@link #decode(byte[])}. Empty when there is no
+     * binary representation for this kind of event, in which case the JSON representation should be used instead.
+     */
+    Optional<byte[]> encode(Event event);
+
+    Event decode(byte[] serialized);
+}
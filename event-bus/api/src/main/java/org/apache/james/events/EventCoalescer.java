@@ -0,0 +1,50 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.events;
+
+import java.util.Optional;
+
+/**
+ * Merges bursts of events delivered to the same {@link RegistrationKey}, so that key listeners get notified once
+ * for the whole burst rather than once per event.
+ */
+public interface EventCoalescer {
+    EventCoalescer NONE = new EventCoalescer() {
+        @Override
+        public boolean canCoalesce(Event event) {
+            return false;
+        }
+
+        @Override
+        public Optional<Event> merge(Event previous, Event next) {
+            return Optional.empty();
+        }
+    };
+
+    /**
+     * Events that can not be coalesced are delivered as soon as they are received.
+     */
+    boolean canCoalesce(Event event);
+
+    /**
+     * @return an event equivalent to delivering previous then next, empty when they can not be merged
+     */
+    Optional<Event> merge(Event previous, Event next);
+}
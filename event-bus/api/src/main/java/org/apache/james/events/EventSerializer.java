@@ -20,6 +20,7 @@
 package org.apache.james.events;
 
 import java.nio.charset.StandardCharsets;
+import java.util.Optional;
 
 public interface EventSerializer {
     String toJson(Event event);
@@ -33,4 +34,12 @@ public interface EventSerializer {
     default Event fromBytes(byte[] serialized) {
         return asEvent(new String(serialized, StandardCharsets.UTF_8));
     }
+
+    /**
+     * @return the binary encoding supported by this serializer, if any. Events are only binary encoded when it is
+     * present, and can then always be decoded back.
+     */
+    default Optional<EventBinaryCodec> binaryCodec() {
+        return Optional.empty();
+    }
 }
@@ -0,0 +1,186 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.events;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.ImmutableList;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Holds events that can be coalesced for a given {@link RegistrationKey} during a window, merging the ones received
+ * meanwhile, before handing them over to the key listeners.
+ *
+ * Events are buffered per origin {@link EventBusId} as listeners to be called depend on it. An event that can not be
+ * merged with the buffered one first releases the buffered event, so that ordering is preserved.
+ *
+ * Every state change of a buffer key happens atomically, and dispatches decided for a buffer key are chained after
+ * the previous ones, so that the window expiry, an eviction and an event that can not be coalesced never deliver
+ * concurrently nor out of order.
+ */
+class EventCoalescingBuffer {
+    @FunctionalInterface
+    interface Dispatcher {
+        Mono<Void> dispatch(RegistrationKey key, EventBusId origin, Event event);
+    }
+
+    private static class Slot {
+        private final Optional<Event> buffered;
+        private final long window;
+        private final Mono<Void> lastDispatch;
+
+        Slot(Optional<Event> buffered, long window, Mono<Void> lastDispatch) {
+            this.buffered = buffered;
+            this.window = window;
+            this.lastDispatch = lastDispatch;
+        }
+    }
+
+    private static class Decision {
+        private final Mono<Void> previous;
+        private final ImmutableList<Event> events;
+        private final Sinks.Empty<Void> done;
+        private final Mono<Void> completion;
+
+        Decision(Mono<Void> previous, ImmutableList<Event> events) {
+            this.previous = previous;
+            this.events = events;
+            this.done = Sinks.empty();
+            this.completion = done.asMono();
+        }
+    }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventCoalescingBuffer.class);
+
+    private final EventCoalescer coalescer;
+    private final Duration window;
+    private final Dispatcher dispatcher;
+    private final ConcurrentHashMap<Pair<RegistrationKey, EventBusId>, Slot> pending;
+    private final AtomicLong windows;
+
+    EventCoalescingBuffer(EventCoalescer coalescer, Duration window, Dispatcher dispatcher) {
+        this.coalescer = coalescer;
+        this.window = window;
+        this.dispatcher = dispatcher;
+        this.pending = new ConcurrentHashMap<>();
+        this.windows = new AtomicLong(0);
+    }
+
+    Mono<Void> submit(RegistrationKey key, EventBusId origin, Event event, Scheduler scheduler) {
+        Pair<RegistrationKey, EventBusId> bufferKey = Pair.of(key, origin);
+        long newWindow = windows.incrementAndGet();
+        AtomicReference<Decision> decision = new AtomicReference<>();
+
+        Slot slot = pending.compute(bufferKey, (any, current) -> {
+            Mono<Void> lastDispatch = Optional.ofNullable(current).map(value -> value.lastDispatch).orElse(Mono.empty());
+            Optional<Event> buffered = Optional.ofNullable(current).flatMap(value -> value.buffered);
+
+            if (!coalescer.canCoalesce(event)) {
+                ImmutableList<Event> events = ImmutableList.<Event>builder()
+                    .addAll(buffered.stream().iterator())
+                    .add(event)
+                    .build();
+                decision.set(new Decision(lastDispatch, events));
+                return new Slot(Optional.empty(), newWindow, decision.get().completion);
+            }
+            if (buffered.isEmpty()) {
+                return new Slot(Optional.of(event), newWindow, lastDispatch);
+            }
+            Optional<Event> merged = coalescer.merge(buffered.get(), event);
+            if (merged.isPresent()) {
+                return new Slot(merged, current.window, lastDispatch);
+            }
+            decision.set(new Decision(lastDispatch, ImmutableList.of(buffered.get())));
+            return new Slot(Optional.of(event), current.window, decision.get().completion);
+        });
+
+        if (slot.buffered.isPresent() && slot.window == newWindow) {
+            Mono.delay(window, scheduler)
+                .then(Mono.defer(() -> release(bufferKey, releasedSlot -> releasedSlot.window == newWindow)))
+                .subscribe(any -> { }, e -> LOGGER.error("Failed to deliver coalesced events for {}", key.asString(), e));
+        }
+        return Optional.ofNullable(decision.get())
+            .map(value -> execute(bufferKey, value))
+            .orElse(Mono.empty());
+    }
+
+    /**
+     * Releases all buffered events without waiting for their window to expire, and completes once every dispatch
+     * decided so far completed.
+     */
+    Mono<Void> flush() {
+        return Flux.fromIterable(ImmutableList.copyOf(pending.keySet()))
+            .flatMap(bufferKey -> release(bufferKey, any -> true)
+                .then(Mono.defer(() -> Mono.justOrEmpty(pending.get(bufferKey))
+                    .flatMap(slot -> slot.lastDispatch))))
+            .then();
+    }
+
+    private Mono<Void> release(Pair<RegistrationKey, EventBusId> bufferKey, Predicate<Slot> releasable) {
+        AtomicReference<Decision> decision = new AtomicReference<>();
+
+        pending.computeIfPresent(bufferKey, (any, current) -> {
+            if (current.buffered.isEmpty() || !releasable.test(current)) {
+                return current;
+            }
+            decision.set(new Decision(current.lastDispatch, ImmutableList.of(current.buffered.get())));
+            return new Slot(Optional.empty(), current.window, decision.get().completion);
+        });
+
+        return Optional.ofNullable(decision.get())
+            .map(value -> execute(bufferKey, value))
+            .orElse(Mono.empty());
+    }
+
+    private Mono<Void> execute(Pair<RegistrationKey, EventBusId> bufferKey, Decision decision) {
+        decision.previous
+            .then(Flux.fromIterable(decision.events)
+                .concatMap(event -> dispatcher.dispatch(bufferKey.getLeft(), bufferKey.getRight(), event)
+                    .onErrorResume(e -> {
+                        LOGGER.error("Failed to deliver coalesced events for {}", bufferKey.getLeft().asString(), e);
+                        return Mono.empty();
+                    }))
+                .then())
+            .doFinally(any -> {
+                decision.done.tryEmitEmpty();
+                pending.computeIfPresent(bufferKey, (key, current) -> {
+                    if (current.buffered.isEmpty() && current.lastDispatch == decision.completion) {
+                        return null;
+                    }
+                    return current;
+                });
+            })
+            .subscribe();
+        return decision.completion;
+    }
+}
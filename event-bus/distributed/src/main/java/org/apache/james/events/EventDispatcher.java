@@ -28,10 +28,13 @@ import static org.apache.james.backends.rabbitmq.Constants.EXCLUSIVE;
 import static org.apache.james.backends.rabbitmq.Constants.evaluateAutoDelete;
 import static org.apache.james.backends.rabbitmq.Constants.evaluateDurable;
 import static org.apache.james.backends.rabbitmq.Constants.evaluateExclusive;
+import static org.apache.james.events.EventEncoding.BINARY_ENCODING;
+import static org.apache.james.events.EventEncoding.EVENT_ENCODING;
 import static org.apache.james.events.RabbitMQEventBus.EVENT_BUS_ID;
 
 import java.time.Duration;
 import java.util.Collection;
+import java.util.Optional;
 import java.util.Set;
 
 import org.apache.james.backends.rabbitmq.RabbitMQConfiguration;
@@ -59,15 +62,29 @@ import reactor.util.retry.Retry;
 
 public class EventDispatcher {
     private static final Logger LOGGER = LoggerFactory.getLogger(EventDispatcher.class);
+    private static final String BINARY_CONTENT_TYPE = "application/octet-stream";
+
+    private static class SerializedEvent {
+        private final byte[] payload;
+        private final AMQP.BasicProperties properties;
+
+        SerializedEvent(byte[] payload, AMQP.BasicProperties properties) {
+            this.payload = payload;
+            this.properties = properties;
+        }
+    }
 
     private final NamingStrategy namingStrategy;
     private final EventSerializer eventSerializer;
+    private final Optional<EventBinaryCodec> binaryCodec;
     private final Sender sender;
     private final LocalListenerRegistry localListenerRegistry;
     private final AMQP.BasicProperties basicProperties;
+    private final AMQP.BasicProperties binaryBasicProperties;
     private final ListenerExecutor listenerExecutor;
     private final EventDeadLetters deadLetters;
     private final RabbitMQConfiguration configuration;
+    private final Optional<GroupPartitions> groupPartitions;
 
     private final DispatchingFailureGroup dispatchingFailureGroup;
 
@@ -77,6 +94,7 @@ public class EventDispatcher {
                     EventDeadLetters deadLetters, RabbitMQConfiguration configuration) {
         this.namingStrategy = namingStrategy;
         this.eventSerializer = eventSerializer;
+        this.binaryCodec = EventEncoding.publishingCodec(eventSerializer, configuration);
         this.sender = sender;
         this.localListenerRegistry = localListenerRegistry;
         this.basicProperties = new AMQP.BasicProperties.Builder()
@@ -85,9 +103,14 @@ public class EventDispatcher {
             .priority(PERSISTENT_TEXT_PLAIN.getPriority())
             .contentType(PERSISTENT_TEXT_PLAIN.getContentType())
             .build();
+        this.binaryBasicProperties = basicProperties.builder()
+            .headers(ImmutableMap.of(EVENT_BUS_ID, eventBusId.asString(), EVENT_ENCODING, BINARY_ENCODING))
+            .contentType(BINARY_CONTENT_TYPE)
+            .build();
         this.listenerExecutor = listenerExecutor;
         this.deadLetters = deadLetters;
         this.configuration = configuration;
+        this.groupPartitions = GroupPartitions.from(configuration);
         this.dispatchingFailureGroup = new DispatchingFailureGroup(namingStrategy.getEventBusName());
     }
 
@@ -159,8 +182,8 @@ public class EventDispatcher {
             .then();
     }
 
-    private Mono<Void> remoteGroupsDispatch(byte[] serializedEvent, Event event) {
-        return remoteDispatchWithAcks(serializedEvent)
+    private Mono<Void> remoteGroupsDispatch(SerializedEvent serializedEvent, Event event) {
+        return remoteDispatchWithAcks(serializedEvent, groupRoutingKey(event))
             .doOnError(ex -> LOGGER.error(
                 "cannot dispatch event of type '{}' belonging '{}' with id '{}' to remote groups, store it into dead letter",
                 event.getClass().getSimpleName(),
@@ -178,43 +201,54 @@ public class EventDispatcher {
         return Mono.empty();
     }
 
-    private Mono<Void> remoteKeysDispatch(byte[] serializedEvent, Set<RegistrationKey> keys) {
+    private Mono<Void> remoteKeysDispatch(SerializedEvent serializedEvent, Set<RegistrationKey> keys) {
         return remoteDispatch(serializedEvent,
             keys.stream()
                 .map(RoutingKey::of)
                 .collect(ImmutableList.toImmutableList()));
     }
 
-    private Mono<Void> remoteDispatch(byte[] serializedEvent, Collection<RoutingKey> routingKeys) {
+    private Mono<Void> remoteDispatch(SerializedEvent serializedEvent, Collection<RoutingKey> routingKeys) {
         if (routingKeys.isEmpty()) {
             return Mono.empty();
         }
         return sender.send(toMessages(serializedEvent, routingKeys));
     }
 
-    private Mono<Void> remoteDispatchWithAcks(byte[] serializedEvent) {
+    private String groupRoutingKey(Event event) {
+        return groupPartitions.map(partitions -> partitions.routingKey(event))
+            .orElse(EMPTY_ROUTING_KEY);
+    }
+
+    private Mono<Void> remoteDispatchWithAcks(SerializedEvent serializedEvent, String routingKey) {
         if (configuration.isEventBusPublishConfirmEnabled()) {
-            return Mono.from(sender.sendWithPublishConfirms(Mono.just(toMessage(serializedEvent, RoutingKey.empty())))
+            return Mono.from(sender.sendWithPublishConfirms(Mono.just(toMessage(serializedEvent, routingKey)))
                 .subscribeOn(Schedulers.boundedElastic())) // channel.confirmSelect is synchronous
                 .filter(outboundMessageResult -> !outboundMessageResult.isAck())
                 .handle((result, sink) -> sink.error(new Exception("Publish was not acked")))
                 .retryWhen(Retry.backoff(2, Duration.ofMillis(100)))
                 .then();
         } else {
-            return sender.send(Mono.just(toMessage(serializedEvent, RoutingKey.empty())));
+            return sender.send(Mono.just(toMessage(serializedEvent, routingKey)));
         }
     }
 
-    private Flux<OutboundMessage> toMessages(byte[] serializedEvent, Collection<RoutingKey> routingKeys) {
+    private Flux<OutboundMessage> toMessages(SerializedEvent serializedEvent, Collection<RoutingKey> routingKeys) {
         return Flux.fromIterable(routingKeys)
                 .map(routingKey -> toMessage(serializedEvent, routingKey));
     }
 
-    private OutboundMessage toMessage(byte[] serializedEvent, RoutingKey routingKey) {
-        return new OutboundMessage(namingStrategy.exchange(), routingKey.asString(), basicProperties, serializedEvent);
+    private OutboundMessage toMessage(SerializedEvent serializedEvent, RoutingKey routingKey) {
+        return toMessage(serializedEvent, routingKey.asString());
+    }
+
+    private OutboundMessage toMessage(SerializedEvent serializedEvent, String routingKey) {
+        return new OutboundMessage(namingStrategy.exchange(), routingKey, serializedEvent.properties, serializedEvent.payload);
     }
 
-    private byte[] serializeEvent(Event event) {
-        return eventSerializer.toJsonBytes(event);
+    private SerializedEvent serializeEvent(Event event) {
+        return binaryCodec.flatMap(codec -> codec.encode(event))
+            .map(payload -> new SerializedEvent(payload, binaryBasicProperties))
+            .orElseGet(() -> new SerializedEvent(eventSerializer.toJsonBytes(event), basicProperties));
     }
 }
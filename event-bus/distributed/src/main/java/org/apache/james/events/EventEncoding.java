@@ -0,0 +1,73 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.events;
+
+import java.util.Optional;
+
+import org.apache.james.backends.rabbitmq.RabbitMQConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.rabbitmq.client.AMQP;
+
+/**
+ * Events are published as JSON unless the binary encoding is enabled, in which case the {@link #EVENT_ENCODING}
+ * header tells consumers how to read them. Consumers always understand both encodings, so that nodes can be
+ * upgraded one at a time before enabling the binary encoding.
+ *
+ * Only serializers offering an {@link EventBinaryCodec} get their events binary encoded: the header is never set for
+ * the others, whose events keep being published as JSON.
+ */
+class EventEncoding {
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventEncoding.class);
+
+    static final String EVENT_ENCODING = "event-encoding";
+    static final String BINARY_ENCODING = "binary";
+
+    static Optional<EventBinaryCodec> publishingCodec(EventSerializer eventSerializer, RabbitMQConfiguration configuration) {
+        if (!configuration.isEventBusBinaryEncodingEnabled()) {
+            return Optional.empty();
+        }
+        Optional<EventBinaryCodec> binaryCodec = eventSerializer.binaryCodec();
+        if (binaryCodec.isEmpty()) {
+            LOGGER.info("{} has no binary encoding, events will be published as JSON", eventSerializer.getClass().getName());
+        }
+        return binaryCodec;
+    }
+
+    static Event deserialize(EventSerializer eventSerializer, byte[] body, AMQP.BasicProperties properties) {
+        if (isBinary(properties)) {
+            return eventSerializer.binaryCodec()
+                .orElseThrow(() -> new IllegalArgumentException("Received a binary encoded event while "
+                    + eventSerializer.getClass().getName() + " has no binary encoding"))
+                .decode(body);
+        }
+        return eventSerializer.fromBytes(body);
+    }
+
+    private static boolean isBinary(AMQP.BasicProperties properties) {
+        return Optional.ofNullable(properties)
+            .flatMap(any -> Optional.ofNullable(any.getHeaders()))
+            .flatMap(headers -> Optional.ofNullable(headers.get(EVENT_ENCODING)))
+            .map(Object::toString)
+            .filter(BINARY_ENCODING::equals)
+            .isPresent();
+    }
+}
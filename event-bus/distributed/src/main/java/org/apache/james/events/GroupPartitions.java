@@ -0,0 +1,72 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.events;
+
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import org.apache.james.backends.rabbitmq.RabbitMQConfiguration;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Spreads the events handled by groups over a fixed count of partitions, based on {@link Event#partitionKey()}.
+ *
+ * Each partition is a work queue with a single active consumer within the cluster, handled serially: events sharing a
+ * partition key are handled in order while distinct partitions are handled in parallel.
+ */
+class GroupPartitions {
+    private static final String ROUTING_KEY_PREFIX = "group-partition-";
+
+    static Optional<GroupPartitions> from(RabbitMQConfiguration configuration) {
+        return configuration.getEventBusGroupPartitions()
+            .map(GroupPartitions::new);
+    }
+
+    private final int count;
+
+    GroupPartitions(int count) {
+        Preconditions.checkArgument(count > 0, "Partition count needs to be strictly positive");
+        this.count = count;
+    }
+
+    int count() {
+        return count;
+    }
+
+    ImmutableList<Integer> partitions() {
+        return IntStream.range(0, count)
+            .boxed()
+            .collect(ImmutableList.toImmutableList());
+    }
+
+    int partitionOf(Event event) {
+        return Math.floorMod(event.partitionKey().hashCode(), count);
+    }
+
+    String routingKey(int partition) {
+        return ROUTING_KEY_PREFIX + partition;
+    }
+
+    String routingKey(Event event) {
+        return routingKey(partitionOf(event));
+    }
+}
@@ -68,6 +68,10 @@ class GroupRegistration implements Registration {
         String asString() {
             return prefix + "-workQueue-" + group.asString();
         }
+
+        String partition(int partition) {
+            return asString() + "-partition-" + partition;
+        }
     }
 
     private static final Logger LOGGER = LoggerFactory.getLogger(GroupRegistration.class);
@@ -153,10 +157,9 @@ class GroupRegistration implements Registration {
     }
 
     private Mono<Void> deliver(AcknowledgableDelivery acknowledgableDelivery) {
-        byte[] eventAsBytes = acknowledgableDelivery.getBody();
         int currentRetryCount = getRetryCount(acknowledgableDelivery);
 
-        return deserializeEvent(eventAsBytes)
+        return deserializeEvent(acknowledgableDelivery)
             .flatMap(event -> delayGenerator.delayIfHaveTo(currentRetryCount)
                 .flatMap(any -> runListenerReliably(currentRetryCount, event))
                 .then(Mono.<Void>fromRunnable(acknowledgableDelivery::ack).subscribeOn(Schedulers.boundedElastic())))
@@ -173,8 +176,8 @@ class GroupRegistration implements Registration {
             .onErrorResume(throwable -> retryHandler.handleRetry(event, currentRetryCount, throwable));
     }
 
-    private Mono<Event> deserializeEvent(byte[] eventAsBytes) {
-        return Mono.fromCallable(() -> eventSerializer.fromBytes(eventAsBytes))
+    private Mono<Event> deserializeEvent(AcknowledgableDelivery acknowledgableDelivery) {
+        return Mono.fromCallable(() -> EventEncoding.deserialize(eventSerializer, acknowledgableDelivery.getBody(), acknowledgableDelivery.getProperties()))
             .subscribeOn(Schedulers.parallel());
     }
 
@@ -37,6 +37,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.james.backends.rabbitmq.QueueArguments;
 import org.apache.james.backends.rabbitmq.RabbitMQConfiguration;
 import org.apache.james.backends.rabbitmq.ReactorRabbitMQChannelPool;
 import org.apache.james.backends.rabbitmq.ReceiverProvider;
@@ -79,7 +80,9 @@ class GroupRegistrationHandler {
     private final ListenerExecutor listenerExecutor;
     private final RabbitMQConfiguration configuration;
     private final GroupRegistration.WorkQueueName queueName;
+    private final Optional<GroupPartitions> groupPartitions;
     private final Scheduler scheduler;
+    private ImmutableList<String> leftoverWorkQueues;
     private Optional<Disposable> consumer;
 
     GroupRegistrationHandler(NamingStrategy namingStrategy, EventSerializer eventSerializer, ReactorRabbitMQChannelPool channelPool, Sender sender, ReceiverProvider receiverProvider,
@@ -96,7 +99,9 @@ class GroupRegistrationHandler {
         this.configuration = configuration;
         this.groupRegistrations = new ConcurrentHashMap<>();
         this.queueName = namingStrategy.workQueue(GROUP);
+        this.groupPartitions = GroupPartitions.from(configuration);
         this.scheduler = Schedulers.newBoundedElastic(EventBus.EXECUTION_RATE, ReactorUtils.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE, "groups-handler");
+        this.leftoverWorkQueues = ImmutableList.of();
         this.consumer = Optional.empty();
     }
 
@@ -106,39 +111,105 @@ class GroupRegistrationHandler {
     }
 
     public void start() {
-        channelPool.createWorkQueue(
-            QueueSpecification.queue(queueName.asString())
+        groupPartitions.map(this::createPartitionWorkQueues)
+            .orElseGet(() -> createWorkQueue(queueName.asString(), EMPTY_ROUTING_KEY, configuration.workQueueArgumentsBuilder()))
+            .retryWhen(Retry.backoff(retryBackoff.getMaxRetries(), retryBackoff.getFirstBackoff()).jitter(retryBackoff.getJitterFactor()).scheduler(Schedulers.boundedElastic()))
+            .block();
+        this.leftoverWorkQueues = ImmutableList.copyOf(leftoverWorkQueues().collectList().block());
+
+        this.consumer = Optional.of(consumeWorkQueue());
+    }
+
+    /**
+     * Work queues left over by a former setup: the un-partitioned work queue when partitioning, and partitions beyond
+     * the current partition count (all of them when not partitioning). Nodes not yet restarted keep publishing to
+     * them, so they are consumed until an operator deletes them.
+     */
+    private Flux<String> leftoverWorkQueues() {
+        int partitionCount = groupPartitions.map(GroupPartitions::count).orElse(0);
+        Flux<String> legacyWorkQueue = Mono.just(queueName.asString())
+            .filter(any -> groupPartitions.isPresent())
+            .filterWhen(channelPool::queueExists)
+            .flux();
+        Flux<String> stalePartitions = Flux.range(partitionCount, Integer.MAX_VALUE - partitionCount)
+            .map(queueName::partition)
+            .concatMap(name -> channelPool.queueExists(name).map(exists -> Pair.of(name, exists)))
+            .takeWhile(Pair::getRight)
+            .map(Pair::getLeft);
+
+        return Flux.concat(legacyWorkQueue, stalePartitions)
+            .doOnNext(name -> LOGGER.warn("Work queue {} was left over by a former event bus setup. It will be consumed until deleted, " +
+                "which can be done once every James node uses the current setup and the queue is empty.", name));
+    }
+
+    private Mono<Void> createPartitionWorkQueues(GroupPartitions partitions) {
+        return Flux.fromIterable(partitions.partitions())
+            .concatMap(partition -> createWorkQueue(queueName.partition(partition), partitions.routingKey(partition),
+                configuration.workQueueArgumentsBuilder().singleActiveConsumer()))
+            .then();
+    }
+
+    private Mono<Void> createWorkQueue(String name, String routingKey, QueueArguments.Builder arguments) {
+        return channelPool.createWorkQueue(
+            QueueSpecification.queue(name)
                 .durable(evaluateDurable(DURABLE, configuration.isQuorumQueuesUsed()))
                 .exclusive(evaluateExclusive(!EXCLUSIVE, configuration.isQuorumQueuesUsed()))
                 .autoDelete(evaluateAutoDelete(!AUTO_DELETE, configuration.isQuorumQueuesUsed()))
-                .arguments(configuration.workQueueArgumentsBuilder()
+                .arguments(arguments
                     .deadLetter(namingStrategy.deadLetterExchange())
                     .build()),
             BindingSpecification.binding()
                 .exchange(namingStrategy.exchange())
-                .queue(queueName.asString())
-                .routingKey(EMPTY_ROUTING_KEY))
-            .retryWhen(Retry.backoff(retryBackoff.getMaxRetries(), retryBackoff.getFirstBackoff()).jitter(retryBackoff.getJitterFactor()).scheduler(Schedulers.boundedElastic()))
-            .block();
-
-        this.consumer = Optional.of(consumeWorkQueue());
+                .queue(name)
+                .routingKey(routingKey));
     }
 
     private Disposable consumeWorkQueue() {
-        return Flux.using(
-                receiverProvider::createReceiver,
-            receiver -> receiver.consumeManualAck(queueName.asString(), new ConsumeOptions().qos(EventBus.EXECUTION_RATE)),
-            Receiver::close)
-            .filter(delivery -> Objects.nonNull(delivery.getBody()))
-            .flatMap(this::deliver, EventBus.EXECUTION_RATE)
+        return Flux.merge(
+                groupPartitions.map(this::consumePartitions)
+                    .orElseGet(() -> consume(queueName.asString())
+                        .flatMap(this::deliver, EventBus.EXECUTION_RATE)),
+                consumeLeftoverWorkQueues())
             .subscribeOn(scheduler)
             .subscribe();
     }
 
+    private Flux<Void> consumePartitions(GroupPartitions partitions) {
+        // Deliveries of a partition are handled one at a time in order to preserve their ordering
+        return Flux.fromIterable(partitions.partitions())
+            .flatMap(partition -> consume(queueName.partition(partition))
+                .concatMap(this::deliver), partitions.count());
+    }
+
+    private Flux<Void> consumeLeftoverWorkQueues() {
+        return Flux.fromIterable(leftoverWorkQueues)
+            .flatMap(name -> consume(name)
+                .concatMap(this::deliver)
+                .onErrorResume(e -> {
+                    LOGGER.info("Stopped consuming left over work queue {}", name, e);
+                    return Flux.empty();
+                }), Math.max(1, leftoverWorkQueues.size()));
+    }
+
+    private Flux<AcknowledgableDelivery> consume(String queue) {
+        return Flux.using(
+                receiverProvider::createReceiver,
+                receiver -> receiver.consumeManualAck(queue, new ConsumeOptions().qos(EventBus.EXECUTION_RATE)),
+                Receiver::close)
+            .filter(delivery -> Objects.nonNull(delivery.getBody()));
+    }
+
+    ImmutableList<String> workQueueNames() {
+        return groupPartitions.map(partitions -> partitions.partitions()
+                .stream()
+                .map(queueName::partition)
+                .collect(ImmutableList.toImmutableList()))
+            .orElseGet(() -> ImmutableList.of(queueName.asString()));
+    }
+
     private Mono<Void> deliver(AcknowledgableDelivery acknowledgableDelivery) {
-        byte[] eventAsBytes = acknowledgableDelivery.getBody();
 
-        return deserializeEvent(eventAsBytes)
+        return deserializeEvent(acknowledgableDelivery)
             .flatMapIterable(aa -> groupRegistrations.values()
                 .stream()
                 .map(group -> Pair.of(group, aa))
@@ -154,8 +225,8 @@ class GroupRegistrationHandler {
             });
     }
 
-    private Mono<Event> deserializeEvent(byte[] eventAsBytes) {
-        return Mono.fromCallable(() -> eventSerializer.fromBytes(eventAsBytes));
+    private Mono<Event> deserializeEvent(AcknowledgableDelivery acknowledgableDelivery) {
+        return Mono.fromCallable(() -> EventEncoding.deserialize(eventSerializer, acknowledgableDelivery.getBody(), acknowledgableDelivery.getProperties()));
     }
 
     void stop() {
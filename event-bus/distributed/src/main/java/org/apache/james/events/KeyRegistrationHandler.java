@@ -62,6 +62,7 @@ class KeyRegistrationHandler {
     private static final Duration EXPIRATION_TIMEOUT = Duration.ofMinutes(30);
 
     private static final Duration TOPOLOGY_CHANGES_TIMEOUT = Duration.ofMinutes(1);
+    private static final Duration COALESCING_FLUSH_TIMEOUT = Duration.ofSeconds(10);
 
     private final EventBusId eventBusId;
     private final LocalListenerRegistry localListenerRegistry;
@@ -76,13 +77,15 @@ class KeyRegistrationHandler {
     private final ReceiverProvider receiverProvider;
     private Optional<Disposable> receiverSubscriber;
     private final MetricFactory metricFactory;
+    private final Optional<EventCoalescingBuffer> coalescingBuffer;
     private Scheduler scheduler;
     private Disposable newSubscription;
 
     KeyRegistrationHandler(NamingStrategy namingStrategy, EventBusId eventBusId, EventSerializer eventSerializer,
                            Sender sender, ReceiverProvider receiverProvider,
                            RoutingKeyConverter routingKeyConverter, LocalListenerRegistry localListenerRegistry,
-                           ListenerExecutor listenerExecutor, RetryBackoffConfiguration retryBackoff, RabbitMQConfiguration configuration, MetricFactory metricFactory) {
+                           ListenerExecutor listenerExecutor, RetryBackoffConfiguration retryBackoff, RabbitMQConfiguration configuration, MetricFactory metricFactory,
+                           EventCoalescer eventCoalescer) {
         this.eventBusId = eventBusId;
         this.eventSerializer = eventSerializer;
         this.sender = sender;
@@ -96,6 +99,8 @@ class KeyRegistrationHandler {
         this.registrationQueue = namingStrategy.queueName(eventBusId);
         this.registrationBinder = new RegistrationBinder(namingStrategy, sender, registrationQueue);
         this.receiverSubscriber = Optional.empty();
+        this.coalescingBuffer = configuration.getEventBusKeyCoalescingWindow()
+            .map(window -> new EventCoalescingBuffer(eventCoalescer, window, this::dispatch));
     }
 
     void start() {
@@ -146,6 +151,13 @@ class KeyRegistrationHandler {
             .block();
         receiverSubscriber.filter(Predicate.not(Disposable::isDisposed))
                 .ifPresent(Disposable::dispose);
+        coalescingBuffer.ifPresent(buffer -> buffer.flush()
+            .timeout(COALESCING_FLUSH_TIMEOUT)
+            .onErrorResume(e -> {
+                LOGGER.warn("Failed to deliver coalesced events upon stop", e);
+                return Mono.empty();
+            })
+            .block());
         Optional.ofNullable(scheduler).ifPresent(Scheduler::dispose);
     }
 
@@ -186,22 +198,30 @@ class KeyRegistrationHandler {
         String routingKey = delivery.getEnvelope().getRoutingKey();
         RegistrationKey registrationKey = routingKeyConverter.toRegistrationKey(routingKey);
 
-        List<EventListener.ReactiveEventListener> listenersToCall = localListenerRegistry.getLocalListeners(registrationKey)
-            .stream()
-            .filter(listener -> !isLocalSynchronousListeners(eventBusId, listener))
-            .collect(ImmutableList.toImmutableList());
-
-        if (listenersToCall.isEmpty()) {
+        if (listenersToCall(registrationKey, eventBusId).isEmpty()) {
             return Mono.empty();
         }
 
         Event event = toEvent(delivery);
 
-        return Flux.fromIterable(listenersToCall)
+        return coalescingBuffer
+            .map(buffer -> buffer.submit(registrationKey, eventBusId, event, scheduler))
+            .orElseGet(() -> dispatch(registrationKey, eventBusId, event));
+    }
+
+    private Mono<Void> dispatch(RegistrationKey registrationKey, EventBusId eventBusId, Event event) {
+        return Flux.fromIterable(listenersToCall(registrationKey, eventBusId))
             .flatMap(listener -> executeListener(listener, event, registrationKey), EventBus.EXECUTION_RATE)
             .then();
     }
 
+    private List<EventListener.ReactiveEventListener> listenersToCall(RegistrationKey registrationKey, EventBusId eventBusId) {
+        return localListenerRegistry.getLocalListeners(registrationKey)
+            .stream()
+            .filter(listener -> !isLocalSynchronousListeners(eventBusId, listener))
+            .collect(ImmutableList.toImmutableList());
+    }
+
     private Mono<Void> executeListener(EventListener.ReactiveEventListener listener, Event event, RegistrationKey key) {
         MDCBuilder mdcBuilder = MDCBuilder.create()
             .addToContext(EventBus.StructuredLoggingFields.REGISTRATION_KEY, key.asString());
@@ -219,7 +239,7 @@ class KeyRegistrationHandler {
     }
 
     private Event toEvent(Delivery delivery) {
-        return eventSerializer.fromBytes(delivery.getBody());
+        return EventEncoding.deserialize(eventSerializer, delivery.getBody(), delivery.getProperties());
     }
 
     private StructuredLogger structuredLogger(Event event, RegistrationKey key) {
@@ -63,13 +63,13 @@ public class RabbitEventBusConsumerHealthCheck implements HealthCheck {
     }
 
     private Result check(Channel channel) {
-        Stream<Group> groups = Stream.concat(
-            eventBus.listRegisteredGroups().stream(),
-            Stream.of(new GroupRegistrationHandler.GroupRegistrationHandlerGroup()));
+        Stream<String> workQueues = Stream.concat(
+            eventBus.listRegisteredGroups().stream()
+                .map(namingStrategy::workQueue)
+                .map(GroupRegistration.WorkQueueName::asString),
+            eventBus.groupHandlerWorkQueueNames().stream());
 
-        Optional<String> queueWithoutConsumers = groups
-            .map(namingStrategy::workQueue)
-            .map(GroupRegistration.WorkQueueName::asString)
+        Optional<String> queueWithoutConsumers = workQueues
             .filter(Throwing.predicate(queue -> channel.consumerCount(queue) == 0))
             .findAny();
 
@@ -55,6 +55,7 @@ public class RabbitMQEventBus implements EventBus, Startable {
     private final ReactorRabbitMQChannelPool channelPool;
     private final RabbitMQConfiguration configuration;
     private final MetricFactory metricFactory;
+    private final EventCoalescer eventCoalescer;
 
     private volatile boolean isRunning;
     private volatile boolean isStopping;
@@ -62,12 +63,21 @@ public class RabbitMQEventBus implements EventBus, Startable {
     private KeyRegistrationHandler keyRegistrationHandler;
     private EventDispatcher eventDispatcher;
 
-    @Inject
     public RabbitMQEventBus(NamingStrategy namingStrategy, Sender sender, ReceiverProvider receiverProvider, EventSerializer eventSerializer,
                             RetryBackoffConfiguration retryBackoff,
                             RoutingKeyConverter routingKeyConverter,
                             EventDeadLetters eventDeadLetters, MetricFactory metricFactory, ReactorRabbitMQChannelPool channelPool,
                             EventBusId eventBusId, RabbitMQConfiguration configuration) {
+        this(namingStrategy, sender, receiverProvider, eventSerializer, retryBackoff, routingKeyConverter, eventDeadLetters,
+            metricFactory, channelPool, eventBusId, configuration, EventCoalescer.NONE);
+    }
+
+    @Inject
+    public RabbitMQEventBus(NamingStrategy namingStrategy, Sender sender, ReceiverProvider receiverProvider, EventSerializer eventSerializer,
+                            RetryBackoffConfiguration retryBackoff,
+                            RoutingKeyConverter routingKeyConverter,
+                            EventDeadLetters eventDeadLetters, MetricFactory metricFactory, ReactorRabbitMQChannelPool channelPool,
+                            EventBusId eventBusId, RabbitMQConfiguration configuration, EventCoalescer eventCoalescer) {
         this.namingStrategy = namingStrategy;
         this.sender = sender;
         this.receiverProvider = receiverProvider;
@@ -80,6 +90,7 @@ public class RabbitMQEventBus implements EventBus, Startable {
         this.eventDeadLetters = eventDeadLetters;
         this.configuration = configuration;
         this.metricFactory = metricFactory;
+        this.eventCoalescer = eventCoalescer;
         this.isRunning = false;
         this.isStopping = false;
     }
@@ -88,7 +99,7 @@ public class RabbitMQEventBus implements EventBus, Startable {
         if (!isRunning && !isStopping) {
 
             LocalListenerRegistry localListenerRegistry = new LocalListenerRegistry();
-            keyRegistrationHandler = new KeyRegistrationHandler(namingStrategy, eventBusId, eventSerializer, sender, receiverProvider, routingKeyConverter, localListenerRegistry, listenerExecutor, retryBackoff, configuration, metricFactory);
+            keyRegistrationHandler = new KeyRegistrationHandler(namingStrategy, eventBusId, eventSerializer, sender, receiverProvider, routingKeyConverter, localListenerRegistry, listenerExecutor, retryBackoff, configuration, metricFactory, eventCoalescer);
             groupRegistrationHandler = new GroupRegistrationHandler(namingStrategy, eventSerializer, channelPool, sender, receiverProvider, retryBackoff, eventDeadLetters, listenerExecutor, eventBusId, configuration);
             eventDispatcher = new EventDispatcher(namingStrategy, eventBusId, eventSerializer, sender, localListenerRegistry, listenerExecutor, eventDeadLetters, configuration);
 
@@ -108,7 +119,7 @@ public class RabbitMQEventBus implements EventBus, Startable {
         if (!isRunning && !isStopping) {
 
             LocalListenerRegistry localListenerRegistry = new LocalListenerRegistry();
-            keyRegistrationHandler = new KeyRegistrationHandler(namingStrategy, eventBusId, eventSerializer, sender, receiverProvider, routingKeyConverter, localListenerRegistry, listenerExecutor, retryBackoff, configuration, metricFactory);
+            keyRegistrationHandler = new KeyRegistrationHandler(namingStrategy, eventBusId, eventSerializer, sender, receiverProvider, routingKeyConverter, localListenerRegistry, listenerExecutor, retryBackoff, configuration, metricFactory, eventCoalescer);
             groupRegistrationHandler = new GroupRegistrationHandler(namingStrategy, eventSerializer, channelPool, sender, receiverProvider, retryBackoff, eventDeadLetters, listenerExecutor, eventBusId, configuration);
             eventDispatcher = new EventDispatcher(namingStrategy, eventBusId, eventSerializer, sender, localListenerRegistry, listenerExecutor, eventDeadLetters, configuration);
 
@@ -185,4 +196,8 @@ public class RabbitMQEventBus implements EventBus, Startable {
     public Collection<Group> listRegisteredGroups() {
         return groupRegistrationHandler.registeredGroups();
     }
+
+    Collection<String> groupHandlerWorkQueueNames() {
+        return groupRegistrationHandler.workQueueNames();
+    }
 }
\ No newline at end of file
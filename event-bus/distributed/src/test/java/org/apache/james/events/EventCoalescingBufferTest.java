@@ -0,0 +1,181 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.events;
+
+import static org.apache.james.events.EventBusTestFixture.EVENT;
+import static org.apache.james.events.EventBusTestFixture.EVENT_2;
+import static org.apache.james.events.EventBusTestFixture.EVENT_UNSUPPORTED_BY_LISTENER;
+import static org.apache.james.events.EventBusTestFixture.KEY_1;
+import static org.apache.james.events.EventBusTestFixture.KEY_2;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Durations.ONE_SECOND;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+class EventCoalescingBufferTest {
+    private static final EventBusId ORIGIN_1 = EventBusId.random();
+    private static final EventBusId ORIGIN_2 = EventBusId.random();
+    private static final Duration WINDOW = Duration.ofMillis(200);
+
+    // Keeps the first event of a burst of TestEvent
+    private static final EventCoalescer COALESCER = new EventCoalescer() {
+        @Override
+        public boolean canCoalesce(Event event) {
+            return event instanceof EventBusTestFixture.TestEvent;
+        }
+
+        @Override
+        public Optional<Event> merge(Event previous, Event next) {
+            return Optional.of(previous);
+        }
+    };
+
+    // Buffers TestEvent without ever merging them, each one evicting the previous
+    private static final EventCoalescer NEVER_MERGING = new EventCoalescer() {
+        @Override
+        public boolean canCoalesce(Event event) {
+            return event instanceof EventBusTestFixture.TestEvent;
+        }
+
+        @Override
+        public Optional<Event> merge(Event previous, Event next) {
+            return Optional.empty();
+        }
+    };
+
+    private ConcurrentLinkedQueue<Pair<RegistrationKey, Event>> dispatched;
+    private Scheduler scheduler;
+    private EventCoalescingBuffer testee;
+
+    @BeforeEach
+    void setUp() {
+        dispatched = new ConcurrentLinkedQueue<>();
+        scheduler = Schedulers.newSingle("coalescing-test");
+        testee = new EventCoalescingBuffer(COALESCER, WINDOW,
+            (key, origin, event) -> Mono.fromRunnable(() -> dispatched.add(Pair.of(key, event))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.dispose();
+    }
+
+    @Test
+    void eventsShouldBeHeldDuringTheWindow() {
+        testee.submit(KEY_1, ORIGIN_1, EVENT, scheduler).block();
+
+        assertThat(dispatched).isEmpty();
+    }
+
+    @Test
+    void eventsReceivedDuringTheWindowShouldBeDeliveredOnce() {
+        testee.submit(KEY_1, ORIGIN_1, EVENT, scheduler).block();
+        testee.submit(KEY_1, ORIGIN_1, EVENT_2, scheduler).block();
+
+        Awaitility.await().atMost(ONE_SECOND)
+            .untilAsserted(() -> assertThat(dispatched).containsExactly(Pair.of(KEY_1, EVENT)));
+    }
+
+    @Test
+    void eventsOfDistinctKeysShouldNotBeMerged() {
+        testee.submit(KEY_1, ORIGIN_1, EVENT, scheduler).block();
+        testee.submit(KEY_2, ORIGIN_1, EVENT_2, scheduler).block();
+
+        Awaitility.await().atMost(ONE_SECOND)
+            .untilAsserted(() -> assertThat(dispatched).containsExactlyInAnyOrder(Pair.of(KEY_1, EVENT), Pair.of(KEY_2, EVENT_2)));
+    }
+
+    @Test
+    void eventsOfDistinctOriginsShouldNotBeMerged() {
+        testee.submit(KEY_1, ORIGIN_1, EVENT, scheduler).block();
+        testee.submit(KEY_1, ORIGIN_2, EVENT_2, scheduler).block();
+
+        Awaitility.await().atMost(ONE_SECOND)
+            .untilAsserted(() -> assertThat(dispatched).containsExactlyInAnyOrder(Pair.of(KEY_1, EVENT), Pair.of(KEY_1, EVENT_2)));
+    }
+
+    @Test
+    void eventsThatCanNotBeCoalescedShouldReleaseBufferedEventsFirst() {
+        testee.submit(KEY_1, ORIGIN_1, EVENT, scheduler).block();
+        testee.submit(KEY_1, ORIGIN_1, EVENT_UNSUPPORTED_BY_LISTENER, scheduler).block();
+
+        assertThat(dispatched).containsExactly(Pair.of(KEY_1, EVENT), Pair.of(KEY_1, EVENT_UNSUPPORTED_BY_LISTENER));
+    }
+
+    @Test
+    void flushShouldDeliverBufferedEvents() {
+        testee.submit(KEY_1, ORIGIN_1, EVENT, scheduler).block();
+        testee.submit(KEY_2, ORIGIN_1, EVENT_2, scheduler).block();
+
+        testee.flush().block();
+
+        assertThat(dispatched).containsExactlyInAnyOrder(Pair.of(KEY_1, EVENT), Pair.of(KEY_2, EVENT_2));
+    }
+
+    @Test
+    void flushedEventsShouldNotBeDeliveredAgainWhenTheWindowExpires() throws Exception {
+        testee.submit(KEY_1, ORIGIN_1, EVENT, scheduler).block();
+        testee.flush().block();
+
+        Thread.sleep(WINDOW.multipliedBy(2).toMillis());
+
+        assertThat(dispatched).containsExactly(Pair.of(KEY_1, EVENT));
+    }
+
+    @Test
+    void evictedEventShouldBeDeliveredBeforeTheEventReplacingIt() {
+        EventCoalescingBuffer neverMerging = new EventCoalescingBuffer(NEVER_MERGING, WINDOW, slowDispatchOf(EVENT));
+
+        neverMerging.submit(KEY_1, ORIGIN_1, EVENT, scheduler).block();
+        neverMerging.submit(KEY_1, ORIGIN_1, EVENT_2, scheduler).subscribe();
+        neverMerging.flush().block();
+
+        assertThat(dispatched).containsExactly(Pair.of(KEY_1, EVENT), Pair.of(KEY_1, EVENT_2));
+    }
+
+    @Test
+    void windowExpiryShouldNotOvertakeAnEvictedEvent() {
+        EventCoalescingBuffer neverMerging = new EventCoalescingBuffer(NEVER_MERGING, WINDOW, slowDispatchOf(EVENT));
+
+        neverMerging.submit(KEY_1, ORIGIN_1, EVENT, scheduler).block();
+        neverMerging.submit(KEY_1, ORIGIN_1, EVENT_2, scheduler).subscribe();
+
+        Awaitility.await().atMost(Duration.ofSeconds(2))
+            .untilAsserted(() -> assertThat(dispatched).containsExactly(Pair.of(KEY_1, EVENT), Pair.of(KEY_1, EVENT_2)));
+    }
+
+    // Delivering the slow event outlasts the window
+    private EventCoalescingBuffer.Dispatcher slowDispatchOf(Event slowEvent) {
+        return (key, origin, event) -> Mono.delay(event.equals(slowEvent) ? WINDOW.multipliedBy(3) : Duration.ZERO)
+            .then(Mono.fromRunnable(() -> dispatched.add(Pair.of(key, event))));
+    }
+}
@@ -0,0 +1,107 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.events;
+
+import static org.apache.james.events.EventBusTestFixture.EVENT;
+import static org.apache.james.events.EventEncoding.BINARY_ENCODING;
+import static org.apache.james.events.EventEncoding.EVENT_ENCODING;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.apache.james.backends.rabbitmq.RabbitMQConfiguration;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.rabbitmq.client.AMQP;
+
+class EventEncodingTest {
+    private static final AMQP.BasicProperties BINARY_PROPERTIES = new AMQP.BasicProperties.Builder()
+        .headers(ImmutableMap.of(EVENT_ENCODING, BINARY_ENCODING))
+        .build();
+
+    private static final EventBinaryCodec CODEC = new EventBinaryCodec() {
+        @Override
+        public Optional<byte[]> encode(Event event) {
+            return Optional.of(new byte[] {42});
+        }
+
+        @Override
+        public Event decode(byte[] serialized) {
+            return EVENT;
+        }
+    };
+
+    private static final EventSerializer SERIALIZER_WITH_CODEC = new EventBusTestFixture.TestEventSerializer() {
+        @Override
+        public Optional<EventBinaryCodec> binaryCodec() {
+            return Optional.of(CODEC);
+        }
+    };
+
+    private static final EventSerializer SERIALIZER_WITHOUT_CODEC = new EventBusTestFixture.TestEventSerializer();
+
+    @Test
+    void publishingCodecShouldBeEmptyWhenBinaryEncodingIsDisabled() {
+        assertThat(EventEncoding.publishingCodec(SERIALIZER_WITH_CODEC, configuration(false)))
+            .isEmpty();
+    }
+
+    @Test
+    void publishingCodecShouldBeEmptyWhenTheSerializerHasNoBinaryCodec() {
+        assertThat(EventEncoding.publishingCodec(SERIALIZER_WITHOUT_CODEC, configuration(true)))
+            .isEmpty();
+    }
+
+    @Test
+    void publishingCodecShouldBeTheOneOfTheSerializerWhenBinaryEncodingIsEnabled() {
+        assertThat(EventEncoding.publishingCodec(SERIALIZER_WITH_CODEC, configuration(true)))
+            .contains(CODEC);
+    }
+
+    @Test
+    void deserializeShouldDecodeBinaryEncodedEvents() {
+        assertThat(EventEncoding.deserialize(SERIALIZER_WITH_CODEC, new byte[] {42}, BINARY_PROPERTIES))
+            .isEqualTo(EVENT);
+    }
+
+    @Test
+    void deserializeShouldReadJsonWhenNoEncodingHeader() {
+        byte[] json = SERIALIZER_WITHOUT_CODEC.toJsonBytes(EVENT);
+
+        assertThat(EventEncoding.deserialize(SERIALIZER_WITHOUT_CODEC, json, new AMQP.BasicProperties()))
+            .isEqualTo(EVENT);
+    }
+
+    @Test
+    void deserializeShouldRejectBinaryEncodedEventsWhenTheSerializerHasNoBinaryCodec() {
+        assertThatThrownBy(() -> EventEncoding.deserialize(SERIALIZER_WITHOUT_CODEC, new byte[] {42}, BINARY_PROPERTIES))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private RabbitMQConfiguration configuration(boolean binaryEncodingEnabled) {
+        RabbitMQConfiguration configuration = mock(RabbitMQConfiguration.class);
+        when(configuration.isEventBusBinaryEncodingEnabled()).thenReturn(binaryEncodingEnabled);
+        return configuration;
+    }
+}
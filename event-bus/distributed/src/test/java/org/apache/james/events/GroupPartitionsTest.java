@@ -0,0 +1,86 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.events;
+
+import static org.apache.james.events.EventBusTestFixture.EVENT;
+import static org.apache.james.events.EventBusTestFixture.EVENT_ID;
+import static org.apache.james.events.EventBusTestFixture.EVENT_ID_2;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.stream.IntStream;
+
+import org.apache.james.core.Username;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableSet;
+
+class GroupPartitionsTest {
+    @Test
+    void partitionCountShouldBeStrictlyPositive() {
+        assertThatThrownBy(() -> new GroupPartitions(0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void partitionsShouldListAllPartitions() {
+        assertThat(new GroupPartitions(3).partitions())
+            .containsExactly(0, 1, 2);
+    }
+
+    @Test
+    void eventsSharingAPartitionKeyShouldShareAPartition() {
+        GroupPartitions testee = new GroupPartitions(16);
+
+        Event event = new EventBusTestFixture.TestEvent(EVENT_ID, Username.of("bob"));
+        Event otherEvent = new EventBusTestFixture.TestEvent(EVENT_ID_2, Username.of("bob"));
+
+        assertThat(testee.partitionOf(event)).isEqualTo(testee.partitionOf(otherEvent));
+    }
+
+    @Test
+    void partitionOfShouldBeWithinBounds() {
+        GroupPartitions testee = new GroupPartitions(4);
+
+        assertThat(IntStream.range(0, 100)
+            .mapToObj(i -> new EventBusTestFixture.TestEvent(EVENT_ID, Username.of("user" + i)))
+            .map(testee::partitionOf)
+            .collect(ImmutableSet.toImmutableSet()))
+            .containsExactlyInAnyOrder(0, 1, 2, 3);
+    }
+
+    @Test
+    void routingKeyShouldTargetThePartitionOfTheEvent() {
+        GroupPartitions testee = new GroupPartitions(4);
+
+        assertThat(testee.routingKey(EVENT))
+            .isEqualTo(testee.routingKey(testee.partitionOf(EVENT)));
+    }
+
+    @Test
+    void routingKeysShouldBeDistinctAmongPartitions() {
+        GroupPartitions testee = new GroupPartitions(4);
+
+        assertThat(testee.partitions().stream()
+            .map(testee::routingKey)
+            .collect(ImmutableSet.toImmutableSet()))
+            .hasSize(4);
+    }
+}
@@ -0,0 +1,132 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.events;
+
+import static org.apache.james.events.EventBusTestFixture.NO_KEYS;
+import static org.apache.james.events.EventBusTestFixture.RETRY_BACKOFF_CONFIGURATION;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Durations.TEN_SECONDS;
+
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import org.apache.james.backends.rabbitmq.RabbitMQExtension;
+import org.apache.james.core.Username;
+import org.apache.james.events.EventBusTestFixture.GroupA;
+import org.apache.james.events.EventBusTestFixture.TestEvent;
+import org.apache.james.events.EventBusTestFixture.TestEventSerializer;
+import org.apache.james.events.EventBusTestFixture.TestRegistrationKeyFactory;
+import org.apache.james.metrics.tests.RecordingMetricFactory;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.google.common.collect.ImmutableList;
+
+import reactor.core.publisher.Flux;
+
+class RabbitMQEventBusGroupPartitionsTest {
+    private static final GroupA GROUP_A = new GroupA();
+    private static final NamingStrategy NAMING_STRATEGY = new NamingStrategy(new EventBusName("test"));
+    private static final ImmutableList<Event> EVENTS = IntStream.range(0, 10)
+        .mapToObj(i -> (Event) new TestEvent(Event.EventId.random(), Username.of("user" + i)))
+        .collect(ImmutableList.toImmutableList());
+
+    @RegisterExtension
+    static RabbitMQExtension rabbitMQExtension = RabbitMQExtension.singletonRabbitMQ()
+        .isolationPolicy(RabbitMQExtension.IsolationPolicy.STRONG);
+
+    private final ImmutableList.Builder<RabbitMQEventBus> startedEventBuses = ImmutableList.builder();
+
+    @AfterEach
+    void tearDown() {
+        startedEventBuses.build().forEach(RabbitMQEventBus::stop);
+    }
+
+    @Test
+    void partitionedNodesShouldConsumeEventsPublishedByNodesNotYetPartitioned() throws Exception {
+        RabbitMQEventBus formerNode = startedEventBus(Optional.empty());
+        formerNode.register(new EventCollector(), GROUP_A);
+        formerNode.stop();
+
+        EventCollector listener = new EventCollector();
+        RabbitMQEventBus partitionedNode = startedEventBus(Optional.of(2));
+        partitionedNode.register(listener, GROUP_A);
+        RabbitMQEventBus notYetPartitionedNode = startedEventBus(Optional.empty());
+
+        Flux.fromIterable(EVENTS)
+            .concatMap(event -> notYetPartitionedNode.dispatch(event, NO_KEYS))
+            .blockLast();
+
+        Awaitility.await().atMost(TEN_SECONDS)
+            .untilAsserted(() -> assertThat(listener.getEvents()).containsExactlyInAnyOrderElementsOf(EVENTS));
+    }
+
+    @Test
+    void partitionedNodesShouldConsumeEventsPublishedToFormerPartitions() throws Exception {
+        RabbitMQEventBus formerNode = startedEventBus(Optional.of(4));
+        formerNode.register(new EventCollector(), GROUP_A);
+        formerNode.stop();
+
+        EventCollector listener = new EventCollector();
+        RabbitMQEventBus partitionedNode = startedEventBus(Optional.of(2));
+        partitionedNode.register(listener, GROUP_A);
+        RabbitMQEventBus notYetRestartedNode = startedEventBus(Optional.of(4));
+
+        Flux.fromIterable(EVENTS)
+            .concatMap(event -> notYetRestartedNode.dispatch(event, NO_KEYS))
+            .blockLast();
+
+        Awaitility.await().atMost(TEN_SECONDS)
+            .untilAsserted(() -> assertThat(listener.getEvents()).containsExactlyInAnyOrderElementsOf(EVENTS));
+    }
+
+    @Test
+    void unPartitionedNodesShouldConsumeEventsPublishedToFormerPartitions() throws Exception {
+        RabbitMQEventBus formerNode = startedEventBus(Optional.of(2));
+        formerNode.register(new EventCollector(), GROUP_A);
+        formerNode.stop();
+
+        EventCollector listener = new EventCollector();
+        RabbitMQEventBus unPartitionedNode = startedEventBus(Optional.empty());
+        unPartitionedNode.register(listener, GROUP_A);
+        RabbitMQEventBus notYetRestartedNode = startedEventBus(Optional.of(2));
+
+        Flux.fromIterable(EVENTS)
+            .concatMap(event -> notYetRestartedNode.dispatch(event, NO_KEYS))
+            .blockLast();
+
+        Awaitility.await().atMost(TEN_SECONDS)
+            .untilAsserted(() -> assertThat(listener.getEvents()).containsExactlyInAnyOrderElementsOf(EVENTS));
+    }
+
+    private RabbitMQEventBus startedEventBus(Optional<Integer> partitions) throws Exception {
+        RabbitMQEventBus eventBus = new RabbitMQEventBus(NAMING_STRATEGY, rabbitMQExtension.getSender(), rabbitMQExtension.getReceiverProvider(),
+            new TestEventSerializer(), RETRY_BACKOFF_CONFIGURATION, RoutingKeyConverter.forFactories(new TestRegistrationKeyFactory()),
+            new MemoryEventDeadLetters(), new RecordingMetricFactory(), rabbitMQExtension.getRabbitChannelPool(),
+            EventBusId.random(), rabbitMQExtension.getRabbitMQ().getConfigurationBuilder()
+                .eventBusGroupPartitions(partitions)
+                .build());
+        eventBus.start();
+        startedEventBuses.add(eventBus);
+        return eventBus;
+    }
+}
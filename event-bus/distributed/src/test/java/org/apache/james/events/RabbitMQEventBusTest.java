@@ -53,11 +53,13 @@ import java.io.Closeable;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.NoSuchElementException;
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
+import org.apache.james.backends.rabbitmq.RabbitMQConfiguration;
 import org.apache.james.backends.rabbitmq.RabbitMQExtension;
 import org.apache.james.backends.rabbitmq.RabbitMQExtension.DockerRestartPolicy;
 import org.apache.james.backends.rabbitmq.RabbitMQFixture;
@@ -822,6 +824,77 @@ class RabbitMQEventBusTest implements GroupContract.SingleEventBusGroupContract,
 
     }
 
+    @Nested
+    class CoalescingTest {
+        // Holds coalesced events long enough for the test to observe them as buffered
+        private static final Duration COALESCING_WINDOW = Duration.ofMinutes(1);
+
+        // Coalesces EVENT by keeping the first one, EVENT_2 can not be coalesced
+        private static final EventCoalescer COALESCER = new EventCoalescer() {
+            @Override
+            public boolean canCoalesce(Event event) {
+                return !event.equals(EVENT_2);
+            }
+
+            @Override
+            public Optional<Event> merge(Event previous, Event next) {
+                return Optional.of(previous);
+            }
+        };
+
+        private RabbitMQEventBus coalescingEventBus;
+
+        @BeforeEach
+        void beforeEach() throws Exception {
+            RabbitMQConfiguration configuration = RabbitMQConfiguration.builder()
+                .amqpUri(rabbitMQExtension.getRabbitMQ().amqpUri())
+                .managementUri(rabbitMQExtension.getRabbitMQ().managementUri())
+                .managementCredentials(RabbitMQFixture.DEFAULT_MANAGEMENT_CREDENTIAL)
+                .eventBusKeyCoalescingWindow(Optional.of(COALESCING_WINDOW))
+                .build();
+            coalescingEventBus = new RabbitMQEventBus(TEST_NAMING_STRATEGY, rabbitMQExtension.getSender(), rabbitMQExtension.getReceiverProvider(),
+                eventSerializer, EventBusTestFixture.RETRY_BACKOFF_CONFIGURATION, routingKeyConverter,
+                memoryEventDeadLetters, new RecordingMetricFactory(),
+                rabbitMQExtension.getRabbitChannelPool(), EventBusId.random(), configuration, COALESCER);
+            coalescingEventBus.start();
+        }
+
+        @AfterEach
+        void tearDown() {
+            coalescingEventBus.stop();
+        }
+
+        @Test
+        void coalescedEventsShouldBeReleasedInOrderByAnEventThatCanNotBeCoalesced() {
+            EventCollector listener = new EventCollector();
+            Mono.from(coalescingEventBus.register(listener, KEY_1)).block();
+
+            eventBus.dispatch(EVENT, ImmutableSet.of(KEY_1)).block();
+            eventBus.dispatch(EVENT, ImmutableSet.of(KEY_1)).block();
+            eventBus.dispatch(EVENT, ImmutableSet.of(KEY_1)).block();
+            eventBus.dispatch(EVENT_2, ImmutableSet.of(KEY_1)).block();
+
+            await().atMost(TEN_SECONDS)
+                .untilAsserted(() -> assertThat(listener.getEvents()).containsExactly(EVENT, EVENT_2));
+        }
+
+        @Test
+        void stopShouldDeliverCoalescedEvents() throws Exception {
+            EventCollector listener = new EventCollector();
+            Mono.from(coalescingEventBus.register(listener, KEY_1)).block();
+
+            eventBus.dispatch(EVENT, ImmutableSet.of(KEY_1)).block();
+            eventBus.dispatch(EVENT, ImmutableSet.of(KEY_1)).block();
+
+            TimeUnit.SECONDS.sleep(1);
+            assertThat(listener.getEvents()).isEmpty();
+
+            coalescingEventBus.stop();
+
+            assertThat(listener.getEvents()).containsExactly(EVENT);
+        }
+    }
+
     @Nested
     class IsolationTest {
         private RabbitMQEventBus otherEventBus;
@@ -0,0 +1,217 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.events;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.apache.james.util.ReactorUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Decouples the execution of a group listener from the dispatching reactive chain.
+ *
+ * Events are enqueued into a queue bounded to the configured capacity, that a dedicated executor drains one event at
+ * a time, so that the group receives events in the order they were dispatched, like with synchronous delivery. An
+ * event being retried thus holds the following ones. Once the capacity is reached, the
+ * {@link InVMEventBusConfiguration.OverflowPolicy} applies: submissions either wait, in order, for a slot to free up,
+ * or are stored into the group dead letters.
+ *
+ * Stopping waits for the queued events to be delivered, including the submissions waiting for a slot. Events still
+ * pending once {@link #STOP_TIMEOUT} elapsed are stored into the group dead letters. Events submitted once stopped are
+ * delivered by the submitter, after the queued ones.
+ */
+class AsyncGroupDelivery {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncGroupDelivery.class);
+    private static final Duration STOP_TIMEOUT = Duration.ofSeconds(10);
+
+    private static class PendingEvent {
+        private final Event event;
+        private final long enqueuedAtNanos;
+
+        PendingEvent(Event event, long enqueuedAtNanos) {
+            this.event = event;
+            this.enqueuedAtNanos = enqueuedAtNanos;
+        }
+    }
+
+    private static class WaitingSubmission {
+        private final Event event;
+        private final Sinks.Empty<Void> enqueued;
+
+        WaitingSubmission(Event event) {
+            this.event = event;
+            this.enqueued = Sinks.empty();
+        }
+    }
+
+    private final Group group;
+    private final InVMEventBusConfiguration configuration;
+    private final Function<Event, Mono<Void>> delivery;
+    private final EventDeadLetters eventDeadLetters;
+    private final AtomicInteger depth;
+    private final AtomicLong lagInMillis;
+    private final Scheduler scheduler;
+    private final Sinks.Empty<Void> drained;
+    private final Queue<WaitingSubmission> waitingSubmissions;
+    private final Disposable consumer;
+    private volatile FluxSink<PendingEvent> sink;
+    private volatile boolean stopped;
+
+    AsyncGroupDelivery(Group group, InVMEventBusConfiguration configuration, Function<Event, Mono<Void>> delivery, EventDeadLetters eventDeadLetters) {
+        this.group = group;
+        this.configuration = configuration;
+        this.delivery = delivery;
+        this.eventDeadLetters = eventDeadLetters;
+        this.depth = new AtomicInteger(0);
+        this.lagInMillis = new AtomicLong(0);
+        this.scheduler = Schedulers.newBoundedElastic(1, ReactorUtils.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE, "in-vm-group-" + group.asString());
+        this.drained = Sinks.empty();
+        this.waitingSubmissions = new ConcurrentLinkedQueue<>();
+        this.stopped = false;
+        // Subscribing synchronously sets the sink. Its serialization relies on a lock free multi-producer queue.
+        this.consumer = Flux.<PendingEvent>create(createdSink -> this.sink = createdSink)
+            .publishOn(scheduler)
+            .concatMap(this::deliver)
+            .doOnDiscard(PendingEvent.class, this::storeInDeadLetters)
+            .doFinally(any -> drained.tryEmitEmpty())
+            .subscribe();
+    }
+
+    Mono<Void> submit(Event event) {
+        synchronized (this) {
+            if (stopped) {
+                return drained.asMono()
+                    .then(Mono.defer(() -> delivery.apply(event)));
+            }
+            // Waiting submissions go first, so that an event never overtakes the ones submitted before it
+            if (waitingSubmissions.isEmpty() && tryReserve()) {
+                enqueue(event);
+                return Mono.empty();
+            }
+            if (configuration.getOverflowPolicy() == InVMEventBusConfiguration.OverflowPolicy.BACKPRESSURE) {
+                WaitingSubmission waitingSubmission = new WaitingSubmission(event);
+                waitingSubmissions.add(waitingSubmission);
+                // A slot freed since the capacity check would otherwise be left unused
+                admitWaitingSubmissions();
+                return waitingSubmission.enqueued.asMono();
+            }
+        }
+        LOGGER.warn("Queue of group {} is full, storing event {} into dead letters", group.asString(), event.getEventId().getId());
+        return eventDeadLetters.store(group, event).then();
+    }
+
+    int depth() {
+        return depth.get();
+    }
+
+    long lagInMillis() {
+        return lagInMillis.get();
+    }
+
+    void stop() {
+        synchronized (this) {
+            stopped = true;
+            // Exceeding the capacity while stopping lets waiting submissions be delivered after the queued events
+            WaitingSubmission waitingSubmission;
+            while ((waitingSubmission = waitingSubmissions.poll()) != null) {
+                depth.incrementAndGet();
+                enqueue(waitingSubmission.event);
+                waitingSubmission.enqueued.tryEmitEmpty();
+            }
+            sink.complete();
+        }
+        try {
+            drained.asMono().block(STOP_TIMEOUT);
+        } catch (IllegalStateException e) {
+            LOGGER.warn("{} events of group {} were not delivered within {}, storing them into dead letters",
+                depth.get(), group.asString(), STOP_TIMEOUT);
+            consumer.dispose();
+        }
+        scheduler.dispose();
+    }
+
+    private boolean tryReserve() {
+        while (true) {
+            int current = depth.get();
+            if (current >= configuration.getQueueCapacity()) {
+                return false;
+            }
+            if (depth.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void enqueue(Event event) {
+        sink.next(new PendingEvent(event, System.nanoTime()));
+    }
+
+    private void admitWaitingSubmissions() {
+        if (waitingSubmissions.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            while (!stopped && !waitingSubmissions.isEmpty() && tryReserve()) {
+                WaitingSubmission waitingSubmission = waitingSubmissions.poll();
+                enqueue(waitingSubmission.event);
+                waitingSubmission.enqueued.tryEmitEmpty();
+            }
+        }
+    }
+
+    private Mono<Void> deliver(PendingEvent pendingEvent) {
+        lagInMillis.set(Duration.ofNanos(System.nanoTime() - pendingEvent.enqueuedAtNanos).toMillis());
+        return delivery.apply(pendingEvent.event)
+            .doOnCancel(() -> storeInDeadLetters(pendingEvent))
+            .onErrorResume(e -> {
+                LOGGER.error("Failed delivering event {} to group {}", pendingEvent.event.getEventId().getId(), group.asString(), e);
+                return Mono.empty();
+            })
+            .doFinally(any -> {
+                if (depth.decrementAndGet() == 0) {
+                    lagInMillis.set(0);
+                }
+                admitWaitingSubmissions();
+            });
+    }
+
+    private void storeInDeadLetters(PendingEvent pendingEvent) {
+        eventDeadLetters.store(group, pendingEvent.event)
+            .onErrorResume(e -> {
+                LOGGER.error("Failed storing event {} of group {} into dead letters", pendingEvent.event.getEventId().getId(), group.asString(), e);
+                return Mono.empty();
+            })
+            .block();
+    }
+}
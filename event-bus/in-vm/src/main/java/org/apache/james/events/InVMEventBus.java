@@ -26,9 +26,12 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
+import jakarta.annotation.PreDestroy;
 import jakarta.inject.Inject;
 
 import org.apache.james.events.delivery.EventDelivery;
+import org.apache.james.metrics.api.GaugeRegistry;
+import org.apache.james.metrics.api.NoopGaugeRegistry;
 
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Multimap;
@@ -46,15 +49,26 @@ public class InVMEventBus implements EventBus {
     private final EventDelivery eventDelivery;
     private final RetryBackoffConfiguration retryBackoff;
     private final EventDeadLetters eventDeadLetters;
+    private final InVMEventBusConfiguration configuration;
+    private final GaugeRegistry gaugeRegistry;
+    private final ConcurrentHashMap<Group, AsyncGroupDelivery> asyncGroupDeliveries;
 
-    @Inject
     public InVMEventBus(EventDelivery eventDelivery, RetryBackoffConfiguration retryBackoff, EventDeadLetters eventDeadLetters) {
+        this(eventDelivery, retryBackoff, eventDeadLetters, InVMEventBusConfiguration.DEFAULT, new NoopGaugeRegistry());
+    }
+
+    @Inject
+    public InVMEventBus(EventDelivery eventDelivery, RetryBackoffConfiguration retryBackoff, EventDeadLetters eventDeadLetters,
+                        InVMEventBusConfiguration configuration, GaugeRegistry gaugeRegistry) {
         this.eventDelivery = eventDelivery;
         this.retryBackoff = retryBackoff;
         this.eventDeadLetters = eventDeadLetters;
+        this.configuration = configuration;
+        this.gaugeRegistry = gaugeRegistry;
         this.registrations = Multimaps.synchronizedSetMultimap(
                 Multimaps.newSetMultimap(new HashMap<>(), () -> Collections.newSetFromMap(new ConcurrentHashMap<>())));
         this.groups = new ConcurrentHashMap<>();
+        this.asyncGroupDeliveries = new ConcurrentHashMap<>();
     }
 
     @Override
@@ -67,11 +81,48 @@ public class InVMEventBus implements EventBus {
     public Registration register(EventListener.ReactiveEventListener listener, Group group) {
         EventListener previous = groups.putIfAbsent(group, listener);
         if (previous == null) {
-            return () -> Mono.fromRunnable(() -> groups.remove(group, listener));
+            if (configuration.getGroupDeliveryMode() == InVMEventBusConfiguration.GroupDeliveryMode.ASYNCHRONOUS) {
+                startAsyncGroupDelivery(listener, group);
+            }
+            return () -> Mono.fromRunnable(() -> {
+                groups.remove(group, listener);
+                Optional.ofNullable(asyncGroupDeliveries.remove(group))
+                    .ifPresent(asyncGroupDelivery -> stopAsyncGroupDelivery(group, asyncGroupDelivery));
+            });
         }
         throw new GroupAlreadyRegistered(group);
     }
 
+    private void startAsyncGroupDelivery(EventListener.ReactiveEventListener listener, Group group) {
+        asyncGroupDeliveries.put(group, new AsyncGroupDelivery(group, configuration,
+            event -> groupDelivery(event, listener, group), eventDeadLetters));
+
+        gaugeRegistry.register(queueDepthGaugeName(group),
+            () -> Optional.ofNullable(asyncGroupDeliveries.get(group)).map(AsyncGroupDelivery::depth).orElse(0));
+        gaugeRegistry.register(lagInMillisGaugeName(group),
+            () -> Optional.ofNullable(asyncGroupDeliveries.get(group)).map(AsyncGroupDelivery::lagInMillis).orElse(0L));
+    }
+
+    private void stopAsyncGroupDelivery(Group group, AsyncGroupDelivery asyncGroupDelivery) {
+        asyncGroupDelivery.stop();
+        gaugeRegistry.unregister(queueDepthGaugeName(group));
+        gaugeRegistry.unregister(lagInMillisGaugeName(group));
+    }
+
+    private String queueDepthGaugeName(Group group) {
+        return "inVmEventBus." + group.asString() + ".queueDepth";
+    }
+
+    private String lagInMillisGaugeName(Group group) {
+        return "inVmEventBus." + group.asString() + ".lagInMillis";
+    }
+
+    @PreDestroy
+    public void stop() {
+        asyncGroupDeliveries.forEach(this::stopAsyncGroupDelivery);
+        asyncGroupDeliveries.clear();
+    }
+
     @Override
     public Mono<Void> dispatch(Event event, Set<RegistrationKey> keys) {
         if (!event.isNoop()) {
@@ -113,7 +164,9 @@ public class InVMEventBus implements EventBus {
 
     private Mono<Void> groupDeliveries(Event event) {
         return Flux.fromIterable(groups.entrySet())
-            .flatMap(entry -> groupDelivery(event, entry.getValue(), entry.getKey()), EventBus.EXECUTION_RATE)
+            .flatMap(entry -> Optional.ofNullable(asyncGroupDeliveries.get(entry.getKey()))
+                .map(asyncGroupDelivery -> asyncGroupDelivery.submit(event))
+                .orElseGet(() -> groupDelivery(event, entry.getValue(), entry.getKey())), EventBus.EXECUTION_RATE)
             .then();
     }
 
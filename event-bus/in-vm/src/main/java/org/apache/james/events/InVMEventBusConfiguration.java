@@ -0,0 +1,137 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.events;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+public class InVMEventBusConfiguration {
+    public enum GroupDeliveryMode {
+        /**
+         * Group listeners are executed within the dispatching reactive chain.
+         */
+        SYNCHRONOUS("synchronous"),
+        /**
+         * Group listeners are executed on a dedicated executor, fed by a bounded queue per group.
+         */
+        ASYNCHRONOUS("asynchronous");
+
+        public static GroupDeliveryMode parse(String value) {
+            return Arrays.stream(values())
+                .filter(mode -> mode.value.equalsIgnoreCase(value))
+                .findAny()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown group delivery mode '" + value + "'"));
+        }
+
+        private final String value;
+
+        GroupDeliveryMode(String value) {
+            this.value = value;
+        }
+    }
+
+    public enum OverflowPolicy {
+        /**
+         * Events exceeding the queue capacity wait for a slot to free up before being enqueued, slowing the publisher
+         * down while keeping the delivery order.
+         */
+        BACKPRESSURE("backpressure"),
+        /**
+         * Events exceeding the queue capacity are stored into the dead letters of the group, for later redelivery.
+         */
+        DEAD_LETTER("deadLetter");
+
+        public static OverflowPolicy parse(String value) {
+            return Arrays.stream(values())
+                .filter(policy -> policy.value.equalsIgnoreCase(value))
+                .findAny()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown overflow policy '" + value + "'"));
+        }
+
+        private final String value;
+
+        OverflowPolicy(String value) {
+            this.value = value;
+        }
+    }
+
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+    public static final OverflowPolicy DEFAULT_OVERFLOW_POLICY = OverflowPolicy.BACKPRESSURE;
+    public static final InVMEventBusConfiguration DEFAULT = new InVMEventBusConfiguration(GroupDeliveryMode.SYNCHRONOUS, DEFAULT_QUEUE_CAPACITY, DEFAULT_OVERFLOW_POLICY);
+
+    public static InVMEventBusConfiguration asynchronous(int queueCapacity, OverflowPolicy overflowPolicy) {
+        return new InVMEventBusConfiguration(GroupDeliveryMode.ASYNCHRONOUS, queueCapacity, overflowPolicy);
+    }
+
+    private final GroupDeliveryMode groupDeliveryMode;
+    private final int queueCapacity;
+    private final OverflowPolicy overflowPolicy;
+
+    private InVMEventBusConfiguration(GroupDeliveryMode groupDeliveryMode, int queueCapacity, OverflowPolicy overflowPolicy) {
+        Preconditions.checkArgument(queueCapacity > 0, "'queueCapacity' needs to be strictly positive");
+        Preconditions.checkNotNull(groupDeliveryMode);
+        Preconditions.checkNotNull(overflowPolicy);
+
+        this.groupDeliveryMode = groupDeliveryMode;
+        this.queueCapacity = queueCapacity;
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    public GroupDeliveryMode getGroupDeliveryMode() {
+        return groupDeliveryMode;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    @Override
+    public final boolean equals(Object o) {
+        if (o instanceof InVMEventBusConfiguration) {
+            InVMEventBusConfiguration that = (InVMEventBusConfiguration) o;
+
+            return Objects.equals(this.queueCapacity, that.queueCapacity)
+                && Objects.equals(this.groupDeliveryMode, that.groupDeliveryMode)
+                && Objects.equals(this.overflowPolicy, that.overflowPolicy);
+        }
+        return false;
+    }
+
+    @Override
+    public final int hashCode() {
+        return Objects.hash(groupDeliveryMode, queueCapacity, overflowPolicy);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("groupDeliveryMode", groupDeliveryMode)
+            .add("queueCapacity", queueCapacity)
+            .add("overflowPolicy", overflowPolicy)
+            .toString();
+    }
+}
@@ -0,0 +1,199 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.events;
+
+import static org.apache.james.events.EventBusTestFixture.EVENT;
+import static org.apache.james.events.EventBusTestFixture.EVENT_2;
+import static org.apache.james.events.EventBusTestFixture.GROUP_A;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Durations.ONE_SECOND;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class AsyncGroupDeliveryTest {
+    private MemoryEventDeadLetters deadLetters;
+    private ConcurrentLinkedQueue<Event> delivered;
+    private Sinks.Empty<Void> listenerRelease;
+    private AsyncGroupDelivery testee;
+
+    @BeforeEach
+    void setUp() {
+        deadLetters = new MemoryEventDeadLetters();
+        delivered = new ConcurrentLinkedQueue<>();
+        listenerRelease = Sinks.empty();
+    }
+
+    @AfterEach
+    void tearDown() {
+        listenerRelease.tryEmitEmpty();
+        testee.stop();
+    }
+
+    private AsyncGroupDelivery asyncGroupDelivery(int capacity, InVMEventBusConfiguration.OverflowPolicy overflowPolicy) {
+        return new AsyncGroupDelivery(GROUP_A, InVMEventBusConfiguration.asynchronous(capacity, overflowPolicy),
+            event -> listenerRelease.asMono().then(Mono.fromRunnable(() -> delivered.add(event))),
+            deadLetters);
+    }
+
+    @Test
+    void submitShouldNotWaitForTheListener() {
+        testee = asyncGroupDelivery(10, InVMEventBusConfiguration.OverflowPolicy.BACKPRESSURE);
+
+        testee.submit(EVENT).block(Duration.ofSeconds(1));
+
+        assertThat(delivered).isEmpty();
+    }
+
+    @Test
+    void submittedEventsShouldEventuallyBeDelivered() {
+        testee = asyncGroupDelivery(10, InVMEventBusConfiguration.OverflowPolicy.BACKPRESSURE);
+
+        testee.submit(EVENT).block();
+        testee.submit(EVENT_2).block();
+        listenerRelease.tryEmitEmpty();
+
+        Awaitility.await().atMost(ONE_SECOND)
+            .untilAsserted(() -> assertThat(delivered).containsExactlyInAnyOrder(EVENT, EVENT_2));
+    }
+
+    @Test
+    void submittedEventsShouldBeDeliveredInSubmissionOrder() {
+        testee = asyncGroupDelivery(10, InVMEventBusConfiguration.OverflowPolicy.BACKPRESSURE);
+
+        testee.submit(EVENT).block();
+        testee.submit(EVENT_2).block();
+        listenerRelease.tryEmitEmpty();
+
+        Awaitility.await().atMost(ONE_SECOND)
+            .untilAsserted(() -> assertThat(delivered).containsExactly(EVENT, EVENT_2));
+    }
+
+    @Test
+    void stopShouldDeliverQueuedEvents() {
+        testee = asyncGroupDelivery(10, InVMEventBusConfiguration.OverflowPolicy.BACKPRESSURE);
+
+        testee.submit(EVENT).block();
+        testee.submit(EVENT_2).block();
+        listenerRelease.tryEmitEmpty();
+        testee.stop();
+
+        assertThat(delivered).containsExactly(EVENT, EVENT_2);
+        assertThat(deadLetters.containEvents().block()).isFalse();
+    }
+
+    @Test
+    void submitShouldDeliverSynchronouslyOnceStopped() {
+        testee = asyncGroupDelivery(10, InVMEventBusConfiguration.OverflowPolicy.BACKPRESSURE);
+        listenerRelease.tryEmitEmpty();
+        testee.stop();
+
+        testee.submit(EVENT).block();
+
+        assertThat(delivered).containsExactly(EVENT);
+    }
+
+    @Test
+    void depthShouldReflectPendingEvents() {
+        testee = asyncGroupDelivery(10, InVMEventBusConfiguration.OverflowPolicy.BACKPRESSURE);
+
+        testee.submit(EVENT).block();
+        testee.submit(EVENT_2).block();
+
+        assertThat(testee.depth()).isEqualTo(2);
+    }
+
+    @Test
+    void depthShouldBeResetOnceEventsAreDelivered() {
+        testee = asyncGroupDelivery(10, InVMEventBusConfiguration.OverflowPolicy.BACKPRESSURE);
+
+        testee.submit(EVENT).block();
+        listenerRelease.tryEmitEmpty();
+
+        Awaitility.await().atMost(ONE_SECOND)
+            .untilAsserted(() -> {
+                assertThat(testee.depth()).isZero();
+                assertThat(testee.lagInMillis()).isZero();
+            });
+    }
+
+    @Test
+    void overflowingEventsShouldBeStoredIntoDeadLettersWhenDeadLetterPolicy() {
+        testee = asyncGroupDelivery(1, InVMEventBusConfiguration.OverflowPolicy.DEAD_LETTER);
+
+        testee.submit(EVENT).block();
+        testee.submit(EVENT_2).block();
+
+        assertThat(deadLetters.failedIds(GROUP_A)
+                .flatMap(insertionId -> deadLetters.failedEvent(GROUP_A, insertionId))
+                .collectList()
+                .block())
+            .containsExactly(EVENT_2);
+    }
+
+    @Test
+    void overflowingSubmissionShouldWaitForASlotWhenBackpressurePolicy() {
+        testee = asyncGroupDelivery(1, InVMEventBusConfiguration.OverflowPolicy.BACKPRESSURE);
+
+        testee.submit(EVENT).block();
+        CompletableFuture<Void> overflowingSubmission = testee.submit(EVENT_2).toFuture();
+
+        assertThat(overflowingSubmission).isNotDone();
+        assertThat(delivered).isEmpty();
+    }
+
+    @Test
+    void overflowingEventsShouldBeDeliveredInSubmissionOrderWhenBackpressurePolicy() {
+        testee = asyncGroupDelivery(1, InVMEventBusConfiguration.OverflowPolicy.BACKPRESSURE);
+
+        testee.submit(EVENT).block();
+        Mono<Void> overflowingSubmission = testee.submit(EVENT_2);
+        listenerRelease.tryEmitEmpty();
+        overflowingSubmission.block(Duration.ofSeconds(1));
+
+        Awaitility.await().atMost(ONE_SECOND)
+            .untilAsserted(() -> assertThat(delivered).containsExactly(EVENT, EVENT_2));
+        assertThat(deadLetters.containEvents().block()).isFalse();
+    }
+
+    @Test
+    void stopShouldDeliverWaitingSubmissionsAfterQueuedEvents() {
+        testee = asyncGroupDelivery(1, InVMEventBusConfiguration.OverflowPolicy.BACKPRESSURE);
+
+        testee.submit(EVENT).block();
+        CompletableFuture<Void> overflowingSubmission = testee.submit(EVENT_2).toFuture();
+        Mono.delay(Duration.ofMillis(100))
+            .subscribe(any -> listenerRelease.tryEmitEmpty());
+        testee.stop();
+
+        assertThat(overflowingSubmission).isDone();
+        assertThat(delivered).containsExactly(EVENT, EVENT_2);
+        assertThat(deadLetters.containEvents().block()).isFalse();
+    }
+}
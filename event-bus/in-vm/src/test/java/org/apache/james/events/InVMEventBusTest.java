@@ -19,10 +19,20 @@
 
 package org.apache.james.events;
 
+import static org.apache.james.events.EventBusTestFixture.GROUP_A;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
 import org.apache.james.events.delivery.InVmEventDelivery;
+import org.apache.james.metrics.api.GaugeRegistry;
+import org.apache.james.metrics.api.NoopGaugeRegistry;
 import org.apache.james.metrics.tests.RecordingMetricFactory;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import reactor.core.publisher.Mono;
 
 public class InVMEventBusTest implements KeyContract.SingleEventBusKeyContract, GroupContract.SingleEventBusGroupContract,
     ErrorHandlingContract {
@@ -50,6 +60,56 @@ public class InVMEventBusTest implements KeyContract.SingleEventBusKeyContract,
         }
     }
 
+    @Nested
+    class AsynchronousGroupDelivery implements GroupContract.SingleEventBusGroupContract {
+        private InVMEventBus asyncEventBus;
+        private GaugeRegistry gaugeRegistry;
+
+        @BeforeEach
+        void setUp() {
+            gaugeRegistry = spy(new NoopGaugeRegistry());
+            asyncEventBus = new InVMEventBus(
+                new InVmEventDelivery(new RecordingMetricFactory()), EventBusTestFixture.RETRY_BACKOFF_CONFIGURATION, deadLetters,
+                InVMEventBusConfiguration.asynchronous(InVMEventBusConfiguration.DEFAULT_QUEUE_CAPACITY, InVMEventBusConfiguration.OverflowPolicy.BACKPRESSURE),
+                gaugeRegistry);
+        }
+
+        @AfterEach
+        void tearDown() {
+            asyncEventBus.stop();
+        }
+
+        @Test
+        void unregisteringAGroupShouldUnregisterItsGauges() {
+            Registration registration = asyncEventBus.register(new EventBusTestFixture.EventListenerCountingSuccessfulExecution(), GROUP_A);
+
+            Mono.from(registration.unregister()).block();
+
+            verify(gaugeRegistry).unregister("inVmEventBus." + GROUP_A.asString() + ".queueDepth");
+            verify(gaugeRegistry).unregister("inVmEventBus." + GROUP_A.asString() + ".lagInMillis");
+        }
+
+        @Test
+        void stopShouldUnregisterGauges() {
+            asyncEventBus.register(new EventBusTestFixture.EventListenerCountingSuccessfulExecution(), GROUP_A);
+
+            asyncEventBus.stop();
+
+            verify(gaugeRegistry).unregister("inVmEventBus." + GROUP_A.asString() + ".queueDepth");
+            verify(gaugeRegistry).unregister("inVmEventBus." + GROUP_A.asString() + ".lagInMillis");
+        }
+
+        @Override
+        public EnvironmentSpeedProfile getSpeedProfile() {
+            return EnvironmentSpeedProfile.FAST;
+        }
+
+        @Override
+        public EventBus eventBus() {
+            return asyncEventBus;
+        }
+    }
+
     @Override
     public EnvironmentSpeedProfile getSpeedProfile() {
         return EnvironmentSpeedProfile.FAST;
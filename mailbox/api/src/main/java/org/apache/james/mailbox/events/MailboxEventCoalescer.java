@@ -0,0 +1,114 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.events;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import org.apache.james.events.Event;
+import org.apache.james.events.EventCoalescer;
+import org.apache.james.mailbox.MessageUid;
+import org.apache.james.mailbox.events.MailboxEvents.Added;
+import org.apache.james.mailbox.events.MailboxEvents.Expunged;
+import org.apache.james.mailbox.events.MailboxEvents.FlagsUpdated;
+import org.apache.james.mailbox.events.MailboxEvents.MailboxEvent;
+import org.apache.james.mailbox.model.MessageMetaData;
+import org.apache.james.mailbox.model.UpdatedFlags;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Merges consecutive {@link Added}, {@link Expunged} and {@link FlagsUpdated} events of the same kind, generated by
+ * the same session on the same mailbox. The merged event keeps the event id of the first event of the burst.
+ */
+public class MailboxEventCoalescer implements EventCoalescer {
+    @Override
+    public boolean canCoalesce(Event event) {
+        return event instanceof Added
+            || event instanceof Expunged
+            || event instanceof FlagsUpdated;
+    }
+
+    @Override
+    public Optional<Event> merge(Event previous, Event next) {
+        if (previous instanceof FlagsUpdated previousFlagsUpdated && next instanceof FlagsUpdated nextFlagsUpdated
+            && sameOrigin(previousFlagsUpdated, nextFlagsUpdated)) {
+            return Optional.of(mergeFlagsUpdated(previousFlagsUpdated, nextFlagsUpdated));
+        }
+        if (previous instanceof Added previousAdded && next instanceof Added nextAdded
+            && sameOrigin(previousAdded, nextAdded)
+            && previousAdded.isDelivery() == nextAdded.isDelivery()
+            && previousAdded.isAppended() == nextAdded.isAppended()
+            && previousAdded.movedFromMailboxId().equals(nextAdded.movedFromMailboxId())) {
+            return Optional.of(mergeAdded(previousAdded, nextAdded));
+        }
+        if (previous instanceof Expunged previousExpunged && next instanceof Expunged nextExpunged
+            && sameOrigin(previousExpunged, nextExpunged)
+            && previousExpunged.movedToMailboxId().equals(nextExpunged.movedToMailboxId())) {
+            return Optional.of(mergeExpunged(previousExpunged, nextExpunged));
+        }
+        return Optional.empty();
+    }
+
+    private boolean sameOrigin(MailboxEvent previous, MailboxEvent next) {
+        return Objects.equals(previous.getMailboxId(), next.getMailboxId())
+            && Objects.equals(previous.getSessionId(), next.getSessionId())
+            && Objects.equals(previous.getUsername(), next.getUsername())
+            && Objects.equals(previous.getMailboxPath(), next.getMailboxPath());
+    }
+
+    private FlagsUpdated mergeFlagsUpdated(FlagsUpdated previous, FlagsUpdated next) {
+        Map<MessageUid, UpdatedFlags> updatedFlags = new LinkedHashMap<>();
+        previous.getUpdatedFlags().forEach(update -> updatedFlags.put(update.getUid(), update));
+        next.getUpdatedFlags().forEach(update -> updatedFlags.merge(update.getUid(), update, this::mergeUpdatedFlags));
+
+        return new FlagsUpdated(previous.getSessionId(), previous.getUsername(), previous.getMailboxPath(), previous.getMailboxId(),
+            ImmutableList.copyOf(updatedFlags.values()), previous.getEventId());
+    }
+
+    private UpdatedFlags mergeUpdatedFlags(UpdatedFlags previous, UpdatedFlags next) {
+        return UpdatedFlags.builder()
+            .uid(next.getUid())
+            .modSeq(next.getModSeq())
+            .messageId(next.getMessageId().or(previous::getMessageId))
+            .oldFlags(previous.getOldFlags())
+            .newFlags(next.getNewFlags())
+            .build();
+    }
+
+    private Added mergeAdded(Added previous, Added next) {
+        TreeMap<MessageUid, MessageMetaData> added = new TreeMap<>(previous.getAdded());
+        added.putAll(next.getAdded());
+
+        return new Added(previous.getSessionId(), previous.getUsername(), previous.getMailboxPath(), previous.getMailboxId(),
+            added, previous.getEventId(), previous.isDelivery(), previous.isAppended(), previous.movedFromMailboxId());
+    }
+
+    private Expunged mergeExpunged(Expunged previous, Expunged next) {
+        Map<MessageUid, MessageMetaData> expunged = new LinkedHashMap<>(previous.getExpunged());
+        expunged.putAll(next.getExpunged());
+
+        return new Expunged(previous.getSessionId(), previous.getUsername(), previous.getMailboxPath(), previous.getMailboxId(),
+            expunged, previous.getEventId(), previous.movedToMailboxId());
+    }
+}
@@ -187,6 +187,14 @@ public interface MailboxEvents {
         public MailboxId getMailboxId() {
             return mailboxId;
         }
+
+        /**
+         * Events of a given mailbox share the same partition, so that they are handled in order.
+         */
+        @Override
+        public String partitionKey() {
+            return mailboxId.serialize();
+        }
     }
 
     /**
@@ -20,6 +20,7 @@
 package org.apache.james.mailbox.indexer;
 
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import org.apache.james.core.Username;
@@ -29,16 +30,24 @@ import org.apache.james.mailbox.model.MailboxId;
 import org.apache.james.mailbox.model.MailboxPath;
 import org.apache.james.task.Task;
 
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ContiguousSet;
+import com.google.common.collect.ImmutableSortedSet;
+
 public interface ReIndexer {
 
     class RunningOptions {
         public static class Builder {
             private Optional<Integer> messagesPerSecond;
             private Optional<Mode> mode;
+            private Optional<Integer> partitionCount;
+            private Optional<Set<Integer>> partitions;
 
             public Builder() {
                 this.messagesPerSecond = Optional.empty();
                 this.mode = Optional.empty();
+                this.partitionCount = Optional.empty();
+                this.partitions = Optional.empty();
             }
 
             public Builder messagesPerSeconds(Optional<Integer> messagesPerSecond) {
@@ -55,10 +64,39 @@ public interface ReIndexer {
                 return mode(Optional.of(mode));
             }
 
+            public Builder partitionCount(Optional<Integer> partitionCount) {
+                this.partitionCount = partitionCount;
+                return this;
+            }
+
+            public Builder partitionCount(int partitionCount) {
+                return partitionCount(Optional.of(partitionCount));
+            }
+
+            public Builder partitions(Optional<Set<Integer>> partitions) {
+                this.partitions = partitions;
+                return this;
+            }
+
+            public Builder partitions(Set<Integer> partitions) {
+                return partitions(Optional.of(partitions));
+            }
+
             public RunningOptions build() {
+                int actualPartitionCount = partitionCount.orElse(DEFAULT_PARTITION_COUNT);
+                Preconditions.checkArgument(actualPartitionCount > 0, "'partitionCount' needs to be strictly positive");
+                partitions.ifPresent(values -> {
+                    Preconditions.checkArgument(!values.isEmpty(), "'partitions' should not be empty");
+                    Preconditions.checkArgument(values.stream().allMatch(partition -> partition >= 0 && partition < actualPartitionCount),
+                        "'partitions' needs to be within [0, %s[", actualPartitionCount);
+                });
+
                 return new RunningOptions(
                     messagesPerSecond.orElse(DEFAULT_MESSAGES_PER_SECONDS),
-                    mode.orElse(DEFAULT_MODE)
+                    mode.orElse(DEFAULT_MODE),
+                    actualPartitionCount,
+                    partitions.map(ImmutableSortedSet::copyOf)
+                        .orElseGet(() -> ImmutableSortedSet.copyOf(ContiguousSet.closedOpen(0, actualPartitionCount)))
                 );
             }
         }
@@ -96,15 +134,20 @@ public interface ReIndexer {
 
         private static final Mode DEFAULT_MODE = Mode.REBUILD_ALL;
         private static final int DEFAULT_MESSAGES_PER_SECONDS = 50;
+        private static final int DEFAULT_PARTITION_COUNT = 1;
 
         public static final RunningOptions DEFAULT = builder().build();
 
         private final int messagesPerSecond;
         private final Mode mode;
+        private final int partitionCount;
+        private final ImmutableSortedSet<Integer> partitions;
 
-        private RunningOptions(int messagesPerSecond, Mode mode) {
+        private RunningOptions(int messagesPerSecond, Mode mode, int partitionCount, ImmutableSortedSet<Integer> partitions) {
             this.messagesPerSecond = messagesPerSecond;
             this.mode = mode;
+            this.partitionCount = partitionCount;
+            this.partitions = partitions;
         }
 
         public int getMessagesPerSecond() {
@@ -114,6 +157,25 @@ public interface ReIndexer {
         public Mode getMode() {
             return mode;
         }
+
+        /**
+         * Mailboxes are spread into this many partitions. Each partition is processed, then checkpointed, as a whole.
+         */
+        public int getPartitionCount() {
+            return partitionCount;
+        }
+
+        /**
+         * Partitions to be processed by this run. Distinct runs can handle distinct partitions, in order to spread a
+         * reindexing across the nodes of a cluster.
+         */
+        public ImmutableSortedSet<Integer> getPartitions() {
+            return partitions;
+        }
+
+        public boolean isPartitioned() {
+            return partitionCount > DEFAULT_PARTITION_COUNT;
+        }
     }
 
     Task reIndex(Username username, RunningOptions runningOptions) throws MailboxException;
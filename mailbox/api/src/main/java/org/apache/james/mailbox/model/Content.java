@@ -28,6 +28,8 @@ import org.apache.james.mailbox.exception.MailboxException;
 import org.apache.james.util.ReactorUtils;
 import org.reactivestreams.Publisher;
 
+import com.github.fge.lambdas.Throwing;
+
 import reactor.core.publisher.Flux;
 import reactor.core.scheduler.Schedulers;
 
@@ -54,12 +56,14 @@ public interface Content {
      */
     long size() throws MailboxException;
 
+    /**
+     * Return the content as chunks. The underlying {@link InputStream} is closed once the chunks are consumed,
+     * the publisher errors or is cancelled.
+     */
     default Publisher<ByteBuffer> reactiveBytes() {
-        try {
-            return ReactorUtils.toChunks(getInputStream(), BUFFER_SIZE)
-                .subscribeOn(Schedulers.boundedElastic());
-        } catch (IOException e) {
-            return Flux.error(e);
-        }
+        return Flux.using(this::getInputStream,
+                inputStream -> ReactorUtils.toChunks(inputStream, BUFFER_SIZE),
+                Throwing.consumer(InputStream::close))
+            .subscribeOn(Schedulers.boundedElastic());
     }
 }
\ No newline at end of file
@@ -0,0 +1,158 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Date;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import jakarta.mail.Flags;
+
+import org.apache.james.core.Username;
+import org.apache.james.core.quota.QuotaCountUsage;
+import org.apache.james.core.quota.QuotaSizeUsage;
+import org.apache.james.events.Event;
+import org.apache.james.mailbox.MailboxSession;
+import org.apache.james.mailbox.MessageUid;
+import org.apache.james.mailbox.ModSeq;
+import org.apache.james.mailbox.events.MailboxEvents.Added;
+import org.apache.james.mailbox.events.MailboxEvents.Expunged;
+import org.apache.james.mailbox.events.MailboxEvents.FlagsUpdated;
+import org.apache.james.mailbox.events.MailboxEvents.MailboxDeletion;
+import org.apache.james.mailbox.model.MailboxACL;
+import org.apache.james.mailbox.model.MailboxPath;
+import org.apache.james.mailbox.model.MessageMetaData;
+import org.apache.james.mailbox.model.QuotaRoot;
+import org.apache.james.mailbox.model.TestId;
+import org.apache.james.mailbox.model.TestMessageId;
+import org.apache.james.mailbox.model.ThreadId;
+import org.apache.james.mailbox.model.UpdatedFlags;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+class MailboxEventCoalescerTest {
+    private static final Username USERNAME = Username.of("bob");
+    private static final MailboxSession.SessionId SESSION_ID = MailboxSession.SessionId.of(42);
+    private static final MailboxPath PATH = MailboxPath.inbox(USERNAME);
+    private static final TestId MAILBOX_ID = TestId.of(18);
+    private static final Event.EventId EVENT_ID_1 = Event.EventId.random();
+    private static final Event.EventId EVENT_ID_2 = Event.EventId.random();
+
+    private final MailboxEventCoalescer testee = new MailboxEventCoalescer();
+
+    @Test
+    void canCoalesceShouldAcceptMessageEvents() {
+        assertThat(testee.canCoalesce(flagsUpdated(EVENT_ID_1, SESSION_ID, ImmutableList.of()))).isTrue();
+    }
+
+    @Test
+    void canCoalesceShouldRejectOtherEvents() {
+        MailboxDeletion mailboxDeletion = new MailboxDeletion(SESSION_ID, USERNAME, PATH, new MailboxACL(), QuotaRoot.quotaRoot("bob", Optional.empty()),
+            QuotaCountUsage.count(0), QuotaSizeUsage.size(0), MAILBOX_ID, EVENT_ID_1);
+
+        assertThat(testee.canCoalesce(mailboxDeletion)).isFalse();
+    }
+
+    @Test
+    void mergeShouldConcatenateFlagsUpdatesOfDistinctMessages() {
+        UpdatedFlags update1 = update(1, 10, new Flags(), new Flags(Flags.Flag.SEEN));
+        UpdatedFlags update2 = update(2, 11, new Flags(), new Flags(Flags.Flag.SEEN));
+
+        assertThat(testee.merge(flagsUpdated(EVENT_ID_1, SESSION_ID, ImmutableList.of(update1)), flagsUpdated(EVENT_ID_2, SESSION_ID, ImmutableList.of(update2))))
+            .contains(flagsUpdated(EVENT_ID_1, SESSION_ID, ImmutableList.of(update1, update2)));
+    }
+
+    @Test
+    void mergeShouldCombineFlagsUpdatesOfTheSameMessage() {
+        UpdatedFlags update1 = update(1, 10, new Flags(), new Flags(Flags.Flag.SEEN));
+        UpdatedFlags update2 = update(1, 11, new Flags(Flags.Flag.SEEN), new Flags(Flags.Flag.ANSWERED));
+
+        assertThat(testee.merge(flagsUpdated(EVENT_ID_1, SESSION_ID, ImmutableList.of(update1)), flagsUpdated(EVENT_ID_2, SESSION_ID, ImmutableList.of(update2))))
+            .contains(flagsUpdated(EVENT_ID_1, SESSION_ID, ImmutableList.of(update(1, 11, new Flags(), new Flags(Flags.Flag.ANSWERED)))));
+    }
+
+    @Test
+    void mergeShouldNotCombineEventsOfDistinctSessions() {
+        assertThat(testee.merge(flagsUpdated(EVENT_ID_1, SESSION_ID, ImmutableList.of()), flagsUpdated(EVENT_ID_2, MailboxSession.SessionId.of(43), ImmutableList.of())))
+            .isEmpty();
+    }
+
+    @Test
+    void mergeShouldNotCombineEventsOfDistinctKinds() {
+        assertThat(testee.merge(flagsUpdated(EVENT_ID_1, SESSION_ID, ImmutableList.of()), expunged(EVENT_ID_2, metaData(1))))
+            .isEmpty();
+    }
+
+    @Test
+    void mergeShouldUnionAddedMessages() {
+        TreeMap<MessageUid, MessageMetaData> first = new TreeMap<>(ImmutableMap.of(MessageUid.of(1), metaData(1)));
+        TreeMap<MessageUid, MessageMetaData> second = new TreeMap<>(ImmutableMap.of(MessageUid.of(2), metaData(2)));
+        TreeMap<MessageUid, MessageMetaData> both = new TreeMap<>(ImmutableMap.of(MessageUid.of(1), metaData(1), MessageUid.of(2), metaData(2)));
+
+        assertThat(testee.merge(added(EVENT_ID_1, first, false), added(EVENT_ID_2, second, false)))
+            .contains(added(EVENT_ID_1, both, false));
+    }
+
+    @Test
+    void mergeShouldNotCombineDeliveriesWithAppends() {
+        TreeMap<MessageUid, MessageMetaData> first = new TreeMap<>(ImmutableMap.of(MessageUid.of(1), metaData(1)));
+        TreeMap<MessageUid, MessageMetaData> second = new TreeMap<>(ImmutableMap.of(MessageUid.of(2), metaData(2)));
+
+        assertThat(testee.merge(added(EVENT_ID_1, first, true), added(EVENT_ID_2, second, false)))
+            .isEmpty();
+    }
+
+    @Test
+    void mergeShouldUnionExpungedMessages() {
+        assertThat(testee.merge(expunged(EVENT_ID_1, metaData(1)), expunged(EVENT_ID_2, metaData(2))))
+            .contains(new Expunged(SESSION_ID, USERNAME, PATH, MAILBOX_ID,
+                ImmutableMap.of(MessageUid.of(1), metaData(1), MessageUid.of(2), metaData(2)), EVENT_ID_1, Optional.empty()));
+    }
+
+    private FlagsUpdated flagsUpdated(Event.EventId eventId, MailboxSession.SessionId sessionId, ImmutableList<UpdatedFlags> updatedFlags) {
+        return new FlagsUpdated(sessionId, USERNAME, PATH, MAILBOX_ID, updatedFlags, eventId);
+    }
+
+    private Added added(Event.EventId eventId, TreeMap<MessageUid, MessageMetaData> messages, boolean isDelivery) {
+        return new Added(SESSION_ID, USERNAME, PATH, MAILBOX_ID, messages, eventId, isDelivery, !isDelivery, Optional.empty());
+    }
+
+    private Expunged expunged(Event.EventId eventId, MessageMetaData metaData) {
+        return new Expunged(SESSION_ID, USERNAME, PATH, MAILBOX_ID, ImmutableMap.of(metaData.getUid(), metaData), eventId, Optional.empty());
+    }
+
+    private UpdatedFlags update(long uid, long modSeq, Flags oldFlags, Flags newFlags) {
+        return UpdatedFlags.builder()
+            .uid(MessageUid.of(uid))
+            .modSeq(ModSeq.of(modSeq))
+            .oldFlags(oldFlags)
+            .newFlags(newFlags)
+            .build();
+    }
+
+    private MessageMetaData metaData(long uid) {
+        return new MessageMetaData(MessageUid.of(uid), ModSeq.of(uid), new Flags(), 45, new Date(1000), Optional.empty(),
+            TestMessageId.of(uid), ThreadId.fromBaseMessageId(TestMessageId.of(uid)));
+    }
+}
@@ -0,0 +1,86 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import reactor.core.publisher.Flux;
+
+class ContentTest {
+    private static final byte[] CONTENT = "0123456789".repeat(5000).getBytes(StandardCharsets.US_ASCII);
+
+    private AtomicBoolean closed;
+    private Content testee;
+
+    @BeforeEach
+    void setUp() {
+        closed = new AtomicBoolean(false);
+        testee = new Content() {
+            @Override
+            public InputStream getInputStream() {
+                return new ByteArrayInputStream(CONTENT) {
+                    @Override
+                    public void close() throws IOException {
+                        closed.set(true);
+                        super.close();
+                    }
+                };
+            }
+
+            @Override
+            public long size() {
+                return CONTENT.length;
+            }
+        };
+    }
+
+    @Test
+    void reactiveBytesShouldReturnTheContent() {
+        long size = Flux.from(testee.reactiveBytes())
+            .map(byteBuffer -> (long) byteBuffer.remaining())
+            .reduce(0L, Long::sum)
+            .block();
+
+        assertThat(size).isEqualTo(CONTENT.length);
+    }
+
+    @Test
+    void reactiveBytesShouldCloseTheStreamOnCompletion() {
+        Flux.from(testee.reactiveBytes()).blockLast();
+
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    void reactiveBytesShouldCloseTheStreamOnCancellation() {
+        Flux.from(testee.reactiveBytes()).take(1).blockLast();
+
+        assertThat(closed).isTrue();
+    }
+}
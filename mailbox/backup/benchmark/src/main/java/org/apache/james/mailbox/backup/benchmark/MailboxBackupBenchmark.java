@@ -0,0 +1,141 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.backup.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.james.core.Username;
+import org.apache.james.mailbox.MailboxManager;
+import org.apache.james.mailbox.MailboxSession;
+import org.apache.james.mailbox.MessageManager;
+import org.apache.james.mailbox.backup.DefaultMailboxBackup;
+import org.apache.james.mailbox.backup.MailboxBackup;
+import org.apache.james.mailbox.backup.ZipMailArchiveRestorer;
+import org.apache.james.mailbox.backup.zip.ZipArchivesLoader;
+import org.apache.james.mailbox.backup.zip.Zipper;
+import org.apache.james.mailbox.inmemory.manager.InMemoryIntegrationResources;
+import org.apache.james.mailbox.model.MailboxId;
+import org.apache.james.mailbox.model.MailboxPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.base.Strings;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.CountingOutputStream;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Exports and restores an account holding <code>messageCount</code> messages of <code>messageSize</code> bytes,
+ * spread over <code>mailboxCount</code> mailboxes of the memory implementation.
+ *
+ * Run with <code>-prof gc</code> in order to get the bytes allocated per export or restore
+ * (<code>gc.alloc.rate.norm</code>), and with a small heap (e.g. <code>-jvmArgs -Xmx256m</code>) in order to check that
+ * the memory needed does not grow with the size of the account.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class MailboxBackupBenchmark {
+    private static final Username SOURCE = Username.of("source@domain.tld");
+    private static final Username DESTINATION = Username.of("destination@domain.tld");
+
+    @State(Scope.Benchmark)
+    public static class Account {
+        @Param({"1", "10"})
+        public int mailboxCount;
+
+        @Param({"100", "1000"})
+        public int messageCount;
+
+        @Param({"4096", "102400"})
+        public int messageSize;
+
+        private MailboxBackup backup;
+        private byte[] archive;
+
+        @Setup(Level.Trial)
+        public void setUp() throws Exception {
+            MailboxManager mailboxManager = InMemoryIntegrationResources.defaultResources().getMailboxManager();
+            backup = backup(mailboxManager);
+            MailboxSession session = mailboxManager.createSystemSession(SOURCE);
+            String message = message();
+
+            for (int mailbox = 0; mailbox < mailboxCount; mailbox++) {
+                MailboxId mailboxId = mailboxManager.createMailbox(MailboxPath.forUser(SOURCE, "mailbox" + mailbox), session).get();
+                MessageManager messageManager = mailboxManager.getMailbox(mailboxId, session);
+                for (int i = mailbox; i < messageCount; i += mailboxCount) {
+                    messageManager.appendMessage(MessageManager.AppendCommand.builder().build(message), session);
+                }
+            }
+
+            ByteArrayOutputStream destination = new ByteArrayOutputStream();
+            backup.backupAccount(SOURCE, destination);
+            archive = destination.toByteArray();
+        }
+
+        private String message() {
+            String headers = "From: bob@domain.tld\r\nTo: alice@domain.tld\r\nSubject: benchmark\r\n\r\n";
+            return headers + Strings.repeat("0123456789abcde\n", Math.max(0, messageSize - headers.length()) / 16);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class EmptyAccount {
+        private MailboxBackup backup;
+
+        // A restore needs an empty account: each invocation restores into a new memory mailbox manager
+        @Setup(Level.Invocation)
+        public void setUp() {
+            backup = backup(InMemoryIntegrationResources.defaultResources().getMailboxManager());
+        }
+    }
+
+    private static MailboxBackup backup(MailboxManager mailboxManager) {
+        return new DefaultMailboxBackup(mailboxManager, new Zipper(), new ZipMailArchiveRestorer(mailboxManager, new ZipArchivesLoader()));
+    }
+
+    @Benchmark
+    public long export(Account account) throws Exception {
+        CountingOutputStream destination = new CountingOutputStream(ByteStreams.nullOutputStream());
+        account.backup.backupAccount(SOURCE, destination);
+        return destination.getCount();
+    }
+
+    @Benchmark
+    public MailboxBackup.BackupStatus restore(Account account, EmptyAccount emptyAccount) throws Exception {
+        return Mono.from(emptyAccount.backup.restore(DESTINATION, new ByteArrayInputStream(account.archive)))
+            .block();
+    }
+}
@@ -42,7 +42,6 @@ import org.apache.james.mailbox.model.MessageRange;
 import org.apache.james.mailbox.model.MessageResult;
 import org.apache.james.mailbox.model.search.MailboxQuery;
 import org.apache.james.util.ReactorUtils;
-import org.apache.james.util.streams.Iterators;
 import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -51,18 +50,21 @@ import com.github.fge.lambdas.Throwing;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 public class DefaultMailboxBackup implements MailboxBackup {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultMailboxBackup.class);
+    @VisibleForTesting
+    static final int MESSAGE_PREFETCH = 8;
 
     @VisibleForTesting
     static class MailAccountContent {
         private final MailboxWithAnnotations mailboxWithAnnotations;
-        private final Stream<MessageResult> messages;
+        private final Flux<MessageResult> messages;
 
-        MailAccountContent(MailboxWithAnnotations mailboxWithAnnotations, Stream<MessageResult> messages) {
+        MailAccountContent(MailboxWithAnnotations mailboxWithAnnotations, Flux<MessageResult> messages) {
             this.mailboxWithAnnotations = mailboxWithAnnotations;
             this.messages = messages;
         }
@@ -71,7 +73,7 @@ public class DefaultMailboxBackup implements MailboxBackup {
             return mailboxWithAnnotations;
         }
 
-        public Stream<MessageResult> getMessages() {
+        public Flux<MessageResult> getMessages() {
             return messages;
         }
     }
@@ -95,7 +97,7 @@ public class DefaultMailboxBackup implements MailboxBackup {
             .map(MailAccountContent::getMailboxWithAnnotations)
             .collect(ImmutableList.toImmutableList());
 
-        Stream<MessageResult> messages = allMessagesForUser(accountContents);
+        Flux<MessageResult> messages = allMessagesForUser(accountContents);
         archive(mailboxes, messages, destination);
         mailboxManager.endProcessingRequest(session);
     }
@@ -137,8 +139,7 @@ public class DefaultMailboxBackup implements MailboxBackup {
             Mailbox mailbox = messageManager.getMailboxEntity();
             List<MailboxAnnotation> annotations = mailboxManager.getAllAnnotations(path, session);
             MailboxWithAnnotations mailboxWithAnnotations = new MailboxWithAnnotations(mailbox, annotations);
-            Stream<MessageResult> messages = Iterators.toStream(messageManager.getMessages(MessageRange.all(), FetchGroup.FULL_CONTENT, session));
-            return Stream.of(new MailAccountContent(mailboxWithAnnotations, messages));
+            return Stream.of(new MailAccountContent(mailboxWithAnnotations, messages(messageManager, session)));
         } catch (MailboxException e) {
             LOGGER.error("Error while fetching Mailbox during backup", e);
             return Stream.empty();
@@ -161,12 +162,26 @@ public class DefaultMailboxBackup implements MailboxBackup {
         return mailboxes;
     }
 
-    private void archive(List<MailboxWithAnnotations> mailboxes, Stream<MessageResult> messages, OutputStream destination) throws IOException {
-        archiveService.archive(mailboxes, messages, destination);
+    /**
+     * Lazily lists the messages of the mailbox, their full content being fetched with a bounded prefetch so that
+     * only a handful of messages are held in memory while the archive is being written.
+     */
+    private Flux<MessageResult> messages(MessageManager messageManager, MailboxSession session) {
+        return Flux.from(messageManager.listMessagesMetadata(MessageRange.all(), session))
+            .map(metaData -> metaData.getComposedMessageId().getUid())
+            .flatMapSequential(uid -> Flux.from(messageManager.getMessagesReactive(MessageRange.one(uid), FetchGroup.FULL_CONTENT, session)),
+                MESSAGE_PREFETCH, 1);
+    }
+
+    private void archive(List<MailboxWithAnnotations> mailboxes, Flux<MessageResult> messages, OutputStream destination) throws IOException {
+        try (Stream<MessageResult> messageStream = messages.toStream(MESSAGE_PREFETCH)) {
+            archiveService.archive(mailboxes, messageStream, destination);
+        }
     }
 
-    private Stream<MessageResult> allMessagesForUser(List<MailAccountContent> mailboxes) {
-        return mailboxes.stream().flatMap(MailAccountContent::getMessages);
+    private Flux<MessageResult> allMessagesForUser(List<MailAccountContent> mailboxes) {
+        return Flux.fromIterable(mailboxes)
+            .concatMap(MailAccountContent::getMessages);
     }
 
 }
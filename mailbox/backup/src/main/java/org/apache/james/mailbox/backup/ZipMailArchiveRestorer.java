@@ -20,12 +20,16 @@ package org.apache.james.mailbox.backup;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Stream;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import jakarta.inject.Inject;
+import jakarta.mail.Flags;
 
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.james.core.Username;
@@ -35,16 +39,23 @@ import org.apache.james.mailbox.MessageManager;
 import org.apache.james.mailbox.exception.MailboxException;
 import org.apache.james.mailbox.model.MailboxId;
 import org.apache.james.mailbox.model.MailboxPath;
+import org.apache.james.util.ReactorUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.github.fge.lambdas.Throwing;
-import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableMap;
+import com.google.common.annotations.VisibleForTesting;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 public class ZipMailArchiveRestorer implements MailArchiveRestorer {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ZipMailArchiveRestorer.class);
+    @VisibleForTesting
+    static final int MESSAGE_BATCH_SIZE = 32;
+    @VisibleForTesting
+    static final long MESSAGE_BATCH_MAX_BYTES = 16 * 1024 * 1024;
 
     private final MailboxManager mailboxManager;
     private final MailArchivesLoader archiveLoader;
@@ -61,38 +72,74 @@ public class ZipMailArchiveRestorer implements MailArchiveRestorer {
         mailboxManager.endProcessingRequest(session);
     }
 
+    /**
+     * Entries are restored while the archive is being read: mailboxes are created as soon as they are encountered,
+     * and messages are appended by bounded batches, the next batch being read while the previous one is appended.
+     * At most two batches are thus held in memory at any given time.
+     */
     private void restoreEntries(InputStream source, MailboxSession session) throws IOException {
         try (MailArchiveIterator archiveIterator = archiveLoader.load(source)) {
-            List<MailboxWithAnnotationsArchiveEntry> mailboxes = readMailboxes(archiveIterator);
-            restoreMailboxes(session, mailboxes);
+            Map<SerializedMailboxId, MessageManager> mailboxes = new ConcurrentHashMap<>();
+
+            Flux.fromIterable(() -> archiveIterator)
+                .concatMap(entry -> readEntry(session, mailboxes, entry))
+                .transform(this::batch)
+                .publishOn(ReactorUtils.BLOCKING_CALL_WRAPPER, 1)
+                .concatMap(batch -> Flux.fromIterable(batch)
+                    .concatMap(message -> appendMessage(session, mailboxes, message)))
+                .then()
+                .block();
         }
     }
 
-    private Map<SerializedMailboxId, MessageManager> restoreMailboxes(MailboxSession session, List<MailboxWithAnnotationsArchiveEntry> mailboxes) {
-        return mailboxes.stream()
-            .flatMap(Throwing.<MailboxWithAnnotationsArchiveEntry, Stream<ImmutablePair<SerializedMailboxId, MessageManager>>>function(
-                mailboxEntry -> restoreMailboxEntry(session, mailboxEntry).stream()).sneakyThrow())
-            .collect(ImmutableMap.toImmutableMap(Map.Entry::getKey, Map.Entry::getValue));
+    private Mono<MessageToRestore> readEntry(MailboxSession session, Map<SerializedMailboxId, MessageManager> mailboxes, MailArchiveEntry entry) {
+        switch (entry.getType()) {
+            case MAILBOX:
+                return Mono.fromCallable(() -> restoreMailboxEntry(session, (MailboxWithAnnotationsArchiveEntry) entry))
+                    .flatMap(Mono::justOrEmpty)
+                    .doOnNext(pair -> mailboxes.put(pair.getKey(), pair.getValue()))
+                    .then(Mono.empty());
+            case MESSAGE:
+                return Mono.fromCallable(() -> MessageToRestore.read((MessageArchiveEntry) entry));
+            case UNKNOWN:
+                String entryName = ((UnknownArchiveEntry) entry).getEntryName();
+                LOGGER.warn("unknown entry found in zip :" + entryName);
+                return Mono.empty();
+            default:
+                return Mono.empty();
+        }
     }
 
-    private List<MailboxWithAnnotationsArchiveEntry> readMailboxes(MailArchiveIterator iterator) {
-        ImmutableList.Builder<MailboxWithAnnotationsArchiveEntry> mailboxes = ImmutableList.builder();
-        while (iterator.hasNext()) {
-            MailArchiveEntry entry = iterator.next();
-            switch (entry.getType()) {
-                case MAILBOX:
-                    mailboxes.add((MailboxWithAnnotationsArchiveEntry) entry);
-                    break;
-                case MESSAGE:
-                    //Ignore for know, TODO: implementation
-                    break;
-                case UNKNOWN:
-                    String entryName = ((UnknownArchiveEntry) entry).getEntryName();
-                    LOGGER.warn("unknown entry found in zip :" + entryName);
-                    break;
-            }
+    private Flux<List<MessageToRestore>> batch(Flux<MessageToRestore> messages) {
+        return Flux.defer(() -> {
+            AtomicInteger batchCount = new AtomicInteger();
+            AtomicLong batchBytes = new AtomicLong();
+            return messages.bufferUntil(message -> {
+                int count = batchCount.incrementAndGet();
+                long bytes = batchBytes.addAndGet(message.content.length);
+                if (count >= MESSAGE_BATCH_SIZE || bytes >= MESSAGE_BATCH_MAX_BYTES) {
+                    batchCount.set(0);
+                    batchBytes.set(0);
+                    return true;
+                }
+                return false;
+            });
+        });
+    }
+
+    private Mono<Void> appendMessage(MailboxSession session, Map<SerializedMailboxId, MessageManager> mailboxes, MessageToRestore message) {
+        MessageManager messageManager = mailboxes.get(message.mailboxId);
+        if (messageManager == null) {
+            LOGGER.warn("Message {} references unknown mailbox {}, skipping it", message.messageId.getValue(), message.mailboxId.getValue());
+            return Mono.empty();
         }
-        return mailboxes.build();
+        MessageManager.AppendCommand appendCommand = MessageManager.AppendCommand.builder()
+            .withInternalDate(message.internalDate)
+            .withFlags(message.flags)
+            .isRecent(message.flags.contains(Flags.Flag.RECENT))
+            .build(message.content);
+        return Mono.from(messageManager.appendMessageReactive(appendCommand, session))
+            .then();
     }
 
     private Optional<ImmutablePair<SerializedMailboxId, MessageManager>> restoreMailboxEntry(MailboxSession session,
@@ -103,4 +150,27 @@ public class ZipMailArchiveRestorer implements MailArchiveRestorer {
         return newMailboxId.map(Throwing.<MailboxId, ImmutablePair<SerializedMailboxId, MessageManager>>function(newId ->
             ImmutablePair.of(mailboxWithAnnotationsArchiveEntry.getMailboxId(), mailboxManager.getMailbox(newId, session))).sneakyThrow());
     }
+
+    private static class MessageToRestore {
+        static MessageToRestore read(MessageArchiveEntry entry) throws IOException {
+            try (InputStream content = entry.getContent()) {
+                return new MessageToRestore(entry.getMessageId(), entry.getMailboxId(), entry.getInternalDate(), entry.getFlags(),
+                    content.readAllBytes());
+            }
+        }
+
+        private final SerializedMessageId messageId;
+        private final SerializedMailboxId mailboxId;
+        private final Date internalDate;
+        private final Flags flags;
+        private final byte[] content;
+
+        private MessageToRestore(SerializedMessageId messageId, SerializedMailboxId mailboxId, Date internalDate, Flags flags, byte[] content) {
+            this.messageId = messageId;
+            this.mailboxId = mailboxId;
+            this.internalDate = internalDate;
+            this.flags = flags;
+            this.content = content;
+        }
+    }
 }
@@ -20,7 +20,6 @@ package org.apache.james.mailbox.backup.zip;
 
 import java.util.Arrays;
 import java.util.Optional;
-import java.util.function.Function;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipException;
 
@@ -31,13 +30,21 @@ import org.apache.commons.compress.archivers.zip.ZipShort;
 public class ExtraFieldExtractor {
 
     public static Optional<String> getStringExtraField(ZipShort id, ZipEntry entry) throws ZipException {
+        return getExtraField(id, StringExtraField.class, entry)
+            .flatMap(StringExtraField::getValue);
+    }
+
+    public static Optional<Long> getLongExtraField(ZipShort id, ZipEntry entry) throws ZipException {
+        return getExtraField(id, LongExtraField.class, entry)
+            .flatMap(LongExtraField::getValue);
+    }
+
+    public static <T extends ZipExtraField> Optional<T> getExtraField(ZipShort id, Class<T> type, ZipEntry entry) throws ZipException {
         ZipExtraField[] extraFields = ExtraFieldUtils.parse(entry.getExtra());
         return Arrays.stream(extraFields)
             .filter(field -> field.getHeaderId().equals(id))
-            .map(StringExtraField.class::cast)
-            .map(StringExtraField::getValue)
-            .findFirst()
-            .flatMap(Function.identity());
+            .map(type::cast)
+            .findFirst();
     }
 
     public static Optional<ZipEntryType> getEntryType(ZipEntry entry) {
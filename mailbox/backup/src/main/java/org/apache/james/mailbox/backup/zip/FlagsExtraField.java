@@ -20,6 +20,7 @@
 package org.apache.james.mailbox.backup.zip;
 
 import java.util.Optional;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -31,6 +32,7 @@ import org.apache.james.util.StreamUtils;
 public class FlagsExtraField extends StringExtraField implements WithZipHeader {
 
     public static final ZipShort ID_AP = new ZipShort(WithZipHeader.toLittleEndian('a', 'p'));
+    private static final Pattern SEPARATOR = Pattern.compile("%");
 
     private static String serializeFlags(Flags flags) {
         return Stream.concat(
@@ -53,6 +55,35 @@ public class FlagsExtraField extends StringExtraField implements WithZipHeader {
         return ID_AP;
     }
 
+    public Flags getFlagsValue() {
+        Flags flags = new Flags();
+        getValue().stream()
+            .flatMap(SEPARATOR::splitAsStream)
+            .filter(flag -> !flag.isEmpty())
+            .forEach(flag -> stringToSystemFlag(flag)
+                .ifPresentOrElse(flags::add, () -> flags.add(flag)));
+        return flags;
+    }
+
+    private static Optional<Flags.Flag> stringToSystemFlag(String flag) {
+        switch (flag) {
+            case "\\ANSWERED":
+                return Optional.of(Flags.Flag.ANSWERED);
+            case "\\DELETED":
+                return Optional.of(Flags.Flag.DELETED);
+            case "\\DRAFT":
+                return Optional.of(Flags.Flag.DRAFT);
+            case "\\FLAGGED":
+                return Optional.of(Flags.Flag.FLAGGED);
+            case "\\RECENT":
+                return Optional.of(Flags.Flag.RECENT);
+            case "\\SEEN":
+                return Optional.of(Flags.Flag.SEEN);
+            default:
+                return Optional.empty();
+        }
+    }
+
     private static String systemFlagToString(Flags.Flag flag) throws RuntimeException {
         if (flag == Flags.Flag.ANSWERED) {
             return "\\ANSWERED";
@@ -19,7 +19,9 @@
 package org.apache.james.mailbox.backup.zip;
 
 import java.io.Closeable;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Iterator;
 import java.util.Optional;
 import java.util.zip.ZipEntry;
@@ -28,42 +30,59 @@ import java.util.zip.ZipInputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Iterates lazily over the entries of a {@link ZipInputStream}: the next entry is only read upon {@link #hasNext()}
+ * or {@link #next()}, so that the content of the entry last returned can be streamed through
+ * {@link #currentEntryContent()} until then.
+ */
 public class ZipEntryIterator implements Iterator<ZipEntry>, Closeable {
     private final ZipInputStream zipInputStream;
     private Optional<ZipEntry> next;
+    private boolean nextRead;
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ZipEntryIterator.class);
 
     public ZipEntryIterator(ZipInputStream inputStream) {
         zipInputStream = inputStream;
-        try {
-            next = Optional.ofNullable(zipInputStream.getNextEntry());
-        } catch (IOException e) {
-            LOGGER.error("Empty stream or error during reading first entry", e);
-            next = Optional.empty();
-        }
+        next = Optional.empty();
+        nextRead = false;
     }
 
     @Override
     public boolean hasNext() {
+        if (!nextRead) {
+            advanceToNextEntry();
+        }
         return next.isPresent();
     }
 
     @Override
     public ZipEntry next() {
-        Optional<ZipEntry> current = next;
-        if (!current.isPresent()) {
+        if (!hasNext()) {
             return null;
         }
 
-        ZipEntry currentEntry = current.get();
-
-        advanceToNextEntry();
-
+        ZipEntry currentEntry = next.get();
+        next = Optional.empty();
+        nextRead = false;
         return currentEntry;
     }
 
+    /**
+     * Content of the entry last returned by {@link #next()}. It is only valid until the iterator is advanced, and
+     * closing it leaves the underlying archive open.
+     */
+    public InputStream currentEntryContent() {
+        return new FilterInputStream(zipInputStream) {
+            @Override
+            public void close() {
+                // The archive is closed along with the iterator
+            }
+        };
+    }
+
     private void advanceToNextEntry() {
+        nextRead = true;
         try {
             next = Optional.ofNullable(zipInputStream.getNextEntry());
         } catch (IOException e) {
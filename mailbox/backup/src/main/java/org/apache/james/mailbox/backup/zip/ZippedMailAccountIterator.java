@@ -19,17 +19,22 @@
 package org.apache.james.mailbox.backup.zip;
 
 import java.io.IOException;
+import java.util.Date;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipException;
 
+import jakarta.mail.Flags;
+
 import org.apache.commons.lang3.StringUtils;
 import org.apache.james.mailbox.backup.MailArchiveEntry;
 import org.apache.james.mailbox.backup.MailArchiveIterator;
 import org.apache.james.mailbox.backup.MailboxWithAnnotationsArchiveEntry;
+import org.apache.james.mailbox.backup.MessageArchiveEntry;
 import org.apache.james.mailbox.backup.SerializedMailboxId;
+import org.apache.james.mailbox.backup.SerializedMessageId;
 import org.apache.james.mailbox.backup.UnknownArchiveEntry;
 import org.apache.james.mailbox.model.MailboxAnnotation;
 import org.slf4j.Logger;
@@ -42,11 +47,11 @@ public class ZippedMailAccountIterator implements MailArchiveIterator {
     private static final Logger LOGGER = LoggerFactory.getLogger(ZippedMailAccountIterator.class);
     private static final List<MailboxAnnotation> NO_ANNOTATION = ImmutableList.of();
     private final ZipEntryIterator zipEntryIterator;
-    private Optional<ZipEntry> next;
+    private boolean failed;
 
     public ZippedMailAccountIterator(ZipEntryIterator zipEntryIterator) {
         this.zipEntryIterator = zipEntryIterator;
-        next = Optional.ofNullable(zipEntryIterator.next());
+        this.failed = false;
     }
 
     @Override
@@ -56,21 +61,24 @@ public class ZippedMailAccountIterator implements MailArchiveIterator {
 
     @Override
     public boolean hasNext() {
-        return next.isPresent();
+        return !failed && zipEntryIterator.hasNext();
     }
 
+    /**
+     * The content of a returned {@link MessageArchiveEntry} is streamed from the archive, hence it needs to be
+     * consumed before calling {@link #hasNext()} or {@link #next()} again.
+     */
     @Override
     public MailArchiveEntry next() {
-        return next.map(this::doNext).orElseThrow(() -> new NoSuchElementException());
-    }
-
-    private MailArchiveEntry doNext(ZipEntry currentElement) {
-        next = Optional.ofNullable(zipEntryIterator.next());
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        ZipEntry currentElement = zipEntryIterator.next();
         try {
             return getMailArchiveEntry(currentElement);
         } catch (Exception e) {
             LOGGER.error("Error when reading archive on entry : " + currentElement.getName(), e);
-            next = Optional.empty();
+            failed = true;
             return new UnknownArchiveEntry(currentElement.getName());
         }
     }
@@ -97,10 +105,29 @@ public class ZippedMailAccountIterator implements MailArchiveIterator {
         return new MailboxWithAnnotationsArchiveEntry(getMailboxName(current), getMailBoxId(current).get(), NO_ANNOTATION);
     }
 
+    private MailArchiveEntry fromMessageEntry(ZipEntry current) throws ZipException {
+        SerializedMessageId messageId = ExtraFieldExtractor.getStringExtraField(MessageIdExtraField.ID_AL, current)
+            .map(SerializedMessageId::new)
+            .orElseGet(() -> new SerializedMessageId(current.getName()));
+        long size = ExtraFieldExtractor.getLongExtraField(SizeExtraField.ID_AJ, current)
+            .orElseThrow(() -> new ZipException("Missing size for message entry " + current.getName()));
+        Date internalDate = ExtraFieldExtractor.getExtraField(InternalDateExtraField.ID_AO, InternalDateExtraField.class, current)
+            .flatMap(InternalDateExtraField::getDateValue)
+            .orElseThrow(() -> new ZipException("Missing internal date for message entry " + current.getName()));
+        Flags flags = ExtraFieldExtractor.getExtraField(FlagsExtraField.ID_AP, FlagsExtraField.class, current)
+            .map(FlagsExtraField::getFlagsValue)
+            .orElseGet(Flags::new);
+
+        return new MessageArchiveEntry(messageId, getMailBoxId(current).get(), size, internalDate, flags,
+            zipEntryIterator.currentEntryContent());
+    }
+
     private MailArchiveEntry from(ZipEntry current, ZipEntryType currentEntryType) throws ZipException {
         switch (currentEntryType) {
             case MAILBOX:
                 return fromMailboxEntry(current);
+            case MESSAGE:
+                return fromMessageEntry(current);
             default:
                 return new UnknownArchiveEntry(current.getName());
         }
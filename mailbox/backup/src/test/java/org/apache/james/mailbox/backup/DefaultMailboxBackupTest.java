@@ -24,8 +24,13 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.Date;
 import java.util.List;
+import java.util.stream.IntStream;
+
+import jakarta.mail.Flags;
 
 import org.apache.james.mailbox.MailboxManager;
 import org.apache.james.mailbox.MailboxSession;
@@ -38,10 +43,12 @@ import org.apache.james.mailbox.model.ByteSourceContent;
 import org.apache.james.mailbox.model.Mailbox;
 import org.apache.james.mailbox.model.MailboxId;
 import org.apache.james.mailbox.model.MailboxPath;
+import org.apache.james.mailbox.model.MessageResult;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import com.github.fge.lambdas.Throwing;
+import com.google.common.collect.ImmutableList;
 
 import reactor.core.publisher.Mono;
 
@@ -193,7 +200,7 @@ class DefaultMailboxBackupTest implements MailboxMessageFixture {
         DefaultMailboxBackup.MailAccountContent mailAccountContent = content.get(0);
         Mailbox mailbox = mailAccountContent.getMailboxWithAnnotations().mailbox;
         assertThat(mailbox.getName()).isEqualTo(MAILBOX_1_NAME);
-        assertThat(mailAccountContent.getMessages().count()).isEqualTo(0);
+        assertThat(mailAccountContent.getMessages().count().block()).isEqualTo(0);
     }
 
     @Test
@@ -229,12 +236,70 @@ class DefaultMailboxBackupTest implements MailboxMessageFixture {
         DefaultMailboxBackup.MailAccountContent contentMailbox1 = content.get(0);
         Mailbox mailbox1 = contentMailbox1.getMailboxWithAnnotations().mailbox;
         assertThat(mailbox1.getName()).isEqualTo(MAILBOX_1_NAME);
-        assertThat(contentMailbox1.getMessages().count()).isEqualTo(0);
+        assertThat(contentMailbox1.getMessages().count().block()).isEqualTo(0);
 
         DefaultMailboxBackup.MailAccountContent contentMailbox2 = content.get(1);
         Mailbox mailbox2 = contentMailbox2.getMailboxWithAnnotations().mailbox;
         assertThat(mailbox2.getName()).isEqualTo(MAILBOX_2_NAME);
-        assertThat(contentMailbox2.getMessages().count()).isEqualTo(0);
+        assertThat(contentMailbox2.getMessages().count().block()).isEqualTo(0);
+    }
+
+    @Test
+    void backupAccountWithMessagesThenRestoringItInUser2AccountShouldRestoreTheMessages() throws Exception {
+        Date internalDate = new Date(DATE_1.toInstant().toEpochMilli());
+        Flags flags = new Flags("myFlags");
+        flags.add(Flags.Flag.SEEN);
+        createMailboxWithMessages(sessionUser, MAILBOX_PATH_USER1_MAILBOX1, MessageManager.AppendCommand.builder()
+            .withFlags(flags)
+            .withInternalDate(internalDate)
+            .build(MESSAGE_CONTENT_1));
+        createMailboxWithMessages(sessionUser, MAILBOX_PATH_USER1_MAILBOX2, MessageManager.AppendCommand.builder()
+            .build(MESSAGE_CONTENT_2));
+
+        ByteArrayOutputStream destination = new ByteArrayOutputStream(BUFFER_SIZE);
+        backup.backupAccount(USERNAME_1, destination);
+
+        InputStream source = new ByteArrayInputStream(destination.toByteArray());
+        MailboxBackup.BackupStatus backupStatus = Mono.from(backup.restore(USERNAME_2, source)).block();
+        assertThat(backupStatus).isEqualTo(MailboxBackup.BackupStatus.DONE);
+
+        List<DefaultMailboxBackup.MailAccountContent> content = backup.getAccountContentForUser(sessionOtherUser);
+        assertThat(content).hasSize(2);
+
+        List<MessageResult> mailbox1Messages = content.get(0).getMessages().collectList().block();
+        assertThat(mailbox1Messages).hasSize(1);
+        MessageResult restored = mailbox1Messages.get(0);
+        assertThat(restored.getFullContent().getInputStream()).hasContent(MESSAGE_CONTENT_1);
+        assertThat(restored.getInternalDate()).isEqualTo(internalDate);
+        assertThat(restored.getFlags().contains(flags)).isTrue();
+
+        List<MessageResult> mailbox2Messages = content.get(1).getMessages().collectList().block();
+        assertThat(mailbox2Messages).hasSize(1);
+        assertThat(mailbox2Messages.get(0).getFullContent().getInputStream()).hasContent(MESSAGE_CONTENT_2);
+    }
+
+    @Test
+    void restoringMoreMessagesThanABatchShouldPreserveTheirOrder() throws Exception {
+        int messageCount = ZipMailArchiveRestorer.MESSAGE_BATCH_SIZE * 2 + 3;
+        createMailboxWithMessages(sessionUser, MAILBOX_PATH_USER1_MAILBOX1, IntStream.range(0, messageCount)
+            .mapToObj(i -> MessageManager.AppendCommand.builder().build("Subject: " + i + "\r\n\r\nbody " + i))
+            .toArray(MessageManager.AppendCommand[]::new));
+
+        ByteArrayOutputStream destination = new ByteArrayOutputStream(BUFFER_SIZE);
+        backup.backupAccount(USERNAME_1, destination);
+
+        InputStream source = new ByteArrayInputStream(destination.toByteArray());
+        MailboxBackup.BackupStatus backupStatus = Mono.from(backup.restore(USERNAME_2, source)).block();
+        assertThat(backupStatus).isEqualTo(MailboxBackup.BackupStatus.DONE);
+
+        List<String> restoredContents = backup.getAccountContentForUser(sessionOtherUser).get(0)
+            .getMessages()
+            .map(Throwing.function(message -> new String(message.getFullContent().getInputStream().readAllBytes(), StandardCharsets.UTF_8)))
+            .collectList()
+            .block();
+        assertThat(restoredContents).containsExactlyElementsOf(IntStream.range(0, messageCount)
+            .mapToObj(i -> "Subject: " + i + "\r\n\r\nbody " + i)
+            .collect(ImmutableList.toImmutableList()));
     }
 
     private MessageManager.AppendCommand getMessage1AppendCommand() throws IOException {
@@ -301,4 +301,49 @@ class FlagExtraFieldTest {
             assertThat(testee.getValue()).contains("\\SEEN%myFlags");
         }
     }
+
+    @Nested
+    class GetFlagsValue {
+
+        @Test
+        void getFlagsValueShouldReturnEmptyFlagsWhenNoValue() {
+            FlagsExtraField testee = new FlagsExtraField();
+
+            assertThat(testee.getFlagsValue()).isEqualTo(new Flags());
+        }
+
+        @Test
+        void getFlagsValueShouldReturnEmptyFlagsWhenEmptyFlags() {
+            FlagsExtraField testee = new FlagsExtraField(new Flags());
+
+            assertThat(testee.getFlagsValue()).isEqualTo(new Flags());
+        }
+
+        @Test
+        void getFlagsValueShouldRestoreSystemAndUserFlags() {
+            Flags flags = new Flags("myFlags");
+            flags.add(Flags.Flag.ANSWERED);
+            flags.add(Flags.Flag.DELETED);
+            flags.add(Flags.Flag.DRAFT);
+            flags.add(Flags.Flag.FLAGGED);
+            flags.add(Flags.Flag.RECENT);
+            flags.add(Flags.Flag.SEEN);
+
+            assertThat(new FlagsExtraField(flags).getFlagsValue()).isEqualTo(flags);
+        }
+
+        @Test
+        void getFlagsValueShouldRestoreParsedFlags() {
+            String bufferContent = "\\ANSWERED%\\SEEN%myFlags";
+            Flags flags = new Flags("myFlags");
+            flags.add(Flags.Flag.ANSWERED);
+            flags.add(Flags.Flag.SEEN);
+
+            FlagsExtraField testee = new FlagsExtraField();
+            testee.parseFromLocalFileData(bufferContent
+                .getBytes(StandardCharsets.UTF_8), 0, 23);
+
+            assertThat(testee.getFlagsValue()).isEqualTo(flags);
+        }
+    }
 }
@@ -133,6 +133,26 @@ class ZipArchivesLoaderTest implements MailboxMessageFixture {
         verifyMailboxArchiveEntry(mailArchiveIterator, expectedSecondMailbox, resultSecondMailbox, false);
     }
 
+    @Test
+    void mailAccountIteratorFromArchiveWithOneMessageShouldContainTheMessage() throws Exception {
+        createMailBoxWithMessage(MAILBOX_PATH_USER1_MAILBOX1, MESSAGE_1);
+
+        ByteArrayOutputStream destination = new ByteArrayOutputStream(BUFFER_SIZE);
+        backup.backupAccount(USERNAME_1, destination);
+
+        InputStream source = new ByteArrayInputStream(destination.toByteArray());
+        MailArchiveIterator mailArchiveIterator = archiveLoader.load(source);
+        MailboxWithAnnotationsArchiveEntry mailbox = (MailboxWithAnnotationsArchiveEntry) mailArchiveIterator.next();
+        assertThat(mailArchiveIterator.hasNext()).isEqualTo(true);
+
+        MessageArchiveEntry message = (MessageArchiveEntry) mailArchiveIterator.next();
+        assertThat(message.getMailboxId()).isEqualTo(mailbox.getMailboxId());
+        assertThat(message.getSize()).isEqualTo(MESSAGE_CONTENT_BYTES_1.length);
+        assertThat(message.getFlags().contains(flags1)).isTrue();
+        assertThat(message.getContent()).hasBinaryContent(MESSAGE_CONTENT_BYTES_1);
+        assertThat(mailArchiveIterator.hasNext()).isEqualTo(false);
+    }
+
     private void verifyMailboxArchiveEntry(MailArchiveIterator mailArchiveIterator, MailboxWithAnnotationsArchiveEntry expectedMailbox,
                                            MailboxWithAnnotationsArchiveEntry resultMailbox, boolean iteratorHasNextElement) {
         assertThat(resultMailbox.getMailboxId()).isEqualTo(expectedMailbox.getMailboxId());
@@ -0,0 +1,134 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.cassandra.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.james.backends.cassandra.CassandraCluster;
+import org.apache.james.backends.cassandra.DockerCassandra;
+import org.apache.james.core.Username;
+import org.apache.james.mailbox.MailboxManager;
+import org.apache.james.mailbox.MailboxSession;
+import org.apache.james.mailbox.MessageManager;
+import org.apache.james.mailbox.cassandra.CassandraMailboxManagerProvider;
+import org.apache.james.mailbox.cassandra.mail.MailboxAggregateModule;
+import org.apache.james.mailbox.model.FetchGroup;
+import org.apache.james.mailbox.model.MailboxId;
+import org.apache.james.mailbox.model.MailboxPath;
+import org.apache.james.mailbox.model.MessageRange;
+import org.apache.james.mailbox.model.MessageResult;
+import org.apache.james.mailbox.store.PreDeletionHooks;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.base.Strings;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Fetches the <code>messageCount</code> messages of a mailbox stored in a Cassandra container, the way an IMAP
+ * <code>FETCH 1:*</code> does, for the various fetch groups.
+ *
+ * <code>fetchAll</code> measures the time needed to read the whole range while <code>fetchFirst</code> measures the
+ * time needed to get the first message of the range, which batching must not delay too much.
+ *
+ * A container runtime is needed to start Cassandra.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CassandraMessageFetchBenchmark {
+    public enum Fetch {
+        METADATA(FetchGroup.MINIMAL),
+        HEADERS(FetchGroup.HEADERS),
+        FULL(FetchGroup.FULL_CONTENT);
+
+        private final FetchGroup fetchGroup;
+
+        Fetch(FetchGroup fetchGroup) {
+            this.fetchGroup = fetchGroup;
+        }
+    }
+
+    private static final Username USERNAME = Username.of("bob@domain.tld");
+
+    @Param({"METADATA", "HEADERS", "FULL"})
+    public Fetch fetch;
+
+    @Param({"100", "10000"})
+    public int messageCount;
+
+    private DockerCassandra cassandra;
+    private CassandraCluster cluster;
+    private MailboxSession session;
+    private MessageManager messageManager;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        cassandra = new DockerCassandra();
+        cassandra.start();
+        cluster = CassandraCluster.create(MailboxAggregateModule.MODULE, cassandra.getHost());
+        MailboxManager mailboxManager = CassandraMailboxManagerProvider.provideMailboxManager(cluster, PreDeletionHooks.NO_PRE_DELETION_HOOK);
+
+        session = mailboxManager.createSystemSession(USERNAME);
+        MailboxId mailboxId = mailboxManager.createMailbox(MailboxPath.inbox(USERNAME), session).get();
+        messageManager = mailboxManager.getMailbox(mailboxId, session);
+
+        String message = "From: alice@domain.tld\r\nTo: bob@domain.tld\r\nSubject: benchmark\r\n\r\n"
+            + Strings.repeat("0123456789abcde\n", 256);
+        Flux.range(0, messageCount)
+            .flatMap(i -> messageManager.appendMessageReactive(MessageManager.AppendCommand.builder().build(message), session), 16)
+            .blockLast();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        cluster.close();
+        cassandra.stop();
+    }
+
+    @Benchmark
+    public long fetchAll() {
+        return Flux.from(messageManager.getMessagesReactive(MessageRange.all(), fetch.fetchGroup, session))
+            .count()
+            .block();
+    }
+
+    @Benchmark
+    public MessageResult fetchFirst() {
+        return Flux.from(messageManager.getMessagesReactive(MessageRange.all(), fetch.fetchGroup, session))
+            .next()
+            .block();
+    }
+}
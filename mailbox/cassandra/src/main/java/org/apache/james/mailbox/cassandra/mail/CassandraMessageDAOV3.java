@@ -53,6 +53,7 @@ import static org.apache.james.mailbox.cassandra.table.CassandraMessageV3Table.P
 import static org.apache.james.mailbox.cassandra.table.CassandraMessageV3Table.Properties.SUB_TYPE;
 import static org.apache.james.mailbox.cassandra.table.CassandraMessageV3Table.TABLE_NAME;
 import static org.apache.james.mailbox.cassandra.table.CassandraMessageV3Table.TEXTUAL_LINE_COUNT;
+import static org.apache.james.util.ReactorUtils.DEFAULT_CONCURRENCY;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -64,10 +65,12 @@ import java.util.Optional;
 import jakarta.inject.Inject;
 
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.james.backends.cassandra.init.CassandraTypesProvider;
 import org.apache.james.backends.cassandra.utils.CassandraAsyncExecutor;
 import org.apache.james.blob.api.BlobId;
 import org.apache.james.blob.api.BlobStore;
+import org.apache.james.blob.api.ObjectNotFoundException;
 import org.apache.james.mailbox.cassandra.ids.CassandraMessageId;
 import org.apache.james.mailbox.cassandra.table.CassandraMessageV3Table.Attachments;
 import org.apache.james.mailbox.model.ByteContent;
@@ -94,6 +97,7 @@ import com.datastax.oss.driver.api.core.type.codec.TypeCodec;
 import com.datastax.oss.driver.api.core.type.codec.TypeCodecs;
 import com.datastax.oss.driver.api.core.type.codec.registry.CodecRegistry;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.io.ByteSource;
 
 import reactor.core.publisher.Flux;
@@ -336,17 +340,73 @@ public class CassandraMessageDAOV3 {
         BlobId bodyId = retrieveBlobId(BODY_CONTENT, row);
 
         return buildContentRetriever(fetchType, headerId, bodyId)
-            .map(content ->
-                new MessageRepresentation(
-                    cassandraMessageId,
-                    Optional.ofNullable(row.get(INTERNAL_DATE, TypeCodecs.TIMESTAMP)).map(Date::from).orElse(null),
-                    row.getLong(FULL_CONTENT_OCTETS),
-                    row.getInt(BODY_START_OCTET),
-                    content,
-                    getProperties(row),
-                    getAttachments(row),
-                    headerId,
-                    bodyId));
+            .map(content -> toRepresentation(row, cassandraMessageId, content));
+    }
+
+    /**
+     * Loads several messages at once. Rows are read with single partition, hence token aware, queries while the
+     * blobs they reference are fetched with one bulk read per storage policy.
+     *
+     * Ordering of the given ids is preserved and messages whose row is missing are skipped.
+     */
+    public Flux<MessageRepresentation> retrieveMessages(List<CassandraMessageId> messageIds, FetchType fetchType) {
+        return Flux.fromIterable(messageIds)
+            .flatMapSequential(messageId -> retrieveRow(messageId).map(row -> Pair.of(messageId, row)), DEFAULT_CONCURRENCY)
+            .collectList()
+            .flatMapMany(rows -> retrieveContents(rows, fetchType)
+                .flatMapIterable(contents -> rows.stream()
+                    .map(pair -> toRepresentation(pair.getRight(), pair.getLeft(), contents.get(pair.getLeft())))
+                    .collect(ImmutableList.toImmutableList())));
+    }
+
+    private Mono<Map<CassandraMessageId, Content>> retrieveContents(List<Pair<CassandraMessageId, Row>> rows, FetchType fetchType) {
+        switch (fetchType) {
+            case FULL:
+                return readBlobs(rows, HEADER_CONTENT, SIZE_BASED)
+                    .zipWith(readBlobs(rows, BODY_CONTENT, LOW_COST), (headers, bodies) -> rows.stream()
+                        .collect(ImmutableMap.toImmutableMap(Pair::getLeft, pair -> new HeaderAndBodyByteContent(
+                            blobContent(headers, retrieveBlobId(HEADER_CONTENT, pair.getRight())),
+                            blobContent(bodies, retrieveBlobId(BODY_CONTENT, pair.getRight()))))));
+            case ATTACHMENTS_METADATA:
+            case HEADERS:
+                return readBlobs(rows, HEADER_CONTENT, SIZE_BASED)
+                    .map(headers -> rows.stream()
+                        .collect(ImmutableMap.toImmutableMap(Pair::getLeft, pair -> new ByteContent(
+                            blobContent(headers, retrieveBlobId(HEADER_CONTENT, pair.getRight()))))));
+            case METADATA:
+                return Mono.just(rows.stream()
+                    .collect(ImmutableMap.toImmutableMap(Pair::getLeft, any -> new ByteContent(EMPTY_BYTE_ARRAY))));
+            default:
+                throw new RuntimeException("Unknown FetchType " + fetchType);
+        }
+    }
+
+    private Mono<Map<BlobId, byte[]>> readBlobs(List<Pair<CassandraMessageId, Row>> rows, CqlIdentifier field, BlobStore.StoragePolicy storagePolicy) {
+        if (rows.isEmpty()) {
+            return Mono.just(ImmutableMap.of());
+        }
+        List<BlobId> blobIds = rows.stream()
+            .map(pair -> retrieveBlobId(field, pair.getRight()))
+            .collect(ImmutableList.toImmutableList());
+        return Mono.from(blobStore.readBytes(blobStore.getDefaultBucketName(), blobIds, storagePolicy));
+    }
+
+    private byte[] blobContent(Map<BlobId, byte[]> blobs, BlobId blobId) {
+        return Optional.ofNullable(blobs.get(blobId))
+            .orElseThrow(() -> new ObjectNotFoundException("Could not retrieve blob " + blobId.asString()));
+    }
+
+    private MessageRepresentation toRepresentation(Row row, CassandraMessageId cassandraMessageId, Content content) {
+        return new MessageRepresentation(
+            cassandraMessageId,
+            Optional.ofNullable(row.get(INTERNAL_DATE, TypeCodecs.TIMESTAMP)).map(Date::from).orElse(null),
+            row.getLong(FULL_CONTENT_OCTETS),
+            row.getInt(BODY_START_OCTET),
+            content,
+            getProperties(row),
+            getAttachments(row),
+            retrieveBlobId(HEADER_CONTENT, row),
+            retrieveBlobId(BODY_CONTENT, row));
     }
 
     private Properties getProperties(Row row) {
@@ -32,8 +32,11 @@ import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 
 import jakarta.mail.Flags;
 import jakarta.mail.Flags.Flag;
@@ -43,6 +46,7 @@ import org.apache.james.backends.cassandra.init.configuration.CassandraConfigura
 import org.apache.james.backends.cassandra.init.configuration.JamesExecutionProfiles;
 import org.apache.james.blob.api.BlobId;
 import org.apache.james.blob.api.BlobStore;
+import org.apache.james.blob.api.ObjectNotFoundException;
 import org.apache.james.mailbox.ApplicableFlagBuilder;
 import org.apache.james.mailbox.FlagsBuilder;
 import org.apache.james.mailbox.MessageManager.FlagsUpdateMode;
@@ -74,6 +78,7 @@ import org.apache.james.util.streams.Limit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Streams;
@@ -86,6 +91,8 @@ import reactor.util.retry.Retry;
 public class CassandraMessageMapper implements MessageMapper {
     public static final Logger LOGGER = LoggerFactory.getLogger(CassandraMessageMapper.class);
     private static final byte[] EMPTY_BYTE_ARRAY = {};
+    private static final int PREFETCHED_BATCHES = 2;
+    private static final int FIRST_BATCH_SIZE = 8;
 
     private static final int MAX_RETRY = 5;
     private static final Duration MIN_RETRY_BACKOFF = Duration.ofMillis(10);
@@ -252,14 +259,27 @@ public class CassandraMessageMapper implements MessageMapper {
         return messageIdDAO.listMessagesMetadata(mailboxId, set);
     }
 
+    /**
+     * Messages are loaded by batches: no message of a batch is emitted before the whole batch is loaded. Larger
+     * batches mean fewer round trips but a longer wait for the first message, hence batches start at
+     * {@value #FIRST_BATCH_SIZE} messages and double up to the batch size configured for the {@link FetchType}.
+     *
+     * If loading a batch fails, for instance because a blob is missing, the batch is loaded again message by message
+     * so that the messages preceding the faulty one are still emitted before the error.
+     */
     @Override
     public Flux<MailboxMessage> findInMailboxReactive(Mailbox mailbox, MessageRange messageRange, FetchType ftype, int limitAsInt) {
         CassandraId mailboxId = (CassandraId) mailbox.getMailboxId();
 
         Limit limit = Limit.from(limitAsInt);
-        int concurrency = batchSizes.forFetchType(ftype);
-        return limit.applyOnFlux(messageIdDAO.retrieveMessages(mailboxId, messageRange, limit))
-            .flatMapSequential(metadata -> toMailboxMessage(metadata, ftype), concurrency, concurrency);
+        int batchSize = batchSizes.forFetchType(ftype);
+        return growingBatches(limit.applyOnFlux(messageIdDAO.retrieveMessages(mailboxId, messageRange, limit)), batchSize)
+            .flatMapSequential(batch -> toMailboxMessages(batch, ftype)
+                .onErrorResume(e -> {
+                    LOGGER.warn("Failed to load a batch of {} messages of mailbox {}, falling back to per message loading", batch.size(), mailboxId.serialize(), e);
+                    return Flux.fromIterable(batch)
+                        .concatMap(metadata -> toMailboxMessage(metadata, ftype));
+                }), PREFETCHED_BATCHES, PREFETCHED_BATCHES);
     }
 
     private Mono<MailboxMessage> toMailboxMessage(CassandraMessageMetadata metadata, FetchType fetchType) {
@@ -272,7 +292,95 @@ public class CassandraMessageMapper implements MessageMapper {
         }
         return messageDAOV3.retrieveMessage(metadata.getComposedMessageId(), fetchType)
             .map(messageRepresentation -> Pair.of(metadata.getComposedMessageId(), messageRepresentation))
-            .flatMap(messageRepresentation -> attachmentLoader.addAttachmentToMessage(messageRepresentation, metadata.getSaveDate(), fetchType));
+            .<MailboxMessage>flatMap(messageRepresentation -> attachmentLoader.addAttachmentToMessage(messageRepresentation, metadata.getSaveDate(), fetchType))
+            .switchIfEmpty(Mono.fromRunnable(() -> logMissingMessage(metadata)));
+    }
+
+    private void logMissingMessage(CassandraMessageMetadata metadata) {
+        ComposedMessageId composedMessageId = metadata.getComposedMessageId().getComposedMessageId();
+        LOGGER.warn("Message {} referenced in mailbox {} with uid {} is missing from the message table, skipping it",
+            composedMessageId.getMessageId().serialize(), composedMessageId.getMailboxId().serialize(), composedMessageId.getUid().asLong());
+    }
+
+    @VisibleForTesting
+    static <T> Flux<List<T>> growingBatches(Flux<T> elements, int maxBatchSize) {
+        return Flux.defer(() -> {
+            AtomicInteger currentBatchSize = new AtomicInteger(Math.min(FIRST_BATCH_SIZE, maxBatchSize));
+            AtomicInteger currentBatchCount = new AtomicInteger(0);
+            return elements.bufferUntil(any -> {
+                if (currentBatchCount.incrementAndGet() < currentBatchSize.get()) {
+                    return false;
+                }
+                currentBatchCount.set(0);
+                currentBatchSize.set(Math.min(currentBatchSize.get() * 2, maxBatchSize));
+                return true;
+            });
+        });
+    }
+
+    /**
+     * Loads a batch of messages of a single mailbox, issuing one bulk blob read per storage policy instead of one
+     * read per message. Ordering of the batch is preserved. Messages missing from the message table are logged and
+     * skipped, as when loading them one by one.
+     */
+    private Flux<MailboxMessage> toMailboxMessages(List<CassandraMessageMetadata> batch, FetchType fetchType) {
+        Map<Boolean, List<CassandraMessageMetadata>> byCompleteness = batch.stream()
+            .collect(Collectors.partitioningBy(metadata -> canBeBuiltFromMetadata(metadata, fetchType)));
+
+        return Flux.merge(
+                fromMetadata(byCompleteness.get(true), fetchType),
+                fromMessageTable(byCompleteness.get(false), fetchType))
+            .collectMap(MailboxMessage::getUid)
+            .flatMapIterable(messages -> batch.stream()
+                .map(metadata -> messages.get(metadata.getComposedMessageId().getComposedMessageId().getUid()))
+                .filter(Objects::nonNull)
+                .collect(ImmutableList.toImmutableList()));
+    }
+
+    private boolean canBeBuiltFromMetadata(CassandraMessageMetadata metadata, FetchType fetchType) {
+        return (fetchType == FetchType.METADATA || fetchType == FetchType.HEADERS) && metadata.isComplete();
+    }
+
+    private Flux<MailboxMessage> fromMetadata(List<CassandraMessageMetadata> metadataList, FetchType fetchType) {
+        if (metadataList.isEmpty()) {
+            return Flux.empty();
+        }
+        if (fetchType == FetchType.METADATA) {
+            return Flux.fromIterable(metadataList)
+                .map(metadata -> metadata.asMailboxMessage(EMPTY_BYTE_ARRAY));
+        }
+        List<BlobId> headerIds = metadataList.stream()
+            .map(metadata -> metadata.getHeaderContent().get())
+            .collect(ImmutableList.toImmutableList());
+        return Mono.from(blobStore.readBytes(blobStore.getDefaultBucketName(), headerIds, SIZE_BASED))
+            .flatMapIterable(headers -> metadataList.stream()
+                .map(metadata -> metadata.asMailboxMessage(Optional.ofNullable(headers.get(metadata.getHeaderContent().get()))
+                    .orElseThrow(() -> new ObjectNotFoundException("Could not retrieve blob " + metadata.getHeaderContent().get().asString()))))
+                .collect(ImmutableList.toImmutableList()));
+    }
+
+    private Flux<MailboxMessage> fromMessageTable(List<CassandraMessageMetadata> metadataList, FetchType fetchType) {
+        if (metadataList.isEmpty()) {
+            return Flux.empty();
+        }
+        List<CassandraMessageId> messageIds = metadataList.stream()
+            .map(metadata -> (CassandraMessageId) metadata.getComposedMessageId().getComposedMessageId().getMessageId())
+            .distinct()
+            .collect(ImmutableList.toImmutableList());
+
+        return messageDAOV3.retrieveMessages(messageIds, fetchType)
+            .collectMap(MessageRepresentation::getMessageId)
+            .flatMapMany(representations -> Flux.fromIterable(metadataList)
+                .filter(metadata -> {
+                    if (representations.containsKey(metadata.getComposedMessageId().getComposedMessageId().getMessageId())) {
+                        return true;
+                    }
+                    logMissingMessage(metadata);
+                    return false;
+                })
+                .flatMapSequential(metadata -> attachmentLoader.addAttachmentToMessage(
+                    Pair.of(metadata.getComposedMessageId(), representations.get(metadata.getComposedMessageId().getComposedMessageId().getMessageId())),
+                    metadata.getSaveDate(), fetchType), DEFAULT_CONCURRENCY));
     }
 
     @Override
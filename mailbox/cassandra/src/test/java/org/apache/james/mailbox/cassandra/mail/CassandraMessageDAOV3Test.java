@@ -166,6 +166,46 @@ class CassandraMessageDAOV3Test {
             .isEqualTo(CONTENT.substring(0, BODY_START));
     }
 
+    @Test
+    void retrieveMessagesShouldReturnFullContentInRequestedOrder() throws Exception {
+        message = createMessage(messageId, threadId, CONTENT, BODY_START, new PropertyBuilder(), NO_ATTACHMENT, EMPTY_SAVE_DATE);
+        MailboxMessage message2 = createMessage(messageId2, threadId, CONTENT_2, BODY_START, new PropertyBuilder(), NO_ATTACHMENT, EMPTY_SAVE_DATE);
+        testee.save(message).block();
+        testee.save(message2).block();
+
+        List<MessageRepresentation> representations = testee.retrieveMessages(ImmutableList.of(messageId2, messageId), MessageMapper.FetchType.FULL)
+            .collectList()
+            .block();
+
+        assertThat(representations).extracting(MessageRepresentation::getMessageId)
+            .containsExactly(messageId2, messageId);
+        assertThat(IOUtils.toString(representations.get(0).getContent().getInputStream(), StandardCharsets.UTF_8))
+            .isEqualTo(CONTENT_2);
+    }
+
+    @Test
+    void retrieveMessagesShouldReturnHeaderContent() throws Exception {
+        message = createMessage(messageId, threadId, CONTENT, BODY_START, new PropertyBuilder(), NO_ATTACHMENT, EMPTY_SAVE_DATE);
+        testee.save(message).block();
+
+        List<MessageRepresentation> representations = testee.retrieveMessages(ImmutableList.of(messageId), MessageMapper.FetchType.HEADERS)
+            .collectList()
+            .block();
+
+        assertThat(IOUtils.toString(representations.get(0).getContent().getInputStream(), StandardCharsets.UTF_8))
+            .isEqualTo(CONTENT.substring(0, BODY_START));
+    }
+
+    @Test
+    void retrieveMessagesShouldSkipMissingMessages() {
+        message = createMessage(messageId, threadId, CONTENT, BODY_START, new PropertyBuilder(), NO_ATTACHMENT, EMPTY_SAVE_DATE);
+        testee.save(message).block();
+
+        assertThat(testee.retrieveMessages(ImmutableList.of(messageId, messageId2), MessageMapper.FetchType.METADATA).collectList().block())
+            .extracting(MessageRepresentation::getMessageId)
+            .containsExactly(messageId);
+    }
+
     @Test
     void blobReferencesShouldBeEmptyByDefault() {
         assertThat(blobReferenceSource.listReferencedBlobs().collectList().block())
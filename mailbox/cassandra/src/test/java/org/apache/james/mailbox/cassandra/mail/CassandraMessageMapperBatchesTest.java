@@ -0,0 +1,68 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.cassandra.mail;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import reactor.core.publisher.Flux;
+
+class CassandraMessageMapperBatchesTest {
+    @Test
+    void growingBatchesShouldDoubleUpToTheMaxBatchSize() {
+        List<Integer> batchSizes = CassandraMessageMapper.growingBatches(Flux.range(0, 100), 20)
+            .map(List::size)
+            .collectList()
+            .block();
+
+        assertThat(batchSizes).containsExactly(8, 16, 20, 20, 20, 16);
+    }
+
+    @Test
+    void growingBatchesShouldNotExceedASmallMaxBatchSize() {
+        List<Integer> batchSizes = CassandraMessageMapper.growingBatches(Flux.range(0, 10), 4)
+            .map(List::size)
+            .collectList()
+            .block();
+
+        assertThat(batchSizes).containsExactly(4, 4, 2);
+    }
+
+    @Test
+    void growingBatchesShouldPreserveOrdering() {
+        List<Integer> elements = CassandraMessageMapper.growingBatches(Flux.range(0, 100), 20)
+            .flatMapIterable(batch -> batch)
+            .collectList()
+            .block();
+
+        assertThat(elements).isSortedAccordingTo(Integer::compare).hasSize(100);
+    }
+
+    @Test
+    void growingBatchesShouldRestartFromTheFirstBatchSizeOnEachSubscription() {
+        Flux<List<Integer>> batches = CassandraMessageMapper.growingBatches(Flux.range(0, 10), 20);
+        batches.blockLast();
+
+        assertThat(batches.map(List::size).collectList().block()).containsExactly(8, 2);
+    }
+}
@@ -21,11 +21,13 @@ package org.apache.james.mailbox.cassandra.mail;
 
 import static org.apache.james.backends.cassandra.Scenario.Builder.fail;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.awaitility.Durations.ONE_SECOND;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
@@ -39,6 +41,8 @@ import org.apache.james.backends.cassandra.StatementRecorder;
 import org.apache.james.backends.cassandra.StatementRecorder.Selector;
 import org.apache.james.backends.cassandra.init.configuration.CassandraConfiguration;
 import org.apache.james.blob.api.HashBlobId;
+import org.apache.james.blob.api.ObjectNotFoundException;
+import org.apache.james.blob.cassandra.CassandraBlobStoreFactory;
 import org.apache.james.junit.categories.Unstable;
 import org.apache.james.mailbox.MessageManager;
 import org.apache.james.mailbox.cassandra.ids.CassandraId;
@@ -61,6 +65,7 @@ import org.apache.james.mailbox.store.mail.model.MessageAssert;
 import org.apache.james.mailbox.store.mail.model.MessageMapperTest;
 import org.apache.james.mailbox.store.mail.model.impl.PropertyBuilder;
 import org.apache.james.mailbox.store.mail.model.impl.SimpleMailboxMessage;
+import org.apache.james.metrics.tests.RecordingMetricFactory;
 import org.apache.james.util.streams.Limit;
 import org.apache.james.utils.UpdatableTickingClock;
 import org.assertj.core.api.SoftAssertions;
@@ -75,6 +80,8 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.io.ByteSource;
 
 class CassandraMessageMapperTest extends MessageMapperTest {
+    private static final int LIMIT = 10;
+
     @RegisterExtension
     static CassandraClusterExtension cassandraCluster = new CassandraClusterExtension(MailboxAggregateModule.MODULE);
 
@@ -235,6 +242,47 @@ class CassandraMessageMapperTest extends MessageMapperTest {
 
     @Nested
     class FailureTesting {
+        @Test
+        void findInMailboxShouldEmitPrecedingMessagesWhenABlobIsMissing(CassandraCluster cassandra) throws MailboxException {
+            messageMapper.add(benwaInboxMailbox, message1);
+            messageMapper.add(benwaInboxMailbox, message2);
+            messageMapper.add(benwaInboxMailbox, message3);
+
+            CassandraMessageDAOV3 messageDAOV3 = new CassandraMessageDAOV3(cassandra.getConf(), cassandra.getTypesProvider(),
+                CassandraBlobStoreFactory.forTesting(cassandra.getConf(), new RecordingMetricFactory()).passthrough(),
+                new HashBlobId.Factory());
+            String bodyId = messageDAOV3.retrieveMessage((CassandraMessageId) message2.getMessageId(), FetchType.METADATA)
+                .block()
+                .getBodyId()
+                .asString();
+            cassandra.getConf().execute("DELETE FROM blobs WHERE id='" + bodyId + "'");
+
+            List<MailboxMessage> retrieved = new ArrayList<>();
+            assertThatThrownBy(() -> messageMapper.findInMailboxReactive(benwaInboxMailbox, MessageRange.all(), FetchType.FULL, LIMIT)
+                    .doOnNext(retrieved::add)
+                    .blockLast())
+                .isInstanceOf(ObjectNotFoundException.class);
+            assertThat(retrieved)
+                .extracting(MailboxMessage::getMessageId)
+                .containsExactly(message1.getMessageId());
+        }
+
+        @Test
+        void findInMailboxShouldSkipMessagesMissingFromTheMessageTable(CassandraCluster cassandra) throws MailboxException {
+            messageMapper.add(benwaInboxMailbox, message1);
+            messageMapper.add(benwaInboxMailbox, message2);
+            messageMapper.add(benwaInboxMailbox, message3);
+
+            CassandraMessageDAOV3 messageDAOV3 = new CassandraMessageDAOV3(cassandra.getConf(), cassandra.getTypesProvider(),
+                CassandraBlobStoreFactory.forTesting(cassandra.getConf(), new RecordingMetricFactory()).passthrough(),
+                new HashBlobId.Factory());
+            messageDAOV3.delete((CassandraMessageId) message2.getMessageId()).block();
+
+            assertThat(messageMapper.findInMailboxReactive(benwaInboxMailbox, MessageRange.all(), FetchType.FULL, LIMIT).collectList().block())
+                .extracting(MailboxMessage::getMessageId)
+                .containsExactly(message1.getMessageId(), message3.getMessageId());
+        }
+
         @Test
         void retrieveMessagesShouldNotReturnMessagesWhenFailToPersistInMessageDAO(CassandraCluster cassandra) {
             cassandra.getConf()
@@ -0,0 +1,167 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.event.benchmark;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import jakarta.mail.Flags;
+
+import org.apache.james.core.Username;
+import org.apache.james.event.json.MailboxEventSerializer;
+import org.apache.james.events.Event;
+import org.apache.james.mailbox.MailboxSession;
+import org.apache.james.mailbox.MessageUid;
+import org.apache.james.mailbox.ModSeq;
+import org.apache.james.mailbox.cassandra.ids.CassandraId;
+import org.apache.james.mailbox.cassandra.ids.CassandraMessageId;
+import org.apache.james.mailbox.events.MailboxEvents.Added;
+import org.apache.james.mailbox.events.MailboxEvents.FlagsUpdated;
+import org.apache.james.mailbox.model.MailboxId;
+import org.apache.james.mailbox.model.MailboxPath;
+import org.apache.james.mailbox.model.MessageId;
+import org.apache.james.mailbox.model.MessageMetaData;
+import org.apache.james.mailbox.model.ThreadId;
+import org.apache.james.mailbox.model.UpdatedFlags;
+import org.apache.james.mailbox.store.quota.DefaultUserQuotaRootResolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Compares the JSON and the binary encodings of the mailbox events carrying per message data, for an event spanning
+ * <code>messageCount</code> messages of a distributed (UUID identified) mailbox.
+ *
+ * The payload size of each encoding is printed at the end of each trial. Run with <code>-prof gc</code> in order to
+ * get the bytes allocated per encoded or decoded event (<code>gc.alloc.rate.norm</code>).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class MailboxEventSerializationBenchmark {
+    public enum EventType {
+        ADDED,
+        FLAGS_UPDATED
+    }
+
+    public enum Encoding {
+        JSON,
+        BINARY
+    }
+
+    private static final MailboxSession.SessionId SESSION_ID = MailboxSession.SessionId.of(42);
+    private static final Username USERNAME = Username.of("bob@domain.tld");
+    private static final MailboxPath PATH = MailboxPath.inbox(USERNAME);
+    private static final Date INTERNAL_DATE = Date.from(Instant.parse("2024-06-01T10:15:30.00Z"));
+
+    @Param({"ADDED", "FLAGS_UPDATED"})
+    public EventType eventType;
+
+    @Param({"JSON", "BINARY"})
+    public Encoding encoding;
+
+    @Param({"1", "100", "10000"})
+    public int messageCount;
+
+    private MailboxEventSerializer serializer;
+    private Event event;
+    private byte[] serialized;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        CassandraMessageId.Factory messageIdFactory = new CassandraMessageId.Factory();
+        serializer = new MailboxEventSerializer(new CassandraId.Factory(), messageIdFactory,
+            new DefaultUserQuotaRootResolver.DefaultQuotaRootDeserializer());
+        event = switch (eventType) {
+            case ADDED -> added(messageIdFactory);
+            case FLAGS_UPDATED -> flagsUpdated(messageIdFactory);
+        };
+        serialized = encode();
+    }
+
+    @TearDown(Level.Trial)
+    public void printPayloadSize() {
+        System.out.printf("%n%s %s event spanning %d messages: %d bytes%n", encoding, eventType, messageCount, serialized.length);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return switch (encoding) {
+            case JSON -> serializer.toJsonBytes(event);
+            case BINARY -> serializer.binaryCodec().get().encode(event).get();
+        };
+    }
+
+    @Benchmark
+    public Event decode() {
+        return switch (encoding) {
+            case JSON -> serializer.fromBytes(serialized);
+            case BINARY -> serializer.binaryCodec().get().decode(serialized);
+        };
+    }
+
+    private Added added(MessageId.Factory messageIdFactory) {
+        TreeMap<MessageUid, MessageMetaData> messages = new TreeMap<>();
+        IntStream.rangeClosed(1, messageCount)
+            .forEach(i -> {
+                MessageId messageId = messageIdFactory.generate();
+                messages.put(MessageUid.of(i), new MessageMetaData(MessageUid.of(i), ModSeq.of(1000 + i), new Flags(Flags.Flag.RECENT),
+                    4096 + i, INTERNAL_DATE, Optional.of(INTERNAL_DATE), messageId, ThreadId.fromBaseMessageId(messageId)));
+            });
+        return new Added(SESSION_ID, USERNAME, PATH, mailboxId(), messages, Event.EventId.random(), true, true, Optional.empty());
+    }
+
+    private FlagsUpdated flagsUpdated(MessageId.Factory messageIdFactory) {
+        return new FlagsUpdated(SESSION_ID, USERNAME, PATH, mailboxId(),
+            IntStream.rangeClosed(1, messageCount)
+                .mapToObj(i -> UpdatedFlags.builder()
+                    .uid(MessageUid.of(i))
+                    .modSeq(ModSeq.of(1000 + i))
+                    .messageId(messageIdFactory.generate())
+                    .oldFlags(new Flags(Flags.Flag.RECENT))
+                    .newFlags(new Flags(Flags.Flag.SEEN))
+                    .build())
+                .collect(ImmutableList.toImmutableList()),
+            Event.EventId.random());
+    }
+
+    private MailboxId mailboxId() {
+        return CassandraId.timeBased();
+    }
+}
@@ -0,0 +1,576 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.event.json;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import jakarta.mail.Flags;
+
+import org.apache.james.core.Username;
+import org.apache.james.events.Event;
+import org.apache.james.events.EventBinaryCodec;
+import org.apache.james.mailbox.MailboxSession;
+import org.apache.james.mailbox.MessageUid;
+import org.apache.james.mailbox.ModSeq;
+import org.apache.james.mailbox.events.MailboxEvents.Added;
+import org.apache.james.mailbox.events.MailboxEvents.Expunged;
+import org.apache.james.mailbox.events.MailboxEvents.FlagsUpdated;
+import org.apache.james.mailbox.events.MailboxEvents.MailboxEvent;
+import org.apache.james.mailbox.model.MailboxId;
+import org.apache.james.mailbox.model.MailboxPath;
+import org.apache.james.mailbox.model.MessageId;
+import org.apache.james.mailbox.model.MessageMetaData;
+import org.apache.james.mailbox.model.ThreadId;
+import org.apache.james.mailbox.model.UpdatedFlags;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Compact binary encoding for the events carrying per message data ({@link Added}, {@link Expunged} and
+ * {@link FlagsUpdated}), whose JSON representation grows large for bulk operations.
+ *
+ * Layout (version 1):
+ *  - a version byte followed by an event type byte
+ *  - the event id, session id, user, mailbox path and mailbox id
+ *  - a dictionary of the distinct flags used by the event, messages referencing flags by their index
+ *  - the messages, UIDs, modseqs and dates being delta encoded as variable length integers
+ *
+ * Identifiers that are canonical UUIDs are written as 16 bytes rather than as strings.
+ */
+public class MailboxEventBinaryCodec implements EventBinaryCodec {
+    public static final byte VERSION = 1;
+
+    private static final byte ADDED = 1;
+    private static final byte EXPUNGED = 2;
+    private static final byte FLAGS_UPDATED = 3;
+
+    private static final byte STRING_IDENTIFIER = 0;
+    private static final byte UUID_IDENTIFIER = 1;
+
+    private static final int IS_DELIVERY = 1;
+    private static final int IS_APPENDED = 1 << 1;
+    private static final int HAS_MOVED_MAILBOX_ID = 1 << 2;
+
+    private static final int HAS_SAVE_DATE = 1;
+    private static final int HAS_THREAD_ID = 1 << 1;
+    private static final int HAS_MESSAGE_ID = 1 << 2;
+
+    private static final List<Flags.Flag> SYSTEM_FLAGS = ImmutableList.of(Flags.Flag.ANSWERED, Flags.Flag.DELETED,
+        Flags.Flag.DRAFT, Flags.Flag.FLAGGED, Flags.Flag.RECENT, Flags.Flag.SEEN, Flags.Flag.USER);
+
+    private static final int ESTIMATED_HEADER_SIZE = 128;
+    private static final int ESTIMATED_MESSAGE_SIZE = 48;
+
+    private final MailboxId.Factory mailboxIdFactory;
+    private final MessageId.Factory messageIdFactory;
+
+    public MailboxEventBinaryCodec(MailboxId.Factory mailboxIdFactory, MessageId.Factory messageIdFactory) {
+        this.mailboxIdFactory = mailboxIdFactory;
+        this.messageIdFactory = messageIdFactory;
+    }
+
+    @Override
+    public Optional<byte[]> encode(Event event) {
+        if (event instanceof Added added) {
+            return Optional.of(encodeAdded(added));
+        }
+        if (event instanceof Expunged expunged) {
+            return Optional.of(encodeExpunged(expunged));
+        }
+        if (event instanceof FlagsUpdated flagsUpdated) {
+            return Optional.of(encodeFlagsUpdated(flagsUpdated));
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public Event decode(byte[] serialized) {
+        try {
+            Reader reader = new Reader(ByteBuffer.wrap(serialized));
+            byte version = reader.readByte();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported binary event version " + version);
+            }
+            byte type = reader.readByte();
+            return switch (type) {
+                case ADDED -> decodeAdded(reader);
+                case EXPUNGED -> decodeExpunged(reader);
+                case FLAGS_UPDATED -> decodeFlagsUpdated(reader);
+                default -> throw new IllegalArgumentException("Unknown binary event type " + type);
+            };
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated binary event", e);
+        }
+    }
+
+    private byte[] encodeAdded(Added added) {
+        Collection<MessageMetaData> messages = added.getAdded().values();
+        Writer writer = new Writer(ESTIMATED_HEADER_SIZE + ESTIMATED_MESSAGE_SIZE * messages.size());
+        writeHeader(writer, ADDED, added);
+        FlagsDictionary dictionary = FlagsDictionary.of(messages.stream().map(MessageMetaData::getFlags));
+        dictionary.write(writer);
+
+        int options = (added.isDelivery() ? IS_DELIVERY : 0)
+            | (added.isAppended() ? IS_APPENDED : 0)
+            | (added.movedFromMailboxId().isPresent() ? HAS_MOVED_MAILBOX_ID : 0);
+        writer.writeVarInt(options);
+        added.movedFromMailboxId().ifPresent(mailboxId -> writer.writeIdentifier(mailboxId.serialize()));
+        writeMessages(writer, messages, dictionary);
+        return writer.toByteArray();
+    }
+
+    private Added decodeAdded(Reader reader) {
+        Header header = readHeader(reader);
+        List<Flags> dictionary = readFlagsDictionary(reader);
+        int options = reader.readVarInt();
+        Optional<MailboxId> movedFromMailboxId = readMovedMailboxId(reader, options);
+        TreeMap<MessageUid, MessageMetaData> messages = new TreeMap<>();
+        readMessages(reader, dictionary).forEach(message -> messages.put(message.getUid(), message));
+
+        return new Added(header.sessionId, header.username, header.path, header.mailboxId, messages, header.eventId,
+            (options & IS_DELIVERY) != 0, (options & IS_APPENDED) != 0, movedFromMailboxId);
+    }
+
+    private byte[] encodeExpunged(Expunged expunged) {
+        Collection<MessageMetaData> messages = expunged.getExpunged().values();
+        Writer writer = new Writer(ESTIMATED_HEADER_SIZE + ESTIMATED_MESSAGE_SIZE * messages.size());
+        writeHeader(writer, EXPUNGED, expunged);
+        FlagsDictionary dictionary = FlagsDictionary.of(messages.stream().map(MessageMetaData::getFlags));
+        dictionary.write(writer);
+
+        int options = expunged.movedToMailboxId().isPresent() ? HAS_MOVED_MAILBOX_ID : 0;
+        writer.writeVarInt(options);
+        expunged.movedToMailboxId().ifPresent(mailboxId -> writer.writeIdentifier(mailboxId.serialize()));
+        writeMessages(writer, messages, dictionary);
+        return writer.toByteArray();
+    }
+
+    private Expunged decodeExpunged(Reader reader) {
+        Header header = readHeader(reader);
+        List<Flags> dictionary = readFlagsDictionary(reader);
+        int options = reader.readVarInt();
+        Optional<MailboxId> movedToMailboxId = readMovedMailboxId(reader, options);
+        Map<MessageUid, MessageMetaData> messages = new LinkedHashMap<>();
+        readMessages(reader, dictionary).forEach(message -> messages.put(message.getUid(), message));
+
+        return new Expunged(header.sessionId, header.username, header.path, header.mailboxId, messages, header.eventId,
+            movedToMailboxId);
+    }
+
+    private byte[] encodeFlagsUpdated(FlagsUpdated flagsUpdated) {
+        List<UpdatedFlags> updatedFlags = flagsUpdated.getUpdatedFlags();
+        Writer writer = new Writer(ESTIMATED_HEADER_SIZE + ESTIMATED_MESSAGE_SIZE * updatedFlags.size());
+        writeHeader(writer, FLAGS_UPDATED, flagsUpdated);
+        FlagsDictionary dictionary = FlagsDictionary.of(updatedFlags.stream()
+            .flatMap(update -> Stream.of(update.getOldFlags(), update.getNewFlags())));
+        dictionary.write(writer);
+
+        writer.writeVarInt(updatedFlags.size());
+        long previousUid = 0;
+        long previousModSeq = 0;
+        for (UpdatedFlags update : updatedFlags) {
+            // Updates are not necessarily sorted, hence signed deltas
+            writer.writeSignedVarLong(update.getUid().asLong() - previousUid);
+            writer.writeSignedVarLong(update.getModSeq().asLong() - previousModSeq);
+            writer.writeVarInt(update.getMessageId().isPresent() ? HAS_MESSAGE_ID : 0);
+            update.getMessageId().ifPresent(messageId -> writer.writeIdentifier(messageId.serialize()));
+            writer.writeVarInt(dictionary.indexOf(update.getOldFlags()));
+            writer.writeVarInt(dictionary.indexOf(update.getNewFlags()));
+            previousUid = update.getUid().asLong();
+            previousModSeq = update.getModSeq().asLong();
+        }
+        return writer.toByteArray();
+    }
+
+    private FlagsUpdated decodeFlagsUpdated(Reader reader) {
+        Header header = readHeader(reader);
+        List<Flags> dictionary = readFlagsDictionary(reader);
+
+        int count = reader.readVarInt();
+        ImmutableList.Builder<UpdatedFlags> updatedFlags = ImmutableList.builderWithExpectedSize(Math.min(count, reader.remaining()));
+        long uid = 0;
+        long modSeq = 0;
+        for (int i = 0; i < count; i++) {
+            uid += reader.readSignedVarLong();
+            modSeq += reader.readSignedVarLong();
+            int options = reader.readVarInt();
+            Optional<MessageId> messageId = Optional.empty();
+            if ((options & HAS_MESSAGE_ID) != 0) {
+                messageId = Optional.of(messageIdFactory.fromString(reader.readIdentifier()));
+            }
+            updatedFlags.add(UpdatedFlags.builder()
+                .uid(MessageUid.of(uid))
+                .modSeq(ModSeq.of(modSeq))
+                .messageId(messageId)
+                .oldFlags(new Flags(flagsAt(dictionary, reader.readVarInt())))
+                .newFlags(new Flags(flagsAt(dictionary, reader.readVarInt())))
+                .build());
+        }
+
+        return new FlagsUpdated(header.sessionId, header.username, header.path, header.mailboxId, updatedFlags.build(),
+            header.eventId);
+    }
+
+    private void writeHeader(Writer writer, byte type, MailboxEvent event) {
+        writer.writeByte(VERSION);
+        writer.writeByte(type);
+        UUID eventId = event.getEventId().getId();
+        writer.writeLong(eventId.getMostSignificantBits());
+        writer.writeLong(eventId.getLeastSignificantBits());
+        writer.writeSignedVarLong(event.getSessionId().getValue());
+        writer.writeString(event.getUsername().asString());
+        writer.writeOptionalString(Optional.ofNullable(event.getMailboxPath().getNamespace()));
+        writer.writeOptionalString(Optional.ofNullable(event.getMailboxPath().getUser()).map(Username::asString));
+        writer.writeString(event.getMailboxPath().getName());
+        writer.writeIdentifier(event.getMailboxId().serialize());
+    }
+
+    private Header readHeader(Reader reader) {
+        Event.EventId eventId = Event.EventId.of(new UUID(reader.readLong(), reader.readLong()));
+        MailboxSession.SessionId sessionId = MailboxSession.SessionId.of(reader.readSignedVarLong());
+        Username username = Username.of(reader.readString());
+        Optional<String> namespace = reader.readOptionalString();
+        Optional<Username> user = reader.readOptionalString().map(Username::of);
+        MailboxPath path = new MailboxPath(namespace.orElse(null), user.orElse(null), reader.readString());
+        MailboxId mailboxId = mailboxIdFactory.fromString(reader.readIdentifier());
+        return new Header(eventId, sessionId, username, path, mailboxId);
+    }
+
+    private Optional<MailboxId> readMovedMailboxId(Reader reader, int options) {
+        if ((options & HAS_MOVED_MAILBOX_ID) != 0) {
+            return Optional.of(mailboxIdFactory.fromString(reader.readIdentifier()));
+        }
+        return Optional.empty();
+    }
+
+    private void writeMessages(Writer writer, Collection<MessageMetaData> messages, FlagsDictionary dictionary) {
+        writer.writeVarInt(messages.size());
+        long previousUid = 0;
+        long previousModSeq = 0;
+        long previousInternalDate = 0;
+        for (MessageMetaData message : messages.stream().sorted(Comparator.comparing(MessageMetaData::getUid)).toList()) {
+            boolean hasThreadId = message.getThreadId() != null
+                && !message.getThreadId().equals(ThreadId.fromBaseMessageId(message.getMessageId()));
+            int options = (message.getSaveDate().isPresent() ? HAS_SAVE_DATE : 0)
+                | (hasThreadId ? HAS_THREAD_ID : 0);
+            long internalDate = message.getInternalDate().getTime();
+
+            writer.writeVarInt(options);
+            writer.writeVarLong(message.getUid().asLong() - previousUid);
+            writer.writeSignedVarLong(message.getModSeq().asLong() - previousModSeq);
+            writer.writeVarInt(dictionary.indexOf(message.getFlags()));
+            writer.writeVarLong(message.getSize());
+            writer.writeSignedVarLong(internalDate - previousInternalDate);
+            message.getSaveDate().ifPresent(saveDate -> writer.writeSignedVarLong(saveDate.getTime() - internalDate));
+            writer.writeIdentifier(message.getMessageId().serialize());
+            if (hasThreadId) {
+                writer.writeIdentifier(message.getThreadId().serialize());
+            }
+
+            previousUid = message.getUid().asLong();
+            previousModSeq = message.getModSeq().asLong();
+            previousInternalDate = internalDate;
+        }
+    }
+
+    private List<MessageMetaData> readMessages(Reader reader, List<Flags> dictionary) {
+        int count = reader.readVarInt();
+        List<MessageMetaData> messages = new ArrayList<>(Math.min(count, reader.remaining()));
+        long uid = 0;
+        long modSeq = 0;
+        long internalDate = 0;
+        for (int i = 0; i < count; i++) {
+            int options = reader.readVarInt();
+            uid += reader.readVarLong();
+            modSeq += reader.readSignedVarLong();
+            Flags flags = new Flags(flagsAt(dictionary, reader.readVarInt()));
+            long size = reader.readVarLong();
+            internalDate += reader.readSignedVarLong();
+            Optional<Date> saveDate = Optional.empty();
+            if ((options & HAS_SAVE_DATE) != 0) {
+                saveDate = Optional.of(new Date(internalDate + reader.readSignedVarLong()));
+            }
+            MessageId messageId = messageIdFactory.fromString(reader.readIdentifier());
+            ThreadId threadId = ThreadId.fromBaseMessageId(messageId);
+            if ((options & HAS_THREAD_ID) != 0) {
+                threadId = ThreadId.fromBaseMessageId(messageIdFactory.fromString(reader.readIdentifier()));
+            }
+            messages.add(new MessageMetaData(MessageUid.of(uid), ModSeq.of(modSeq), flags, size, new Date(internalDate),
+                saveDate, messageId, threadId));
+        }
+        return messages;
+    }
+
+    private List<Flags> readFlagsDictionary(Reader reader) {
+        int count = reader.readVarInt();
+        List<Flags> dictionary = new ArrayList<>(Math.min(count, reader.remaining()));
+        for (int i = 0; i < count; i++) {
+            Flags flags = new Flags();
+            int systemFlags = reader.readVarInt();
+            for (int bit = 0; bit < SYSTEM_FLAGS.size(); bit++) {
+                if ((systemFlags & (1 << bit)) != 0) {
+                    flags.add(SYSTEM_FLAGS.get(bit));
+                }
+            }
+            int userFlagCount = reader.readVarInt();
+            for (int j = 0; j < userFlagCount; j++) {
+                flags.add(reader.readString());
+            }
+            dictionary.add(flags);
+        }
+        return dictionary;
+    }
+
+    private Flags flagsAt(List<Flags> dictionary, int index) {
+        if (index >= dictionary.size()) {
+            throw new IllegalArgumentException("Malformed binary event: unknown flags " + index);
+        }
+        return dictionary.get(index);
+    }
+
+    private static Optional<UUID> asCanonicalUuid(String value) {
+        if (value.length() != 36) {
+            return Optional.empty();
+        }
+        try {
+            UUID uuid = UUID.fromString(value);
+            if (uuid.toString().equals(value)) {
+                return Optional.of(uuid);
+            }
+            return Optional.empty();
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static class Header {
+        private final Event.EventId eventId;
+        private final MailboxSession.SessionId sessionId;
+        private final Username username;
+        private final MailboxPath path;
+        private final MailboxId mailboxId;
+
+        Header(Event.EventId eventId, MailboxSession.SessionId sessionId, Username username, MailboxPath path, MailboxId mailboxId) {
+            this.eventId = eventId;
+            this.sessionId = sessionId;
+            this.username = username;
+            this.path = path;
+            this.mailboxId = mailboxId;
+        }
+    }
+
+    private static class FlagsDictionary {
+        static FlagsDictionary of(Stream<Flags> flags) {
+            Map<Flags, Integer> indexes = new LinkedHashMap<>();
+            flags.forEach(flag -> indexes.putIfAbsent(flag, indexes.size()));
+            return new FlagsDictionary(indexes);
+        }
+
+        private final Map<Flags, Integer> indexes;
+
+        private FlagsDictionary(Map<Flags, Integer> indexes) {
+            this.indexes = indexes;
+        }
+
+        int indexOf(Flags flags) {
+            return indexes.get(flags);
+        }
+
+        void write(Writer writer) {
+            writer.writeVarInt(indexes.size());
+            for (Flags flags : indexes.keySet()) {
+                int systemFlags = 0;
+                for (int bit = 0; bit < SYSTEM_FLAGS.size(); bit++) {
+                    if (flags.contains(SYSTEM_FLAGS.get(bit))) {
+                        systemFlags |= 1 << bit;
+                    }
+                }
+                writer.writeVarInt(systemFlags);
+                String[] userFlags = flags.getUserFlags();
+                writer.writeVarInt(userFlags.length);
+                for (String userFlag : userFlags) {
+                    writer.writeString(userFlag);
+                }
+            }
+        }
+    }
+
+    private static class Writer {
+        private byte[] buffer;
+        private int size;
+
+        Writer(int estimatedSize) {
+            this.buffer = new byte[estimatedSize];
+            this.size = 0;
+        }
+
+        void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[size++] = (byte) value;
+        }
+
+        void writeLong(long value) {
+            ensureCapacity(Long.BYTES);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[size++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeVarInt(int value) {
+            writeVarLong(Integer.toUnsignedLong(value));
+        }
+
+        void writeVarLong(long value) {
+            ensureCapacity(10);
+            long remaining = value;
+            while ((remaining & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((remaining & 0x7F) | 0x80);
+                remaining >>>= 7;
+            }
+            buffer[size++] = (byte) remaining;
+        }
+
+        void writeSignedVarLong(long value) {
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(bytes.length);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, size, bytes.length);
+            size += bytes.length;
+        }
+
+        void writeOptionalString(Optional<String> value) {
+            writeByte(value.isPresent() ? 1 : 0);
+            value.ifPresent(this::writeString);
+        }
+
+        void writeIdentifier(String value) {
+            Optional<UUID> uuid = asCanonicalUuid(value);
+            if (uuid.isPresent()) {
+                writeByte(UUID_IDENTIFIER);
+                writeLong(uuid.get().getMostSignificantBits());
+                writeLong(uuid.get().getLeastSignificantBits());
+            } else {
+                writeByte(STRING_IDENTIFIER);
+                writeString(value);
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+
+        private void ensureCapacity(int additionalBytes) {
+            if (size + additionalBytes > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + additionalBytes));
+            }
+        }
+    }
+
+    private static class Reader {
+        private final ByteBuffer buffer;
+
+        Reader(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        int remaining() {
+            return buffer.remaining();
+        }
+
+        byte readByte() {
+            return buffer.get();
+        }
+
+        long readLong() {
+            return buffer.getLong();
+        }
+
+        int readVarInt() {
+            long value = readVarLong();
+            if (value < 0 || value > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Malformed binary event: integer out of range");
+            }
+            return (int) value;
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte current = buffer.get();
+                value |= (long) (current & 0x7F) << shift;
+                if ((current & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed binary event: variable length integer is too long");
+        }
+
+        long readSignedVarLong() {
+            long value = readVarLong();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        String readString() {
+            int length = readVarInt();
+            if (length > buffer.remaining()) {
+                throw new BufferUnderflowException();
+            }
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        Optional<String> readOptionalString() {
+            if (readByte() == 0) {
+                return Optional.empty();
+            }
+            return Optional.of(readString());
+        }
+
+        String readIdentifier() {
+            byte kind = readByte();
+            if (kind == UUID_IDENTIFIER) {
+                return new UUID(readLong(), readLong()).toString();
+            }
+            if (kind == STRING_IDENTIFIER) {
+                return readString();
+            }
+            throw new IllegalArgumentException("Malformed binary event: unknown identifier kind " + kind);
+        }
+    }
+}
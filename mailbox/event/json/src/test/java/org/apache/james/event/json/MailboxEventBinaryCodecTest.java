@@ -0,0 +1,169 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.event.json;
+
+import static org.apache.james.event.json.SerializerFixture.EVENT_ID;
+import static org.apache.james.event.json.SerializerFixture.EVENT_SERIALIZER;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+
+import jakarta.mail.Flags;
+
+import org.apache.james.core.Username;
+import org.apache.james.events.EventBinaryCodec;
+import org.apache.james.mailbox.FlagsBuilder;
+import org.apache.james.mailbox.MailboxSession;
+import org.apache.james.mailbox.MessageUid;
+import org.apache.james.mailbox.ModSeq;
+import org.apache.james.mailbox.events.MailboxEvents.Added;
+import org.apache.james.mailbox.events.MailboxEvents.Expunged;
+import org.apache.james.mailbox.events.MailboxEvents.FlagsUpdated;
+import org.apache.james.mailbox.events.MailboxEvents.MailboxAdded;
+import org.apache.james.mailbox.model.MailboxConstants;
+import org.apache.james.mailbox.model.MailboxId;
+import org.apache.james.mailbox.model.MailboxPath;
+import org.apache.james.mailbox.model.MessageMetaData;
+import org.apache.james.mailbox.model.TestId;
+import org.apache.james.mailbox.model.TestMessageId;
+import org.apache.james.mailbox.model.ThreadId;
+import org.apache.james.mailbox.model.UpdatedFlags;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+class MailboxEventBinaryCodecTest {
+    private static final EventBinaryCodec CODEC = EVENT_SERIALIZER.binaryCodec().get();
+    private static final Username USERNAME = Username.of("user");
+    private static final MailboxSession.SessionId SESSION_ID = MailboxSession.SessionId.of(42);
+    private static final MailboxId MAILBOX_ID = TestId.of(18);
+    private static final MailboxPath MAILBOX_PATH = new MailboxPath(MailboxConstants.USER_NAMESPACE, USERNAME, "mailboxName");
+    private static final Date INTERNAL_DATE = Date.from(Instant.parse("2018-12-14T09:41:51.541Z"));
+    private static final Flags FLAGS = FlagsBuilder.builder()
+        .add(Flags.Flag.ANSWERED, Flags.Flag.DRAFT)
+        .add("User Custom Flag")
+        .build();
+    private static final MessageMetaData MESSAGE_1 = new MessageMetaData(MessageUid.of(123456), ModSeq.of(35), FLAGS, 45,
+        INTERNAL_DATE, Optional.of(INTERNAL_DATE), TestMessageId.of(42), ThreadId.fromBaseMessageId(TestMessageId.of(42)));
+    private static final MessageMetaData MESSAGE_2 = new MessageMetaData(MessageUid.of(123460), ModSeq.of(36), new Flags(Flags.Flag.SEEN), 4500,
+        Date.from(Instant.parse("2018-12-13T09:41:51.541Z")), Optional.empty(), TestMessageId.of(43), ThreadId.fromBaseMessageId(TestMessageId.of(100)));
+
+    @Test
+    void addedShouldBeWellDecoded() {
+        TreeMap<MessageUid, MessageMetaData> messages = new TreeMap<>(ImmutableMap.of(
+            MESSAGE_1.getUid(), MESSAGE_1,
+            MESSAGE_2.getUid(), MESSAGE_2));
+        Added added = new Added(SESSION_ID, USERNAME, MAILBOX_PATH, MAILBOX_ID, messages, EVENT_ID, true, false, Optional.of(TestId.of(12)));
+
+        assertThat(CODEC.decode(CODEC.encode(added).get()))
+            .isEqualTo(added);
+    }
+
+    @Test
+    void expungedShouldBeWellDecoded() {
+        Expunged expunged = new Expunged(SESSION_ID, USERNAME, MAILBOX_PATH, MAILBOX_ID,
+            ImmutableMap.of(MESSAGE_2.getUid(), MESSAGE_2, MESSAGE_1.getUid(), MESSAGE_1), EVENT_ID, Optional.empty());
+
+        assertThat(CODEC.decode(CODEC.encode(expunged).get()))
+            .isEqualTo(expunged);
+    }
+
+    @Test
+    void flagsUpdatedShouldBeWellDecoded() {
+        FlagsUpdated flagsUpdated = new FlagsUpdated(SESSION_ID, USERNAME, MAILBOX_PATH, MAILBOX_ID, ImmutableList.of(
+            UpdatedFlags.builder()
+                .uid(MessageUid.of(654321))
+                .modSeq(ModSeq.of(36))
+                .messageId(TestMessageId.of(42))
+                .oldFlags(new Flags())
+                .newFlags(FLAGS)
+                .build(),
+            UpdatedFlags.builder()
+                .uid(MessageUid.of(123456))
+                .modSeq(ModSeq.of(35))
+                .oldFlags(FLAGS)
+                .newFlags(new Flags(Flags.Flag.DELETED))
+                .build()),
+            EVENT_ID);
+
+        assertThat(CODEC.decode(CODEC.encode(flagsUpdated).get()))
+            .isEqualTo(flagsUpdated);
+    }
+
+    @Test
+    void mailboxPathWithoutNamespaceNorUserShouldBeWellDecoded() {
+        FlagsUpdated flagsUpdated = new FlagsUpdated(SESSION_ID, USERNAME, new MailboxPath(null, null, "shared"), MAILBOX_ID,
+            ImmutableList.of(), EVENT_ID);
+
+        assertThat(CODEC.decode(CODEC.encode(flagsUpdated).get()))
+            .isEqualTo(flagsUpdated);
+    }
+
+    @Test
+    void otherEventsShouldNotHaveBinaryEncoding() {
+        MailboxAdded mailboxAdded = new MailboxAdded(SESSION_ID, USERNAME, MAILBOX_PATH, MAILBOX_ID, EVENT_ID);
+
+        assertThat(CODEC.encode(mailboxAdded)).isEmpty();
+    }
+
+    @Test
+    void bulkFlagsUpdatedShouldBeSignificantlySmallerThanJson() {
+        FlagsUpdated flagsUpdated = new FlagsUpdated(SESSION_ID, USERNAME, MAILBOX_PATH, MAILBOX_ID,
+            IntStream.rangeClosed(1, 10000)
+                .mapToObj(uid -> UpdatedFlags.builder()
+                    .uid(MessageUid.of(uid))
+                    .modSeq(ModSeq.of(1000 + uid))
+                    .messageId(TestMessageId.of(uid))
+                    .oldFlags(new Flags())
+                    .newFlags(new Flags(Flags.Flag.SEEN))
+                    .build())
+                .collect(ImmutableList.toImmutableList()),
+            EVENT_ID);
+
+        byte[] binary = CODEC.encode(flagsUpdated).get();
+
+        assertThat(binary.length).isLessThan(EVENT_SERIALIZER.toJsonBytes(flagsUpdated).length / 10);
+        assertThat(CODEC.decode(binary)).isEqualTo(flagsUpdated);
+    }
+
+    @Test
+    void decodeShouldRejectUnknownVersions() {
+        byte[] binary = CODEC.encode(new FlagsUpdated(SESSION_ID, USERNAME, MAILBOX_PATH, MAILBOX_ID, ImmutableList.of(), EVENT_ID)).get();
+        binary[0] = 2;
+
+        assertThatThrownBy(() -> CODEC.decode(binary))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void decodeShouldRejectTruncatedPayloads() {
+        byte[] binary = CODEC.encode(new FlagsUpdated(SESSION_ID, USERNAME, MAILBOX_PATH, MAILBOX_ID, ImmutableList.of(), EVENT_ID)).get();
+
+        assertThatThrownBy(() -> CODEC.decode(Arrays.copyOf(binary, binary.length - 3)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
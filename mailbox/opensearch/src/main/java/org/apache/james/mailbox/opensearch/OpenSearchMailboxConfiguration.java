@@ -19,6 +19,8 @@
 
 package org.apache.james.mailbox.opensearch;
 
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -26,6 +28,9 @@ import org.apache.commons.configuration2.Configuration;
 import org.apache.james.backends.opensearch.IndexName;
 import org.apache.james.backends.opensearch.ReadAliasName;
 import org.apache.james.backends.opensearch.WriteAliasName;
+import org.apache.james.util.DurationParser;
+
+import com.google.common.base.Preconditions;
 
 public class OpenSearchMailboxConfiguration {
 
@@ -37,6 +42,8 @@ public class OpenSearchMailboxConfiguration {
         private Optional<IndexHeaders> indexHeaders;
         private Optional<Boolean> optimiseMoves;
         private Optional<IndexBody> indexBody;
+        private Optional<Integer> indexBatchSize;
+        private Optional<Duration> indexBatchWindow;
 
         Builder() {
             indexMailboxName = Optional.empty();
@@ -46,6 +53,8 @@ public class OpenSearchMailboxConfiguration {
             indexHeaders = Optional.empty();
             optimiseMoves = Optional.empty();
             indexBody = Optional.empty();
+            indexBatchSize = Optional.empty();
+            indexBatchWindow = Optional.empty();
         }
 
         public Builder indexMailboxName(Optional<IndexName> indexMailboxName) {
@@ -83,7 +92,22 @@ public class OpenSearchMailboxConfiguration {
             return this;
         }
 
+        public Builder indexBatchSize(Integer indexBatchSize) {
+            this.indexBatchSize = Optional.ofNullable(indexBatchSize);
+            return this;
+        }
+
+        public Builder indexBatchWindow(Duration indexBatchWindow) {
+            this.indexBatchWindow = Optional.ofNullable(indexBatchWindow);
+            return this;
+        }
+
         public OpenSearchMailboxConfiguration build() {
+            int batchSize = indexBatchSize.orElse(DEFAULT_INDEX_BATCH_SIZE);
+            Duration batchWindow = indexBatchWindow.orElse(DEFAULT_INDEX_BATCH_WINDOW);
+            Preconditions.checkArgument(batchSize >= 1, "'%s' needs to be strictly positive", OPENSEARCH_MESSAGE_INDEX_BATCH_SIZE);
+            Preconditions.checkArgument(!batchWindow.isNegative() && !batchWindow.isZero(), "'%s' needs to be strictly positive", OPENSEARCH_MESSAGE_INDEX_BATCH_WINDOW);
+
             return new OpenSearchMailboxConfiguration(
                 indexMailboxName.orElse(MailboxOpenSearchConstants.DEFAULT_MAILBOX_INDEX),
                 readAliasMailboxName.orElse(MailboxOpenSearchConstants.DEFAULT_MAILBOX_READ_ALIAS),
@@ -91,7 +115,9 @@ public class OpenSearchMailboxConfiguration {
                 indexAttachment.orElse(IndexAttachments.YES),
                 indexHeaders.orElse(IndexHeaders.YES),
                 optimiseMoves.orElse(DEFAULT_OPTIMIZE_MOVES),
-                indexBody.orElse(IndexBody.YES));
+                indexBody.orElse(IndexBody.YES),
+                batchSize,
+                batchWindow);
         }
     }
 
@@ -109,10 +135,14 @@ public class OpenSearchMailboxConfiguration {
     private static final String OPENSEARCH_INDEX_HEADERS = "opensearch.indexHeaders";
     private static final String OPENSEARCH_MESSAGE_INDEX_OPTIMIZE_MOVE = "opensearch.message.index.optimize.move";
     private static final String OPENSEARCH_INDEX_BODY = "opensearch.indexBody";
+    private static final String OPENSEARCH_MESSAGE_INDEX_BATCH_SIZE = "opensearch.message.index.batch.size";
+    private static final String OPENSEARCH_MESSAGE_INDEX_BATCH_WINDOW = "opensearch.message.index.batch.window";
     private static final boolean DEFAULT_INDEX_ATTACHMENTS = true;
     private static final boolean DEFAULT_INDEX_HEADERS = true;
     public static final boolean DEFAULT_OPTIMIZE_MOVES = false;
     public static final boolean DEFAULT_INDEX_BODY = true;
+    public static final int DEFAULT_INDEX_BATCH_SIZE = 1;
+    public static final Duration DEFAULT_INDEX_BATCH_WINDOW = Duration.ofMillis(100);
     public static final OpenSearchMailboxConfiguration DEFAULT_CONFIGURATION = builder().build();
 
     public static OpenSearchMailboxConfiguration fromProperties(Configuration configuration) {
@@ -124,6 +154,10 @@ public class OpenSearchMailboxConfiguration {
             .indexHeaders(provideIndexHeaders(configuration))
             .optimiseMoves(configuration.getBoolean(OPENSEARCH_MESSAGE_INDEX_OPTIMIZE_MOVE, null))
             .indexBody(provideIndexBody(configuration))
+            .indexBatchSize(configuration.getInteger(OPENSEARCH_MESSAGE_INDEX_BATCH_SIZE, null))
+            .indexBatchWindow(Optional.ofNullable(configuration.getString(OPENSEARCH_MESSAGE_INDEX_BATCH_WINDOW, null))
+                .map(value -> DurationParser.parse(value, ChronoUnit.MILLIS))
+                .orElse(null))
             .build();
     }
 
@@ -176,10 +210,13 @@ public class OpenSearchMailboxConfiguration {
     private final IndexHeaders indexHeaders;
     private final boolean optimiseMoves;
     private final IndexBody indexBody;
+    private final int indexBatchSize;
+    private final Duration indexBatchWindow;
 
     private OpenSearchMailboxConfiguration(IndexName indexMailboxName, ReadAliasName readAliasMailboxName,
                                            WriteAliasName writeAliasMailboxName, IndexAttachments indexAttachment,
-                                           IndexHeaders indexHeaders, boolean optimiseMoves, IndexBody indexBody) {
+                                           IndexHeaders indexHeaders, boolean optimiseMoves, IndexBody indexBody,
+                                           int indexBatchSize, Duration indexBatchWindow) {
         this.indexMailboxName = indexMailboxName;
         this.readAliasMailboxName = readAliasMailboxName;
         this.writeAliasMailboxName = writeAliasMailboxName;
@@ -187,6 +224,8 @@ public class OpenSearchMailboxConfiguration {
         this.indexHeaders = indexHeaders;
         this.optimiseMoves = optimiseMoves;
         this.indexBody = indexBody;
+        this.indexBatchSize = indexBatchSize;
+        this.indexBatchWindow = indexBatchWindow;
     }
 
     public IndexName getIndexMailboxName() {
@@ -217,6 +256,18 @@ public class OpenSearchMailboxConfiguration {
         return indexBody;
     }
 
+    public int getIndexBatchSize() {
+        return indexBatchSize;
+    }
+
+    public Duration getIndexBatchWindow() {
+        return indexBatchWindow;
+    }
+
+    public boolean isIndexBatching() {
+        return indexBatchSize > 1;
+    }
+
     @Override
     public final boolean equals(Object o) {
         if (o instanceof OpenSearchMailboxConfiguration) {
@@ -228,7 +279,9 @@ public class OpenSearchMailboxConfiguration {
                 && Objects.equals(this.readAliasMailboxName, that.readAliasMailboxName)
                 && Objects.equals(this.optimiseMoves, that.optimiseMoves)
                 && Objects.equals(this.writeAliasMailboxName, that.writeAliasMailboxName)
-                && Objects.equals(this.indexBody, that.indexBody);
+                && Objects.equals(this.indexBody, that.indexBody)
+                && Objects.equals(this.indexBatchSize, that.indexBatchSize)
+                && Objects.equals(this.indexBatchWindow, that.indexBatchWindow);
         }
         return false;
     }
@@ -236,6 +289,6 @@ public class OpenSearchMailboxConfiguration {
     @Override
     public final int hashCode() {
         return Objects.hash(indexMailboxName, readAliasMailboxName, writeAliasMailboxName, indexAttachment, indexHeaders,
-            writeAliasMailboxName, optimiseMoves, indexBody);
+            writeAliasMailboxName, optimiseMoves, indexBody, indexBatchSize, indexBatchWindow);
     }
 }
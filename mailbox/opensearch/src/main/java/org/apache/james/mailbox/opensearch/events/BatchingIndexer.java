@@ -0,0 +1,192 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.opensearch.events;
+
+import static reactor.core.publisher.Sinks.EmitFailureHandler.busyLooping;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.james.backends.opensearch.IndexedDocument;
+import org.apache.james.backends.opensearch.OpenSearchIndexer;
+import org.opensearch.client.opensearch.core.BulkResponse;
+import org.opensearch.client.opensearch.core.bulk.BulkResponseItem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Coalesces documents being indexed concurrently into bulk requests of up to {@code batchSize} documents,
+ * waiting at most {@code batchWindow} for a batch to fill up.
+ *
+ * Each caller is notified of the outcome of its own document. Documents rejected by the bulk request are
+ * retried individually, as part of subsequent batches, before the failure is propagated to the caller.
+ *
+ * Closing flushes the documents already queued as a last batch. Documents failing from then on are no longer
+ * retried but reported to their caller.
+ */
+class BatchingIndexer {
+    static class IndexingFailedException extends RuntimeException {
+        private final boolean rejected;
+
+        IndexingFailedException(String message, boolean rejected) {
+            super(message);
+            this.rejected = rejected;
+        }
+
+        boolean isRejected() {
+            return rejected;
+        }
+    }
+
+    private static class PendingDocument {
+        private final IndexedDocument document;
+        private final Sinks.One<Void> result;
+        private final int attempt;
+
+        PendingDocument(IndexedDocument document, Sinks.One<Void> result, int attempt) {
+            this.document = document;
+            this.result = result;
+            this.attempt = attempt;
+        }
+
+        PendingDocument nextAttempt() {
+            return new PendingDocument(document, result, attempt + 1);
+        }
+    }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchingIndexer.class);
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final Duration EMIT_TIMEOUT = Duration.ofSeconds(1);
+    private static final Duration RETRY_BACKOFF = Duration.ofMillis(100);
+    private static final int MAX_RETRIES = 3;
+    private static final int CONCURRENT_BULK_REQUESTS = 4;
+    private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(30);
+
+    private final OpenSearchIndexer openSearchIndexer;
+    private final int maxRetries;
+    private final Duration retryBackoff;
+    private final Sinks.Many<PendingDocument> pendingDocuments;
+    private final Sinks.Empty<Void> processed;
+    private final AtomicBoolean closed;
+    private final Disposable processing;
+
+    BatchingIndexer(OpenSearchIndexer openSearchIndexer, int batchSize, Duration batchWindow) {
+        this(openSearchIndexer, batchSize, batchWindow, MAX_RETRIES, RETRY_BACKOFF);
+    }
+
+    @VisibleForTesting
+    BatchingIndexer(OpenSearchIndexer openSearchIndexer, int batchSize, Duration batchWindow, int maxRetries, Duration retryBackoff) {
+        this.openSearchIndexer = openSearchIndexer;
+        this.maxRetries = maxRetries;
+        this.retryBackoff = retryBackoff;
+        this.pendingDocuments = Sinks.many().unicast().onBackpressureBuffer();
+        this.processed = Sinks.empty();
+        this.closed = new AtomicBoolean(false);
+        this.processing = pendingDocuments.asFlux()
+            .bufferTimeout(batchSize, batchWindow)
+            .flatMap(this::indexBatch, CONCURRENT_BULK_REQUESTS)
+            .doFinally(any -> processed.tryEmitEmpty())
+            .subscribe();
+    }
+
+    Mono<Void> index(IndexedDocument document) {
+        return Mono.defer(() -> {
+            Sinks.One<Void> result = Sinks.one();
+            enqueue(new PendingDocument(document, result, 0));
+            return result.asMono();
+        });
+    }
+
+    void close() {
+        if (closed.compareAndSet(false, true)) {
+            pendingDocuments.emitComplete(busyLooping(EMIT_TIMEOUT));
+            try {
+                processed.asMono().block(CLOSE_TIMEOUT);
+            } catch (IllegalStateException e) {
+                LOGGER.warn("Pending documents were not indexed within {}", CLOSE_TIMEOUT, e);
+                processing.dispose();
+            }
+        }
+    }
+
+    private Mono<Void> indexBatch(List<PendingDocument> batch) {
+        List<IndexedDocument> documents = batch.stream()
+            .map(pending -> pending.document)
+            .collect(ImmutableList.toImmutableList());
+
+        return openSearchIndexer.index(documents)
+            .doOnNext(response -> dispatchResults(batch, response))
+            .onErrorResume(e -> {
+                LOGGER.warn("Bulk indexing of {} documents failed", batch.size(), e);
+                boolean rejected = OpenSearchListeningMessageSearchIndex.isTooManyRequests(e);
+                batch.forEach(pending -> retryOrFail(pending, e.getMessage(), rejected));
+                return Mono.empty();
+            })
+            .then();
+    }
+
+    private void dispatchResults(List<PendingDocument> batch, BulkResponse response) {
+        List<BulkResponseItem> items = response.items();
+        for (int i = 0; i < batch.size(); i++) {
+            PendingDocument pending = batch.get(i);
+            if (i >= items.size()) {
+                retryOrFail(pending, "missing from the bulk response", false);
+            } else if (items.get(i).error() != null) {
+                retryOrFail(pending, items.get(i).error().reason(), items.get(i).status() == TOO_MANY_REQUESTS);
+            } else {
+                pending.result.tryEmitEmpty();
+            }
+        }
+    }
+
+    private void retryOrFail(PendingDocument pending, String reason, boolean rejected) {
+        if (pending.attempt < maxRetries && !closed.get()) {
+            LOGGER.debug("Retrying indexing of {}: {}", pending.document.getId().asString(), reason);
+            Mono.delay(retryBackoff.multipliedBy(pending.attempt + 1))
+                .subscribe(any -> enqueue(pending.nextAttempt()));
+        } else {
+            fail(pending, reason, rejected);
+        }
+    }
+
+    private void enqueue(PendingDocument pending) {
+        Sinks.EmitFailureHandler busyLooping = busyLooping(EMIT_TIMEOUT);
+        pendingDocuments.emitNext(pending, (signalType, emitResult) -> {
+            if (emitResult == Sinks.EmitResult.FAIL_TERMINATED) {
+                fail(pending, "the indexer is closed", false);
+                return false;
+            }
+            return busyLooping.onEmitFailure(signalType, emitResult);
+        });
+    }
+
+    private void fail(PendingDocument pending, String reason, boolean rejected) {
+        pending.result.tryEmitError(new IndexingFailedException("Failed indexing " + pending.document.getId().asString()
+            + " after " + (pending.attempt + 1) + " attempts: " + reason, rejected));
+    }
+}
@@ -35,11 +35,13 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
+import jakarta.annotation.PreDestroy;
 import jakarta.inject.Inject;
 import jakarta.inject.Named;
 import jakarta.mail.Flags;
 
 import org.apache.james.backends.opensearch.DocumentId;
+import org.apache.james.backends.opensearch.IndexedDocument;
 import org.apache.james.backends.opensearch.OpenSearchIndexer;
 import org.apache.james.backends.opensearch.RoutingKey;
 import org.apache.james.backends.opensearch.UpdatedRepresentation;
@@ -70,8 +72,10 @@ import org.apache.james.mailbox.store.mail.model.MailboxMessage;
 import org.apache.james.mailbox.store.search.ListeningMessageSearchIndex;
 import org.apache.james.metrics.api.Metric;
 import org.apache.james.metrics.api.MetricFactory;
+import org.opensearch.client.ResponseException;
 import org.opensearch.client.json.JsonData;
 import org.opensearch.client.opensearch._types.FieldValue;
+import org.opensearch.client.opensearch._types.OpenSearchException;
 import org.opensearch.client.opensearch._types.query_dsl.Query;
 import org.opensearch.client.opensearch._types.query_dsl.TermQuery;
 import org.opensearch.client.opensearch.core.GetResponse;
@@ -214,6 +218,7 @@ public class OpenSearchListeningMessageSearchIndex extends ListeningMessageSearc
 
     private static final Logger LOGGER = LoggerFactory.getLogger(OpenSearchListeningMessageSearchIndex.class);
     private static final String ID_SEPARATOR = ":";
+    private static final int TOO_MANY_REQUESTS = 429;
     private static final Group GROUP = new OpenSearchListeningMessageSearchIndexGroup();
 
     private static final ImmutableList<String> MESSAGE_ID_FIELD = ImmutableList.of(MESSAGE_ID);
@@ -230,6 +235,7 @@ public class OpenSearchListeningMessageSearchIndex extends ListeningMessageSearc
     private final Metric reIndexNotFoundMetric;
     private final IndexingStrategy indexingStrategy;
     private final IndexBody indexBody;
+    private final Optional<BatchingIndexer> batchingIndexer;
 
     @Inject
     public OpenSearchListeningMessageSearchIndex(MailboxSessionMapperFactory factory,
@@ -252,11 +258,21 @@ public class OpenSearchListeningMessageSearchIndex extends ListeningMessageSearc
             this.indexingStrategy = new NaiveIndexingStrategy();
         }
         this.indexBody = configuration.getIndexBody();
+        if (configuration.isIndexBatching()) {
+            this.batchingIndexer = Optional.of(new BatchingIndexer(indexer, configuration.getIndexBatchSize(), configuration.getIndexBatchWindow()));
+        } else {
+            this.batchingIndexer = Optional.empty();
+        }
         this.reIndexNotFoundMetric = metricFactory.generate("opensearch_reindex_not_found");
 
         LOGGER.info("OpenSearchMessageSearchIndex activated with index strategy: {}", indexingStrategy.getClass().getSimpleName());
     }
 
+    @PreDestroy
+    public void close() {
+        batchingIndexer.ifPresent(BatchingIndexer::close);
+    }
+
     @Override
     public Group getDefaultGroup() {
         return GROUP;
@@ -352,8 +368,10 @@ public class OpenSearchListeningMessageSearchIndex extends ListeningMessageSearc
     private Mono<Void> add(MailboxId mailboxId, MessageUid messageUid, String jsonContent) {
         RoutingKey from = routingKeyFactory.from(mailboxId);
         DocumentId id = indexIdFor(mailboxId, messageUid);
-        return openSearchIndexer.index(id, jsonContent, from)
-            .then();
+        return batchingIndexer
+            .map(batcher -> batcher.index(new IndexedDocument(id, jsonContent, from)))
+            .orElseGet(() -> openSearchIndexer.index(id, jsonContent, from)
+                .then());
     }
 
     private Mono<String> generateIndexedJson(Mailbox mailbox, MailboxMessage message, MailboxSession session) {
@@ -424,6 +442,26 @@ public class OpenSearchListeningMessageSearchIndex extends ListeningMessageSearc
             .map(this::extractFlags);
     }
 
+    @Override
+    public boolean isOverloaded(Throwable error) {
+        return isTooManyRequests(error);
+    }
+
+    static boolean isTooManyRequests(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof BatchingIndexer.IndexingFailedException && ((BatchingIndexer.IndexingFailedException) cause).isRejected()) {
+                return true;
+            }
+            if (cause instanceof OpenSearchException && ((OpenSearchException) cause).status() == TOO_MANY_REQUESTS) {
+                return true;
+            }
+            if (cause instanceof ResponseException && ((ResponseException) cause).getResponse().getStatusLine().getStatusCode() == TOO_MANY_REQUESTS) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private Flags extractFlags(ObjectNode source) {
         FlagsBuilder flagsBuilder = FlagsBuilder.builder()
             .isAnswered(extractFlag(source, IS_ANSWERED))
@@ -20,6 +20,9 @@
 package org.apache.james.mailbox.opensearch;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
 
 import org.apache.commons.configuration2.PropertiesConfiguration;
 import org.apache.james.backends.opensearch.IndexName;
@@ -259,4 +262,67 @@ class OpenSearchMailboxConfigurationTest {
             .isEqualTo(IndexBody.YES);
     }
 
-}
\ No newline at end of file
+    @Test
+    void indexBatchingShouldBeDisabledByDefault() {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+        configuration.addProperty("opensearch.hosts", "127.0.0.1");
+
+        OpenSearchMailboxConfiguration openSearchConfiguration = OpenSearchMailboxConfiguration.fromProperties(configuration);
+
+        assertThat(openSearchConfiguration.isIndexBatching()).isFalse();
+    }
+
+    @Test
+    void getIndexBatchSizeShouldReturnConfiguredValue() {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+        configuration.addProperty("opensearch.message.index.batch.size", 50);
+        configuration.addProperty("opensearch.hosts", "127.0.0.1");
+
+        OpenSearchMailboxConfiguration openSearchConfiguration = OpenSearchMailboxConfiguration.fromProperties(configuration);
+
+        assertThat(openSearchConfiguration.getIndexBatchSize()).isEqualTo(50);
+        assertThat(openSearchConfiguration.isIndexBatching()).isTrue();
+    }
+
+    @Test
+    void getIndexBatchWindowShouldReturnDefaultValueWhenMissing() {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+        configuration.addProperty("opensearch.hosts", "127.0.0.1");
+
+        OpenSearchMailboxConfiguration openSearchConfiguration = OpenSearchMailboxConfiguration.fromProperties(configuration);
+
+        assertThat(openSearchConfiguration.getIndexBatchWindow()).isEqualTo(Duration.ofMillis(100));
+    }
+
+    @Test
+    void getIndexBatchWindowShouldDefaultToMilliseconds() {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+        configuration.addProperty("opensearch.message.index.batch.window", "250");
+        configuration.addProperty("opensearch.hosts", "127.0.0.1");
+
+        OpenSearchMailboxConfiguration openSearchConfiguration = OpenSearchMailboxConfiguration.fromProperties(configuration);
+
+        assertThat(openSearchConfiguration.getIndexBatchWindow()).isEqualTo(Duration.ofMillis(250));
+    }
+
+    @Test
+    void getIndexBatchWindowShouldSupportUnits() {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+        configuration.addProperty("opensearch.message.index.batch.window", "1s");
+        configuration.addProperty("opensearch.hosts", "127.0.0.1");
+
+        OpenSearchMailboxConfiguration openSearchConfiguration = OpenSearchMailboxConfiguration.fromProperties(configuration);
+
+        assertThat(openSearchConfiguration.getIndexBatchWindow()).isEqualTo(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void fromPropertiesShouldThrowWhenIndexBatchSizeIsNotPositive() {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+        configuration.addProperty("opensearch.message.index.batch.size", 0);
+        configuration.addProperty("opensearch.hosts", "127.0.0.1");
+
+        assertThatThrownBy(() -> OpenSearchMailboxConfiguration.fromProperties(configuration))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,257 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.opensearch.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import org.apache.james.backends.opensearch.DocumentId;
+import org.apache.james.backends.opensearch.IndexedDocument;
+import org.apache.james.backends.opensearch.OpenSearchIndexer;
+import org.apache.james.backends.opensearch.RoutingKey;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.opensearch.client.opensearch._types.ErrorCause;
+import org.opensearch.client.opensearch._types.ErrorResponse;
+import org.opensearch.client.opensearch._types.OpenSearchException;
+import org.opensearch.client.opensearch.core.BulkResponse;
+import org.opensearch.client.opensearch.core.bulk.BulkResponseItem;
+import org.opensearch.client.opensearch.core.bulk.OperationType;
+
+import com.google.common.collect.ImmutableList;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class BatchingIndexerTest {
+    private static final RoutingKey ROUTING_KEY = RoutingKey.fromString("routing");
+    private static final Duration BATCH_WINDOW = Duration.ofMillis(50);
+    private static final Duration RETRY_BACKOFF = Duration.ofMillis(10);
+
+    private OpenSearchIndexer openSearchIndexer;
+    private BatchingIndexer testee;
+
+    @BeforeEach
+    void setUp() {
+        openSearchIndexer = mock(OpenSearchIndexer.class);
+        testee = new BatchingIndexer(openSearchIndexer, 10, BATCH_WINDOW, 2, RETRY_BACKOFF);
+    }
+
+    @AfterEach
+    void tearDown() {
+        testee.close();
+    }
+
+    @Test
+    void indexShouldCoalesceConcurrentDocumentsInASingleBulkRequest() {
+        when(openSearchIndexer.index(any())).thenAnswer(invocation -> Mono.just(successFor(invocation.getArgument(0))));
+
+        Flux.range(0, 10)
+            .flatMap(i -> testee.index(document(i)))
+            .then()
+            .block();
+
+        verify(openSearchIndexer, times(1)).index(any());
+        verify(openSearchIndexer, never()).index(any(), any(), any());
+    }
+
+    @Test
+    void indexShouldFlushIncompleteBatchesAfterTheWindow() {
+        when(openSearchIndexer.index(any())).thenAnswer(invocation -> Mono.just(successFor(invocation.getArgument(0))));
+
+        testee.index(document(0)).block(Duration.ofSeconds(5));
+
+        verify(openSearchIndexer, times(1)).index(ImmutableList.of(document(0)));
+    }
+
+    @Test
+    void indexShouldRetryOnlyFailedDocuments() {
+        ConcurrentHashMap<DocumentId, AtomicInteger> attempts = new ConcurrentHashMap<>();
+        DocumentId flaky = document(1).getId();
+        when(openSearchIndexer.index(any())).thenAnswer(invocation -> {
+            List<IndexedDocument> documents = invocation.getArgument(0);
+            documents.forEach(document -> attempts.computeIfAbsent(document.getId(), any -> new AtomicInteger()).incrementAndGet());
+            return Mono.just(responseFor(documents, document -> document.getId().equals(flaky) && attempts.get(flaky).get() == 1));
+        });
+
+        Flux.range(0, 3)
+            .flatMap(i -> testee.index(document(i)))
+            .then()
+            .block();
+
+        assertThat(attempts.get(document(0).getId())).hasValue(1);
+        assertThat(attempts.get(flaky)).hasValue(2);
+        assertThat(attempts.get(document(2).getId())).hasValue(1);
+    }
+
+    @Test
+    void indexShouldFailWhenADocumentIsRejectedAfterAllRetries() {
+        DocumentId rejected = document(1).getId();
+        when(openSearchIndexer.index(any())).thenAnswer(invocation -> {
+            List<IndexedDocument> documents = invocation.getArgument(0);
+            return Mono.just(responseFor(documents, document -> document.getId().equals(rejected)));
+        });
+
+        List<String> results = Flux.merge(
+                testee.index(document(0)).thenReturn("indexed"),
+                testee.index(document(1)).thenReturn("indexed")
+                    .onErrorReturn(BatchingIndexer.IndexingFailedException.class, "failed"))
+            .collectList()
+            .block();
+
+        assertThat(results).containsExactlyInAnyOrder("indexed", "failed");
+    }
+
+    @Test
+    void indexShouldRetryWhenTheBulkRequestFails() {
+        AtomicInteger calls = new AtomicInteger();
+        when(openSearchIndexer.index(any())).thenAnswer(invocation -> {
+            if (calls.getAndIncrement() == 0) {
+                return Mono.error(new RuntimeException("cluster unavailable"));
+            }
+            return Mono.just(successFor(invocation.getArgument(0)));
+        });
+
+        testee.index(document(0)).block(Duration.ofSeconds(5));
+
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void indexShouldFailWhenTheBulkRequestKeepsFailing() {
+        when(openSearchIndexer.index(any())).thenReturn(Mono.error(new RuntimeException("cluster unavailable")));
+
+        assertThatThrownBy(() -> testee.index(document(0)).block(Duration.ofSeconds(5)))
+            .isInstanceOf(BatchingIndexer.IndexingFailedException.class);
+        verify(openSearchIndexer, times(3)).index(any());
+    }
+
+    @Test
+    void closeShouldFlushQueuedDocuments() {
+        when(openSearchIndexer.index(any())).thenAnswer(invocation -> Mono.just(successFor(invocation.getArgument(0))));
+        testee.close();
+        testee = new BatchingIndexer(openSearchIndexer, 10, Duration.ofHours(1), 2, RETRY_BACKOFF);
+        Mono<Void> indexed = testee.index(document(0)).cache();
+        indexed.subscribe();
+
+        testee.close();
+
+        indexed.block(Duration.ofSeconds(5));
+        verify(openSearchIndexer, times(1)).index(ImmutableList.of(document(0)));
+    }
+
+    @Test
+    void indexShouldFailOnceClosed() {
+        testee.close();
+
+        assertThatThrownBy(() -> testee.index(document(0)).block(Duration.ofSeconds(5)))
+            .isInstanceOf(BatchingIndexer.IndexingFailedException.class);
+        verify(openSearchIndexer, never()).index(any());
+    }
+
+    @Test
+    void documentsRejectedWithTooManyRequestsShouldBeReportedAsOverloaded() {
+        when(openSearchIndexer.index(any())).thenAnswer(invocation -> Mono.just(responseFor(invocation.getArgument(0), document -> true, 429)));
+
+        assertThatThrownBy(() -> testee.index(document(0)).block(Duration.ofSeconds(5)))
+            .satisfies(error -> assertThat(OpenSearchListeningMessageSearchIndex.isTooManyRequests(error)).isTrue());
+    }
+
+    @Test
+    void documentsFailingForOtherReasonsShouldNotBeReportedAsOverloaded() {
+        when(openSearchIndexer.index(any())).thenAnswer(invocation -> Mono.just(responseFor(invocation.getArgument(0), document -> true, 400)));
+
+        assertThatThrownBy(() -> testee.index(document(0)).block(Duration.ofSeconds(5)))
+            .satisfies(error -> assertThat(OpenSearchListeningMessageSearchIndex.isTooManyRequests(error)).isFalse());
+    }
+
+    @Test
+    void bulkRequestsRejectedWithTooManyRequestsShouldBeReportedAsOverloaded() {
+        when(openSearchIndexer.index(any())).thenReturn(Mono.error(openSearchException(429)));
+
+        assertThatThrownBy(() -> testee.index(document(0)).block(Duration.ofSeconds(5)))
+            .satisfies(error -> assertThat(OpenSearchListeningMessageSearchIndex.isTooManyRequests(error)).isTrue());
+    }
+
+    @Test
+    void errorMessagesMentioning429ShouldNotBeReportedAsOverloaded() {
+        when(openSearchIndexer.index(any())).thenReturn(Mono.error(new RuntimeException("Failed indexing message 429: 429 bytes, too many requests")));
+
+        assertThatThrownBy(() -> testee.index(document(0)).block(Duration.ofSeconds(5)))
+            .satisfies(error -> assertThat(OpenSearchListeningMessageSearchIndex.isTooManyRequests(error)).isFalse());
+    }
+
+    @Test
+    void openSearchExceptionsShouldBeReportedAsOverloadedOnlyWhenTooManyRequests() {
+        assertThat(OpenSearchListeningMessageSearchIndex.isTooManyRequests(new RuntimeException(openSearchException(429)))).isTrue();
+        assertThat(OpenSearchListeningMessageSearchIndex.isTooManyRequests(openSearchException(503))).isFalse();
+    }
+
+    private OpenSearchException openSearchException(int status) {
+        return new OpenSearchException(ErrorResponse.of(response -> response
+            .status(status)
+            .error(ErrorCause.of(error -> error.type("status_exception").reason("rejected")))));
+    }
+
+    private IndexedDocument document(int i) {
+        return new IndexedDocument(DocumentId.fromString("mailbox:" + i), "{\"uid\": " + i + "}", ROUTING_KEY);
+    }
+
+    private BulkResponse successFor(List<IndexedDocument> documents) {
+        return responseFor(documents, document -> false);
+    }
+
+    private BulkResponse responseFor(List<IndexedDocument> documents, Predicate<IndexedDocument> failing) {
+        return responseFor(documents, failing, 429);
+    }
+
+    private BulkResponse responseFor(List<IndexedDocument> documents, Predicate<IndexedDocument> failing, int failureStatus) {
+        List<BulkResponseItem> items = documents.stream()
+            .map(document -> BulkResponseItem.of(item -> {
+                item.operationType(OperationType.Index)
+                    .index("index")
+                    .id(document.getId().asString());
+                if (failing.test(document)) {
+                    return item.status(failureStatus)
+                        .error(ErrorCause.of(error -> error.type("es_rejected_execution_exception").reason("rejected")));
+                }
+                return item.status(201);
+            }))
+            .collect(ImmutableList.toImmutableList());
+
+        return BulkResponse.of(response -> response
+            .errors(items.stream().anyMatch(item -> item.error() != null))
+            .took(1)
+            .items(items));
+    }
+}
@@ -19,7 +19,11 @@
 
 package org.apache.james.vault;
 
+import static org.apache.james.util.ReactorUtils.DEFAULT_CONCURRENCY;
+
 import java.io.InputStream;
+import java.util.Collection;
+import java.util.Map;
 
 import org.apache.james.core.Username;
 import org.apache.james.mailbox.model.MessageId;
@@ -27,11 +31,35 @@ import org.apache.james.task.Task;
 import org.apache.james.vault.search.Query;
 import org.reactivestreams.Publisher;
 
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
 public interface DeletedMessageVault {
     Publisher<Void> append(DeletedMessage deletedMessage, InputStream mimeMessage);
 
     Publisher<InputStream> loadMimeMessage(Username username, MessageId messageId);
 
+    /**
+     * Loads the content of several deleted messages of a user at once.
+     *
+     * @return a Mono of the message contents keyed by MessageId. Messages that are not in the vault, or whose
+     *  content could not be found, are not part of the result map.
+     */
+    default Publisher<Map<MessageId, byte[]>> loadMimeMessages(Username username, Collection<MessageId> messageIds) {
+        return Flux.fromIterable(messageIds)
+            .distinct()
+            .flatMap(messageId -> Mono.from(loadMimeMessage(username, messageId))
+                .flatMap(stream -> Mono.fromCallable(() -> {
+                    try (stream) {
+                        return Tuples.of(messageId, stream.readAllBytes());
+                    }
+                }))
+                .onErrorResume(DeletedMessageContentNotFoundException.class, e -> Mono.empty()), DEFAULT_CONCURRENCY)
+            .collectMap(Tuple2::getT1, Tuple2::getT2);
+    }
+
     Publisher<Void> delete(Username username, MessageId messageId);
 
     Publisher<DeletedMessage> search(Username username, Query query);
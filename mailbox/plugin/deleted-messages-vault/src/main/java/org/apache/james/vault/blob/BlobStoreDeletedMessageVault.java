@@ -25,10 +25,14 @@ import static org.apache.james.util.ReactorUtils.DEFAULT_CONCURRENCY;
 import java.io.InputStream;
 import java.time.Clock;
 import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import jakarta.inject.Inject;
 
+import org.apache.james.blob.api.BlobId;
 import org.apache.james.blob.api.BlobStore;
 import org.apache.james.blob.api.BlobStoreDAO;
 import org.apache.james.blob.api.BucketName;
@@ -51,9 +55,13 @@ import org.slf4j.LoggerFactory;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
 
 public class BlobStoreDeletedMessageVault implements DeletedMessageVault {
     private static final Logger LOGGER = LoggerFactory.getLogger(BlobStoreDeletedMessageVault.class);
@@ -61,6 +69,7 @@ public class BlobStoreDeletedMessageVault implements DeletedMessageVault {
     private static final String BLOBSTORE_DELETED_MESSAGE_VAULT_METRIC = "deletedMessageVault:blobStore:";
     static final String APPEND_METRIC_NAME = BLOBSTORE_DELETED_MESSAGE_VAULT_METRIC + "append";
     static final String LOAD_MIME_MESSAGE_METRIC_NAME = BLOBSTORE_DELETED_MESSAGE_VAULT_METRIC + "loadMimeMessage";
+    static final String LOAD_MIME_MESSAGES_METRIC_NAME = BLOBSTORE_DELETED_MESSAGE_VAULT_METRIC + "loadMimeMessages";
     static final String SEARCH_METRIC_NAME = BLOBSTORE_DELETED_MESSAGE_VAULT_METRIC + "search";
     static final String DELETE_METRIC_NAME = BLOBSTORE_DELETED_MESSAGE_VAULT_METRIC + "delete";
     static final String DELETE_EXPIRED_MESSAGES_METRIC_NAME = BLOBSTORE_DELETED_MESSAGE_VAULT_METRIC + "deleteExpiredMessages";
@@ -128,6 +137,37 @@ public class BlobStoreDeletedMessageVault implements DeletedMessageVault {
                 ex -> Mono.error(new DeletedMessageContentNotFoundException(username, messageId)));
     }
 
+    @Override
+    public Publisher<Map<MessageId, byte[]>> loadMimeMessages(Username username, Collection<MessageId> messageIds) {
+        Preconditions.checkNotNull(username);
+        Preconditions.checkNotNull(messageIds);
+
+        return metricFactory.decoratePublisherWithTimerMetric(
+            LOAD_MIME_MESSAGES_METRIC_NAME,
+            Flux.fromIterable(messageIds)
+                .distinct()
+                .flatMap(messageId -> Mono.from(messageMetadataVault.retrieveStorageInformation(username, messageId))
+                    .map(storageInformation -> Tuples.of(messageId, storageInformation)), DEFAULT_CONCURRENCY)
+                .groupBy(messageAndStorage -> messageAndStorage.getT2().getBucketName())
+                .flatMap(bucketGroup -> bucketGroup.collectList()
+                    .flatMap(messagesAndStorages -> loadMimeMessages(bucketGroup.key(), messagesAndStorages)))
+                .flatMapIterable(Map::entrySet)
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+
+    private Mono<Map<MessageId, byte[]>> loadMimeMessages(BucketName bucketName, List<Tuple2<MessageId, StorageInformation>> messagesAndStorages) {
+        ImmutableListMultimap<BlobId, MessageId> messageIdsByBlobId = messagesAndStorages.stream()
+            .collect(ImmutableListMultimap.toImmutableListMultimap(
+                messageAndStorage -> messageAndStorage.getT2().getBlobId(),
+                Tuple2::getT1));
+
+        return Mono.from(blobStore.readBytes(bucketName, messageIdsByBlobId.keySet()))
+            .map(blobs -> blobs.entrySet().stream()
+                .flatMap(blob -> messageIdsByBlobId.get(blob.getKey()).stream()
+                    .map(messageId -> Map.entry(messageId, blob.getValue())))
+                .collect(ImmutableMap.toImmutableMap(Map.Entry::getKey, Map.Entry::getValue)));
+    }
+
     @Override
     public Publisher<DeletedMessage> search(Username username, Query query) {
         Preconditions.checkNotNull(username);
@@ -25,6 +25,7 @@ import static org.apache.james.vault.DeletedMessageFixture.DELETED_MESSAGE_2;
 import static org.apache.james.vault.DeletedMessageFixture.DELETED_MESSAGE_GENERATOR;
 import static org.apache.james.vault.DeletedMessageFixture.DELETED_MESSAGE_WITH_SUBJECT;
 import static org.apache.james.vault.DeletedMessageFixture.MESSAGE_ID;
+import static org.apache.james.vault.DeletedMessageFixture.MESSAGE_ID_2;
 import static org.apache.james.vault.DeletedMessageFixture.NOW;
 import static org.apache.james.vault.DeletedMessageFixture.OLD_DELETED_MESSAGE;
 import static org.apache.james.vault.DeletedMessageFixture.SUBJECT;
@@ -38,8 +39,10 @@ import java.io.ByteArrayInputStream;
 import java.time.Clock;
 import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.james.mailbox.inmemory.InMemoryMessageId;
+import org.apache.james.mailbox.model.MessageId;
 import org.apache.james.task.Task;
 import org.apache.james.util.concurrency.ConcurrentTestRunner;
 import org.apache.james.utils.UpdatableTickingClock;
@@ -47,6 +50,8 @@ import org.apache.james.vault.search.CriterionFactory;
 import org.apache.james.vault.search.Query;
 import org.junit.jupiter.api.Test;
 
+import com.google.common.collect.ImmutableList;
+
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -198,6 +203,55 @@ public interface DeletedMessageVaultContract {
             .isEmpty();
     }
 
+    @Test
+    default void loadMimeMessagesShouldReturnStoredValues() {
+        Mono.from(getVault().append(DELETED_MESSAGE, new ByteArrayInputStream(CONTENT))).block();
+        Mono.from(getVault().append(DELETED_MESSAGE_2, new ByteArrayInputStream(CONTENT))).block();
+
+        Map<MessageId, byte[]> contents = Mono.from(getVault().loadMimeMessages(USERNAME, ImmutableList.of(MESSAGE_ID, MESSAGE_ID_2))).block();
+
+        assertThat(contents)
+            .hasSize(2)
+            .hasEntrySatisfying(MESSAGE_ID, content -> assertThat(content).isEqualTo(CONTENT))
+            .hasEntrySatisfying(MESSAGE_ID_2, content -> assertThat(content).isEqualTo(CONTENT));
+    }
+
+    @Test
+    default void loadMimeMessagesShouldOmitMessagesNotInTheVault() {
+        Mono.from(getVault().append(DELETED_MESSAGE, new ByteArrayInputStream(CONTENT))).block();
+
+        Map<MessageId, byte[]> contents = Mono.from(getVault().loadMimeMessages(USERNAME, ImmutableList.of(MESSAGE_ID, MESSAGE_ID_2))).block();
+
+        assertThat(contents).containsOnlyKeys(MESSAGE_ID);
+    }
+
+    @Test
+    default void loadMimeMessagesShouldReturnEmptyWhenNoMessageIds() {
+        Map<MessageId, byte[]> contents = Mono.from(getVault().loadMimeMessages(USERNAME, ImmutableList.of())).block();
+
+        assertThat(contents).isEmpty();
+    }
+
+    @Test
+    default void loadMimeMessagesShouldNotReturnMessagesOfOtherUsers() {
+        Mono.from(getVault().append(DELETED_MESSAGE, new ByteArrayInputStream(CONTENT))).block();
+
+        Map<MessageId, byte[]> contents = Mono.from(getVault().loadMimeMessages(USERNAME_2, ImmutableList.of(MESSAGE_ID))).block();
+
+        assertThat(contents).isEmpty();
+    }
+
+    @Test
+    default void loadMimeMessagesShouldReturnMessagesStoredInDistinctBuckets() {
+        Mono.from(getVault().append(DELETED_MESSAGE, new ByteArrayInputStream(CONTENT))).block();
+        getClock().setInstant(NOW.plusYears(2).toInstant());
+        Mono.from(getVault().append(DELETED_MESSAGE_2, new ByteArrayInputStream(CONTENT))).block();
+
+        Map<MessageId, byte[]> contents = Mono.from(getVault().loadMimeMessages(USERNAME, ImmutableList.of(MESSAGE_ID, MESSAGE_ID_2))).block();
+
+        assertThat(contents).containsOnlyKeys(MESSAGE_ID, MESSAGE_ID_2);
+    }
+
     @Test
     default void appendShouldRunSuccessfullyInAConcurrentContext() throws Exception {
         int operationCount = 10;
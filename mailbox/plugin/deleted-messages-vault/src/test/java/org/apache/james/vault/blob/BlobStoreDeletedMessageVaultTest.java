@@ -29,6 +29,7 @@ import static org.apache.james.vault.DeletedMessageFixture.USERNAME;
 import static org.apache.james.vault.blob.BlobStoreDeletedMessageVault.APPEND_METRIC_NAME;
 import static org.apache.james.vault.blob.BlobStoreDeletedMessageVault.DELETE_EXPIRED_MESSAGES_METRIC_NAME;
 import static org.apache.james.vault.blob.BlobStoreDeletedMessageVault.DELETE_METRIC_NAME;
+import static org.apache.james.vault.blob.BlobStoreDeletedMessageVault.LOAD_MIME_MESSAGES_METRIC_NAME;
 import static org.apache.james.vault.blob.BlobStoreDeletedMessageVault.LOAD_MIME_MESSAGE_METRIC_NAME;
 import static org.apache.james.vault.blob.BlobStoreDeletedMessageVault.SEARCH_METRIC_NAME;
 import static org.apache.james.vault.search.Query.ALL;
@@ -52,6 +53,8 @@ import org.apache.james.vault.memory.metadata.MemoryDeletedMessageMetadataVault;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import com.google.common.collect.ImmutableList;
+
 import reactor.core.publisher.Mono;
 
 
@@ -142,6 +145,17 @@ class BlobStoreDeletedMessageVaultTest implements DeletedMessageVaultContract, D
             .hasSize(2);
     }
 
+    @Test
+    void loadMimeMessagesShouldPublishLoadMimeMessagesTimerMetrics() {
+        Mono.from(messageVault.loadMimeMessages(USERNAME, ImmutableList.of(MESSAGE_ID)))
+            .block();
+        Mono.from(messageVault.loadMimeMessages(USERNAME, ImmutableList.of(MESSAGE_ID)))
+            .block();
+
+        assertThat(metricFactory.executionTimesFor(LOAD_MIME_MESSAGES_METRIC_NAME))
+            .hasSize(2);
+    }
+
     @Test
     void deleteShouldPublishDeleteTimerMetrics() {
         Mono.from(messageVault.delete(USERNAME, MESSAGE_ID))
@@ -153,4 +153,9 @@ public class LazyMessageSearchIndex extends ListeningMessageSearchIndex {
     public Mono<Flags> retrieveIndexedFlags(Mailbox mailbox, MessageUid uid) {
         return index.retrieveIndexedFlags(mailbox, uid);
     }
+
+    @Override
+    public boolean isOverloaded(Throwable error) {
+        return index.isOverloaded(error);
+    }
 }
@@ -189,4 +189,14 @@ public abstract class ListeningMessageSearchIndex implements MessageSearchIndex,
      * Retrieves flags of an indexed message
      */
     public abstract Mono<Flags> retrieveIndexedFlags(Mailbox mailbox, MessageUid uid);
+
+    /**
+     * Whether the given indexing failure means that the index rejected the request because it is overloaded, in which
+     * case the request can be retried once the index had a chance to recover.
+     *
+     * @param error failure of an indexing request
+     */
+    public boolean isOverloaded(Throwable error) {
+        return false;
+    }
 }
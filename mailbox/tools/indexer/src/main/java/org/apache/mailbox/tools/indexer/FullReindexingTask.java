@@ -69,6 +69,7 @@ public class FullReindexingTask implements Task {
             reIndexingContext.failedReprocessingMailCount(),
             reIndexingContext.failures(),
             Clock.systemUTC().instant(),
-            runningOptions));
+            runningOptions,
+            reIndexingContext.completedPartitions()));
     }
 }
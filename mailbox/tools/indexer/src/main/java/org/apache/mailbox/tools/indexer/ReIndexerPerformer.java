@@ -21,7 +21,10 @@ package org.apache.mailbox.tools.indexer;
 
 import static org.apache.james.util.ReactorUtils.DEFAULT_CONCURRENCY;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.RejectedExecutionException;
 
 import jakarta.inject.Inject;
 import jakarta.mail.Flags;
@@ -30,6 +33,7 @@ import org.apache.james.core.Username;
 import org.apache.james.mailbox.MailboxManager;
 import org.apache.james.mailbox.MailboxSession;
 import org.apache.james.mailbox.MessageUid;
+import org.apache.james.mailbox.exception.MailboxNotFoundException;
 import org.apache.james.mailbox.indexer.ReIndexer.RunningOptions;
 import org.apache.james.mailbox.indexer.ReIndexingExecutionFailures;
 import org.apache.james.mailbox.indexer.ReIndexingExecutionFailures.ReIndexingFailure;
@@ -49,11 +53,15 @@ import org.apache.james.util.ReactorUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
+import com.google.common.hash.Hashing;
 
 import io.vavr.control.Either;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+import reactor.util.retry.RetryBackoffSpec;
 
 public class ReIndexerPerformer {
     public static final int MAILBOX_CONCURRENCY = 1;
@@ -129,6 +137,8 @@ public class ReIndexerPerformer {
     }
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ReIndexerPerformer.class);
+    private static final int INDEXING_MAX_RETRIES = 4;
+    private static final Duration INDEXING_MIN_BACKOFF = Duration.ofMillis(500);
 
     private static final int SINGLE_MESSAGE = 1;
     private static final String RE_INDEXING = "re-indexing";
@@ -137,6 +147,7 @@ public class ReIndexerPerformer {
     private final MailboxManager mailboxManager;
     private final ListeningMessageSearchIndex messageSearchIndex;
     private final MailboxSessionMapperFactory mailboxSessionMapperFactory;
+    private final RetryBackoffSpec indexingBackoff;
 
     @Inject
     public ReIndexerPerformer(MailboxManager mailboxManager,
@@ -145,18 +156,72 @@ public class ReIndexerPerformer {
         this.mailboxManager = mailboxManager;
         this.messageSearchIndex = messageSearchIndex;
         this.mailboxSessionMapperFactory = mailboxSessionMapperFactory;
+        // Retrying rejected indexing requests delays the whole throttling window, hence slows down the reindexing while
+        // the search backend is overloaded. Other errors are not transient and are recorded as failures straight away.
+        this.indexingBackoff = Retry.backoff(INDEXING_MAX_RETRIES, INDEXING_MIN_BACKOFF)
+            .filter(this::isIndexingRejection)
+            .doBeforeRetry(retry -> LOGGER.warn("Indexing rejected, backing off (attempt {}): {}", retry.totalRetries() + 1, retry.failure().getMessage()));
     }
 
+    /**
+     * Mailboxes are listed once and dispatched into their partitions. Partitions are then processed one after the
+     * other and recorded as completed in the context once fully reindexed, allowing a later run to only process the
+     * remaining ones.
+     */
     Mono<Result> reIndexAllMessages(ReIndexingContext reIndexingContext, RunningOptions runningOptions) {
         MailboxSession mailboxSession = mailboxManager.createSystemSession(RE_INDEXER_PERFORMER_USER);
-        LOGGER.info("Starting a full reindex");
+        LOGGER.info("Starting a full reindex of partitions {} out of {}", runningOptions.getPartitions(), runningOptions.getPartitionCount());
+
+        return mailboxSessionMapperFactory.getMailboxMapper(mailboxSession).list()
+            .map(Mailbox::getMailboxId)
+            .filter(mailboxId -> runningOptions.getPartitions().contains(partition(mailboxId, runningOptions.getPartitionCount())))
+            .collectMultimap(mailboxId -> partition(mailboxId, runningOptions.getPartitionCount()))
+            .flatMapMany(mailboxIdsByPartition -> Flux.fromIterable(runningOptions.getPartitions())
+                .concatMap(partition -> reIndexPartition(partition,
+                    mailboxIdsByPartition.getOrDefault(partition, ImmutableList.of()),
+                    mailboxSession, reIndexingContext, runningOptions)))
+            .reduce(Task::combine)
+            .switchIfEmpty(Mono.just(Result.COMPLETED))
+            .doFinally(any -> LOGGER.info("Full reindex finished"))
+            .doFinally(any -> mailboxManager.endProcessingRequest(mailboxSession));
+    }
 
-        Flux<Either<Failure, ReIndexingEntry>> entriesToIndex = mailboxSessionMapperFactory.getMailboxMapper(mailboxSession).list()
+    private Mono<Result> reIndexPartition(int partition, Collection<MailboxId> mailboxIds, MailboxSession mailboxSession,
+                                          ReIndexingContext reIndexingContext, RunningOptions runningOptions) {
+        MailboxMapper mailboxMapper = mailboxSessionMapperFactory.getMailboxMapper(mailboxSession);
+        Flux<Either<Failure, ReIndexingEntry>> entriesToIndex = Flux.fromIterable(mailboxIds)
+            .concatMap(mailboxId -> mailboxMapper.findMailboxById(mailboxId)
+                .onErrorResume(MailboxNotFoundException.class, e -> Mono.empty()))
             .flatMap(mailbox -> reIndexingEntriesForMailbox(mailbox, mailboxSession, runningOptions), MAILBOX_CONCURRENCY);
 
         return reIndexMessages(entriesToIndex, runningOptions, reIndexingContext)
-            .doFinally(any -> LOGGER.info("Full reindex finished"))
-            .doFinally(any -> mailboxManager.endProcessingRequest(mailboxSession));
+            .doOnSuccess(result -> {
+                if (result == Result.COMPLETED) {
+                    reIndexingContext.recordCompletedPartition(partition);
+                }
+                if (runningOptions.isPartitioned()) {
+                    LOGGER.info("Partition {} out of {} reindexed: {}", partition, runningOptions.getPartitionCount(), result);
+                }
+            });
+    }
+
+    @VisibleForTesting
+    static int partition(MailboxId mailboxId, int partitionCount) {
+        return Math.floorMod(Hashing.murmur3_32_fixed().hashString(mailboxId.serialize(), StandardCharsets.UTF_8).asInt(), partitionCount);
+    }
+
+    /**
+     * Whether the indexing request was rejected because of an overload, in which case backing off gives a chance to
+     * recover: either a local executor rejected it, or the search backend reported being overloaded.
+     */
+    @VisibleForTesting
+    boolean isIndexingRejection(Throwable throwable) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof RejectedExecutionException) {
+                return true;
+            }
+        }
+        return messageSearchIndex.isOverloaded(throwable);
     }
 
     Mono<Result> reIndexSingleMailbox(MailboxId mailboxId, ReIndexingContext reIndexingContext, RunningOptions runningOptions) {
@@ -324,7 +389,8 @@ public class ReIndexerPerformer {
 
     private Mono<Either<Failure, Result>> index(ReIndexingEntry entry) {
         return fullyReadMessage(entry)
-            .flatMap(message -> messageSearchIndex.add(entry.getMailboxSession(), entry.getMailbox(), message))
+            .flatMap(message -> Mono.defer(() -> messageSearchIndex.add(entry.getMailboxSession(), entry.getMailbox(), message))
+                .retryWhen(indexingBackoff))
             .thenReturn(Either.<Failure, Result>right(Result.COMPLETED))
             .onErrorResume(e -> {
                 LOGGER.warn("ReIndexing failed for {} {}", entry.getMailbox().generateAssociatedPath(), entry.getUid(), e);
@@ -20,6 +20,7 @@
 package org.apache.mailbox.tools.indexer;
 
 import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.james.mailbox.MessageUid;
@@ -27,18 +28,21 @@ import org.apache.james.mailbox.indexer.ReIndexingExecutionFailures;
 import org.apache.james.mailbox.model.MailboxId;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSortedSet;
 
 class ReIndexingContext {
     private final AtomicInteger successfullyReprocessedMails;
     private final AtomicInteger failedReprocessingMails;
     private final ConcurrentLinkedDeque<ReIndexingExecutionFailures.ReIndexingFailure> failures;
     private final ConcurrentLinkedDeque<MailboxId> mailboxFailures;
+    private final ConcurrentSkipListSet<Integer> completedPartitions;
 
     ReIndexingContext() {
         failedReprocessingMails = new AtomicInteger(0);
         successfullyReprocessedMails = new AtomicInteger(0);
         failures = new ConcurrentLinkedDeque<>();
         mailboxFailures = new ConcurrentLinkedDeque<>();
+        completedPartitions = new ConcurrentSkipListSet<>();
     }
 
     void recordFailureDetailsForMessage(MailboxId mailboxId, MessageUid uid) {
@@ -54,6 +58,10 @@ class ReIndexingContext {
         mailboxFailures.add(mailboxId);
     }
 
+    void recordCompletedPartition(int partition) {
+        completedPartitions.add(partition);
+    }
+
     int successfullyReprocessedMailCount() {
         return successfullyReprocessedMails.get();
     }
@@ -65,4 +73,8 @@ class ReIndexingContext {
     ReIndexingExecutionFailures failures() {
         return new ReIndexingExecutionFailures(ImmutableList.copyOf(failures), ImmutableList.copyOf(mailboxFailures));
     }
+
+    ImmutableSortedSet<Integer> completedPartitions() {
+        return ImmutableSortedSet.copyOf(completedPartitions);
+    }
 }
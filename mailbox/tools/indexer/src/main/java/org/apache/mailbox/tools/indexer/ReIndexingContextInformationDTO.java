@@ -34,11 +34,14 @@ import org.apache.james.mailbox.model.MailboxId;
 import org.apache.james.server.task.json.dto.AdditionalInformationDTO;
 import org.apache.james.server.task.json.dto.AdditionalInformationDTOModule;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableSortedSet;
+import com.google.common.collect.Sets;
 
 public class ReIndexingContextInformationDTO implements AdditionalInformationDTO {
 
@@ -115,6 +118,7 @@ public class ReIndexingContextInformationDTO implements AdditionalInformationDTO
     public static class ReIndexingContextInformationForFullReindexingTask extends ReIndexingContextInformation {
 
         public static class DTO extends ReIndexingContextInformationDTO {
+            private final Optional<List<Integer>> completedPartitions;
 
             DTO(@JsonProperty("type") String type,
                 @JsonProperty("successfullyReprocessedMailCount") int successfullyReprocessedMailCount,
@@ -123,8 +127,15 @@ public class ReIndexingContextInformationDTO implements AdditionalInformationDTO
                 @JsonProperty("messageFailures") Optional<List<ReindexingFailureDTO>> messageFailures,
                 @JsonProperty("mailboxFailures") Optional<List<String>> mailboxFailures,
                 @JsonProperty("timestamp") Instant timestamp,
-                @JsonProperty("runningOptions") Optional<RunningOptionsDTO> runningOptions) {
+                @JsonProperty("runningOptions") Optional<RunningOptionsDTO> runningOptions,
+                @JsonProperty("completedPartitions") Optional<List<Integer>> completedPartitions) {
                 super(type, successfullyReprocessedMailCount, failedReprocessedMailCount, failures, messageFailures, mailboxFailures, timestamp, runningOptions);
+                this.completedPartitions = completedPartitions;
+            }
+
+            @JsonInclude(JsonInclude.Include.NON_ABSENT)
+            public Optional<List<Integer>> getCompletedPartitions() {
+                return completedPartitions;
             }
         }
 
@@ -138,7 +149,10 @@ public class ReIndexingContextInformationDTO implements AdditionalInformationDTO
                     dto.getTimestamp(),
                     dto.getRunningOptions()
                         .map(RunningOptionsDTO::toDomainObject)
-                        .orElse(RunningOptions.DEFAULT)))
+                        .orElse(RunningOptions.DEFAULT),
+                    dto.completedPartitions
+                        .map(ImmutableSortedSet::copyOf)
+                        .orElse(ImmutableSortedSet.of())))
                 .toDTOConverter((details, type) -> new DTO(
                     type,
                     details.getSuccessfullyReprocessedMailCount(),
@@ -147,18 +161,44 @@ public class ReIndexingContextInformationDTO implements AdditionalInformationDTO
                     Optional.of(serializeFailures(details.failures())),
                     Optional.of(details.failures().mailboxFailures().stream().map(MailboxId::serialize).collect(ImmutableList.toImmutableList())),
                     details.timestamp(),
-                    Optional.of(RunningOptionsDTO.toDTO(details.getRunningOptions()))))
+                    Optional.of(RunningOptionsDTO.toDTO(details.getRunningOptions())),
+                    Optional.<List<Integer>>of(details.getCompletedPartitions().asList())
+                        .filter(any -> details.getRunningOptions().isPartitioned())))
                 .typeName(FullReindexingTask.FULL_RE_INDEXING.asString())
                 .withFactory(AdditionalInformationDTOModule::new);
         }
 
+        private final ImmutableSortedSet<Integer> completedPartitions;
+
         @VisibleForTesting
         public ReIndexingContextInformationForFullReindexingTask(int successfullyReprocessedMailCount,
                                                                  int failedReprocessedMailCount,
                                                                  ReIndexingExecutionFailures failures,
                                                                  Instant timestamp,
                                                                  RunningOptions runningOptions) {
+            this(successfullyReprocessedMailCount, failedReprocessedMailCount, failures, timestamp, runningOptions, ImmutableSortedSet.of());
+        }
+
+        public ReIndexingContextInformationForFullReindexingTask(int successfullyReprocessedMailCount,
+                                                                 int failedReprocessedMailCount,
+                                                                 ReIndexingExecutionFailures failures,
+                                                                 Instant timestamp,
+                                                                 RunningOptions runningOptions,
+                                                                 ImmutableSortedSet<Integer> completedPartitions) {
             super(successfullyReprocessedMailCount, failedReprocessedMailCount, failures, timestamp, runningOptions);
+            this.completedPartitions = completedPartitions;
+        }
+
+        /**
+         * Checkpoint of the task: partitions that were entirely processed. A new task can resume the work by only
+         * handling the remaining partitions.
+         */
+        public ImmutableSortedSet<Integer> getCompletedPartitions() {
+            return completedPartitions;
+        }
+
+        public ImmutableSortedSet<Integer> getRemainingPartitions() {
+            return ImmutableSortedSet.copyOf(Sets.difference(getRunningOptions().getPartitions(), completedPartitions));
         }
     }
 
@@ -19,28 +19,46 @@
 
 package org.apache.mailbox.tools.indexer;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.apache.james.mailbox.indexer.ReIndexer.RunningOptions;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.collect.ImmutableSet;
 
 public class RunningOptionsDTO {
     public static RunningOptionsDTO toDTO(RunningOptions runningOptions) {
+        if (runningOptions.isPartitioned()) {
+            return new RunningOptionsDTO(
+                Optional.of(runningOptions.getMessagesPerSecond()),
+                Optional.of(runningOptions.getMode()),
+                Optional.of(runningOptions.getPartitionCount()),
+                Optional.<List<Integer>>of(runningOptions.getPartitions().asList()));
+        }
         return new RunningOptionsDTO(
             Optional.of(runningOptions.getMessagesPerSecond()),
-            Optional.of(runningOptions.getMode()));
+            Optional.of(runningOptions.getMode()),
+            Optional.empty(),
+            Optional.empty());
     }
 
     private final Optional<Integer> messagesPerSecond;
     private final Optional<RunningOptions.Mode> mode;
+    private final Optional<Integer> partitionCount;
+    private final Optional<List<Integer>> partitions;
 
     @JsonCreator
     public RunningOptionsDTO(@JsonProperty("messagesPerSecond") Optional<Integer> messagesPerSecond,
-                             @JsonProperty("mode") Optional<RunningOptions.Mode> mode) {
+                             @JsonProperty("mode") Optional<RunningOptions.Mode> mode,
+                             @JsonProperty("partitionCount") Optional<Integer> partitionCount,
+                             @JsonProperty("partitions") Optional<List<Integer>> partitions) {
         this.messagesPerSecond = messagesPerSecond;
         this.mode = mode;
+        this.partitionCount = partitionCount;
+        this.partitions = partitions;
     }
 
     public Optional<Integer> getMessagesPerSecond() {
@@ -51,11 +69,22 @@ public class RunningOptionsDTO {
         return mode;
     }
 
+    @JsonInclude(JsonInclude.Include.NON_ABSENT)
+    public Optional<Integer> getPartitionCount() {
+        return partitionCount;
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_ABSENT)
+    public Optional<List<Integer>> getPartitions() {
+        return partitions;
+    }
+
     public RunningOptions toDomainObject() {
         return RunningOptions.builder()
             .messagesPerSeconds(messagesPerSecond)
             .mode(mode)
+            .partitionCount(partitionCount)
+            .partitions(partitions.map(ImmutableSet::copyOf))
             .build();
     }
 }
-
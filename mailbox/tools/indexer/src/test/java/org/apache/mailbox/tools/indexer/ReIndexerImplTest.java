@@ -22,11 +22,15 @@ package org.apache.mailbox.tools.indexer;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import java.util.stream.IntStream;
+
 import org.apache.james.core.Username;
 import org.apache.james.mailbox.MailboxSession;
 import org.apache.james.mailbox.MessageManager;
@@ -44,10 +48,16 @@ import org.apache.james.mailbox.model.MailboxPath;
 import org.apache.james.mailbox.store.MailboxSessionMapperFactory;
 import org.apache.james.mailbox.store.mail.model.MailboxMessage;
 import org.apache.james.mailbox.store.search.ListeningMessageSearchIndex;
+import org.apache.james.task.Task;
+import org.apache.mailbox.tools.indexer.ReIndexingContextInformationDTO.ReIndexingContextInformationForFullReindexingTask;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 
+import com.github.fge.lambdas.Throwing;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
 import reactor.core.publisher.Mono;
 
 public class ReIndexerImplTest {
@@ -292,4 +302,110 @@ public class ReIndexerImplTest {
         assertThatThrownBy(() -> reIndexer.reIndex(mailboxId, RunningOptions.DEFAULT))
             .isInstanceOf(MailboxNotFoundException.class);
     }
+
+    @Test
+    void partitionedReIndexAllShouldOnlyIndexMailboxesOfTheRequestedPartitions() throws Exception {
+        MailboxSession systemSession = mailboxManager.createSystemSession(USERNAME);
+        ImmutableList<MailboxId> mailboxIds = createMailboxesWithOneMessage(systemSession, 10);
+
+        reIndexer.reIndex(RunningOptions.builder()
+                .partitionCount(2)
+                .partitions(ImmutableSet.of(0))
+                .build())
+            .run();
+
+        ArgumentCaptor<Mailbox> mailboxCaptor = ArgumentCaptor.forClass(Mailbox.class);
+        verify(messageSearchIndex, atLeastOnce()).add(any(MailboxSession.class), mailboxCaptor.capture(), any());
+        assertThat(mailboxCaptor.getAllValues())
+            .extracting(Mailbox::getMailboxId)
+            .containsExactlyInAnyOrderElementsOf(mailboxIds.stream()
+                .filter(mailboxId -> ReIndexerPerformer.partition(mailboxId, 2) == 0)
+                .collect(ImmutableList.toImmutableList()));
+    }
+
+    @Test
+    void partitionedReIndexAllShouldRecordCompletedPartitions() throws Exception {
+        MailboxSession systemSession = mailboxManager.createSystemSession(USERNAME);
+        createMailboxesWithOneMessage(systemSession, 10);
+
+        Task task = reIndexer.reIndex(RunningOptions.builder()
+            .partitionCount(4)
+            .partitions(ImmutableSet.of(1, 3))
+            .build());
+        task.run();
+
+        assertThat(task.details())
+            .hasValueSatisfying(details -> {
+                ReIndexingContextInformationForFullReindexingTask information = (ReIndexingContextInformationForFullReindexingTask) details;
+                assertThat(information.getCompletedPartitions()).containsExactly(1, 3);
+                assertThat(information.getRemainingPartitions()).isEmpty();
+                assertThat(information.getSuccessfullyReprocessedMailCount()).isLessThanOrEqualTo(10);
+            });
+    }
+
+    @Test
+    void reIndexAllShouldBackOffAndRetryWhenIndexingIsRejected() throws Exception {
+        MailboxSession systemSession = mailboxManager.createSystemSession(USERNAME);
+        createMailboxesWithOneMessage(systemSession, 1);
+        when(messageSearchIndex.add(any(), any(), any()))
+            .thenReturn(Mono.error(new RuntimeException("Too many requests")))
+            .thenReturn(Mono.empty());
+
+        Task.Result result = reIndexer.reIndex(RunningOptions.DEFAULT).run();
+
+        assertThat(result).isEqualTo(Task.Result.COMPLETED);
+        verify(messageSearchIndex, times(2)).add(any(), any(), any());
+    }
+
+    @Test
+    void reIndexAllShouldNotRetryWhenIndexingFailsForOtherReasons() throws Exception {
+        MailboxSession systemSession = mailboxManager.createSystemSession(USERNAME);
+        createMailboxesWithOneMessage(systemSession, 1);
+        when(messageSearchIndex.add(any(), any(), any()))
+            .thenReturn(Mono.error(new IllegalStateException("Mapping conflict")));
+
+        Task.Result result = reIndexer.reIndex(RunningOptions.DEFAULT).run();
+
+        assertThat(result).isEqualTo(Task.Result.PARTIAL);
+        verify(messageSearchIndex, times(1)).add(any(), any(), any());
+    }
+
+    @Test
+    void partitionedReIndexAllShouldNotRecordPartiallyReindexedPartitions() throws Exception {
+        MailboxSession systemSession = mailboxManager.createSystemSession(USERNAME);
+        createMailboxesWithOneMessage(systemSession, 10);
+        when(messageSearchIndex.add(any(), any(), any()))
+            .thenAnswer(invocation -> {
+                Mailbox mailbox = invocation.getArgument(1);
+                if (ReIndexerPerformer.partition(mailbox.getMailboxId(), 2) == 0) {
+                    return Mono.error(new IllegalStateException("Mapping conflict"));
+                }
+                return Mono.empty();
+            });
+
+        Task task = reIndexer.reIndex(RunningOptions.builder()
+            .partitionCount(2)
+            .build());
+        Task.Result result = task.run();
+
+        assertThat(result).isEqualTo(Task.Result.PARTIAL);
+        assertThat(task.details())
+            .hasValueSatisfying(details -> {
+                ReIndexingContextInformationForFullReindexingTask information = (ReIndexingContextInformationForFullReindexingTask) details;
+                assertThat(information.getCompletedPartitions()).containsExactly(1);
+                assertThat(information.getRemainingPartitions()).containsExactly(0);
+            });
+    }
+
+    private ImmutableList<MailboxId> createMailboxesWithOneMessage(MailboxSession session, int count) {
+        return IntStream.range(0, count)
+            .mapToObj(Throwing.intFunction(i -> {
+                MailboxPath path = MailboxPath.forUser(USERNAME, "mailbox" + i);
+                MailboxId mailboxId = mailboxManager.createMailbox(path, session).get();
+                mailboxManager.getMailbox(mailboxId, session)
+                    .appendMessage(MessageManager.AppendCommand.builder().build("header: value\r\n\r\nbody"), session);
+                return mailboxId;
+            }).sneakyThrow())
+            .collect(ImmutableList.toImmutableList());
+    }
 }
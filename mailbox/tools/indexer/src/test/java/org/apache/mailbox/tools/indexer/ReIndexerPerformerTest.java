@@ -0,0 +1,73 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.mailbox.tools.indexer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.RejectedExecutionException;
+
+import org.apache.james.mailbox.MailboxManager;
+import org.apache.james.mailbox.store.MailboxSessionMapperFactory;
+import org.apache.james.mailbox.store.search.ListeningMessageSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ReIndexerPerformerTest {
+    private ListeningMessageSearchIndex messageSearchIndex;
+    private ReIndexerPerformer testee;
+
+    @BeforeEach
+    void setUp() {
+        messageSearchIndex = mock(ListeningMessageSearchIndex.class);
+        testee = new ReIndexerPerformer(mock(MailboxManager.class), messageSearchIndex, mock(MailboxSessionMapperFactory.class));
+    }
+
+    @Test
+    void rejectedExecutionShouldBeAnIndexingRejection() {
+        assertThat(testee.isIndexingRejection(new RejectedExecutionException()))
+            .isTrue();
+    }
+
+    @Test
+    void wrappedRejectedExecutionShouldBeAnIndexingRejection() {
+        assertThat(testee.isIndexingRejection(new RuntimeException("Indexing failed", new RejectedExecutionException())))
+            .isTrue();
+    }
+
+    @Test
+    void errorsReportedAsOverloadBySearchIndexShouldBeIndexingRejections() {
+        RuntimeException overload = new RuntimeException("overloaded");
+        when(messageSearchIndex.isOverloaded(overload)).thenReturn(true);
+
+        assertThat(testee.isIndexingRejection(overload))
+            .isTrue();
+    }
+
+    @Test
+    void otherErrorsShouldNotBeIndexingRejections() {
+        when(messageSearchIndex.isOverloaded(any())).thenReturn(false);
+
+        assertThat(testee.isIndexingRejection(new IllegalStateException("Failed indexing uid 429: too many requests")))
+            .isFalse();
+    }
+}
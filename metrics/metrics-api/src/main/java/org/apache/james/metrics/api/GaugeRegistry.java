@@ -26,5 +26,7 @@ public interface GaugeRegistry {
 
     <T> GaugeRegistry register(String name, Gauge<T> gauge);
 
+    GaugeRegistry unregister(String name);
+
     <T> SettableGauge<T> settableGauge(String name);
 }
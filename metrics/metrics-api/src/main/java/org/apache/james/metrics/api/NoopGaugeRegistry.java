@@ -25,6 +25,11 @@ public class NoopGaugeRegistry implements GaugeRegistry {
         return this;
     }
 
+    @Override
+    public GaugeRegistry unregister(String name) {
+        return this;
+    }
+
     @Override
     public <T> SettableGauge<T> settableGauge(String name) {
         return t -> { };
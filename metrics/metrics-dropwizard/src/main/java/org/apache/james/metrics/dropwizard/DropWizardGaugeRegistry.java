@@ -42,6 +42,12 @@ public class DropWizardGaugeRegistry implements GaugeRegistry {
         return this;
     }
 
+    @Override
+    public GaugeRegistry unregister(String name) {
+        metricRegistry.remove(name);
+        return this;
+    }
+
     @PreDestroy
     public void shutDown() {
         metricRegistry.getGauges().keySet().forEach(metricRegistry::remove);
@@ -0,0 +1,99 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.imap.benchmark;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.james.imap.api.ImapMessage;
+import org.apache.james.imap.decode.ImapDecoder;
+import org.apache.james.imap.decode.ImapRequestStreamLineReader;
+import org.apache.james.imap.encode.FakeImapSession;
+import org.apache.james.imap.main.DefaultImapDecoderFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the decoding of typical selected state command lines, taken from the MPT IMAP scripts,
+ * into {@link ImapMessage}s.
+ *
+ * Run with <code>-prof gc</code> in order to get the bytes allocated per decoded command
+ * (<code>gc.alloc.rate.norm</code>).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ImapDecoderBenchmark {
+    public enum Command {
+        FETCH_FLAGS("a1 FETCH 1:* (FLAGS UID)"),
+        FETCH_HEADERS("a2 FETCH 1:* (FLAGS UID BODY.PEEK[HEADER.FIELDS (DATE FROM TO ORIGINATOR X-LIST)])"),
+        FETCH_BODY_PARTIAL("a3 FETCH 1 (BODY[4.1.MIME]<17.1024>)"),
+        UID_FETCH("a4 UID FETCH 1:* (UID RFC822.SIZE FLAGS BODY.PEEK[HEADER.FIELDS (From To Cc Bcc Subject Date Message-ID Priority X-Priority References Newsgroups In-Reply-To Content-Type Reply-To)])"),
+        SEARCH("a5 SEARCH FROM o TO o ANSWERED FLAGGED ALL BODY o SENTBEFORE 1-Jan-2009"),
+        SEARCH_NESTED("a6 SEARCH OR ( OR ( OR ( FROM o TO o ANSWERED FLAGGED ALL BODY o SENTBEFORE 1-Jan-2009 ) ( HEADER Delivered-To \"\" DRAFT ) ) ( FROM o TO o ANSWERED FLAGGED ALL BODY o SENTBEFORE 1-Jan-2009 ) ) ( ANSWERED FLAGGED DRAFT ) ALL UNANSWERED"),
+        UID_SEARCH("a7 UID SEARCH HEADER Delivered-To apache.org"),
+        STORE("a8 STORE 1:3 +FLAGS (\\Deleted)"),
+        UID_STORE("a9 UID STORE 10:14,17,25:* +FLAGS.SILENT (\\Seen \\Answered)");
+
+        private final byte[] line;
+
+        Command(String line) {
+            this.line = (line + "\r\n").getBytes(US_ASCII);
+        }
+    }
+
+    @Param
+    public Command command;
+
+    private ImapDecoder decoder;
+    private FakeImapSession session;
+
+    @Setup
+    public void setUp() {
+        decoder = DefaultImapDecoderFactory.createDecoder();
+        session = new FakeImapSession();
+        session.authenticated();
+        session.selected(null).block();
+    }
+
+    @Benchmark
+    public ImapMessage decode() {
+        ImapRequestStreamLineReader reader = new ImapRequestStreamLineReader(
+            new ByteArrayInputStream(command.line),
+            new ByteArrayOutputStream());
+
+        return decoder.decode(reader, session);
+    }
+}
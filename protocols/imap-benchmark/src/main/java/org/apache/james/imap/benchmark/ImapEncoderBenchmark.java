@@ -0,0 +1,152 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.imap.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.mail.Flags;
+
+import org.apache.james.imap.api.ImapConstants;
+import org.apache.james.imap.api.ImapMessage;
+import org.apache.james.imap.api.Tag;
+import org.apache.james.imap.api.display.HumanReadableText;
+import org.apache.james.imap.api.message.response.StatusResponse;
+import org.apache.james.imap.decode.main.OutputStreamImapResponseWriter;
+import org.apache.james.imap.encode.FetchResponseEncoder;
+import org.apache.james.imap.encode.ImapEncoder;
+import org.apache.james.imap.encode.ImapResponseComposer;
+import org.apache.james.imap.encode.SearchResponseEncoder;
+import org.apache.james.imap.encode.base.ImapResponseComposerImpl;
+import org.apache.james.imap.encode.main.DefaultImapEncoderFactory;
+import org.apache.james.imap.encode.main.DefaultLocalizer;
+import org.apache.james.imap.message.response.FetchResponse;
+import org.apache.james.imap.message.response.SearchResponse;
+import org.apache.james.imap.message.response.UnpooledStatusResponseFactory;
+import org.apache.james.mailbox.MessageSequenceNumber;
+import org.apache.james.mailbox.MessageUid;
+import org.apache.james.mailbox.ModSeq;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.ImmutableList;
+
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+
+/**
+ * Measures the encoding of the responses of a single FETCH, SEARCH or STORE command spanning
+ * <code>messageCount</code> messages through {@link FetchResponseEncoder}, {@link SearchResponseEncoder}
+ * and {@link ImapResponseComposerImpl}.
+ *
+ * Run with <code>-prof gc</code> in order to get the bytes allocated per encoded command
+ * (<code>gc.alloc.rate.norm</code>).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ImapEncoderBenchmark {
+    private static final Tag TAG = new Tag("a1");
+    private static final Date INTERNAL_DATE = new Date(1_700_000_000_000L);
+
+    @Param({"1", "100", "1000"})
+    public int messageCount;
+
+    private ImapEncoder encoder;
+    private ByteArrayOutputStream output;
+    private ImapResponseComposer composer;
+    private List<FetchResponse> fetchResponses;
+    private List<FetchResponse> storeResponses;
+    private SearchResponse searchResponse;
+    private StatusResponse fetchCompleted;
+    private StatusResponse searchCompleted;
+    private StatusResponse storeCompleted;
+
+    @Setup
+    public void setUp() {
+        encoder = DefaultImapEncoderFactory.createDefaultEncoder(new DefaultLocalizer(), false);
+        output = new ByteArrayOutputStream();
+        composer = new ImapResponseComposerImpl(new OutputStreamImapResponseWriter(output));
+
+        Flags flags = new Flags(Flags.Flag.SEEN);
+        flags.add(Flags.Flag.ANSWERED);
+        flags.add("$Forwarded");
+        ImmutableList.Builder<FetchResponse> fetchBuilder = ImmutableList.builder();
+        ImmutableList.Builder<FetchResponse> storeBuilder = ImmutableList.builder();
+        LongArrayList uids = new LongArrayList(messageCount);
+        for (int i = 1; i <= messageCount; i++) {
+            MessageSequenceNumber msn = MessageSequenceNumber.of(i);
+            MessageUid uid = MessageUid.of(2L * i);
+            fetchBuilder.add(new FetchResponse(msn, flags, uid, Optional.empty(), ModSeq.of(1000L + i), INTERNAL_DATE, 4096L + i,
+                null, null, null, null, null, null));
+            storeBuilder.add(new FetchResponse(msn, flags, uid, null, null, null, null,
+                null, null, null, null, null, null));
+            uids.add(uid.asLong());
+        }
+        fetchResponses = fetchBuilder.build();
+        storeResponses = storeBuilder.build();
+        searchResponse = new SearchResponse(uids, null);
+
+        UnpooledStatusResponseFactory statusResponseFactory = new UnpooledStatusResponseFactory();
+        fetchCompleted = statusResponseFactory.taggedOk(TAG, ImapConstants.FETCH_COMMAND, HumanReadableText.COMPLETED);
+        searchCompleted = statusResponseFactory.taggedOk(TAG, ImapConstants.SEARCH_COMMAND, HumanReadableText.COMPLETED);
+        storeCompleted = statusResponseFactory.taggedOk(TAG, ImapConstants.STORE_COMMAND, HumanReadableText.COMPLETED);
+    }
+
+    @Benchmark
+    public int fetch() throws IOException {
+        return encodeAll(fetchResponses, fetchCompleted);
+    }
+
+    @Benchmark
+    public int store() throws IOException {
+        return encodeAll(storeResponses, storeCompleted);
+    }
+
+    @Benchmark
+    public int search() throws IOException {
+        return encodeAll(ImmutableList.of(searchResponse), searchCompleted);
+    }
+
+    private int encodeAll(List<? extends ImapMessage> responses, StatusResponse completion) throws IOException {
+        output.reset();
+        for (ImapMessage response : responses) {
+            encoder.encode(response, composer);
+        }
+        encoder.encode(completion, composer);
+        composer.flush();
+        return output.size();
+    }
+}
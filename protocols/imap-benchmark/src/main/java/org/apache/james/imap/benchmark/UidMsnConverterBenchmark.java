@@ -0,0 +1,108 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.imap.benchmark;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import org.apache.james.imap.processor.base.UidMsnConverter;
+import org.apache.james.mailbox.MessageUid;
+import org.apache.james.mailbox.NullableMessageSequenceNumber;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Measures {@link UidMsnConverter} operations on a large selected mailbox:
+ *
+ * <ul>
+ *     <li><code>select</code>: loading all the UIDs of the mailbox, as done upon SELECT</li>
+ *     <li><code>concurrent</code>: EXPUNGE notifications (<code>expunge</code>) racing with
+ *     FETCH sequence number lookups (<code>fetch</code>)</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Group)
+public class UidMsnConverterBenchmark {
+    @Param({"1000000"})
+    public int messageCount;
+
+    private List<MessageUid> mailboxUids;
+    private UidMsnConverter converter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mailboxUids = LongStream.rangeClosed(1, messageCount)
+            .mapToObj(MessageUid::of)
+            .collect(ImmutableList.toImmutableList());
+        converter = new UidMsnConverter();
+        converter.addAll(mailboxUids);
+    }
+
+    @Benchmark
+    @Group("select")
+    @GroupThreads(1)
+    public UidMsnConverter select() {
+        UidMsnConverter selected = new UidMsnConverter();
+        selected.addAll(mailboxUids);
+        return selected;
+    }
+
+    /**
+     * Expunges a random message then appends it back as a new message so that the mailbox size stays stable.
+     */
+    @Benchmark
+    @Group("concurrent")
+    @GroupThreads(1)
+    public NullableMessageSequenceNumber expunge() {
+        MessageUid uid = MessageUid.of(ThreadLocalRandom.current().nextLong(1, messageCount + 1));
+        NullableMessageSequenceNumber msn = converter.getAndRemove(uid);
+        converter.addUid(uid);
+        return msn;
+    }
+
+    @Benchmark
+    @Group("concurrent")
+    @GroupThreads(3)
+    public NullableMessageSequenceNumber fetch() {
+        MessageUid uid = MessageUid.of(ThreadLocalRandom.current().nextLong(1, messageCount + 1));
+        converter.getUid(ThreadLocalRandom.current().nextInt(1, messageCount + 1));
+        return converter.getMsn(uid);
+    }
+}
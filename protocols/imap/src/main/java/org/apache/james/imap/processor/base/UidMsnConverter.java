@@ -23,6 +23,8 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
 
 import org.apache.james.mailbox.MessageUid;
 import org.apache.james.mailbox.NullableMessageSequenceNumber;
@@ -37,21 +39,36 @@ import it.unimi.dsi.fastutil.longs.LongAVLTreeSet;
 import it.unimi.dsi.fastutil.longs.LongArrayList;
 import it.unimi.dsi.fastutil.longs.LongComparators;
 
+/**
+ * Maps message sequence numbers to UIDs for a selected mailbox.
+ *
+ * UIDs are kept sorted in primitive int arrays (switching to long arrays once a UID exceeds
+ * {@link Integer#MAX_VALUE}). Concurrency is handled by a {@link StampedLock}: lookups are performed as
+ * optimistic reads and only fall back to a read lock if a concurrent update happened meanwhile, so that
+ * FETCH responses are never blocked by other readers, and event driven updates do not wait for readers.
+ */
 public class UidMsnConverter {
     private static final int FIRST_MSN = 1;
     private static final long INTEGER_MAX_VALUE = Integer.MAX_VALUE;
 
     @VisibleForTesting final LongArrayList uids;
     @VisibleForTesting final IntArrayList uidsAsInts;
-    @VisibleForTesting boolean usesInts = true;
+    @VisibleForTesting volatile boolean usesInts = true;
+    private final StampedLock lock;
 
     public UidMsnConverter() {
         this.uids = new LongArrayList();
         this.uidsAsInts = new IntArrayList();
+        this.lock = new StampedLock();
     }
 
-    public synchronized void addAll(Collection<MessageUid> addedUids) {
-        addAllUnSynchronized(addedUids);
+    public void addAll(Collection<MessageUid> addedUids) {
+        long stamp = lock.writeLock();
+        try {
+            addAllUnSynchronized(addedUids);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
     }
 
     private void addAllUnSynchronized(Collection<MessageUid> addedUids) {
@@ -118,17 +135,17 @@ public class UidMsnConverter {
     }
 
     private void switchToLongs() {
-        usesInts = false;
         uids.ensureCapacity(uidsAsInts.size());
         for (int i = 0; i < uidsAsInts.size(); i++) {
             uids.add(uidsAsInts.getInt(i));
         }
+        usesInts = false;
         uidsAsInts.clear();
         uidsAsInts.trim();
     }
 
-    public synchronized NullableMessageSequenceNumber getMsn(MessageUid uid) {
-        return getMsnUnsynchronized(uid);
+    public NullableMessageSequenceNumber getMsn(MessageUid uid) {
+        return read(() -> getMsnUnsynchronized(uid));
     }
 
     private NullableMessageSequenceNumber getMsnUnsynchronized(MessageUid uid) {
@@ -136,13 +153,15 @@ public class UidMsnConverter {
             if (uid.asLong() > INTEGER_MAX_VALUE) {
                 return NullableMessageSequenceNumber.noMessage();
             }
-            int position = Arrays.binarySearch(uidsAsInts.elements(), 0, uidsAsInts.size(), (int) uid.asLong());
+            int[] elements = uidsAsInts.elements();
+            int position = Arrays.binarySearch(elements, 0, Math.min(uidsAsInts.size(), elements.length), (int) uid.asLong());
             if (position < 0) {
                 return NullableMessageSequenceNumber.noMessage();
             }
             return NullableMessageSequenceNumber.of(position + 1);
         } else {
-            int position =  Arrays.binarySearch(uids.elements(), 0, uids.size(), uid.asLong());
+            long[] elements = uids.elements();
+            int position = Arrays.binarySearch(elements, 0, Math.min(uids.size(), elements.length), uid.asLong());
             if (position < 0) {
                 return NullableMessageSequenceNumber.noMessage();
             }
@@ -150,43 +169,59 @@ public class UidMsnConverter {
         }
     }
 
-    public synchronized Optional<MessageUid> getUid(int msn) {
+    public Optional<MessageUid> getUid(int msn) {
+        return read(() -> getUidUnsynchronized(msn));
+    }
+
+    private Optional<MessageUid> getUidUnsynchronized(int msn) {
         if (usesInts) {
-            if (msn <= uidsAsInts.size() && msn > 0) {
-                return Optional.of(MessageUid.of(uidsAsInts.getInt(msn - 1)));
+            int[] elements = uidsAsInts.elements();
+            if (msn <= Math.min(uidsAsInts.size(), elements.length) && msn > 0) {
+                return Optional.of(MessageUid.of(elements[msn - 1]));
             }
         } else {
-            if (msn <= uids.size() && msn > 0) {
-                return Optional.of(MessageUid.of(uids.getLong(msn - 1)));
+            long[] elements = uids.elements();
+            if (msn <= Math.min(uids.size(), elements.length) && msn > 0) {
+                return Optional.of(MessageUid.of(elements[msn - 1]));
             }
         }
         return Optional.empty();
     }
 
-    public synchronized Optional<MessageUid> getLastUid() {
+    public Optional<MessageUid> getLastUid() {
+        return read(this::getLastUidUnsynchronized);
+    }
+
+    private Optional<MessageUid> getLastUidUnsynchronized() {
         if (uidsAsInts.isEmpty() && uids.isEmpty()) {
             return Optional.empty();
         }
-        return getUid(getLastMsn());
+        return getUidUnsynchronized(getLastMsn());
     }
 
-    public synchronized List<MessageUid> allUids() {
-        if (usesInts) {
-            return uidsAsInts.intStream()
-                .mapToObj(MessageUid::of)
-                .collect(ImmutableList.toImmutableList());
-        } else {
-            return uids.longStream()
-                .mapToObj(MessageUid::of)
-                .collect(ImmutableList.toImmutableList());
-        }
+    public List<MessageUid> allUids() {
+        return read(() -> {
+            if (usesInts) {
+                return uidsAsInts.intStream()
+                    .mapToObj(MessageUid::of)
+                    .collect(ImmutableList.toImmutableList());
+            } else {
+                return uids.longStream()
+                    .mapToObj(MessageUid::of)
+                    .collect(ImmutableList.toImmutableList());
+            }
+        });
     }
 
-    public synchronized Optional<MessageUid> getFirstUid() {
+    public Optional<MessageUid> getFirstUid() {
         return getUid(FIRST_MSN);
     }
 
-    public synchronized int getNumMessage() {
+    public int getNumMessage() {
+        return read(this::getNumMessageUnsynchronized);
+    }
+
+    private int getNumMessageUnsynchronized() {
         if (usesInts) {
             return uidsAsInts.size();
         } else {
@@ -194,8 +229,13 @@ public class UidMsnConverter {
         }
     }
 
-    public synchronized void remove(MessageUid uid) {
-        removeUnsynchronized(uid);
+    public void remove(MessageUid uid) {
+        long stamp = lock.writeLock();
+        try {
+            removeUnsynchronized(uid);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
     }
 
     private void removeUnsynchronized(MessageUid uid) {
@@ -215,23 +255,38 @@ public class UidMsnConverter {
         }
     }
 
-    public synchronized NullableMessageSequenceNumber getAndRemove(MessageUid uid) {
-        NullableMessageSequenceNumber result = getMsnUnsynchronized(uid);
-        removeUnsynchronized(uid);
-        return result;
+    public NullableMessageSequenceNumber getAndRemove(MessageUid uid) {
+        long stamp = lock.writeLock();
+        try {
+            NullableMessageSequenceNumber result = getMsnUnsynchronized(uid);
+            removeUnsynchronized(uid);
+            return result;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
     }
 
-    public synchronized boolean isEmpty() {
-        return uids.isEmpty() && uidsAsInts.isEmpty();
+    public boolean isEmpty() {
+        return read(() -> uids.isEmpty() && uidsAsInts.isEmpty());
     }
 
-    public synchronized void clear() {
-        uids.clear();
-        uidsAsInts.clear();
+    public void clear() {
+        long stamp = lock.writeLock();
+        try {
+            uids.clear();
+            uidsAsInts.clear();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
     }
 
-    public synchronized void addUid(MessageUid uid) {
-        addUidUnSynchronized(uid);
+    public void addUid(MessageUid uid) {
+        long stamp = lock.writeLock();
+        try {
+            addUidUnSynchronized(uid);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
     }
 
     private void addUidUnSynchronized(MessageUid uid) {
@@ -245,37 +300,59 @@ public class UidMsnConverter {
                 uidsAsInts.add((int) uid.asLong());
                 return;
             }
-            if (contains(uid)) {
-                return;
-            } else {
-                uidsAsInts.add((int) uid.asLong());
-                uidsAsInts.sort(IntComparators.NATURAL_COMPARATOR);
+            int position = Arrays.binarySearch(uidsAsInts.elements(), 0, uidsAsInts.size(), (int) uid.asLong());
+            if (position < 0) {
+                // Insert at the right place rather than sorting the whole array
+                uidsAsInts.add(-position - 1, (int) uid.asLong());
             }
         } else {
             if (isLastUid(uid)) {
                 uids.add(uid.asLong());
                 return;
             }
-            if (contains(uid)) {
-                return;
-            } else {
-                uids.add(uid.asLong());
-                uids.sort(LongComparators.NATURAL_COMPARATOR);
+            int position = Arrays.binarySearch(uids.elements(), 0, uids.size(), uid.asLong());
+            if (position < 0) {
+                uids.add(-position - 1, uid.asLong());
             }
         }
     }
 
-    private boolean contains(MessageUid uid) {
-        return getMsnUnsynchronized(uid).foldSilent(() -> false, any -> true);
-    }
-
     private boolean isLastUid(MessageUid uid) {
-        Optional<MessageUid> lastUid = getLastUid();
+        Optional<MessageUid> lastUid = getLastUidUnsynchronized();
         return lastUid.isEmpty() ||
             lastUid.get().compareTo(uid) < 0;
     }
 
     private int getLastMsn() {
-        return getNumMessage();
+        return getNumMessageUnsynchronized();
+    }
+
+    /**
+     * Runs the given read first as an optimistic read, then under the read lock if a write happened concurrently.
+     *
+     * The optimistic attempt may observe an inconsistent state: its result (or failure) is discarded if the
+     * stamp is no longer valid.
+     */
+    private <T> T read(Supplier<T> reader) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0L) {
+            try {
+                T result = reader.get();
+                if (lock.validate(stamp)) {
+                    return result;
+                }
+            } catch (RuntimeException e) {
+                if (lock.validate(stamp)) {
+                    throw e;
+                }
+                // Inconsistent view caused by a concurrent write, retried under the read lock
+            }
+        }
+        long readStamp = lock.readLock();
+        try {
+            return reader.get();
+        } finally {
+            lock.unlockRead(readStamp);
+        }
     }
 }
@@ -538,6 +538,36 @@ class UidMsnConverterTest {
                 2, MessageUid.of(Integer.MAX_VALUE + 1L)));
     }
 
+    @Test
+    void readsShouldRemainConsistentWhenConcurrentWithWrites() throws Exception {
+        int initialCount = 1000;
+        for (int i = 1; i <= initialCount; i++) {
+            testee.addUid(MessageUid.of(2L * i));
+        }
+
+        ConcurrentTestRunner.builder()
+            .operation((threadNumber, step) -> {
+                if (threadNumber == 0) {
+                    testee.remove(MessageUid.of(2L * (step + 1)));
+                    testee.addUid(MessageUid.of(2L * (initialCount + step + 1)));
+                } else {
+                    MessageUid uid = MessageUid.of(2L * (initialCount + 1));
+                    assertThat(testee.getMsn(MessageUid.of(2L * initialCount + 1)))
+                        .isEqualTo(NullableMessageSequenceNumber.noMessage());
+                    assertThat(testee.getNumMessage()).isBetween(initialCount - 1, initialCount);
+                    assertThat(testee.allUids()).isSorted();
+                    testee.getMsn(uid);
+                    testee.getUid(step % initialCount + 1);
+                }
+            })
+            .threadCount(4)
+            .operationCount(initialCount)
+            .runSuccessfullyWithin(Duration.ofSeconds(30));
+
+        assertThat(testee.getNumMessage()).isEqualTo(initialCount);
+        assertThat(testee.getFirstUid()).contains(MessageUid.of(2L * (initialCount + 1)));
+    }
+
     @Test
     void addAndRemoveShouldLeadToMonoticMSNToUIDConversionWhenMixed() throws Exception {
         int initialCount = 1000;
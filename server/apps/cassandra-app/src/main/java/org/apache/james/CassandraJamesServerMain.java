@@ -71,6 +71,7 @@ import org.apache.james.modules.server.MailQueueRoutesModule;
 import org.apache.james.modules.server.MailRepositoriesRoutesModule;
 import org.apache.james.modules.server.MailboxRoutesModule;
 import org.apache.james.modules.server.MailboxesExportRoutesModule;
+import org.apache.james.modules.server.MailetContainerRoutesModule;
 import org.apache.james.modules.server.MessagesRoutesModule;
 import org.apache.james.modules.server.SieveRoutesModule;
 import org.apache.james.modules.server.TaskManagerModule;
@@ -112,6 +113,7 @@ public class CassandraJamesServerMain implements JamesServerMain {
         new JmapTasksModule(),
         new MailboxesExportRoutesModule(),
         new MailboxRoutesModule(),
+        new MailetContainerRoutesModule(),
         new MailQueueRoutesModule(),
         new MailRepositoriesRoutesModule(),
         new SieveRoutesModule(),
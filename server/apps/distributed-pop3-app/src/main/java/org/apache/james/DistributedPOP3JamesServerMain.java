@@ -85,6 +85,7 @@ import org.apache.james.modules.server.MailQueueRoutesModule;
 import org.apache.james.modules.server.MailRepositoriesRoutesModule;
 import org.apache.james.modules.server.MailboxRoutesModule;
 import org.apache.james.modules.server.MailboxesExportRoutesModule;
+import org.apache.james.modules.server.MailetContainerRoutesModule;
 import org.apache.james.modules.server.MessagesRoutesModule;
 import org.apache.james.modules.server.RabbitMailQueueRoutesModule;
 import org.apache.james.modules.server.UserIdentityModule;
@@ -114,6 +115,7 @@ public class DistributedPOP3JamesServerMain implements JamesServerMain {
         new InconsistencySolvingRoutesModule(),
         new MailboxesExportRoutesModule(),
         new MailboxRoutesModule(),
+        new MailetContainerRoutesModule(),
         new MailQueueRoutesModule(),
         new MailRepositoriesRoutesModule(),
         new WebAdminServerModule(),
@@ -46,6 +46,7 @@ import org.apache.james.modules.server.JMXServerModule;
 import org.apache.james.modules.server.MailQueueRoutesModule;
 import org.apache.james.modules.server.MailRepositoriesRoutesModule;
 import org.apache.james.modules.server.MailboxRoutesModule;
+import org.apache.james.modules.server.MailetContainerRoutesModule;
 import org.apache.james.modules.server.NoJwtModule;
 import org.apache.james.modules.server.RawPostDequeueDecoratorModule;
 import org.apache.james.modules.server.ReIndexingModule;
@@ -65,6 +66,7 @@ public class JPAJamesServerMain implements JamesServerMain {
         new DataRoutesModules(),
         new InconsistencyQuotasSolvingRoutesModule(),
         new MailboxRoutesModule(),
+        new MailetContainerRoutesModule(),
         new MailQueueRoutesModule(),
         new MailRepositoriesRoutesModule(),
         new ReIndexingModule(),
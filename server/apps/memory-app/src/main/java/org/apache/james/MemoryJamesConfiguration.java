@@ -42,6 +42,7 @@ public class MemoryJamesConfiguration implements Configuration {
         private Optional<UsersRepositoryModuleChooser.Implementation> usersRepositoryImplementation;
         private Optional<Boolean> jmapEnabled;
         private Optional<Boolean> dropListsEnabled;
+        private Optional<MemoryMailQueueChoice> mailQueueChoice;
 
         private Builder() {
             rootDirectory = Optional.empty();
@@ -49,6 +50,7 @@ public class MemoryJamesConfiguration implements Configuration {
             usersRepositoryImplementation = Optional.empty();
             jmapEnabled = Optional.empty();
             dropListsEnabled = Optional.empty();
+            mailQueueChoice = Optional.empty();
         }
 
         public Builder workingDirectory(String path) {
@@ -94,6 +96,11 @@ public class MemoryJamesConfiguration implements Configuration {
             return this;
         }
 
+        public Builder mailQueueChoice(MemoryMailQueueChoice mailQueueChoice) {
+            this.mailQueueChoice = Optional.of(mailQueueChoice);
+            return this;
+        }
+
         public MemoryJamesConfiguration build() {
             ConfigurationPath configurationPath = this.configurationPath.orElse(new ConfigurationPath(FileSystem.FILE_PROTOCOL_AND_CONF));
             JamesServerResourceLoader directories = new JamesServerResourceLoader(rootDirectory
@@ -130,11 +137,13 @@ public class MemoryJamesConfiguration implements Configuration {
                 }
             });
 
+            MemoryMailQueueChoice mailQueueChoice = this.mailQueueChoice.orElseGet(
+                () -> MemoryMailQueueChoice.parse(new PropertiesProvider(fileSystem, configurationPath)));
 
             return new MemoryJamesConfiguration(
                 configurationPath,
                 directories,
-                usersRepositoryChoice, jmapEnabled, dropListsEnabled);
+                usersRepositoryChoice, jmapEnabled, dropListsEnabled, mailQueueChoice);
         }
     }
 
@@ -147,15 +156,23 @@ public class MemoryJamesConfiguration implements Configuration {
     private final UsersRepositoryModuleChooser.Implementation usersRepositoryImplementation;
     private final boolean jmapEnabled;
     private final boolean dropListsEnabled;
+    private final MemoryMailQueueChoice mailQueueChoice;
 
     public MemoryJamesConfiguration(ConfigurationPath configurationPath, JamesDirectoriesProvider directories,
                                     UsersRepositoryModuleChooser.Implementation usersRepositoryImplementation,
                                     boolean jmapEnabled, boolean dropListsEnabled) {
+        this(configurationPath, directories, usersRepositoryImplementation, jmapEnabled, dropListsEnabled, MemoryMailQueueChoice.MEMORY);
+    }
+
+    public MemoryJamesConfiguration(ConfigurationPath configurationPath, JamesDirectoriesProvider directories,
+                                    UsersRepositoryModuleChooser.Implementation usersRepositoryImplementation,
+                                    boolean jmapEnabled, boolean dropListsEnabled, MemoryMailQueueChoice mailQueueChoice) {
         this.configurationPath = configurationPath;
         this.directories = directories;
         this.usersRepositoryImplementation = usersRepositoryImplementation;
         this.jmapEnabled = jmapEnabled;
         this.dropListsEnabled = dropListsEnabled;
+        this.mailQueueChoice = mailQueueChoice;
     }
 
     @Override
@@ -179,4 +196,8 @@ public class MemoryJamesConfiguration implements Configuration {
     public boolean isDropListsEnabled() {
         return dropListsEnabled;
     }
+
+    public MemoryMailQueueChoice getMailQueueChoice() {
+        return mailQueueChoice;
+    }
 }
@@ -46,6 +46,7 @@ import org.apache.james.modules.protocols.ManageSieveServerModule;
 import org.apache.james.modules.protocols.POP3ServerModule;
 import org.apache.james.modules.protocols.ProtocolHandlerModule;
 import org.apache.james.modules.protocols.SMTPServerModule;
+import org.apache.james.modules.queue.memory.MappedMailQueueModule;
 import org.apache.james.modules.queue.memory.MemoryMailQueueModule;
 import org.apache.james.modules.server.DKIMMailetModule;
 import org.apache.james.modules.server.DLPRoutesModule;
@@ -59,6 +60,7 @@ import org.apache.james.modules.server.MailRepositoriesRoutesModule;
 import org.apache.james.modules.server.MailboxRoutesModule;
 import org.apache.james.modules.server.MailboxesExportRoutesModule;
 import org.apache.james.modules.server.MailetContainerModule;
+import org.apache.james.modules.server.MailetContainerRoutesModule;
 import org.apache.james.modules.server.NoJwtModule;
 import org.apache.james.modules.server.RawPostDequeueDecoratorModule;
 import org.apache.james.modules.server.SieveRoutesModule;
@@ -89,6 +91,7 @@ public class MemoryJamesServerMain implements JamesServerMain {
         new InconsistencyQuotasSolvingRoutesModule(),
         new MailboxesExportRoutesModule(),
         new MailboxRoutesModule(),
+        new MailetContainerRoutesModule(),
         new MailQueueRoutesModule(),
         new MailRepositoriesRoutesModule(),
         new SieveRoutesModule(),
@@ -177,7 +180,20 @@ public class MemoryJamesServerMain implements JamesServerMain {
             .combineWith(new UsersRepositoryModuleChooser(new MemoryUsersRepositoryModule())
                 .chooseModules(configuration.getUsersRepositoryImplementation()))
             .combineWith(chooseJmapModule(configuration))
-            .combineWith(chooseDropListsModule(configuration));
+            .combineWith(chooseDropListsModule(configuration))
+            .overrideWith(chooseMailQueueModule(configuration));
+    }
+
+    private static Module chooseMailQueueModule(MemoryJamesConfiguration configuration) {
+        switch (configuration.getMailQueueChoice()) {
+            case MAPPED:
+                return new MappedMailQueueModule();
+            case MEMORY:
+            default:
+                return binder -> {
+
+                };
+        }
     }
 
     private static Module chooseJmapModule(MemoryJamesConfiguration configuration) {
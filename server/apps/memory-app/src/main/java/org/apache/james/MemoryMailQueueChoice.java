@@ -0,0 +1,48 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james;
+
+import java.io.FileNotFoundException;
+import java.util.Optional;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.ex.ConfigurationException;
+import org.apache.james.utils.PropertiesProvider;
+
+public enum MemoryMailQueueChoice {
+    MEMORY,
+    MAPPED;
+
+    public static MemoryMailQueueChoice parse(Configuration configuration) {
+        return Optional.ofNullable(configuration.getString("mail.queue.choice", null))
+            .map(MemoryMailQueueChoice::valueOf)
+            .orElse(MemoryMailQueueChoice.MEMORY);
+    }
+
+    public static MemoryMailQueueChoice parse(PropertiesProvider configuration) {
+        try {
+            return parse(configuration.getConfiguration("queue"));
+        } catch (FileNotFoundException e) {
+            return MEMORY;
+        } catch (ConfigurationException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -19,13 +19,19 @@
 
 package org.apache.james.blob.aes;
 
+import static org.apache.james.util.ReactorUtils.DEFAULT_CONCURRENCY;
+
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.security.GeneralSecurityException;
 import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.output.UnsynchronizedByteArrayOutputStream;
@@ -46,6 +52,7 @@ import com.google.common.io.CountingOutputStream;
 import com.google.common.io.FileBackedOutputStream;
 import com.google.crypto.tink.subtle.AesGcmHkdfStreaming;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
@@ -60,10 +67,40 @@ public class AESBlobStoreDAO implements BlobStoreDAO {
         .orElse(100 * 1024 * 1024);
     private final BlobStoreDAO underlying;
     private final AesGcmHkdfStreaming streamingAead;
+    private final ChunkedDecrypter chunkedDecrypter;
 
     public AESBlobStoreDAO(BlobStoreDAO underlying, CryptoConfig cryptoConfig) {
         this.underlying = underlying;
         this.streamingAead = PBKDF2StreamingAeadFactory.newAesGcmHkdfStreaming(cryptoConfig);
+        this.chunkedDecrypter = new ChunkedDecrypter(streamingAead, PBKDF2StreamingAeadFactory.EMPTY_ASSOCIATED_DATA);
+    }
+
+    /**
+     * Encrypts lazily, segment by segment, as the underlying blob store reads the content. The ciphertext size is
+     * derived from the plaintext size, hence the ciphertext never needs to be staged.
+     */
+    private ByteSource encryptingByteSource(ByteSource plaintext, long plaintextSize) {
+        long ciphertextSize = streamingAead.expectedCiphertextSize(plaintextSize);
+        return new ByteSource() {
+            @Override
+            public InputStream openStream() throws IOException {
+                try {
+                    return new EncryptingInputStream(streamingAead, plaintext.openStream(), PBKDF2StreamingAeadFactory.EMPTY_ASSOCIATED_DATA);
+                } catch (GeneralSecurityException e) {
+                    throw new IOException("Incorrect crypto setup", e);
+                }
+            }
+
+            @Override
+            public com.google.common.base.Optional<Long> sizeIfKnown() {
+                return com.google.common.base.Optional.of(ciphertextSize);
+            }
+
+            @Override
+            public long size() {
+                return ciphertextSize;
+            }
+        };
     }
 
     private Pair<FileBackedOutputStream, Long> encrypt(InputStream input) throws IOException {
@@ -107,18 +144,61 @@ public class AESBlobStoreDAO implements BlobStoreDAO {
             .map(Throwing.function(this::decrypt));
     }
 
+    @Override
+    public Publisher<ReactiveByteSource> readAsByteSource(BucketName bucketName, BlobId blobId) {
+        return Mono.from(underlying.readAsByteSource(bucketName, blobId))
+            .map(ciphertext -> {
+                long plaintextSize = chunkedDecrypter.plaintextSize(ciphertext.getSize());
+                Flux<ByteBuffer> plaintext = chunkedDecrypter.decrypt(ciphertext.getContent(), ciphertext.getSize());
+                if (plaintextSize > MAXIMUM_BLOB_SIZE) {
+                    return new ReactiveByteSource(MAXIMUM_BLOB_SIZE, limit(plaintext, MAXIMUM_BLOB_SIZE));
+                }
+                return new ReactiveByteSource(plaintextSize, plaintext);
+            });
+    }
+
+    private Flux<ByteBuffer> limit(Flux<ByteBuffer> chunks, long maximumSize) {
+        return Flux.defer(() -> {
+            AtomicLong remaining = new AtomicLong(maximumSize);
+            return chunks.takeWhile(any -> remaining.get() > 0)
+                .map(chunk -> {
+                    if (chunk.remaining() > remaining.get()) {
+                        chunk.limit(chunk.position() + (int) remaining.get());
+                    }
+                    remaining.addAndGet(-chunk.remaining());
+                    return chunk;
+                });
+        });
+    }
+
     @Override
     public Publisher<byte[]> readBytes(BucketName bucketName, BlobId blobId) {
         return Mono.from(underlying.readBytes(bucketName, blobId))
-            .map(Throwing.function(bytes -> {
-                InputStream inputStream = decrypt(new ByteArrayInputStream(bytes));
-                try (UnsynchronizedByteArrayOutputStream outputStream = UnsynchronizedByteArrayOutputStream.builder()
-                    .setBufferSize(bytes.length + PBKDF2StreamingAeadFactory.SEGMENT_SIZE)
-                    .get()) {
-                    IOUtils.copy(inputStream, outputStream);
-                    return outputStream.toByteArray();
-                }
-            }));
+            .map(Throwing.function(this::decrypt));
+    }
+
+    @Override
+    public Publisher<Map<BlobId, byte[]>> readBytes(BucketName bucketName, Collection<BlobId> blobIds) {
+        return Mono.from(underlying.readBytes(bucketName, blobIds))
+            .flatMapIterable(Map::entrySet)
+            .flatMap(entry -> Mono.fromCallable(() -> Pair.of(entry.getKey(), decrypt(entry.getValue())))
+                .subscribeOn(Schedulers.parallel()), DEFAULT_CONCURRENCY)
+            .collectMap(Pair::getKey, Pair::getValue);
+    }
+
+    @Override
+    public Publisher<Set<BlobId>> exists(BucketName bucketName, Collection<BlobId> blobIds) {
+        return underlying.exists(bucketName, blobIds);
+    }
+
+    private byte[] decrypt(byte[] ciphertext) throws IOException {
+        InputStream inputStream = decrypt(new ByteArrayInputStream(ciphertext));
+        try (UnsynchronizedByteArrayOutputStream outputStream = UnsynchronizedByteArrayOutputStream.builder()
+            .setBufferSize(ciphertext.length + PBKDF2StreamingAeadFactory.SEGMENT_SIZE)
+            .get()) {
+            IOUtils.copy(inputStream, outputStream);
+            return outputStream.toByteArray();
+        }
     }
 
     @Override
@@ -127,7 +207,8 @@ public class AESBlobStoreDAO implements BlobStoreDAO {
         Preconditions.checkNotNull(blobId);
         Preconditions.checkNotNull(data);
 
-        return save(bucketName, blobId, new ByteArrayInputStream(data));
+        return Mono.from(underlying.save(bucketName, blobId, encryptingByteSource(ByteSource.wrap(data), data.length)))
+            .onErrorMap(e -> new ObjectStoreIOException("Exception occurred while saving bytearray", e));
     }
 
     @Override
@@ -169,10 +250,10 @@ public class AESBlobStoreDAO implements BlobStoreDAO {
         Preconditions.checkNotNull(blobId);
         Preconditions.checkNotNull(content);
 
-        return Mono.using(content::openStream,
-            in -> Mono.from(save(bucketName, blobId, in)),
-            Throwing.consumer(InputStream::close))
-            .subscribeOn(Schedulers.boundedElastic());
+        return Mono.fromCallable(content::size)
+            .flatMap(size -> Mono.from(underlying.save(bucketName, blobId, encryptingByteSource(content, size))))
+            .subscribeOn(Schedulers.boundedElastic())
+            .onErrorMap(e -> new ObjectStoreIOException("Exception occurred while saving bytesource", e));
     }
 
     @Override
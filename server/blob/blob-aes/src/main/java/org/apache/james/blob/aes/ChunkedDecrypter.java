@@ -0,0 +1,139 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.blob.aes;
+
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.util.List;
+
+import org.apache.james.blob.api.ObjectStoreIOException;
+import org.reactivestreams.Publisher;
+
+import com.github.fge.lambdas.Throwing;
+import com.google.common.collect.ImmutableList;
+import com.google.crypto.tink.subtle.AesGcmHkdfStreaming;
+import com.google.crypto.tink.subtle.StreamSegmentDecrypter;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Decrypts a ciphertext of known size delivered as arbitrary {@link ByteBuffer} chunks, re-assembling them into
+ * segments and emitting each decrypted segment as soon as it is complete.
+ */
+class ChunkedDecrypter {
+    private class Assembler {
+        private final StreamSegmentDecrypter decrypter;
+        private final long ciphertextSize;
+        private final ByteBuffer header;
+        private final ByteBuffer segment;
+        private boolean headerRead;
+        private boolean lastSegmentDecrypted;
+        private int segmentNumber;
+        private long consumed;
+
+        Assembler(long ciphertextSize) throws GeneralSecurityException {
+            this.decrypter = streamingAead.newStreamSegmentDecrypter();
+            this.ciphertextSize = ciphertextSize;
+            this.header = ByteBuffer.allocate(streamingAead.getHeaderLength());
+            this.segment = ByteBuffer.allocate(streamingAead.getCiphertextSegmentSize());
+            this.segment.limit(streamingAead.getCiphertextSegmentSize() - streamingAead.getCiphertextOffset());
+        }
+
+        List<ByteBuffer> onChunk(ByteBuffer chunk) throws GeneralSecurityException {
+            ImmutableList.Builder<ByteBuffer> plaintext = ImmutableList.builder();
+            ByteBuffer input = chunk.duplicate();
+            while (input.hasRemaining()) {
+                if (lastSegmentDecrypted) {
+                    throw new GeneralSecurityException("Ciphertext is longer than its announced size " + ciphertextSize);
+                }
+                if (!headerRead) {
+                    transfer(input, header);
+                    if (!header.hasRemaining()) {
+                        header.flip();
+                        decrypter.init(header, associatedData);
+                        headerRead = true;
+                    }
+                } else {
+                    transfer(input, segment);
+                    boolean isLastSegment = consumed == ciphertextSize;
+                    if (!segment.hasRemaining() || isLastSegment) {
+                        plaintext.add(decryptSegment(isLastSegment));
+                    }
+                }
+            }
+            return plaintext.build();
+        }
+
+        Mono<ByteBuffer> onComplete() {
+            if (!lastSegmentDecrypted) {
+                return Mono.error(new GeneralSecurityException("Ciphertext is shorter than its announced size " + ciphertextSize));
+            }
+            return Mono.empty();
+        }
+
+        private void transfer(ByteBuffer input, ByteBuffer output) {
+            int length = Math.min(input.remaining(), output.remaining());
+            ByteBuffer slice = input.slice();
+            slice.limit(length);
+            output.put(slice);
+            input.position(input.position() + length);
+            consumed += length;
+        }
+
+        private ByteBuffer decryptSegment(boolean isLastSegment) throws GeneralSecurityException {
+            segment.flip();
+            ByteBuffer plaintext = ByteBuffer.allocate(segment.remaining());
+            decrypter.decryptSegment(segment, segmentNumber, isLastSegment, plaintext);
+            plaintext.flip();
+
+            segmentNumber++;
+            lastSegmentDecrypted = isLastSegment;
+            segment.clear();
+            return plaintext;
+        }
+    }
+
+    private final AesGcmHkdfStreaming streamingAead;
+    private final byte[] associatedData;
+
+    ChunkedDecrypter(AesGcmHkdfStreaming streamingAead, byte[] associatedData) {
+        this.streamingAead = streamingAead;
+        this.associatedData = associatedData;
+    }
+
+    Flux<ByteBuffer> decrypt(Publisher<ByteBuffer> ciphertext, long ciphertextSize) {
+        return Flux.defer(Throwing.supplier(() -> {
+                Assembler assembler = new Assembler(ciphertextSize);
+                return Flux.from(ciphertext)
+                    .concatMapIterable(Throwing.function(assembler::onChunk).sneakyThrow())
+                    .concatWith(Mono.defer(assembler::onComplete));
+            }).sneakyThrow())
+            .onErrorMap(GeneralSecurityException.class, e -> new ObjectStoreIOException("Failed to decrypt blob", e));
+    }
+
+    long plaintextSize(long ciphertextSize) {
+        int ciphertextSegmentSize = streamingAead.getCiphertextSegmentSize();
+        int tagSize = ciphertextSegmentSize - streamingAead.getPlaintextSegmentSize();
+        long bytesAfterFirstSegment = Math.max(0, ciphertextSize - ciphertextSegmentSize);
+        long segmentCount = 1 + (bytesAfterFirstSegment + ciphertextSegmentSize - 1) / ciphertextSegmentSize;
+        return ciphertextSize - streamingAead.getCiphertextOffset() - segmentCount * tagSize;
+    }
+}
@@ -0,0 +1,127 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.blob.aes;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+
+import org.apache.commons.io.IOUtils;
+
+import com.google.crypto.tink.subtle.AesGcmHkdfStreaming;
+import com.google.crypto.tink.subtle.StreamSegmentEncrypter;
+
+/**
+ * Pull based counterpart of {@link AesGcmHkdfStreaming#newEncryptingStream}: ciphertext is produced one segment at a
+ * time as it is read, so that no more than a single segment is held in memory and nothing needs to be staged.
+ *
+ * The produced ciphertext is exactly {@link AesGcmHkdfStreaming#expectedCiphertextSize(long)} bytes long.
+ */
+class EncryptingInputStream extends InputStream {
+    private static final int NO_MORE_DATA = -1;
+
+    private final PushbackInputStream plaintext;
+    private final StreamSegmentEncrypter encrypter;
+    private final byte[] plaintextSegment;
+    private final ByteBuffer ciphertextSegment;
+    private int nextPlaintextSegmentSize;
+    private ByteBuffer current;
+    private boolean lastSegmentEncrypted;
+
+    EncryptingInputStream(AesGcmHkdfStreaming streamingAead, InputStream plaintext, byte[] associatedData) throws GeneralSecurityException {
+        this.plaintext = new PushbackInputStream(plaintext, 1);
+        this.encrypter = streamingAead.newStreamSegmentEncrypter(associatedData);
+        this.plaintextSegment = new byte[streamingAead.getPlaintextSegmentSize()];
+        this.ciphertextSegment = ByteBuffer.allocate(streamingAead.getCiphertextSegmentSize());
+        this.nextPlaintextSegmentSize = streamingAead.getPlaintextSegmentSize() - streamingAead.getCiphertextOffset();
+        this.current = encrypter.getHeader().duplicate();
+        this.lastSegmentEncrypted = false;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!ensureAvailable()) {
+            return NO_MORE_DATA;
+        }
+        return current.get() & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!ensureAvailable()) {
+            return NO_MORE_DATA;
+        }
+        int toRead = Math.min(len, current.remaining());
+        current.get(b, off, toRead);
+        return toRead;
+    }
+
+    @Override
+    public int available() {
+        return current.remaining();
+    }
+
+    @Override
+    public void close() throws IOException {
+        plaintext.close();
+    }
+
+    private boolean ensureAvailable() throws IOException {
+        while (!current.hasRemaining()) {
+            if (lastSegmentEncrypted) {
+                return false;
+            }
+            encryptNextSegment();
+        }
+        return true;
+    }
+
+    private void encryptNextSegment() throws IOException {
+        int segmentSize = nextPlaintextSegmentSize;
+        int read = IOUtils.read(plaintext, plaintextSegment, 0, segmentSize);
+        boolean isLastSegment = read < segmentSize || !hasMore();
+
+        ciphertextSegment.clear();
+        try {
+            encrypter.encryptSegment(ByteBuffer.wrap(plaintextSegment, 0, read), isLastSegment, ciphertextSegment);
+        } catch (GeneralSecurityException e) {
+            throw new IOException("Failed to encrypt segment", e);
+        }
+        ciphertextSegment.flip();
+
+        current = ciphertextSegment;
+        lastSegmentEncrypted = isLastSegment;
+        nextPlaintextSegmentSize = plaintextSegment.length;
+    }
+
+    private boolean hasMore() throws IOException {
+        int nextByte = plaintext.read();
+        if (nextByte == NO_MORE_DATA) {
+            return false;
+        }
+        plaintext.unread(nextByte);
+        return true;
+    }
+}
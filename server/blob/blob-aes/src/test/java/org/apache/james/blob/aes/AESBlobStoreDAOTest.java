@@ -23,18 +23,28 @@ import static org.apache.james.blob.api.BlobStoreDAOFixture.SHORT_BYTEARRAY;
 import static org.apache.james.blob.api.BlobStoreDAOFixture.TEST_BLOB_ID;
 import static org.apache.james.blob.api.BlobStoreDAOFixture.TEST_BUCKET_NAME;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.stream.IntStream;
 
 import org.apache.james.blob.api.BlobStoreDAO;
 import org.apache.james.blob.api.BlobStoreDAOContract;
+import org.apache.james.blob.api.ObjectStoreIOException;
 import org.apache.james.blob.memory.MemoryBlobStoreDAO;
+import org.apache.james.util.ReactorUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
 
 import com.google.common.io.ByteSource;
+import com.google.crypto.tink.subtle.AesGcmHkdfStreaming;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 class AESBlobStoreDAOTest implements BlobStoreDAOContract {
@@ -85,6 +95,85 @@ class AESBlobStoreDAOTest implements BlobStoreDAOContract {
         assertThat(bytes).isNotEqualTo(SHORT_BYTEARRAY);
     }
 
+    static IntStream plaintextSizes() {
+        int firstSegment = PBKDF2StreamingAeadFactory.SEGMENT_SIZE - 16 - 40;
+        int segment = PBKDF2StreamingAeadFactory.SEGMENT_SIZE - 16;
+        return IntStream.of(0, 1, firstSegment - 1, firstSegment, firstSegment + 1,
+            firstSegment + segment, firstSegment + segment + 1, 1024 * 1024 + 7);
+    }
+
+    @ParameterizedTest
+    @MethodSource("plaintextSizes")
+    void savedCiphertextShouldHaveTheExpectedSize(int size) {
+        byte[] data = randomBytes(size);
+        Mono.from(testee.save(TEST_BUCKET_NAME, TEST_BLOB_ID, data)).block();
+
+        byte[] ciphertext = Mono.from(underlying.readBytes(TEST_BUCKET_NAME, TEST_BLOB_ID)).block();
+
+        AesGcmHkdfStreaming streamingAead = PBKDF2StreamingAeadFactory.newAesGcmHkdfStreaming(CRYPTO_CONFIG);
+        assertThat((long) ciphertext.length).isEqualTo(streamingAead.expectedCiphertextSize(size));
+    }
+
+    @ParameterizedTest
+    @MethodSource("plaintextSizes")
+    void streamingSaveShouldBeDecryptableByTink(int size) throws Exception {
+        byte[] data = randomBytes(size);
+        Mono.from(testee.save(TEST_BUCKET_NAME, TEST_BLOB_ID, ByteSource.wrap(data))).block();
+
+        byte[] ciphertext = Mono.from(underlying.readBytes(TEST_BUCKET_NAME, TEST_BLOB_ID)).block();
+
+        AesGcmHkdfStreaming streamingAead = PBKDF2StreamingAeadFactory.newAesGcmHkdfStreaming(CRYPTO_CONFIG);
+        assertThat(streamingAead.newDecryptingStream(new ByteArrayInputStream(ciphertext), PBKDF2StreamingAeadFactory.EMPTY_ASSOCIATED_DATA))
+            .hasBinaryContent(data);
+    }
+
+    @ParameterizedTest
+    @MethodSource("plaintextSizes")
+    void readAsByteSourceShouldDecryptChunks(int size) {
+        byte[] data = randomBytes(size);
+        Mono.from(testee.save(TEST_BUCKET_NAME, TEST_BLOB_ID, new ByteArrayInputStream(data))).block();
+
+        BlobStoreDAO.ReactiveByteSource byteSource = Mono.from(testee.readAsByteSource(TEST_BUCKET_NAME, TEST_BLOB_ID)).block();
+
+        assertThat(byteSource.getSize()).isEqualTo(size);
+        assertThat(ReactorUtils.toInputStream(Flux.from(byteSource.getContent()))).hasBinaryContent(data);
+    }
+
+    @ParameterizedTest
+    @MethodSource("plaintextSizes")
+    void chunkedDecryptionShouldNotDependOnChunkBoundaries(int size) {
+        byte[] data = randomBytes(size);
+        Mono.from(testee.save(TEST_BUCKET_NAME, TEST_BLOB_ID, data)).block();
+        byte[] ciphertext = Mono.from(underlying.readBytes(TEST_BUCKET_NAME, TEST_BLOB_ID)).block();
+
+        ChunkedDecrypter decrypter = new ChunkedDecrypter(PBKDF2StreamingAeadFactory.newAesGcmHkdfStreaming(CRYPTO_CONFIG),
+            PBKDF2StreamingAeadFactory.EMPTY_ASSOCIATED_DATA);
+        Flux<ByteBuffer> oddChunks = ReactorUtils.toChunks(new ByteArrayInputStream(ciphertext), 333);
+
+        assertThat(decrypter.plaintextSize(ciphertext.length)).isEqualTo(size);
+        assertThat(ReactorUtils.toInputStream(decrypter.decrypt(oddChunks, ciphertext.length))).hasBinaryContent(data);
+    }
+
+    @Test
+    void chunkedDecryptionShouldFailWhenCiphertextIsTruncated() {
+        byte[] data = randomBytes(10_000);
+        Mono.from(testee.save(TEST_BUCKET_NAME, TEST_BLOB_ID, data)).block();
+        byte[] ciphertext = Mono.from(underlying.readBytes(TEST_BUCKET_NAME, TEST_BLOB_ID)).block();
+
+        ChunkedDecrypter decrypter = new ChunkedDecrypter(PBKDF2StreamingAeadFactory.newAesGcmHkdfStreaming(CRYPTO_CONFIG),
+            PBKDF2StreamingAeadFactory.EMPTY_ASSOCIATED_DATA);
+        Flux<ByteBuffer> truncated = Flux.just(ByteBuffer.wrap(ciphertext, 0, ciphertext.length - 10));
+
+        assertThatThrownBy(() -> decrypter.decrypt(truncated, ciphertext.length).blockLast())
+            .isInstanceOf(ObjectStoreIOException.class);
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] data = new byte[size];
+        new Random(size).nextBytes(data);
+        return data;
+    }
+
     @Override
     @Disabled("Not supported by the Memory blob store")
     public void listBucketsShouldReturnBucketsWithNoBlob() {
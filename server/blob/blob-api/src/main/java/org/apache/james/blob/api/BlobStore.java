@@ -20,11 +20,15 @@ package org.apache.james.blob.api;
 
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
 
 import org.reactivestreams.Publisher;
 
 import com.google.common.io.ByteSource;
 
+import reactor.core.publisher.Mono;
+
 public interface BlobStore {
     String DEFAULT_BUCKET_NAME_QUALIFIER = "defaultBucket";
 
@@ -54,6 +58,19 @@ public interface BlobStore {
        return readBytes(bucketName, blobId);
     }
 
+    /**
+     * Reads several blobs of the same bucket at once. Missing blobs are not part of the result map.
+     *
+     * @see BlobStoreDAO#readBytes(BucketName, Collection)
+     */
+    default Publisher<Map<BlobId, byte[]>> readBytes(BucketName bucketName, Collection<BlobId> blobIds) {
+        return ConcurrentBlobReads.readBytes(blobIds, blobId -> readBytes(bucketName, blobId));
+    }
+
+    default Publisher<Map<BlobId, byte[]>> readBytes(BucketName bucketName, Collection<BlobId> blobIds, StoragePolicy storagePolicy) {
+        return readBytes(bucketName, blobIds);
+    }
+
     default InputStream read(BucketName bucketName, BlobId blobId, StoragePolicy storagePolicy) {
         return read(bucketName, blobId);
     }
@@ -62,6 +79,19 @@ public interface BlobStore {
         return readReactive(bucketName, blobId);
     }
 
+    /**
+     * Reads the size of a blob, in bytes.
+     *
+     * Implementations are expected to rely on the metadata known by their storage rather than on the content. The
+     * default implementation reads the blob.
+     *
+     * @see BlobStoreDAO#size(BucketName, BlobId)
+     */
+    default Publisher<Long> size(BucketName bucketName, BlobId blobId) {
+        return Mono.from(readBytes(bucketName, blobId))
+            .map(bytes -> (long) bytes.length);
+    }
+
     BucketName getDefaultBucketName();
 
     Publisher<BucketName> listBuckets();
@@ -23,14 +23,20 @@ import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
 
 import org.reactivestreams.Publisher;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.common.io.ByteSource;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 public interface BlobStoreDAO {
+    int BATCH_READ_CONCURRENCY = 16;
+
     class ReactiveByteSource {
         private final long size;
         private final Publisher<ByteBuffer> content;
@@ -74,6 +80,45 @@ public interface BlobStoreDAO {
      */
     Publisher<byte[]> readBytes(BucketName bucketName, BlobId blobId);
 
+    /**
+     * Reads the size of a Blob, in bytes.
+     *
+     * Implementations are expected to rely on the metadata of their backend rather than reading the content. The
+     * default implementation reads the blob.
+     *
+     * @return a Mono containing the size of the blob or
+     *  an ObjectNotFoundException in its error channel when the blobId or the bucket is not found
+     */
+    default Publisher<Long> size(BucketName bucketName, BlobId blobId) {
+        return Mono.from(readBytes(bucketName, blobId))
+            .map(bytes -> (long) bytes.length);
+    }
+
+    /**
+     * Reads several Blobs of the same bucket at once.
+     *
+     * Implementations are expected to take advantage of their backend to fetch the blobs with fewer round trips
+     * than issuing one {@link #readBytes(BucketName, BlobId)} per blob. The default implementation issues these
+     * reads concurrently.
+     *
+     * @return a Mono containing the content of each blob found, keyed by BlobId. Missing blobs are not part of the
+     *  result map. An IOObjectStoreException is emitted in the error channel when an unexpected IO error occurs
+     */
+    default Publisher<Map<BlobId, byte[]>> readBytes(BucketName bucketName, Collection<BlobId> blobIds) {
+        return ConcurrentBlobReads.readBytes(blobIds, blobId -> readBytes(bucketName, blobId));
+    }
+
+    /**
+     * Checks the existence of several Blobs of the same bucket at once.
+     *
+     * @return a Mono containing the subset of the supplied BlobIds that exist in the bucket
+     */
+    default Publisher<Set<BlobId>> exists(BucketName bucketName, Collection<BlobId> blobIds) {
+        return Flux.from(readBytes(bucketName, blobIds))
+            .flatMapIterable(Map::keySet)
+            .collect(ImmutableSet.toImmutableSet());
+    }
+
 
     /**
      * Save the blob with the provided blob id, and overwrite the previous blob with the same id if it already exists
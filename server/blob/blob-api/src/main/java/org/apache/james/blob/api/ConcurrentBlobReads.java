@@ -0,0 +1,50 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.blob.api;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.reactivestreams.Publisher;
+
+import com.google.common.collect.ImmutableSet;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+/**
+ * Reads several blobs by issuing one read per blob, with up to {@link BlobStoreDAO#BATCH_READ_CONCURRENCY} of them
+ * in flight. Missing blobs are not part of the result map.
+ */
+public class ConcurrentBlobReads {
+    public static Mono<Map<BlobId, byte[]>> readBytes(Collection<BlobId> blobIds, Function<BlobId, Publisher<byte[]>> read) {
+        return Flux.fromIterable(ImmutableSet.copyOf(blobIds))
+            .flatMap(blobId -> Mono.from(read.apply(blobId))
+                .map(bytes -> Tuples.of(blobId, bytes))
+                .onErrorResume(ObjectNotFoundException.class, e -> Mono.empty()), BlobStoreDAO.BATCH_READ_CONCURRENCY)
+            .collectMap(Tuple2::getT1, Tuple2::getT2);
+    }
+
+    private ConcurrentBlobReads() {
+    }
+}
@@ -19,6 +19,8 @@
 package org.apache.james.blob.api;
 
 import java.io.InputStream;
+import java.util.Collection;
+import java.util.Map;
 
 import jakarta.inject.Inject;
 import jakarta.inject.Named;
@@ -36,6 +38,7 @@ public class MetricableBlobStore implements BlobStore {
     static final String SAVE_BYTES_TIMER_NAME = BLOB_STORE_METRIC_PREFIX + "saveBytes";
     static final String SAVE_INPUT_STREAM_TIMER_NAME = BLOB_STORE_METRIC_PREFIX + "saveInputStream";
     static final String READ_BYTES_TIMER_NAME = BLOB_STORE_METRIC_PREFIX + "readBytes";
+    static final String READ_BYTES_BATCH_TIMER_NAME = BLOB_STORE_METRIC_PREFIX + "readBytesBatch";
     static final String READ_TIMER_NAME = BLOB_STORE_METRIC_PREFIX + "read";
     static final String DELETE_TIMER_NAME = BLOB_STORE_METRIC_PREFIX + "delete";
     static final String DELETE_BUCKET_TIMER_NAME = BLOB_STORE_METRIC_PREFIX + "deleteBucket";
@@ -81,11 +84,26 @@ public class MetricableBlobStore implements BlobStore {
         return metricFactory.decoratePublisherWithTimerMetric(READ_TIMER_NAME, blobStoreImpl.readReactive(bucketName, blobId));
     }
 
+    @Override
+    public Publisher<Long> size(BucketName bucketName, BlobId blobId) {
+        return blobStoreImpl.size(bucketName, blobId);
+    }
+
     @Override
     public Publisher<byte[]> readBytes(BucketName bucketName, BlobId blobId, StoragePolicy storagePolicy) {
         return metricFactory.decoratePublisherWithTimerMetric(READ_BYTES_TIMER_NAME, blobStoreImpl.readBytes(bucketName, blobId, storagePolicy));
     }
 
+    @Override
+    public Publisher<Map<BlobId, byte[]>> readBytes(BucketName bucketName, Collection<BlobId> blobIds) {
+        return metricFactory.decoratePublisherWithTimerMetric(READ_BYTES_BATCH_TIMER_NAME, blobStoreImpl.readBytes(bucketName, blobIds));
+    }
+
+    @Override
+    public Publisher<Map<BlobId, byte[]>> readBytes(BucketName bucketName, Collection<BlobId> blobIds, StoragePolicy storagePolicy) {
+        return metricFactory.decoratePublisherWithTimerMetric(READ_BYTES_BATCH_TIMER_NAME, blobStoreImpl.readBytes(bucketName, blobIds, storagePolicy));
+    }
+
     @Override
     public InputStream read(BucketName bucketName, BlobId blobId, StoragePolicy storagePolicy) {
         return metricFactory
@@ -173,6 +173,18 @@ public interface BlobStoreContract extends BucketBlobStoreContract {
         assertThat(bytes).isEqualTo(SHORT_BYTEARRAY);
     }
 
+    @ParameterizedTest
+    @MethodSource("storagePolicies")
+    default void sizeShouldReturnTheSizeOfSavedData(BlobStore.StoragePolicy storagePolicy) {
+        BlobStore store = testee();
+        BucketName defaultBucketName = store.getDefaultBucketName();
+
+        BlobId blobId = Mono.from(store.save(defaultBucketName, ELEVEN_KILOBYTES, storagePolicy)).block();
+
+        assertThat(Mono.from(store.size(defaultBucketName, blobId)).block())
+            .isEqualTo(ELEVEN_KILOBYTES.length);
+    }
+
     @ParameterizedTest
     @MethodSource("storagePolicies")
     default void readBytesShouldReturnSavedByteSource(BlobStore.StoragePolicy storagePolicy) {
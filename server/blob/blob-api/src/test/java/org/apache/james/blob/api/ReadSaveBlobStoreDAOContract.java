@@ -37,6 +37,8 @@ import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.stream.Stream;
 
@@ -46,6 +48,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.io.ByteSource;
 
 import reactor.core.publisher.Flux;
@@ -138,6 +141,34 @@ public interface ReadSaveBlobStoreDAOContract {
             .isExactlyInstanceOf(ObjectNotFoundException.class);
     }
 
+    @Test
+    default void sizeShouldReturnTheSizeOfSavedData() {
+        BlobStoreDAO store = testee();
+
+        Mono.from(store.save(TEST_BUCKET_NAME, TEST_BLOB_ID, ELEVEN_KILOBYTES)).block();
+
+        assertThat(Mono.from(store.size(TEST_BUCKET_NAME, TEST_BLOB_ID)).block())
+            .isEqualTo(ELEVEN_KILOBYTES.length);
+    }
+
+    @Test
+    default void sizeShouldReturnZeroWhenEmptyData() {
+        BlobStoreDAO store = testee();
+
+        Mono.from(store.save(TEST_BUCKET_NAME, TEST_BLOB_ID, EMPTY_BYTEARRAY)).block();
+
+        assertThat(Mono.from(store.size(TEST_BUCKET_NAME, TEST_BLOB_ID)).block())
+            .isZero();
+    }
+
+    @Test
+    default void sizeShouldThrowWhenNotExisting() {
+        BlobStoreDAO store = testee();
+
+        assertThatThrownBy(() -> Mono.from(store.size(TEST_BUCKET_NAME, new TestBlobId("unknown"))).block())
+            .isExactlyInstanceOf(ObjectNotFoundException.class);
+    }
+
     @Test
     default void readBytesShouldReturnSavedData() {
         BlobStoreDAO store = testee();
@@ -160,6 +191,96 @@ public interface ReadSaveBlobStoreDAOContract {
         assertThat(bytes).isEqualTo(ELEVEN_KILOBYTES);
     }
 
+    @Test
+    default void batchReadBytesShouldReturnSavedData() {
+        BlobStoreDAO store = testee();
+
+        Mono.from(store.save(TEST_BUCKET_NAME, TEST_BLOB_ID, SHORT_BYTEARRAY)).block();
+        Mono.from(store.save(TEST_BUCKET_NAME, OTHER_TEST_BLOB_ID, ELEVEN_KILOBYTES)).block();
+
+        Map<BlobId, byte[]> blobs = Mono.from(store.readBytes(TEST_BUCKET_NAME, ImmutableList.of(TEST_BLOB_ID, OTHER_TEST_BLOB_ID))).block();
+
+        assertThat(blobs)
+            .hasSize(2)
+            .hasEntrySatisfying(TEST_BLOB_ID, bytes -> assertThat(bytes).isEqualTo(SHORT_BYTEARRAY))
+            .hasEntrySatisfying(OTHER_TEST_BLOB_ID, bytes -> assertThat(bytes).isEqualTo(ELEVEN_KILOBYTES));
+    }
+
+    @Test
+    default void batchReadBytesShouldOmitMissingBlobs() {
+        BlobStoreDAO store = testee();
+
+        Mono.from(store.save(TEST_BUCKET_NAME, TEST_BLOB_ID, SHORT_BYTEARRAY)).block();
+
+        Map<BlobId, byte[]> blobs = Mono.from(store.readBytes(TEST_BUCKET_NAME, ImmutableList.of(TEST_BLOB_ID, new TestBlobId("unknown")))).block();
+
+        assertThat(blobs).containsOnlyKeys(TEST_BLOB_ID);
+    }
+
+    @Test
+    default void batchReadBytesShouldReturnEmptyWhenNoBlobIds() {
+        BlobStoreDAO store = testee();
+
+        Map<BlobId, byte[]> blobs = Mono.from(store.readBytes(TEST_BUCKET_NAME, ImmutableList.of())).block();
+
+        assertThat(blobs).isEmpty();
+    }
+
+    @Test
+    default void batchReadBytesShouldTolerateDuplicatedBlobIds() {
+        BlobStoreDAO store = testee();
+
+        Mono.from(store.save(TEST_BUCKET_NAME, TEST_BLOB_ID, SHORT_BYTEARRAY)).block();
+
+        Map<BlobId, byte[]> blobs = Mono.from(store.readBytes(TEST_BUCKET_NAME, ImmutableList.of(TEST_BLOB_ID, TEST_BLOB_ID))).block();
+
+        assertThat(blobs).containsOnlyKeys(TEST_BLOB_ID);
+    }
+
+    @Test
+    default void batchReadBytesShouldWorkInDefaultBucket() {
+        BlobStoreDAO store = testee();
+
+        Mono.from(store.save(BucketName.DEFAULT, TEST_BLOB_ID, SHORT_BYTEARRAY)).block();
+
+        Map<BlobId, byte[]> blobs = Mono.from(store.readBytes(BucketName.DEFAULT, ImmutableList.of(TEST_BLOB_ID, OTHER_TEST_BLOB_ID))).block();
+
+        assertThat(blobs)
+            .hasSize(1)
+            .hasEntrySatisfying(TEST_BLOB_ID, bytes -> assertThat(bytes).isEqualTo(SHORT_BYTEARRAY));
+    }
+
+    @Test
+    default void existsShouldReturnExistingBlobIds() {
+        BlobStoreDAO store = testee();
+
+        Mono.from(store.save(TEST_BUCKET_NAME, TEST_BLOB_ID, SHORT_BYTEARRAY)).block();
+
+        Set<BlobId> existing = Mono.from(store.exists(TEST_BUCKET_NAME, ImmutableList.of(TEST_BLOB_ID, OTHER_TEST_BLOB_ID))).block();
+
+        assertThat(existing).containsOnly(TEST_BLOB_ID);
+    }
+
+    @Test
+    default void existsShouldReturnEmptyWhenBucketDoesNotExist() {
+        BlobStoreDAO store = testee();
+
+        Set<BlobId> existing = Mono.from(store.exists(BucketName.of("not-existing"), ImmutableList.of(TEST_BLOB_ID))).block();
+
+        assertThat(existing).isEmpty();
+    }
+
+    @Test
+    default void existsShouldWorkInDefaultBucket() {
+        BlobStoreDAO store = testee();
+
+        Mono.from(store.save(BucketName.DEFAULT, TEST_BLOB_ID, SHORT_BYTEARRAY)).block();
+
+        Set<BlobId> existing = Mono.from(store.exists(BucketName.DEFAULT, ImmutableList.of(TEST_BLOB_ID, OTHER_TEST_BLOB_ID))).block();
+
+        assertThat(existing).containsOnly(TEST_BLOB_ID);
+    }
+
     @Test
     default void readBytesShouldReturnBigSavedData() {
         BlobStoreDAO store = testee();
@@ -27,6 +27,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Set;
 
 import jakarta.inject.Inject;
 import jakarta.inject.Named;
@@ -50,6 +51,7 @@ import org.slf4j.LoggerFactory;
 import com.github.fge.lambdas.Throwing;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.io.ByteSource;
 
 import reactor.core.publisher.Flux;
@@ -113,6 +115,18 @@ public class CassandraBlobStoreDAO implements BlobStoreDAO {
             .map(this::byteBuffersToBytesArray);
     }
 
+    /**
+     * Only reads the blob metadata. Each blob is looked up by its own single partition query, concurrently, as a
+     * multi-partition IN query would load a single coordinator.
+     */
+    @Override
+    public Mono<Set<BlobId>> exists(BucketName bucketName, Collection<BlobId> blobIds) {
+        return Flux.fromIterable(ImmutableSet.copyOf(blobIds))
+            .flatMap(blobId -> selectRowCount(bucketName, blobId)
+                .thenReturn(blobId), DEFAULT_CONCURRENCY)
+            .collect(ImmutableSet.toImmutableSet());
+    }
+
     @Override
     public Mono<Void> save(BucketName bucketName, BlobId blobId, byte[] data) {
         Preconditions.checkNotNull(data);
@@ -25,14 +25,18 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.PushbackInputStream;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 
 import jakarta.inject.Inject;
 import jakarta.inject.Named;
 
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.james.blob.api.BlobId;
 import org.apache.james.blob.api.BlobStore;
+import org.apache.james.blob.api.BlobStoreDAO;
 import org.apache.james.blob.api.BucketName;
 import org.apache.james.blob.api.ObjectNotFoundException;
 import org.apache.james.blob.api.ObjectStoreIOException;
@@ -43,8 +47,12 @@ import org.reactivestreams.Publisher;
 
 import com.github.fge.lambdas.Throwing;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
 import com.google.common.io.ByteSource;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 public class CachedBlobStore implements BlobStore {
@@ -187,6 +195,40 @@ public class CachedBlobStore implements BlobStore {
         return readBytes(bucketName, blobId, LOW_COST);
     }
 
+    @Override
+    public Publisher<Map<BlobId, byte[]>> readBytes(BucketName bucketName, Collection<BlobId> blobIds) {
+        return backend.readBytes(bucketName, blobIds);
+    }
+
+    @Override
+    public Publisher<Map<BlobId, byte[]>> readBytes(BucketName bucketName, Collection<BlobId> blobIds, StoragePolicy storagePolicy) {
+        if (storagePolicy == LOW_COST || !getDefaultBucketName().equals(bucketName)) {
+            return readBytes(bucketName, blobIds);
+        }
+        ImmutableSet<BlobId> distinctBlobIds = ImmutableSet.copyOf(blobIds);
+        return Flux.fromIterable(distinctBlobIds)
+            .flatMap(blobId -> readFromCache(blobId).map(bytes -> Pair.of(blobId, bytes)), BlobStoreDAO.BATCH_READ_CONCURRENCY)
+            .collectMap(Pair::getKey, Pair::getValue)
+            .flatMap(cached -> readMissesFromBackend(bucketName, Sets.difference(distinctBlobIds, cached.keySet()).immutableCopy())
+                .map(fetched -> ImmutableMap.<BlobId, byte[]>builder()
+                    .putAll(cached)
+                    .putAll(fetched)
+                    .build()));
+    }
+
+    private Mono<Map<BlobId, byte[]>> readMissesFromBackend(BucketName bucketName, Collection<BlobId> misses) {
+        if (misses.isEmpty()) {
+            return Mono.just(ImmutableMap.of());
+        }
+        return Mono.from(metricFactory.decoratePublisherWithTimerMetric(BLOBSTORE_BACKEND_LATENCY_METRIC_NAME,
+                backend.readBytes(bucketName, misses)))
+            .flatMap(fetched -> Flux.fromIterable(fetched.entrySet())
+                .filter(entry -> isAbleToCache(entry.getValue()))
+                .flatMap(entry -> Mono.fromRunnable(metricRetrieveMissCount::increment)
+                    .then(saveInCache(entry.getKey(), entry.getValue())), BlobStoreDAO.BATCH_READ_CONCURRENCY)
+                .then(Mono.just(fetched)));
+    }
+
     @Override
     public InputStream read(BucketName bucketName, BlobId blobId) {
         return read(bucketName, blobId, LOW_COST);
@@ -197,6 +239,11 @@ public class CachedBlobStore implements BlobStore {
         return readReactive(bucketName, blobId, LOW_COST);
     }
 
+    @Override
+    public Publisher<Long> size(BucketName bucketName, BlobId blobId) {
+        return backend.size(bucketName, blobId);
+    }
+
     private Mono<byte[]> readBytesInDefaultBucket(BucketName bucketName, BlobId blobId) {
         return readFromCache(blobId).switchIfEmpty(
             readBytesFromBackend(bucketName, blobId)
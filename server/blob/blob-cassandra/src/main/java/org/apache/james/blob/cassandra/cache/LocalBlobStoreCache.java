@@ -0,0 +1,95 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.blob.cassandra.cache;
+
+import java.nio.ByteBuffer;
+
+import org.apache.james.blob.api.BlobId;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.annotations.VisibleForTesting;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Node-local {@link BlobStoreCache} bounded by the total size of the cached blobs.
+ *
+ * Eviction relies on Caffeine's W-TinyLFU policy, which keeps frequently read blobs over
+ * recently but rarely read ones. Entries can optionally be kept off-heap in direct buffers
+ * in order not to put pressure on the garbage collector.
+ */
+public class LocalBlobStoreCache implements BlobStoreCache {
+    private final Cache<BlobId, ByteBuffer> cache;
+    private final boolean offHeap;
+
+    public LocalBlobStoreCache(LocalBlobStoreCacheConfiguration configuration) {
+        this.offHeap = configuration.isOffHeap();
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(configuration.getMaxSizeInBytes())
+            .weigher((BlobId blobId, ByteBuffer data) -> data.capacity())
+            .expireAfterWrite(configuration.getTtl())
+            .build();
+    }
+
+    @Override
+    public Mono<Void> cache(BlobId blobId, byte[] data) {
+        return Mono.fromRunnable(() -> cache.put(blobId, store(data)));
+    }
+
+    @Override
+    public Mono<byte[]> read(BlobId blobId) {
+        return Mono.fromCallable(() -> cache.getIfPresent(blobId))
+            .map(this::load);
+    }
+
+    @Override
+    public Mono<Void> remove(BlobId blobId) {
+        return Mono.fromRunnable(() -> cache.invalidate(blobId));
+    }
+
+    @VisibleForTesting
+    void cleanUp() {
+        cache.cleanUp();
+    }
+
+    @VisibleForTesting
+    long weightedSize() {
+        return cache.policy().eviction()
+            .flatMap(eviction -> eviction.weightedSize().stream().boxed().findFirst())
+            .orElse(0L);
+    }
+
+    private ByteBuffer store(byte[] data) {
+        if (offHeap) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(data.length);
+            buffer.put(data);
+            return buffer.flip().asReadOnlyBuffer();
+        }
+        return ByteBuffer.wrap(data.clone()).asReadOnlyBuffer();
+    }
+
+    private byte[] load(ByteBuffer buffer) {
+        ByteBuffer view = buffer.duplicate();
+        byte[] data = new byte[view.remaining()];
+        view.get(data);
+        return data;
+    }
+}
@@ -0,0 +1,179 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.blob.cassandra.cache;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.james.util.DurationParser;
+import org.apache.james.util.SizeFormat;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+/**
+ * Configuration of the node-local {@link BlobStoreCache} tier stacked in front of the shared Cassandra cache.
+ */
+public class LocalBlobStoreCacheConfiguration {
+
+    public static class Builder {
+        private static final long DEFAULT_MAX_SIZE_IN_BYTES = 64L * 1024 * 1024;
+        private static final Duration DEFAULT_TTL = Duration.ofHours(1);
+
+        private Optional<Boolean> enabled = Optional.empty();
+        private Optional<Long> maxSizeInBytes = Optional.empty();
+        private Optional<Duration> ttl = Optional.empty();
+        private Optional<Boolean> offHeap = Optional.empty();
+
+        public Builder enabled(boolean enabled) {
+            this.enabled = Optional.of(enabled);
+            return this;
+        }
+
+        public Builder enabled(Optional<Boolean> enabled) {
+            enabled.ifPresent(this::enabled);
+            return this;
+        }
+
+        public Builder maxSizeInBytes(long maxSizeInBytes) {
+            Preconditions.checkArgument(maxSizeInBytes > 0, "'Max size' needs to be strictly positive");
+
+            this.maxSizeInBytes = Optional.of(maxSizeInBytes);
+            return this;
+        }
+
+        public Builder maxSizeInBytes(Optional<Long> maxSizeInBytes) {
+            maxSizeInBytes.ifPresent(this::maxSizeInBytes);
+            return this;
+        }
+
+        public Builder ttl(Duration ttl) {
+            Preconditions.checkNotNull(ttl, "'TTL' must not to be null");
+            Preconditions.checkArgument(!ttl.isNegative() && !ttl.isZero(), "'TTL' needs to be positive");
+
+            this.ttl = Optional.of(ttl);
+            return this;
+        }
+
+        public Builder ttl(Optional<Duration> ttl) {
+            ttl.ifPresent(this::ttl);
+            return this;
+        }
+
+        public Builder offHeap(boolean offHeap) {
+            this.offHeap = Optional.of(offHeap);
+            return this;
+        }
+
+        public Builder offHeap(Optional<Boolean> offHeap) {
+            offHeap.ifPresent(this::offHeap);
+            return this;
+        }
+
+        public LocalBlobStoreCacheConfiguration build() {
+            return new LocalBlobStoreCacheConfiguration(
+                enabled.orElse(false),
+                maxSizeInBytes.orElse(DEFAULT_MAX_SIZE_IN_BYTES),
+                ttl.orElse(DEFAULT_TTL),
+                offHeap.orElse(false));
+        }
+    }
+
+    public static final LocalBlobStoreCacheConfiguration DISABLED = builder().build();
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static LocalBlobStoreCacheConfiguration from(Configuration configuration) {
+        Optional<Boolean> enabled = Optional.ofNullable(configuration.getBoolean("cache.local.enable", null));
+        Optional<Long> maxSize = Optional.ofNullable(configuration.getString("cache.local.maxSizeInBytes", null))
+            .map(SizeFormat::parseAsByteCount);
+        Optional<Duration> ttl = Optional.ofNullable(configuration.getString("cache.local.ttl", null))
+            .map(value -> DurationParser.parse(value, ChronoUnit.SECONDS));
+        Optional<Boolean> offHeap = Optional.ofNullable(configuration.getBoolean("cache.local.offHeap", null));
+
+        return builder()
+            .enabled(enabled)
+            .maxSizeInBytes(maxSize)
+            .ttl(ttl)
+            .offHeap(offHeap)
+            .build();
+    }
+
+    private final boolean enabled;
+    private final long maxSizeInBytes;
+    private final Duration ttl;
+    private final boolean offHeap;
+
+    private LocalBlobStoreCacheConfiguration(boolean enabled, long maxSizeInBytes, Duration ttl, boolean offHeap) {
+        this.enabled = enabled;
+        this.maxSizeInBytes = maxSizeInBytes;
+        this.ttl = ttl;
+        this.offHeap = offHeap;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long getMaxSizeInBytes() {
+        return maxSizeInBytes;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public boolean isOffHeap() {
+        return offHeap;
+    }
+
+    @Override
+    public final boolean equals(Object o) {
+        if (o instanceof LocalBlobStoreCacheConfiguration) {
+            LocalBlobStoreCacheConfiguration that = (LocalBlobStoreCacheConfiguration) o;
+
+            return Objects.equals(this.enabled, that.enabled)
+                && Objects.equals(this.maxSizeInBytes, that.maxSizeInBytes)
+                && Objects.equals(this.ttl, that.ttl)
+                && Objects.equals(this.offHeap, that.offHeap);
+        }
+        return false;
+    }
+
+    @Override
+    public final int hashCode() {
+        return Objects.hash(enabled, maxSizeInBytes, ttl, offHeap);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("enabled", enabled)
+            .add("maxSizeInBytes", maxSizeInBytes)
+            .add("ttl", ttl)
+            .add("offHeap", offHeap)
+            .toString();
+    }
+}
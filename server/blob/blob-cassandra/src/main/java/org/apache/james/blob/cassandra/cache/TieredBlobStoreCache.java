@@ -0,0 +1,89 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.blob.cassandra.cache;
+
+import org.apache.james.blob.api.BlobId;
+import org.apache.james.metrics.api.Metric;
+import org.apache.james.metrics.api.MetricFactory;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Stacks a node-local {@link BlobStoreCache} in front of a shared one.
+ *
+ * Reads are served by the local tier first, then by the shared tier. Blobs found in the shared
+ * tier are promoted into the local one. Writes and removals are applied to both tiers.
+ *
+ * Hits and misses are counted per tier, on top of the overall metrics of {@link CachedBlobStore}.
+ */
+public class TieredBlobStoreCache implements BlobStoreCache {
+    public static final String BLOBSTORE_LOCAL_CACHE_HIT_COUNT_METRIC_NAME = "blobStoreLocalCacheHits";
+    public static final String BLOBSTORE_LOCAL_CACHE_MISS_COUNT_METRIC_NAME = "blobStoreLocalCacheMisses";
+    public static final String BLOBSTORE_SHARED_CACHE_HIT_COUNT_METRIC_NAME = "blobStoreSharedCacheHits";
+    public static final String BLOBSTORE_SHARED_CACHE_MISS_COUNT_METRIC_NAME = "blobStoreSharedCacheMisses";
+
+    private final BlobStoreCache local;
+    private final BlobStoreCache shared;
+    private final Metric localHitCount;
+    private final Metric localMissCount;
+    private final Metric sharedHitCount;
+    private final Metric sharedMissCount;
+
+    public TieredBlobStoreCache(BlobStoreCache local, BlobStoreCache shared, MetricFactory metricFactory) {
+        this.local = local;
+        this.shared = shared;
+        this.localHitCount = metricFactory.generate(BLOBSTORE_LOCAL_CACHE_HIT_COUNT_METRIC_NAME);
+        this.localMissCount = metricFactory.generate(BLOBSTORE_LOCAL_CACHE_MISS_COUNT_METRIC_NAME);
+        this.sharedHitCount = metricFactory.generate(BLOBSTORE_SHARED_CACHE_HIT_COUNT_METRIC_NAME);
+        this.sharedMissCount = metricFactory.generate(BLOBSTORE_SHARED_CACHE_MISS_COUNT_METRIC_NAME);
+    }
+
+    @Override
+    public Mono<Void> cache(BlobId blobId, byte[] data) {
+        return Mono.from(local.cache(blobId, data))
+            .then(Mono.from(shared.cache(blobId, data)));
+    }
+
+    @Override
+    public Mono<byte[]> read(BlobId blobId) {
+        return Mono.from(local.read(blobId))
+            .doOnNext(any -> localHitCount.increment())
+            .switchIfEmpty(Mono.defer(() -> {
+                localMissCount.increment();
+                return readFromShared(blobId);
+            }));
+    }
+
+    private Mono<byte[]> readFromShared(BlobId blobId) {
+        return Mono.from(shared.read(blobId))
+            .flatMap(data -> {
+                sharedHitCount.increment();
+                return Mono.from(local.cache(blobId, data))
+                    .thenReturn(data);
+            })
+            .switchIfEmpty(Mono.fromRunnable(sharedMissCount::increment));
+    }
+
+    @Override
+    public Mono<Void> remove(BlobId blobId) {
+        return Mono.from(local.remove(blobId))
+            .then(Mono.from(shared.remove(blobId)));
+    }
+}
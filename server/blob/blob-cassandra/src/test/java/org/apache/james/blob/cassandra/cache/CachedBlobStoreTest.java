@@ -62,6 +62,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
 
 import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
 import com.google.common.io.ByteSource;
 
 import reactor.core.publisher.Mono;
@@ -253,6 +254,45 @@ public class CachedBlobStoreTest implements BlobStoreContract {
         });
     }
 
+    @Test
+    public void batchReadBytesShouldCacheMissesWhenDefaultBucket() {
+        BlobId blobId = Mono.from(backend.save(DEFAULT_BUCKETNAME, APPROXIMATELY_FIVE_KILOBYTES, SIZE_BASED)).block();
+
+        SoftAssertions.assertSoftly(softly -> {
+            softly.assertThat(Mono.from(testee().readBytes(DEFAULT_BUCKETNAME, ImmutableList.of(blobId), SIZE_BASED)).block())
+                .containsOnlyKeys(blobId);
+            softly.assertThat(new ByteArrayInputStream(Mono.from(cache.read(blobId)).block()))
+                .hasSameContentAs(new ByteArrayInputStream(APPROXIMATELY_FIVE_KILOBYTES));
+        });
+    }
+
+    @Test
+    public void batchReadBytesShouldReadFromTheCache() {
+        BlobId blobId = Mono.from(testee().save(DEFAULT_BUCKETNAME, APPROXIMATELY_FIVE_KILOBYTES, SIZE_BASED)).block();
+        Mono.from(backend.delete(DEFAULT_BUCKETNAME, blobId)).block();
+
+        assertThat(new ByteArrayInputStream(Mono.from(testee().readBytes(DEFAULT_BUCKETNAME, ImmutableList.of(blobId), SIZE_BASED)).block().get(blobId)))
+            .hasSameContentAs(new ByteArrayInputStream(APPROXIMATELY_FIVE_KILOBYTES));
+    }
+
+    @Test
+    public void batchReadBytesShouldNotCacheWhenLowCost() {
+        BlobId blobId = Mono.from(backend.save(DEFAULT_BUCKETNAME, APPROXIMATELY_FIVE_KILOBYTES, SIZE_BASED)).block();
+
+        Mono.from(testee().readBytes(DEFAULT_BUCKETNAME, ImmutableList.of(blobId), LOW_COST)).block();
+
+        assertThat(Mono.from(cache.read(blobId)).blockOptional()).isEmpty();
+    }
+
+    @Test
+    public void batchReadBytesShouldOmitMissingBlobs() {
+        BlobId blobId = Mono.from(testee().save(DEFAULT_BUCKETNAME, APPROXIMATELY_FIVE_KILOBYTES, SIZE_BASED)).block();
+        BlobId missingBlobId = blobIdFactory().forPayload("missing".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(Mono.from(testee().readBytes(DEFAULT_BUCKETNAME, ImmutableList.of(blobId, missingBlobId), SIZE_BASED)).block())
+            .containsOnlyKeys(blobId);
+    }
+
     @Test
     public void shouldCacheWhenReadWithDefaultBucket() {
         BlobId blobId = Mono.from(backend.save(DEFAULT_BUCKETNAME, APPROXIMATELY_FIVE_KILOBYTES, SIZE_BASED)).block();
@@ -0,0 +1,90 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.blob.cassandra.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+
+import org.apache.commons.configuration2.PropertiesConfiguration;
+import org.junit.jupiter.api.Test;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+
+class LocalBlobStoreCacheConfigurationTest {
+    @Test
+    void shouldMatchBeanContract() {
+        EqualsVerifier.forClass(LocalBlobStoreCacheConfiguration.class)
+            .verify();
+    }
+
+    @Test
+    void shouldBeDisabledByDefault() {
+        assertThat(LocalBlobStoreCacheConfiguration.builder().build().isEnabled())
+            .isFalse();
+    }
+
+    @Test
+    void shouldThrowWhenConfiguredZeroMaxSize() {
+        assertThatThrownBy(() -> LocalBlobStoreCacheConfiguration.builder()
+            .maxSizeInBytes(0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldThrowWhenConfiguredNegativeTTL() {
+        assertThatThrownBy(() -> LocalBlobStoreCacheConfiguration.builder()
+            .ttl(Duration.ofSeconds(-1)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldThrowWhenConfiguredZeroTTL() {
+        assertThatThrownBy(() -> LocalBlobStoreCacheConfiguration.builder()
+            .ttl(Duration.ZERO))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void fromShouldReturnDefaultConfigurationWhenEmpty() {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+
+        assertThat(LocalBlobStoreCacheConfiguration.from(configuration))
+            .isEqualTo(LocalBlobStoreCacheConfiguration.DISABLED);
+    }
+
+    @Test
+    void fromShouldReturnSuppliedConfiguration() {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+        configuration.addProperty("cache.local.enable", "true");
+        configuration.addProperty("cache.local.maxSizeInBytes", "128 MiB");
+        configuration.addProperty("cache.local.ttl", "10 min");
+        configuration.addProperty("cache.local.offHeap", "true");
+
+        assertThat(LocalBlobStoreCacheConfiguration.from(configuration))
+            .isEqualTo(LocalBlobStoreCacheConfiguration.builder()
+                .enabled(true)
+                .maxSizeInBytes(128L * 1024 * 1024)
+                .ttl(Duration.ofMinutes(10))
+                .offHeap(true)
+                .build());
+    }
+}
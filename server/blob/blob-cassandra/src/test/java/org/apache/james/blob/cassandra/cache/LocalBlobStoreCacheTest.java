@@ -0,0 +1,121 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.blob.cassandra.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.apache.james.blob.api.BlobId;
+import org.apache.james.blob.api.HashBlobId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import reactor.core.publisher.Mono;
+
+class LocalBlobStoreCacheTest implements BlobStoreCacheContract {
+    private static final Duration _2_SEC_TTL = Duration.ofSeconds(2);
+
+    private LocalBlobStoreCache testee;
+    private HashBlobId.Factory blobIdFactory;
+
+    @BeforeEach
+    void setUp() {
+        blobIdFactory = new HashBlobId.Factory();
+        testee = new LocalBlobStoreCache(LocalBlobStoreCacheConfiguration.builder()
+            .enabled(true)
+            .ttl(_2_SEC_TTL)
+            .build());
+    }
+
+    @Override
+    public BlobStoreCache testee() {
+        return testee;
+    }
+
+    @Override
+    public BlobId.Factory blobIdFactory() {
+        return blobIdFactory;
+    }
+
+    @Test
+    void cacheShouldNotBeAffectedByLaterModificationsOfTheCachedArray() {
+        BlobId blobId = blobIdFactory.randomId();
+        byte[] data = EIGHT_KILOBYTES.clone();
+        Mono.from(testee.cache(blobId, data)).block();
+
+        data[0] = 'x';
+
+        assertThat(Mono.from(testee.read(blobId)).block()).containsExactly(EIGHT_KILOBYTES);
+    }
+
+    @Test
+    void cacheShouldBeBoundedByItsMaximumSize() {
+        LocalBlobStoreCache boundedCache = new LocalBlobStoreCache(LocalBlobStoreCacheConfiguration.builder()
+            .enabled(true)
+            .maxSizeInBytes(4L * EIGHT_KILOBYTES.length)
+            .build());
+
+        for (int i = 0; i < 20; i++) {
+            Mono.from(boundedCache.cache(blobIdFactory.randomId(), EIGHT_KILOBYTES)).block();
+        }
+        boundedCache.cleanUp();
+
+        assertThat(boundedCache.weightedSize()).isLessThanOrEqualTo(4L * EIGHT_KILOBYTES.length);
+    }
+
+    @Nested
+    class OffHeap implements BlobStoreCacheContract {
+        private LocalBlobStoreCache offHeapTestee;
+
+        @BeforeEach
+        void setUp() {
+            offHeapTestee = new LocalBlobStoreCache(LocalBlobStoreCacheConfiguration.builder()
+                .enabled(true)
+                .ttl(_2_SEC_TTL)
+                .offHeap(true)
+                .build());
+        }
+
+        @Override
+        public BlobStoreCache testee() {
+            return offHeapTestee;
+        }
+
+        @Override
+        public BlobId.Factory blobIdFactory() {
+            return blobIdFactory;
+        }
+
+        @Test
+        void readShouldBeRepeatable() {
+            BlobId blobId = blobIdFactory.randomId();
+            Mono.from(offHeapTestee.cache(blobId, EIGHT_KILOBYTES)).block();
+
+            Optional<byte[]> first = Mono.from(offHeapTestee.read(blobId)).blockOptional();
+            Optional<byte[]> second = Mono.from(offHeapTestee.read(blobId)).blockOptional();
+
+            assertThat(first).contains(EIGHT_KILOBYTES);
+            assertThat(second).contains(EIGHT_KILOBYTES);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.blob.cassandra.cache;
+
+import static org.apache.james.blob.cassandra.cache.TieredBlobStoreCache.BLOBSTORE_LOCAL_CACHE_HIT_COUNT_METRIC_NAME;
+import static org.apache.james.blob.cassandra.cache.TieredBlobStoreCache.BLOBSTORE_LOCAL_CACHE_MISS_COUNT_METRIC_NAME;
+import static org.apache.james.blob.cassandra.cache.TieredBlobStoreCache.BLOBSTORE_SHARED_CACHE_HIT_COUNT_METRIC_NAME;
+import static org.apache.james.blob.cassandra.cache.TieredBlobStoreCache.BLOBSTORE_SHARED_CACHE_MISS_COUNT_METRIC_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.apache.james.blob.api.BlobId;
+import org.apache.james.blob.api.HashBlobId;
+import org.apache.james.metrics.tests.RecordingMetricFactory;
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import reactor.core.publisher.Mono;
+
+class TieredBlobStoreCacheTest implements BlobStoreCacheContract {
+    private static final Duration _2_SEC_TTL = Duration.ofSeconds(2);
+
+    private LocalBlobStoreCache local;
+    private LocalBlobStoreCache shared;
+    private RecordingMetricFactory metricFactory;
+    private TieredBlobStoreCache testee;
+    private HashBlobId.Factory blobIdFactory;
+
+    @BeforeEach
+    void setUp() {
+        blobIdFactory = new HashBlobId.Factory();
+        LocalBlobStoreCacheConfiguration configuration = LocalBlobStoreCacheConfiguration.builder()
+            .enabled(true)
+            .ttl(_2_SEC_TTL)
+            .build();
+        local = new LocalBlobStoreCache(configuration);
+        shared = new LocalBlobStoreCache(configuration);
+        metricFactory = new RecordingMetricFactory();
+        testee = new TieredBlobStoreCache(local, shared, metricFactory);
+    }
+
+    @Override
+    public BlobStoreCache testee() {
+        return testee;
+    }
+
+    @Override
+    public BlobId.Factory blobIdFactory() {
+        return blobIdFactory;
+    }
+
+    @Test
+    void cacheShouldStoreInBothTiers() {
+        BlobId blobId = blobIdFactory.randomId();
+
+        Mono.from(testee.cache(blobId, EIGHT_KILOBYTES)).block();
+
+        SoftAssertions.assertSoftly(softly -> {
+            softly.assertThat(local.read(blobId).block()).containsExactly(EIGHT_KILOBYTES);
+            softly.assertThat(shared.read(blobId).block()).containsExactly(EIGHT_KILOBYTES);
+        });
+    }
+
+    @Test
+    void removeShouldRemoveFromBothTiers() {
+        BlobId blobId = blobIdFactory.randomId();
+        Mono.from(testee.cache(blobId, EIGHT_KILOBYTES)).block();
+
+        Mono.from(testee.remove(blobId)).block();
+
+        SoftAssertions.assertSoftly(softly -> {
+            softly.assertThat(local.read(blobId).blockOptional()).isEmpty();
+            softly.assertThat(shared.read(blobId).blockOptional()).isEmpty();
+        });
+    }
+
+    @Test
+    void readShouldPromoteSharedHitsToTheLocalTier() {
+        BlobId blobId = blobIdFactory.randomId();
+        shared.cache(blobId, EIGHT_KILOBYTES).block();
+
+        assertThat(testee.read(blobId).block()).containsExactly(EIGHT_KILOBYTES);
+
+        assertThat(local.read(blobId).block()).containsExactly(EIGHT_KILOBYTES);
+    }
+
+    @Test
+    void localHitShouldOnlyBeCountedOnTheLocalTier() {
+        BlobId blobId = blobIdFactory.randomId();
+        Mono.from(testee.cache(blobId, EIGHT_KILOBYTES)).block();
+
+        testee.read(blobId).block();
+
+        SoftAssertions.assertSoftly(softly -> {
+            softly.assertThat(metricFactory.countFor(BLOBSTORE_LOCAL_CACHE_HIT_COUNT_METRIC_NAME)).isEqualTo(1);
+            softly.assertThat(metricFactory.countFor(BLOBSTORE_LOCAL_CACHE_MISS_COUNT_METRIC_NAME)).isZero();
+            softly.assertThat(metricFactory.countFor(BLOBSTORE_SHARED_CACHE_HIT_COUNT_METRIC_NAME)).isZero();
+            softly.assertThat(metricFactory.countFor(BLOBSTORE_SHARED_CACHE_MISS_COUNT_METRIC_NAME)).isZero();
+        });
+    }
+
+    @Test
+    void sharedHitShouldBeCountedAsALocalMiss() {
+        BlobId blobId = blobIdFactory.randomId();
+        shared.cache(blobId, EIGHT_KILOBYTES).block();
+
+        testee.read(blobId).block();
+
+        SoftAssertions.assertSoftly(softly -> {
+            softly.assertThat(metricFactory.countFor(BLOBSTORE_LOCAL_CACHE_HIT_COUNT_METRIC_NAME)).isZero();
+            softly.assertThat(metricFactory.countFor(BLOBSTORE_LOCAL_CACHE_MISS_COUNT_METRIC_NAME)).isEqualTo(1);
+            softly.assertThat(metricFactory.countFor(BLOBSTORE_SHARED_CACHE_HIT_COUNT_METRIC_NAME)).isEqualTo(1);
+            softly.assertThat(metricFactory.countFor(BLOBSTORE_SHARED_CACHE_MISS_COUNT_METRIC_NAME)).isZero();
+        });
+    }
+
+    @Test
+    void missShouldBeCountedOnBothTiers() {
+        BlobId blobId = blobIdFactory.randomId();
+
+        assertThat(testee.read(blobId).blockOptional()).isEmpty();
+
+        SoftAssertions.assertSoftly(softly -> {
+            softly.assertThat(metricFactory.countFor(BLOBSTORE_LOCAL_CACHE_MISS_COUNT_METRIC_NAME)).isEqualTo(1);
+            softly.assertThat(metricFactory.countFor(BLOBSTORE_SHARED_CACHE_MISS_COUNT_METRIC_NAME)).isEqualTo(1);
+        });
+    }
+}
@@ -25,6 +25,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.charset.Charset;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import org.apache.commons.lang3.tuple.Pair;
@@ -34,6 +35,7 @@ import org.reactivestreams.Publisher;
 
 import com.github.fge.lambdas.Throwing;
 import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.hash.HashCode;
 import com.google.common.hash.HashFunction;
 import com.google.common.io.ByteProcessor;
@@ -79,13 +81,25 @@ public interface Store<T, I> {
         private final Decoder<T> decoder;
         private final BlobStore blobStore;
         private final BucketName bucketName;
+        private final ImmutableSet<BlobType> streamedBlobTypes;
 
         public Impl(BlobPartsId.Factory<I> idFactory, Encoder<T> encoder, Decoder<T> decoder, BlobStore blobStore, BucketName bucketName) {
+            this(idFactory, encoder, decoder, blobStore, bucketName, ImmutableSet.of());
+        }
+
+        /**
+         * @param streamedBlobTypes Blobs of these types are not copied upon read: their content is streamed from the
+         *                          blob store each time the decoder accesses it. Their absence is only detected upon
+         *                          access, and decoded values must not outlive them.
+         */
+        public Impl(BlobPartsId.Factory<I> idFactory, Encoder<T> encoder, Decoder<T> decoder, BlobStore blobStore, BucketName bucketName,
+                    Set<BlobType> streamedBlobTypes) {
             this.idFactory = idFactory;
             this.encoder = encoder;
             this.decoder = decoder;
             this.blobStore = blobStore;
             this.bucketName = bucketName;
+            this.streamedBlobTypes = ImmutableSet.copyOf(streamedBlobTypes);
         }
 
         @Override
@@ -105,7 +119,7 @@ public interface Store<T, I> {
         public Mono<T> read(I blobIds) {
             return Flux.fromIterable(blobIds.asMap().entrySet())
                 .publishOn(ReactorUtils.BLOCKING_CALL_WRAPPER)
-                .flatMap(entry -> readByteSource(bucketName, entry.getValue(), entry.getKey().getStoragePolicy())
+                .flatMap(entry -> readByteSource(entry.getKey(), entry.getValue())
                     .map(result -> Pair.of(entry.getKey(), result)))
                 .collectMap(Map.Entry::getKey, Pair::getValue)
                 // Critical to correctly propagate errors.
@@ -115,6 +129,13 @@ public interface Store<T, I> {
                     .subscribeOn(ReactorUtils.BLOCKING_CALL_WRAPPER));
         }
 
+        private Mono<CloseableByteSource> readByteSource(BlobType blobType, BlobId blobId) {
+            if (streamedBlobTypes.contains(blobType)) {
+                return Mono.just(new StreamedCloseableByteSource(blobStore, bucketName, blobId, blobType.getStoragePolicy()));
+            }
+            return readByteSource(bucketName, blobId, blobType.getStoragePolicy());
+        }
+
         private Mono<CloseableByteSource> readByteSource(BucketName bucketName, BlobId blobId, StoragePolicy storagePolicy) {
             return Mono.usingWhen(blobStore.readReactive(bucketName, blobId, storagePolicy),
                 Throwing.function(in -> {
@@ -146,6 +167,48 @@ public interface Store<T, I> {
 
     }
 
+    /**
+     * Streams the content of a blob straight from the blob store. The size is retrieved upon first request from the
+     * metadata held by the blob store, without reading the content.
+     */
+    class StreamedCloseableByteSource extends CloseableByteSource {
+        private final BlobStore blobStore;
+        private final BucketName bucketName;
+        private final BlobId blobId;
+        private final StoragePolicy storagePolicy;
+        private volatile Long size;
+
+        StreamedCloseableByteSource(BlobStore blobStore, BucketName bucketName, BlobId blobId, StoragePolicy storagePolicy) {
+            this.blobStore = blobStore;
+            this.bucketName = bucketName;
+            this.blobId = blobId;
+            this.storagePolicy = storagePolicy;
+        }
+
+        @Override
+        public InputStream openStream() {
+            return blobStore.read(bucketName, blobId, storagePolicy);
+        }
+
+        @Override
+        public Optional<Long> sizeIfKnown() {
+            return Optional.fromNullable(size);
+        }
+
+        @Override
+        public long size() {
+            if (size == null) {
+                size = Mono.from(blobStore.size(bucketName, blobId)).block();
+            }
+            return size;
+        }
+
+        @Override
+        public void close() {
+
+        }
+    }
+
     class DelegateCloseableByteSource extends CloseableByteSource {
         private final ByteSource wrapped;
         private final Closeable closeable;
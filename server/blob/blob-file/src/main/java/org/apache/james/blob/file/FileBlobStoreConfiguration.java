@@ -0,0 +1,257 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.blob.file;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.james.util.DurationParser;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+public class FileBlobStoreConfiguration {
+    public enum Layout {
+        /**
+         * Every blob of a bucket is stored directly within the bucket directory.
+         */
+        FLAT,
+        /**
+         * Blobs are spread within nested directories named after a hash of their identifier, which bounds the
+         * size of each directory. Blobs written with the {@link #FLAT} layout remain readable.
+         */
+        SHARDED
+    }
+
+    public enum FsyncMode {
+        /**
+         * Rely on the operating system for flushing written blobs to the disk.
+         */
+        NONE,
+        /**
+         * Every save completes once the blob and its directory entry had been flushed to the disk.
+         */
+        IMMEDIATE,
+        /**
+         * Saves happening within the same window are flushed to the disk as a batch. Each blob is still flushed on its
+         * own, but each directory is flushed once per batch, and the batch is flushed by a single I/O thread. A save
+         * completes once its batch had been flushed.
+         */
+        BATCHED
+    }
+
+    public static class Builder {
+        private Optional<Layout> layout;
+        private Optional<Integer> shardingDepth;
+        private Optional<Integer> ioThreads;
+        private Optional<FsyncMode> fsyncMode;
+        private Optional<Duration> fsyncBatchWindow;
+        private Optional<Integer> fsyncMaxBatchSize;
+
+        private Builder() {
+            this.layout = Optional.empty();
+            this.shardingDepth = Optional.empty();
+            this.ioThreads = Optional.empty();
+            this.fsyncMode = Optional.empty();
+            this.fsyncBatchWindow = Optional.empty();
+            this.fsyncMaxBatchSize = Optional.empty();
+        }
+
+        public Builder layout(Layout layout) {
+            return layout(Optional.of(layout));
+        }
+
+        public Builder layout(Optional<Layout> layout) {
+            this.layout = layout;
+            return this;
+        }
+
+        public Builder shardingDepth(int shardingDepth) {
+            return shardingDepth(Optional.of(shardingDepth));
+        }
+
+        public Builder shardingDepth(Optional<Integer> shardingDepth) {
+            shardingDepth.ifPresent(depth ->
+                Preconditions.checkArgument(depth >= 1 && depth <= MAXIMUM_SHARDING_DEPTH, "'shardingDepth' needs to be between 1 and %s", MAXIMUM_SHARDING_DEPTH));
+            this.shardingDepth = shardingDepth;
+            return this;
+        }
+
+        public Builder ioThreads(int ioThreads) {
+            return ioThreads(Optional.of(ioThreads));
+        }
+
+        public Builder ioThreads(Optional<Integer> ioThreads) {
+            ioThreads.ifPresent(threads ->
+                Preconditions.checkArgument(threads > 0, "'ioThreads' needs to be strictly positive"));
+            this.ioThreads = ioThreads;
+            return this;
+        }
+
+        public Builder fsyncMode(FsyncMode fsyncMode) {
+            return fsyncMode(Optional.of(fsyncMode));
+        }
+
+        public Builder fsyncMode(Optional<FsyncMode> fsyncMode) {
+            this.fsyncMode = fsyncMode;
+            return this;
+        }
+
+        public Builder fsyncBatchWindow(Duration fsyncBatchWindow) {
+            return fsyncBatchWindow(Optional.of(fsyncBatchWindow));
+        }
+
+        public Builder fsyncBatchWindow(Optional<Duration> fsyncBatchWindow) {
+            fsyncBatchWindow.ifPresent(window ->
+                Preconditions.checkArgument(!window.isNegative() && !window.isZero(), "'fsyncBatchWindow' needs to be strictly positive"));
+            this.fsyncBatchWindow = fsyncBatchWindow;
+            return this;
+        }
+
+        public Builder fsyncMaxBatchSize(int fsyncMaxBatchSize) {
+            return fsyncMaxBatchSize(Optional.of(fsyncMaxBatchSize));
+        }
+
+        public Builder fsyncMaxBatchSize(Optional<Integer> fsyncMaxBatchSize) {
+            fsyncMaxBatchSize.ifPresent(size ->
+                Preconditions.checkArgument(size > 0, "'fsyncMaxBatchSize' needs to be strictly positive"));
+            this.fsyncMaxBatchSize = fsyncMaxBatchSize;
+            return this;
+        }
+
+        public FileBlobStoreConfiguration build() {
+            return new FileBlobStoreConfiguration(
+                layout.orElse(Layout.FLAT),
+                shardingDepth.orElse(DEFAULT_SHARDING_DEPTH),
+                ioThreads,
+                fsyncMode.orElse(FsyncMode.NONE),
+                fsyncBatchWindow.orElse(DEFAULT_FSYNC_BATCH_WINDOW),
+                fsyncMaxBatchSize.orElse(DEFAULT_FSYNC_MAX_BATCH_SIZE));
+        }
+    }
+
+    public static final int MAXIMUM_SHARDING_DEPTH = 4;
+    public static final int DEFAULT_SHARDING_DEPTH = 2;
+    public static final Duration DEFAULT_FSYNC_BATCH_WINDOW = Duration.ofMillis(5);
+    public static final int DEFAULT_FSYNC_MAX_BATCH_SIZE = 256;
+    public static final FileBlobStoreConfiguration DEFAULT = builder().build();
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static FileBlobStoreConfiguration from(Configuration configuration) {
+        Optional<Layout> layout = Optional.ofNullable(configuration.getString("file.layout", null))
+            .map(value -> Layout.valueOf(value.trim().toUpperCase(Locale.US)));
+        Optional<Integer> shardingDepth = Optional.ofNullable(configuration.getInteger("file.sharding.depth", null));
+        Optional<Integer> ioThreads = Optional.ofNullable(configuration.getInteger("file.io.threads", null));
+        Optional<FsyncMode> fsyncMode = Optional.ofNullable(configuration.getString("file.fsync.mode", null))
+            .map(value -> FsyncMode.valueOf(value.trim().toUpperCase(Locale.US)));
+        Optional<Duration> fsyncBatchWindow = Optional.ofNullable(configuration.getString("file.fsync.batch.window", null))
+            .map(value -> DurationParser.parse(value, ChronoUnit.MILLIS));
+        Optional<Integer> fsyncMaxBatchSize = Optional.ofNullable(configuration.getInteger("file.fsync.max.batch.size", null));
+
+        return builder()
+            .layout(layout)
+            .shardingDepth(shardingDepth)
+            .ioThreads(ioThreads)
+            .fsyncMode(fsyncMode)
+            .fsyncBatchWindow(fsyncBatchWindow)
+            .fsyncMaxBatchSize(fsyncMaxBatchSize)
+            .build();
+    }
+
+    private final Layout layout;
+    private final int shardingDepth;
+    private final Optional<Integer> ioThreads;
+    private final FsyncMode fsyncMode;
+    private final Duration fsyncBatchWindow;
+    private final int fsyncMaxBatchSize;
+
+    private FileBlobStoreConfiguration(Layout layout, int shardingDepth, Optional<Integer> ioThreads, FsyncMode fsyncMode,
+                                       Duration fsyncBatchWindow, int fsyncMaxBatchSize) {
+        this.layout = layout;
+        this.shardingDepth = shardingDepth;
+        this.ioThreads = ioThreads;
+        this.fsyncMode = fsyncMode;
+        this.fsyncBatchWindow = fsyncBatchWindow;
+        this.fsyncMaxBatchSize = fsyncMaxBatchSize;
+    }
+
+    public Layout getLayout() {
+        return layout;
+    }
+
+    public int getShardingDepth() {
+        return shardingDepth;
+    }
+
+    public Optional<Integer> getIoThreads() {
+        return ioThreads;
+    }
+
+    public FsyncMode getFsyncMode() {
+        return fsyncMode;
+    }
+
+    public Duration getFsyncBatchWindow() {
+        return fsyncBatchWindow;
+    }
+
+    public int getFsyncMaxBatchSize() {
+        return fsyncMaxBatchSize;
+    }
+
+    @Override
+    public final boolean equals(Object o) {
+        if (o instanceof FileBlobStoreConfiguration) {
+            FileBlobStoreConfiguration that = (FileBlobStoreConfiguration) o;
+
+            return Objects.equals(this.shardingDepth, that.shardingDepth)
+                && Objects.equals(this.fsyncMaxBatchSize, that.fsyncMaxBatchSize)
+                && Objects.equals(this.layout, that.layout)
+                && Objects.equals(this.ioThreads, that.ioThreads)
+                && Objects.equals(this.fsyncMode, that.fsyncMode)
+                && Objects.equals(this.fsyncBatchWindow, that.fsyncBatchWindow);
+        }
+        return false;
+    }
+
+    @Override
+    public final int hashCode() {
+        return Objects.hash(layout, shardingDepth, ioThreads, fsyncMode, fsyncBatchWindow, fsyncMaxBatchSize);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("layout", layout)
+            .add("shardingDepth", shardingDepth)
+            .add("ioThreads", ioThreads)
+            .add("fsyncMode", fsyncMode)
+            .add("fsyncBatchWindow", fsyncBatchWindow)
+            .add("fsyncMaxBatchSize", fsyncMaxBatchSize)
+            .toString();
+    }
+}
@@ -19,23 +19,33 @@
 
 package org.apache.james.blob.file;
 
-import java.io.File;
-import java.io.FileInputStream;
+import static org.apache.james.util.ReactorUtils.DEFAULT_CONCURRENCY;
+
 import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
 import java.nio.channels.FileChannel;
 import java.nio.channels.FileLock;
 import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.Duration;
 import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
+import jakarta.annotation.PreDestroy;
 import jakarta.inject.Inject;
 
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.function.IOFunction;
 import org.apache.james.blob.api.BlobId;
 import org.apache.james.blob.api.BlobStoreDAO;
 import org.apache.james.blob.api.BucketName;
@@ -46,40 +56,73 @@ import org.reactivestreams.Publisher;
 
 import com.github.fge.lambdas.Throwing;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
 import com.google.common.io.ByteSource;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 import reactor.core.scheduler.Schedulers;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
 import reactor.util.retry.Retry;
 
 public class FileBlobStoreDAO implements BlobStoreDAO {
+    private static final HashFunction SHARDING_HASH_FUNCTION = Hashing.murmur3_32_fixed();
+    private static final String IO_SCHEDULER_NAME = "file-blob-store-io";
+    private static final int IO_SCHEDULER_TTL_SECONDS = 60;
 
-    private final File root;
-    private final  BlobId.Factory blobIdFactory;
+    private final Path root;
+    private final BlobId.Factory blobIdFactory;
+    private final FileBlobStoreConfiguration configuration;
+    private final Scheduler ioScheduler;
+    private final Optional<FsyncBatcher> fsyncBatcher;
 
-    @Inject
     public FileBlobStoreDAO(FileSystem fileSystem, BlobId.Factory blobIdFactory) throws FileNotFoundException {
-        root = fileSystem.getFile("file://var/blob");
+        this(fileSystem, blobIdFactory, FileBlobStoreConfiguration.DEFAULT);
+    }
+
+    @Inject
+    public FileBlobStoreDAO(FileSystem fileSystem, BlobId.Factory blobIdFactory, FileBlobStoreConfiguration configuration) throws FileNotFoundException {
+        this.root = fileSystem.getFile("file://var/blob").toPath();
         this.blobIdFactory = blobIdFactory;
+        this.configuration = configuration;
+        this.ioScheduler = configuration.getIoThreads()
+            .map(ioThreads -> Schedulers.newBoundedElastic(ioThreads, Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE,
+                IO_SCHEDULER_NAME, IO_SCHEDULER_TTL_SECONDS, true))
+            .orElse(Schedulers.boundedElastic());
+        this.fsyncBatcher = Optional.of(configuration.getFsyncMode())
+            .filter(FileBlobStoreConfiguration.FsyncMode.BATCHED::equals)
+            .map(any -> new FsyncBatcher(configuration.getFsyncBatchWindow(), configuration.getFsyncMaxBatchSize(), ioScheduler));
+    }
+
+    @PreDestroy
+    public void close() {
+        fsyncBatcher.ifPresent(FsyncBatcher::dispose);
+        if (configuration.getIoThreads().isPresent()) {
+            ioScheduler.dispose();
+        }
     }
 
     @Override
     public InputStream read(BucketName bucketName, BlobId blobId) throws ObjectStoreIOException, ObjectNotFoundException {
-        File bucketRoot = getBucketRoot(bucketName);
-        File blob = new File(bucketRoot, blobId.asString());
         try {
-            return new FileInputStream(blob);
-        } catch (FileNotFoundException e) {
+            return readBlob(getBucketRoot(bucketName), blobId, Files::newInputStream);
+        } catch (NoSuchFileException e) {
             throw new ObjectNotFoundException(String.format("Cannot locate %s within %s", blobId.asString(), bucketName.asString()), e);
+        } catch (IOException e) {
+            throw new ObjectStoreIOException("IOException occured", e);
         }
     }
 
-    private File getBucketRoot(BucketName bucketName) {
-        File bucketRoot = new File(root, bucketName.asString());
-        if (!bucketRoot.exists()) {
+    private Path getBucketRoot(BucketName bucketName) {
+        Path bucketRoot = root.resolve(bucketName.asString());
+        if (!Files.isDirectory(bucketRoot)) {
             try {
-                FileUtils.forceMkdir(bucketRoot);
+                Files.createDirectories(bucketRoot);
             } catch (IOException e) {
                 throw new ObjectStoreIOException("Cannot create bucket", e);
             }
@@ -87,74 +130,140 @@ public class FileBlobStoreDAO implements BlobStoreDAO {
         return bucketRoot;
     }
 
+    private Path blobPath(Path bucketRoot, BlobId blobId) {
+        String fileName = blobId.asString();
+        if (configuration.getLayout() == FileBlobStoreConfiguration.Layout.FLAT) {
+            return bucketRoot.resolve(fileName);
+        }
+        String hash = SHARDING_HASH_FUNCTION.hashString(fileName, StandardCharsets.UTF_8).toString();
+        Path directory = bucketRoot;
+        for (int level = 0; level < configuration.getShardingDepth(); level++) {
+            directory = directory.resolve(hash.substring(2 * level, 2 * level + 2));
+        }
+        return directory.resolve(fileName);
+    }
+
+    private ImmutableList<Path> candidatePaths(Path bucketRoot, BlobId blobId) {
+        if (configuration.getLayout() == FileBlobStoreConfiguration.Layout.FLAT) {
+            return ImmutableList.of(blobPath(bucketRoot, blobId));
+        }
+        // Blobs written with the flat layout are still looked up at their former location
+        return ImmutableList.of(blobPath(bucketRoot, blobId), bucketRoot.resolve(blobId.asString()));
+    }
+
+    private <T> T readBlob(Path bucketRoot, BlobId blobId, IOFunction<Path, T> reader) throws IOException {
+        try {
+            return reader.apply(blobPath(bucketRoot, blobId));
+        } catch (NoSuchFileException e) {
+            if (configuration.getLayout() == FileBlobStoreConfiguration.Layout.FLAT) {
+                throw e;
+            }
+            return reader.apply(bucketRoot.resolve(blobId.asString()));
+        }
+    }
+
     @Override
     public Mono<InputStream> readReactive(BucketName bucketName, BlobId blobId) {
         return Mono.fromCallable(() -> read(bucketName, blobId))
-            .subscribeOn(Schedulers.boundedElastic());
+            .subscribeOn(ioScheduler);
     }
 
     @Override
     public Mono<byte[]> readBytes(BucketName bucketName, BlobId blobId) {
-        return Mono.fromCallable(() -> {
-            File bucketRoot = getBucketRoot(bucketName);
-            File blob = new File(bucketRoot, blobId.asString());
-            return FileUtils.readFileToByteArray(blob);
-        }).onErrorResume(NoSuchFileException.class, e -> Mono.error(new ObjectNotFoundException(String.format("Cannot locate %s within %s", blobId.asString(), bucketName.asString()), e)))
-            .subscribeOn(Schedulers.boundedElastic());
+        return Mono.fromCallable(() -> readBlob(getBucketRoot(bucketName), blobId, Files::readAllBytes))
+            .onErrorResume(NoSuchFileException.class, e -> Mono.error(new ObjectNotFoundException(String.format("Cannot locate %s within %s", blobId.asString(), bucketName.asString()), e)))
+            .subscribeOn(ioScheduler);
+    }
+
+    @Override
+    public Mono<Long> size(BucketName bucketName, BlobId blobId) {
+        return Mono.fromCallable(() -> readBlob(getBucketRoot(bucketName), blobId, Files::size))
+            .onErrorResume(NoSuchFileException.class, e -> Mono.error(new ObjectNotFoundException(String.format("Cannot locate %s within %s", blobId.asString(), bucketName.asString()), e)))
+            .subscribeOn(ioScheduler);
+    }
+
+    @Override
+    public Mono<Map<BlobId, byte[]>> readBytes(BucketName bucketName, Collection<BlobId> blobIds) {
+        return Mono.fromCallable(() -> getBucketRoot(bucketName))
+            .flatMapMany(bucketRoot -> Flux.fromIterable(ImmutableSet.copyOf(blobIds))
+                .flatMap(blobId -> Mono.fromCallable(() -> Tuples.of(blobId, readBlob(bucketRoot, blobId, Files::readAllBytes)))
+                    .onErrorResume(NoSuchFileException.class, e -> Mono.empty())
+                    .subscribeOn(ioScheduler), DEFAULT_CONCURRENCY))
+            .collectMap(Tuple2::getT1, Tuple2::getT2)
+            .onErrorMap(IOException.class, e -> new ObjectStoreIOException("IOException occured", e))
+            .subscribeOn(ioScheduler);
+    }
+
+    @Override
+    public Mono<Set<BlobId>> exists(BucketName bucketName, Collection<BlobId> blobIds) {
+        return Mono.<Set<BlobId>>fromCallable(() -> {
+                Path bucketRoot = getBucketRoot(bucketName);
+                return blobIds.stream()
+                    .filter(blobId -> candidatePaths(bucketRoot, blobId).stream().anyMatch(Files::exists))
+                    .collect(ImmutableSet.toImmutableSet());
+            })
+            .subscribeOn(ioScheduler);
     }
 
     @Override
     public Mono<Void> save(BucketName bucketName, BlobId blobId, byte[] data) {
         Preconditions.checkNotNull(data);
 
-        return Mono.fromRunnable(() -> {
-                File bucketRoot = getBucketRoot(bucketName);
-                File blob = new File(bucketRoot, blobId.asString());
-                save(data, blob);
-            })
-            .subscribeOn(Schedulers.boundedElastic())
-            .then();
+        return Mono.fromCallable(() -> save(bucketName, blobId, out -> out.write(data)))
+            .subscribeOn(ioScheduler)
+            .flatMap(this::sync);
     }
 
     @Override
     public Mono<Void> save(BucketName bucketName, BlobId blobId, InputStream inputStream) {
         Preconditions.checkNotNull(inputStream);
-        return Mono.fromRunnable(() -> {
-                File bucketRoot = getBucketRoot(bucketName);
-                File blob = new File(bucketRoot, blobId.asString());
-                save(inputStream, blob);
-            })
-            .subscribeOn(Schedulers.boundedElastic())
-            .then()
+        return Mono.fromCallable(() -> save(bucketName, blobId, inputStream::transferTo))
+            .subscribeOn(ioScheduler)
             .retryWhen(Retry.backoff(10, Duration.ofMillis(100))
-                .filter(e -> e instanceof OverlappingFileLockException));
+                .filter(e -> e instanceof OverlappingFileLockException))
+            .flatMap(this::sync);
+    }
+
+    @FunctionalInterface
+    private interface BlobWriter {
+        void write(OutputStream out) throws IOException;
     }
 
-    private void save(InputStream inputStream, File blob) {
-        if (blob.exists()) {
-            return;
+    private Path save(BucketName bucketName, BlobId blobId, BlobWriter writer) {
+        Path bucketRoot = getBucketRoot(bucketName);
+        Path blob = blobPath(bucketRoot, blobId);
+        if (candidatePaths(bucketRoot, blobId).stream().anyMatch(Files::exists)) {
+            return blob;
         }
 
-        try (FileOutputStream out = new FileOutputStream(blob);
-             FileChannel channel = out.getChannel();
-             FileLock fileLock = channel.lock()) {
-            inputStream.transferTo(out);
+        try {
+            Files.createDirectories(blob.getParent());
+            try (FileChannel channel = FileChannel.open(blob, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                 FileLock fileLock = channel.lock()) {
+                // The stream is not closed on its own: closing the channel is enough, and must happen after the lock release
+                writer.write(Channels.newOutputStream(channel));
+            }
+            return blob;
         } catch (IOException e) {
             throw new ObjectStoreIOException("IOException occured", e);
         }
     }
 
-    private void save(byte[] data, File blob) {
-        if (blob.exists()) {
-            return;
-        }
-
-        try (FileOutputStream out = new FileOutputStream(blob);
-             FileChannel channel = out.getChannel();
-             FileLock fileLock = channel.lock()) {
-            out.write(data);
-        } catch (IOException e) {
-            throw new ObjectStoreIOException("IOException occured", e);
+    private Mono<Void> sync(Path blob) {
+        switch (configuration.getFsyncMode()) {
+            case IMMEDIATE:
+                return Mono.fromCallable(() -> {
+                        FsyncBatcher.fsync(ImmutableList.of(blob));
+                        return blob;
+                    })
+                    .subscribeOn(ioScheduler)
+                    .onErrorMap(IOException.class, e -> new ObjectStoreIOException("Cannot flush " + blob, e))
+                    .then();
+            case BATCHED:
+                return fsyncBatcher.get().sync(blob)
+                    .onErrorMap(IOException.class, e -> new ObjectStoreIOException("Cannot flush " + blob, e));
+            default:
+                return Mono.empty();
         }
     }
 
@@ -175,11 +284,11 @@ public class FileBlobStoreDAO implements BlobStoreDAO {
         Preconditions.checkNotNull(bucketName);
 
         return Mono.fromRunnable(Throwing.runnable(() -> {
-                File bucketRoot = getBucketRoot(bucketName);
-                File blob = new File(bucketRoot, blobId.asString());
-                FileUtils.deleteQuietly(blob);
+                Path bucketRoot = getBucketRoot(bucketName);
+                candidatePaths(bucketRoot, blobId)
+                    .forEach(blob -> FileUtils.deleteQuietly(blob.toFile()));
             }))
-            .subscribeOn(Schedulers.boundedElastic())
+            .subscribeOn(ioScheduler)
             .then();
     }
 
@@ -193,30 +302,31 @@ public class FileBlobStoreDAO implements BlobStoreDAO {
     @Override
     public Mono<Void> deleteBucket(BucketName bucketName) {
         return Mono.fromRunnable(Throwing.runnable(() -> {
-                File bucketRoot = new File(root, bucketName.asString());
-                FileUtils.deleteQuietly(bucketRoot);
+                Path bucketRoot = root.resolve(bucketName.asString());
+                FileUtils.deleteQuietly(bucketRoot.toFile());
             }))
-            .subscribeOn(Schedulers.boundedElastic())
+            .subscribeOn(ioScheduler)
             .then();
     }
 
     @Override
     public Publisher<BucketName> listBuckets() {
-        return Mono.fromCallable(() -> Files.list(root.toPath()))
-            .flatMapMany(Flux::fromStream)
+        return Flux.using(() -> Files.list(root), Flux::fromStream, Stream::close)
             .map(path -> BucketName.of(path.getFileName().toString()))
-            .subscribeOn(Schedulers.boundedElastic())
+            .subscribeOn(ioScheduler)
             .onErrorResume(NoSuchFileException.class, e -> Flux.empty());
     }
 
+    /**
+     * Lazily walks the bucket directory tree: blobs are emitted as directories are traversed, without ever
+     * listing the full bucket in memory.
+     */
     @Override
     public Publisher<BlobId> listBlobs(BucketName bucketName) {
-        return Mono.fromCallable(() -> {
-                File bucketRoot = getBucketRoot(bucketName);
-                return Files.list(bucketRoot.toPath());
-            })
-            .flatMapMany(Flux::fromStream)
+        int maxDepth = configuration.getLayout() == FileBlobStoreConfiguration.Layout.FLAT ? 1 : configuration.getShardingDepth() + 1;
+        return Flux.using(() -> Files.walk(getBucketRoot(bucketName), maxDepth), Flux::fromStream, Stream::close)
+            .filter(Files::isRegularFile)
             .map(path -> blobIdFactory.from(path.getFileName().toString()))
-            .subscribeOn(Schedulers.boundedElastic());
+            .subscribeOn(ioScheduler);
     }
 }
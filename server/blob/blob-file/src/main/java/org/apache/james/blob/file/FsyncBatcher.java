@@ -0,0 +1,162 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.blob.file;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Batches the flushes of written blobs: files submitted within the same window are flushed one after the other by a
+ * single task, and each of their parent directories is flushed only once per batch.
+ *
+ * Java exposes no way to flush several files with a single system call, so each file of a batch still costs its own
+ * {@link FileChannel#force(boolean)}. Batching saves the directory flushes shared by the files of a batch, and bounds
+ * the I/O threads blocked on flushes to one per batch.
+ */
+class FsyncBatcher implements Disposable {
+    private static class PendingSync {
+        private final Path file;
+        private final MonoSink<Void> sink;
+
+        private PendingSync(Path file, MonoSink<Void> sink) {
+            this.file = file;
+            this.sink = sink;
+        }
+    }
+
+    static void fsync(Collection<Path> files) throws IOException {
+        for (Path file : files) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+        }
+        ImmutableSet<Path> directories = files.stream()
+            .map(Path::getParent)
+            .filter(Objects::nonNull)
+            .collect(ImmutableSet.toImmutableSet());
+        for (Path directory : directories) {
+            fsyncDirectory(directory);
+        }
+    }
+
+    private static void fsyncDirectory(Path directory) throws IOException {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(directory, StandardOpenOption.READ);
+        } catch (IOException e) {
+            // Some platforms, like Windows, do not allow opening a directory, and do not need it to be flushed
+            return;
+        }
+        try (channel) {
+            channel.force(true);
+        }
+    }
+
+    private final Duration window;
+    private final int maxBatchSize;
+    private final Scheduler scheduler;
+    private final Queue<PendingSync> pendingSyncs;
+    private final AtomicBoolean flushScheduled;
+    private final AtomicBoolean disposed;
+
+    FsyncBatcher(Duration window, int maxBatchSize, Scheduler scheduler) {
+        this.window = window;
+        this.maxBatchSize = maxBatchSize;
+        this.scheduler = scheduler;
+        this.pendingSyncs = new ConcurrentLinkedQueue<>();
+        this.flushScheduled = new AtomicBoolean(false);
+        this.disposed = new AtomicBoolean(false);
+    }
+
+    Mono<Void> sync(Path file) {
+        return Mono.create(sink -> {
+            pendingSyncs.add(new PendingSync(file, sink));
+            scheduleFlush(window);
+        });
+    }
+
+    private void scheduleFlush(Duration delay) {
+        if (flushScheduled.compareAndSet(false, true)) {
+            scheduler.schedule(this::flush, delay.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void flush() {
+        flushScheduled.set(false);
+        ImmutableList.Builder<PendingSync> batchBuilder = ImmutableList.builder();
+        int batchSize = 0;
+        PendingSync pendingSync;
+        while (batchSize < maxBatchSize && (pendingSync = pendingSyncs.poll()) != null) {
+            batchBuilder.add(pendingSync);
+            batchSize++;
+        }
+        if (!pendingSyncs.isEmpty()) {
+            scheduleFlush(Duration.ZERO);
+        }
+        flush(batchBuilder.build());
+    }
+
+    private void flush(List<PendingSync> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            fsync(batch.stream()
+                .map(pendingSync -> pendingSync.file)
+                .distinct()
+                .collect(ImmutableList.toImmutableList()));
+            batch.forEach(pendingSync -> pendingSync.sink.success());
+        } catch (Exception e) {
+            batch.forEach(pendingSync -> pendingSync.sink.error(e));
+        }
+    }
+
+    @Override
+    public void dispose() {
+        if (disposed.compareAndSet(false, true)) {
+            // Pending flushes might never be scheduled again
+            flush(ImmutableList.copyOf(pendingSyncs));
+            pendingSyncs.clear();
+        }
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed.get();
+    }
+}
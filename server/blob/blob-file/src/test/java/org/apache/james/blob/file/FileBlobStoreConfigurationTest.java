@@ -0,0 +1,111 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.blob.file;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+
+import org.apache.commons.configuration2.PropertiesConfiguration;
+import org.junit.jupiter.api.Test;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+
+class FileBlobStoreConfigurationTest {
+    @Test
+    void shouldMatchBeanContract() {
+        EqualsVerifier.forClass(FileBlobStoreConfiguration.class)
+            .verify();
+    }
+
+    @Test
+    void defaultShouldKeepFlatLayoutWithoutFsync() {
+        assertThat(FileBlobStoreConfiguration.DEFAULT.getLayout()).isEqualTo(FileBlobStoreConfiguration.Layout.FLAT);
+        assertThat(FileBlobStoreConfiguration.DEFAULT.getFsyncMode()).isEqualTo(FileBlobStoreConfiguration.FsyncMode.NONE);
+        assertThat(FileBlobStoreConfiguration.DEFAULT.getIoThreads()).isEmpty();
+    }
+
+    @Test
+    void shardingDepthShouldBeStrictlyPositive() {
+        assertThatThrownBy(() -> FileBlobStoreConfiguration.builder().shardingDepth(0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shardingDepthShouldNotExceedMaximum() {
+        assertThatThrownBy(() -> FileBlobStoreConfiguration.builder().shardingDepth(FileBlobStoreConfiguration.MAXIMUM_SHARDING_DEPTH + 1))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void ioThreadsShouldBeStrictlyPositive() {
+        assertThatThrownBy(() -> FileBlobStoreConfiguration.builder().ioThreads(0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void fsyncBatchWindowShouldBeStrictlyPositive() {
+        assertThatThrownBy(() -> FileBlobStoreConfiguration.builder().fsyncBatchWindow(Duration.ZERO))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void fsyncMaxBatchSizeShouldBeStrictlyPositive() {
+        assertThatThrownBy(() -> FileBlobStoreConfiguration.builder().fsyncMaxBatchSize(0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void fromShouldReturnDefaultWhenEmpty() {
+        assertThat(FileBlobStoreConfiguration.from(new PropertiesConfiguration()))
+            .isEqualTo(FileBlobStoreConfiguration.DEFAULT);
+    }
+
+    @Test
+    void fromShouldReadAllProperties() {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+        configuration.addProperty("file.layout", "sharded");
+        configuration.addProperty("file.sharding.depth", 3);
+        configuration.addProperty("file.io.threads", 16);
+        configuration.addProperty("file.fsync.mode", "batched");
+        configuration.addProperty("file.fsync.batch.window", "10ms");
+        configuration.addProperty("file.fsync.max.batch.size", 64);
+
+        assertThat(FileBlobStoreConfiguration.from(configuration))
+            .isEqualTo(FileBlobStoreConfiguration.builder()
+                .layout(FileBlobStoreConfiguration.Layout.SHARDED)
+                .shardingDepth(3)
+                .ioThreads(16)
+                .fsyncMode(FileBlobStoreConfiguration.FsyncMode.BATCHED)
+                .fsyncBatchWindow(Duration.ofMillis(10))
+                .fsyncMaxBatchSize(64)
+                .build());
+    }
+
+    @Test
+    void fromShouldRejectUnknownLayout() {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+        configuration.addProperty("file.layout", "unknown");
+
+        assertThatThrownBy(() -> FileBlobStoreConfiguration.from(configuration))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
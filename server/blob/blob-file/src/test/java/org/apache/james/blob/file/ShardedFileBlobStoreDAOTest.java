@@ -0,0 +1,133 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.blob.file;
+
+import static org.apache.james.blob.api.BlobStoreDAOFixture.SHORT_BYTEARRAY;
+import static org.apache.james.blob.api.BlobStoreDAOFixture.TEST_BLOB_ID;
+import static org.apache.james.blob.api.BlobStoreDAOFixture.TEST_BUCKET_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import org.apache.james.blob.api.BlobId;
+import org.apache.james.blob.api.BlobStoreDAO;
+import org.apache.james.blob.api.BlobStoreDAOContract;
+import org.apache.james.blob.api.HashBlobId;
+import org.apache.james.server.core.filesystem.FileSystemImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class ShardedFileBlobStoreDAOTest implements BlobStoreDAOContract {
+
+    private FileBlobStoreDAO blobStore;
+    private Path root;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        FileSystemImpl fileSystem = FileSystemImpl.forTesting();
+        root = fileSystem.getFile("file://var/blob").toPath();
+        blobStore = new FileBlobStoreDAO(fileSystem, new HashBlobId.Factory(), FileBlobStoreConfiguration.builder()
+            .layout(FileBlobStoreConfiguration.Layout.SHARDED)
+            .ioThreads(8)
+            .fsyncMode(FileBlobStoreConfiguration.FsyncMode.BATCHED)
+            .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        blobStore.close();
+    }
+
+    @Override
+    public BlobStoreDAO testee() {
+        return blobStore;
+    }
+
+    @Override
+    @Disabled("Not supported")
+    public void mixingSaveReadAndDeleteShouldReturnConsistentState() {
+
+    }
+
+    @Test
+    void saveShouldStoreBlobsWithinNestedDirectories() throws Exception {
+        Mono.from(blobStore.save(TEST_BUCKET_NAME, TEST_BLOB_ID, SHORT_BYTEARRAY)).block();
+
+        try (Stream<Path> files = Files.walk(root.resolve(TEST_BUCKET_NAME.asString()))) {
+            assertThat(files.filter(Files::isRegularFile))
+                .singleElement()
+                .satisfies(blob -> assertThat(root.resolve(TEST_BUCKET_NAME.asString()).relativize(blob).getNameCount())
+                    .isEqualTo(FileBlobStoreConfiguration.DEFAULT_SHARDING_DEPTH + 1));
+        }
+    }
+
+    @Test
+    void blobsStoredWithFlatLayoutShouldRemainReadable() throws Exception {
+        writeFlatBlob();
+
+        assertThat(Mono.from(blobStore.readBytes(TEST_BUCKET_NAME, TEST_BLOB_ID)).block())
+            .isEqualTo(SHORT_BYTEARRAY);
+    }
+
+    @Test
+    void blobsStoredWithFlatLayoutShouldBeListed() throws Exception {
+        writeFlatBlob();
+
+        assertThat(Flux.from(blobStore.listBlobs(TEST_BUCKET_NAME))
+            .map(BlobId::asString)
+            .collectList()
+            .block())
+            .containsOnly(TEST_BLOB_ID.asString());
+    }
+
+    @Test
+    void blobsStoredWithFlatLayoutShouldExist() throws Exception {
+        writeFlatBlob();
+
+        assertThat(Mono.from(blobStore.exists(TEST_BUCKET_NAME, ImmutableList.of(TEST_BLOB_ID))).block())
+            .containsOnly(TEST_BLOB_ID);
+    }
+
+    @Test
+    void blobsStoredWithFlatLayoutShouldBeDeletable() throws Exception {
+        writeFlatBlob();
+
+        Mono.from(blobStore.delete(TEST_BUCKET_NAME, TEST_BLOB_ID)).block();
+
+        assertThat(Flux.from(blobStore.listBlobs(TEST_BUCKET_NAME)).collectList().block())
+            .isEmpty();
+    }
+
+    private void writeFlatBlob() throws Exception {
+        File bucketRoot = root.resolve(TEST_BUCKET_NAME.asString()).toFile();
+        bucketRoot.mkdirs();
+        Files.write(bucketRoot.toPath().resolve(TEST_BLOB_ID.asString()), SHORT_BYTEARRAY);
+    }
+}
@@ -23,6 +23,9 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.james.blob.api.BlobId;
@@ -34,6 +37,7 @@ import org.reactivestreams.Publisher;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.HashBasedTable;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Table;
 import com.google.common.io.ByteSource;
@@ -68,6 +72,29 @@ public class MemoryBlobStoreDAO implements BlobStoreDAO {
             .switchIfEmpty(Mono.error(() -> new ObjectNotFoundException(String.format("blob '%s' not found in bucket '%s'", blobId.asString(), bucketName.asString()))));
     }
 
+    @Override
+    public Mono<Map<BlobId, byte[]>> readBytes(BucketName bucketName, Collection<BlobId> blobIds) {
+        return Mono.fromCallable(() -> {
+            synchronized (blobs) {
+                return blobIds.stream()
+                    .distinct()
+                    .filter(blobId -> blobs.contains(bucketName, blobId))
+                    .collect(ImmutableMap.toImmutableMap(Function.identity(), blobId -> blobs.get(bucketName, blobId)));
+            }
+        });
+    }
+
+    @Override
+    public Mono<Set<BlobId>> exists(BucketName bucketName, Collection<BlobId> blobIds) {
+        return Mono.fromCallable(() -> {
+            synchronized (blobs) {
+                return blobIds.stream()
+                    .filter(blobId -> blobs.contains(bucketName, blobId))
+                    .collect(ImmutableSet.toImmutableSet());
+            }
+        });
+    }
+
     @Override
     public Mono<Void> save(BucketName bucketName, BlobId blobId, byte[] data) {
         return Mono.fromRunnable(() -> {
@@ -0,0 +1,114 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.blob.objectstorage.aws;
+
+import java.util.Objects;
+import java.util.Optional;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+/**
+ * Inclusive range of bytes of an object, used to split parallel transfers into parts.
+ */
+class ByteRange {
+    private static final String BYTES_UNIT = "bytes ";
+    private static final char TOTAL_SIZE_SEPARATOR = '/';
+    private static final String UNKNOWN_TOTAL_SIZE = "*";
+
+    static ByteRange first(long partSize) {
+        return part(0, partSize, Long.MAX_VALUE);
+    }
+
+    static ByteRange part(long partIndex, long partSize, long totalSize) {
+        Preconditions.checkArgument(partSize > 0, "'partSize' needs to be strictly positive");
+        long start = partIndex * partSize;
+        return new ByteRange(start, Math.min(start + partSize, totalSize) - 1);
+    }
+
+    static long partCount(long totalSize, long partSize) {
+        Preconditions.checkArgument(partSize > 0, "'partSize' needs to be strictly positive");
+        if (totalSize == 0) {
+            return 1;
+        }
+        return (totalSize + partSize - 1) / partSize;
+    }
+
+    /**
+     * Reads the complete length of the object out of a Content-Range header, like {@code bytes 0-99/1234}.
+     */
+    static Optional<Long> totalSizeOf(String contentRange) {
+        return Optional.ofNullable(contentRange)
+            .filter(value -> value.startsWith(BYTES_UNIT))
+            .map(value -> value.substring(value.lastIndexOf(TOTAL_SIZE_SEPARATOR) + 1).trim())
+            .filter(value -> !value.isEmpty() && !value.equals(UNKNOWN_TOTAL_SIZE))
+            .map(Long::parseLong);
+    }
+
+    private final long start;
+    private final long end;
+
+    ByteRange(long start, long end) {
+        Preconditions.checkArgument(start >= 0, "'start' needs to be positive");
+        Preconditions.checkArgument(end >= start, "'end' needs to be greater or equal to 'start'");
+        this.start = start;
+        this.end = end;
+    }
+
+    long getStart() {
+        return start;
+    }
+
+    long getEnd() {
+        return end;
+    }
+
+    long length() {
+        return end - start + 1;
+    }
+
+    String asHttpRange() {
+        return "bytes=" + start + "-" + end;
+    }
+
+    @Override
+    public final boolean equals(Object o) {
+        if (o instanceof ByteRange) {
+            ByteRange that = (ByteRange) o;
+
+            return Objects.equals(this.start, that.start)
+                && Objects.equals(this.end, that.end);
+        }
+        return false;
+    }
+
+    @Override
+    public final int hashCode() {
+        return Objects.hash(start, end);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("start", start)
+            .add("end", end)
+            .toString();
+    }
+}
@@ -27,6 +27,7 @@ import org.apache.james.blob.api.BucketName;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
 import com.google.common.base.Predicate;
 
 import reactor.util.retry.Retry;
@@ -63,6 +64,10 @@ public class S3BlobStoreConfiguration {
             private Optional<Long> inMemoryReadLimit;
             private Region region;
             private Optional<Retry> uploadRetrySpec;
+            private Optional<Long> multipartUploadThreshold;
+            private Optional<Long> partSize;
+            private Optional<Integer> transferParallelism;
+            private Optional<Boolean> rangedDownload;
 
             public ReadyToBuild(AwsS3AuthConfiguration specificAuthConfiguration, Region region) {
                 this.specificAuthConfiguration = specificAuthConfiguration;
@@ -75,6 +80,10 @@ public class S3BlobStoreConfiguration {
                 this.connectionTimeout = Optional.empty();
                 this.inMemoryReadLimit = Optional.empty();
                 this.uploadRetrySpec = Optional.empty();
+                this.multipartUploadThreshold = Optional.empty();
+                this.partSize = Optional.empty();
+                this.transferParallelism = Optional.empty();
+                this.rangedDownload = Optional.empty();
             }
 
             public ReadyToBuild defaultBucketName(Optional<BucketName> defaultBucketName) {
@@ -127,16 +136,47 @@ public class S3BlobStoreConfiguration {
                 return this;
             }
 
+            public ReadyToBuild multipartUploadThreshold(Optional<Long> multipartUploadThreshold) {
+                multipartUploadThreshold.ifPresent(threshold ->
+                    Preconditions.checkArgument(threshold > 0, "'multipartUploadThreshold' needs to be strictly positive"));
+                this.multipartUploadThreshold = multipartUploadThreshold;
+                return this;
+            }
+
+            public ReadyToBuild partSize(Optional<Long> partSize) {
+                partSize.ifPresent(size ->
+                    Preconditions.checkArgument(size >= MINIMUM_PART_SIZE, "'partSize' needs to be at least %s bytes", MINIMUM_PART_SIZE));
+                this.partSize = partSize;
+                return this;
+            }
+
+            public ReadyToBuild transferParallelism(Optional<Integer> transferParallelism) {
+                transferParallelism.ifPresent(parallelism ->
+                    Preconditions.checkArgument(parallelism > 0, "'transferParallelism' needs to be strictly positive"));
+                this.transferParallelism = transferParallelism;
+                return this;
+            }
+
+            public ReadyToBuild rangedDownload(Optional<Boolean> rangedDownload) {
+                this.rangedDownload = rangedDownload;
+                return this;
+            }
+
             public S3BlobStoreConfiguration build() {
                 return new S3BlobStoreConfiguration(bucketPrefix, defaultBucketName, region,
                     specificAuthConfiguration, httpConcurrency.orElse(DEFAULT_HTTP_CONCURRENCY),
-                    inMemoryReadLimit, readTimeout, writeTimeout, connectionTimeout, uploadRetrySpec.orElse(DEFAULT_UPLOAD_RETRY_SPEC));
+                    inMemoryReadLimit, readTimeout, writeTimeout, connectionTimeout, uploadRetrySpec.orElse(DEFAULT_UPLOAD_RETRY_SPEC),
+                    multipartUploadThreshold, partSize.orElse(DEFAULT_PART_SIZE), transferParallelism.orElse(DEFAULT_TRANSFER_PARALLELISM),
+                    rangedDownload.orElse(false));
             }
         }
 
     }
 
     public static int DEFAULT_HTTP_CONCURRENCY = 100;
+    public static final long MINIMUM_PART_SIZE = 5L * 1024 * 1024;
+    public static final long DEFAULT_PART_SIZE = 8L * 1024 * 1024;
+    public static final int DEFAULT_TRANSFER_PARALLELISM = 4;
     public static final Duration UPLOAD_RETRY_BACKOFF_DURATION_DEFAULT = Duration.ofMillis(10);
     public static final Double UPLOAD_RETRY_BACKOFF_JETTY_DEFAULT = 0.5;
     public static final Predicate<Throwable> UPLOAD_RETRY_EXCEPTION_PREDICATE = SdkException.class::isInstance;
@@ -148,6 +188,10 @@ public class S3BlobStoreConfiguration {
     private final int httpConcurrency;
     private final Optional<Long> inMemoryReadLimit;
     private final Retry uploadRetrySpec;
+    private final Optional<Long> multipartUploadThreshold;
+    private final long partSize;
+    private final int transferParallelism;
+    private final boolean rangedDownload;
 
     private Optional<Duration> readTimeout;
     private Optional<Duration> writeTimeout;
@@ -163,7 +207,11 @@ public class S3BlobStoreConfiguration {
                              Optional<Duration> readTimeout,
                              Optional<Duration> writeTimeout,
                              Optional<Duration> connectionTimeout,
-                             Retry uploadRetrySpec) {
+                             Retry uploadRetrySpec,
+                             Optional<Long> multipartUploadThreshold,
+                             long partSize,
+                             int transferParallelism,
+                             boolean rangedDownload) {
         this.bucketPrefix = bucketPrefix;
         this.namespace = namespace;
         this.region = region;
@@ -174,6 +222,10 @@ public class S3BlobStoreConfiguration {
         this.writeTimeout = writeTimeout;
         this.connectionTimeout = connectionTimeout;
         this.uploadRetrySpec = uploadRetrySpec;
+        this.multipartUploadThreshold = multipartUploadThreshold;
+        this.partSize = partSize;
+        this.transferParallelism = transferParallelism;
+        this.rangedDownload = rangedDownload;
     }
 
     public Optional<Long> getInMemoryReadLimit() {
@@ -216,6 +268,32 @@ public class S3BlobStoreConfiguration {
         return uploadRetrySpec;
     }
 
+    /**
+     * Blobs whose size is known to be greater or equal to this threshold are uploaded with a multipart upload.
+     * Multipart uploads are disabled when empty.
+     */
+    public Optional<Long> getMultipartUploadThreshold() {
+        return multipartUploadThreshold;
+    }
+
+    /**
+     * Size of the parts used by multipart uploads and ranged downloads.
+     */
+    public long getPartSize() {
+        return partSize;
+    }
+
+    /**
+     * Count of parts concurrently transferred for a single blob.
+     */
+    public int getTransferParallelism() {
+        return transferParallelism;
+    }
+
+    public boolean isRangedDownload() {
+        return rangedDownload;
+    }
+
     @Override
     public final boolean equals(Object o) {
         if (o instanceof S3BlobStoreConfiguration) {
@@ -230,6 +308,10 @@ public class S3BlobStoreConfiguration {
                 && Objects.equals(this.writeTimeout, that.writeTimeout)
                 && Objects.equals(this.connectionTimeout, that.connectionTimeout)
                 && Objects.equals(this.uploadRetrySpec, that.uploadRetrySpec)
+                && Objects.equals(this.multipartUploadThreshold, that.multipartUploadThreshold)
+                && Objects.equals(this.partSize, that.partSize)
+                && Objects.equals(this.transferParallelism, that.transferParallelism)
+                && Objects.equals(this.rangedDownload, that.rangedDownload)
                 && Objects.equals(this.specificAuthConfiguration, that.specificAuthConfiguration);
         }
         return false;
@@ -238,7 +320,8 @@ public class S3BlobStoreConfiguration {
     @Override
     public final int hashCode() {
         return Objects.hash(namespace, bucketPrefix, httpConcurrency, specificAuthConfiguration,
-            readTimeout, writeTimeout, connectionTimeout, uploadRetrySpec);
+            readTimeout, writeTimeout, connectionTimeout, uploadRetrySpec, multipartUploadThreshold, partSize,
+            transferParallelism, rangedDownload);
     }
 
     @Override
@@ -254,6 +337,10 @@ public class S3BlobStoreConfiguration {
             .add("writeTimeout", writeTimeout)
             .add("connectionTimeout", connectionTimeout)
             .add("uploadRetrySpec", uploadRetrySpec)
+            .add("multipartUploadThreshold", multipartUploadThreshold)
+            .add("partSize", partSize)
+            .add("transferParallelism", transferParallelism)
+            .add("rangedDownload", rangedDownload)
             .toString();
     }
 }
@@ -31,8 +31,11 @@ import java.security.KeyStore;
 import java.security.cert.X509Certificate;
 import java.time.Duration;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 import javax.net.ssl.TrustManager;
 import javax.net.ssl.TrustManagerFactory;
@@ -59,12 +62,14 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.io.ByteSource;
 import com.google.common.io.FileBackedOutputStream;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
+import reactor.util.function.Tuples;
 import reactor.util.retry.RetryBackoffSpec;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
@@ -79,14 +84,19 @@ import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Configuration;
 import software.amazon.awssdk.services.s3.model.Bucket;
 import software.amazon.awssdk.services.s3.model.BucketAlreadyOwnedByYouException;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
 import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
 import software.amazon.awssdk.services.s3.model.ListBucketsResponse;
 import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
 import software.amazon.awssdk.services.s3.model.NoSuchBucketException;
 import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
 import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
 import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
 import software.amazon.awssdk.services.s3.model.S3Object;
 
 public class S3BlobStoreDAO implements BlobStoreDAO, Startable, Closeable {
@@ -142,6 +152,7 @@ public class S3BlobStoreDAO implements BlobStoreDAO, Startable, Closeable {
     private static final Duration FIRST_BACK_OFF = Duration.ofMillis(100);
     private static final boolean LAZY = false;
     private static final int MAX_RETRIES = 5;
+    private static final int RANGE_NOT_SATISFIABLE = 416;
 
     private final BucketNameResolver bucketNameResolver;
     private final S3AsyncClient client;
@@ -241,6 +252,11 @@ public class S3BlobStoreDAO implements BlobStoreDAO, Startable, Closeable {
 
     @Override
     public Publisher<InputStream> readReactive(BucketName bucketName, BlobId blobId) {
+        if (configuration.isRangedDownload()) {
+            return Mono.from(readAsByteSource(bucketName, blobId))
+                .publishOn(ReactorUtils.BLOCKING_CALL_WRAPPER)
+                .map(byteSource -> ReactorUtils.toInputStream(Flux.from(byteSource.getContent())));
+        }
         BucketName resolvedBucketName = bucketNameResolver.resolve(bucketName);
 
         return getObject(resolvedBucketName, blobId)
@@ -250,16 +266,66 @@ public class S3BlobStoreDAO implements BlobStoreDAO, Startable, Closeable {
             .map(res -> ReactorUtils.toInputStream(res.flux));
     }
 
+    @Override
+    public Mono<Long> size(BucketName bucketName, BlobId blobId) {
+        BucketName resolvedBucketName = bucketNameResolver.resolve(bucketName);
+
+        return Mono.fromFuture(() -> client.headObject(builder -> builder.bucket(resolvedBucketName.asString()).key(blobId.asString())))
+            .map(HeadObjectResponse::contentLength)
+            .onErrorMap(NoSuchBucketException.class, e -> new ObjectNotFoundException("Bucket not found " + resolvedBucketName.asString(), e))
+            .onErrorMap(NoSuchKeyException.class, e -> new ObjectNotFoundException("Blob not found " + blobId.asString() + " in bucket " + resolvedBucketName.asString(), e));
+    }
+
     @Override
     public Publisher<ReactiveByteSource> readAsByteSource(BucketName bucketName, BlobId blobId) {
         BucketName resolvedBucketName = bucketNameResolver.resolve(bucketName);
 
-        return getObject(resolvedBucketName, blobId)
+        return readResolvedAsByteSource(resolvedBucketName, blobId)
             .onErrorMap(NoSuchBucketException.class, e -> new ObjectNotFoundException("Bucket not found " + resolvedBucketName.asString(), e))
-            .onErrorMap(NoSuchKeyException.class, e -> new ObjectNotFoundException("Blob not found " + blobId.asString() + " in bucket " + resolvedBucketName.asString(), e))
+            .onErrorMap(NoSuchKeyException.class, e -> new ObjectNotFoundException("Blob not found " + blobId.asString() + " in bucket " + resolvedBucketName.asString(), e));
+    }
+
+    private Mono<ReactiveByteSource> readResolvedAsByteSource(BucketName resolvedBucketName, BlobId blobId) {
+        if (configuration.isRangedDownload()) {
+            return rangedDownload(resolvedBucketName, blobId);
+        }
+        return getObject(resolvedBucketName, blobId)
             .map(res -> new ReactiveByteSource(res.sdkResponse.contentLength(), res.flux));
     }
 
+    /**
+     * The first part is fetched on its own in order to learn the size of the object. Remaining parts are then
+     * fetched concurrently, and re-assembled in order.
+     */
+    private Mono<ReactiveByteSource> rangedDownload(BucketName resolvedBucketName, BlobId blobId) {
+        long partSize = configuration.getPartSize();
+
+        return getObject(resolvedBucketName, blobId, request -> request.range(ByteRange.first(partSize).asHttpRange()))
+            .map(firstPart -> ByteRange.totalSizeOf(firstPart.sdkResponse.contentRange())
+                .map(totalSize -> new ReactiveByteSource(totalSize, rangedContent(resolvedBucketName, blobId, firstPart, totalSize)))
+                .orElseGet(() -> new ReactiveByteSource(firstPart.sdkResponse.contentLength(), firstPart.flux)))
+            .onErrorResume(e -> e instanceof S3Exception && ((S3Exception) e).statusCode() == RANGE_NOT_SATISFIABLE,
+                e -> getObject(resolvedBucketName, blobId)
+                    .map(res -> new ReactiveByteSource(res.sdkResponse.contentLength(), res.flux)));
+    }
+
+    private Flux<ByteBuffer> rangedContent(BucketName resolvedBucketName, BlobId blobId, FluxResponse firstPart, long totalSize) {
+        long partSize = configuration.getPartSize();
+        int partCount = Math.toIntExact(ByteRange.partCount(totalSize, partSize));
+        if (partCount == 1) {
+            return firstPart.flux;
+        }
+        return Flux.range(0, partCount)
+            .flatMapSequential(partIndex -> {
+                if (partIndex == 0) {
+                    return firstPart.flux;
+                }
+                ByteRange range = ByteRange.part(partIndex, partSize, totalSize);
+                return getObject(resolvedBucketName, blobId, request -> request.range(range.asHttpRange()))
+                    .flatMapMany(part -> part.flux);
+            }, configuration.getTransferParallelism());
+    }
+
     private static class FluxResponse {
         final CompletableFuture<FluxResponse> supportingCompletableFuture = new CompletableFuture<>();
         GetObjectResponse sdkResponse;
@@ -267,9 +333,13 @@ public class S3BlobStoreDAO implements BlobStoreDAO, Startable, Closeable {
     }
 
     private Mono<FluxResponse> getObject(BucketName bucketName, BlobId blobId) {
+        return getObject(bucketName, blobId, request -> { });
+    }
+
+    private Mono<FluxResponse> getObject(BucketName bucketName, BlobId blobId, Consumer<GetObjectRequest.Builder> requestCustomizer) {
         return Mono.fromFuture(() ->
             client.getObject(
-                builder -> builder.bucket(bucketName.asString()).key(blobId.asString()),
+                builder -> requestCustomizer.accept(builder.bucket(bucketName.asString()).key(blobId.asString())),
                 new AsyncResponseTransformer<GetObjectResponse, FluxResponse>() {
 
                     FluxResponse response;
@@ -315,8 +385,23 @@ public class S3BlobStoreDAO implements BlobStoreDAO, Startable, Closeable {
             .onErrorMap(e -> e.getCause() instanceof OutOfMemoryError, Throwable::getCause);
     }
 
+    @Override
+    public Mono<Set<BlobId>> exists(BucketName bucketName, Collection<BlobId> blobIds) {
+        BucketName resolvedBucketName = bucketNameResolver.resolve(bucketName);
+
+        return Flux.fromIterable(ImmutableSet.copyOf(blobIds))
+            .flatMap(blobId -> Mono.fromFuture(() -> client.headObject(builder -> builder.bucket(resolvedBucketName.asString()).key(blobId.asString())))
+                .thenReturn(blobId)
+                .onErrorResume(NoSuchKeyException.class, e -> Mono.empty())
+                .onErrorResume(NoSuchBucketException.class, e -> Mono.empty()), DEFAULT_CONCURRENCY)
+            .collect(ImmutableSet.toImmutableSet());
+    }
+
     @Override
     public Mono<Void> save(BucketName bucketName, BlobId blobId, byte[] data) {
+        if (isMultipartUpload(data.length)) {
+            return save(bucketName, blobId, ByteSource.wrap(data));
+        }
         BucketName resolvedBucketName = bucketNameResolver.resolve(bucketName);
 
         return Mono.fromFuture(() ->
@@ -355,7 +440,7 @@ public class S3BlobStoreDAO implements BlobStoreDAO, Startable, Closeable {
             .subscribeOn(Schedulers.boundedElastic())
             .flatMap(contentLength ->
                 Mono.usingWhen(Mono.fromCallable(content::openStream).subscribeOn(Schedulers.boundedElastic()),
-                    stream -> save(resolvedBucketName, blobId, stream, contentLength),
+                    stream -> upload(resolvedBucketName, blobId, stream, contentLength),
                     stream -> Mono.fromRunnable(Throwing.runnable(stream::close))))
             .retryWhen(createBucketOnRetry(resolvedBucketName))
             .onErrorMap(IOException.class, e -> new ObjectStoreIOException("Error saving blob", e))
@@ -364,6 +449,75 @@ public class S3BlobStoreDAO implements BlobStoreDAO, Startable, Closeable {
             .then();
     }
 
+    private Mono<Void> upload(BucketName resolvedBucketName, BlobId blobId, InputStream stream, long contentLength) {
+        if (isMultipartUpload(contentLength)) {
+            return multipartUpload(resolvedBucketName, blobId, stream, contentLength);
+        }
+        return save(resolvedBucketName, blobId, stream, contentLength).then();
+    }
+
+    private boolean isMultipartUpload(long contentLength) {
+        return configuration.getMultipartUploadThreshold()
+            .map(threshold -> contentLength >= threshold && contentLength > configuration.getPartSize())
+            .orElse(false);
+    }
+
+    private Mono<Void> multipartUpload(BucketName resolvedBucketName, BlobId blobId, InputStream stream, long contentLength) {
+        return Mono.fromFuture(() -> client.createMultipartUpload(builder -> builder
+                .bucket(resolvedBucketName.asString())
+                .key(blobId.asString())))
+            .map(CreateMultipartUploadResponse::uploadId)
+            .flatMap(uploadId -> uploadParts(resolvedBucketName, blobId, uploadId, stream, contentLength)
+                .flatMap(parts -> Mono.fromFuture(() -> client.completeMultipartUpload(builder -> builder
+                    .bucket(resolvedBucketName.asString())
+                    .key(blobId.asString())
+                    .uploadId(uploadId)
+                    .multipartUpload(upload -> upload.parts(parts)))))
+                .onErrorResume(e -> abortMultipartUpload(resolvedBucketName, blobId, uploadId)
+                    .then(Mono.error(e))))
+            .then();
+    }
+
+    /**
+     * Parts are read sequentially out of the stream, and uploaded concurrently. At most
+     * {@link S3BlobStoreConfiguration#getTransferParallelism()} parts are held in memory.
+     */
+    private Mono<List<CompletedPart>> uploadParts(BucketName resolvedBucketName, BlobId blobId, String uploadId, InputStream stream, long contentLength) {
+        long partSize = configuration.getPartSize();
+        int partCount = Math.toIntExact(ByteRange.partCount(contentLength, partSize));
+
+        return Flux.range(1, partCount)
+            .concatMap(partNumber -> Mono.fromCallable(() -> IOUtils.toByteArray(stream, ByteRange.part(partNumber - 1, partSize, contentLength).length()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(bytes -> Tuples.of(partNumber, bytes)), 1)
+            .flatMap(part -> uploadPart(resolvedBucketName, blobId, uploadId, part.getT1(), part.getT2()),
+                configuration.getTransferParallelism())
+            .collectSortedList(Comparator.comparing(CompletedPart::partNumber));
+    }
+
+    private Mono<CompletedPart> uploadPart(BucketName resolvedBucketName, BlobId blobId, String uploadId, int partNumber, byte[] bytes) {
+        return Mono.fromFuture(() -> client.uploadPart(builder -> builder
+                    .bucket(resolvedBucketName.asString())
+                    .key(blobId.asString())
+                    .uploadId(uploadId)
+                    .partNumber(partNumber)
+                    .contentLength((long) bytes.length),
+                AsyncRequestBody.fromBytes(bytes)))
+            .map(response -> CompletedPart.builder()
+                .partNumber(partNumber)
+                .eTag(response.eTag())
+                .build());
+    }
+
+    private Mono<Void> abortMultipartUpload(BucketName resolvedBucketName, BlobId blobId, String uploadId) {
+        return Mono.fromFuture(() -> client.abortMultipartUpload(builder -> builder
+                .bucket(resolvedBucketName.asString())
+                .key(blobId.asString())
+                .uploadId(uploadId)))
+            .then()
+            .onErrorResume(e -> Mono.empty());
+    }
+
     private Mono<PutObjectResponse> save(BucketName resolvedBucketName, BlobId blobId, InputStream stream, long contentLength) {
         int chunkSize = Math.min((int) contentLength, CHUNK_SIZE);
 
@@ -0,0 +1,84 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.blob.objectstorage.aws;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+
+class ByteRangeTest {
+    @Test
+    void shouldMatchBeanContract() {
+        EqualsVerifier.forClass(ByteRange.class)
+            .verify();
+    }
+
+    @Test
+    void asHttpRangeShouldBeInclusive() {
+        assertThat(ByteRange.first(100).asHttpRange()).isEqualTo("bytes=0-99");
+    }
+
+    @Test
+    void partShouldBeTruncatedToTheTotalSize() {
+        assertThat(ByteRange.part(2, 100, 250)).isEqualTo(new ByteRange(200, 249));
+    }
+
+    @Test
+    void partShouldHaveThePartSizeWhenNotLast() {
+        assertThat(ByteRange.part(1, 100, 250).length()).isEqualTo(100);
+    }
+
+    @Test
+    void partCountShouldRoundUp() {
+        assertThat(ByteRange.partCount(250, 100)).isEqualTo(3);
+    }
+
+    @Test
+    void partCountShouldBeExactWhenMultipleOfPartSize() {
+        assertThat(ByteRange.partCount(200, 100)).isEqualTo(2);
+    }
+
+    @Test
+    void partCountShouldBeOneForEmptyObjects() {
+        assertThat(ByteRange.partCount(0, 100)).isEqualTo(1);
+    }
+
+    @Test
+    void totalSizeOfShouldReadTheCompleteLength() {
+        assertThat(ByteRange.totalSizeOf("bytes 0-99/1234")).contains(1234L);
+    }
+
+    @Test
+    void totalSizeOfShouldBeEmptyWhenUnknown() {
+        assertThat(ByteRange.totalSizeOf("bytes 0-99/*")).isEmpty();
+    }
+
+    @Test
+    void totalSizeOfShouldBeEmptyWhenMissing() {
+        assertThat(ByteRange.totalSizeOf(null)).isEmpty();
+    }
+
+    @Test
+    void totalSizeOfShouldBeEmptyWhenUnsupportedUnit() {
+        assertThat(ByteRange.totalSizeOf("items 0-99/1234")).isEmpty();
+    }
+}
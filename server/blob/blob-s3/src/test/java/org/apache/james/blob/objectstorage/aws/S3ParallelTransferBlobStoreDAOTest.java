@@ -0,0 +1,138 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.blob.objectstorage.aws;
+
+import static org.apache.james.blob.api.BlobStoreDAOFixture.TEST_BLOB_ID;
+import static org.apache.james.blob.api.BlobStoreDAOFixture.TEST_BUCKET_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.util.Optional;
+import java.util.Random;
+
+import org.apache.james.blob.api.BlobStoreDAO;
+import org.apache.james.blob.api.BlobStoreDAOContract;
+import org.apache.james.blob.api.TestBlobId;
+import org.apache.james.metrics.api.NoopGaugeRegistry;
+import org.apache.james.metrics.tests.RecordingMetricFactory;
+import org.apache.james.util.ReactorUtils;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import com.google.common.io.ByteSource;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@ExtendWith(DockerAwsS3Extension.class)
+class S3ParallelTransferBlobStoreDAOTest implements BlobStoreDAOContract {
+    private static final long PART_SIZE = S3BlobStoreConfiguration.MINIMUM_PART_SIZE;
+    private static final byte[] TWELVE_MEGABYTES = randomBytes(12 * 1024 * 1024 + 17);
+
+    private static S3BlobStoreDAO testee;
+
+    @BeforeAll
+    static void setUp(DockerAwsS3Container dockerAwsS3) {
+        AwsS3AuthConfiguration authConfiguration = AwsS3AuthConfiguration.builder()
+            .endpoint(dockerAwsS3.getEndpoint())
+            .accessKeyId(DockerAwsS3Container.ACCESS_KEY_ID)
+            .secretKey(DockerAwsS3Container.SECRET_ACCESS_KEY)
+            .build();
+
+        S3BlobStoreConfiguration s3Configuration = S3BlobStoreConfiguration.builder()
+            .authConfiguration(authConfiguration)
+            .region(dockerAwsS3.dockerAwsS3().region())
+            .multipartUploadThreshold(Optional.of(PART_SIZE))
+            .partSize(Optional.of(PART_SIZE))
+            .transferParallelism(Optional.of(2))
+            .rangedDownload(Optional.of(true))
+            .build();
+
+        testee = new S3BlobStoreDAO(s3Configuration, new TestBlobId.Factory(), new RecordingMetricFactory(), new NoopGaugeRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        testee.deleteAllBuckets().block();
+    }
+
+    @AfterAll
+    static void tearDownClass() {
+        testee.close();
+    }
+
+    @Override
+    public BlobStoreDAO testee() {
+        return testee;
+    }
+
+    @Test
+    void multipartUploadOfBytesShouldBeReadable() {
+        Mono.from(testee.save(TEST_BUCKET_NAME, TEST_BLOB_ID, TWELVE_MEGABYTES)).block();
+
+        assertThat(Mono.from(testee.readBytes(TEST_BUCKET_NAME, TEST_BLOB_ID)).block())
+            .isEqualTo(TWELVE_MEGABYTES);
+    }
+
+    @Test
+    void multipartUploadOfStreamShouldBeReadable() {
+        Mono.from(testee.save(TEST_BUCKET_NAME, TEST_BLOB_ID, new ByteArrayInputStream(TWELVE_MEGABYTES))).block();
+
+        assertThat(Mono.from(testee.readBytes(TEST_BUCKET_NAME, TEST_BLOB_ID)).block())
+            .isEqualTo(TWELVE_MEGABYTES);
+    }
+
+    @Test
+    void rangedDownloadShouldReassembleParts() {
+        Mono.from(testee.save(TEST_BUCKET_NAME, TEST_BLOB_ID, ByteSource.wrap(TWELVE_MEGABYTES))).block();
+
+        BlobStoreDAO.ReactiveByteSource byteSource = Mono.from(testee.readAsByteSource(TEST_BUCKET_NAME, TEST_BLOB_ID)).block();
+
+        assertThat(byteSource.getSize()).isEqualTo(TWELVE_MEGABYTES.length);
+        assertThat(ReactorUtils.toInputStream(Flux.from(byteSource.getContent())))
+            .hasBinaryContent(TWELVE_MEGABYTES);
+    }
+
+    @Test
+    void rangedDownloadShouldSupportEmptyObjects() {
+        Mono.from(testee.save(TEST_BUCKET_NAME, TEST_BLOB_ID, new byte[0])).block();
+
+        BlobStoreDAO.ReactiveByteSource byteSource = Mono.from(testee.readAsByteSource(TEST_BUCKET_NAME, TEST_BLOB_ID)).block();
+
+        assertThat(byteSource.getSize()).isZero();
+    }
+
+    @Test
+    void readReactiveShouldReassembleParts() {
+        Mono.from(testee.save(TEST_BUCKET_NAME, TEST_BLOB_ID, TWELVE_MEGABYTES)).block();
+
+        assertThat(Mono.from(testee.readReactive(TEST_BUCKET_NAME, TEST_BLOB_ID)).block())
+            .hasBinaryContent(TWELVE_MEGABYTES);
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] data = new byte[size];
+        new Random(size).nextBytes(data);
+        return data;
+    }
+}
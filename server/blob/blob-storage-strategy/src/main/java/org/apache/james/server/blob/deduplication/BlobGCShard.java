@@ -0,0 +1,119 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.server.blob.deduplication;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+import org.apache.james.blob.api.BlobId;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+/**
+ * Partition of the blob id space handled by a blob garbage collection run.
+ *
+ * Blob ids are assigned to a shard based on a hash of their string representation, so that shards are evenly sized
+ * and that a referenced blob and its stored counterpart always fall into the same shard. This allows running the
+ * garbage collection of distinct shards on distinct nodes, each of them only holding the bloom filter of its shard.
+ */
+public class BlobGCShard {
+    public static final BlobGCShard SINGLE = new BlobGCShard(0, 1);
+
+    private static final HashFunction SHARDING_HASH_FUNCTION = Hashing.murmur3_32_fixed();
+
+    public static BlobGCShard of(int index, int count) {
+        Preconditions.checkArgument(count > 0, "'shardCount' must be strictly positive");
+        Preconditions.checkArgument(index >= 0 && index < count, "'shard' must be positive and lower than 'shardCount'");
+        return new BlobGCShard(index, count);
+    }
+
+    public static ImmutableList<BlobGCShard> all(int count) {
+        return IntStream.range(0, count)
+            .mapToObj(index -> of(index, count))
+            .collect(ImmutableList.toImmutableList());
+    }
+
+    private final int index;
+    private final int count;
+
+    private BlobGCShard(int index, int count) {
+        this.index = index;
+        this.count = count;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public boolean contains(BlobId blobId) {
+        return indexOf(blobId, count) == index;
+    }
+
+    /**
+     * @return the index of the shard, amongst count shards, the given blob id is assigned to
+     */
+    static int indexOf(BlobId blobId, int count) {
+        if (count == 1) {
+            return 0;
+        }
+        int hash = SHARDING_HASH_FUNCTION.hashString(blobId.asString(), StandardCharsets.US_ASCII).asInt();
+        return Math.floorMod(hash, count);
+    }
+
+    /**
+     * @return the expected blob count of this shard given the expected blob count of the whole bucket
+     */
+    public int expectedBlobCount(int bucketExpectedBlobCount) {
+        return Math.max(1, (int) Math.ceil((double) bucketExpectedBlobCount / count));
+    }
+
+    @Override
+    public final boolean equals(Object o) {
+        if (o instanceof BlobGCShard) {
+            BlobGCShard that = (BlobGCShard) o;
+
+            return Objects.equals(this.index, that.index)
+                && Objects.equals(this.count, that.count);
+        }
+        return false;
+    }
+
+    @Override
+    public final int hashCode() {
+        return Objects.hash(index, count);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("index", index)
+            .add("count", count)
+            .toString();
+    }
+}
@@ -21,6 +21,7 @@ package org.apache.james.server.blob.deduplication;
 
 import java.time.Clock;
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -32,12 +33,15 @@ import org.apache.james.task.Task;
 import org.apache.james.task.TaskExecutionDetails;
 import org.apache.james.task.TaskType;
 
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
 public class BlobGCTask implements Task {
     public static final TaskType TASK_TYPE = TaskType.of("BlobGCTask");
 
     public static class AdditionalInformation implements TaskExecutionDetails.AdditionalInformation {
 
-        private static AdditionalInformation from(Context context, int deletionWindowSize) {
+        private static AdditionalInformation from(Context context, int deletionWindowSize, int shardCount) {
             Context.Snapshot snapshot = context.snapshot();
             return new AdditionalInformation(
                 snapshot.getReferenceSourceCount(),
@@ -46,7 +50,9 @@ public class BlobGCTask implements Task {
                 snapshot.getErrorCount(),
                 snapshot.getBloomFilterExpectedBlobCount(),
                 snapshot.getBloomFilterAssociatedProbability(),
-                Clock.systemUTC().instant(), deletionWindowSize);
+                Clock.systemUTC().instant(), deletionWindowSize,
+                shardCount,
+                context.shardSnapshots());
         }
 
         private final Instant timestamp;
@@ -57,6 +63,8 @@ public class BlobGCTask implements Task {
         private final long bloomFilterExpectedBlobCount;
         private final double bloomFilterAssociatedProbability;
         private final int deletionWindowSize;
+        private final int shardCount;
+        private final List<Context.ShardSnapshot> shards;
 
         AdditionalInformation(long referenceSourceCount,
                               long blobCount,
@@ -65,7 +73,9 @@ public class BlobGCTask implements Task {
                               long bloomFilterExpectedBlobCount,
                               double bloomFilterAssociatedProbability,
                               Instant timestamp,
-                              int deletionWindowSize) {
+                              int deletionWindowSize,
+                              int shardCount,
+                              List<Context.ShardSnapshot> shards) {
             this.referenceSourceCount = referenceSourceCount;
             this.blobCount = blobCount;
             this.gcedBlobCount = gcedBlobCount;
@@ -74,6 +84,8 @@ public class BlobGCTask implements Task {
             this.bloomFilterAssociatedProbability = bloomFilterAssociatedProbability;
             this.timestamp = timestamp;
             this.deletionWindowSize = deletionWindowSize;
+            this.shardCount = shardCount;
+            this.shards = shards;
         }
 
         @Override
@@ -112,11 +124,20 @@ public class BlobGCTask implements Task {
         public int getDeletionWindowSize() {
             return deletionWindowSize;
         }
+
+        public int getShardCount() {
+            return shardCount;
+        }
+
+        public List<Context.ShardSnapshot> getShards() {
+            return shards;
+        }
     }
 
     public static class Builder {
 
         public static final int DEFAULT_DELETION_WINDOW_SIZE = 1000;
+        public static final int DEFAULT_SHARD_COUNT = 1;
 
         @FunctionalInterface
         public interface RequireAssociatedProbability {
@@ -167,6 +188,8 @@ public class BlobGCTask implements Task {
         private final int expectedBlobCount;
         private final double associatedProbability;
         private Optional<Integer> deletionWindowSize;
+        private Optional<Integer> shardCount;
+        private Optional<List<Integer>> shards;
 
         public Builder(BlobStoreDAO blobStoreDAO, GenerationAwareBlobId.Factory generationAwareBlobIdFactory,
                        GenerationAwareBlobId.Configuration generationAwareBlobIdConfiguration,
@@ -180,6 +203,8 @@ public class BlobGCTask implements Task {
             this.bucketName = bucketName;
             this.expectedBlobCount = expectedBlobCount;
             this.deletionWindowSize = Optional.empty();
+            this.shardCount = Optional.empty();
+            this.shards = Optional.empty();
             this.associatedProbability = associatedProbability;
         }
 
@@ -193,7 +218,33 @@ public class BlobGCTask implements Task {
             return this;
         }
 
+        public Builder shardCount(int shardCount) {
+            this.shardCount = Optional.of(shardCount);
+            return this;
+        }
+
+        public Builder shardCount(Optional<Integer> shardCount) {
+            this.shardCount = shardCount;
+            return this;
+        }
+
+        /**
+         * Restricts the run to the given shard indexes. All shards are collected when not specified.
+         */
+        public Builder shards(List<Integer> shards) {
+            this.shards = Optional.of(shards);
+            return this;
+        }
+
+        public Builder shards(Optional<List<Integer>> shards) {
+            this.shards = shards;
+            return this;
+        }
+
         public BlobGCTask build() {
+            int actualShardCount = shardCount.orElse(DEFAULT_SHARD_COUNT);
+            Preconditions.checkArgument(shards.map(indexes -> !indexes.isEmpty()).orElse(true), "'shards' must not be empty");
+
             return new BlobGCTask(
                 blobStoreDAO,
                 generationAwareBlobIdFactory,
@@ -203,7 +254,13 @@ public class BlobGCTask implements Task {
                 clock,
                 expectedBlobCount,
                 deletionWindowSize.orElse(DEFAULT_DELETION_WINDOW_SIZE),
-                associatedProbability);
+                associatedProbability,
+                shards.map(indexes -> indexes.stream()
+                        .distinct()
+                        .sorted()
+                        .map(index -> BlobGCShard.of(index, actualShardCount))
+                        .collect(ImmutableList.toImmutableList()))
+                    .orElseGet(() -> BlobGCShard.all(actualShardCount)));
         }
     }
 
@@ -231,6 +288,7 @@ public class BlobGCTask implements Task {
     private final int expectedBlobCount;
     private final int deletionWindowSize;
     private final double associatedProbability;
+    private final List<BlobGCShard> shards;
     private final Context context;
 
 
@@ -242,6 +300,23 @@ public class BlobGCTask implements Task {
                       Clock clock,
                       int expectedBlobCount,
                       int deletionWindowSize, double associatedProbability) {
+        this(blobStoreDAO, generationAwareBlobIdFactory, generationAwareBlobIdConfiguration, blobReferenceSources, bucketName,
+            clock, expectedBlobCount, deletionWindowSize, associatedProbability, ImmutableList.of(BlobGCShard.SINGLE));
+    }
+
+    public BlobGCTask(BlobStoreDAO blobStoreDAO,
+                      GenerationAwareBlobId.Factory generationAwareBlobIdFactory,
+                      GenerationAwareBlobId.Configuration generationAwareBlobIdConfiguration,
+                      Set<BlobReferenceSource> blobReferenceSources,
+                      BucketName bucketName,
+                      Clock clock,
+                      int expectedBlobCount,
+                      int deletionWindowSize, double associatedProbability,
+                      List<BlobGCShard> shards) {
+        Preconditions.checkArgument(!shards.isEmpty(), "'shards' must not be empty");
+        Preconditions.checkArgument(shards.stream().map(BlobGCShard::getCount).distinct().count() == 1,
+            "'shards' must all belong to the same sharding");
+
         this.blobStoreDAO = blobStoreDAO;
         this.generationAwareBlobIdFactory = generationAwareBlobIdFactory;
         this.generationAwareBlobIdConfiguration = generationAwareBlobIdConfiguration;
@@ -251,19 +326,21 @@ public class BlobGCTask implements Task {
         this.expectedBlobCount = expectedBlobCount;
         this.deletionWindowSize = deletionWindowSize;
         this.associatedProbability = associatedProbability;
+        this.shards = ImmutableList.copyOf(shards);
         this.context = new Context(expectedBlobCount, associatedProbability);
     }
 
     @Override
     public Result run() {
         BloomFilterGCAlgorithm gcAlgorithm = new BloomFilterGCAlgorithm(
-            BlobReferenceAggregate.aggregate(blobReferenceSources),
+            new ChunkedBlobReferenceSource(BlobReferenceAggregate.aggregate(blobReferenceSources), blobStoreDAO, bucketName, generationAwareBlobIdFactory),
             blobStoreDAO,
             generationAwareBlobIdFactory,
             generationAwareBlobIdConfiguration,
+            Optional.of(new BloomFilterGCCheckpointStore(blobStoreDAO, generationAwareBlobIdFactory)),
             clock);
 
-        return gcAlgorithm.gc(expectedBlobCount, deletionWindowSize, associatedProbability, bucketName, context)
+        return gcAlgorithm.gc(expectedBlobCount, deletionWindowSize, associatedProbability, bucketName, shards, context)
             .block();
     }
 
@@ -274,7 +351,7 @@ public class BlobGCTask implements Task {
 
     @Override
     public Optional<TaskExecutionDetails.AdditionalInformation> details() {
-        return Optional.of(AdditionalInformation.from(context, deletionWindowSize));
+        return Optional.of(AdditionalInformation.from(context, deletionWindowSize, getShardCount()));
     }
 
     public Clock getClock() {
@@ -296,4 +373,12 @@ public class BlobGCTask implements Task {
     public int getDeletionWindowSize() {
         return deletionWindowSize;
     }
+
+    public int getShardCount() {
+        return shards.get(0).getCount();
+    }
+
+    public List<BlobGCShard> getShards() {
+        return shards;
+    }
 }
@@ -20,6 +20,7 @@
 package org.apache.james.server.blob.deduplication;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 import org.apache.james.json.DTOModule;
@@ -27,9 +28,77 @@ import org.apache.james.server.task.json.dto.AdditionalInformationDTO;
 import org.apache.james.server.task.json.dto.AdditionalInformationDTOModule;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.collect.ImmutableList;
 
 public class BlobGCTaskAdditionalInformationDTO implements AdditionalInformationDTO {
 
+    public static class ShardDTO {
+        public static ShardDTO from(BloomFilterGCAlgorithm.Context.ShardSnapshot snapshot) {
+            return new ShardDTO(
+                snapshot.getIndex(),
+                snapshot.getStatus().name(),
+                snapshot.getReferenceSourceCount(),
+                snapshot.getBlobCount(),
+                snapshot.getGcedBlobCount(),
+                snapshot.getErrorCount());
+        }
+
+        private final int index;
+        private final String status;
+        private final long referenceSourceCount;
+        private final long blobCount;
+        private final long gcedBlobCount;
+        private final long errorCount;
+
+        public ShardDTO(@JsonProperty("index") int index,
+                        @JsonProperty("status") String status,
+                        @JsonProperty("referenceSourceCount") long referenceSourceCount,
+                        @JsonProperty("blobCount") long blobCount,
+                        @JsonProperty("gcedBlobCount") long gcedBlobCount,
+                        @JsonProperty("errorCount") long errorCount) {
+            this.index = index;
+            this.status = status;
+            this.referenceSourceCount = referenceSourceCount;
+            this.blobCount = blobCount;
+            this.gcedBlobCount = gcedBlobCount;
+            this.errorCount = errorCount;
+        }
+
+        public BloomFilterGCAlgorithm.Context.ShardSnapshot toSnapshot() {
+            return new BloomFilterGCAlgorithm.Context.ShardSnapshot(
+                index,
+                BloomFilterGCAlgorithm.Context.ShardStatus.valueOf(status),
+                referenceSourceCount,
+                blobCount,
+                gcedBlobCount,
+                errorCount);
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public long getReferenceSourceCount() {
+            return referenceSourceCount;
+        }
+
+        public long getBlobCount() {
+            return blobCount;
+        }
+
+        public long getGcedBlobCount() {
+            return gcedBlobCount;
+        }
+
+        public long getErrorCount() {
+            return errorCount;
+        }
+    }
+
     public static final AdditionalInformationDTOModule<BlobGCTask.AdditionalInformation, BlobGCTaskAdditionalInformationDTO> SERIALIZATION_MODULE =
         DTOModule.forDomainObject(BlobGCTask.AdditionalInformation.class)
             .convertToDTO(BlobGCTaskAdditionalInformationDTO.class)
@@ -42,7 +111,12 @@ public class BlobGCTaskAdditionalInformationDTO implements AdditionalInformation
                     dto.bloomFilterExpectedBlobCount,
                     dto.bloomFilterAssociatedProbability,
                     dto.timestamp,
-                    dto.deletionWindowSize.orElse(BlobGCTask.Builder.DEFAULT_DELETION_WINDOW_SIZE)))
+                    dto.deletionWindowSize.orElse(BlobGCTask.Builder.DEFAULT_DELETION_WINDOW_SIZE),
+                    dto.shardCount.orElse(BlobGCTask.Builder.DEFAULT_SHARD_COUNT),
+                    dto.shards.map(shards -> shards.stream()
+                            .map(ShardDTO::toSnapshot)
+                            .collect(ImmutableList.toImmutableList()))
+                        .orElse(ImmutableList.of())))
             .toDTOConverter((domain, type) ->
                 new BlobGCTaskAdditionalInformationDTO(
                     type,
@@ -53,7 +127,11 @@ public class BlobGCTaskAdditionalInformationDTO implements AdditionalInformation
                     domain.getErrorCount(),
                     domain.getBloomFilterExpectedBlobCount(),
                     domain.getBloomFilterAssociatedProbability(),
-                    Optional.of(domain.getDeletionWindowSize())
+                    Optional.of(domain.getDeletionWindowSize()),
+                    Optional.of(domain.getShardCount()),
+                    Optional.of(domain.getShards().stream()
+                        .map(ShardDTO::from)
+                        .collect(ImmutableList.toImmutableList()))
                 ))
             .typeName(BlobGCTask.TASK_TYPE.asString())
             .withFactory(AdditionalInformationDTOModule::new);
@@ -67,6 +145,8 @@ public class BlobGCTaskAdditionalInformationDTO implements AdditionalInformation
     private final long bloomFilterExpectedBlobCount;
     private final double bloomFilterAssociatedProbability;
     private final Optional<Integer> deletionWindowSize;
+    private final Optional<Integer> shardCount;
+    private final Optional<List<ShardDTO>> shards;
 
     public BlobGCTaskAdditionalInformationDTO(@JsonProperty("type") String type,
                                               @JsonProperty("timestamp") Instant timestamp,
@@ -76,7 +156,9 @@ public class BlobGCTaskAdditionalInformationDTO implements AdditionalInformation
                                               @JsonProperty("errorCount") long errorCount,
                                               @JsonProperty("bloomFilterExpectedBlobCount") long bloomFilterExpectedBlobCount,
                                               @JsonProperty("bloomFilterAssociatedProbability") double bloomFilterAssociatedProbability,
-                                              @JsonProperty("deletionWindowSize") Optional<Integer> deletionWindowSize) {
+                                              @JsonProperty("deletionWindowSize") Optional<Integer> deletionWindowSize,
+                                              @JsonProperty("shardCount") Optional<Integer> shardCount,
+                                              @JsonProperty("shards") Optional<List<ShardDTO>> shards) {
         this.type = type;
         this.timestamp = timestamp;
         this.referenceSourceCount = referenceSourceCount;
@@ -86,6 +168,8 @@ public class BlobGCTaskAdditionalInformationDTO implements AdditionalInformation
         this.bloomFilterExpectedBlobCount = bloomFilterExpectedBlobCount;
         this.bloomFilterAssociatedProbability = bloomFilterAssociatedProbability;
         this.deletionWindowSize = deletionWindowSize;
+        this.shardCount = shardCount;
+        this.shards = shards;
     }
 
 
@@ -126,4 +210,12 @@ public class BlobGCTaskAdditionalInformationDTO implements AdditionalInformation
     public Optional<Integer> getDeletionWindowSize() {
         return deletionWindowSize;
     }
+
+    public Optional<Integer> getShardCount() {
+        return shardCount;
+    }
+
+    public Optional<List<ShardDTO>> getShards() {
+        return shards;
+    }
 }
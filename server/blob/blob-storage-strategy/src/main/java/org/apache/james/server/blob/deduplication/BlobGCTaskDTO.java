@@ -20,6 +20,7 @@
 package org.apache.james.server.blob.deduplication;
 
 import java.time.Clock;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -31,6 +32,7 @@ import org.apache.james.server.task.json.dto.TaskDTO;
 import org.apache.james.server.task.json.dto.TaskDTOModule;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.collect.ImmutableList;
 
 public class BlobGCTaskDTO implements TaskDTO {
 
@@ -38,17 +40,23 @@ public class BlobGCTaskDTO implements TaskDTO {
     private final int expectedBlobCount;
     private final Optional<Integer> deletionWindowSize;
     private final double associatedProbability;
+    private final Optional<Integer> shardCount;
+    private final Optional<List<Integer>> shards;
     private final String type;
 
     public BlobGCTaskDTO(@JsonProperty("bucketName") String bucketName,
                          @JsonProperty("expectedBlobCount") int expectedBlobCount,
                          @JsonProperty("deletionWindowSize") Optional<Integer> deletionWindowSize,
                          @JsonProperty("associatedProbability") double associatedProbability,
+                         @JsonProperty("shardCount") Optional<Integer> shardCount,
+                         @JsonProperty("shards") Optional<List<Integer>> shards,
                          @JsonProperty("type") String type) {
         this.bucketName = bucketName;
         this.expectedBlobCount = expectedBlobCount;
         this.deletionWindowSize = deletionWindowSize;
         this.associatedProbability = associatedProbability;
+        this.shardCount = shardCount;
+        this.shards = shards;
         this.type = type;
     }
 
@@ -70,6 +78,8 @@ public class BlobGCTaskDTO implements TaskDTO {
                     .expectedBlobCount(dto.expectedBlobCount)
                     .associatedProbability(dto.associatedProbability)
                     .deletionWindowSize(dto.deletionWindowSize)
+                    .shardCount(dto.shardCount)
+                    .shards(dto.shards)
                     .build())
             .toDTOConverter((domain, type) ->
                 new BlobGCTaskDTO(
@@ -77,6 +87,10 @@ public class BlobGCTaskDTO implements TaskDTO {
                     domain.getExpectedBlobCount(),
                     Optional.of(domain.getDeletionWindowSize()),
                     domain.getAssociatedProbability(),
+                    Optional.of(domain.getShardCount()),
+                    Optional.of(domain.getShards().stream()
+                        .map(BlobGCShard::getIndex)
+                        .collect(ImmutableList.toImmutableList())),
                     type))
             .typeName(BlobGCTask.TASK_TYPE.asString())
             .withFactory(TaskDTOModule::new);
@@ -102,4 +116,12 @@ public class BlobGCTaskDTO implements TaskDTO {
     public Optional<Integer> getDeletionWindowSize() {
         return deletionWindowSize;
     }
+
+    public Optional<Integer> getShardCount() {
+        return shardCount;
+    }
+
+    public Optional<List<Integer>> getShards() {
+        return shards;
+    }
 }
@@ -0,0 +1,129 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.server.blob.deduplication;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.apache.james.blob.api.BlobId;
+import org.reactivestreams.Publisher;
+
+import com.github.fge.lambdas.Throwing;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.FileBackedOutputStream;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Blob ids of a listing, split by {@link BlobGCShard}, so that a single listing feeds all the shards of a garbage
+ * collection run.
+ *
+ * When several shards are involved, the listing is consumed once and each blob id is spilled to the stream of its
+ * shard. Up to {@link #IN_MEMORY_THRESHOLD} bytes of each shard are held in memory, the rest goes to a temporary file,
+ * so that heap usage does not depend on the blob count. A single shard reads the listing directly.
+ */
+class BlobIdPartitions {
+    private static final int IN_MEMORY_THRESHOLD = 64 * 1024;
+
+    static Mono<BlobIdPartitions> partition(Publisher<? extends BlobId> blobIds, Collection<BlobGCShard> shards) {
+        if (shards.size() <= 1) {
+            return Mono.just(new BlobIdPartitions(ImmutableMap.of(),
+                shard -> Flux.<BlobId>from(blobIds)
+                    .filter(shard::contains)
+                    .map(BlobId::asString)));
+        }
+
+        return Mono.fromCallable(() -> shards.stream()
+                .collect(ImmutableMap.toImmutableMap(BlobGCShard::getIndex, any -> new FileBackedOutputStream(IN_MEMORY_THRESHOLD))))
+            .flatMap(streams -> {
+                int shardCount = shards.iterator().next().getCount();
+                Map<Integer, Writer> writers = streams.entrySet()
+                    .stream()
+                    .collect(ImmutableMap.toImmutableMap(Map.Entry::getKey,
+                        entry -> new BufferedWriter(new OutputStreamWriter(entry.getValue(), StandardCharsets.UTF_8))));
+
+                return Flux.<BlobId>from(blobIds)
+                    .publishOn(Schedulers.boundedElastic())
+                    .doOnNext(Throwing.consumer(blobId -> {
+                        Writer writer = writers.get(BlobGCShard.indexOf(blobId, shardCount));
+                        if (writer != null) {
+                            writer.write(blobId.asString());
+                            writer.write('\n');
+                        }
+                    }))
+                    .then(Mono.fromRunnable(Throwing.runnable(() -> {
+                        for (Writer writer : writers.values()) {
+                            writer.close();
+                        }
+                    })))
+                    .thenReturn(new BlobIdPartitions(streams, shard -> read(streams.get(shard.getIndex()))))
+                    .onErrorResume(e -> release(streams).then(Mono.error(e)));
+            });
+    }
+
+    private static Flux<String> read(FileBackedOutputStream stream) {
+        return Flux.using(
+                () -> new BufferedReader(new InputStreamReader(stream.asByteSource().openStream(), StandardCharsets.UTF_8)),
+                reader -> Flux.fromStream(reader.lines()),
+                Throwing.consumer(BufferedReader::close))
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private static Mono<Void> release(Map<Integer, FileBackedOutputStream> streams) {
+        return Mono.fromRunnable(Throwing.runnable(() -> {
+                for (FileBackedOutputStream stream : streams.values()) {
+                    stream.reset();
+                }
+            }))
+            .subscribeOn(Schedulers.boundedElastic())
+            .then();
+    }
+
+    private final Map<Integer, FileBackedOutputStream> streams;
+    private final Function<BlobGCShard, Flux<String>> reader;
+
+    private BlobIdPartitions(Map<Integer, FileBackedOutputStream> streams, Function<BlobGCShard, Flux<String>> reader) {
+        this.streams = streams;
+        this.reader = reader;
+    }
+
+    /**
+     * @return the blob ids of the given shard, which must be one of the partitioned shards
+     */
+    Flux<String> read(BlobGCShard shard) {
+        return reader.apply(shard);
+    }
+
+    /**
+     * Deletes the temporary files backing the partitions.
+     */
+    Mono<Void> release() {
+        return release(streams);
+    }
+}
@@ -55,6 +55,10 @@ public abstract class BlobStoreFactory {
         default BlobStore deduplication() {
             return strategy(StorageStrategy.DEDUPLICATION);
         }
+
+        default BlobStore chunkedDeduplication() {
+            return strategy(StorageStrategy.CHUNKED_DEDUPLICATION);
+        }
     }
 
     public static RequireBlobStoreDAO builder() {
@@ -64,6 +68,8 @@ public abstract class BlobStoreFactory {
                     return new PassThroughBlobStore(blobStoreDAO, defaultBucketName, blobIdFactory);
                 case DEDUPLICATION:
                     return new DeDuplicationBlobStore(blobStoreDAO, defaultBucketName, blobIdFactory);
+                case CHUNKED_DEDUPLICATION:
+                    return new ChunkedDeDuplicationBlobStore(blobStoreDAO, defaultBucketName, blobIdFactory);
                 default:
                     throw new IllegalArgumentException("Unknown storage strategy");
             }
@@ -21,14 +21,16 @@ package org.apache.james.server.blob.deduplication;
 
 import static org.apache.james.util.ReactorUtils.DEFAULT_CONCURRENCY;
 
-import java.nio.charset.StandardCharsets;
 import java.time.Clock;
 import java.time.Instant;
 import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.james.blob.api.BlobReferenceSource;
 import org.apache.james.blob.api.BlobStoreDAO;
@@ -39,17 +41,17 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
 import com.google.common.hash.BloomFilter;
-import com.google.common.hash.Funnel;
-import com.google.common.hash.Funnels;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
 
 public class BloomFilterGCAlgorithm {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(BloomFilterGCAlgorithm.class);
-    private static final Funnel<CharSequence> BLOOM_FILTER_FUNNEL = Funnels.stringFunnel(StandardCharsets.US_ASCII);
     private static final int DELETION_BATCH_SIZE = 1000;
 
     public static class Context {
@@ -196,12 +198,142 @@ public class BloomFilterGCAlgorithm {
             }
         }
 
+        public enum ShardStatus {
+            PENDING,
+            BUILDING_BLOOM_FILTER,
+            COLLECTING,
+            COMPLETED,
+            ALREADY_COMPLETED,
+            FAILED
+        }
+
+        public static class ShardSnapshot {
+            private final int index;
+            private final ShardStatus status;
+            private final long referenceSourceCount;
+            private final long blobCount;
+            private final long gcedBlobCount;
+            private final long errorCount;
+
+            public ShardSnapshot(int index, ShardStatus status, long referenceSourceCount, long blobCount, long gcedBlobCount, long errorCount) {
+                this.index = index;
+                this.status = status;
+                this.referenceSourceCount = referenceSourceCount;
+                this.blobCount = blobCount;
+                this.gcedBlobCount = gcedBlobCount;
+                this.errorCount = errorCount;
+            }
+
+            public int getIndex() {
+                return index;
+            }
+
+            public ShardStatus getStatus() {
+                return status;
+            }
+
+            public long getReferenceSourceCount() {
+                return referenceSourceCount;
+            }
+
+            public long getBlobCount() {
+                return blobCount;
+            }
+
+            public long getGcedBlobCount() {
+                return gcedBlobCount;
+            }
+
+            public long getErrorCount() {
+                return errorCount;
+            }
+
+            @Override
+            public final boolean equals(Object o) {
+                if (o instanceof ShardSnapshot) {
+                    ShardSnapshot that = (ShardSnapshot) o;
+
+                    return Objects.equals(this.index, that.index)
+                        && Objects.equals(this.status, that.status)
+                        && Objects.equals(this.referenceSourceCount, that.referenceSourceCount)
+                        && Objects.equals(this.blobCount, that.blobCount)
+                        && Objects.equals(this.gcedBlobCount, that.gcedBlobCount)
+                        && Objects.equals(this.errorCount, that.errorCount);
+                }
+                return false;
+            }
+
+            @Override
+            public final int hashCode() {
+                return Objects.hash(index, status, referenceSourceCount, blobCount, gcedBlobCount, errorCount);
+            }
+
+            @Override
+            public String toString() {
+                return MoreObjects.toStringHelper(this)
+                    .add("index", index)
+                    .add("status", status)
+                    .add("referenceSourceCount", referenceSourceCount)
+                    .add("blobCount", blobCount)
+                    .add("gcedBlobCount", gcedBlobCount)
+                    .add("errorCount", errorCount)
+                    .toString();
+            }
+        }
+
+        public class ShardProgress {
+            private final int index;
+            private final AtomicReference<ShardStatus> status;
+            private final AtomicLong referenceSourceCount;
+            private final AtomicLong blobCount;
+            private final AtomicLong gcedBlobCount;
+            private final AtomicLong errorCount;
+
+            ShardProgress(int index) {
+                this.index = index;
+                this.status = new AtomicReference<>(ShardStatus.PENDING);
+                this.referenceSourceCount = new AtomicLong();
+                this.blobCount = new AtomicLong();
+                this.gcedBlobCount = new AtomicLong();
+                this.errorCount = new AtomicLong();
+            }
+
+            public void status(ShardStatus status) {
+                this.status.set(status);
+            }
+
+            public void incrementReferenceSourceCount() {
+                referenceSourceCount.incrementAndGet();
+                Context.this.incrementReferenceSourceCount();
+            }
+
+            public void incrementBlobCount() {
+                blobCount.incrementAndGet();
+                Context.this.incrementBlobCount();
+            }
+
+            public void incrementGCedBlobCount(int count) {
+                gcedBlobCount.addAndGet(count);
+                Context.this.incrementGCedBlobCount(count);
+            }
+
+            public void incrementErrorCount() {
+                errorCount.incrementAndGet();
+                Context.this.incrementErrorCount();
+            }
+
+            public ShardSnapshot snapshot() {
+                return new ShardSnapshot(index, status.get(), referenceSourceCount.get(), blobCount.get(), gcedBlobCount.get(), errorCount.get());
+            }
+        }
+
         private final AtomicLong referenceSourceCount;
         private final AtomicLong blobCount;
         private final AtomicLong gcedBlobCount;
         private final AtomicLong errorCount;
         private final Long bloomFilterExpectedBlobCount;
         private final Double bloomFilterAssociatedProbability;
+        private final ConcurrentSkipListMap<Integer, ShardProgress> shards;
 
         public Context(long bloomFilterExpectedBlobCount, double bloomFilterAssociatedProbability) {
             this.referenceSourceCount = new AtomicLong();
@@ -210,6 +342,18 @@ public class BloomFilterGCAlgorithm {
             this.errorCount = new AtomicLong();
             this.bloomFilterExpectedBlobCount = bloomFilterExpectedBlobCount;
             this.bloomFilterAssociatedProbability = bloomFilterAssociatedProbability;
+            this.shards = new ConcurrentSkipListMap<>();
+        }
+
+        public ShardProgress forShard(BlobGCShard shard) {
+            return shards.computeIfAbsent(shard.getIndex(), ShardProgress::new);
+        }
+
+        public List<ShardSnapshot> shardSnapshots() {
+            return shards.values()
+                .stream()
+                .map(ShardProgress::snapshot)
+                .collect(ImmutableList.toImmutableList());
         }
 
         public void incrementBlobCount() {
@@ -244,6 +388,7 @@ public class BloomFilterGCAlgorithm {
     private final BlobStoreDAO blobStoreDAO;
     private final GenerationAwareBlobId.Factory generationAwareBlobIdFactory;
     private final GenerationAwareBlobId.Configuration generationAwareBlobIdConfiguration;
+    private final Optional<BloomFilterGCCheckpointStore> checkpointStore;
     private final Instant now;
 
     // Avoids two subsequent run to have the same false positives.
@@ -254,58 +399,173 @@ public class BloomFilterGCAlgorithm {
                                   GenerationAwareBlobId.Factory generationAwareBlobIdFactory,
                                   GenerationAwareBlobId.Configuration generationAwareBlobIdConfiguration,
                                   Clock clock) {
+        this(referenceSource, blobStoreDAO, generationAwareBlobIdFactory, generationAwareBlobIdConfiguration, Optional.empty(), clock);
+    }
+
+    /**
+     * When a checkpoint store is supplied, the bloom filter of each shard is persisted once built, and shards are
+     * marked as completed once collected. A subsequent run on the same shards resumes from these checkpoints
+     * instead of starting over. Checkpoints are discarded once all the shards of a run completed successfully.
+     */
+    public BloomFilterGCAlgorithm(BlobReferenceSource referenceSource,
+                                  BlobStoreDAO blobStoreDAO,
+                                  GenerationAwareBlobId.Factory generationAwareBlobIdFactory,
+                                  GenerationAwareBlobId.Configuration generationAwareBlobIdConfiguration,
+                                  Optional<BloomFilterGCCheckpointStore> checkpointStore,
+                                  Clock clock) {
         this.referenceSource = referenceSource;
         this.blobStoreDAO = blobStoreDAO;
         this.generationAwareBlobIdFactory = generationAwareBlobIdFactory;
         this.generationAwareBlobIdConfiguration = generationAwareBlobIdConfiguration;
+        this.checkpointStore = checkpointStore;
         this.salt = UUID.randomUUID().toString();
         this.now = clock.instant();
     }
 
     public Mono<Result> gc(int expectedBlobCount, int deletionWindowSize, double associatedProbability, BucketName bucketName, Context context) {
-        return populatedBloomFilter(expectedBlobCount, associatedProbability, context)
-            .flatMap(bloomFilter -> gc(bloomFilter, bucketName, context, deletionWindowSize))
+        return gc(expectedBlobCount, deletionWindowSize, associatedProbability, bucketName, ImmutableList.of(BlobGCShard.SINGLE), context);
+    }
+
+    /**
+     * Shards are collected one after the other so that a single bloom filter, sized for one shard, is held in
+     * memory at a time.
+     *
+     * The reference source and the bucket are listed once for all the shards of the run, each listing being split
+     * into {@link BlobIdPartitions}. Only the shards lacking a bloom filter checkpoint take part into the reference
+     * listing, and only the shards not yet collected take part into the bucket listing.
+     *
+     * @param expectedBlobCount the expected blob count of the whole bucket
+     */
+    public Mono<Result> gc(int expectedBlobCount, int deletionWindowSize, double associatedProbability, BucketName bucketName,
+                           List<BlobGCShard> shards, Context context) {
+        shards.forEach(context::forShard);
+
+        return Flux.fromIterable(shards)
+            .concatMap(shard -> retrieveCheckpoint(bucketName, shard, shard.expectedBlobCount(expectedBlobCount), associatedProbability)
+                .map(checkpoint -> Tuples.of(shard, checkpoint)))
+            .collectMap(Tuple2::getT1, Tuple2::getT2)
+            .flatMap(checkpoints -> Mono.usingWhen(
+                BlobIdPartitions.partition(referenceSource.listReferencedBlobs(), shards.stream()
+                    .filter(shard -> !checkpoints.containsKey(shard))
+                    .collect(ImmutableList.toImmutableList())),
+                references -> Mono.usingWhen(
+                    BlobIdPartitions.partition(blobStoreDAO.listBlobs(bucketName), shards.stream()
+                        .filter(shard -> !Optional.ofNullable(checkpoints.get(shard)).map(BloomFilterGCCheckpoint::isCompleted).orElse(false))
+                        .collect(ImmutableList.toImmutableList())),
+                    blobs -> Flux.fromIterable(shards)
+                        .concatMap(shard -> gcShard(shard, Optional.ofNullable(checkpoints.get(shard)), references, blobs,
+                            shard.expectedBlobCount(expectedBlobCount), deletionWindowSize, associatedProbability, bucketName, context.forShard(shard)))
+                        .reduce(Task::combine),
+                    BlobIdPartitions::release),
+                BlobIdPartitions::release))
+            .switchIfEmpty(Mono.just(Result.COMPLETED))
+            .flatMap(result -> {
+                if (result == Result.COMPLETED) {
+                    return Flux.fromIterable(shards)
+                        .concatMap(shard -> deleteCheckpoint(bucketName, shard))
+                        .then(Mono.just(result));
+                }
+                return Mono.just(result);
+            })
             .onErrorResume(error -> {
                 LOGGER.error("Error when running blob deduplicate garbage collection", error);
                 return Mono.just(Result.PARTIAL);
             });
     }
 
-    private Mono<Result> gc(BloomFilter<CharSequence> bloomFilter, BucketName bucketName, Context context, int deletionWindowSize) {
-        return Flux.from(blobStoreDAO.listBlobs(bucketName))
-            .doOnNext(blobId -> context.incrementBlobCount())
-            .flatMap(blobId -> Mono.fromCallable(() -> generationAwareBlobIdFactory.from(blobId.asString())))
-            .filter(blobId -> !blobId.inActiveGeneration(generationAwareBlobIdConfiguration, now))
-            .filter(blobId -> !bloomFilter.mightContain(salt + blobId.asString()))
+    private Mono<Result> gcShard(BlobGCShard shard, Optional<BloomFilterGCCheckpoint> storedCheckpoint, BlobIdPartitions references,
+                                 BlobIdPartitions blobs, int expectedBlobCount, int deletionWindowSize, double associatedProbability,
+                                 BucketName bucketName, Context.ShardProgress progress) {
+        return Mono.justOrEmpty(storedCheckpoint)
+            .switchIfEmpty(Mono.defer(() -> populatedBloomFilter(references.read(shard), shard, expectedBlobCount, associatedProbability, progress)
+                .flatMap(checkpoint -> storeCheckpoint(bucketName, checkpoint).thenReturn(checkpoint))))
+            .flatMap(checkpoint -> {
+                if (checkpoint.isCompleted()) {
+                    LOGGER.info("Skipping already collected {} of bucket {}", shard, bucketName.asString());
+                    progress.status(Context.ShardStatus.ALREADY_COMPLETED);
+                    return Mono.just(Result.COMPLETED);
+                }
+                progress.status(Context.ShardStatus.COLLECTING);
+                return gc(checkpoint, blobs.read(shard), bucketName, progress, deletionWindowSize)
+                    .flatMap(result -> {
+                        if (result == Result.COMPLETED) {
+                            progress.status(Context.ShardStatus.COMPLETED);
+                            return storeCheckpoint(bucketName, checkpoint.completed()).thenReturn(result);
+                        }
+                        progress.status(Context.ShardStatus.FAILED);
+                        return Mono.just(result);
+                    });
+            })
+            .onErrorResume(error -> {
+                LOGGER.error("Error when running blob deduplicate garbage collection of {}", shard, error);
+                progress.status(Context.ShardStatus.FAILED);
+                return Mono.just(Result.PARTIAL);
+            });
+    }
+
+    private Mono<Result> gc(BloomFilterGCCheckpoint checkpoint, Flux<String> shardBlobIds, BucketName bucketName, Context.ShardProgress progress, int deletionWindowSize) {
+        BloomFilter<CharSequence> bloomFilter = checkpoint.getBloomFilter().orElseThrow();
+        String checkpointSalt = checkpoint.getSalt();
+        // Blobs created after the bloom filter was built are protected by their generation
+        Instant filterBuiltAt = checkpoint.getFilterBuiltAt();
+
+        return shardBlobIds
+            .doOnNext(blobId -> progress.incrementBlobCount())
+            .flatMap(blobId -> Mono.fromCallable(() -> generationAwareBlobIdFactory.from(blobId)))
+            .filter(blobId -> !blobId.inActiveGeneration(generationAwareBlobIdConfiguration, filterBuiltAt))
+            .filter(blobId -> !bloomFilter.mightContain(checkpointSalt + blobId.asString()))
             .window(deletionWindowSize)
-            .flatMap(blobIdFlux -> handlePagedDeletion(bucketName, context, blobIdFlux), DEFAULT_CONCURRENCY)
+            .flatMap(blobIdFlux -> handlePagedDeletion(bucketName, progress, blobIdFlux), DEFAULT_CONCURRENCY)
             .reduce(Task::combine)
             .switchIfEmpty(Mono.just(Result.COMPLETED));
     }
 
-    private Mono<Result> handlePagedDeletion(BucketName bucketName, Context context, Flux<GenerationAwareBlobId> blobIdFlux) {
+    private Mono<Result> handlePagedDeletion(BucketName bucketName, Context.ShardProgress progress, Flux<GenerationAwareBlobId> blobIdFlux) {
         return blobIdFlux.collectList()
             .flatMap(orphanBlobIds -> Mono.from(blobStoreDAO.delete(bucketName, (Collection) orphanBlobIds))
                 .then(Mono.fromCallable(() -> {
-                    context.incrementGCedBlobCount(orphanBlobIds.size());
+                    progress.incrementGCedBlobCount(orphanBlobIds.size());
                     return Result.COMPLETED;
                 })).onErrorResume(error -> {
                     LOGGER.error("Error when gc orphan blob", error);
-                    context.incrementErrorCount();
+                    progress.incrementErrorCount();
                     return Mono.just(Result.PARTIAL);
                 }));
     }
 
-    private Mono<BloomFilter<CharSequence>> populatedBloomFilter(int expectedBlobCount, double associatedProbability, Context context) {
+    private Mono<BloomFilterGCCheckpoint> populatedBloomFilter(Flux<String> shardReferences, BlobGCShard shard, int expectedBlobCount,
+                                                               double associatedProbability, Context.ShardProgress progress) {
         return Mono.fromCallable(() -> BloomFilter.create(
-                BLOOM_FILTER_FUNNEL,
+                BloomFilterGCCheckpointStore.BLOOM_FILTER_FUNNEL,
                 expectedBlobCount,
                 associatedProbability))
+            .doOnNext(any -> progress.status(Context.ShardStatus.BUILDING_BLOOM_FILTER))
             .flatMap(bloomFilter ->
-                Flux.from(referenceSource.listReferencedBlobs())
-                    .doOnNext(ref -> context.incrementReferenceSourceCount())
-                    .map(ref -> bloomFilter.put(salt + ref.asString()))
+                shardReferences
+                    .doOnNext(ref -> progress.incrementReferenceSourceCount())
+                    .map(ref -> bloomFilter.put(salt + ref))
                     .then()
-                    .thenReturn(bloomFilter));
+                    .thenReturn(BloomFilterGCCheckpoint.filterBuilt(shard, salt, now, expectedBlobCount, associatedProbability, bloomFilter)));
+    }
+
+    private Mono<BloomFilterGCCheckpoint> retrieveCheckpoint(BucketName bucketName, BlobGCShard shard, int expectedBlobCount, double associatedProbability) {
+        return Mono.justOrEmpty(checkpointStore)
+            .flatMap(store -> store.retrieve(bucketName, shard))
+            .filter(checkpoint -> checkpoint.isCompatibleWith(expectedBlobCount, associatedProbability))
+            .doOnNext(checkpoint -> LOGGER.info("Resuming blob garbage collection of {} from its {} checkpoint", shard, checkpoint.getStatus()))
+            .onErrorResume(error -> {
+                LOGGER.warn("Failed retrieving the checkpoint of {}, starting it over", shard, error);
+                return Mono.empty();
+            });
+    }
+
+    private Mono<Void> storeCheckpoint(BucketName bucketName, BloomFilterGCCheckpoint checkpoint) {
+        return Mono.justOrEmpty(checkpointStore)
+            .flatMap(store -> store.store(bucketName, checkpoint));
+    }
+
+    private Mono<Void> deleteCheckpoint(BucketName bucketName, BlobGCShard shard) {
+        return Mono.justOrEmpty(checkpointStore)
+            .flatMap(store -> store.delete(bucketName, shard));
     }
 }
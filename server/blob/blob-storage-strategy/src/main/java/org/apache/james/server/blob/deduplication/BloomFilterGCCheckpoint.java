@@ -0,0 +1,119 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.server.blob.deduplication;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.hash.BloomFilter;
+
+/**
+ * Persisted state of the garbage collection of a {@link BlobGCShard}, allowing an interrupted run to be resumed
+ * without scanning the blob reference sources again.
+ */
+public class BloomFilterGCCheckpoint {
+    public enum Status {
+        FILTER_BUILT,
+        COMPLETED
+    }
+
+    public static BloomFilterGCCheckpoint filterBuilt(BlobGCShard shard, String salt, Instant filterBuiltAt,
+                                                      int expectedBlobCount, double associatedProbability,
+                                                      BloomFilter<CharSequence> bloomFilter) {
+        return new BloomFilterGCCheckpoint(shard, Status.FILTER_BUILT, salt, filterBuiltAt, expectedBlobCount,
+            associatedProbability, Optional.of(bloomFilter));
+    }
+
+    private final BlobGCShard shard;
+    private final Status status;
+    private final String salt;
+    private final Instant filterBuiltAt;
+    private final int expectedBlobCount;
+    private final double associatedProbability;
+    private final Optional<BloomFilter<CharSequence>> bloomFilter;
+
+    BloomFilterGCCheckpoint(BlobGCShard shard, Status status, String salt, Instant filterBuiltAt, int expectedBlobCount,
+                            double associatedProbability, Optional<BloomFilter<CharSequence>> bloomFilter) {
+        Preconditions.checkArgument(status == Status.COMPLETED || bloomFilter.isPresent(),
+            "A bloom filter is required until the shard is completed");
+        this.shard = shard;
+        this.status = status;
+        this.salt = salt;
+        this.filterBuiltAt = filterBuiltAt;
+        this.expectedBlobCount = expectedBlobCount;
+        this.associatedProbability = associatedProbability;
+        this.bloomFilter = bloomFilter;
+    }
+
+    public BloomFilterGCCheckpoint completed() {
+        return new BloomFilterGCCheckpoint(shard, Status.COMPLETED, salt, filterBuiltAt, expectedBlobCount,
+            associatedProbability, Optional.empty());
+    }
+
+    public boolean isCompleted() {
+        return status == Status.COMPLETED;
+    }
+
+    public boolean isCompatibleWith(int expectedBlobCount, double associatedProbability) {
+        return this.expectedBlobCount == expectedBlobCount
+            && this.associatedProbability == associatedProbability;
+    }
+
+    public BlobGCShard getShard() {
+        return shard;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public String getSalt() {
+        return salt;
+    }
+
+    public Instant getFilterBuiltAt() {
+        return filterBuiltAt;
+    }
+
+    public int getExpectedBlobCount() {
+        return expectedBlobCount;
+    }
+
+    public double getAssociatedProbability() {
+        return associatedProbability;
+    }
+
+    public Optional<BloomFilter<CharSequence>> getBloomFilter() {
+        return bloomFilter;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("shard", shard)
+            .add("status", status)
+            .add("filterBuiltAt", filterBuiltAt)
+            .add("expectedBlobCount", expectedBlobCount)
+            .add("associatedProbability", associatedProbability)
+            .toString();
+    }
+}
@@ -0,0 +1,130 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.server.blob.deduplication;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Optional;
+
+import org.apache.james.blob.api.BlobId;
+import org.apache.james.blob.api.BlobStoreDAO;
+import org.apache.james.blob.api.BucketName;
+import org.apache.james.blob.api.ObjectNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.fge.lambdas.Throwing;
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnel;
+import com.google.common.hash.Funnels;
+import com.google.common.io.FileBackedOutputStream;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Stores {@link BloomFilterGCCheckpoint} as blobs of a dedicated bucket.
+ *
+ * The bloom filter is streamed to and from the blob store so that persisting it does not require an additional copy
+ * in heap.
+ */
+public class BloomFilterGCCheckpointStore {
+    public static final BucketName CHECKPOINT_BUCKET = BucketName.of("blob-gc-checkpoints");
+    static final Funnel<CharSequence> BLOOM_FILTER_FUNNEL = Funnels.stringFunnel(StandardCharsets.US_ASCII);
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BloomFilterGCCheckpointStore.class);
+    private static final int FORMAT_VERSION = 1;
+    private static final int FILE_THRESHOLD = 1024 * 1024;
+
+    private final BlobStoreDAO blobStoreDAO;
+    private final BlobId.Factory blobIdFactory;
+
+    public BloomFilterGCCheckpointStore(BlobStoreDAO blobStoreDAO, BlobId.Factory blobIdFactory) {
+        this.blobStoreDAO = blobStoreDAO;
+        this.blobIdFactory = blobIdFactory;
+    }
+
+    public Mono<BloomFilterGCCheckpoint> retrieve(BucketName bucketName, BlobGCShard shard) {
+        return Mono.fromCallable(() -> blobStoreDAO.read(CHECKPOINT_BUCKET, checkpointId(bucketName, shard)))
+            .flatMap(inputStream -> Mono.using(() -> inputStream,
+                stream -> Mono.fromCallable(() -> deserialize(stream, shard)).flatMap(Mono::justOrEmpty),
+                Throwing.consumer(InputStream::close).sneakyThrow()))
+            .onErrorResume(ObjectNotFoundException.class, e -> Mono.empty())
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    public Mono<Void> store(BucketName bucketName, BloomFilterGCCheckpoint checkpoint) {
+        return Mono.using(() -> new FileBackedOutputStream(FILE_THRESHOLD),
+                stream -> Mono.fromCallable(() -> {
+                        serialize(checkpoint, stream);
+                        return stream.asByteSource();
+                    })
+                    .flatMap(content -> Mono.from(blobStoreDAO.save(CHECKPOINT_BUCKET, checkpointId(bucketName, checkpoint.getShard()), content))),
+                Throwing.consumer(FileBackedOutputStream::reset).sneakyThrow())
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    public Mono<Void> delete(BucketName bucketName, BlobGCShard shard) {
+        return Mono.from(blobStoreDAO.delete(CHECKPOINT_BUCKET, checkpointId(bucketName, shard)));
+    }
+
+    private BlobId checkpointId(BucketName bucketName, BlobGCShard shard) {
+        return blobIdFactory.from("gc-checkpoint-" + bucketName.asString().replace('_', '-')
+            + "-" + shard.getIndex() + "-of-" + shard.getCount());
+    }
+
+    private void serialize(BloomFilterGCCheckpoint checkpoint, FileBackedOutputStream stream) throws IOException {
+        try (DataOutputStream output = new DataOutputStream(stream)) {
+            output.writeInt(FORMAT_VERSION);
+            output.writeUTF(checkpoint.getStatus().name());
+            output.writeUTF(checkpoint.getSalt());
+            output.writeLong(checkpoint.getFilterBuiltAt().toEpochMilli());
+            output.writeInt(checkpoint.getExpectedBlobCount());
+            output.writeDouble(checkpoint.getAssociatedProbability());
+            if (checkpoint.getBloomFilter().isPresent()) {
+                checkpoint.getBloomFilter().get().writeTo(output);
+            }
+        }
+    }
+
+    private Optional<BloomFilterGCCheckpoint> deserialize(InputStream stream, BlobGCShard shard) throws IOException {
+        DataInputStream input = new DataInputStream(stream);
+        int version = input.readInt();
+        if (version != FORMAT_VERSION) {
+            LOGGER.warn("Ignoring blob GC checkpoint of {} with unsupported format version {}", shard, version);
+            return Optional.empty();
+        }
+        BloomFilterGCCheckpoint.Status status = BloomFilterGCCheckpoint.Status.valueOf(input.readUTF());
+        String salt = input.readUTF();
+        Instant filterBuiltAt = Instant.ofEpochMilli(input.readLong());
+        int expectedBlobCount = input.readInt();
+        double associatedProbability = input.readDouble();
+        Optional<BloomFilter<CharSequence>> bloomFilter = Optional.empty();
+        if (status == BloomFilterGCCheckpoint.Status.FILTER_BUILT) {
+            bloomFilter = Optional.of(BloomFilter.readFrom(input, BLOOM_FILTER_FUNNEL));
+        }
+        return Optional.of(new BloomFilterGCCheckpoint(shard, status, salt, filterBuiltAt, expectedBlobCount,
+            associatedProbability, bloomFilter));
+    }
+}
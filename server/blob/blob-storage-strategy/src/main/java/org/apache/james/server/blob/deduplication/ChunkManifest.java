@@ -0,0 +1,115 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.server.blob.deduplication;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+
+import org.apache.james.blob.api.BlobId;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Ordered list of the chunks a blob is made of.
+ *
+ * Manifests are stored as blobs, under an id carrying the {@link #MANIFEST_ID_SUFFIX} suffix. The suffix relies on a
+ * character that never occurs in hash based blob ids, which allows telling manifests apart from regular blobs without
+ * reading them.
+ */
+public class ChunkManifest {
+    public static final String MANIFEST_ID_SUFFIX = ".manifest";
+
+    private static final String FORMAT_HEADER = "james-chunk-manifest-v1";
+    private static final char SEPARATOR = '\n';
+
+    public static boolean isManifest(BlobId blobId) {
+        return blobId.asString().endsWith(MANIFEST_ID_SUFFIX);
+    }
+
+    public static BlobId manifestId(BlobId.Factory blobIdFactory, BlobId payloadId) {
+        return blobIdFactory.from(payloadId.asString() + MANIFEST_ID_SUFFIX);
+    }
+
+    public static ChunkManifest parse(BlobId.Factory blobIdFactory, byte[] serialized) {
+        List<String> lines = Splitter.on(SEPARATOR)
+            .omitEmptyStrings()
+            .splitToList(new String(serialized, StandardCharsets.UTF_8));
+        Preconditions.checkArgument(lines.size() >= 2 && lines.get(0).equals(FORMAT_HEADER), "Invalid chunk manifest");
+
+        return new ChunkManifest(Long.parseLong(lines.get(1)),
+            lines.subList(2, lines.size())
+                .stream()
+                .map(blobIdFactory::from)
+                .collect(ImmutableList.toImmutableList()));
+    }
+
+    private final long size;
+    private final ImmutableList<BlobId> chunks;
+
+    public ChunkManifest(long size, List<BlobId> chunks) {
+        Preconditions.checkArgument(size >= 0, "'size' must be positive");
+        this.size = size;
+        this.chunks = ImmutableList.copyOf(chunks);
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public ImmutableList<BlobId> getChunks() {
+        return chunks;
+    }
+
+    public byte[] serialize() {
+        StringBuilder builder = new StringBuilder()
+            .append(FORMAT_HEADER).append(SEPARATOR)
+            .append(size).append(SEPARATOR);
+        chunks.forEach(chunk -> builder.append(chunk.asString()).append(SEPARATOR));
+        return builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public final boolean equals(Object o) {
+        if (o instanceof ChunkManifest) {
+            ChunkManifest that = (ChunkManifest) o;
+
+            return Objects.equals(this.size, that.size)
+                && Objects.equals(this.chunks, that.chunks);
+        }
+        return false;
+    }
+
+    @Override
+    public final int hashCode() {
+        return Objects.hash(size, chunks);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("size", size)
+            .add("chunks", chunks)
+            .toString();
+    }
+}
@@ -0,0 +1,72 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.server.blob.deduplication;
+
+import static org.apache.james.util.ReactorUtils.DEFAULT_CONCURRENCY;
+
+import org.apache.james.blob.api.BlobId;
+import org.apache.james.blob.api.BlobReferenceSource;
+import org.apache.james.blob.api.BlobStoreDAO;
+import org.apache.james.blob.api.BucketName;
+import org.apache.james.blob.api.ObjectNotFoundException;
+import org.reactivestreams.Publisher;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Completes the references of a {@link BlobReferenceSource} with the chunks of the referenced
+ * {@link ChunkManifest}, so that the garbage collection retains the chunks of referenced blobs stored by
+ * {@link ChunkedDeDuplicationBlobStore}.
+ *
+ * Only references carrying the manifest id suffix are read: this is a no-op for blobs stored as a whole.
+ */
+public class ChunkedBlobReferenceSource implements BlobReferenceSource {
+    private final BlobReferenceSource delegate;
+    private final BlobStoreDAO blobStoreDAO;
+    private final BucketName bucketName;
+    private final BlobId.Factory blobIdFactory;
+
+    public ChunkedBlobReferenceSource(BlobReferenceSource delegate, BlobStoreDAO blobStoreDAO, BucketName bucketName, BlobId.Factory blobIdFactory) {
+        this.delegate = delegate;
+        this.blobStoreDAO = blobStoreDAO;
+        this.bucketName = bucketName;
+        this.blobIdFactory = blobIdFactory;
+    }
+
+    @Override
+    public Publisher<BlobId> listReferencedBlobs() {
+        return Flux.from(delegate.listReferencedBlobs())
+            .flatMap(blobId -> {
+                if (ChunkManifest.isManifest(blobId)) {
+                    return withChunks(blobId);
+                }
+                return Flux.just(blobId);
+            }, DEFAULT_CONCURRENCY);
+    }
+
+    private Flux<BlobId> withChunks(BlobId manifestId) {
+        return Mono.from(blobStoreDAO.readBytes(bucketName, manifestId))
+            .map(bytes -> ChunkManifest.parse(blobIdFactory, bytes))
+            .flatMapIterable(ChunkManifest::getChunks)
+            .onErrorResume(ObjectNotFoundException.class, e -> Flux.empty())
+            .startWith(manifestId);
+    }
+}
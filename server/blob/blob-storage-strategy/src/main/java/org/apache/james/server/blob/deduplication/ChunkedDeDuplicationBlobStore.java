@@ -0,0 +1,278 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.server.blob.deduplication;
+
+import static org.apache.james.util.ReactorUtils.DEFAULT_CONCURRENCY;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+
+import org.apache.james.blob.api.BlobId;
+import org.apache.james.blob.api.BlobStore;
+import org.apache.james.blob.api.BlobStoreDAO;
+import org.apache.james.blob.api.BucketName;
+import org.apache.james.blob.api.ConcurrentBlobReads;
+import org.apache.james.blob.api.ObjectNotFoundException;
+import org.reactivestreams.Publisher;
+
+import com.github.fge.lambdas.Throwing;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterators;
+import com.google.common.io.ByteSource;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+/**
+ * Deduplicating {@link BlobStore} sharing identical parts of distinct blobs.
+ *
+ * Blobs larger than the maximum chunk size are split with {@link ContentDefinedChunker}. Each chunk is stored once,
+ * under the hash of its content, and a {@link ChunkManifest} listing the chunks is stored under the returned blob id.
+ * Chunks already present in the blob store are not uploaded again.
+ *
+ * Smaller blobs are stored as a whole, exactly as {@link DeDuplicationBlobStore} does. Blobs stored by
+ * {@link DeDuplicationBlobStore} are thus readable by this blob store.
+ *
+ * As with {@link DeDuplicationBlobStore}, deletion is left to the garbage collection, which accounts for chunks
+ * referenced by manifests, see {@link ChunkedBlobReferenceSource}.
+ */
+public class ChunkedDeDuplicationBlobStore implements BlobStore {
+    private static final int EXISTENCE_CHECK_BATCH_SIZE = 16;
+
+    private final BlobStoreDAO blobStoreDAO;
+    private final BucketName defaultBucketName;
+    private final BlobId.Factory blobIdFactory;
+    private final ContentDefinedChunker chunker;
+    private final DeDuplicationBlobStore wholeBlobStore;
+
+    @Inject
+    public ChunkedDeDuplicationBlobStore(BlobStoreDAO blobStoreDAO,
+                                         @Named(BlobStore.DEFAULT_BUCKET_NAME_QUALIFIER) BucketName defaultBucketName,
+                                         BlobId.Factory blobIdFactory) {
+        this(blobStoreDAO, defaultBucketName, blobIdFactory, ContentDefinedChunker.DEFAULT);
+    }
+
+    public ChunkedDeDuplicationBlobStore(BlobStoreDAO blobStoreDAO, BucketName defaultBucketName,
+                                         BlobId.Factory blobIdFactory, ContentDefinedChunker chunker) {
+        this.blobStoreDAO = blobStoreDAO;
+        this.defaultBucketName = defaultBucketName;
+        this.blobIdFactory = blobIdFactory;
+        this.chunker = chunker;
+        this.wholeBlobStore = new DeDuplicationBlobStore(blobStoreDAO, defaultBucketName, blobIdFactory);
+    }
+
+    @Override
+    public Publisher<BlobId> save(BucketName bucketName, byte[] data, StoragePolicy storagePolicy) {
+        Preconditions.checkNotNull(bucketName);
+        Preconditions.checkNotNull(data);
+
+        if (data.length <= chunker.getMaxChunkSize()) {
+            return wholeBlobStore.save(bucketName, data, storagePolicy);
+        }
+        return saveChunks(bucketName, new ByteArrayInputStream(data));
+    }
+
+    @Override
+    public Publisher<BlobId> save(BucketName bucketName, ByteSource data, StoragePolicy storagePolicy) {
+        Preconditions.checkNotNull(bucketName);
+        Preconditions.checkNotNull(data);
+
+        return Mono.fromCallable(data::size)
+            .flatMap(size -> {
+                if (size <= chunker.getMaxChunkSize()) {
+                    return Mono.from(wholeBlobStore.save(bucketName, data, storagePolicy));
+                }
+                return Mono.using(data::openStream,
+                    stream -> saveChunks(bucketName, stream),
+                    Throwing.consumer(InputStream::close).sneakyThrow());
+            })
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Publisher<BlobId> save(BucketName bucketName, InputStream data, StoragePolicy storagePolicy) {
+        Preconditions.checkNotNull(bucketName);
+        Preconditions.checkNotNull(data);
+
+        return Mono.fromCallable(() -> data.readNBytes(chunker.getMaxChunkSize() + 1))
+            .flatMap(head -> {
+                if (head.length <= chunker.getMaxChunkSize()) {
+                    return Mono.from(wholeBlobStore.save(bucketName, new ByteArrayInputStream(head), storagePolicy));
+                }
+                return saveChunks(bucketName, new SequenceInputStream(new ByteArrayInputStream(head), data));
+            })
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private Mono<BlobId> saveChunks(BucketName bucketName, InputStream data) {
+        return chunker.chunk(data)
+            .map(chunk -> Tuples.of(blobIdFactory.forPayload(chunk), chunk))
+            .buffer(EXISTENCE_CHECK_BATCH_SIZE)
+            // Bounds the count of chunks held in memory
+            .concatMap(chunks -> saveMissingChunks(bucketName, chunks), 1)
+            .collectList()
+            .map(chunks -> new ChunkManifest(
+                chunks.stream().mapToLong(Tuple2::getT2).sum(),
+                chunks.stream().map(Tuple2::getT1).collect(ImmutableList.toImmutableList())))
+            .flatMap(manifest -> saveManifest(bucketName, manifest))
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private Flux<Tuple2<BlobId, Integer>> saveMissingChunks(BucketName bucketName, List<Tuple2<BlobId, byte[]>> chunks) {
+        return Mono.from(blobStoreDAO.exists(bucketName, chunks.stream().map(Tuple2::getT1).collect(ImmutableSet.toImmutableSet())))
+            .flatMapMany(existingChunks -> Flux.fromIterable(chunks)
+                .filter(chunk -> !existingChunks.contains(chunk.getT1()))
+                .distinct(Tuple2::getT1)
+                .flatMap(chunk -> blobStoreDAO.save(bucketName, chunk.getT1(), chunk.getT2()), DEFAULT_CONCURRENCY))
+            .thenMany(Flux.fromIterable(chunks)
+                .map(chunk -> Tuples.of(chunk.getT1(), chunk.getT2().length)));
+    }
+
+    private Mono<BlobId> saveManifest(BucketName bucketName, ChunkManifest manifest) {
+        byte[] serializedManifest = manifest.serialize();
+        BlobId manifestId = ChunkManifest.manifestId(blobIdFactory, blobIdFactory.forPayload(serializedManifest));
+
+        return Mono.from(blobStoreDAO.save(bucketName, manifestId, serializedManifest))
+            .thenReturn(manifestId);
+    }
+
+    private Mono<ChunkManifest> readManifest(BucketName bucketName, BlobId manifestId) {
+        return Mono.from(blobStoreDAO.readBytes(bucketName, manifestId))
+            .map(bytes -> ChunkManifest.parse(blobIdFactory, bytes));
+    }
+
+    private InputStream chunksInputStream(BucketName bucketName, ChunkManifest manifest) {
+        // Chunks are opened lazily, one after the other, as the content is consumed
+        return new SequenceInputStream(Iterators.asEnumeration(
+            Iterators.transform(manifest.getChunks().iterator(), chunk -> blobStoreDAO.read(bucketName, chunk))));
+    }
+
+    private byte[] assemble(BlobId manifestId, ChunkManifest manifest, Map<BlobId, byte[]> chunks) {
+        byte[] content = new byte[Math.toIntExact(manifest.getSize())];
+        int position = 0;
+        for (BlobId chunkId : manifest.getChunks()) {
+            byte[] chunk = chunks.get(chunkId);
+            if (chunk == null) {
+                throw new ObjectNotFoundException("Missing chunk " + chunkId.asString() + " of blob " + manifestId.asString());
+            }
+            System.arraycopy(chunk, 0, content, position, chunk.length);
+            position += chunk.length;
+        }
+        return content;
+    }
+
+    @Override
+    public Publisher<byte[]> readBytes(BucketName bucketName, BlobId blobId) {
+        Preconditions.checkNotNull(bucketName);
+
+        if (!ChunkManifest.isManifest(blobId)) {
+            return blobStoreDAO.readBytes(bucketName, blobId);
+        }
+        return readManifest(bucketName, blobId)
+            .flatMap(manifest -> Mono.from(blobStoreDAO.readBytes(bucketName, manifest.getChunks()))
+                .map(chunks -> assemble(blobId, manifest, chunks)));
+    }
+
+    @Override
+    public Publisher<Map<BlobId, byte[]>> readBytes(BucketName bucketName, Collection<BlobId> blobIds) {
+        Preconditions.checkNotNull(bucketName);
+
+        Map<Boolean, List<BlobId>> partitionedBlobIds = ImmutableSet.copyOf(blobIds).stream()
+            .collect(Collectors.partitioningBy(ChunkManifest::isManifest));
+
+        return ConcurrentBlobReads.readBytes(partitionedBlobIds.get(true), manifestId -> readBytes(bucketName, manifestId))
+            .zipWith(Mono.from(blobStoreDAO.readBytes(bucketName, partitionedBlobIds.get(false))),
+                (chunkedBlobs, wholeBlobs) -> ImmutableMap.<BlobId, byte[]>builder()
+                    .putAll(chunkedBlobs)
+                    .putAll(wholeBlobs)
+                    .build());
+    }
+
+    @Override
+    public InputStream read(BucketName bucketName, BlobId blobId) {
+        Preconditions.checkNotNull(bucketName);
+
+        if (!ChunkManifest.isManifest(blobId)) {
+            return blobStoreDAO.read(bucketName, blobId);
+        }
+        return chunksInputStream(bucketName, readManifest(bucketName, blobId).block());
+    }
+
+    @Override
+    public Publisher<InputStream> readReactive(BucketName bucketName, BlobId blobId) {
+        Preconditions.checkNotNull(bucketName);
+
+        if (!ChunkManifest.isManifest(blobId)) {
+            return blobStoreDAO.readReactive(bucketName, blobId);
+        }
+        return readManifest(bucketName, blobId)
+            .map(manifest -> chunksInputStream(bucketName, manifest));
+    }
+
+    @Override
+    public Publisher<Long> size(BucketName bucketName, BlobId blobId) {
+        Preconditions.checkNotNull(bucketName);
+
+        if (!ChunkManifest.isManifest(blobId)) {
+            return blobStoreDAO.size(bucketName, blobId);
+        }
+        return readManifest(bucketName, blobId)
+            .map(ChunkManifest::getSize);
+    }
+
+    @Override
+    public BucketName getDefaultBucketName() {
+        return defaultBucketName;
+    }
+
+    @Override
+    public Publisher<BucketName> listBuckets() {
+        return wholeBlobStore.listBuckets();
+    }
+
+    @Override
+    public Publisher<Void> deleteBucket(BucketName bucketName) {
+        return blobStoreDAO.deleteBucket(bucketName);
+    }
+
+    @Override
+    public Publisher<Boolean> delete(BucketName bucketName, BlobId blobId) {
+        return wholeBlobStore.delete(bucketName, blobId);
+    }
+
+    @Override
+    public Publisher<BlobId> listBlobs(BucketName bucketName) {
+        return blobStoreDAO.listBlobs(bucketName);
+    }
+}
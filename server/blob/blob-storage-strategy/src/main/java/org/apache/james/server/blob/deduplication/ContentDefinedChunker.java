@@ -0,0 +1,160 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.server.blob.deduplication;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import com.google.common.base.Preconditions;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Splits content into chunks whose boundaries depend on the content itself, following the FastCDC algorithm
+ * (Xia et al., USENIX ATC 2016): a gear rolling hash is computed over the content, and a chunk ends as soon as the
+ * hash matches a mask. Normalized chunking uses a harder mask below the average chunk size and an easier one above
+ * it, which narrows the chunk size distribution.
+ *
+ * As boundaries are content defined, inserting or removing bytes only alters the chunks around the modification:
+ * the remaining chunks, and thus their hashes, are left unchanged.
+ *
+ * Chunk boundaries must be stable across releases, otherwise previously stored chunks would no longer be shared with
+ * newly stored ones. The gear table is thus derived from a fixed seed with a hash function whose output is specified.
+ */
+public class ContentDefinedChunker {
+    public static final int DEFAULT_MIN_CHUNK_SIZE = 16 * 1024;
+    public static final int DEFAULT_AVERAGE_CHUNK_SIZE = 64 * 1024;
+    public static final int DEFAULT_MAX_CHUNK_SIZE = 256 * 1024;
+    public static final ContentDefinedChunker DEFAULT = new ContentDefinedChunker(DEFAULT_MIN_CHUNK_SIZE, DEFAULT_AVERAGE_CHUNK_SIZE, DEFAULT_MAX_CHUNK_SIZE);
+
+    private static final int GEAR_SEED = 0x4a414d45;
+    private static final int NORMALIZATION_LEVEL = 2;
+    private static final long[] GEAR = gearTable();
+
+    private static long[] gearTable() {
+        HashFunction hashFunction = Hashing.murmur3_128(GEAR_SEED);
+        return IntStream.range(0, 256)
+            .mapToLong(index -> hashFunction.hashInt(index).asLong())
+            .toArray();
+    }
+
+    private static long mask(int bits) {
+        return ((1L << bits) - 1) << (Long.SIZE - bits);
+    }
+
+    private final int minChunkSize;
+    private final int averageChunkSize;
+    private final int maxChunkSize;
+    private final long smallMask;
+    private final long largeMask;
+
+    public ContentDefinedChunker(int minChunkSize, int averageChunkSize, int maxChunkSize) {
+        Preconditions.checkArgument(minChunkSize > 0, "'minChunkSize' must be strictly positive");
+        Preconditions.checkArgument(minChunkSize <= averageChunkSize, "'minChunkSize' must not exceed 'averageChunkSize'");
+        Preconditions.checkArgument(averageChunkSize <= maxChunkSize, "'averageChunkSize' must not exceed 'maxChunkSize'");
+        Preconditions.checkArgument(Integer.bitCount(averageChunkSize) == 1, "'averageChunkSize' must be a power of two");
+
+        this.minChunkSize = minChunkSize;
+        this.averageChunkSize = averageChunkSize;
+        this.maxChunkSize = maxChunkSize;
+        int bits = Integer.numberOfTrailingZeros(averageChunkSize);
+        this.smallMask = mask(Math.min(bits + NORMALIZATION_LEVEL, Long.SIZE - 1));
+        this.largeMask = mask(Math.max(bits - NORMALIZATION_LEVEL, 1));
+    }
+
+    public int getMinChunkSize() {
+        return minChunkSize;
+    }
+
+    public int getMaxChunkSize() {
+        return maxChunkSize;
+    }
+
+    /**
+     * Lazily chunks the given stream. At most {@code maxChunkSize} bytes are buffered at a time. The stream is not
+     * closed.
+     */
+    public Flux<byte[]> chunk(InputStream content) {
+        return Flux.generate(() -> new ChunkingState(content, maxChunkSize), (state, sink) -> {
+            byte[] chunk = state.next(this);
+            if (chunk.length == 0) {
+                sink.complete();
+            } else {
+                sink.next(chunk);
+            }
+            return state;
+        });
+    }
+
+    /**
+     * @return the length of the first chunk of the first {@code length} bytes of the buffer, ending the content
+     */
+    int cutPoint(byte[] buffer, int length) {
+        if (length <= minChunkSize) {
+            return length;
+        }
+        int normalSize = Math.min(averageChunkSize, length);
+        long fingerprint = 0;
+        int index = minChunkSize;
+        for (; index < normalSize; index++) {
+            fingerprint = (fingerprint << 1) + GEAR[buffer[index] & 0xff];
+            if ((fingerprint & smallMask) == 0) {
+                return index + 1;
+            }
+        }
+        for (; index < length; index++) {
+            fingerprint = (fingerprint << 1) + GEAR[buffer[index] & 0xff];
+            if ((fingerprint & largeMask) == 0) {
+                return index + 1;
+            }
+        }
+        return length;
+    }
+
+    private static class ChunkingState {
+        private final InputStream content;
+        private final byte[] buffer;
+        private int length;
+
+        ChunkingState(InputStream content, int maxChunkSize) {
+            this.content = content;
+            this.buffer = new byte[maxChunkSize];
+            this.length = 0;
+        }
+
+        byte[] next(ContentDefinedChunker chunker) {
+            try {
+                length += content.readNBytes(buffer, length, buffer.length - length);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed reading content to chunk", e);
+            }
+            int cutPoint = chunker.cutPoint(buffer, length);
+            byte[] chunk = Arrays.copyOf(buffer, cutPoint);
+            System.arraycopy(buffer, cutPoint, buffer, 0, length - cutPoint);
+            length -= cutPoint;
+            return chunk;
+        }
+    }
+}
@@ -20,5 +20,6 @@ package org.apache.james.server.blob.deduplication;
 
 public enum StorageStrategy {
     PASSTHROUGH,
-    DEDUPLICATION
+    DEDUPLICATION,
+    CHUNKED_DEDUPLICATION
 }
@@ -96,6 +96,12 @@ class DeDuplicationBlobStore @Inject()(blobStoreDAO: BlobStoreDAO,
     blobStoreDAO.readBytes(bucketName, blobId)
   }
 
+  override def readBytes(bucketName: BucketName, blobIds: java.util.Collection[BlobId]): Publisher[java.util.Map[BlobId, Array[Byte]]] = {
+    Preconditions.checkNotNull(bucketName)
+
+    blobStoreDAO.readBytes(bucketName, blobIds)
+  }
+
   override def read(bucketName: BucketName, blobId: BlobId): InputStream = {
     Preconditions.checkNotNull(bucketName)
 
@@ -108,6 +114,12 @@ class DeDuplicationBlobStore @Inject()(blobStoreDAO: BlobStoreDAO,
     blobStoreDAO.readReactive(bucketName, blobId)
   }
 
+  override def size(bucketName: BucketName, blobId: BlobId): Publisher[java.lang.Long] = {
+    Preconditions.checkNotNull(bucketName)
+
+    blobStoreDAO.size(bucketName, blobId)
+  }
+
   override def getDefaultBucketName: BucketName = defaultBucketName
 
   override def deleteBucket(bucketName: BucketName): Publisher[Void] = {
@@ -0,0 +1,110 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.server.blob.deduplication;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.apache.james.blob.api.BlobId;
+import org.apache.james.blob.api.HashBlobId;
+import org.junit.jupiter.api.Test;
+
+class BlobGCShardTest {
+    private static final HashBlobId.Factory BLOB_ID_FACTORY = new HashBlobId.Factory();
+
+    @Test
+    void ofShouldRejectZeroShardCount() {
+        assertThatThrownBy(() -> BlobGCShard.of(0, 0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void ofShouldRejectNegativeIndex() {
+        assertThatThrownBy(() -> BlobGCShard.of(-1, 2))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void ofShouldRejectIndexEqualToShardCount() {
+        assertThatThrownBy(() -> BlobGCShard.of(2, 2))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void allShouldReturnEveryShard() {
+        assertThat(BlobGCShard.all(3))
+            .containsExactly(BlobGCShard.of(0, 3), BlobGCShard.of(1, 3), BlobGCShard.of(2, 3));
+    }
+
+    @Test
+    void singleShardShouldContainAnyBlob() {
+        assertThat(BlobGCShard.SINGLE.contains(BLOB_ID_FACTORY.randomId()))
+            .isTrue();
+    }
+
+    @Test
+    void eachBlobShouldBelongToExactlyOneShard() {
+        List<BlobGCShard> shards = BlobGCShard.all(5);
+
+        IntStream.range(0, 100)
+            .mapToObj(any -> BLOB_ID_FACTORY.randomId())
+            .forEach(blobId -> assertThat(shards.stream().filter(shard -> shard.contains(blobId)).count())
+                .isEqualTo(1));
+    }
+
+    @Test
+    void shardsShouldBeEvenlySized() {
+        List<BlobGCShard> shards = BlobGCShard.all(4);
+        List<BlobId> blobIds = IntStream.range(0, 4000)
+            .mapToObj(any -> BLOB_ID_FACTORY.randomId())
+            .collect(Collectors.toList());
+
+        shards.forEach(shard -> assertThat(blobIds.stream().filter(shard::contains).count())
+            .isBetween(800L, 1200L));
+    }
+
+    @Test
+    void containsShouldOnlyDependOnTheBlobIdValue() {
+        BlobId blobId = BLOB_ID_FACTORY.randomId();
+        BlobGCShard shard = BlobGCShard.all(8).stream()
+            .filter(candidate -> candidate.contains(blobId))
+            .findFirst()
+            .orElseThrow();
+
+        assertThat(shard.contains(BLOB_ID_FACTORY.from(blobId.asString())))
+            .isTrue();
+    }
+
+    @Test
+    void expectedBlobCountShouldBeSplitAmongShards() {
+        assertThat(BlobGCShard.of(0, 4).expectedBlobCount(1001))
+            .isEqualTo(251);
+    }
+
+    @Test
+    void expectedBlobCountShouldBeStrictlyPositive() {
+        assertThat(BlobGCShard.of(0, 4).expectedBlobCount(0))
+            .isEqualTo(1);
+    }
+}
@@ -26,9 +26,13 @@ import java.time.Instant;
 
 import org.apache.james.JsonSerializationVerifier;
 import org.apache.james.json.JsonGenericSerializer;
+import org.apache.james.server.blob.deduplication.BloomFilterGCAlgorithm.Context.ShardSnapshot;
+import org.apache.james.server.blob.deduplication.BloomFilterGCAlgorithm.Context.ShardStatus;
 import org.apache.james.util.ClassLoaderUtils;
 import org.junit.jupiter.api.Test;
 
+import com.google.common.collect.ImmutableList;
+
 class BlobGCTaskAdditionalInformationDTOTest {
 
     @Test
@@ -42,11 +46,37 @@ class BlobGCTaskAdditionalInformationDTOTest {
                 5,
                 0.8,
                 Instant.parse("2007-12-03T10:15:30.00Z"),
-                100))
-            .json(ClassLoaderUtils.getSystemResourceAsString("json/blobGC.additionalInformation.json"))
+                100,
+                2,
+                ImmutableList.of(
+                    new ShardSnapshot(0, ShardStatus.COMPLETED, 1, 2, 3, 0),
+                    new ShardSnapshot(1, ShardStatus.FAILED, 0, 0, 0, 4))))
+            .json(ClassLoaderUtils.getSystemResourceAsString("json/blobGC-v2.additionalInformation.json"))
             .verify();
     }
 
+    @Test
+    void shouldDeserializeUnshardedData() throws Exception {
+        BlobGCTask.AdditionalInformation gcTask = JsonGenericSerializer
+            .forModules(BlobGCTaskAdditionalInformationDTO.SERIALIZATION_MODULE)
+            .withoutNestedType()
+            .deserialize(ClassLoaderUtils.getSystemResourceAsString("json/blobGC.additionalInformation.json"));
+
+        assertThat(gcTask)
+            .usingRecursiveComparison(recursiveComparisonConfiguration)
+            .isEqualTo(new BlobGCTask.AdditionalInformation(
+                1,
+                2,
+                3,
+                4,
+                5,
+                0.8,
+                Instant.parse("2007-12-03T10:15:30.00Z"),
+                100,
+                1,
+                ImmutableList.of()));
+    }
+
     @Test
     void shouldDeserializeLegacyData() throws Exception {
         BlobGCTask.AdditionalInformation gcTask = JsonGenericSerializer
@@ -64,6 +94,8 @@ class BlobGCTaskAdditionalInformationDTOTest {
                 5,
                 0.8,
                 Instant.parse("2007-12-03T10:15:30.00Z"),
-                1000));
+                1000,
+                1,
+                ImmutableList.of()));
     }
 }
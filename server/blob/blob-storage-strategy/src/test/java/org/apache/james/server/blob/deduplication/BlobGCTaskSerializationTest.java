@@ -38,6 +38,7 @@ import org.apache.james.utils.UpdatableTickingClock;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 
 class BlobGCTaskSerializationTest {
@@ -73,12 +74,39 @@ class BlobGCTaskSerializationTest {
                 clock,
                 99,
                 100,
-                0.8
+                0.8,
+                ImmutableList.of(BlobGCShard.of(1, 4), BlobGCShard.of(3, 4))
             ))
-            .json(ClassLoaderUtils.getSystemResourceAsString("json/blobGC.task.json"))
+            .json(ClassLoaderUtils.getSystemResourceAsString("json/blobGC-v2.task.json"))
             .verify();
     }
 
+    @Test
+    void shouldDeserializeUnshardedData() throws Exception {
+        BlobGCTask gcTask = JsonGenericSerializer
+            .forModules(BlobGCTaskDTO.module(
+                blobStoreDAO,
+                generationAwareBlobIdFactory,
+                generationAwareBlobIdConfiguration,
+                blobReferenceSources,
+                clock))
+            .withoutNestedType()
+            .deserialize(ClassLoaderUtils.getSystemResourceAsString("json/blobGC.task.json"));
+        assertThat(gcTask)
+            .usingRecursiveComparison(recursiveComparisonConfiguration)
+            .isEqualTo(new BlobGCTask(
+                blobStoreDAO,
+                generationAwareBlobIdFactory,
+                generationAwareBlobIdConfiguration,
+                blobReferenceSources,
+                BucketName.DEFAULT,
+                clock,
+                99,
+                100,
+                0.8
+            ));
+    }
+
     @Test
     void shouldDeserializeLegacyData() throws Exception {
         BlobGCTask gcTask = JsonGenericSerializer
@@ -0,0 +1,105 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.server.blob.deduplication;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.apache.james.blob.api.BlobId;
+import org.apache.james.blob.api.HashBlobId;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import reactor.core.publisher.Flux;
+
+class BlobIdPartitionsTest {
+    private static final HashBlobId.Factory BLOB_ID_FACTORY = new HashBlobId.Factory();
+
+    // Enough blob ids for partitions to exceed their in memory threshold
+    private static final List<BlobId> BLOB_IDS = IntStream.range(0, 10000)
+        .mapToObj(any -> BLOB_ID_FACTORY.randomId())
+        .collect(ImmutableList.toImmutableList());
+
+    @Test
+    void readShouldReturnTheBlobIdsOfTheShard() {
+        List<BlobGCShard> shards = BlobGCShard.all(4);
+        BlobIdPartitions testee = BlobIdPartitions.partition(Flux.fromIterable(BLOB_IDS), shards).block();
+
+        try {
+            shards.forEach(shard -> assertThat(testee.read(shard).collectList().block())
+                .containsExactlyElementsOf(BLOB_IDS.stream()
+                    .filter(shard::contains)
+                    .map(BlobId::asString)
+                    .collect(Collectors.toList())));
+        } finally {
+            testee.release().block();
+        }
+    }
+
+    @Test
+    void partitionShouldListOnceForAllShards() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        List<BlobGCShard> shards = BlobGCShard.all(4);
+        BlobIdPartitions testee = BlobIdPartitions.partition(Flux.fromIterable(BLOB_IDS)
+            .doOnSubscribe(any -> subscriptions.incrementAndGet()), shards).block();
+
+        try {
+            shards.forEach(shard -> testee.read(shard).blockLast());
+
+            assertThat(subscriptions.get()).isEqualTo(1);
+        } finally {
+            testee.release().block();
+        }
+    }
+
+    @Test
+    void partitionShouldIgnoreBlobIdsOfOtherShards() {
+        BlobGCShard shard = BlobGCShard.of(1, 4);
+        List<BlobGCShard> shards = ImmutableList.of(BlobGCShard.of(0, 4), shard);
+        BlobIdPartitions testee = BlobIdPartitions.partition(Flux.fromIterable(BLOB_IDS), shards).block();
+
+        try {
+            assertThat(testee.read(shard).collectList().block())
+                .containsExactlyElementsOf(BLOB_IDS.stream()
+                    .filter(shard::contains)
+                    .map(BlobId::asString)
+                    .collect(Collectors.toList()));
+        } finally {
+            testee.release().block();
+        }
+    }
+
+    @Test
+    void readShouldReturnTheListingOfASingleShard() {
+        BlobGCShard shard = BlobGCShard.of(2, 4);
+        BlobIdPartitions testee = BlobIdPartitions.partition(Flux.fromIterable(BLOB_IDS), ImmutableList.of(shard)).block();
+
+        assertThat(testee.read(shard).collectList().block())
+            .containsExactlyElementsOf(BLOB_IDS.stream()
+                .filter(shard::contains)
+                .map(BlobId::asString)
+                .collect(Collectors.toList()));
+    }
+}
@@ -30,7 +30,9 @@ import static org.mockito.Mockito.when;
 import java.time.ZonedDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -42,6 +44,8 @@ import org.apache.james.blob.api.BucketName;
 import org.apache.james.blob.api.HashBlobId;
 import org.apache.james.blob.api.ObjectNotFoundException;
 import org.apache.james.server.blob.deduplication.BloomFilterGCAlgorithm.Context;
+import org.apache.james.server.blob.deduplication.BloomFilterGCAlgorithm.Context.ShardSnapshot;
+import org.apache.james.server.blob.deduplication.BloomFilterGCAlgorithm.Context.ShardStatus;
 import org.apache.james.server.blob.deduplication.BloomFilterGCAlgorithm.Context.Snapshot;
 import org.apache.james.task.Task;
 import org.apache.james.utils.UpdatableTickingClock;
@@ -52,6 +56,9 @@ import org.junit.jupiter.api.RepeatedTest;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentMatchers;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.hash.BloomFilter;
+
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -95,6 +102,25 @@ public interface BloomFilterGCAlgorithmContract {
             CLOCK);
     }
 
+    default BloomFilterGCCheckpointStore checkpointStore() {
+        return new BloomFilterGCCheckpointStore(blobStoreDAO(), BLOB_ID_FACTORY);
+    }
+
+    default BloomFilterGCAlgorithm checkpointingBloomFilterGCAlgorithm() {
+        return new BloomFilterGCAlgorithm(BLOB_REFERENCE_SOURCE,
+            blobStoreDAO(),
+            GENERATION_AWARE_BLOB_ID_FACTORY,
+            GENERATION_AWARE_BLOB_ID_CONFIGURATION,
+            Optional.of(checkpointStore()),
+            CLOCK);
+    }
+
+    default List<BlobId> saveBlobs(BlobStore blobStore, int count) {
+        return IntStream.range(0, count)
+            .mapToObj(index -> Mono.from(blobStore.save(DEFAULT_BUCKET, UUID.randomUUID().toString(), BlobStore.StoragePolicy.HIGH_PERFORMANCE)).block())
+            .collect(Collectors.toList());
+    }
+
     @RepeatedTest(10)
     default void gcShouldRemoveOrphanBlob() {
         BlobStore blobStore = blobStore();
@@ -261,4 +287,192 @@ public interface BloomFilterGCAlgorithmContract {
                 .bloomFilterAssociatedProbability(ASSOCIATED_PROBABILITY)
                 .build());
     }
+
+    @Test
+    default void shardedGcShouldRemoveOrphanBlobsOfAllShards() {
+        BlobStore blobStore = blobStore();
+        List<BlobId> referencedBlobIds = saveBlobs(blobStore, 20);
+        List<BlobId> orphanBlobIds = saveBlobs(blobStore, 20);
+
+        when(BLOB_REFERENCE_SOURCE.listReferencedBlobs()).thenReturn(Flux.fromIterable(referencedBlobIds));
+        CLOCK.setInstant(NOW.plusMonths(2).toInstant());
+
+        Context context = new Context(EXPECTED_BLOB_COUNT, ASSOCIATED_PROBABILITY);
+        Task.Result result = bloomFilterGCAlgorithm().gc(EXPECTED_BLOB_COUNT, DELETION_WINDOW_SIZE, ASSOCIATED_PROBABILITY, DEFAULT_BUCKET,
+            BlobGCShard.all(4), context).block();
+
+        assertThat(result).isEqualTo(Task.Result.COMPLETED);
+        assertThat(context.snapshot().getReferenceSourceCount()).isEqualTo(20);
+        assertThat(context.snapshot().getBlobCount()).isEqualTo(40);
+        assertThat(context.shardSnapshots().stream().map(ShardSnapshot::getStatus).distinct().collect(Collectors.toList()))
+            .isEqualTo(ImmutableList.of(ShardStatus.COMPLETED));
+        assertThat(context.shardSnapshots().stream().mapToLong(ShardSnapshot::getBlobCount).sum())
+            .isEqualTo(40);
+        referencedBlobIds.forEach(blobId ->
+            assertThat(blobStore.read(DEFAULT_BUCKET, blobId))
+                .isNotNull());
+        assertThat(context.snapshot().getGcedBlobCount())
+            .isLessThanOrEqualTo(orphanBlobIds.size())
+            .isGreaterThan(0);
+    }
+
+    @Test
+    default void shardedGcShouldListReferencesOnce() {
+        BlobStore blobStore = blobStore();
+        List<BlobId> referencedBlobIds = saveBlobs(blobStore, 20);
+        AtomicInteger referenceListings = new AtomicInteger();
+
+        when(BLOB_REFERENCE_SOURCE.listReferencedBlobs()).thenReturn(Flux.fromIterable(referencedBlobIds)
+            .doOnSubscribe(any -> referenceListings.incrementAndGet()));
+        CLOCK.setInstant(NOW.plusMonths(2).toInstant());
+
+        Context context = new Context(EXPECTED_BLOB_COUNT, ASSOCIATED_PROBABILITY);
+        bloomFilterGCAlgorithm().gc(EXPECTED_BLOB_COUNT, DELETION_WINDOW_SIZE, ASSOCIATED_PROBABILITY, DEFAULT_BUCKET,
+            BlobGCShard.all(4), context).block();
+
+        assertThat(referenceListings.get()).isEqualTo(1);
+        assertThat(context.snapshot().getReferenceSourceCount()).isEqualTo(20);
+    }
+
+    @Test
+    default void shardedGcShouldOnlyCollectRequestedShards() {
+        BlobStore blobStore = blobStore();
+        List<BlobId> orphanBlobIds = saveBlobs(blobStore, 20);
+        BlobGCShard shard = BlobGCShard.of(1, 2);
+
+        when(BLOB_REFERENCE_SOURCE.listReferencedBlobs()).thenReturn(Flux.empty());
+        CLOCK.setInstant(NOW.plusMonths(2).toInstant());
+
+        Context context = new Context(EXPECTED_BLOB_COUNT, ASSOCIATED_PROBABILITY);
+        Task.Result result = bloomFilterGCAlgorithm().gc(EXPECTED_BLOB_COUNT, DELETION_WINDOW_SIZE, ASSOCIATED_PROBABILITY, DEFAULT_BUCKET,
+            ImmutableList.of(shard), context).block();
+
+        long shardBlobCount = orphanBlobIds.stream().filter(shard::contains).count();
+        assertThat(result).isEqualTo(Task.Result.COMPLETED);
+        assertThat(context.shardSnapshots())
+            .isEqualTo(ImmutableList.of(new ShardSnapshot(1, ShardStatus.COMPLETED, 0, shardBlobCount, shardBlobCount, 0)));
+        orphanBlobIds.forEach(blobId -> {
+            if (shard.contains(blobId)) {
+                assertThatThrownBy(() -> blobStore.read(DEFAULT_BUCKET, blobId))
+                    .isInstanceOf(ObjectNotFoundException.class);
+            } else {
+                assertThat(blobStore.read(DEFAULT_BUCKET, blobId))
+                    .isNotNull();
+            }
+        });
+    }
+
+    @Test
+    default void checkpointStoreShouldRetrieveStoredCheckpoint() {
+        BlobGCShard shard = BlobGCShard.of(1, 3);
+        BloomFilter<CharSequence> bloomFilter = BloomFilter.create(BloomFilterGCCheckpointStore.BLOOM_FILTER_FUNNEL, EXPECTED_BLOB_COUNT, ASSOCIATED_PROBABILITY);
+        bloomFilter.put("salt" + "abc");
+        BloomFilterGCCheckpoint checkpoint = BloomFilterGCCheckpoint.filterBuilt(shard, "salt", NOW.toInstant(), EXPECTED_BLOB_COUNT, ASSOCIATED_PROBABILITY, bloomFilter);
+
+        checkpointStore().store(DEFAULT_BUCKET, checkpoint).block();
+
+        BloomFilterGCCheckpoint retrieved = checkpointStore().retrieve(DEFAULT_BUCKET, shard).block();
+        assertThat(retrieved.getStatus()).isEqualTo(BloomFilterGCCheckpoint.Status.FILTER_BUILT);
+        assertThat(retrieved.getSalt()).isEqualTo("salt");
+        assertThat(retrieved.getFilterBuiltAt()).isEqualTo(NOW.toInstant());
+        assertThat(retrieved.getBloomFilter()).isEqualTo(Optional.of(bloomFilter));
+    }
+
+    @Test
+    default void checkpointStoreShouldReturnEmptyWhenNoCheckpoint() {
+        assertThat(checkpointStore().retrieve(DEFAULT_BUCKET, BlobGCShard.of(0, 3)).blockOptional())
+            .isEmpty();
+    }
+
+    @Test
+    default void gcShouldSkipShardsAlreadyCompletedByAPreviousRun() {
+        BlobStore blobStore = blobStore();
+        List<BlobId> orphanBlobIds = saveBlobs(blobStore, 20);
+        BlobGCShard completedShard = BlobGCShard.of(0, 2);
+        BlobGCShard pendingShard = BlobGCShard.of(1, 2);
+        BloomFilter<CharSequence> bloomFilter = BloomFilter.create(BloomFilterGCCheckpointStore.BLOOM_FILTER_FUNNEL, EXPECTED_BLOB_COUNT / 2, ASSOCIATED_PROBABILITY);
+        checkpointStore().store(DEFAULT_BUCKET, BloomFilterGCCheckpoint.filterBuilt(completedShard, "salt", NOW.toInstant(),
+            EXPECTED_BLOB_COUNT / 2, ASSOCIATED_PROBABILITY, bloomFilter).completed()).block();
+
+        when(BLOB_REFERENCE_SOURCE.listReferencedBlobs()).thenReturn(Flux.empty());
+        CLOCK.setInstant(NOW.plusMonths(2).toInstant());
+
+        Context context = new Context(EXPECTED_BLOB_COUNT, ASSOCIATED_PROBABILITY);
+        Task.Result result = checkpointingBloomFilterGCAlgorithm().gc(EXPECTED_BLOB_COUNT, DELETION_WINDOW_SIZE, ASSOCIATED_PROBABILITY, DEFAULT_BUCKET,
+            BlobGCShard.all(2), context).block();
+
+        assertThat(result).isEqualTo(Task.Result.COMPLETED);
+        assertThat(context.shardSnapshots().get(0).getStatus()).isEqualTo(ShardStatus.ALREADY_COMPLETED);
+        assertThat(context.shardSnapshots().get(1).getStatus()).isEqualTo(ShardStatus.COMPLETED);
+        orphanBlobIds.forEach(blobId -> {
+            if (pendingShard.contains(blobId)) {
+                assertThatThrownBy(() -> blobStore.read(DEFAULT_BUCKET, blobId))
+                    .isInstanceOf(ObjectNotFoundException.class);
+            } else {
+                assertThat(blobStore.read(DEFAULT_BUCKET, blobId))
+                    .isNotNull();
+            }
+        });
+    }
+
+    @Test
+    default void gcShouldReuseThePersistedBloomFilterOfAPreviousRun() {
+        BlobStore blobStore = blobStore();
+        BlobId blobId = Mono.from(blobStore.save(DEFAULT_BUCKET, UUID.randomUUID().toString(), BlobStore.StoragePolicy.HIGH_PERFORMANCE)).block();
+        BloomFilter<CharSequence> bloomFilter = BloomFilter.create(BloomFilterGCCheckpointStore.BLOOM_FILTER_FUNNEL, EXPECTED_BLOB_COUNT, ASSOCIATED_PROBABILITY);
+        bloomFilter.put("salt" + blobId.asString());
+        checkpointStore().store(DEFAULT_BUCKET, BloomFilterGCCheckpoint.filterBuilt(BlobGCShard.SINGLE, "salt", NOW.plusMonths(2).toInstant(),
+            EXPECTED_BLOB_COUNT, ASSOCIATED_PROBABILITY, bloomFilter)).block();
+
+        when(BLOB_REFERENCE_SOURCE.listReferencedBlobs()).thenReturn(Flux.empty());
+        CLOCK.setInstant(NOW.plusMonths(2).toInstant());
+
+        Context context = new Context(EXPECTED_BLOB_COUNT, ASSOCIATED_PROBABILITY);
+        Task.Result result = checkpointingBloomFilterGCAlgorithm().gc(EXPECTED_BLOB_COUNT, DELETION_WINDOW_SIZE, ASSOCIATED_PROBABILITY, DEFAULT_BUCKET, context).block();
+
+        assertThat(result).isEqualTo(Task.Result.COMPLETED);
+        assertThat(context.shardSnapshots())
+            .isEqualTo(ImmutableList.of(new ShardSnapshot(0, ShardStatus.COMPLETED, 0, 1, 0, 0)));
+        assertThat(blobStore.read(DEFAULT_BUCKET, blobId))
+            .isNotNull();
+    }
+
+    @Test
+    default void completedGcShouldDiscardCheckpoints() {
+        saveBlobs(blobStore(), 5);
+        when(BLOB_REFERENCE_SOURCE.listReferencedBlobs()).thenReturn(Flux.empty());
+        CLOCK.setInstant(NOW.plusMonths(2).toInstant());
+
+        checkpointingBloomFilterGCAlgorithm().gc(EXPECTED_BLOB_COUNT, DELETION_WINDOW_SIZE, ASSOCIATED_PROBABILITY, DEFAULT_BUCKET,
+            BlobGCShard.all(2), new Context(EXPECTED_BLOB_COUNT, ASSOCIATED_PROBABILITY)).block();
+
+        assertThat(checkpointStore().retrieve(DEFAULT_BUCKET, BlobGCShard.of(0, 2)).blockOptional()).isEmpty();
+        assertThat(checkpointStore().retrieve(DEFAULT_BUCKET, BlobGCShard.of(1, 2)).blockOptional()).isEmpty();
+    }
+
+    @Test
+    default void partialGcShouldKeepTheBloomFilterCheckpoint() {
+        when(BLOB_REFERENCE_SOURCE.listReferencedBlobs()).thenReturn(Flux.empty());
+        BlobStoreDAO blobStoreDAO = mock(BlobStoreDAO.class);
+        BlobId blobId = GENERATION_AWARE_BLOB_ID_FACTORY.randomId();
+        when(blobStoreDAO.listBlobs(DEFAULT_BUCKET)).thenReturn(Flux.just(blobId));
+        when(blobStoreDAO.delete(ArgumentMatchers.eq(DEFAULT_BUCKET), any(Collection.class))).thenReturn(Mono.error(new RuntimeException("test")));
+        CLOCK.setInstant(NOW.plusMonths(2).toInstant());
+
+        Context context = new Context(EXPECTED_BLOB_COUNT, ASSOCIATED_PROBABILITY);
+        BloomFilterGCAlgorithm bloomFilterGCAlgorithm = new BloomFilterGCAlgorithm(
+            BLOB_REFERENCE_SOURCE,
+            blobStoreDAO,
+            GENERATION_AWARE_BLOB_ID_FACTORY,
+            GENERATION_AWARE_BLOB_ID_CONFIGURATION,
+            Optional.of(checkpointStore()),
+            CLOCK);
+        Task.Result result = bloomFilterGCAlgorithm.gc(EXPECTED_BLOB_COUNT, DELETION_WINDOW_SIZE, ASSOCIATED_PROBABILITY, DEFAULT_BUCKET, context).block();
+
+        assertThat(result).isEqualTo(Task.Result.PARTIAL);
+        assertThat(context.shardSnapshots())
+            .isEqualTo(ImmutableList.of(new ShardSnapshot(0, ShardStatus.FAILED, 0, 1, 0, 1)));
+        assertThat(checkpointStore().retrieve(DEFAULT_BUCKET, BlobGCShard.SINGLE).block().getStatus())
+            .isEqualTo(BloomFilterGCCheckpoint.Status.FILTER_BUILT);
+    }
 }
@@ -0,0 +1,79 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.server.blob.deduplication;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+
+import org.apache.james.blob.api.BlobId;
+import org.apache.james.blob.api.HashBlobId;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+
+class ChunkManifestTest {
+    private static final HashBlobId.Factory BLOB_ID_FACTORY = new HashBlobId.Factory();
+
+    @Test
+    void shouldMatchBeanContract() {
+        EqualsVerifier.forClass(ChunkManifest.class)
+            .verify();
+    }
+
+    @Test
+    void parseShouldReturnSerializedManifest() {
+        ChunkManifest manifest = new ChunkManifest(42, ImmutableList.of(BLOB_ID_FACTORY.from("abc"), BLOB_ID_FACTORY.from("def"), BLOB_ID_FACTORY.from("abc")));
+
+        assertThat(ChunkManifest.parse(BLOB_ID_FACTORY, manifest.serialize()))
+            .isEqualTo(manifest);
+    }
+
+    @Test
+    void parseShouldSupportEmptyManifest() {
+        ChunkManifest manifest = new ChunkManifest(0, ImmutableList.of());
+
+        assertThat(ChunkManifest.parse(BLOB_ID_FACTORY, manifest.serialize()))
+            .isEqualTo(manifest);
+    }
+
+    @Test
+    void parseShouldRejectUnknownFormat() {
+        assertThatThrownBy(() -> ChunkManifest.parse(BLOB_ID_FACTORY, "arbitrary\ncontent".getBytes(StandardCharsets.UTF_8)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void manifestIdShouldBeRecognizedAsManifest() {
+        BlobId payloadId = BLOB_ID_FACTORY.forPayload("content".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(ChunkManifest.isManifest(ChunkManifest.manifestId(BLOB_ID_FACTORY, payloadId)))
+            .isTrue();
+    }
+
+    @Test
+    void hashBasedBlobIdsShouldNotBeRecognizedAsManifest() {
+        assertThat(ChunkManifest.isManifest(BLOB_ID_FACTORY.forPayload("content".getBytes(StandardCharsets.UTF_8))))
+            .isFalse();
+    }
+}
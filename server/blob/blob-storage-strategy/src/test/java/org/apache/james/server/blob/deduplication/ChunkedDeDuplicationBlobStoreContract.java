@@ -0,0 +1,237 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.server.blob.deduplication;
+
+import static org.apache.james.blob.api.BlobStore.StoragePolicy.LOW_COST;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.james.blob.api.BlobId;
+import org.apache.james.blob.api.BlobReferenceSource;
+import org.apache.james.blob.api.BlobStore;
+import org.apache.james.blob.api.BlobStoreDAO;
+import org.apache.james.blob.api.BucketName;
+import org.apache.james.blob.api.HashBlobId;
+import org.apache.james.blob.api.ObjectNotFoundException;
+import org.apache.james.server.blob.deduplication.BloomFilterGCAlgorithm.Context;
+import org.apache.james.task.Task;
+import org.apache.james.utils.UpdatableTickingClock;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.ByteSource;
+import com.google.common.primitives.Bytes;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ChunkedDeDuplicationBlobStoreContract {
+    BucketName BUCKET = BucketName.DEFAULT;
+    HashBlobId.Factory BLOB_ID_FACTORY = new HashBlobId.Factory();
+    ContentDefinedChunker CHUNKER = new ContentDefinedChunker(1024, 4096, 16384);
+    byte[] SMALL_CONTENT = "small content".getBytes(StandardCharsets.UTF_8);
+
+    BlobStoreDAO blobStoreDAO();
+
+    default BlobStore testee() {
+        return new ChunkedDeDuplicationBlobStore(blobStoreDAO(), BUCKET, BLOB_ID_FACTORY, CHUNKER);
+    }
+
+    static byte[] randomBytes(int size, long seed) {
+        byte[] bytes = new byte[size];
+        new Random(seed).nextBytes(bytes);
+        return bytes;
+    }
+
+    default long storedBlobCount() {
+        return Flux.from(blobStoreDAO().listBlobs(BUCKET)).count().block();
+    }
+
+    @Test
+    default void smallBlobsShouldBeStoredAsAWhole() {
+        BlobId blobId = Mono.from(testee().save(BUCKET, SMALL_CONTENT, LOW_COST)).block();
+
+        assertThat(blobId).isEqualTo(BLOB_ID_FACTORY.forPayload(SMALL_CONTENT));
+        assertThat(storedBlobCount()).isEqualTo(1);
+    }
+
+    @Test
+    default void largeBlobsShouldBeStoredAsAManifest() {
+        BlobId blobId = Mono.from(testee().save(BUCKET, randomBytes(100_000, 1), LOW_COST)).block();
+
+        assertThat(ChunkManifest.isManifest(blobId)).isTrue();
+        assertThat(storedBlobCount()).isGreaterThan(2);
+    }
+
+    @Test
+    default void readBytesShouldReturnChunkedContent() {
+        byte[] content = randomBytes(100_000, 2);
+        BlobId blobId = Mono.from(testee().save(BUCKET, content, LOW_COST)).block();
+
+        assertThat(Mono.from(testee().readBytes(BUCKET, blobId)).block())
+            .isEqualTo(content);
+    }
+
+    @Test
+    default void readShouldReturnChunkedContent() throws Exception {
+        byte[] content = randomBytes(100_000, 3);
+        BlobId blobId = Mono.from(testee().save(BUCKET, new ByteArrayInputStream(content), LOW_COST)).block();
+
+        assertThat(IOUtils.toByteArray(testee().read(BUCKET, blobId)))
+            .isEqualTo(content);
+    }
+
+    @Test
+    default void readReactiveShouldReturnChunkedContent() throws Exception {
+        byte[] content = randomBytes(100_000, 4);
+        BlobId blobId = Mono.from(testee().save(BUCKET, ByteSource.wrap(content), LOW_COST)).block();
+
+        assertThat(IOUtils.toByteArray(Mono.from(testee().readReactive(BUCKET, blobId)).block()))
+            .isEqualTo(content);
+    }
+
+    @Test
+    default void saveShouldReturnTheSameBlobIdWhateverTheInputType() {
+        byte[] content = randomBytes(100_000, 5);
+
+        BlobId fromBytes = Mono.from(testee().save(BUCKET, content, LOW_COST)).block();
+        BlobId fromInputStream = Mono.from(testee().save(BUCKET, new ByteArrayInputStream(content), LOW_COST)).block();
+        BlobId fromByteSource = Mono.from(testee().save(BUCKET, ByteSource.wrap(content), LOW_COST)).block();
+
+        assertThat(fromInputStream).isEqualTo(fromBytes);
+        assertThat(fromByteSource).isEqualTo(fromBytes);
+    }
+
+    @Test
+    default void savingTheSameContentTwiceShouldNotStoreAdditionalBlobs() {
+        byte[] content = randomBytes(100_000, 6);
+        Mono.from(testee().save(BUCKET, content, LOW_COST)).block();
+        long storedBlobCount = storedBlobCount();
+
+        Mono.from(testee().save(BUCKET, content, LOW_COST)).block();
+
+        assertThat(storedBlobCount()).isEqualTo(storedBlobCount);
+    }
+
+    @Test
+    default void blobsSharingContentShouldShareChunks() {
+        byte[] attachment = randomBytes(200_000, 7);
+        byte[] original = Bytes.concat("Subject: original\r\n\r\n".getBytes(StandardCharsets.UTF_8), attachment);
+        byte[] forwarded = Bytes.concat("Subject: Fwd: original\r\nX-Forwarded: yes\r\n\r\n".getBytes(StandardCharsets.UTF_8), attachment);
+
+        Mono.from(testee().save(BUCKET, original, LOW_COST)).block();
+        long storedBlobCount = storedBlobCount();
+        BlobId forwardedId = Mono.from(testee().save(BUCKET, forwarded, LOW_COST)).block();
+
+        // The manifest and a couple of chunks around the modification
+        assertThat(storedBlobCount() - storedBlobCount).isLessThanOrEqualTo(4);
+        assertThat(Mono.from(testee().readBytes(BUCKET, forwardedId)).block())
+            .isEqualTo(forwarded);
+    }
+
+    @Test
+    default void blobsStoredAsAWholeByDeduplicationShouldBeReadable() {
+        byte[] content = randomBytes(100_000, 8);
+        BlobId blobId = Mono.from(new DeDuplicationBlobStore(blobStoreDAO(), BUCKET, BLOB_ID_FACTORY).save(BUCKET, content, LOW_COST)).block();
+
+        assertThat(Mono.from(testee().readBytes(BUCKET, blobId)).block())
+            .isEqualTo(content);
+    }
+
+    @Test
+    default void batchReadBytesShouldReturnBothChunkedAndWholeBlobs() {
+        byte[] content = randomBytes(100_000, 9);
+        BlobId chunkedBlobId = Mono.from(testee().save(BUCKET, content, LOW_COST)).block();
+        BlobId wholeBlobId = Mono.from(testee().save(BUCKET, SMALL_CONTENT, LOW_COST)).block();
+        BlobId missingBlobId = ChunkManifest.manifestId(BLOB_ID_FACTORY, BLOB_ID_FACTORY.from("missing"));
+
+        Map<BlobId, byte[]> result = Mono.from(testee().readBytes(BUCKET, ImmutableList.of(chunkedBlobId, wholeBlobId, missingBlobId))).block();
+
+        assertThat(result).containsOnlyKeys(chunkedBlobId, wholeBlobId);
+        assertThat(result.get(chunkedBlobId)).isEqualTo(content);
+        assertThat(result.get(wholeBlobId)).isEqualTo(SMALL_CONTENT);
+    }
+
+    @Test
+    default void readBytesShouldFailWhenAChunkIsMissing() {
+        byte[] content = randomBytes(100_000, 10);
+        BlobId blobId = Mono.from(testee().save(BUCKET, content, LOW_COST)).block();
+        ChunkManifest manifest = ChunkManifest.parse(BLOB_ID_FACTORY, Mono.from(blobStoreDAO().readBytes(BUCKET, blobId)).block());
+        Mono.from(blobStoreDAO().delete(BUCKET, manifest.getChunks().get(1))).block();
+
+        assertThatThrownBy(() -> Mono.from(testee().readBytes(BUCKET, blobId)).block())
+            .isInstanceOf(ObjectNotFoundException.class);
+    }
+
+    @Test
+    default void referenceSourceShouldListTheChunksOfReferencedManifests() {
+        byte[] content = randomBytes(100_000, 11);
+        BlobId chunkedBlobId = Mono.from(testee().save(BUCKET, content, LOW_COST)).block();
+        BlobId wholeBlobId = Mono.from(testee().save(BUCKET, SMALL_CONTENT, LOW_COST)).block();
+        ChunkManifest manifest = ChunkManifest.parse(BLOB_ID_FACTORY, Mono.from(blobStoreDAO().readBytes(BUCKET, chunkedBlobId)).block());
+
+        BlobReferenceSource referenceSource = new ChunkedBlobReferenceSource(() -> Flux.just(chunkedBlobId, wholeBlobId), blobStoreDAO(), BUCKET, BLOB_ID_FACTORY);
+
+        assertThat(Flux.from(referenceSource.listReferencedBlobs()).collectList().block())
+            .containsExactlyInAnyOrderElementsOf(ImmutableList.<BlobId>builder()
+                .add(chunkedBlobId, wholeBlobId)
+                .addAll(manifest.getChunks())
+                .build());
+    }
+
+    @Test
+    default void garbageCollectionShouldOnlyRemoveTheChunksOfUnreferencedBlobs() {
+        UpdatableTickingClock clock = new UpdatableTickingClock(ZonedDateTime.parse("2015-10-30T16:12:00Z").toInstant());
+        GenerationAwareBlobId.Factory blobIdFactory = new GenerationAwareBlobId.Factory(clock, BLOB_ID_FACTORY, GenerationAwareBlobId.Configuration.DEFAULT);
+        BlobStore blobStore = new ChunkedDeDuplicationBlobStore(blobStoreDAO(), BUCKET, blobIdFactory, CHUNKER);
+        byte[] referencedContent = randomBytes(100_000, 12);
+        byte[] orphanContent = randomBytes(100_000, 13);
+        BlobId referencedBlobId = Mono.from(blobStore.save(BUCKET, referencedContent, LOW_COST)).block();
+        BlobId orphanBlobId = Mono.from(blobStore.save(BUCKET, orphanContent, LOW_COST)).block();
+        List<BlobId> blobsBeforeGC = Flux.from(blobStoreDAO().listBlobs(BUCKET)).collectList().block();
+
+        BlobReferenceSource referenceSource = mock(BlobReferenceSource.class);
+        when(referenceSource.listReferencedBlobs()).thenReturn(Flux.just(referencedBlobId));
+        clock.setInstant(ZonedDateTime.parse("2015-10-30T16:12:00Z").plusMonths(2).toInstant());
+        Task.Result result = new BloomFilterGCAlgorithm(
+                new ChunkedBlobReferenceSource(referenceSource, blobStoreDAO(), BUCKET, blobIdFactory),
+                blobStoreDAO(), blobIdFactory, GenerationAwareBlobId.Configuration.DEFAULT, clock)
+            .gc(1000, 100, 0.001, BUCKET, new Context(1000, 0.001))
+            .block();
+
+        assertThat(result).isEqualTo(Task.Result.COMPLETED);
+        assertThat(Mono.from(blobStore.readBytes(BUCKET, referencedBlobId)).block())
+            .isEqualTo(referencedContent);
+        assertThatThrownBy(() -> Mono.from(blobStore.readBytes(BUCKET, orphanBlobId)).block())
+            .isInstanceOf(ObjectNotFoundException.class);
+        assertThat(Flux.from(blobStoreDAO().listBlobs(BUCKET)).count().block())
+            .isLessThan(blobsBeforeGC.size());
+    }
+}
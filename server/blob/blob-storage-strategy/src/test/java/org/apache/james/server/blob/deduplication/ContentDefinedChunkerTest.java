@@ -0,0 +1,129 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.server.blob.deduplication;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.Sets;
+import com.google.common.hash.Hashing;
+import com.google.common.primitives.Bytes;
+
+class ContentDefinedChunkerTest {
+    private static final ContentDefinedChunker CHUNKER = new ContentDefinedChunker(1024, 4096, 16384);
+
+    private static byte[] randomBytes(int size, long seed) {
+        byte[] bytes = new byte[size];
+        new Random(seed).nextBytes(bytes);
+        return bytes;
+    }
+
+    private static List<byte[]> chunks(byte[] content) {
+        return CHUNKER.chunk(new ByteArrayInputStream(content)).collectList().block();
+    }
+
+    private static List<String> chunkHashes(byte[] content) {
+        return chunks(content).stream()
+            .map(chunk -> Hashing.sha256().hashBytes(chunk).toString())
+            .toList();
+    }
+
+    @Test
+    void constructorShouldRejectMinGreaterThanAverage() {
+        assertThatThrownBy(() -> new ContentDefinedChunker(8192, 4096, 16384))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void constructorShouldRejectAverageGreaterThanMax() {
+        assertThatThrownBy(() -> new ContentDefinedChunker(1024, 32768, 16384))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void constructorShouldRejectAverageNotBeingAPowerOfTwo() {
+        assertThatThrownBy(() -> new ContentDefinedChunker(1024, 5000, 16384))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void chunkShouldReturnNoChunkForEmptyContent() {
+        assertThat(chunks(new byte[0])).isEmpty();
+    }
+
+    @Test
+    void chunkShouldReturnASingleChunkForSmallContent() {
+        byte[] content = randomBytes(512, 1);
+
+        assertThat(chunks(content))
+            .containsExactly(content);
+    }
+
+    @Test
+    void chunksShouldConcatenateToTheOriginalContent() {
+        byte[] content = randomBytes(200_000, 2);
+
+        assertThat(Bytes.concat(chunks(content).toArray(byte[][]::new)))
+            .isEqualTo(content);
+    }
+
+    @Test
+    void chunksShouldRespectSizeBounds() {
+        List<byte[]> chunks = chunks(randomBytes(200_000, 3));
+
+        assertThat(chunks.subList(0, chunks.size() - 1))
+            .allSatisfy(chunk -> assertThat(chunk.length).isBetween(1024, 16384));
+        assertThat(chunks.get(chunks.size() - 1).length).isLessThanOrEqualTo(16384);
+    }
+
+    @Test
+    void chunksShouldBeCutOnMaxSizeForUniformContent() {
+        List<byte[]> chunks = chunks(new byte[50_000]);
+
+        assertThat(chunks).hasSize(4);
+        assertThat(chunks.get(0)).hasSize(16384);
+    }
+
+    @Test
+    void chunkingShouldBeDeterministic() {
+        byte[] content = randomBytes(100_000, 4);
+
+        assertThat(chunkHashes(content))
+            .isEqualTo(chunkHashes(content));
+    }
+
+    @Test
+    void insertingBytesShouldPreserveMostChunks() {
+        byte[] content = randomBytes(200_000, 5);
+        byte[] modifiedContent = Bytes.concat("X-Forwarded-By: someone@example.com\r\n".getBytes(), content);
+
+        List<String> originalChunks = chunkHashes(content);
+        List<String> modifiedChunks = chunkHashes(modifiedContent);
+
+        assertThat(Sets.intersection(Sets.newHashSet(originalChunks), Sets.newHashSet(modifiedChunks)).size())
+            .isGreaterThanOrEqualTo(originalChunks.size() - 2);
+    }
+}
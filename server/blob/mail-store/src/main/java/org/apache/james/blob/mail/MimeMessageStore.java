@@ -48,6 +48,7 @@ import org.apache.james.server.core.MimeMessageSource;
 import org.apache.james.server.core.MimeMessageWrapper;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.io.ByteSource;
 
 import reactor.core.publisher.Mono;
@@ -75,6 +76,27 @@ public class MimeMessageStore {
                 bucketName
             );
         }
+
+        /**
+         * Decoded messages stream their body from the blob store upon access instead of copying it upon read, and
+         * parse their headers upon first access. Suited to mails that are read to be forwarded or browsed.
+         *
+         * The body blob needs to outlive the decoded message.
+         */
+        public Store<MimeMessage, MimeMessagePartsId> lazyMimeMessageStore() {
+            return lazyMimeMessageStore(blobStore.getDefaultBucketName());
+        }
+
+        public Store<MimeMessage, MimeMessagePartsId> lazyMimeMessageStore(BucketName bucketName) {
+            return new Store.Impl<>(
+                new MimeMessagePartsId.Factory(),
+                new MimeMessageEncoder(),
+                new MimeMessageDecoder(),
+                blobStore,
+                bucketName,
+                ImmutableSet.of(BODY_BLOB_TYPE)
+            );
+        }
     }
 
     static class MimeMessageEncoder implements Store.Impl.Encoder<MimeMessage> {
@@ -137,6 +159,52 @@ public class MimeMessageStore {
         return new Factory(blobStore);
     }
 
+    private static class LazyInputStream extends InputStream {
+        private final ByteSource byteSource;
+        private InputStream delegate;
+
+        private LazyInputStream(ByteSource byteSource) {
+            this.byteSource = byteSource;
+        }
+
+        private InputStream delegate() throws IOException {
+            if (delegate == null) {
+                delegate = byteSource.openStream();
+            }
+            return delegate;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return delegate().read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return delegate().read(b, off, len);
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            return delegate().skip(n);
+        }
+
+        @Override
+        public int available() throws IOException {
+            if (delegate == null) {
+                return 0;
+            }
+            return delegate.available();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (delegate != null) {
+                delegate.close();
+            }
+        }
+    }
+
     private static class MimeMessageBytesSource implements MimeMessageSource, Disposable {
         private final CloseableByteSource headers;
         private final CloseableByteSource body;
@@ -155,9 +223,10 @@ public class MimeMessageStore {
 
         @Override
         public InputStream getInputStream() throws IOException {
+            // The body is only opened once read: parsing headers does not access it
             return new SequenceInputStream(
                 headers.openStream(),
-                body.openStream());
+                new LazyInputStream(body));
         }
 
         @Override
@@ -22,6 +22,11 @@ package org.apache.james.blob.mail;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 
 import java.nio.charset.StandardCharsets;
 
@@ -160,4 +165,91 @@ class MimeMessageStoreTest {
                     .isEqualTo("Important mail content");
             });
     }
+
+    @Test
+    void lazyMailStoreShouldPreserveContent() throws Exception {
+        MimeMessage message = importantMessage();
+
+        MimeMessagePartsId parts = testee.save(message).block();
+
+        MimeMessage retrievedMessage = lazyTestee().read(parts).block();
+
+        assertThat(MimeMessageUtil.asString(retrievedMessage))
+            .isEqualTo(MimeMessageUtil.asString(message));
+    }
+
+    @Test
+    void lazyMailStoreShouldPreserveSize() throws Exception {
+        MimeMessage message = importantMessage();
+
+        MimeMessagePartsId parts = testee.save(message).block();
+
+        MimeMessage retrievedMessage = lazyTestee().read(parts).block();
+
+        assertThat(retrievedMessage.getSize())
+            .isEqualTo(testee.read(parts).block().getSize());
+    }
+
+    @Test
+    void lazyReadShouldNotAccessBodyWhenReadingHeaders() throws Exception {
+        MimeMessage message = importantMessage();
+
+        MimeMessagePartsId parts = testee.save(message).block();
+        Mono.from(blobStore.delete(blobStore.getDefaultBucketName(), parts.getBodyBlobId())).block();
+
+        MimeMessage retrievedMessage = lazyTestee().read(parts).block();
+
+        assertThat(retrievedMessage.getSubject()).isEqualTo("Important Mail");
+    }
+
+    @Test
+    void lazyReadShouldStreamBodyFromTheBlobStore() throws Exception {
+        MimeMessage message = importantMessage();
+
+        MimeMessagePartsId parts = testee.save(message).block();
+        MimeMessage retrievedMessage = lazyTestee().read(parts).block();
+        Mono.from(blobStore.delete(blobStore.getDefaultBucketName(), parts.getBodyBlobId())).block();
+
+        assertThatThrownBy(() -> MimeMessageUtil.asString(retrievedMessage))
+            .isInstanceOf(ObjectNotFoundException.class);
+    }
+
+    @Test
+    void lazyReadShouldNotReturnDeletedMessage() throws Exception {
+        MimeMessage message = importantMessage();
+
+        MimeMessagePartsId parts = testee.save(message).block();
+
+        Mono.from(testee.delete(parts)).block();
+
+        assertThatThrownBy(() -> lazyTestee().read(parts).block())
+            .isInstanceOf(ObjectNotFoundException.class);
+    }
+
+    @Test
+    void lazyReadShouldNotReadTheBodyToComputeTheSize() throws Exception {
+        MimeMessage message = importantMessage();
+        MimeMessagePartsId parts = testee.save(message).block();
+        BlobStore spiedBlobStore = spy(blobStore);
+
+        MimeMessage retrievedMessage = MimeMessageStore.factory(spiedBlobStore).lazyMimeMessageStore().read(parts).block();
+
+        assertThat(retrievedMessage.getSize())
+            .isEqualTo(testee.read(parts).block().getSize());
+        verify(spiedBlobStore, never()).read(any(), eq(parts.getBodyBlobId()), any());
+        verify(spiedBlobStore, never()).readBytes(any(), eq(parts.getBodyBlobId()));
+    }
+
+    private MimeMessage importantMessage() throws Exception {
+        return MimeMessageBuilder.mimeMessageBuilder()
+            .addFrom("any@any.com")
+            .addToRecipient("toddy@any.com")
+            .setSubject("Important Mail")
+            .setText("Important mail content")
+            .build();
+    }
+
+    private Store<MimeMessage, MimeMessagePartsId> lazyTestee() {
+        return MimeMessageStore.factory(blobStore).lazyMimeMessageStore();
+    }
 }
@@ -99,6 +99,24 @@ public class MailImpl implements Disposable, Mail {
             .build();
     }
 
+    /**
+     * Create a copy of the input mail sharing its message content, see {@link MimeMessageWrapper#copyOnWrite()}.
+     *
+     * @param mail original mail
+     * @return the copy, or empty if the message content can not be shared
+     */
+    public static Optional<MailImpl> duplicateSharingMessage(Mail mail) throws MessagingException {
+        if (mail instanceof MailImpl && ((MailImpl) mail).message != null) {
+            Optional<MimeMessageWrapper> sharedMessage = ((MailImpl) mail).message.copyOnWrite();
+            if (sharedMessage.isPresent()) {
+                MailImpl duplicate = duplicateWithoutMessage(mail).build();
+                duplicate.setMessageNoCopy(sharedMessage.get());
+                return Optional.of(duplicate);
+            }
+        }
+        return Optional.empty();
+    }
+
     public static MailImpl.Builder duplicateWithoutMessage(Mail mail) throws MessagingException {
         return MailImpl.builder()
             .name(deriveNewName(mail.getName()))
@@ -29,9 +29,11 @@ import java.io.OutputStream;
 import java.io.SequenceInputStream;
 import java.io.UnsupportedEncodingException;
 import java.util.Enumeration;
+import java.util.Optional;
 import java.util.UUID;
 
 import jakarta.activation.DataHandler;
+import jakarta.mail.Flags;
 import jakarta.mail.Header;
 import jakarta.mail.MessagingException;
 import jakarta.mail.Session;
@@ -194,6 +196,25 @@ public class MimeMessageWrapper extends MimeMessage implements Disposable {
         return source != null ? source.getSourceId() : null;
     }
 
+    /**
+     * Returns a copy of this message sharing its source instead of copying its content, when this message was
+     * not modified since loaded from its source. Each message keeps its own modifications in memory, and the
+     * source is disposed once both messages have been disposed.
+     *
+     * @return the copy, or empty if this message has no source or was modified
+     */
+    public synchronized Optional<MimeMessageWrapper> copyOnWrite() {
+        if (source == null || isModified()) {
+            return Optional.empty();
+        }
+        if (!(source instanceof SharedMimeMessageSource)) {
+            source = new SharedMimeMessageSource(source);
+        }
+        MimeMessageWrapper copy = new MimeMessageWrapper(session, ((SharedMimeMessageSource) source).share());
+        copy.flags = (Flags) flags.clone();
+        return Optional.of(copy);
+    }
+
     /**
      * Load the message headers from the internal source.
      * 
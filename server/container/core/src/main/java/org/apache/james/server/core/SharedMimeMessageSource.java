@@ -0,0 +1,88 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.server.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.james.lifecycle.api.Disposable;
+import org.apache.james.lifecycle.api.LifecycleUtil;
+
+/**
+ * Reference counted view of a {@link MimeMessageSource}, allowing several {@link MimeMessageWrapper}
+ * to read the same underlying content.
+ *
+ * Each holder owns its own instance, obtained through {@link #share()}, and disposing it releases a single
+ * reference: the underlying source is disposed once every holder released it. Sources are never written to once
+ * created, thus a holder modifying its message only alters its own parsed copy.
+ */
+public class SharedMimeMessageSource implements MimeMessageSource, Disposable {
+    private final MimeMessageSource delegate;
+    private final AtomicInteger references;
+    private final AtomicBoolean disposed;
+
+    public SharedMimeMessageSource(MimeMessageSource delegate) {
+        this(delegate, new AtomicInteger(1));
+    }
+
+    private SharedMimeMessageSource(MimeMessageSource delegate, AtomicInteger references) {
+        this.delegate = delegate;
+        this.references = references;
+        this.disposed = new AtomicBoolean(false);
+    }
+
+    /**
+     * @return a new reference on the underlying source, to be disposed independently from this one.
+     */
+    public SharedMimeMessageSource share() {
+        references.incrementAndGet();
+        return new SharedMimeMessageSource(delegate, references);
+    }
+
+    @Override
+    public String getSourceId() {
+        return delegate.getSourceId();
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        synchronized (delegate) {
+            return delegate.getInputStream();
+        }
+    }
+
+    @Override
+    public long getMessageSize() throws IOException {
+        return delegate.getMessageSize();
+    }
+
+    int getReferenceCount() {
+        return references.get();
+    }
+
+    @Override
+    public void dispose() {
+        if (disposed.compareAndSet(false, true) && references.decrementAndGet() == 0) {
+            LifecycleUtil.dispose(delegate);
+        }
+    }
+}
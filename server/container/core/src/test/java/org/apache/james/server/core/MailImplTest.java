@@ -178,6 +178,26 @@ public class MailImplTest extends ContractMailTest {
         assertThat(mail.getPerRecipientSpecificHeaders()).isEqualTo(duplicate.getPerRecipientSpecificHeaders());
     }
 
+    @Test
+    void duplicateSharingMessageShouldShareMessageContent() throws Exception {
+        MailImpl mail = MailImpl.builder()
+            .name(MailUtil.newId())
+            .sender("sender@localhost")
+            .addRecipient("rcpt@localhost")
+            .mimeMessage(emptyMessage)
+            .build();
+
+        MailImpl duplicate = MailImpl.duplicateSharingMessage(mail).get();
+        duplicate.getMessage().setSubject("modified");
+
+        assertThat(duplicate)
+            .usingRecursiveComparison()
+            .ignoringFields("message", "name")
+            .isEqualTo(mail);
+        assertThat(duplicate.getMessage().getSubject()).isEqualTo("modified");
+        assertThat(mail.getMessage().getSubject()).isNull();
+    }
+
     @Test
     void setAttributeShouldThrowOnNullAttributeName() {
         MailImpl mail = newMail();
@@ -404,4 +404,43 @@ public class MimeMessageWrapperTest extends MimeMessageFromStreamTest {
             IOUtils.consume(wrapper.getMessageInputStream()));
         LifecycleUtil.dispose(wrapper);
     }
+
+    @Test
+    public void copyOnWriteShouldShareContent() throws Exception {
+        MimeMessageWrapper copy = mw.copyOnWrite().get();
+
+        assertThat(copy.getMessageInputStream()).hasSameContentAs(mw.getMessageInputStream());
+        assertThat(copy.getSourceId()).isEqualTo(mw.getSourceId());
+        LifecycleUtil.dispose(copy);
+    }
+
+    @Test
+    public void copyOnWriteModificationsShouldNotAffectOriginal() throws Exception {
+        MimeMessageWrapper copy = mw.copyOnWrite().get();
+
+        copy.setSubject("modified");
+        copy.saveChanges();
+
+        assertThat(mw.getSubject()).isEqualTo("foo");
+        assertThat(copy.getSubject()).isEqualTo("modified");
+        LifecycleUtil.dispose(copy);
+    }
+
+    @Test
+    public void copyOnWriteShouldBeEmptyWhenModified() throws Exception {
+        mw.setSubject("modified");
+
+        assertThat(mw.copyOnWrite()).isEmpty();
+    }
+
+    @Test
+    public void copyOnWriteShouldRemainReadableOnceOriginalIsDisposed() throws Exception {
+        MimeMessageWrapper copy = mw.copyOnWrite().get();
+
+        LifecycleUtil.dispose(mw);
+
+        assertThat(copy.getMessageInputStream()).hasSameContentAs(
+            new SharedByteArrayInputStream((content + sep + body).getBytes()));
+        LifecycleUtil.dispose(copy);
+    }
 }
@@ -19,6 +19,7 @@
 
 package org.apache.james.modules.blobstore.validation;
 
+import static org.apache.james.server.blob.deduplication.StorageStrategy.CHUNKED_DEDUPLICATION;
 import static org.apache.james.server.blob.deduplication.StorageStrategy.DEDUPLICATION;
 import static org.apache.james.server.blob.deduplication.StorageStrategy.PASSTHROUGH;
 
@@ -61,6 +62,10 @@ public class StorageStrategyAggregate {
             if (holds(DEDUPLICATION) && storageStrategy.equals(PASSTHROUGH)) {
                 return false;
             }
+            // Chunk manifests can only be read back by the chunked deduplication blob store
+            if (holds(CHUNKED_DEDUPLICATION) && !storageStrategy.equals(CHUNKED_DEDUPLICATION)) {
+                return false;
+            }
             return true;
         }
     }
@@ -19,6 +19,7 @@
 
 package org.apache.james.modules.blobstore.validation;
 
+import static org.apache.james.server.blob.deduplication.StorageStrategy.CHUNKED_DEDUPLICATION;
 import static org.apache.james.server.blob.deduplication.StorageStrategy.DEDUPLICATION;
 import static org.apache.james.server.blob.deduplication.StorageStrategy.PASSTHROUGH;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -73,6 +74,33 @@ class StorageStrategyValidationEventSourcingSystemTest {
         assertThat(checkResult.getResultType()).isEqualTo(StartUpCheck.ResultType.BAD);
     }
 
+    @Test
+    void startingShouldSucceedWhenTurningOnChunking() {
+        testee.validate(() -> DEDUPLICATION);
+
+        StartUpCheck.CheckResult checkResult = testee.validate(() -> CHUNKED_DEDUPLICATION);
+
+        assertThat(checkResult.getResultType()).isEqualTo(StartUpCheck.ResultType.GOOD);
+    }
+
+    @Test
+    void startingShouldFailWhenTurningOffChunking() {
+        testee.validate(() -> CHUNKED_DEDUPLICATION);
+
+        StartUpCheck.CheckResult checkResult = testee.validate(() -> DEDUPLICATION);
+
+        assertThat(checkResult.getResultType()).isEqualTo(StartUpCheck.ResultType.BAD);
+    }
+
+    @Test
+    void startingShouldFailWhenTurningOffDeduplicationAfterChunking() {
+        testee.validate(() -> CHUNKED_DEDUPLICATION);
+
+        StartUpCheck.CheckResult checkResult = testee.validate(() -> PASSTHROUGH);
+
+        assertThat(checkResult.getResultType()).isEqualTo(StartUpCheck.ResultType.BAD);
+    }
+
     @Test
     void validatingSeveralTimeTheSameStrategyShouldNotAddEventsToTheHistory() {
         testee.validate(() -> DEDUPLICATION);
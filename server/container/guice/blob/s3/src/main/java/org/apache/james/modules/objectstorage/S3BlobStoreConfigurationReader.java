@@ -50,6 +50,10 @@ public class S3BlobStoreConfigurationReader {
     private static final String OBJECTSTORAGE_S3_IN_MEMORY_READ_LIMIT = "objectstorage.s3.in.read.limit";
     private static final String OBJECTSTORAGE_S3_UPLOAD_RETRY_MAX_ATTEMPTS = "objectstorage.s3.upload.retry.maxAttempts";
     private static final String OBJECTSTORAGE_S3_UPLOAD_RETRY_BACKOFF_DURATION_MILLIS = "objectstorage.s3.upload.retry.backoffDurationMillis";
+    private static final String OBJECTSTORAGE_S3_MULTIPART_UPLOAD_THRESHOLD = "objectstorage.s3.multipart.upload.threshold";
+    private static final String OBJECTSTORAGE_S3_TRANSFER_PART_SIZE = "objectstorage.s3.transfer.partSize";
+    private static final String OBJECTSTORAGE_S3_TRANSFER_PARALLELISM = "objectstorage.s3.transfer.parallelism";
+    private static final String OBJECTSTORAGE_S3_RANGED_DOWNLOAD_ENABLED = "objectstorage.s3.ranged.download.enabled";
 
     public static S3BlobStoreConfiguration from(Configuration configuration) throws ConfigurationException {
         Optional<Integer> httpConcurrency = Optional.ofNullable(configuration.getInteger(OBJECTSTORAGE_S3_HTTP_CONCURRENCY, null));
@@ -68,6 +72,15 @@ public class S3BlobStoreConfigurationReader {
             .map(Size::parse)
             .map(Size::asBytes);
 
+        Optional<Long> multipartUploadThreshold = Optional.ofNullable(configuration.getString(OBJECTSTORAGE_S3_MULTIPART_UPLOAD_THRESHOLD, null))
+            .map(Size::parse)
+            .map(Size::asBytes);
+        Optional<Long> partSize = Optional.ofNullable(configuration.getString(OBJECTSTORAGE_S3_TRANSFER_PART_SIZE, null))
+            .map(Size::parse)
+            .map(Size::asBytes);
+        Optional<Integer> transferParallelism = Optional.ofNullable(configuration.getInteger(OBJECTSTORAGE_S3_TRANSFER_PARALLELISM, null));
+        Optional<Boolean> rangedDownload = Optional.ofNullable(configuration.getBoolean(OBJECTSTORAGE_S3_RANGED_DOWNLOAD_ENABLED, null));
+
         Optional<Retry> uploadRetrySpec = Optional.ofNullable(configuration.getInteger(OBJECTSTORAGE_S3_UPLOAD_RETRY_MAX_ATTEMPTS, null))
             .map(maxAttempt -> Retry.backoff(maxAttempt, Optional.ofNullable(configuration.getLong(OBJECTSTORAGE_S3_UPLOAD_RETRY_BACKOFF_DURATION_MILLIS, null))
                     .map(Duration::ofMillis)
@@ -86,6 +99,10 @@ public class S3BlobStoreConfigurationReader {
             .writeTimeout(writeTimeout)
             .connectionTimeout(connectionTimeout)
             .uploadRetrySpec(uploadRetrySpec)
+            .multipartUploadThreshold(multipartUploadThreshold)
+            .partSize(partSize)
+            .transferParallelism(transferParallelism)
+            .rangedDownload(rangedDownload)
             .build();
     }
 
@@ -35,6 +35,10 @@ import org.apache.james.blob.cassandra.cache.CachedBlobStore;
 import org.apache.james.blob.cassandra.cache.CassandraBlobCacheModule;
 import org.apache.james.blob.cassandra.cache.CassandraBlobStoreCache;
 import org.apache.james.blob.cassandra.cache.CassandraCacheConfiguration;
+import org.apache.james.blob.cassandra.cache.LocalBlobStoreCache;
+import org.apache.james.blob.cassandra.cache.LocalBlobStoreCacheConfiguration;
+import org.apache.james.blob.cassandra.cache.TieredBlobStoreCache;
+import org.apache.james.metrics.api.MetricFactory;
 import org.apache.james.modules.mailbox.CassandraCacheSessionModule;
 import org.apache.james.modules.mailbox.ConfigurationComponent;
 import org.apache.james.utils.PropertiesProvider;
@@ -66,7 +70,6 @@ public class BlobStoreCacheModulesChooser {
         @Override
         protected void configure() {
             bind(CassandraBlobStoreCache.class).in(Scopes.SINGLETON);
-            bind(BlobStoreCache.class).to(CassandraBlobStoreCache.class);
 
             Multibinder.newSetBinder(binder(), CassandraModule.class, Names.named(InjectionNames.CACHE))
                 .addBinding()
@@ -80,6 +83,29 @@ public class BlobStoreCacheModulesChooser {
             return cachedBlobStore;
         }
 
+        @Provides
+        @Singleton
+        BlobStoreCache provideBlobStoreCache(CassandraBlobStoreCache cassandraBlobStoreCache,
+                                             LocalBlobStoreCacheConfiguration localConfiguration,
+                                             MetricFactory metricFactory) {
+            if (localConfiguration.isEnabled()) {
+                return new TieredBlobStoreCache(new LocalBlobStoreCache(localConfiguration), cassandraBlobStoreCache, metricFactory);
+            }
+            return cassandraBlobStoreCache;
+        }
+
+        @Provides
+        @Singleton
+        LocalBlobStoreCacheConfiguration providesLocalCacheConfiguration(PropertiesProvider propertiesProvider) throws ConfigurationException {
+            try {
+                Configuration configuration = propertiesProvider.getConfigurations(ConfigurationComponent.NAMES);
+                return LocalBlobStoreCacheConfiguration.from(configuration);
+            } catch (FileNotFoundException e) {
+                LOGGER.warn("Could not find " + ConfigurationComponent.NAME + " configuration file, local blob store cache is disabled");
+                return LocalBlobStoreCacheConfiguration.DISABLED;
+            }
+        }
+
         @Provides
         @Singleton
         CassandraCacheConfiguration providesCacheConfiguration(PropertiesProvider propertiesProvider) throws ConfigurationException {
@@ -85,6 +85,10 @@ public class BlobStoreConfiguration {
         default RequireCryptoConfig deduplication() {
             return strategy(StorageStrategy.DEDUPLICATION);
         }
+
+        default RequireCryptoConfig chunkedDeduplication() {
+            return strategy(StorageStrategy.CHUNKED_DEDUPLICATION);
+        }
     }
 
     @FunctionalInterface
@@ -142,6 +146,7 @@ public class BlobStoreConfiguration {
     static final String ENCRYPTION_SALT_PROPERTY = "encryption.aes.salt";
     static final boolean CACHE_ENABLED = true;
     static final String DEDUPLICATION_ENABLE_PROPERTY = "deduplication.enable";
+    static final String DEDUPLICATION_CHUNKING_ENABLE_PROPERTY = "deduplication.chunking.enable";
 
     public static BlobStoreConfiguration parse(org.apache.james.server.core.configuration.Configuration configuration) throws ConfigurationException {
         PropertiesProvider propertiesProvider = new PropertiesProvider(new FileSystemImpl(configuration.directories()),
@@ -180,8 +185,15 @@ public class BlobStoreConfiguration {
                         "the mails sharing the same content once one is deleted.\n" +
                         "Upgrade note: If you are upgrading from James 3.5 or older, the deduplication was enabled."));
         Optional<CryptoConfig> cryptoConfig = parseCryptoConfig(configuration);
+        boolean chunkingEnabled = configuration.getBoolean(DEDUPLICATION_CHUNKING_ENABLE_PROPERTY, false);
 
-        if (deduplicationEnabled) {
+        if (deduplicationEnabled && chunkingEnabled) {
+            return builder()
+                .implementation(blobStoreImplName)
+                .enableCache(cacheEnabled)
+                .chunkedDeduplication()
+                .cryptoConfig(cryptoConfig);
+        } else if (deduplicationEnabled) {
             return builder()
                 .implementation(blobStoreImplName)
                 .enableCache(cacheEnabled)
@@ -19,9 +19,12 @@
 
 package org.apache.james.modules.blobstore;
 
+import java.io.FileNotFoundException;
 import java.util.List;
 import java.util.Optional;
 
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.ex.ConfigurationException;
 import org.apache.james.blob.aes.AESBlobStoreDAO;
 import org.apache.james.blob.aes.CryptoConfig;
 import org.apache.james.blob.api.BlobStore;
@@ -29,6 +32,7 @@ import org.apache.james.blob.api.BlobStoreDAO;
 import org.apache.james.blob.api.ObjectStorageHealthCheck;
 import org.apache.james.blob.cassandra.CassandraBlobStoreDAO;
 import org.apache.james.blob.cassandra.cache.CachedBlobStore;
+import org.apache.james.blob.file.FileBlobStoreConfiguration;
 import org.apache.james.blob.file.FileBlobStoreDAO;
 import org.apache.james.blob.objectstorage.aws.S3BlobStoreDAO;
 import org.apache.james.core.healthcheck.HealthCheck;
@@ -36,12 +40,17 @@ import org.apache.james.modules.blobstore.validation.BlobStoreConfigurationValid
 import org.apache.james.modules.blobstore.validation.StoragePolicyConfigurationSanityEnforcementModule;
 import org.apache.james.modules.mailbox.BlobStoreAPIModule;
 import org.apache.james.modules.mailbox.CassandraBlobStoreDependenciesModule;
+import org.apache.james.modules.mailbox.ConfigurationComponent;
 import org.apache.james.modules.mailbox.DefaultBucketModule;
 import org.apache.james.modules.objectstorage.S3BlobStoreModule;
 import org.apache.james.modules.objectstorage.S3BucketModule;
+import org.apache.james.server.blob.deduplication.ChunkedDeDuplicationBlobStore;
 import org.apache.james.server.blob.deduplication.DeDuplicationBlobStore;
 import org.apache.james.server.blob.deduplication.PassThroughBlobStore;
 import org.apache.james.server.blob.deduplication.StorageStrategy;
+import org.apache.james.utils.PropertiesProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.google.common.collect.ImmutableList;
 import com.google.inject.AbstractModule;
@@ -54,6 +63,7 @@ import com.google.inject.name.Named;
 import com.google.inject.name.Names;
 
 public class BlobStoreModulesChooser {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BlobStoreModulesChooser.class);
     private static final String UNENCRYPTED = "unencrypted";
 
     static class CassandraBlobStoreDAODeclarationModule extends AbstractModule {
@@ -83,7 +93,20 @@ public class BlobStoreModulesChooser {
         protected void configure() {
             install(new DefaultBucketModule());
 
-            bind(BlobStoreDAO.class).annotatedWith(Names.named(UNENCRYPTED)).to(FileBlobStoreDAO.class);
+            bind(BlobStoreDAO.class).annotatedWith(Names.named(UNENCRYPTED)).to(FileBlobStoreDAO.class)
+                .in(Scopes.SINGLETON);
+        }
+
+        @Provides
+        @Singleton
+        FileBlobStoreConfiguration providesFileBlobStoreConfiguration(PropertiesProvider propertiesProvider) throws ConfigurationException {
+            try {
+                Configuration configuration = propertiesProvider.getConfigurations(ConfigurationComponent.NAMES);
+                return FileBlobStoreConfiguration.from(configuration);
+            } catch (FileNotFoundException e) {
+                LOGGER.warn("Could not find " + ConfigurationComponent.NAME + " configuration file, using file blob store defaults");
+                return FileBlobStoreConfiguration.DEFAULT;
+            }
         }
     }
 
@@ -150,6 +173,11 @@ public class BlobStoreModulesChooser {
                     .annotatedWith(Names.named(CachedBlobStore.BACKEND))
                     .to(DeDuplicationBlobStore.class);
                 return ImmutableList.of(new BlobDeduplicationGCModule(), deduplicationBlobModule);
+            case CHUNKED_DEDUPLICATION:
+                Module chunkedDeduplicationBlobModule = binder -> binder.bind(BlobStore.class)
+                    .annotatedWith(Names.named(CachedBlobStore.BACKEND))
+                    .to(ChunkedDeDuplicationBlobStore.class);
+                return ImmutableList.of(new BlobDeduplicationGCModule(), chunkedDeduplicationBlobModule);
             case PASSTHROUGH:
                 Module passThroughBlobModule = binder -> binder.bind(BlobStore.class)
                     .annotatedWith(Names.named(CachedBlobStore.BACKEND))
@@ -27,6 +27,7 @@ import org.apache.james.event.json.MailboxEventSerializer;
 import org.apache.james.events.EventBus;
 import org.apache.james.events.EventBusId;
 import org.apache.james.events.EventBusReconnectionHandler;
+import org.apache.james.events.EventCoalescer;
 import org.apache.james.events.EventSerializer;
 import org.apache.james.events.KeyReconnectionHandler;
 import org.apache.james.events.NamingStrategy;
@@ -35,6 +36,7 @@ import org.apache.james.events.RabbitMQEventBus;
 import org.apache.james.events.RabbitMQMailboxEventBusDeadLetterQueueHealthCheck;
 import org.apache.james.events.RegistrationKey;
 import org.apache.james.events.RetryBackoffConfiguration;
+import org.apache.james.mailbox.events.MailboxEventCoalescer;
 import org.apache.james.mailbox.events.MailboxIdRegistrationKey;
 import org.apache.james.utils.InitializationOperation;
 import org.apache.james.utils.InitilizationOperationBuilder;
@@ -50,6 +52,7 @@ public class RabbitMQEventBusModule extends AbstractModule {
     protected void configure() {
         bind(MailboxEventSerializer.class).in(Scopes.SINGLETON);
         bind(EventSerializer.class).to(MailboxEventSerializer.class);
+        bind(EventCoalescer.class).to(MailboxEventCoalescer.class);
 
         bind(NamingStrategy.class).toInstance(MAILBOX_EVENT_NAMING_STRATEGY);
         bind(RabbitMQEventBus.class).in(Scopes.SINGLETON);
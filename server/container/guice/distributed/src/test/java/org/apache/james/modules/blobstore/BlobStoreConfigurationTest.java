@@ -377,6 +377,28 @@ class BlobStoreConfigurationTest {
                 .isEqualTo(StorageStrategy.DEDUPLICATION);
     }
 
+    @Test
+    void storageStrategyShouldBeChunkedDeduplicationWhenChunkingEnabled() {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+        configuration.addProperty("implementation", BlobStoreConfiguration.BlobStoreImplName.S3.getName());
+        configuration.addProperty("deduplication.enable", "true");
+        configuration.addProperty("deduplication.chunking.enable", "true");
+
+        assertThat(BlobStoreConfiguration.from(configuration).storageStrategy())
+            .isEqualTo(StorageStrategy.CHUNKED_DEDUPLICATION);
+    }
+
+    @Test
+    void chunkingShouldBeIgnoredWhenDeduplicationDisabled() {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+        configuration.addProperty("implementation", BlobStoreConfiguration.BlobStoreImplName.S3.getName());
+        configuration.addProperty("deduplication.enable", "false");
+        configuration.addProperty("deduplication.chunking.enable", "true");
+
+        assertThat(BlobStoreConfiguration.from(configuration).storageStrategy())
+            .isEqualTo(StorageStrategy.PASSTHROUGH);
+    }
+
     @Test
     void buildingConfigurationShouldThrowWhenDeduplicationPropertieIsOmitted() {
         PropertiesConfiguration configuration = new PropertiesConfiguration();
@@ -19,12 +19,17 @@
 
 package org.apache.james.modules.mailbox;
 
+import java.util.Optional;
+
+import org.apache.commons.configuration2.HierarchicalConfiguration;
 import org.apache.commons.configuration2.ex.ConfigurationException;
+import org.apache.commons.configuration2.tree.ImmutableNode;
 import org.apache.james.event.json.MailboxEventSerializer;
 import org.apache.james.events.EventBus;
 import org.apache.james.events.EventListener;
 import org.apache.james.events.EventSerializer;
 import org.apache.james.events.InVMEventBus;
+import org.apache.james.events.InVMEventBusConfiguration;
 import org.apache.james.events.RetryBackoffConfiguration;
 import org.apache.james.events.delivery.EventDelivery;
 import org.apache.james.events.delivery.InVmEventDelivery;
@@ -73,6 +78,24 @@ public class DefaultEventModule extends AbstractModule {
         return ListenersConfiguration.from(configurationProvider.getConfiguration("listeners"));
     }
 
+    @Provides
+    @Singleton
+    InVMEventBusConfiguration providesInVMEventBusConfiguration(ConfigurationProvider configurationProvider) throws ConfigurationException {
+        HierarchicalConfiguration<ImmutableNode> configuration = configurationProvider.getConfiguration("listeners");
+        InVMEventBusConfiguration.GroupDeliveryMode groupDeliveryMode = Optional.ofNullable(configuration.getString("groupDelivery.mode", null))
+            .map(InVMEventBusConfiguration.GroupDeliveryMode::parse)
+            .orElse(InVMEventBusConfiguration.GroupDeliveryMode.SYNCHRONOUS);
+
+        if (groupDeliveryMode == InVMEventBusConfiguration.GroupDeliveryMode.SYNCHRONOUS) {
+            return InVMEventBusConfiguration.DEFAULT;
+        }
+        return InVMEventBusConfiguration.asynchronous(
+            configuration.getInt("groupDelivery.queueCapacity", InVMEventBusConfiguration.DEFAULT_QUEUE_CAPACITY),
+            Optional.ofNullable(configuration.getString("groupDelivery.overflowPolicy", null))
+                .map(InVMEventBusConfiguration.OverflowPolicy::parse)
+                .orElse(InVMEventBusConfiguration.DEFAULT_OVERFLOW_POLICY));
+    }
+
     @ProvidesIntoSet
     InitializationOperation registerListeners(MailboxListenersLoaderImpl listeners, ListenersConfiguration configuration) {
         return InitilizationOperationBuilder
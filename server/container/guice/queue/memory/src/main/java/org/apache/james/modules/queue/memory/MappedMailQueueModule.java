@@ -0,0 +1,94 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.modules.queue.memory;
+
+import java.io.FileNotFoundException;
+import java.time.Clock;
+import java.util.Optional;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.ex.ConfigurationException;
+import org.apache.james.filesystem.api.FileSystem;
+import org.apache.james.queue.api.MailQueue;
+import org.apache.james.queue.api.MailQueueFactory;
+import org.apache.james.queue.api.MailQueueItemDecoratorFactory;
+import org.apache.james.queue.api.ManageableMailQueue;
+import org.apache.james.queue.memory.MappedMailQueueFactory;
+import org.apache.james.util.Size;
+import org.apache.james.utils.PropertiesProvider;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.inject.AbstractModule;
+import com.google.inject.Provides;
+import com.google.inject.Singleton;
+
+/**
+ * Alternative to {@link MemoryMailQueueModule} keeping the content of enqueued mails in memory-mapped files.
+ *
+ * The segment size can be configured in queue.properties with the 'mail.queue.mapped.segment.size' property.
+ */
+public class MappedMailQueueModule extends AbstractModule {
+    private static final String DIRECTORY_LOCATION = "file://var/store/mapped-mail-queue";
+    private static final String SEGMENT_SIZE_PROPERTY = "mail.queue.mapped.segment.size";
+
+    @Provides
+    @Singleton
+    public MappedMailQueueFactory provideMappedMailQueueFactory(MailQueueItemDecoratorFactory mailQueueItemDecoratorFactory, Clock clock,
+                                                                FileSystem fileSystem, PropertiesProvider propertiesProvider) throws FileNotFoundException {
+        return new MappedMailQueueFactory(mailQueueItemDecoratorFactory, clock, fileSystem.getFile(DIRECTORY_LOCATION),
+            segmentSize(propertiesProvider));
+    }
+
+    private int segmentSize(PropertiesProvider propertiesProvider) {
+        try {
+            return segmentSize(propertiesProvider.getConfiguration("queue"));
+        } catch (FileNotFoundException e) {
+            return MappedMailQueueFactory.DEFAULT_SEGMENT_SIZE;
+        } catch (ConfigurationException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @VisibleForTesting
+    static int segmentSize(Configuration configuration) {
+        return Optional.ofNullable(configuration.getString(SEGMENT_SIZE_PROPERTY, null))
+            .map(Size::parse)
+            .map(size -> Math.toIntExact(size.asBytes()))
+            .orElse(MappedMailQueueFactory.DEFAULT_SEGMENT_SIZE);
+    }
+
+    @Provides
+    @Singleton
+    public MailQueueFactory<? extends ManageableMailQueue> provideManageableMailQueueFactory(MappedMailQueueFactory mappedMailQueueFactory) {
+        return mappedMailQueueFactory;
+    }
+
+    @Provides
+    @Singleton
+    public MailQueueFactory<?> provideMailQueueFactory(MappedMailQueueFactory mappedMailQueueFactory) {
+        return mappedMailQueueFactory;
+    }
+
+    @Provides
+    @Singleton
+    public MailQueueFactory<? extends MailQueue> provideMailQueueFactoryGenerics(MappedMailQueueFactory mappedMailQueueFactory) {
+        return mappedMailQueueFactory;
+    }
+}
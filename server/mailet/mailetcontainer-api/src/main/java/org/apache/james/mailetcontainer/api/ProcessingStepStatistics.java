@@ -0,0 +1,129 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailetcontainer.api;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+/**
+ * Exposes the latencies recorded for each step (matcher or mailet) of the processors having step metrics enabled.
+ */
+public interface ProcessingStepStatistics {
+    enum StepType {
+        MATCHER,
+        MAILET
+    }
+
+    class Step {
+        private final String processor;
+        private final int index;
+        private final StepType type;
+        private final String name;
+        private final long count;
+        private final Duration totalDuration;
+        private final Duration maxDuration;
+
+        public Step(String processor, int index, StepType type, String name, long count, Duration totalDuration, Duration maxDuration) {
+            Preconditions.checkArgument(count >= 0, "'count' should not be negative");
+            this.processor = processor;
+            this.index = index;
+            this.type = type;
+            this.name = name;
+            this.count = count;
+            this.totalDuration = totalDuration;
+            this.maxDuration = maxDuration;
+        }
+
+        public String getProcessor() {
+            return processor;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public StepType getType() {
+            return type;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public Duration getTotalDuration() {
+            return totalDuration;
+        }
+
+        public Duration getMaxDuration() {
+            return maxDuration;
+        }
+
+        public Duration getMeanDuration() {
+            if (count == 0) {
+                return Duration.ZERO;
+            }
+            return totalDuration.dividedBy(count);
+        }
+
+        @Override
+        public final boolean equals(Object o) {
+            if (o instanceof Step) {
+                Step that = (Step) o;
+
+                return Objects.equals(this.index, that.index)
+                    && Objects.equals(this.count, that.count)
+                    && Objects.equals(this.processor, that.processor)
+                    && Objects.equals(this.type, that.type)
+                    && Objects.equals(this.name, that.name)
+                    && Objects.equals(this.totalDuration, that.totalDuration)
+                    && Objects.equals(this.maxDuration, that.maxDuration);
+            }
+            return false;
+        }
+
+        @Override
+        public final int hashCode() {
+            return Objects.hash(processor, index, type, name, count, totalDuration, maxDuration);
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this)
+                .add("processor", processor)
+                .add("index", index)
+                .add("type", type)
+                .add("name", name)
+                .add("count", count)
+                .add("totalDuration", totalDuration)
+                .add("maxDuration", maxDuration)
+                .toString();
+        }
+    }
+
+    List<Step> steps();
+}
@@ -33,4 +33,9 @@ public interface MailSpoolerMBean {
      */
     int getCurrentSpoolCount();
 
+    /**
+     * @return the current count of mails that can be processed concurrently. Adjusted over time when concurrency is adaptive.
+     */
+    int getConcurrencyLimit();
+
 }
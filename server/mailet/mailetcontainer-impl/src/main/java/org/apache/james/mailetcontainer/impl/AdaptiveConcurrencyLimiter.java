@@ -0,0 +1,152 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailetcontainer.impl;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.function.LongSupplier;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+/**
+ * Bounds the count of mails processed concurrently, adjusting the bound using AIMD (additive increase,
+ * multiplicative decrease).
+ *
+ * Each processing reports its latency and outcome. Processing is considered congested when it fails, or
+ * when the recent latency exceeds the long term latency by a tolerance factor: the limit is then decreased
+ * multiplicatively, at most once per observed latency. Otherwise, as long as the limit is actually being
+ * used, it is increased by one every limit successful completions.
+ *
+ * Backend slowdowns (eg Cassandra or S3 latency spikes) thus shrink the concurrency, which grows back
+ * once latencies recover.
+ */
+class AdaptiveConcurrencyLimiter {
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final double LATENCY_TOLERANCE = 2.0;
+    private static final double SHORT_TERM_SMOOTHING = 0.1;
+    private static final double LONG_TERM_SMOOTHING = 0.01;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final LongSupplier nanoClock;
+    private final Queue<MonoSink<Void>> waiters;
+    private double limit;
+    private int inFlight;
+    private double shortTermLatencyNanos;
+    private double longTermLatencyNanos;
+    private long lastDecreaseNanos;
+
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit) {
+        this(initialLimit, minLimit, maxLimit, System::nanoTime);
+    }
+
+    @VisibleForTesting
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, LongSupplier nanoClock) {
+        Preconditions.checkArgument(minLimit > 0, "'minThreads' needs to be strictly positive");
+        Preconditions.checkArgument(maxLimit >= minLimit, "'maxThreads' needs to be greater than or equal to 'minThreads'");
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.nanoClock = nanoClock;
+        this.waiters = new ArrayDeque<>();
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.inFlight = 0;
+        this.shortTermLatencyNanos = 0;
+        this.longTermLatencyNanos = 0;
+        this.lastDecreaseNanos = nanoClock.getAsLong();
+    }
+
+    /**
+     * @return a Mono completing once a processing slot is available. The slot needs to be released with
+     * {@link #release(Duration, boolean)}.
+     */
+    Mono<Void> acquire() {
+        return Mono.create(sink -> {
+            boolean acquired;
+            synchronized (this) {
+                acquired = tryAcquire();
+                if (!acquired) {
+                    waiters.add(sink);
+                    sink.onCancel(() -> removeWaiter(sink));
+                }
+            }
+            if (acquired) {
+                sink.success();
+            }
+        });
+    }
+
+    void release(Duration latency, boolean success) {
+        Queue<MonoSink<Void>> granted = new ArrayDeque<>();
+        synchronized (this) {
+            inFlight--;
+            adjust(latency.toNanos(), success);
+            while (!waiters.isEmpty() && tryAcquire()) {
+                granted.add(waiters.poll());
+            }
+        }
+        granted.forEach(MonoSink::success);
+    }
+
+    synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    private boolean tryAcquire() {
+        if (inFlight < (int) limit) {
+            inFlight++;
+            return true;
+        }
+        return false;
+    }
+
+    private synchronized void removeWaiter(MonoSink<Void> sink) {
+        waiters.remove(sink);
+    }
+
+    private void adjust(long latencyNanos, boolean success) {
+        if (longTermLatencyNanos == 0) {
+            shortTermLatencyNanos = latencyNanos;
+            longTermLatencyNanos = latencyNanos;
+        } else {
+            shortTermLatencyNanos += SHORT_TERM_SMOOTHING * (latencyNanos - shortTermLatencyNanos);
+            longTermLatencyNanos += LONG_TERM_SMOOTHING * (latencyNanos - longTermLatencyNanos);
+        }
+
+        boolean congested = !success || shortTermLatencyNanos > LATENCY_TOLERANCE * longTermLatencyNanos;
+        if (congested) {
+            long now = nanoClock.getAsLong();
+            if (now - lastDecreaseNanos >= shortTermLatencyNanos) {
+                limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+                lastDecreaseNanos = now;
+            }
+        } else if (inFlight + 1 >= (int) limit / 2) {
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        }
+    }
+}
@@ -19,6 +19,9 @@
 
 package org.apache.james.mailetcontainer.impl;
 
+import java.util.Arrays;
+import java.util.List;
+
 import jakarta.annotation.PostConstruct;
 import jakarta.inject.Inject;
 
@@ -27,11 +30,14 @@ import org.apache.commons.configuration2.tree.ImmutableNode;
 import org.apache.james.mailetcontainer.api.MailProcessor;
 import org.apache.james.mailetcontainer.api.MailetLoader;
 import org.apache.james.mailetcontainer.api.MatcherLoader;
+import org.apache.james.mailetcontainer.api.ProcessingStepStatistics;
 import org.apache.james.mailetcontainer.lib.AbstractStateCompositeProcessor;
 import org.apache.james.metrics.api.MetricFactory;
 import org.apache.mailet.Mail;
 import org.apache.mailet.MailetContext;
 
+import com.google.common.collect.ImmutableList;
+
 /**
  * Build up the Camel Routes by parsing the mailetcontainer.xml configuration
  * file.
@@ -39,7 +45,7 @@ import org.apache.mailet.MailetContext;
  * It also offer the {@link AbstractStateCompositeProcessor} implementation
  * which allow to inject {@link Mail} into the routes.
  */
-public class CompositeProcessorImpl extends AbstractStateCompositeProcessor {
+public class CompositeProcessorImpl extends AbstractStateCompositeProcessor implements ProcessingStepStatistics {
 
     private final MetricFactory metricFactory;
     private final MailetContext mailetContext;
@@ -60,6 +66,16 @@ public class CompositeProcessorImpl extends AbstractStateCompositeProcessor {
         super.init();
     }
 
+    @Override
+    public List<Step> steps() {
+        return Arrays.stream(getProcessorStates())
+            .map(this::getProcessor)
+            .filter(MailetProcessorImpl.class::isInstance)
+            .map(MailetProcessorImpl.class::cast)
+            .flatMap(processor -> processor.getStepStatistics().stream())
+            .collect(ImmutableList.toImmutableList());
+    }
+
     @Override
     protected MailProcessor createMailProcessor(String name, HierarchicalConfiguration<ImmutableNode> config) throws Exception {
         MailetProcessorImpl processor = new MailetProcessorImpl(metricFactory);
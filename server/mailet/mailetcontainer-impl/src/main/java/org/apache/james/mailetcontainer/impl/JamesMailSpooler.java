@@ -24,6 +24,7 @@ import static reactor.core.scheduler.Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZ
 import java.io.IOException;
 import java.time.Duration;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import jakarta.annotation.PostConstruct;
@@ -83,6 +84,7 @@ public class JamesMailSpooler implements Disposable, Configurable, MailSpoolerMB
         private final Configuration configuration;
         private final Scheduler scheduler;
         private final Scheduler queueScheduler;
+        private final Optional<AdaptiveConcurrencyLimiter> limiter;
 
         private Runner(MetricFactory metricFactory, GaugeRegistry gaugeRegistry, MailProcessor mailProcessor,
                        MailRepository errorRepository, MailQueue queue, Configuration configuration) {
@@ -91,8 +93,10 @@ public class JamesMailSpooler implements Disposable, Configurable, MailSpoolerMB
             this.errorRepository = errorRepository;
             this.queue = queue;
             this.configuration = configuration;
+            this.limiter = configuration.getAdaptiveConcurrency()
+                .map(adaptive -> new AdaptiveConcurrencyLimiter(configuration.getConcurrencyLevel(), adaptive.getMinThreads(), adaptive.getMaxThreads()));
 
-            scheduler = Schedulers.newBoundedElastic(configuration.getConcurrencyLevel() + 1, DEFAULT_BOUNDED_ELASTIC_QUEUESIZE,
+            scheduler = Schedulers.newBoundedElastic(configuration.getMaxConcurrencyLevel() + 1, DEFAULT_BOUNDED_ELASTIC_QUEUESIZE,
                 "spooler");
 
             queueScheduler = Schedulers.newBoundedElastic(1, DEFAULT_BOUNDED_ELASTIC_QUEUESIZE,
@@ -102,33 +106,54 @@ public class JamesMailSpooler implements Disposable, Configurable, MailSpoolerMB
 
             gaugeRegistry.register(SPOOL_PROCESSING + ".inFlight",
                 processingActive::get);
+            gaugeRegistry.register(SPOOL_PROCESSING + ".concurrencyLimit",
+                this::getConcurrencyLimit);
         }
 
         private reactor.core.Disposable run(MailQueue queue) {
-            return Flux.from(queue.deQueue())
-                .flatMap(item -> handleOnQueueItem(item).subscribeOn(scheduler), configuration.getConcurrencyLevel())
+            return limiter.map(this::runAdaptive)
+                .orElseGet(() -> Flux.from(queue.deQueue())
+                    .flatMap(item -> handleOnQueueItem(item).subscribeOn(scheduler), configuration.getConcurrencyLevel()))
                 .onErrorContinue((throwable, item) -> LOGGER.error("Exception processing mail while spooling {}", item, throwable))
                 .subscribeOn(queueScheduler)
                 .subscribe();
         }
 
+        private Flux<Void> runAdaptive(AdaptiveConcurrencyLimiter limiter) {
+            // Items are only pulled from the queue once a processing slot is available
+            return Flux.from(queue.deQueue())
+                .concatMap(item -> limiter.acquire().thenReturn(item), 1)
+                .flatMap(item -> handleOnQueueItem(item, limiter).subscribeOn(scheduler), configuration.getMaxConcurrencyLevel());
+        }
+
+        private Mono<Void> handleOnQueueItem(MailQueueItem queueItem, AdaptiveConcurrencyLimiter limiter) {
+            long start = System.nanoTime();
+            AtomicBoolean success = new AtomicBoolean(false);
+            return handleOnQueueItem(queueItem, success)
+                .doFinally(any -> limiter.release(Duration.ofNanos(System.nanoTime() - start), success.get()));
+        }
+
         private Mono<Void> handleOnQueueItem(MailQueueItem queueItem) {
+            return handleOnQueueItem(queueItem, new AtomicBoolean());
+        }
+
+        private Mono<Void> handleOnQueueItem(MailQueueItem queueItem, AtomicBoolean success) {
             TimeMetric timeMetric = metricFactory.timer(SPOOL_PROCESSING);
             return Mono.fromCallable(processingActive::incrementAndGet)
-                .flatMap(ignore -> processMail(queueItem))
+                .flatMap(ignore -> processMail(queueItem, success))
                 .doOnSuccess(any -> timeMetric.stopAndPublish())
                 .doOnTerminate(processingActive::decrementAndGet);
         }
 
-        private Mono<Void> processMail(MailQueueItem queueItem) {
+        private Mono<Void> processMail(MailQueueItem queueItem, AtomicBoolean success) {
             return Mono
                 .using(
                     queueItem::getMail,
-                    mail -> Mono.fromRunnable(() -> performProcessMail(queueItem, mail)),
+                    mail -> Mono.fromRunnable(() -> success.set(performProcessMail(queueItem, mail))),
                     LifecycleUtil::dispose);
         }
 
-        private void performProcessMail(MailQueueItem queueItem, Mail mail) {
+        private boolean performProcessMail(MailQueueItem queueItem, Mail mail) {
             LOGGER.debug("==== Begin processing mail {} ====", mail.getName());
             ImmutableList<MailAddress> originalRecipients = ImmutableList.copyOf(mail.getRecipients());
             try {
@@ -138,8 +163,10 @@ public class JamesMailSpooler implements Disposable, Configurable, MailSpoolerMB
                     throw new InterruptedException("Thread has been interrupted");
                 }
                 queueItem.done(MailQueueItem.CompletionStatus.SUCCESS);
+                return true;
             } catch (Throwable e) {
                 handleError(queueItem, mail, originalRecipients, e);
+                return false;
             } finally {
                 LOGGER.debug("==== End processing mail {} ====", mail.getName());
             }
@@ -213,11 +240,50 @@ public class JamesMailSpooler implements Disposable, Configurable, MailSpoolerMB
         public int getCurrentSpoolCount() {
             return processingActive.get();
         }
+
+        public int getConcurrencyLimit() {
+            return limiter.map(AdaptiveConcurrencyLimiter::getLimit)
+                .orElse(configuration.getConcurrencyLevel());
+        }
     }
 
     public static class Configuration {
+        public static class AdaptiveConcurrency {
+            private final int minThreads;
+            private final int maxThreads;
+
+            public AdaptiveConcurrency(int minThreads, int maxThreads) {
+                Preconditions.checkArgument(minThreads > 0, "'minThreads' needs to be strictly positive");
+                Preconditions.checkArgument(maxThreads >= minThreads, "'maxThreads' needs to be greater than or equal to 'minThreads'");
+
+                this.minThreads = minThreads;
+                this.maxThreads = maxThreads;
+            }
+
+            public int getMinThreads() {
+                return minThreads;
+            }
+
+            public int getMaxThreads() {
+                return maxThreads;
+            }
+
+            @Override
+            public String toString() {
+                return MoreObjects.toStringHelper(this)
+                    .add("minThreads", minThreads)
+                    .add("maxThreads", maxThreads)
+                    .toString();
+            }
+        }
+
         public static Configuration from(MailRepositoryStore mailRepositoryStore, HierarchicalConfiguration<ImmutableNode> config) {
             int concurrencyLevel = config.getInt("threads", 100);
+            Optional<AdaptiveConcurrency> adaptiveConcurrency = Optional.of(config.getBoolean("adaptiveConcurrency", false))
+                .filter(enabled -> enabled && concurrencyLevel > 0)
+                .map(any -> new AdaptiveConcurrency(
+                    config.getInt("minThreads", DEFAULT_MIN_THREADS),
+                    config.getInt("maxThreads", concurrencyLevel)));
             MailRepositoryUrl errorRepositoryURL = Optional.ofNullable(config.getString("errorRepository", null))
                 .map(MailRepositoryUrl::from)
                 .orElseGet(() -> MailRepositoryUrl.fromPathAndProtocol(
@@ -225,23 +291,42 @@ public class JamesMailSpooler implements Disposable, Configurable, MailSpoolerMB
                         .orElseThrow(() -> new IllegalStateException("Cannot retrieve mailRepository URL, you need to configure an `errorRepository` property for the spooler.0")),
                     ERROR_REPOSITORY_PATH));
 
-            return new Configuration(concurrencyLevel, errorRepositoryURL);
+            return new Configuration(concurrencyLevel, errorRepositoryURL, adaptiveConcurrency);
         }
 
         private final int concurrencyLevel;
         private final MailRepositoryUrl errorRepositoryURL;
+        private final Optional<AdaptiveConcurrency> adaptiveConcurrency;
 
         public Configuration(int concurrencyLevel, MailRepositoryUrl errorRepositoryURL) {
+            this(concurrencyLevel, errorRepositoryURL, Optional.empty());
+        }
+
+        public Configuration(int concurrencyLevel, MailRepositoryUrl errorRepositoryURL, Optional<AdaptiveConcurrency> adaptiveConcurrency) {
             Preconditions.checkArgument(concurrencyLevel >= 0, "'threads' needs to be greater than or equal to zero");
             
             this.concurrencyLevel = concurrencyLevel;
             this.errorRepositoryURL = errorRepositoryURL;
+            this.adaptiveConcurrency = adaptiveConcurrency;
         }
 
+        /**
+         * @return the fixed concurrency level, or the initial one when concurrency is adaptive
+         */
         public int getConcurrencyLevel() {
             return concurrencyLevel;
         }
 
+        public int getMaxConcurrencyLevel() {
+            return adaptiveConcurrency.map(AdaptiveConcurrency::getMaxThreads)
+                .map(maxThreads -> Math.max(maxThreads, concurrencyLevel))
+                .orElse(concurrencyLevel);
+        }
+
+        public Optional<AdaptiveConcurrency> getAdaptiveConcurrency() {
+            return adaptiveConcurrency;
+        }
+
         public boolean isEnabled() {
             return concurrencyLevel > 0;
         }
@@ -255,6 +340,7 @@ public class JamesMailSpooler implements Disposable, Configurable, MailSpoolerMB
             return MoreObjects.toStringHelper(this)
                 .add("concurrencyLevel", concurrencyLevel)
                 .add("errorRepositoryURL", errorRepositoryURL)
+                .add("adaptiveConcurrency", adaptiveConcurrency)
                 .toString();
         }
     }
@@ -265,6 +351,7 @@ public class JamesMailSpooler implements Disposable, Configurable, MailSpoolerMB
     public static final AttributeName MAIL_PROCESSING_ERROR_COUNT = AttributeName.of("mail-processing-error-count");
     public static final MailRepositoryPath ERROR_REPOSITORY_PATH = MailRepositoryPath.from("var/mail/error");
     public static final int MAXIMUM_FAILURE_COUNT = 5;
+    public static final int DEFAULT_MIN_THREADS = 1;
 
     /**
      * concurrency level to use for dequeuing mails from spool, allows to throttle resources dedicated to that async
@@ -312,7 +399,9 @@ public class JamesMailSpooler implements Disposable, Configurable, MailSpoolerMB
         if (configuration.isEnabled()) {
             LOGGER.info("init...");
             LOGGER.info("Concurrency level is {}", configuration.getConcurrencyLevel());
-            queue = queueFactory.createQueue(MailQueueFactory.SPOOL, MailQueueFactory.prefetchCount(configuration.getConcurrencyLevel()));
+            configuration.getAdaptiveConcurrency()
+                .ifPresent(adaptive -> LOGGER.info("Concurrency is adaptive, between {} and {}", adaptive.getMinThreads(), adaptive.getMaxThreads()));
+            queue = queueFactory.createQueue(MailQueueFactory.SPOOL, MailQueueFactory.prefetchCount(configuration.getMaxConcurrencyLevel()));
             runner = Optional.of(new Runner(metricFactory, gaugeRegistry,
                 mailProcessor, errorRepository(), queue, configuration));
             LOGGER.info("Spooler started");
@@ -353,4 +442,9 @@ public class JamesMailSpooler implements Disposable, Configurable, MailSpoolerMB
     public int getCurrentSpoolCount() {
         return runner.map(Runner::getCurrentSpoolCount).orElse(0);
     }
+
+    @Override
+    public int getConcurrencyLimit() {
+        return runner.map(Runner::getConcurrencyLimit).orElse(0);
+    }
 }
@@ -20,18 +20,26 @@ package org.apache.james.mailetcontainer.impl;
 
 import static org.apache.james.mailetcontainer.impl.MatcherSplitter.MATCHER_MATCHED_ATTRIBUTE;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Consumer;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import jakarta.annotation.PostConstruct;
 import jakarta.mail.MessagingException;
 
+import org.apache.commons.configuration2.HierarchicalConfiguration;
+import org.apache.commons.configuration2.ex.ConfigurationException;
+import org.apache.commons.configuration2.tree.ImmutableNode;
 import org.apache.commons.lang3.NotImplementedException;
-import org.apache.commons.lang3.tuple.Pair;
 import org.apache.james.lifecycle.api.LifecycleUtil;
+import org.apache.james.mailetcontainer.api.ProcessingStepStatistics;
+import org.apache.james.mailetcontainer.api.ProcessingStepStatistics.StepType;
 import org.apache.james.mailetcontainer.lib.AbstractStateMailetProcessor;
+import org.apache.james.metrics.api.Metric;
 import org.apache.james.metrics.api.MetricFactory;
 import org.apache.mailet.Mail;
 import org.apache.mailet.Mailet;
@@ -41,7 +49,6 @@ import org.slf4j.LoggerFactory;
 
 import com.github.fge.lambdas.Throwing;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 
 /**
@@ -49,6 +56,33 @@ import com.google.common.collect.ImmutableSet;
  * the {@link Matcher} / {@link Mailet} routing
  */
 public class MailetProcessorImpl extends AbstractStateMailetProcessor {
+    private static class PipelineStep {
+        private final MatcherSplitter matcherSplitter;
+        private final ProcessorImpl processor;
+        private final Optional<RecipientMatcherGroup> recipientMatcherGroup;
+        private final int groupPosition;
+        private final StepMetrics matcherMetrics;
+        private final StepMetrics mailetMetrics;
+
+        private PipelineStep(MatcherSplitter matcherSplitter, ProcessorImpl processor, Optional<RecipientMatcherGroup> recipientMatcherGroup, int groupPosition,
+                             StepMetrics matcherMetrics, StepMetrics mailetMetrics) {
+            this.matcherSplitter = matcherSplitter;
+            this.processor = processor;
+            this.recipientMatcherGroup = recipientMatcherGroup;
+            this.groupPosition = groupPosition;
+            this.matcherMetrics = matcherMetrics;
+            this.mailetMetrics = mailetMetrics;
+        }
+
+        List<Mail> split(Mail mail, ProcessingStep processingStep) throws MessagingException {
+            if (recipientMatcherGroup.isPresent()) {
+                RecipientMatcherGroup.Evaluation evaluation = processingStep.evaluation(recipientMatcherGroup.get());
+                return matcherSplitter.split(mail, splitMail -> evaluation.match(groupPosition, splitMail));
+            }
+            return matcherSplitter.split(mail);
+        }
+    }
+
     private static class ProcessingStep {
         private static class Builder {
             @FunctionalInterface
@@ -63,15 +97,18 @@ public class MailetProcessorImpl extends AbstractStateMailetProcessor {
         }
 
         public static ProcessingStep initial(Mail mail) {
-            return new ProcessingStep(ImmutableList.of(mail), ImmutableSet.of(mail));
+            return new ProcessingStep(ImmutableList.of(mail), ImmutableSet.of(mail), new HashMap<>());
         }
 
         private ImmutableList<Mail> inFlightMails;
         private ImmutableSet<Mail> encounteredMails;
+        private final Map<RecipientMatcherGroup, RecipientMatcherGroup.Evaluation> evaluations;
 
-        private ProcessingStep(ImmutableList<Mail> inFlightMails, ImmutableSet<Mail> encounteredMails) {
+        private ProcessingStep(ImmutableList<Mail> inFlightMails, ImmutableSet<Mail> encounteredMails,
+                               Map<RecipientMatcherGroup, RecipientMatcherGroup.Evaluation> evaluations) {
             this.inFlightMails = inFlightMails;
             this.encounteredMails = encounteredMails;
+            this.evaluations = evaluations;
         }
 
         public ImmutableList<Mail> getInFlightMails() {
@@ -84,7 +121,12 @@ public class MailetProcessorImpl extends AbstractStateMailetProcessor {
                     .addAll(inFlight)
                     .addAll(encounteredMails)
                     .addAll(encountered)
-                    .build());
+                    .build(),
+                evaluations);
+        }
+
+        public RecipientMatcherGroup.Evaluation evaluation(RecipientMatcherGroup group) {
+            return evaluations.computeIfAbsent(group, RecipientMatcherGroup::newEvaluation);
         }
 
         public void ghostInFlight(Consumer<Mail> callback) {
@@ -115,8 +157,12 @@ public class MailetProcessorImpl extends AbstractStateMailetProcessor {
     private static final Logger LOGGER = LoggerFactory.getLogger(MailetProcessorImpl.class);
 
     private final MetricFactory metricFactory;
+    private boolean compiledPipeline;
+    private boolean stepMetrics;
     private List<MatcherMailetPair> pairs;
-    private Map<MatcherSplitter, ProcessorImpl> pairsToBeProcessed;
+    private List<PipelineStep> pipelineSteps;
+    private Metric splits;
+    private Metric clones;
 
     public MailetProcessorImpl(MetricFactory metricFactory) {
         this.metricFactory = metricFactory;
@@ -124,10 +170,10 @@ public class MailetProcessorImpl extends AbstractStateMailetProcessor {
 
     @Override
     public void service(Mail mail) {
-        ProcessingStep lastStep = pairsToBeProcessed.entrySet().stream()
-            .reduce(ProcessingStep.initial(mail), (processingStep, pair) -> {
+        ProcessingStep lastStep = pipelineSteps.stream()
+            .reduce(ProcessingStep.initial(mail), (processingStep, pipelineStep) -> {
                 if (processingStep.test()) {
-                    return executeProcessingStep(processingStep, pair);
+                    return executeProcessingStep(processingStep, pipelineStep);
                 }
                 return processingStep;
             }, (a, b) -> {
@@ -150,12 +196,11 @@ public class MailetProcessorImpl extends AbstractStateMailetProcessor {
         lastStep.disposeGhostedEncounteredMails();
     }
 
-    private ProcessingStep executeProcessingStep(ProcessingStep step, Map.Entry<MatcherSplitter, ProcessorImpl> pair) {
-        MatcherSplitter matcherSplitter = pair.getKey();
-        ProcessorImpl processor = pair.getValue();
+    private ProcessingStep executeProcessingStep(ProcessingStep step, PipelineStep pipelineStep) {
+        ProcessorImpl processor = pipelineStep.processor;
         ImmutableList<Mail> afterMatching = step.getInFlightMails()
             .stream()
-            .flatMap(Throwing.<Mail, Stream<Mail>>function(mail -> matcherSplitter.split(mail).stream()).sneakyThrow())
+            .flatMap(Throwing.<Mail, Stream<Mail>>function(mail -> pipelineStep.split(mail, step).stream()).sneakyThrow())
             .collect(ImmutableList.toImmutableList());
         afterMatching
             .stream().filter(mail -> mail.removeAttribute(MATCHER_MATCHED_ATTRIBUTE).isPresent())
@@ -186,6 +231,34 @@ public class MailetProcessorImpl extends AbstractStateMailetProcessor {
         return "direct:processor." + getState();
     }
 
+    /**
+     * Besides the regular processor configuration, the <code>compiledPipeline</code> attribute (default to false)
+     * enables the following optimisations:
+     *  - consecutive recipient matchers are evaluated together, once per recipient. See {@link RecipientMatcherGroup}.
+     *  - mails split by matchers share their message content until modified rather than copying it.
+     *
+     * The <code>stepMetrics</code> attribute (default to false) enables latency metrics for each matcher and mailet of
+     * the processor, see {@link StepMetrics}, as well as counts of split and cloned mails.
+     */
+    @Override
+    public void configure(HierarchicalConfiguration<ImmutableNode> config) throws ConfigurationException {
+        super.configure(config);
+        this.compiledPipeline = config.getBoolean("[@compiledPipeline]", false);
+        this.stepMetrics = config.getBoolean("[@stepMetrics]", false);
+    }
+
+    /**
+     * @return the latencies recorded for each step of this processor, empty when step metrics are disabled
+     */
+    public List<ProcessingStepStatistics.Step> getStepStatistics() {
+        if (!stepMetrics) {
+            return ImmutableList.of();
+        }
+        return pipelineSteps.stream()
+            .flatMap(step -> Stream.of(step.matcherMetrics.snapshot(), step.mailetMetrics.snapshot()))
+            .collect(ImmutableList.toImmutableList());
+    }
+
     @Override
     @PostConstruct
     public void init() throws Exception {
@@ -196,13 +269,61 @@ public class MailetProcessorImpl extends AbstractStateMailetProcessor {
     protected void setupRouting(List<MatcherMailetPair> pairs) throws MessagingException {
         try {
             this.pairs = pairs;
-            this.pairsToBeProcessed = pairs.stream()
-                .map(pair -> Pair.of(new MatcherSplitter(metricFactory, this, pair),
-                    new ProcessorImpl(metricFactory, this, pair.getMailet())))
-                .collect(ImmutableMap.toImmutableMap(Pair::getKey, Pair::getValue));
+            if (stepMetrics) {
+                this.splits = metricFactory.generate("mailetcontainer." + getState() + ".split");
+                this.clones = metricFactory.generate("mailetcontainer." + getState() + ".cloned");
+            }
+            if (compiledPipeline) {
+                this.pipelineSteps = compile(pairs);
+            } else {
+                this.pipelineSteps = IntStream.range(0, pairs.size())
+                    .mapToObj(index -> pipelineStep(index, pairs.get(index), Optional.empty(), 0))
+                    .collect(ImmutableList.toImmutableList());
+            }
         } catch (Exception e) {
             throw new MessagingException("Unable to setup routing for MailetMatcherPairs", e);
         }
     }
 
+    private ImmutableList<PipelineStep> compile(List<MatcherMailetPair> pairs) {
+        ImmutableList.Builder<PipelineStep> steps = ImmutableList.builder();
+        int start = 0;
+        while (start < pairs.size()) {
+            int end = start;
+            while (end < pairs.size() && RecipientMatcherGroup.isGroupable(pairs.get(end).getMatcher())) {
+                end++;
+            }
+            if (end - start > 1) {
+                List<MatcherMailetPair> groupedPairs = pairs.subList(start, end);
+                RecipientMatcherGroup group = new RecipientMatcherGroup(groupedPairs.stream()
+                    .map(MatcherMailetPair::getMatcher)
+                    .collect(ImmutableList.toImmutableList()));
+                for (int position = 0; position < groupedPairs.size(); position++) {
+                    steps.add(pipelineStep(start + position, groupedPairs.get(position), Optional.of(group), position));
+                }
+                LOGGER.debug("Processor {}: grouping {} recipient matchers", getState(), group.size());
+                start = end;
+            } else {
+                steps.add(pipelineStep(start, pairs.get(start), Optional.empty(), 0));
+                start++;
+            }
+        }
+        return steps.build();
+    }
+
+    private PipelineStep pipelineStep(int index, MatcherMailetPair pair, Optional<RecipientMatcherGroup> group, int groupPosition) {
+        StepMetrics matcherMetrics = stepMetrics(index, StepType.MATCHER, pair.getMatcher().getClass().getSimpleName());
+        StepMetrics mailetMetrics = stepMetrics(index, StepType.MAILET, pair.getMailet().getClass().getSimpleName());
+        return new PipelineStep(new MatcherSplitter(metricFactory, this, pair, compiledPipeline, matcherMetrics),
+            new ProcessorImpl(metricFactory, this, pair.getMailet(), mailetMetrics),
+            group, groupPosition, matcherMetrics, mailetMetrics);
+    }
+
+    private StepMetrics stepMetrics(int index, StepType type, String name) {
+        if (!stepMetrics) {
+            return StepMetrics.NOOP;
+        }
+        return StepMetrics.of(metricFactory, getState(), index, type, name, splits, clones);
+    }
+
 }
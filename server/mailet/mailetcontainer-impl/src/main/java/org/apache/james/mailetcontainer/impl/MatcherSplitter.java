@@ -54,15 +54,39 @@ public class MatcherSplitter {
     /** Headername which is used to indicate that the matcher matched */
     public static final AttributeName MATCHER_MATCHED_ATTRIBUTE = AttributeName.of("matched");
 
+    /**
+     * Computes the recipients of a mail matched by the underlying matcher
+     */
+    @FunctionalInterface
+    interface Matching {
+        Collection<MailAddress> match(Mail mail) throws MessagingException;
+    }
+
     private final MetricFactory metricFactory;
     private final MailetProcessorImpl container;
     private final Matcher matcher;
     private final String onMatchException;
+    private final boolean copyOnWrite;
+    private final StepMetrics stepMetrics;
 
     public MatcherSplitter(MetricFactory metricFactory, MailetProcessorImpl container, MatcherMailetPair pair) {
+        this(metricFactory, container, pair, false);
+    }
+
+    /**
+     * @param copyOnWrite when true, mails resulting from a partial match share their message content with the
+     *                    original mail instead of copying it, see {@link MailImpl#duplicateSharingMessage(Mail)}
+     */
+    public MatcherSplitter(MetricFactory metricFactory, MailetProcessorImpl container, MatcherMailetPair pair, boolean copyOnWrite) {
+        this(metricFactory, container, pair, copyOnWrite, StepMetrics.NOOP);
+    }
+
+    MatcherSplitter(MetricFactory metricFactory, MailetProcessorImpl container, MatcherMailetPair pair, boolean copyOnWrite, StepMetrics stepMetrics) {
         this.metricFactory = metricFactory;
+        this.stepMetrics = stepMetrics;
         this.container = container;
         this.matcher = pair.getMatcher();
+        this.copyOnWrite = copyOnWrite;
         this.onMatchException = Optional.ofNullable(pair.getOnMatchException())
             .map(s -> s.trim().toLowerCase(Locale.US))
             .orElse(Mail.ERROR);
@@ -78,6 +102,14 @@ public class MatcherSplitter {
      * @return mailMessageList
      */
     public List<Mail> split(Mail mail) throws MessagingException {
+        return split(mail, matcher::match);
+    }
+
+    /**
+     * Same as {@link #split(Mail)}, matched recipients being computed by the given {@link Matching} in place of a
+     * direct call to the matcher.
+     */
+    List<Mail> split(Mail mail, Matching matching) throws MessagingException {
         Collection<MailAddress> matchedRcpts = null;
         Collection<MailAddress> origRcpts = new ArrayList<>(mail.getRecipients());
         long start = System.currentTimeMillis();
@@ -101,7 +133,7 @@ public class MatcherSplitter {
                          .addToContext("sender", mail.getMaybeSender().asString())
                          .build()) {
                 // call the matcher
-                matchedRcpts = matcher.match(mail);
+                matchedRcpts = matching.match(mail);
 
                 if (matchedRcpts == null) {
                     // In case the matcher returned null, create an empty
@@ -144,9 +176,10 @@ public class MatcherSplitter {
                     // all recipients matched
                     fullMatch = true;
                 } else {
+                    stepMetrics.recordSplit();
                     mail.setRecipients(rcpts);
 
-                    Mail newMail = MailImpl.duplicate(mail);
+                    Mail newMail = duplicate(mail);
                     newMail.setRecipients(matchedRcpts);
                     newMail.setState(mail.getState());
 
@@ -170,7 +203,7 @@ public class MatcherSplitter {
 
             return mails;
         } finally {
-            timeMetric.stopAndPublish();
+            stepMetrics.record(timeMetric.stopAndPublish().elasped());
             long complete = System.currentTimeMillis() - start;
             List<MailetProcessorListener> listeners = container.getListeners();
             for (MailetProcessorListener listener : listeners) {
@@ -183,4 +216,15 @@ public class MatcherSplitter {
             }
         }
     }
+
+    private Mail duplicate(Mail mail) throws MessagingException {
+        if (copyOnWrite) {
+            Optional<MailImpl> duplicate = MailImpl.duplicateSharingMessage(mail);
+            if (duplicate.isPresent()) {
+                return duplicate.get();
+            }
+        }
+        stepMetrics.recordClone();
+        return MailImpl.duplicate(mail);
+    }
 }
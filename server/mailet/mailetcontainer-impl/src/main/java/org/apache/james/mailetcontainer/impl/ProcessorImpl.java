@@ -46,9 +46,15 @@ public class ProcessorImpl {
     private final MetricFactory metricFactory;
     private final Mailet mailet;
     private final MailetProcessorImpl processor;
+    private final StepMetrics stepMetrics;
 
     public ProcessorImpl(MetricFactory metricFactory, MailetProcessorImpl processor, Mailet mailet) {
+        this(metricFactory, processor, mailet, StepMetrics.NOOP);
+    }
+
+    ProcessorImpl(MetricFactory metricFactory, MailetProcessorImpl processor, Mailet mailet, StepMetrics stepMetrics) {
         this.metricFactory = metricFactory;
+        this.stepMetrics = stepMetrics;
         this.processor = processor;
         this.mailet = mailet;
     }
@@ -105,7 +111,7 @@ public class ProcessorImpl {
             }
 
         } finally {
-            timeMetric.stopAndPublish();
+            stepMetrics.record(timeMetric.stopAndPublish().elasped());
             MailetPipelineLogging.logEndOfMailetProcess(mailet, mail);
             List<MailetProcessorListener> listeners = processor.getListeners();
             long complete = System.currentTimeMillis() - start;
@@ -0,0 +1,119 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailetcontainer.impl;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.mail.MessagingException;
+
+import org.apache.james.core.MailAddress;
+import org.apache.mailet.Mail;
+import org.apache.mailet.Matcher;
+import org.apache.mailet.base.GenericRecipientMatcher;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Consecutive {@link GenericRecipientMatcher}s of a processor, evaluated together.
+ *
+ * Such matchers decide on each recipient address alone, regardless of the mail being processed. Thus, the first time
+ * a recipient is encountered while processing a mail, all the matchers of the group are evaluated for it in a single
+ * pass, and later steps of the group only look the result up. Mails split by the group and recipients added by the
+ * mailets in between share these results.
+ */
+class RecipientMatcherGroup {
+    static boolean isGroupable(Matcher matcher) {
+        return matcher instanceof GenericRecipientMatcher;
+    }
+
+    private static class Verdict {
+        private final BitSet matched;
+        private final Map<Integer, Exception> failures;
+
+        private Verdict(BitSet matched, Map<Integer, Exception> failures) {
+            this.matched = matched;
+            this.failures = failures;
+        }
+
+        boolean matches(int position) throws MessagingException {
+            Exception failure = failures.get(position);
+            if (failure instanceof MessagingException) {
+                throw (MessagingException) failure;
+            }
+            if (failure != null) {
+                throw (RuntimeException) failure;
+            }
+            return matched.get(position);
+        }
+    }
+
+    /**
+     * Results of the group for the mails derived from a single mail entering the processor. Not thread safe.
+     */
+    class Evaluation {
+        private final Map<MailAddress, Verdict> verdicts = new HashMap<>();
+
+        Collection<MailAddress> match(int position, Mail mail) throws MessagingException {
+            ImmutableList.Builder<MailAddress> matched = ImmutableList.builder();
+            for (MailAddress recipient : mail.getRecipients()) {
+                if (verdicts.computeIfAbsent(recipient, RecipientMatcherGroup.this::evaluate).matches(position)) {
+                    matched.add(recipient);
+                }
+            }
+            return matched.build();
+        }
+    }
+
+    private final ImmutableList<GenericRecipientMatcher> matchers;
+
+    RecipientMatcherGroup(List<Matcher> matchers) {
+        Preconditions.checkArgument(matchers.stream().allMatch(RecipientMatcherGroup::isGroupable),
+            "Only recipient matchers can be grouped");
+        this.matchers = matchers.stream()
+            .map(GenericRecipientMatcher.class::cast)
+            .collect(ImmutableList.toImmutableList());
+    }
+
+    int size() {
+        return matchers.size();
+    }
+
+    Evaluation newEvaluation() {
+        return new Evaluation();
+    }
+
+    private Verdict evaluate(MailAddress recipient) {
+        BitSet matched = new BitSet(matchers.size());
+        Map<Integer, Exception> failures = new HashMap<>();
+        for (int position = 0; position < matchers.size(); position++) {
+            try {
+                matched.set(position, matchers.get(position).matchRecipient(recipient));
+            } catch (MessagingException | RuntimeException e) {
+                failures.put(position, e);
+            }
+        }
+        return new Verdict(matched, failures);
+    }
+}
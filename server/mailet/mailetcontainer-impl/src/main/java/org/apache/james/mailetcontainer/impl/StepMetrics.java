@@ -0,0 +1,116 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailetcontainer.impl;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.james.mailetcontainer.api.ProcessingStepStatistics;
+import org.apache.james.mailetcontainer.api.ProcessingStepStatistics.StepType;
+import org.apache.james.metrics.api.Metric;
+import org.apache.james.metrics.api.MetricFactory;
+
+/**
+ * Latency of a single step (matcher or mailet) of a processor, identified by the processor state and the position
+ * of the step within the processor.
+ *
+ * Measures are published to the {@link MetricFactory} under <code>mailetcontainer.[state].[index].[type].[name]</code>
+ * and aggregated locally, for {@link ProcessingStepStatistics}. Recording only relies on adders, the metric name
+ * being computed once.
+ */
+class StepMetrics {
+    static final StepMetrics NOOP = new StepMetrics(null, "", -1, StepType.MATCHER, "", null, null) {
+        @Override
+        void record(Duration duration) {
+
+        }
+
+        @Override
+        void recordSplit() {
+
+        }
+
+        @Override
+        void recordClone() {
+
+        }
+    };
+
+    static StepMetrics of(MetricFactory metricFactory, String state, int index, StepType type, String name, Metric splits, Metric clones) {
+        return new StepMetrics(metricFactory, state, index, type, name, splits, clones);
+    }
+
+    private final MetricFactory metricFactory;
+    private final String state;
+    private final int index;
+    private final StepType type;
+    private final String name;
+    private final String metricName;
+    private final LongAdder count;
+    private final LongAdder totalNanos;
+    private final LongAccumulator maxNanos;
+    private final Metric splits;
+    private final Metric clones;
+
+    private StepMetrics(MetricFactory metricFactory, String state, int index, StepType type, String name, Metric splits, Metric clones) {
+        this.metricFactory = metricFactory;
+        this.state = state;
+        this.index = index;
+        this.type = type;
+        this.name = name;
+        this.splits = splits;
+        this.clones = clones;
+        this.metricName = "mailetcontainer." + state + "." + index + "." + type.name().toLowerCase(Locale.US) + "." + name;
+        this.count = new LongAdder();
+        this.totalNanos = new LongAdder();
+        this.maxNanos = new LongAccumulator(Math::max, 0);
+    }
+
+    void record(Duration duration) {
+        long nanos = duration.toNanos();
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+        metricFactory.timer(metricName).record(duration);
+    }
+
+    /**
+     * A matcher selected only some of the recipients of a mail, which had to be split.
+     */
+    void recordSplit() {
+        splits.increment();
+    }
+
+    /**
+     * The message content of a split mail had to be copied.
+     */
+    void recordClone() {
+        clones.increment();
+    }
+
+    ProcessingStepStatistics.Step snapshot() {
+        return new ProcessingStepStatistics.Step(state, index, type, name,
+            count.sum(),
+            Duration.ofNanos(totalNanos.sum()),
+            Duration.ofNanos(maxNanos.get()));
+    }
+}
@@ -0,0 +1,178 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailetcontainer.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import reactor.core.Disposable;
+
+class AdaptiveConcurrencyLimiterTest {
+    private static final Duration NOMINAL_LATENCY = Duration.ofMillis(10);
+    private static final Duration SLOW_LATENCY = Duration.ofMillis(200);
+
+    private AtomicLong clock;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong(0);
+    }
+
+    @Test
+    void acquireShouldSucceedWithinTheLimit() {
+        AdaptiveConcurrencyLimiter testee = new AdaptiveConcurrencyLimiter(2, 1, 10, clock::get);
+
+        testee.acquire().block();
+        testee.acquire().block();
+
+        assertThat(testee.getInFlight()).isEqualTo(2);
+    }
+
+    @Test
+    void acquireShouldWaitWhenTheLimitIsReached() {
+        AdaptiveConcurrencyLimiter testee = new AdaptiveConcurrencyLimiter(1, 1, 10, clock::get);
+        testee.acquire().block();
+
+        AtomicBoolean acquired = new AtomicBoolean(false);
+        testee.acquire().subscribe(any -> { }, any -> { }, () -> acquired.set(true));
+
+        assertThat(acquired).isFalse();
+    }
+
+    @Test
+    void releaseShouldWakeUpWaiters() {
+        AdaptiveConcurrencyLimiter testee = new AdaptiveConcurrencyLimiter(1, 1, 10, clock::get);
+        testee.acquire().block();
+        AtomicBoolean acquired = new AtomicBoolean(false);
+        testee.acquire().subscribe(any -> { }, any -> { }, () -> acquired.set(true));
+
+        testee.release(NOMINAL_LATENCY, true);
+
+        assertThat(acquired).isTrue();
+        assertThat(testee.getInFlight()).isEqualTo(1);
+    }
+
+    @Test
+    void cancelledWaitersShouldNotHoldSlots() {
+        AdaptiveConcurrencyLimiter testee = new AdaptiveConcurrencyLimiter(1, 1, 10, clock::get);
+        testee.acquire().block();
+        Disposable waiter = testee.acquire().subscribe();
+
+        waiter.dispose();
+        testee.release(NOMINAL_LATENCY, true);
+
+        assertThat(testee.getInFlight()).isZero();
+    }
+
+    @Test
+    void limitShouldIncreaseWhenSaturatedWithNominalLatencies() {
+        AdaptiveConcurrencyLimiter testee = new AdaptiveConcurrencyLimiter(4, 1, 10, clock::get);
+
+        processSaturated(testee, 100, NOMINAL_LATENCY, true);
+
+        assertThat(testee.getLimit()).isGreaterThan(4);
+    }
+
+    @Test
+    void limitShouldNotExceedMaximum() {
+        AdaptiveConcurrencyLimiter testee = new AdaptiveConcurrencyLimiter(4, 1, 6, clock::get);
+
+        processSaturated(testee, 1000, NOMINAL_LATENCY, true);
+
+        assertThat(testee.getLimit()).isEqualTo(6);
+    }
+
+    @Test
+    void limitShouldNotIncreaseWhenUnused() {
+        AdaptiveConcurrencyLimiter testee = new AdaptiveConcurrencyLimiter(8, 1, 20, clock::get);
+
+        for (int i = 0; i < 100; i++) {
+            testee.acquire().block();
+            clock.addAndGet(NOMINAL_LATENCY.toNanos());
+            testee.release(NOMINAL_LATENCY, true);
+        }
+
+        assertThat(testee.getLimit()).isEqualTo(8);
+    }
+
+    @Test
+    void limitShouldDecreaseWhenLatencyDegrades() {
+        AdaptiveConcurrencyLimiter testee = new AdaptiveConcurrencyLimiter(10, 1, 10, clock::get);
+        processSaturated(testee, 100, NOMINAL_LATENCY, true);
+
+        processSaturated(testee, 50, SLOW_LATENCY, true);
+
+        assertThat(testee.getLimit()).isLessThan(10);
+    }
+
+    @Test
+    void limitShouldDecreaseUponFailures() {
+        AdaptiveConcurrencyLimiter testee = new AdaptiveConcurrencyLimiter(10, 1, 10, clock::get);
+
+        processSaturated(testee, 50, NOMINAL_LATENCY, false);
+
+        assertThat(testee.getLimit()).isLessThan(10);
+    }
+
+    @Test
+    void limitShouldNotGoBelowMinimum() {
+        AdaptiveConcurrencyLimiter testee = new AdaptiveConcurrencyLimiter(10, 3, 10, clock::get);
+
+        processSaturated(testee, 1000, NOMINAL_LATENCY, false);
+
+        assertThat(testee.getLimit()).isEqualTo(3);
+    }
+
+    @Test
+    void limitShouldRecoverOnceLatencyIsBackToNormal() {
+        AdaptiveConcurrencyLimiter testee = new AdaptiveConcurrencyLimiter(10, 1, 10, clock::get);
+        processSaturated(testee, 200, NOMINAL_LATENCY, false);
+        int degradedLimit = testee.getLimit();
+
+        processSaturated(testee, 500, NOMINAL_LATENCY, true);
+
+        assertThat(testee.getLimit()).isGreaterThan(degradedLimit);
+    }
+
+    @Test
+    void constructorShouldRejectInvalidBounds() {
+        assertThatThrownBy(() -> new AdaptiveConcurrencyLimiter(10, 0, 10))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AdaptiveConcurrencyLimiter(10, 5, 4))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void processSaturated(AdaptiveConcurrencyLimiter testee, int count, Duration latency, boolean success) {
+        for (int i = 0; i < count; i++) {
+            while (testee.getInFlight() < testee.getLimit()) {
+                testee.acquire().block();
+            }
+            clock.addAndGet(latency.toNanos());
+            testee.release(latency, success);
+        }
+    }
+}
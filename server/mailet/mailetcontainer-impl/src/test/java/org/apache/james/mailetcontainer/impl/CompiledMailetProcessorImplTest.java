@@ -0,0 +1,144 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailetcontainer.impl;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.mail.MessagingException;
+
+import org.apache.commons.configuration2.HierarchicalConfiguration;
+import org.apache.commons.configuration2.tree.ImmutableNode;
+import org.apache.james.core.MailAddress;
+import org.apache.james.mailetcontainer.api.MailProcessor;
+import org.apache.james.mailetcontainer.api.mock.MockMailetLoader;
+import org.apache.james.mailetcontainer.api.mock.MockMatcherLoader;
+import org.apache.james.mailetcontainer.lib.AbstractStateMailetProcessor;
+import org.apache.james.mailetcontainer.lib.AbstractStateMailetProcessorTest;
+import org.apache.james.metrics.tests.RecordingMetricFactory;
+import org.apache.james.server.core.MailImpl;
+import org.apache.james.server.core.configuration.FileConfigurationProvider;
+import org.apache.james.util.MimeMessageUtil;
+import org.apache.mailet.Mail;
+import org.apache.mailet.base.GenericMailet;
+import org.apache.mailet.base.GenericRecipientMatcher;
+import org.apache.mailet.base.test.FakeMailContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class CompiledMailetProcessorImplTest extends AbstractStateMailetProcessorTest {
+    public static class CountingRecipientIs extends GenericRecipientMatcher {
+        static final AtomicInteger EVALUATIONS = new AtomicInteger();
+
+        @Override
+        public boolean matchRecipient(MailAddress recipient) {
+            EVALUATIONS.incrementAndGet();
+            return recipient.asString().equals(getCondition());
+        }
+    }
+
+    public static class RecordingMailet extends GenericMailet {
+        static final List<String> SERVICED = new ArrayList<>();
+
+        @Override
+        public void service(Mail mail) {
+            SERVICED.add(getInitParameter("id") + ":" + mail.getRecipients());
+        }
+    }
+
+    @Override
+    protected AbstractStateMailetProcessor createProcessor(HierarchicalConfiguration<ImmutableNode> configuration) throws Exception {
+        configuration.addProperty("[@compiledPipeline]", true);
+        MailetProcessorImpl processor = null;
+        try {
+            processor = new MailetProcessorImpl(new RecordingMetricFactory());
+            processor.setMailetContext(FakeMailContext.defaultContext());
+            processor.setMailetLoader(new MockMailetLoader());
+            processor.setMatcherLoader(new MockMatcherLoader());
+            processor.setRootMailProcessor(mock(MailProcessor.class));
+            processor.configure(configuration);
+            processor.init();
+            return processor;
+        } finally {
+            if (processor != null) {
+                processor.destroy();
+            }
+        }
+    }
+
+    @BeforeEach
+    void resetRecorders() {
+        CountingRecipientIs.EVALUATIONS.set(0);
+        RecordingMailet.SERVICED.clear();
+    }
+
+    @Test
+    void groupedRecipientMatchersShouldEvaluateEachRecipientOncePerMatcher() throws Exception {
+        AbstractStateMailetProcessor processor = createProcessor(recipientMatchersConfiguration());
+
+        processor.service(newMail());
+
+        // 2 recipients, 3 matchers, whatever the number of split mails
+        assertThat(CountingRecipientIs.EVALUATIONS.get()).isEqualTo(6);
+    }
+
+    @Test
+    void groupedRecipientMatchersShouldSplitLikeRegularMatchers() throws Exception {
+        AbstractStateMailetProcessor processor = createProcessor(recipientMatchersConfiguration());
+
+        processor.service(newMail());
+
+        assertThat(RecordingMailet.SERVICED).containsExactly(
+            "first:[a@localhost]",
+            "second:[b@localhost]",
+            "third:[a@localhost]");
+    }
+
+    private HierarchicalConfiguration<ImmutableNode> recipientMatchersConfiguration() throws Exception {
+        String configuration = "<processor state=\"" + Mail.DEFAULT + "\">" +
+            recipientMatcherMailet("a@localhost", "first") +
+            recipientMatcherMailet("b@localhost", "second") +
+            recipientMatcherMailet("a@localhost", "third") +
+            "</processor>";
+        return FileConfigurationProvider.getConfig(new ByteArrayInputStream(configuration.getBytes(UTF_8)));
+    }
+
+    private String recipientMatcherMailet(String recipient, String id) {
+        return "<mailet match=\"" + CountingRecipientIs.class.getName() + "=" + recipient + "\" class=\"" + RecordingMailet.class.getName() + "\">" +
+            "<id>" + id + "</id>" +
+            "</mailet>";
+    }
+
+    private MailImpl newMail() throws MessagingException {
+        return MailImpl.builder()
+            .name(MailImpl.getId())
+            .sender("test@localhost")
+            .addRecipient("a@localhost")
+            .addRecipient("b@localhost")
+            .mimeMessage(MimeMessageUtil.mimeMessageFromBytes("header: value\r\n".getBytes(UTF_8)))
+            .build();
+    }
+}
@@ -19,17 +19,32 @@
 
 package org.apache.james.mailetcontainer.impl;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.Mockito.mock;
 
+import java.io.ByteArrayInputStream;
+
+import jakarta.mail.MessagingException;
+
 import org.apache.commons.configuration2.HierarchicalConfiguration;
 import org.apache.commons.configuration2.tree.ImmutableNode;
 import org.apache.james.mailetcontainer.api.MailProcessor;
+import org.apache.james.mailetcontainer.api.ProcessingStepStatistics;
+import org.apache.james.mailetcontainer.api.ProcessingStepStatistics.StepType;
+import org.apache.james.mailetcontainer.api.mock.MockMailet;
 import org.apache.james.mailetcontainer.api.mock.MockMailetLoader;
+import org.apache.james.mailetcontainer.api.mock.MockMatcher;
 import org.apache.james.mailetcontainer.api.mock.MockMatcherLoader;
 import org.apache.james.mailetcontainer.lib.AbstractStateMailetProcessor;
 import org.apache.james.mailetcontainer.lib.AbstractStateMailetProcessorTest;
 import org.apache.james.metrics.tests.RecordingMetricFactory;
+import org.apache.james.server.core.MailImpl;
+import org.apache.james.server.core.configuration.FileConfigurationProvider;
+import org.apache.james.util.MimeMessageUtil;
 import org.apache.mailet.base.test.FakeMailContext;
+import org.junit.jupiter.api.Test;
 
 public class MailetProcessorImplTest extends AbstractStateMailetProcessorTest {
 
@@ -52,4 +67,88 @@ public class MailetProcessorImplTest extends AbstractStateMailetProcessorTest {
         }
     }
 
+    @Test
+    void stepMetricsShouldPublishATimerPerStep() throws Exception {
+        RecordingMetricFactory metricFactory = new RecordingMetricFactory();
+        MailetProcessorImpl processor = createProcessor(metricFactory, "stepMetrics=\"true\"");
+
+        processor.service(newMail());
+
+        assertThat(metricFactory.executionTimesFor("mailetcontainer.root.0.matcher.MockMatcher")).hasSize(1);
+        assertThat(metricFactory.executionTimesFor("mailetcontainer.root.0.mailet.MockMailet")).hasSize(1);
+    }
+
+    @Test
+    void stepMetricsShouldCountSplitAndClonedMails() throws Exception {
+        RecordingMetricFactory metricFactory = new RecordingMetricFactory();
+        MailetProcessorImpl processor = createProcessor(metricFactory, "stepMetrics=\"true\"");
+
+        processor.service(newMail());
+
+        assertThat(metricFactory.countFor("mailetcontainer.root.split")).isEqualTo(1);
+        assertThat(metricFactory.countFor("mailetcontainer.root.cloned")).isEqualTo(1);
+    }
+
+    @Test
+    void compiledPipelineShouldNotCloneSplitMails() throws Exception {
+        RecordingMetricFactory metricFactory = new RecordingMetricFactory();
+        MailetProcessorImpl processor = createProcessor(metricFactory, "stepMetrics=\"true\" compiledPipeline=\"true\"");
+
+        processor.service(newMail());
+
+        assertThat(metricFactory.countFor("mailetcontainer.root.split")).isEqualTo(1);
+        assertThat(metricFactory.countFor("mailetcontainer.root.cloned")).isZero();
+    }
+
+    @Test
+    void getStepStatisticsShouldAggregateLatencies() throws Exception {
+        MailetProcessorImpl processor = createProcessor(new RecordingMetricFactory(), "stepMetrics=\"true\"");
+
+        processor.service(newMail());
+        processor.service(newMail());
+
+        assertThat(processor.getStepStatistics())
+            .extracting(ProcessingStepStatistics.Step::getProcessor, ProcessingStepStatistics.Step::getIndex,
+                ProcessingStepStatistics.Step::getType, ProcessingStepStatistics.Step::getName, ProcessingStepStatistics.Step::getCount)
+            .containsExactly(
+                tuple("root", 0, StepType.MATCHER, "MockMatcher", 2L),
+                tuple("root", 0, StepType.MAILET, "MockMailet", 2L));
+    }
+
+    @Test
+    void stepMetricsShouldBeDisabledByDefault() throws Exception {
+        RecordingMetricFactory metricFactory = new RecordingMetricFactory();
+        MailetProcessorImpl processor = createProcessor(metricFactory, "");
+
+        processor.service(newMail());
+
+        assertThat(processor.getStepStatistics()).isEmpty();
+        assertThat(metricFactory.executionTimesForPrefixName("mailetcontainer.").isEmpty()).isTrue();
+    }
+
+    private MailetProcessorImpl createProcessor(RecordingMetricFactory metricFactory, String attributes) throws Exception {
+        String configuration = "<processor state=\"root\" enableJmx=\"false\" " + attributes + ">" +
+            "<mailet match=\"" + MockMatcher.class.getName() + "=1\" class=\"" + MockMailet.class.getName() + "\">" +
+            "<state>test</state>" +
+            "</mailet>" +
+            "</processor>";
+        MailetProcessorImpl processor = new MailetProcessorImpl(metricFactory);
+        processor.setMailetContext(FakeMailContext.defaultContext());
+        processor.setMailetLoader(new MockMailetLoader());
+        processor.setMatcherLoader(new MockMatcherLoader());
+        processor.setRootMailProcessor(mock(MailProcessor.class));
+        processor.configure(FileConfigurationProvider.getConfig(new ByteArrayInputStream(configuration.getBytes(UTF_8))));
+        processor.init();
+        return processor;
+    }
+
+    private MailImpl newMail() throws MessagingException {
+        return MailImpl.builder()
+            .name(MailImpl.getId())
+            .sender("test@localhost")
+            .addRecipient("test@localhost")
+            .addRecipient("test2@localhost")
+            .mimeMessage(MimeMessageUtil.mimeMessageFromBytes("header: value\r\n".getBytes(UTF_8)))
+            .build();
+    }
 }
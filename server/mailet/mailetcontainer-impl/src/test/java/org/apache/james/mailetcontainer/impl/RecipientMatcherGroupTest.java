@@ -0,0 +1,131 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailetcontainer.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.mail.MessagingException;
+
+import org.apache.james.core.MailAddress;
+import org.apache.mailet.Mail;
+import org.apache.mailet.base.GenericMatcher;
+import org.apache.mailet.base.GenericRecipientMatcher;
+import org.apache.mailet.base.test.FakeMail;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+
+class RecipientMatcherGroupTest {
+    private static class RecipientIs extends GenericRecipientMatcher {
+        private final String recipient;
+        private final AtomicInteger evaluations = new AtomicInteger();
+
+        RecipientIs(String recipient) {
+            this.recipient = recipient;
+        }
+
+        @Override
+        public boolean matchRecipient(MailAddress recipient) {
+            evaluations.incrementAndGet();
+            return recipient.asString().equals(this.recipient);
+        }
+    }
+
+    private static class Failing extends GenericRecipientMatcher {
+        @Override
+        public boolean matchRecipient(MailAddress recipient) throws MessagingException {
+            throw new MessagingException("failing");
+        }
+    }
+
+    private static class All extends GenericMatcher {
+        @Override
+        public Collection<MailAddress> match(Mail mail) {
+            return mail.getRecipients();
+        }
+    }
+
+    private static final String A = "a@localhost";
+    private static final String B = "b@localhost";
+
+    @Test
+    void isGroupableShouldAcceptRecipientMatchers() {
+        assertThat(RecipientMatcherGroup.isGroupable(new RecipientIs(A))).isTrue();
+    }
+
+    @Test
+    void isGroupableShouldRejectOtherMatchers() {
+        assertThat(RecipientMatcherGroup.isGroupable(new All())).isFalse();
+    }
+
+    @Test
+    void matchShouldReturnRecipientsMatchedAtThatPosition() throws Exception {
+        RecipientMatcherGroup testee = new RecipientMatcherGroup(ImmutableList.of(new RecipientIs(A), new RecipientIs(B)));
+        RecipientMatcherGroup.Evaluation evaluation = testee.newEvaluation();
+        FakeMail mail = FakeMail.builder().name("mail").recipients(A, B).build();
+
+        assertThat(evaluation.match(0, mail)).containsOnly(new MailAddress(A));
+        assertThat(evaluation.match(1, mail)).containsOnly(new MailAddress(B));
+    }
+
+    @Test
+    void matchShouldEvaluateEachRecipientOnce() throws Exception {
+        RecipientIs first = new RecipientIs(A);
+        RecipientIs second = new RecipientIs(B);
+        RecipientMatcherGroup.Evaluation evaluation = new RecipientMatcherGroup(ImmutableList.of(first, second)).newEvaluation();
+        FakeMail mail = FakeMail.builder().name("mail").recipients(A, B).build();
+
+        evaluation.match(0, mail);
+        evaluation.match(1, mail);
+        evaluation.match(0, FakeMail.builder().name("split").recipients(B).build());
+
+        assertThat(first.evaluations.get()).isEqualTo(2);
+        assertThat(second.evaluations.get()).isEqualTo(2);
+    }
+
+    @Test
+    void matchShouldEvaluateRecipientsAddedLater() throws Exception {
+        RecipientMatcherGroup.Evaluation evaluation = new RecipientMatcherGroup(ImmutableList.of(new RecipientIs(A), new RecipientIs(B))).newEvaluation();
+        evaluation.match(0, FakeMail.builder().name("mail").recipients(A).build());
+
+        assertThat(evaluation.match(1, FakeMail.builder().name("mail").recipients(A, B).build()))
+            .containsOnly(new MailAddress(B));
+    }
+
+    @Test
+    void matchShouldRethrowFailuresAtTheFailingPositionOnly() throws Exception {
+        RecipientMatcherGroup.Evaluation evaluation = new RecipientMatcherGroup(ImmutableList.of(new RecipientIs(A), new Failing())).newEvaluation();
+        FakeMail mail = FakeMail.builder().name("mail").recipients(A).build();
+
+        assertThat(evaluation.match(0, mail)).containsOnly(new MailAddress(A));
+        assertThatThrownBy(() -> evaluation.match(1, mail))
+            .isInstanceOf(MessagingException.class);
+    }
+
+    @Test
+    void constructorShouldRejectNonRecipientMatchers() {
+        assertThatThrownBy(() -> new RecipientMatcherGroup(ImmutableList.of(new RecipientIs(A), new All())))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
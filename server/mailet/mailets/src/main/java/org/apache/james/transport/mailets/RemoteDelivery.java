@@ -123,6 +123,18 @@ import com.google.common.collect.ImmutableMap;
  * to authenticate the user using the AUTH command.
  * <li><b>heloName</b> (optional) - a String containing the name used in the SMTP HELO and EHLO commands. Default is the default domain,
  * which is typically <code>localhost</code>.</li>
+ * <li><b>connectionReuse</b> (optional) - a Boolean (true/false) indicating whether SMTP connections should be kept open and reused
+ * for subsequent deliveries to the same remote host, saving the TCP handshake, EHLO and STARTTLS. Default is false.</li>
+ * <li><b>connectionReuseIdleTimeout</b> (optional) - a Duration after which an unused pooled connection is closed. Default unit
+ * is seconds. Default is 30 seconds.</li>
+ * <li><b>connectionReuseMaxMessages</b> (optional) - an Integer for the maximum count of messages sent over a single pooled
+ * connection before it gets closed. Default is 100.</li>
+ * <li><b>deliveryBatchSize</b> (optional) - an Integer for the maximum count of dequeued mails grouped together by destination
+ * server, that is the preferred MX of the recipient domain, or the gateways when configured, in which case all mails share the
+ * same group. Mails of a group are delivered one after the other over the same pooled connection. Only effective when
+ * <b>connectionReuse</b> is enabled. Default is 1, meaning no batching.</li>
+ * <li><b>deliveryBatchWindow</b> (optional) - a Duration for how long dequeued mails are held while building a batch. Default
+ * unit is milliseconds. Default is 100 milliseconds.</li>
  * <li><b>mail.*</b> (optional) - Any property beginning with <code>mail.</code> described in the Javadoc for package
  * <a href="https://eclipse-ee4j.github.io/angus-mail/docs/api/org.eclipse.angus.mail/org/eclipse/angus/mail/smtp/package-summary.html"><code>org.eclipse.angus.mail.smtp</code></a>
  * can be set with a parameter of the corresponding name. For example the parameter
@@ -23,15 +23,23 @@ import static org.apache.james.transport.mailets.remote.delivery.Bouncer.IS_DELI
 
 import java.io.Closeable;
 import java.time.Duration;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.james.core.Domain;
+import org.apache.james.core.MailAddress;
 import org.apache.james.dnsservice.api.DNSService;
+import org.apache.james.dnsservice.api.TemporaryResolutionException;
 import org.apache.james.lifecycle.api.LifecycleUtil;
 import org.apache.james.metrics.api.Metric;
 import org.apache.james.metrics.api.MetricFactory;
@@ -50,6 +58,7 @@ import org.slf4j.LoggerFactory;
 import com.github.fge.lambdas.Throwing;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
 import com.google.common.collect.ImmutableMap;
 
 import reactor.core.Disposable;
@@ -72,6 +81,7 @@ public class DeliveryRunnable implements Disposable {
     private final MetricFactory metricFactory;
     private final Bouncer bouncer;
     private final MailDelivrer mailDelivrer;
+    private final DnsHelper dnsHelper;
     private final Supplier<Date> dateSupplier;
     private final MailetContext mailetContext;
     private Disposable disposable;
@@ -81,18 +91,19 @@ public class DeliveryRunnable implements Disposable {
     public DeliveryRunnable(MailQueue queue, RemoteDeliveryConfiguration configuration, DNSService dnsServer, MetricFactory metricFactory,
                             MailetContext mailetContext, Bouncer bouncer) {
         this(queue, configuration, metricFactory, bouncer,
-            new MailDelivrer(configuration, new MailDelivrerToHost(configuration, mailetContext), dnsServer, bouncer, mailetContext),
-            CURRENT_DATE_SUPPLIER, mailetContext);
+            new MailDelivrer(configuration, new MailDelivrerToHost(configuration, mailetContext, metricFactory), dnsServer, bouncer, mailetContext),
+            new DnsHelper(dnsServer, configuration), CURRENT_DATE_SUPPLIER, mailetContext);
     }
 
     @VisibleForTesting
     DeliveryRunnable(MailQueue queue, RemoteDeliveryConfiguration configuration, MetricFactory metricFactory, Bouncer bouncer,
-                     MailDelivrer mailDelivrer, Supplier<Date> dateSupplier, MailetContext mailetContext) {
+                     MailDelivrer mailDelivrer, DnsHelper dnsHelper, Supplier<Date> dateSupplier, MailetContext mailetContext) {
         this.queue = queue;
         this.configuration = configuration;
         this.outgoingMailsMetric = metricFactory.generate(OUTGOING_MAILS);
         this.bouncer = bouncer;
         this.mailDelivrer = mailDelivrer;
+        this.dnsHelper = dnsHelper;
         this.dateSupplier = dateSupplier;
         this.metricFactory = metricFactory;
         this.mailetContext = mailetContext;
@@ -101,13 +112,66 @@ public class DeliveryRunnable implements Disposable {
     public void start() {
         remoteDeliveryProcessScheduler = Schedulers.newBoundedElastic(Schedulers.DEFAULT_BOUNDED_ELASTIC_SIZE, Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE, "RemoteDelivery-Process");
         remoteDeliveryDequeueScheduler = Schedulers.newSingle("RemoteDelivery-Dequeue");
-        disposable = Flux.from(queue.deQueue())
-            .flatMap(queueItem -> runStep(queueItem).subscribeOn(remoteDeliveryProcessScheduler), Queues.SMALL_BUFFER_SIZE)
+        disposable = deliveries(Flux.from(queue.deQueue()))
             .onErrorContinue(((throwable, nothing) -> LOGGER.error("Exception caught in RemoteDelivery", throwable)))
             .subscribeOn(remoteDeliveryDequeueScheduler)
             .subscribe();
     }
 
+    private Flux<Void> deliveries(Flux<MailQueue.MailQueueItem> queueItems) {
+        if (configuration.isDeliveryBatching()) {
+            // Mails for the same destination server dequeued within the batch window are delivered one after the other
+            // so that they can share a single pooled SMTP connection
+            return queueItems
+                .bufferTimeout(configuration.getDeliveryBatchSize(), configuration.getDeliveryBatchWindow(), true)
+                .concatMap(batch -> Mono.fromCallable(() -> groupByDestination(batch))
+                    .subscribeOn(remoteDeliveryProcessScheduler)
+                    .flatMapIterable(Function.identity()))
+                .flatMap(sameDestinationItems -> Flux.fromIterable(sameDestinationItems)
+                    .concatMap(queueItem -> runStep(queueItem)
+                        .onErrorResume(e -> {
+                            LOGGER.error("Exception caught in RemoteDelivery", e);
+                            return Mono.empty();
+                        }))
+                    .subscribeOn(remoteDeliveryProcessScheduler), Queues.SMALL_BUFFER_SIZE);
+        }
+        return queueItems
+            .flatMap(queueItem -> runStep(queueItem).subscribeOn(remoteDeliveryProcessScheduler), Queues.SMALL_BUFFER_SIZE);
+    }
+
+    @VisibleForTesting
+    Collection<Collection<MailQueue.MailQueueItem>> groupByDestination(List<MailQueue.MailQueueItem> queueItems) {
+        // Resolved once per batch, as servers of the same MX priority are returned in a random order
+        Map<String, String> destinations = new HashMap<>();
+        return queueItems.stream()
+            .collect(ImmutableListMultimap.toImmutableListMultimap(
+                queueItem -> destinations.computeIfAbsent(recipientDomain(queueItem), this::destination),
+                Function.identity()))
+            .asMap()
+            .values();
+    }
+
+    private String recipientDomain(MailQueue.MailQueueItem queueItem) {
+        // Without gateway, RemoteDelivery enqueues one mail per recipient domain
+        return queueItem.getMail().getRecipients().stream()
+            .findFirst()
+            .map(MailAddress::getDomain)
+            .map(Domain::asString)
+            .orElse("");
+    }
+
+    private String destination(String domain) {
+        if (domain.isEmpty()) {
+            return domain;
+        }
+        try {
+            return dnsHelper.retrieveDestination(domain);
+        } catch (TemporaryResolutionException e) {
+            LOGGER.debug("Could not resolve the destination of {}, grouping its mails by domain", domain, e);
+            return domain;
+        }
+    }
+
     private Mono<Void> runStep(MailQueue.MailQueueItem queueItem) {
         TimeMetric timeMetric = metricFactory.timer(REMOTE_DELIVERY_TRIAL);
 
@@ -267,5 +331,6 @@ public class DeliveryRunnable implements Disposable {
             .timeout(Duration.ofSeconds(2))
             .onErrorResume(e -> Mono.empty())
             .block();
+        mailDelivrer.dispose();
     }
 }
@@ -41,6 +41,19 @@ public class DnsHelper {
         this.configuration = configuration;
     }
 
+    /**
+     * @return the server mails for this domain are delivered to first: the preferred MX of the domain, or the gateways
+     * when configured.
+     */
+    public String retrieveDestination(String host) throws TemporaryResolutionException {
+        if (configuration.getGatewayServer().isEmpty()) {
+            return dnsServer.findMXRecords(host).stream()
+                .findFirst()
+                .orElse(host);
+        }
+        return String.join(",", configuration.getGatewayServer());
+    }
+
     public Iterator<HostAddress> retrieveHostAddressIterator(String host, boolean smtps) throws TemporaryResolutionException {
         if (configuration.getGatewayServer().isEmpty()) {
             return new MXHostAddressIterator(dnsServer.findMXRecords(host).iterator(), dnsServer, USE_SEVERAL_IP, smtps);
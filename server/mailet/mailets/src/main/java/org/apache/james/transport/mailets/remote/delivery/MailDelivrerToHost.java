@@ -46,6 +46,7 @@ import org.apache.commons.pool2.impl.DefaultPooledObject;
 import org.apache.commons.pool2.impl.GenericObjectPool;
 import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
 import org.apache.james.core.MailAddress;
+import org.apache.james.metrics.api.MetricFactory;
 import org.apache.mailet.DsnParameters;
 import org.apache.mailet.HostAddress;
 import org.apache.mailet.Mail;
@@ -68,10 +69,16 @@ public class MailDelivrerToHost {
     private final Converter7Bit converter7Bit;
     private final ObjectPool<Session> smtpSessionPool;
     private final ObjectPool<Session> smtpsSessionPool;
+    private final Optional<SMTPTransportPool> transportPool;
 
-    public MailDelivrerToHost(RemoteDeliveryConfiguration remoteDeliveryConfiguration, MailetContext mailetContext) {
+    public MailDelivrerToHost(RemoteDeliveryConfiguration remoteDeliveryConfiguration, MailetContext mailetContext, MetricFactory metricFactory) {
         this.configuration = remoteDeliveryConfiguration;
         this.converter7Bit = new Converter7Bit(mailetContext);
+        if (configuration.isConnectionReuse()) {
+            this.transportPool = Optional.of(new SMTPTransportPool(configuration, metricFactory, this::connect));
+        } else {
+            this.transportPool = Optional.empty();
+        }
         if (configuration.isSSLEnable()) {
             this.smtpSessionPool = createSessionPool(configuration.createFinalJavaxProperties());
             this.smtpsSessionPool = createSessionPool(configuration.createFinalJavaxPropertiesWithSSL());
@@ -105,6 +112,9 @@ public class MailDelivrerToHost {
     }
 
     public ExecutionResult tryDeliveryToHost(Mail mail, Collection<InternetAddress> addr, HostAddress outgoingMailServer) throws MessagingException {
+        if (transportPool.isPresent()) {
+            return tryDeliveryWithPooledTransport(transportPool.get(), mail, addr, outgoingMailServer);
+        }
         Session session = selectSession(outgoingMailServer);
         Properties props = getPropertiesForMail(mail, session);
         LOGGER.debug("Attempting delivery of {} with messageId {} to host {} at {} from {}",
@@ -121,15 +131,9 @@ public class MailDelivrerToHost {
         try {
             transport = (SMTPTransport) session.getTransport(outgoingMailServer);
             transport.setLocalHost(props.getProperty(inContext(session, "mail.smtp.localhost"), configuration.getHeloNameProvider().getHeloName()));
-            connect(outgoingMailServer, transport);
-            if (mail.dsnParameters().isPresent()) {
-                sendDSNAwareEmail(mail, transport, addr);
-            } else {
-                transport.sendMessage(adaptToTransport(mail.getMessage(), transport), addr.toArray(InternetAddress[]::new));
-            }
-            LOGGER.info("Mail ({}) with messageId {} sent successfully to {} at {} from {} for {}",
-                mail.getName(), getMessageId(mail), outgoingMailServer.getHostName(),
-                outgoingMailServer.getHost(), props.get(inContext(session, "mail.smtp.from")), mail.getRecipients());
+            connect(getHostName(outgoingMailServer), transport);
+            send(mail, addr, transport);
+            logSuccess(mail, outgoingMailServer, session, props);
         } finally {
             closeTransport(mail, outgoingMailServer, transport);
             releaseSession(outgoingMailServer, session);
@@ -137,6 +141,44 @@ public class MailDelivrerToHost {
         return ExecutionResult.success();
     }
 
+    private ExecutionResult tryDeliveryWithPooledTransport(SMTPTransportPool pool, Mail mail, Collection<InternetAddress> addr, HostAddress outgoingMailServer) throws MessagingException {
+        SMTPTransportPool.PooledTransport pooledTransport = pool.borrow(outgoingMailServer, getHostName(outgoingMailServer));
+        Session session = pooledTransport.getSession();
+        Properties props = getPropertiesForMail(mail, session);
+        LOGGER.debug("Attempting delivery of {} with messageId {} to host {} at {} from {} over a pooled connection",
+            mail.getName(), getMessageId(mail), outgoingMailServer.getHostName(),
+            outgoingMailServer.getHost(), props.get(inContext(session, "mail.smtp.from")));
+
+        try {
+            send(mail, addr, pooledTransport.getTransport());
+        } catch (Exception e) {
+            // The state of the SMTP session is unknown: do not hand this connection to another delivery
+            pool.invalidate(pooledTransport);
+            throw e;
+        }
+        logSuccess(mail, outgoingMailServer, session, props);
+        pool.release(pooledTransport);
+        return ExecutionResult.success();
+    }
+
+    private void send(Mail mail, Collection<InternetAddress> addr, SMTPTransport transport) throws MessagingException {
+        if (mail.dsnParameters().isPresent()) {
+            sendDSNAwareEmail(mail, transport, addr);
+        } else {
+            transport.sendMessage(adaptToTransport(mail.getMessage(), transport), addr.toArray(InternetAddress[]::new));
+        }
+    }
+
+    private void logSuccess(Mail mail, HostAddress outgoingMailServer, Session session, Properties props) {
+        LOGGER.info("Mail ({}) with messageId {} sent successfully to {} at {} from {} for {}",
+            mail.getName(), getMessageId(mail), outgoingMailServer.getHostName(),
+            outgoingMailServer.getHost(), props.get(inContext(session, "mail.smtp.from")), mail.getRecipients());
+    }
+
+    public void dispose() {
+        transportPool.ifPresent(SMTPTransportPool::close);
+    }
+
     private String getMessageId(Mail mail) {
         try {
             return mail.getMessage().getMessageID();
@@ -251,11 +293,11 @@ public class MailDelivrerToHost {
         return props;
     }
 
-    private void connect(HostAddress outgoingMailServer, SMTPTransport transport) throws MessagingException {
+    private void connect(String hostName, SMTPTransport transport) throws MessagingException {
         if (configuration.getAuthUser() != null) {
-            transport.connect(getHostName(outgoingMailServer), configuration.getAuthUser(), configuration.getAuthPass());
+            transport.connect(hostName, configuration.getAuthUser(), configuration.getAuthPass());
         } else if (configuration.isConnectByHostname()) {
-            transport.connect(getHostName(outgoingMailServer), null, null);
+            transport.connect(hostName, null, null);
         } else {
             transport.connect(); // connect via IP address instead of host name
         }
@@ -20,6 +20,7 @@
 package org.apache.james.transport.mailets.remote.delivery;
 
 import java.time.Duration;
+import java.time.temporal.ChronoUnit;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
@@ -28,12 +29,14 @@ import java.util.Properties;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.james.domainlist.api.DomainList;
 import org.apache.james.queue.api.MailQueueName;
+import org.apache.james.util.DurationParser;
 import org.apache.mailet.MailetConfig;
 import org.apache.mailet.ProcessingState;
 import org.apache.mailet.base.MailetUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.base.Preconditions;
 import com.google.common.base.Splitter;
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
@@ -66,12 +69,21 @@ public class RemoteDeliveryConfiguration {
     public static final String DEBUG = "debug";
     public static final String ON_SUCCESS = "onSuccess";
     public static final String LOAD_BALANCING = "loadBalancing";
+    public static final String CONNECTION_REUSE = "connectionReuse";
+    public static final String CONNECTION_REUSE_IDLE_TIMEOUT = "connectionReuseIdleTimeout";
+    public static final String CONNECTION_REUSE_MAX_MESSAGES = "connectionReuseMaxMessages";
+    public static final String DELIVERY_BATCH_SIZE = "deliveryBatchSize";
+    public static final String DELIVERY_BATCH_WINDOW = "deliveryBatchWindow";
     public static final int DEFAULT_SMTP_TIMEOUT = 180000;
     public static final MailQueueName DEFAULT_OUTGOING_QUEUE_NAME = MailQueueName.of("outgoing");
     public static final int DEFAULT_CONNECTION_TIMEOUT = 60000;
     public static final int DEFAULT_DNS_RETRY_PROBLEM = 0;
     public static final int DEFAULT_MAX_RETRY = 5;
     public static final String ADDRESS_PORT_SEPARATOR = ":";
+    public static final Duration DEFAULT_CONNECTION_REUSE_IDLE_TIMEOUT = Duration.ofSeconds(30);
+    public static final int DEFAULT_CONNECTION_REUSE_MAX_MESSAGES = 100;
+    public static final int DEFAULT_DELIVERY_BATCH_SIZE = 1;
+    public static final Duration DEFAULT_DELIVERY_BATCH_WINDOW = Duration.ofMillis(100);
 
     private final boolean isDebug;
     private final boolean usePriority;
@@ -81,6 +93,11 @@ public class RemoteDeliveryConfiguration {
     private final boolean isBindUsed;
     private final boolean sendPartial;
     private final boolean loadBalancing;
+    private final boolean connectionReuse;
+    private final Duration connectionReuseIdleTimeout;
+    private final int connectionReuseMaxMessages;
+    private final int deliveryBatchSize;
+    private final Duration deliveryBatchWindow;
     private final int maxRetries;
     private final long smtpTimeout;
     private final int dnsProblemRetry;
@@ -104,6 +121,11 @@ public class RemoteDeliveryConfiguration {
         usePriority = MailetUtil.getInitParameter(mailetConfig, USE_PRIORITY).orElse(false);
         sendPartial = MailetUtil.getInitParameter(mailetConfig, SENDPARTIAL).orElse(false);
         loadBalancing = MailetUtil.getInitParameter(mailetConfig, LOAD_BALANCING).orElse(true);
+        connectionReuse = MailetUtil.getInitParameter(mailetConfig, CONNECTION_REUSE).orElse(false);
+        connectionReuseIdleTimeout = computeConnectionReuseIdleTimeout(mailetConfig);
+        connectionReuseMaxMessages = computeConnectionReuseMaxMessages(mailetConfig);
+        deliveryBatchSize = computeDeliveryBatchSize(mailetConfig);
+        deliveryBatchWindow = computeDeliveryBatchWindow(mailetConfig);
         outGoingQueueName = Optional.ofNullable(mailetConfig.getInitParameter(OUTGOING))
             .map(MailQueueName::of)
             .orElse(DEFAULT_OUTGOING_QUEUE_NAME);
@@ -147,6 +169,38 @@ public class RemoteDeliveryConfiguration {
         return result;
     }
 
+    private Duration computeConnectionReuseIdleTimeout(MailetConfig mailetConfig) {
+        Duration idleTimeout = Optional.ofNullable(mailetConfig.getInitParameter(CONNECTION_REUSE_IDLE_TIMEOUT))
+            .map(value -> DurationParser.parse(value, ChronoUnit.SECONDS))
+            .orElse(DEFAULT_CONNECTION_REUSE_IDLE_TIMEOUT);
+        Preconditions.checkArgument(!idleTimeout.isNegative() && !idleTimeout.isZero(), "'%s' needs to be strictly positive", CONNECTION_REUSE_IDLE_TIMEOUT);
+        return idleTimeout;
+    }
+
+    private int computeConnectionReuseMaxMessages(MailetConfig mailetConfig) {
+        int maxMessages = Optional.ofNullable(mailetConfig.getInitParameter(CONNECTION_REUSE_MAX_MESSAGES))
+            .map(Integer::parseInt)
+            .orElse(DEFAULT_CONNECTION_REUSE_MAX_MESSAGES);
+        Preconditions.checkArgument(maxMessages > 0, "'%s' needs to be strictly positive", CONNECTION_REUSE_MAX_MESSAGES);
+        return maxMessages;
+    }
+
+    private int computeDeliveryBatchSize(MailetConfig mailetConfig) {
+        int batchSize = Optional.ofNullable(mailetConfig.getInitParameter(DELIVERY_BATCH_SIZE))
+            .map(Integer::parseInt)
+            .orElse(DEFAULT_DELIVERY_BATCH_SIZE);
+        Preconditions.checkArgument(batchSize > 0, "'%s' needs to be strictly positive", DELIVERY_BATCH_SIZE);
+        return batchSize;
+    }
+
+    private Duration computeDeliveryBatchWindow(MailetConfig mailetConfig) {
+        Duration batchWindow = Optional.ofNullable(mailetConfig.getInitParameter(DELIVERY_BATCH_WINDOW))
+            .map(value -> DurationParser.parse(value, ChronoUnit.MILLIS))
+            .orElse(DEFAULT_DELIVERY_BATCH_WINDOW);
+        Preconditions.checkArgument(!batchWindow.isNegative() && !batchWindow.isZero(), "'%s' needs to be strictly positive", DELIVERY_BATCH_WINDOW);
+        return batchWindow;
+    }
+
     private int computeDnsProblemRetry(MailetConfig mailetConfig) {
         String dnsRetry = mailetConfig.getInitParameter(MAX_DNS_PROBLEM_RETRIES);
         if (!Strings.isNullOrEmpty(dnsRetry)) {
@@ -348,4 +402,29 @@ public class RemoteDeliveryConfiguration {
         return loadBalancing;
     }
 
+    public boolean isConnectionReuse() {
+        return connectionReuse;
+    }
+
+    public Duration getConnectionReuseIdleTimeout() {
+        return connectionReuseIdleTimeout;
+    }
+
+    public int getConnectionReuseMaxMessages() {
+        return connectionReuseMaxMessages;
+    }
+
+    public boolean isDeliveryBatching() {
+        // Grouping mails by destination only pays off when they share a pooled connection
+        return deliveryBatchSize > 1 && connectionReuse;
+    }
+
+    public int getDeliveryBatchSize() {
+        return deliveryBatchSize;
+    }
+
+    public Duration getDeliveryBatchWindow() {
+        return deliveryBatchWindow;
+    }
+
 }
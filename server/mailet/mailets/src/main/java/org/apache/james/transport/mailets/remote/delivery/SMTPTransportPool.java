@@ -0,0 +1,278 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.transport.mailets.remote.delivery;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.Properties;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.URLName;
+
+import org.apache.commons.pool2.BaseKeyedPooledObjectFactory;
+import org.apache.commons.pool2.PooledObject;
+import org.apache.commons.pool2.impl.DefaultPooledObject;
+import org.apache.commons.pool2.impl.GenericKeyedObjectPool;
+import org.apache.commons.pool2.impl.GenericKeyedObjectPoolConfig;
+import org.apache.james.metrics.api.Metric;
+import org.apache.james.metrics.api.MetricFactory;
+import org.eclipse.angus.mail.smtp.SMTPTransport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+
+/**
+ * Keeps connected {@link SMTPTransport}s per remote host so that successive deliveries to the same MX
+ * do not pay the TCP handshake, EHLO and STARTTLS again.
+ *
+ * Transports are pooled per remote host and per session properties: a change of the HELO name, for instance, leads
+ * to new connections. Each pooled transport owns its {@link Session} as per mail properties
+ * (<code>mail.smtp.from</code>) are set on the session of the transport being used.
+ *
+ * Transports that stayed idle longer than {@link #VALIDATION_IDLE_THRESHOLD} are checked with a NOOP before being
+ * handed out again, the others are handed out straight away. Transports get closed (QUIT) once they reached the
+ * configured maximum count of messages or stayed idle longer than the configured idle timeout.
+ */
+public class SMTPTransportPool implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SMTPTransportPool.class);
+
+    public static final String REMOTE_DELIVERY_CONNECTION_HIT = "RemoteDeliveryConnectionHit";
+    public static final String REMOTE_DELIVERY_CONNECTION_MISS = "RemoteDeliveryConnectionMiss";
+    public static final Duration VALIDATION_IDLE_THRESHOLD = Duration.ofSeconds(10);
+
+    @FunctionalInterface
+    public interface Connector {
+        void connect(String hostName, SMTPTransport transport) throws MessagingException;
+    }
+
+    public static class PooledTransport {
+        private final Key key;
+        private final Session session;
+        private final SMTPTransport transport;
+        private int sentMessages;
+
+        PooledTransport(Key key, Session session, SMTPTransport transport) {
+            this.key = key;
+            this.session = session;
+            this.transport = transport;
+            this.sentMessages = 0;
+        }
+
+        public Session getSession() {
+            return session;
+        }
+
+        public SMTPTransport getTransport() {
+            return transport;
+        }
+
+        boolean isReused() {
+            return sentMessages > 0;
+        }
+
+        void messageSent() {
+            sentMessages++;
+        }
+    }
+
+    static class Key {
+        private final URLName url;
+        private final String hostName;
+        private final ImmutableMap<String, String> sessionProperties;
+
+        Key(URLName url, String hostName, Properties sessionProperties) {
+            this.url = url;
+            this.hostName = hostName;
+            this.sessionProperties = ImmutableMap.copyOf(Maps.fromProperties(sessionProperties));
+        }
+
+        Properties sessionProperties() {
+            Properties properties = new Properties();
+            properties.putAll(sessionProperties);
+            return properties;
+        }
+
+        String localHost() {
+            if ("true".equals(sessionProperties.get("mail.smtps.ssl.enable"))) {
+                return sessionProperties.get("mail.smtps.localhost");
+            }
+            return sessionProperties.get("mail.smtp.localhost");
+        }
+
+        @Override
+        public final boolean equals(Object o) {
+            if (o instanceof Key) {
+                Key that = (Key) o;
+
+                return Objects.equals(this.url.toString(), that.url.toString())
+                    && Objects.equals(this.hostName, that.hostName)
+                    && Objects.equals(this.sessionProperties, that.sessionProperties);
+            }
+            return false;
+        }
+
+        @Override
+        public final int hashCode() {
+            return Objects.hash(url.toString(), hostName, sessionProperties);
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this)
+                .add("url", url)
+                .add("hostName", hostName)
+                .toString();
+        }
+    }
+
+    private final RemoteDeliveryConfiguration configuration;
+    private final Connector connector;
+    private final Duration validationIdleThreshold;
+    private final GenericKeyedObjectPool<Key, PooledTransport> pool;
+    private final Metric hitMetric;
+    private final Metric missMetric;
+
+    public SMTPTransportPool(RemoteDeliveryConfiguration configuration, MetricFactory metricFactory, Connector connector) {
+        this(configuration, metricFactory, connector, VALIDATION_IDLE_THRESHOLD);
+    }
+
+    @VisibleForTesting
+    SMTPTransportPool(RemoteDeliveryConfiguration configuration, MetricFactory metricFactory, Connector connector, Duration validationIdleThreshold) {
+        this.configuration = configuration;
+        this.connector = connector;
+        this.validationIdleThreshold = validationIdleThreshold;
+        this.hitMetric = metricFactory.generate(REMOTE_DELIVERY_CONNECTION_HIT);
+        this.missMetric = metricFactory.generate(REMOTE_DELIVERY_CONNECTION_MISS);
+
+        GenericKeyedObjectPoolConfig<PooledTransport> poolConfig = new GenericKeyedObjectPoolConfig<>();
+        poolConfig.setMaxTotalPerKey(-1); // unbounded pool, scales to match peak delivery thread concurrency
+        poolConfig.setMaxTotal(-1);
+        poolConfig.setJmxEnabled(false);
+        poolConfig.setTestOnBorrow(true);
+        poolConfig.setMinEvictableIdleDuration(configuration.getConnectionReuseIdleTimeout());
+        poolConfig.setTimeBetweenEvictionRuns(configuration.getConnectionReuseIdleTimeout());
+        this.pool = new GenericKeyedObjectPool<>(new TransportFactory(), poolConfig);
+    }
+
+    /**
+     * @param outgoingMailServer URL of the remote server, which protocol selects the session properties to use
+     * @param hostName name of the remote server, used to connect to it and to verify its identity
+     */
+    public PooledTransport borrow(URLName outgoingMailServer, String hostName) throws MessagingException {
+        try {
+            PooledTransport pooledTransport = pool.borrowObject(new Key(outgoingMailServer, hostName, defaultProperties(outgoingMailServer)));
+            if (pooledTransport.isReused()) {
+                hitMetric.increment();
+            } else {
+                missMetric.increment();
+            }
+            return pooledTransport;
+        } catch (MessagingException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new MessagingException("could not connect to " + outgoingMailServer, e);
+        }
+    }
+
+    /**
+     * Gives back a transport after a successful delivery so that it can be reused.
+     */
+    public void release(PooledTransport pooledTransport) {
+        pooledTransport.messageSent();
+        pooledTransport.getSession().getProperties().clear(); // reset to default configuration
+        try {
+            pool.returnObject(pooledTransport.key, pooledTransport);
+        } catch (Exception e) {
+            LOGGER.warn("Warning: failed to release SMTP transport to {}", pooledTransport.key, e);
+        }
+    }
+
+    /**
+     * Discards a transport whose state is unknown, for instance after a failed delivery.
+     */
+    public void invalidate(PooledTransport pooledTransport) {
+        try {
+            pool.invalidateObject(pooledTransport.key, pooledTransport);
+        } catch (Exception e) {
+            LOGGER.warn("Warning: failed to invalidate SMTP transport to {}", pooledTransport.key, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        pool.close();
+    }
+
+    private Properties defaultProperties(URLName outgoingMailServer) {
+        if (configuration.isSSLEnable() && outgoingMailServer.getProtocol().equalsIgnoreCase("smtps")) {
+            return configuration.createFinalJavaxPropertiesWithSSL();
+        }
+        return configuration.createFinalJavaxProperties();
+    }
+
+    private class TransportFactory extends BaseKeyedPooledObjectFactory<Key, PooledTransport> {
+        @Override
+        public PooledTransport create(Key key) throws MessagingException {
+            // Per mail properties are set on top of the default ones, and cleared upon release
+            Session session = Session.getInstance(new Properties(key.sessionProperties()));
+            SMTPTransport transport = (SMTPTransport) session.getTransport(key.url);
+            transport.setLocalHost(Objects.requireNonNullElseGet(key.localHost(), () -> configuration.getHeloNameProvider().getHeloName()));
+            connector.connect(key.hostName, transport);
+            return new PooledTransport(key, session, transport);
+        }
+
+        @Override
+        public PooledObject<PooledTransport> wrap(PooledTransport pooledTransport) {
+            return new DefaultPooledObject<>(pooledTransport);
+        }
+
+        @Override
+        public boolean validateObject(Key key, PooledObject<PooledTransport> p) {
+            PooledTransport pooledTransport = p.getObject();
+            if (pooledTransport.sentMessages >= configuration.getConnectionReuseMaxMessages()) {
+                return false;
+            }
+            if (!pooledTransport.isReused() || recentlyReturned(p)) {
+                return true;
+            }
+            // isConnected issues a NOOP to the remote server
+            return pooledTransport.getTransport().isConnected();
+        }
+
+        private boolean recentlyReturned(PooledObject<PooledTransport> p) {
+            return Duration.between(p.getLastReturnInstant(), Instant.now()).compareTo(validationIdleThreshold) < 0;
+        }
+
+        @Override
+        public void destroyObject(Key key, PooledObject<PooledTransport> p) {
+            try {
+                p.getObject().getTransport().close();
+            } catch (MessagingException e) {
+                LOGGER.debug("Failed closing SMTP transport to {}", key, e);
+            }
+        }
+    }
+}
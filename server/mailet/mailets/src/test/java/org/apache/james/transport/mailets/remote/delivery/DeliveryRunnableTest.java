@@ -26,14 +26,20 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import java.time.Duration;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
+import org.apache.james.dnsservice.api.DNSService;
+import org.apache.james.dnsservice.api.TemporaryResolutionException;
 import org.apache.james.domainlist.api.DomainList;
 import org.apache.james.metrics.tests.RecordingMetricFactory;
 import org.apache.james.queue.api.MailQueue;
@@ -46,6 +52,10 @@ import org.apache.mailet.base.test.FakeMailetConfig;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import com.google.common.collect.ImmutableList;
+
+import reactor.core.publisher.Flux;
+
 public class DeliveryRunnableTest {
 
     public static final Date FIXED_DATE = new Date(1159599194961L);
@@ -56,6 +66,8 @@ public class DeliveryRunnableTest {
     private Bouncer bouncer;
     private MailDelivrer mailDelivrer;
     private MailQueue mailQueue;
+    private DNSService dnsService;
+    private final AtomicInteger maxConcurrentDeliveries = new AtomicInteger();
 
     @BeforeEach
     void setUp() {
@@ -64,12 +76,18 @@ public class DeliveryRunnableTest {
             .setProperty(RemoteDeliveryConfiguration.DELAY_TIME, "1000,2000,3000,4000,5000")
             .build();
 
-        RemoteDeliveryConfiguration configuration = new RemoteDeliveryConfiguration(mailetConfig, mock(DomainList.class));
         metricFactory = new RecordingMetricFactory();
         bouncer = mock(Bouncer.class);
         mailDelivrer = mock(MailDelivrer.class);
         mailQueue = mock(MailQueue.class);
-        testee = new DeliveryRunnable(mailQueue, configuration, metricFactory, bouncer, mailDelivrer, FIXED_DATE_SUPPLIER, mock(MailetContext.class));
+        dnsService = mock(DNSService.class);
+        testee = deliveryRunnable(mailetConfig);
+    }
+
+    private DeliveryRunnable deliveryRunnable(FakeMailetConfig mailetConfig) {
+        RemoteDeliveryConfiguration configuration = new RemoteDeliveryConfiguration(mailetConfig, mock(DomainList.class));
+        return new DeliveryRunnable(mailQueue, configuration, metricFactory, bouncer, mailDelivrer,
+            new DnsHelper(dnsService, configuration), FIXED_DATE_SUPPLIER, mock(MailetContext.class));
     }
 
     @Test
@@ -247,4 +265,122 @@ public class DeliveryRunnableTest {
             Duration.ofSeconds(1));
         verifyNoMoreInteractions(mailQueue);
     }
+
+    @Test
+    void groupByDestinationShouldGroupQueueItemsByPreferredMX() throws Exception {
+        when(dnsService.findMXRecords("domain1.com")).thenReturn(ImmutableList.of("mx1.provider.com", "mx2.provider.com"));
+        when(dnsService.findMXRecords("domain2.com")).thenReturn(ImmutableList.of("mx.other.com"));
+        when(dnsService.findMXRecords("domain3.com")).thenReturn(ImmutableList.of("mx1.provider.com"));
+        MailQueue.MailQueueItem item1 = queueItem("name1", "a@domain1.com");
+        MailQueue.MailQueueItem item2 = queueItem("name2", "b@domain2.com");
+        MailQueue.MailQueueItem item3 = queueItem("name3", "c@domain3.com");
+
+        assertThat(testee.groupByDestination(ImmutableList.of(item1, item2, item3)))
+            .containsExactlyInAnyOrder(ImmutableList.of(item1, item3), ImmutableList.of(item2));
+    }
+
+    @Test
+    void groupByDestinationShouldFallbackToRecipientDomainWhenResolutionFails() throws Exception {
+        when(dnsService.findMXRecords(any())).thenThrow(new TemporaryResolutionException());
+        MailQueue.MailQueueItem item1 = queueItem("name1", "a@domain1.com");
+        MailQueue.MailQueueItem item2 = queueItem("name2", "b@domain2.com");
+        MailQueue.MailQueueItem item3 = queueItem("name3", "c@domain1.com");
+
+        assertThat(testee.groupByDestination(ImmutableList.of(item1, item2, item3)))
+            .containsExactlyInAnyOrder(ImmutableList.of(item1, item3), ImmutableList.of(item2));
+    }
+
+    @Test
+    void groupByDestinationShouldGroupAllQueueItemsWhenUsingAGateway() throws Exception {
+        testee = deliveryRunnable(FakeMailetConfig.builder()
+            .setProperty(RemoteDeliveryConfiguration.GATEWAY, "gateway1.com,gateway2.com")
+            .build());
+        MailQueue.MailQueueItem item1 = queueItem("name1", "a@domain1.com");
+        MailQueue.MailQueueItem item2 = queueItem("name2", "b@domain2.com");
+
+        assertThat(testee.groupByDestination(ImmutableList.of(item1, item2)))
+            .containsExactly(ImmutableList.of(item1, item2));
+    }
+
+    @Test
+    void batchedDeliveriesShouldBeSequentialAndOrderedForTheSameDestination() throws Exception {
+        when(dnsService.findMXRecords(any())).thenReturn(ImmutableList.of("mx.provider.com"));
+        List<String> deliveredMails = recordDeliveries();
+        List<MailQueue.MailQueueItem> items = ImmutableList.of(
+            queueItem("name1", "a@domain1.com"),
+            queueItem("name2", "b@domain2.com"),
+            queueItem("name3", "c@domain1.com"),
+            queueItem("name4", "d@domain2.com"));
+        when(mailQueue.deQueue()).thenReturn(Flux.fromIterable(items));
+        testee = deliveryRunnable(FakeMailetConfig.builder()
+            .setProperty(RemoteDeliveryConfiguration.CONNECTION_REUSE, "true")
+            .setProperty(RemoteDeliveryConfiguration.DELIVERY_BATCH_SIZE, "10")
+            .setProperty(RemoteDeliveryConfiguration.DELIVERY_BATCH_WINDOW, "50ms")
+            .build());
+
+        testee.start();
+        try {
+            awaitDeliveries(items);
+        } finally {
+            testee.dispose();
+        }
+
+        assertThat(deliveredMails).containsExactly("name1", "name2", "name3", "name4");
+        assertThat(maxConcurrentDeliveries).hasValue(1);
+    }
+
+    @Test
+    void deliveriesShouldNotBeGroupedWithoutConnectionReuse() throws Exception {
+        when(dnsService.findMXRecords(any())).thenReturn(ImmutableList.of("mx.provider.com"));
+        recordDeliveries();
+        List<MailQueue.MailQueueItem> items = ImmutableList.of(
+            queueItem("name1", "a@domain1.com"),
+            queueItem("name2", "b@domain1.com"),
+            queueItem("name3", "c@domain1.com"),
+            queueItem("name4", "d@domain1.com"));
+        when(mailQueue.deQueue()).thenReturn(Flux.fromIterable(items));
+        testee = deliveryRunnable(FakeMailetConfig.builder()
+            .setProperty(RemoteDeliveryConfiguration.DELIVERY_BATCH_SIZE, "10")
+            .setProperty(RemoteDeliveryConfiguration.DELIVERY_BATCH_WINDOW, "50ms")
+            .build());
+
+        testee.start();
+        try {
+            awaitDeliveries(items);
+        } finally {
+            testee.dispose();
+        }
+
+        assertThat(maxConcurrentDeliveries.get()).isGreaterThan(1);
+    }
+
+    private List<String> recordDeliveries() throws Exception {
+        List<String> deliveredMails = new CopyOnWriteArrayList<>();
+        AtomicInteger concurrentDeliveries = new AtomicInteger();
+        when(mailDelivrer.deliver(any())).thenAnswer(invocation -> {
+            Mail mail = invocation.getArgument(0);
+            deliveredMails.add(mail.getName());
+            maxConcurrentDeliveries.accumulateAndGet(concurrentDeliveries.incrementAndGet(), Math::max);
+            Thread.sleep(200);
+            concurrentDeliveries.decrementAndGet();
+            return ExecutionResult.success();
+        });
+        return deliveredMails;
+    }
+
+    private void awaitDeliveries(List<MailQueue.MailQueueItem> items) throws Exception {
+        for (MailQueue.MailQueueItem item : items) {
+            verify(item, timeout(5000)).done(MailQueue.MailQueueItem.CompletionStatus.SUCCESS);
+        }
+    }
+
+    private MailQueue.MailQueueItem queueItem(String name, String recipient) throws Exception {
+        MailQueue.MailQueueItem queueItem = mock(MailQueue.MailQueueItem.class);
+        when(queueItem.getMail()).thenReturn(FakeMail.builder()
+            .name(name)
+            .recipient(recipient)
+            .state(Mail.DEFAULT)
+            .build());
+        return queueItem;
+    }
 }
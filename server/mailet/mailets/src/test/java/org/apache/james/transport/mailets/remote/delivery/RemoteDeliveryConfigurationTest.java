@@ -914,4 +914,148 @@ class RemoteDeliveryConfigurationTest {
                 MapEntry.entry("mail.debug", "false"),
                 MapEntry.entry("mail.smtps.starttls.enable", "false"));
     }
+
+    @Test
+    void isConnectionReuseShouldBeFalseByDefault() {
+        FakeMailetConfig mailetConfig = FakeMailetConfig.builder()
+            .build();
+
+        assertThat(new RemoteDeliveryConfiguration(mailetConfig, mock(DomainList.class)).isConnectionReuse()).isFalse();
+    }
+
+    @Test
+    void isConnectionReuseShouldBeTrueIfSpecified() {
+        FakeMailetConfig mailetConfig = FakeMailetConfig.builder()
+            .setProperty(RemoteDeliveryConfiguration.CONNECTION_REUSE, "true")
+            .build();
+
+        assertThat(new RemoteDeliveryConfiguration(mailetConfig, mock(DomainList.class)).isConnectionReuse()).isTrue();
+    }
+
+    @Test
+    void getConnectionReuseIdleTimeoutShouldReturnDefault() {
+        FakeMailetConfig mailetConfig = FakeMailetConfig.builder()
+            .build();
+
+        assertThat(new RemoteDeliveryConfiguration(mailetConfig, mock(DomainList.class)).getConnectionReuseIdleTimeout())
+            .isEqualTo(RemoteDeliveryConfiguration.DEFAULT_CONNECTION_REUSE_IDLE_TIMEOUT);
+    }
+
+    @Test
+    void getConnectionReuseIdleTimeoutShouldDefaultToSeconds() {
+        FakeMailetConfig mailetConfig = FakeMailetConfig.builder()
+            .setProperty(RemoteDeliveryConfiguration.CONNECTION_REUSE_IDLE_TIMEOUT, "12")
+            .build();
+
+        assertThat(new RemoteDeliveryConfiguration(mailetConfig, mock(DomainList.class)).getConnectionReuseIdleTimeout())
+            .isEqualTo(Duration.ofSeconds(12));
+    }
+
+    @Test
+    void getConnectionReuseIdleTimeoutShouldSupportUnits() {
+        FakeMailetConfig mailetConfig = FakeMailetConfig.builder()
+            .setProperty(RemoteDeliveryConfiguration.CONNECTION_REUSE_IDLE_TIMEOUT, "2m")
+            .build();
+
+        assertThat(new RemoteDeliveryConfiguration(mailetConfig, mock(DomainList.class)).getConnectionReuseIdleTimeout())
+            .isEqualTo(Duration.ofMinutes(2));
+    }
+
+    @Test
+    void getConnectionReuseIdleTimeoutShouldThrowWhenZero() {
+        FakeMailetConfig mailetConfig = FakeMailetConfig.builder()
+            .setProperty(RemoteDeliveryConfiguration.CONNECTION_REUSE_IDLE_TIMEOUT, "0")
+            .build();
+
+        assertThatThrownBy(() -> new RemoteDeliveryConfiguration(mailetConfig, mock(DomainList.class)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void getConnectionReuseMaxMessagesShouldReturnDefault() {
+        FakeMailetConfig mailetConfig = FakeMailetConfig.builder()
+            .build();
+
+        assertThat(new RemoteDeliveryConfiguration(mailetConfig, mock(DomainList.class)).getConnectionReuseMaxMessages())
+            .isEqualTo(RemoteDeliveryConfiguration.DEFAULT_CONNECTION_REUSE_MAX_MESSAGES);
+    }
+
+    @Test
+    void getConnectionReuseMaxMessagesShouldReturnProvidedValue() {
+        FakeMailetConfig mailetConfig = FakeMailetConfig.builder()
+            .setProperty(RemoteDeliveryConfiguration.CONNECTION_REUSE_MAX_MESSAGES, "10")
+            .build();
+
+        assertThat(new RemoteDeliveryConfiguration(mailetConfig, mock(DomainList.class)).getConnectionReuseMaxMessages())
+            .isEqualTo(10);
+    }
+
+    @Test
+    void getConnectionReuseMaxMessagesShouldThrowWhenNegative() {
+        FakeMailetConfig mailetConfig = FakeMailetConfig.builder()
+            .setProperty(RemoteDeliveryConfiguration.CONNECTION_REUSE_MAX_MESSAGES, "-1")
+            .build();
+
+        assertThatThrownBy(() -> new RemoteDeliveryConfiguration(mailetConfig, mock(DomainList.class)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void isDeliveryBatchingShouldBeFalseByDefault() {
+        FakeMailetConfig mailetConfig = FakeMailetConfig.builder()
+            .build();
+
+        assertThat(new RemoteDeliveryConfiguration(mailetConfig, mock(DomainList.class)).isDeliveryBatching()).isFalse();
+    }
+
+    @Test
+    void isDeliveryBatchingShouldBeTrueWhenBatchSizeGreaterThanOne() {
+        FakeMailetConfig mailetConfig = FakeMailetConfig.builder()
+            .setProperty(RemoteDeliveryConfiguration.DELIVERY_BATCH_SIZE, "16")
+            .setProperty(RemoteDeliveryConfiguration.CONNECTION_REUSE, "true")
+            .build();
+
+        RemoteDeliveryConfiguration configuration = new RemoteDeliveryConfiguration(mailetConfig, mock(DomainList.class));
+
+        assertThat(configuration.isDeliveryBatching()).isTrue();
+        assertThat(configuration.getDeliveryBatchSize()).isEqualTo(16);
+    }
+
+    @Test
+    void isDeliveryBatchingShouldBeFalseWithoutConnectionReuse() {
+        FakeMailetConfig mailetConfig = FakeMailetConfig.builder()
+            .setProperty(RemoteDeliveryConfiguration.DELIVERY_BATCH_SIZE, "16")
+            .build();
+
+        assertThat(new RemoteDeliveryConfiguration(mailetConfig, mock(DomainList.class)).isDeliveryBatching()).isFalse();
+    }
+
+    @Test
+    void getDeliveryBatchSizeShouldThrowWhenZero() {
+        FakeMailetConfig mailetConfig = FakeMailetConfig.builder()
+            .setProperty(RemoteDeliveryConfiguration.DELIVERY_BATCH_SIZE, "0")
+            .build();
+
+        assertThatThrownBy(() -> new RemoteDeliveryConfiguration(mailetConfig, mock(DomainList.class)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void getDeliveryBatchWindowShouldReturnDefault() {
+        FakeMailetConfig mailetConfig = FakeMailetConfig.builder()
+            .build();
+
+        assertThat(new RemoteDeliveryConfiguration(mailetConfig, mock(DomainList.class)).getDeliveryBatchWindow())
+            .isEqualTo(RemoteDeliveryConfiguration.DEFAULT_DELIVERY_BATCH_WINDOW);
+    }
+
+    @Test
+    void getDeliveryBatchWindowShouldDefaultToMilliseconds() {
+        FakeMailetConfig mailetConfig = FakeMailetConfig.builder()
+            .setProperty(RemoteDeliveryConfiguration.DELIVERY_BATCH_WINDOW, "250")
+            .build();
+
+        assertThat(new RemoteDeliveryConfiguration(mailetConfig, mock(DomainList.class)).getDeliveryBatchWindow())
+            .isEqualTo(Duration.ofMillis(250));
+    }
 }
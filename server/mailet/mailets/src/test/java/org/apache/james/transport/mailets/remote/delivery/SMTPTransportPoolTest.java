@@ -0,0 +1,182 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.transport.mailets.remote.delivery;
+
+import static org.apache.james.transport.mailets.remote.delivery.SMTPTransportPool.REMOTE_DELIVERY_CONNECTION_HIT;
+import static org.apache.james.transport.mailets.remote.delivery.SMTPTransportPool.REMOTE_DELIVERY_CONNECTION_MISS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.mail.URLName;
+
+import org.apache.james.core.Domain;
+import org.apache.james.domainlist.api.DomainList;
+import org.apache.james.metrics.tests.RecordingMetricFactory;
+import org.apache.mailet.base.test.FakeMailetConfig;
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SMTPTransportPoolTest {
+    private static final URLName MX_1 = new URLName("smtp://10.0.0.1:25");
+    private static final String MX_1_NAME = "mx1.domain.tld";
+    private static final URLName MX_2 = new URLName("smtp://10.0.0.2:25");
+    private static final String MX_2_NAME = "mx2.domain.tld";
+
+    private RecordingMetricFactory metricFactory;
+    private AtomicInteger connections;
+    private DomainList domainList;
+    private SMTPTransportPool testee;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        metricFactory = new RecordingMetricFactory();
+        connections = new AtomicInteger();
+        domainList = mock(DomainList.class);
+        when(domainList.getDefaultDomain()).thenReturn(Domain.of("james.org"));
+        testee = pool(FakeMailetConfig.builder()
+            .setProperty(RemoteDeliveryConfiguration.CONNECTION_REUSE, "true")
+            .setProperty(RemoteDeliveryConfiguration.CONNECTION_REUSE_MAX_MESSAGES, "2")
+            .build(), SMTPTransportPool.VALIDATION_IDLE_THRESHOLD);
+    }
+
+    @AfterEach
+    void tearDown() {
+        testee.close();
+    }
+
+    private SMTPTransportPool pool(FakeMailetConfig mailetConfig, Duration validationIdleThreshold) {
+        // Transports are not actually connected: the pool hands out recently returned transports without checking them
+        return new SMTPTransportPool(new RemoteDeliveryConfiguration(mailetConfig, domainList), metricFactory,
+            (hostName, transport) -> connections.incrementAndGet(), validationIdleThreshold);
+    }
+
+    @Test
+    void releasedTransportsShouldBeReused() throws Exception {
+        SMTPTransportPool.PooledTransport first = testee.borrow(MX_1, MX_1_NAME);
+        testee.release(first);
+
+        SMTPTransportPool.PooledTransport second = testee.borrow(MX_1, MX_1_NAME);
+
+        assertThat(second.getTransport()).isSameAs(first.getTransport());
+        assertThat(connections.get()).isEqualTo(1);
+    }
+
+    @Test
+    void borrowedTransportsShouldNotBeShared() throws Exception {
+        SMTPTransportPool.PooledTransport first = testee.borrow(MX_1, MX_1_NAME);
+        SMTPTransportPool.PooledTransport second = testee.borrow(MX_1, MX_1_NAME);
+
+        assertThat(second.getTransport()).isNotSameAs(first.getTransport());
+        assertThat(connections.get()).isEqualTo(2);
+    }
+
+    @Test
+    void transportsShouldNotBeSharedAcrossHosts() throws Exception {
+        SMTPTransportPool.PooledTransport first = testee.borrow(MX_1, MX_1_NAME);
+        testee.release(first);
+
+        SMTPTransportPool.PooledTransport second = testee.borrow(MX_2, MX_2_NAME);
+
+        assertThat(second.getTransport()).isNotSameAs(first.getTransport());
+    }
+
+    @Test
+    void transportsShouldNotBeSharedWhenSessionPropertiesChange() throws Exception {
+        SMTPTransportPool.PooledTransport first = testee.borrow(MX_1, MX_1_NAME);
+        testee.release(first);
+        when(domainList.getDefaultDomain()).thenReturn(Domain.of("other.org"));
+
+        SMTPTransportPool.PooledTransport second = testee.borrow(MX_1, MX_1_NAME);
+
+        assertThat(second.getTransport()).isNotSameAs(first.getTransport());
+        assertThat(second.getSession().getProperty("mail.smtp.localhost")).isEqualTo("other.org");
+    }
+
+    @Test
+    void transportsShouldBeClosedOnceMaxMessagesReached() throws Exception {
+        SMTPTransportPool.PooledTransport first = testee.borrow(MX_1, MX_1_NAME);
+        testee.release(first);
+        testee.release(testee.borrow(MX_1, MX_1_NAME));
+
+        SMTPTransportPool.PooledTransport third = testee.borrow(MX_1, MX_1_NAME);
+
+        assertThat(third.getTransport()).isNotSameAs(first.getTransport());
+        assertThat(connections.get()).isEqualTo(2);
+    }
+
+    @Test
+    void invalidatedTransportsShouldNotBeReused() throws Exception {
+        SMTPTransportPool.PooledTransport first = testee.borrow(MX_1, MX_1_NAME);
+        testee.invalidate(first);
+
+        SMTPTransportPool.PooledTransport second = testee.borrow(MX_1, MX_1_NAME);
+
+        assertThat(second.getTransport()).isNotSameAs(first.getTransport());
+        assertThat(connections.get()).isEqualTo(2);
+    }
+
+    @Test
+    void idleTransportsShouldBeCheckedBeforeBeingReused() throws Exception {
+        testee.close();
+        testee = pool(FakeMailetConfig.builder()
+            .setProperty(RemoteDeliveryConfiguration.CONNECTION_REUSE, "true")
+            .build(), Duration.ZERO);
+        SMTPTransportPool.PooledTransport first = testee.borrow(MX_1, MX_1_NAME);
+        testee.release(first);
+
+        SMTPTransportPool.PooledTransport second = testee.borrow(MX_1, MX_1_NAME);
+
+        // The transport is not connected, hence fails the check
+        assertThat(second.getTransport()).isNotSameAs(first.getTransport());
+    }
+
+    @Test
+    void releaseShouldClearPerMailProperties() throws Exception {
+        SMTPTransportPool.PooledTransport first = testee.borrow(MX_1, MX_1_NAME);
+        first.getSession().getProperties().put("mail.smtp.from", "bob@domain.tld");
+        testee.release(first);
+
+        SMTPTransportPool.PooledTransport second = testee.borrow(MX_1, MX_1_NAME);
+
+        SoftAssertions.assertSoftly(softly -> {
+            softly.assertThat(second.getSession().getProperty("mail.smtp.from")).isNull();
+            softly.assertThat(second.getSession().getProperty("mail.smtp.localhost")).isEqualTo("james.org");
+        });
+    }
+
+    @Test
+    void borrowShouldRecordHitsAndMisses() throws Exception {
+        SMTPTransportPool.PooledTransport first = testee.borrow(MX_1, MX_1_NAME);
+        testee.release(first);
+        testee.borrow(MX_1, MX_1_NAME);
+        testee.borrow(MX_1, MX_1_NAME);
+
+        SoftAssertions.assertSoftly(softly -> {
+            softly.assertThat(metricFactory.countFor(REMOTE_DELIVERY_CONNECTION_HIT)).isEqualTo(1);
+            softly.assertThat(metricFactory.countFor(REMOTE_DELIVERY_CONNECTION_MISS)).isEqualTo(2);
+        });
+    }
+}
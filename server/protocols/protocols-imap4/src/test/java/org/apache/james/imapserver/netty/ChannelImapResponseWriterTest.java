@@ -0,0 +1,90 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.imapserver.netty;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.james.imap.message.Literal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.netty.channel.FileRegion;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.stream.ChunkedWriteHandler;
+
+class ChannelImapResponseWriterTest {
+    private static final byte[] CONTENT = "0123456789".getBytes(StandardCharsets.US_ASCII);
+
+    private EmbeddedChannel channel;
+
+    @BeforeEach
+    void setUp() {
+        channel = new EmbeddedChannel(new ChunkedWriteHandler());
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void fileBackedLiteralShouldBeWrittenAsFileRegionWhenZeroCopy(@TempDir Path tempDir) throws Exception {
+        Path file = Files.write(tempDir.resolve("literal"), CONTENT);
+
+        new ChannelImapResponseWriter(channel, true).write(literal(() -> new FileInputStream(file.toFile())));
+
+        assertThat((Object) channel.readOutbound()).isInstanceOf(FileRegion.class);
+    }
+
+    @Test
+    void nonFileLiteralShouldBeStreamedFromItsInputStream() throws Exception {
+        new ChannelImapResponseWriter(channel, true).write(literal(() -> new ByteArrayInputStream(CONTENT)));
+
+        assertThat((Object) channel.readOutbound()).isNotInstanceOf(FileRegion.class);
+    }
+
+    interface InputStreamSupplier {
+        InputStream get() throws IOException;
+    }
+
+    private Literal literal(InputStreamSupplier inputStream) {
+        return new Literal() {
+            @Override
+            public long size() {
+                return CONTENT.length;
+            }
+
+            @Override
+            public InputStream getInputStream() throws IOException {
+                return inputStream.get();
+            }
+        };
+    }
+}
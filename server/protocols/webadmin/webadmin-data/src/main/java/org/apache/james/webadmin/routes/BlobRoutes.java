@@ -20,6 +20,7 @@
 package org.apache.james.webadmin.routes;
 
 import java.time.Clock;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -39,6 +40,8 @@ import org.apache.james.webadmin.tasks.TaskFromRequest;
 import org.apache.james.webadmin.utils.JsonTransformer;
 
 import com.google.common.base.Preconditions;
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
 
 import spark.Request;
 import spark.Service;
@@ -97,6 +100,10 @@ public class BlobRoutes implements Routes {
         int expectedBlobCount = getExpectedBlobCount(request).orElse(EXPECTED_BLOB_COUNT_DEFAULT);
         Optional<Integer> deletionWindowSize = getDeletionWindowSize(request);
         double associatedProbability = getAssociatedProbability(request).orElse(ASSOCIATED_PROBABILITY_DEFAULT);
+        Optional<Integer> shardCount = getShardCount(request);
+        Optional<List<Integer>> shards = getShards(request);
+        Preconditions.checkArgument(shardCount.isPresent() || shards.isEmpty(),
+            "'shards' requires 'shardCount' to be specified");
 
         return BlobGCTask.builder()
             .blobStoreDAO(blobStoreDAO)
@@ -108,6 +115,8 @@ public class BlobRoutes implements Routes {
             .expectedBlobCount(expectedBlobCount)
             .associatedProbability(associatedProbability)
             .deletionWindowSize(deletionWindowSize)
+            .shardCount(shardCount)
+            .shards(shards)
             .build();
     }
 
@@ -139,6 +148,34 @@ public class BlobRoutes implements Routes {
         }
     }
 
+    private static Optional<Integer> getShardCount(Request req) {
+        try {
+            return Optional.ofNullable(req.queryParams("shardCount"))
+                .map(Integer::parseInt)
+                .map(shardCount -> {
+                    Preconditions.checkArgument(shardCount > 0,
+                        "'shardCount' must be strictly positive");
+                    return shardCount;
+                });
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("'shardCount' must be numeric");
+        }
+    }
+
+    private static Optional<List<Integer>> getShards(Request req) {
+        try {
+            return Optional.ofNullable(req.queryParams("shards"))
+                .map(shards -> Splitter.on(',')
+                    .trimResults()
+                    .omitEmptyStrings()
+                    .splitToStream(shards)
+                    .map(Integer::parseInt)
+                    .collect(ImmutableList.toImmutableList()));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("'shards' must be a comma separated list of shard indexes");
+        }
+    }
+
     private static Optional<Double> getAssociatedProbability(Request req) {
         try {
             return Optional.ofNullable(req.queryParams("associatedProbability"))
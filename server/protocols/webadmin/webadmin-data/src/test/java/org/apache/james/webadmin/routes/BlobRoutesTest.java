@@ -26,6 +26,7 @@ import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.awaitility.Durations.ONE_HUNDRED_MILLISECONDS;
 import static org.awaitility.Durations.TEN_SECONDS;
 import static org.eclipse.jetty.http.HttpStatus.BAD_REQUEST_400;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
@@ -228,6 +229,74 @@ class BlobRoutesTest {
             .body("additionalInformation.deletionWindowSize", is(99));
     }
 
+    @Test
+    void deleteUnReferencedShouldAcceptShardParams() {
+        String taskId = given()
+            .queryParam("scope", "unreferenced")
+            .queryParam("shardCount", 4)
+            .queryParam("shards", "1,3")
+            .delete()
+            .jsonPath()
+            .get("taskId");
+
+        given()
+            .basePath(TasksRoutes.BASE)
+        .when()
+            .get(taskId + "/await")
+        .then()
+            .body("status", is("completed"))
+            .body("additionalInformation.shardCount", is(4))
+            .body("additionalInformation.shards.index", contains(1, 3))
+            .body("additionalInformation.shards.status", contains("COMPLETED", "COMPLETED"));
+    }
+
+    @Test
+    void gcTaskShouldCollectAllShardsByDefault() {
+        String taskId = given()
+            .queryParam("scope", "unreferenced")
+            .queryParam("shardCount", 3)
+            .delete()
+            .jsonPath()
+            .get("taskId");
+
+        given()
+            .basePath(TasksRoutes.BASE)
+        .when()
+            .get(taskId + "/await")
+        .then()
+            .body("status", is("completed"))
+            .body("additionalInformation.shards.index", contains(0, 1, 2));
+    }
+
+    @ParameterizedTest
+    @MethodSource("shardParameters")
+    void deleteUnReferencedShouldReturnErrorWhenShardsInvalid(Object shardCount, Object shards) {
+        given()
+            .queryParam("scope", "unreferenced")
+            .queryParam("shardCount", shardCount)
+            .queryParam("shards", shards)
+            .delete()
+        .then()
+            .statusCode(BAD_REQUEST_400)
+            .contentType(JSON)
+            .body("statusCode", is(BAD_REQUEST_400))
+            .body("type", is("InvalidArgument"))
+            .body("message", is("Invalid arguments supplied in the user request"))
+            .body("details", containsString("shard"));
+    }
+
+    private static Stream<Arguments> shardParameters() {
+        return Stream.of(
+            Arguments.of(0, "0"),
+            Arguments.of(-1, "0"),
+            Arguments.of("invalid", "0"),
+            Arguments.of(2, "2"),
+            Arguments.of(2, "-1"),
+            Arguments.of(2, "invalid"),
+            Arguments.of(2, ",")
+        );
+    }
+
     @ParameterizedTest
     @MethodSource("expectedBlobCountParameters")
     void deleteUnReferencedShouldReturnErrorWhenExpectedBlobCountInvalid(Object expectedBlobCount) {
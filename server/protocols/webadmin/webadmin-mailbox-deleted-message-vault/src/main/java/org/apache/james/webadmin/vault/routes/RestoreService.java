@@ -24,8 +24,7 @@ import static org.apache.james.util.ReactorUtils.DEFAULT_CONCURRENCY;
 import static org.apache.james.webadmin.vault.routes.RestoreService.RestoreResult.RESTORE_FAILED;
 import static org.apache.james.webadmin.vault.routes.RestoreService.RestoreResult.RESTORE_SUCCEED;
 
-import java.io.InputStream;
-import java.util.function.Predicate;
+import java.util.List;
 
 import jakarta.inject.Inject;
 
@@ -35,11 +34,10 @@ import org.apache.james.mailbox.MailboxSession;
 import org.apache.james.mailbox.MessageManager;
 import org.apache.james.mailbox.exception.MailboxException;
 import org.apache.james.mailbox.exception.MailboxNotFoundException;
-import org.apache.james.mailbox.model.ByteSourceContent;
 import org.apache.james.mailbox.model.MailboxId;
 import org.apache.james.mailbox.model.MailboxPath;
+import org.apache.james.mailbox.model.MessageId;
 import org.apache.james.vault.DeletedMessage;
-import org.apache.james.vault.DeletedMessageContentNotFoundException;
 import org.apache.james.vault.DeletedMessageVault;
 import org.apache.james.vault.VaultConfiguration;
 import org.apache.james.vault.search.Query;
@@ -47,6 +45,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.github.fge.lambdas.Throwing;
+import com.google.common.collect.ImmutableList;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -59,8 +58,7 @@ public class RestoreService {
     }
 
     private static final Logger LOGGER = LoggerFactory.getLogger(RestoreService.class);
-    private static final Predicate<Throwable> CONTENT_NOT_FOUND_PREDICATE =
-        DeletedMessageContentNotFoundException.class::isInstance;
+    private static final int LOAD_BATCH_SIZE = 100;
 
     private final DeletedMessageVault deletedMessageVault;
     private final MailboxManager mailboxManager;
@@ -79,35 +77,39 @@ public class RestoreService {
         MessageManager restoreMessageManager = restoreMailboxManager(session);
 
         return Flux.from(deletedMessageVault.search(usernameToRestore, searchQuery))
-            .flatMap(deletedMessage -> appendToMailbox(restoreMessageManager, deletedMessage, session), DEFAULT_CONCURRENCY)
+            .buffer(LOAD_BATCH_SIZE)
+            .concatMap(deletedMessages -> restoreBatch(usernameToRestore, restoreMessageManager, deletedMessages, session))
             .doFinally(any -> mailboxManager.endProcessingRequest(session));
     }
 
-    private Mono<RestoreResult> appendToMailbox(MessageManager restoreMailboxManager, DeletedMessage deletedMessage, MailboxSession session) {
-        return Mono.usingWhen(
-            messageContent(deletedMessage),
-            inputStream -> Mono.usingWhen(
-                Mono.fromCallable(() -> ByteSourceContent.of(inputStream)),
-                content -> Mono.from(restoreMailboxManager.appendMessageReactive(AppendCommand.builder().build(content), session))
-                    .map(any -> RESTORE_SUCCEED),
-                content -> Mono.fromRunnable(Throwing.runnable(content::close))),
-            stream -> Mono.fromRunnable(Throwing.runnable(stream::close)))
+    private Flux<RestoreResult> restoreBatch(Username usernameToRestore, MessageManager restoreMessageManager, List<DeletedMessage> deletedMessages, MailboxSession session) {
+        ImmutableList<MessageId> messageIds = deletedMessages.stream()
+            .map(DeletedMessage::getMessageId)
+            .collect(ImmutableList.toImmutableList());
+
+        return Mono.from(deletedMessageVault.loadMimeMessages(usernameToRestore, messageIds))
+            .flatMapMany(contents -> Flux.fromIterable(deletedMessages)
+                .flatMap(deletedMessage -> Mono.justOrEmpty(contents.get(deletedMessage.getMessageId()))
+                    .switchIfEmpty(Mono.fromRunnable(() -> LOGGER.info(
+                        "Mime message associated with id {} of user {} could not be found in the vault",
+                        deletedMessage.getMessageId().serialize(),
+                        deletedMessage.getOwner().asString())))
+                    .flatMap(content -> appendToMailbox(restoreMessageManager, deletedMessage, content, session)), DEFAULT_CONCURRENCY))
             .onErrorResume(throwable -> {
-                LOGGER.error("append message {} to restore mailbox of user {} didn't success",
-                    deletedMessage.getMessageId().serialize(), deletedMessage.getOwner().asString(), throwable);
-                return Mono.just(RESTORE_FAILED);
+                LOGGER.error("loading a batch of {} messages to restore for user {} didn't success",
+                    deletedMessages.size(), usernameToRestore.asString(), throwable);
+                return Flux.fromIterable(deletedMessages)
+                    .map(any -> RESTORE_FAILED);
             });
     }
 
-    private Mono<InputStream> messageContent(DeletedMessage deletedMessage) {
-        return Mono.from(deletedMessageVault.loadMimeMessage(deletedMessage.getOwner(), deletedMessage.getMessageId()))
-            .onErrorResume(CONTENT_NOT_FOUND_PREDICATE, throwable -> {
-                LOGGER.info(
-                    "Error happened when loading mime message associated with id {} of user {} in the vault",
-                    deletedMessage.getMessageId().serialize(),
-                    deletedMessage.getOwner().asString(),
-                    throwable);
-                return Mono.empty();
+    private Mono<RestoreResult> appendToMailbox(MessageManager restoreMailboxManager, DeletedMessage deletedMessage, byte[] content, MailboxSession session) {
+        return Mono.from(restoreMailboxManager.appendMessageReactive(AppendCommand.builder().build(content), session))
+            .map(any -> RESTORE_SUCCEED)
+            .onErrorResume(throwable -> {
+                LOGGER.error("append message {} to restore mailbox of user {} didn't success",
+                    deletedMessage.getMessageId().serialize(), deletedMessage.getOwner().asString(), throwable);
+                return Mono.just(RESTORE_FAILED);
             });
     }
 
@@ -20,6 +20,7 @@ package org.apache.james.webadmin.dto;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 
 import org.apache.commons.lang3.NotImplementedException;
 import org.apache.james.json.DTOModule;
@@ -32,6 +33,7 @@ import org.apache.mailbox.tools.indexer.FullReindexingTask;
 import org.apache.mailbox.tools.indexer.ReIndexingContextInformationDTO;
 import org.apache.mailbox.tools.indexer.RunningOptionsDTO;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.google.common.collect.ImmutableList;
 
 public class WebAdminIndexationContextInformationDTO implements AdditionalInformationDTO {
@@ -72,14 +74,24 @@ public class WebAdminIndexationContextInformationDTO implements AdditionalInform
                     details.getSuccessfullyReprocessedMailCount(),
                     details.getFailedReprocessedMailCount(),
                     details.failures(),
-                    details.timestamp()))
+                    details.timestamp(),
+                    Optional.<List<Integer>>of(details.getCompletedPartitions().asList())
+                        .filter(any -> details.getRunningOptions().isPartitioned())))
                 .typeName(FullReindexingTask.FULL_RE_INDEXING.asString())
                 .withFactory(AdditionalInformationDTOModule::new);
         }
 
+        private final Optional<List<Integer>> completedPartitions;
+
         WebAdminFullIndexationDTO(String type, RunningOptionsDTO runningOptions, int successfullyReprocessedMailCount, int failedReprocessedMailCount,
-                                  ReIndexingExecutionFailures failures, Instant timestamp) {
+                                  ReIndexingExecutionFailures failures, Instant timestamp, Optional<List<Integer>> completedPartitions) {
             super(type, runningOptions, successfullyReprocessedMailCount, failedReprocessedMailCount, failures, timestamp);
+            this.completedPartitions = completedPartitions;
+        }
+
+        @JsonInclude(JsonInclude.Include.NON_ABSENT)
+        public Optional<List<Integer>> getCompletedPartitions() {
+            return completedPartitions;
         }
     }
 
@@ -30,6 +30,7 @@ import org.apache.james.mailbox.exception.MailboxException;
 import org.apache.james.mailbox.exception.MailboxNotFoundException;
 import org.apache.james.mailbox.indexer.IndexingDetailInformation;
 import org.apache.james.mailbox.indexer.ReIndexer;
+import org.apache.james.mailbox.indexer.ReIndexer.RunningOptions;
 import org.apache.james.mailbox.model.MailboxId;
 import org.apache.james.task.Task;
 import org.apache.james.task.TaskId;
@@ -43,6 +44,7 @@ import org.apache.james.webadmin.tasks.TaskFromRequestRegistry.TaskRegistration;
 import org.apache.james.webadmin.tasks.TaskRegistrationKey;
 import org.apache.james.webadmin.utils.ErrorResponder;
 import org.apache.james.webadmin.utils.JsonTransformer;
+import org.apache.mailbox.tools.indexer.ReIndexingContextInformationDTO.ReIndexingContextInformationForFullReindexingTask;
 import org.eclipse.jetty.http.HttpStatus;
 
 import com.google.common.base.Strings;
@@ -64,12 +66,63 @@ public class MailboxesRoutes implements Routes {
                 IndexingDetailInformation indexingDetailInformation = retrieveIndexingExecutionDetails(previousReIndexingService, request);
                 return reIndexer.reIndex(indexingDetailInformation.failures(), ReindexingRunningOptionsParser.parse(request));
             }
+            boolean resumption = !Strings.isNullOrEmpty(request.queryParams(RESUME_FROM_QUERY_PARAM));
+            if (resumption) {
+                return reIndexer.reIndex(resumedRunningOptions(previousReIndexingService, request));
+            }
+
+            return reIndexer.reIndex(ReindexingRunningOptionsParser.parseWithPartitions(request));
+        }
 
-            return reIndexer.reIndex(ReindexingRunningOptionsParser.parse(request));
+        private static RunningOptions resumedRunningOptions(PreviousReIndexingService previousReIndexingService, Request request) {
+            TaskId taskId = getTaskId(request, RESUME_FROM_QUERY_PARAM);
+            ReIndexingContextInformationForFullReindexingTask checkpoint = retrieveCheckpoint(previousReIndexingService, taskId);
+            if (checkpoint.getRemainingPartitions().isEmpty()) {
+                throw ErrorResponder.builder()
+                    .statusCode(HttpStatus.BAD_REQUEST_400)
+                    .type(ErrorResponder.ErrorType.INVALID_ARGUMENT)
+                    .message("Task %s has no partition left to be reindexed", taskId.asString())
+                    .haltError();
+            }
+            RunningOptions previousRunningOptions = checkpoint.getRunningOptions();
+            return RunningOptions.builder()
+                .messagesPerSeconds(ReindexingRunningOptionsParser.intQueryParameter(request, "messagesPerSecond")
+                    .or(() -> Optional.of(previousRunningOptions.getMessagesPerSecond())))
+                .mode(previousRunningOptions.getMode())
+                .partitionCount(previousRunningOptions.getPartitionCount())
+                .partitions(checkpoint.getRemainingPartitions())
+                .build();
+        }
+
+        private static ReIndexingContextInformationForFullReindexingTask retrieveCheckpoint(PreviousReIndexingService previousReIndexingService, TaskId taskId) {
+            try {
+                return previousReIndexingService.retrieveFullReindexingCheckpoint(taskId);
+            } catch (PreviousReIndexingService.NotAResumableTask e) {
+                throw ErrorResponder.builder()
+                    .statusCode(HttpStatus.BAD_REQUEST_400)
+                    .type(ErrorResponder.ErrorType.INVALID_ARGUMENT)
+                    .message("Invalid task id")
+                    .cause(e)
+                    .haltError();
+            } catch (PreviousReIndexingService.TaskNotInterruptedException e) {
+                throw ErrorResponder.builder()
+                    .statusCode(HttpStatus.BAD_REQUEST_400)
+                    .type(ErrorResponder.ErrorType.INVALID_ARGUMENT)
+                    .message("Task %s can not be resumed: %s", taskId.asString(), e.getMessage())
+                    .cause(e)
+                    .haltError();
+            } catch (TaskNotFoundException e) {
+                throw ErrorResponder.builder()
+                    .statusCode(HttpStatus.BAD_REQUEST_400)
+                    .type(ErrorResponder.ErrorType.INVALID_ARGUMENT)
+                    .message("TaskId %s does not exist", taskId.asString())
+                    .cause(e)
+                    .haltError();
+            }
         }
 
         private static IndexingDetailInformation retrieveIndexingExecutionDetails(PreviousReIndexingService previousReIndexingService, Request request) {
-            TaskId taskId = getTaskId(request);
+            TaskId taskId = getTaskId(request, RE_INDEX_FAILED_MESSAGES_QUERY_PARAM);
             try {
                 return previousReIndexingService.retrieveIndexingExecutionDetails(taskId);
             } catch (PreviousReIndexingService.NotAnIndexingRetriableTask | PreviousReIndexingService.TaskNotYetFinishedException e) {
@@ -89,9 +142,9 @@ public class MailboxesRoutes implements Routes {
             }
         }
 
-        private static TaskId getTaskId(Request request) {
+        private static TaskId getTaskId(Request request, String queryParameter) {
             try {
-                String id = request.queryParams(RE_INDEX_FAILED_MESSAGES_QUERY_PARAM);
+                String id = request.queryParams(queryParameter);
                 return TaskId.fromString(id);
             } catch (Exception e) {
                 throw ErrorResponder.builder()
@@ -171,6 +224,7 @@ public class MailboxesRoutes implements Routes {
 
     private static final String BASE_PATH = "/mailboxes";
     private static final String RE_INDEX_FAILED_MESSAGES_QUERY_PARAM = "reIndexFailedMessagesOf";
+    private static final String RESUME_FROM_QUERY_PARAM = "resumeFrom";
     private static final String MAILBOX_PARAM = ":mailbox";
     private static final String UID_PARAM = ":uid";
     private static final String MAILBOX_PATH = BASE_PATH + "/" + MAILBOX_PARAM;
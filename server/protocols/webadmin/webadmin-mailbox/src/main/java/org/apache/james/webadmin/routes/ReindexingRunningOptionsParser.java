@@ -20,9 +20,13 @@
 package org.apache.james.webadmin.routes;
 
 import java.util.Optional;
+import java.util.Set;
 
 import org.apache.james.mailbox.indexer.ReIndexer.RunningOptions;
 
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableSet;
+
 import spark.Request;
 
 public class ReindexingRunningOptionsParser {
@@ -34,6 +38,30 @@ public class ReindexingRunningOptionsParser {
             .build();
     }
 
+    /**
+     * Also reads the partitioning parameters, only supported by full reindexing.
+     */
+    public static RunningOptions parseWithPartitions(Request request) {
+        return RunningOptions.builder()
+            .messagesPerSeconds(intQueryParameter(request, "messagesPerSecond"))
+            .mode(modeQueryParameter(request, "mode"))
+            .partitionCount(intQueryParameter(request, "partitionCount"))
+            .partitions(partitionsQueryParameter(request, "partitions"))
+            .build();
+    }
+
+    public static Optional<Set<Integer>> partitionsQueryParameter(Request request, String queryParameter) {
+        try {
+            return Optional.ofNullable(request.queryParams(queryParameter))
+                .map(value -> Splitter.on(',').trimResults().omitEmptyStrings().splitToStream(value)
+                    .map(Integer::parseInt)
+                    .collect(ImmutableSet.toImmutableSet()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(String.format("Illegal value supplied for query parameter '%s', expecting a " +
+                "comma separated list of integers", queryParameter), e);
+        }
+    }
+
     public static Optional<Integer> intQueryParameter(Request request, String queryParameter) {
         try {
             return Optional.ofNullable(request.queryParams(queryParameter))
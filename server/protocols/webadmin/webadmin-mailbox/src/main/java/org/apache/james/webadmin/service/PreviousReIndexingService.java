@@ -27,6 +27,7 @@ import org.apache.james.task.TaskId;
 import org.apache.james.task.TaskManager;
 import org.apache.james.task.TaskNotFoundException;
 import org.apache.james.task.TaskType;
+import org.apache.mailbox.tools.indexer.ReIndexingContextInformationDTO.ReIndexingContextInformationForFullReindexingTask;
 
 public class PreviousReIndexingService {
     public static class TaskNotYetFinishedException extends RuntimeException {
@@ -41,6 +42,18 @@ public class PreviousReIndexingService {
         }
     }
 
+    public static class NotAResumableTask extends RuntimeException {
+        NotAResumableTask(TaskType type) {
+            super("'" + type.asString() + "' is not a valid type of task for resuming a reindexing");
+        }
+    }
+
+    public static class TaskNotInterruptedException extends RuntimeException {
+        TaskNotInterruptedException(TaskManager.Status currentStatus) {
+            super("Only failed or cancelled tasks can be resumed. Current status is: " + currentStatus.getValue());
+        }
+    }
+
     private final TaskManager taskManager;
 
     @Inject
@@ -58,4 +71,20 @@ public class PreviousReIndexingService {
             .map(IndexingDetailInformation.class::cast)
             .orElseThrow(() -> new NotAnIndexingRetriableTask(executionDetails.getType()));
     }
+
+    /**
+     * Only failed or cancelled tasks can be resumed: resuming a task that is still running on another node would
+     * reindex its remaining partitions twice.
+     */
+    public ReIndexingContextInformationForFullReindexingTask retrieveFullReindexingCheckpoint(TaskId taskId) throws NotAResumableTask, TaskNotFoundException, TaskNotInterruptedException {
+        TaskExecutionDetails executionDetails = taskManager.getExecutionDetails(taskId);
+        ReIndexingContextInformationForFullReindexingTask checkpoint = executionDetails.getAdditionalInformation()
+            .filter(ReIndexingContextInformationForFullReindexingTask.class::isInstance)
+            .map(ReIndexingContextInformationForFullReindexingTask.class::cast)
+            .orElseThrow(() -> new NotAResumableTask(executionDetails.getType()));
+        if (executionDetails.getStatus() != TaskManager.Status.FAILED && executionDetails.getStatus() != TaskManager.Status.CANCELLED) {
+            throw new TaskNotInterruptedException(executionDetails.getStatus());
+        }
+        return checkpoint;
+    }
 }
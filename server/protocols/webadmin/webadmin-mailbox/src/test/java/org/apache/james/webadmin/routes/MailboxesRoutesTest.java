@@ -23,6 +23,7 @@ import static io.restassured.RestAssured.given;
 import static io.restassured.RestAssured.when;
 import static io.restassured.RestAssured.with;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.mockito.ArgumentMatchers.any;
@@ -244,10 +245,61 @@ class MailboxesRoutesTest {
                     .body("message", is("Invalid arguments supplied in the user request"))
                     .body("details", is("Invalid value supplied for query parameter 'task': bad. Supported values are [reIndex]"));
             }
+
+            @Test
+            void fullReIndexingShouldFailWithPartitionsOutOfRange() {
+                given()
+                    .queryParam("partitionCount", 2)
+                    .queryParam("partitions", "1,2")
+                .when()
+                    .post("/mailboxes?task=reIndex")
+                .then()
+                    .statusCode(HttpStatus.BAD_REQUEST_400)
+                    .body("statusCode", is(400))
+                    .body("type", is(ErrorResponder.ErrorType.INVALID_ARGUMENT.getType()))
+                    .body("message", is("Invalid arguments supplied in the user request"))
+                    .body("details", is("'partitions' needs to be within [0, 2["));
+            }
+
+            @Test
+            void fullReIndexingShouldFailWithInvalidPartitions() {
+                given()
+                    .queryParam("partitionCount", 2)
+                    .queryParam("partitions", "abc")
+                .when()
+                    .post("/mailboxes?task=reIndex")
+                .then()
+                    .statusCode(HttpStatus.BAD_REQUEST_400)
+                    .body("statusCode", is(400))
+                    .body("type", is(ErrorResponder.ErrorType.INVALID_ARGUMENT.getType()))
+                    .body("message", is("Invalid arguments supplied in the user request"))
+                    .body("details", is("Illegal value supplied for query parameter 'partitions', expecting a comma separated list of integers"));
+            }
         }
 
         @Nested
         class TaskDetails {
+            @Test
+            void partitionedFullReIndexingShouldReturnCompletedPartitions() {
+                String taskId = with()
+                    .queryParam("partitionCount", 4)
+                    .queryParam("partitions", "1,3")
+                    .post("/mailboxes?task=reIndex")
+                    .jsonPath()
+                    .get("taskId");
+
+                given()
+                    .basePath(TasksRoutes.BASE)
+                .when()
+                    .get(taskId + "/await")
+                .then()
+                    .body("status", is("completed"))
+                    .body("type", is(FullReindexingTask.FULL_RE_INDEXING.asString()))
+                    .body("additionalInformation.runningOptions.partitionCount", is(4))
+                    .body("additionalInformation.runningOptions.partitions", contains(1, 3))
+                    .body("additionalInformation.completedPartitions", contains(1, 3));
+            }
+
             @Test
             void fullReIndexingShouldNotFailWhenNoMail() {
                 String taskId = with()
@@ -1301,6 +1353,67 @@ class MailboxesRoutesTest {
         }
     }
 
+    @Nested
+    class ResumingReIndexing {
+        @Test
+        void resumingReIndexingShouldRejectNotExistingTask() {
+            given()
+                .queryParam("resumeFrom", "bbdb69c9-082a-44b0-a85a-6e33e74287a5")
+            .when()
+                .post("/mailboxes?task=reIndex")
+            .then()
+                .statusCode(HttpStatus.BAD_REQUEST_400)
+                .body("statusCode", is(400))
+                .body("type", is(ErrorResponder.ErrorType.INVALID_ARGUMENT.getType()))
+                .body("message", is("TaskId bbdb69c9-082a-44b0-a85a-6e33e74287a5 does not exist"));
+        }
+
+        @Test
+        void resumingReIndexingShouldRejectTasksOtherThanFullReIndexing() throws Exception {
+            MailboxSession systemSession = mailboxManager.createSystemSession(USERNAME);
+            MailboxId mailboxId = mailboxManager.createMailbox(INBOX, systemSession).get();
+            String taskId = with()
+                .post("/mailboxes/" + mailboxId.serialize() + "?task=reIndex")
+                .jsonPath()
+                .get("taskId");
+            with()
+                .basePath(TasksRoutes.BASE)
+                .get(taskId + "/await");
+
+            given()
+                .queryParam("resumeFrom", taskId)
+            .when()
+                .post("/mailboxes?task=reIndex")
+            .then()
+                .statusCode(HttpStatus.BAD_REQUEST_400)
+                .body("statusCode", is(400))
+                .body("type", is(ErrorResponder.ErrorType.INVALID_ARGUMENT.getType()))
+                .body("message", is("Invalid task id"));
+        }
+
+        @Test
+        void resumingReIndexingShouldRejectCompletedTasks() {
+            String taskId = with()
+                .queryParam("partitionCount", 2)
+                .post("/mailboxes?task=reIndex")
+                .jsonPath()
+                .get("taskId");
+            with()
+                .basePath(TasksRoutes.BASE)
+                .get(taskId + "/await");
+
+            given()
+                .queryParam("resumeFrom", taskId)
+            .when()
+                .post("/mailboxes?task=reIndex")
+            .then()
+                .statusCode(HttpStatus.BAD_REQUEST_400)
+                .body("statusCode", is(400))
+                .body("type", is(ErrorResponder.ErrorType.INVALID_ARGUMENT.getType()))
+                .body("message", is("Task " + taskId + " can not be resumed: Only failed or cancelled tasks can be resumed. Current status is: completed"));
+        }
+    }
+
     @Nested
     class FixingReIndexing {
         @Nested
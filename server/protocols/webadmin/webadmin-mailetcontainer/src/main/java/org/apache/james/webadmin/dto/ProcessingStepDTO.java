@@ -0,0 +1,90 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.webadmin.dto;
+
+import java.util.Locale;
+
+import org.apache.james.mailetcontainer.api.ProcessingStepStatistics;
+
+public class ProcessingStepDTO {
+    public static ProcessingStepDTO from(ProcessingStepStatistics.Step step) {
+        return new ProcessingStepDTO(step.getProcessor(),
+            step.getIndex(),
+            step.getType().name().toLowerCase(Locale.US),
+            step.getName(),
+            step.getCount(),
+            step.getMeanDuration().toMillis(),
+            step.getMaxDuration().toMillis(),
+            step.getTotalDuration().toMillis());
+    }
+
+    private final String processor;
+    private final int index;
+    private final String type;
+    private final String name;
+    private final long count;
+    private final long meanDurationInMs;
+    private final long maxDurationInMs;
+    private final long totalDurationInMs;
+
+    private ProcessingStepDTO(String processor, int index, String type, String name, long count,
+                              long meanDurationInMs, long maxDurationInMs, long totalDurationInMs) {
+        this.processor = processor;
+        this.index = index;
+        this.type = type;
+        this.name = name;
+        this.count = count;
+        this.meanDurationInMs = meanDurationInMs;
+        this.maxDurationInMs = maxDurationInMs;
+        this.totalDurationInMs = totalDurationInMs;
+    }
+
+    public String getProcessor() {
+        return processor;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getMeanDurationInMs() {
+        return meanDurationInMs;
+    }
+
+    public long getMaxDurationInMs() {
+        return maxDurationInMs;
+    }
+
+    public long getTotalDurationInMs() {
+        return totalDurationInMs;
+    }
+}
@@ -0,0 +1,115 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.webadmin.routes;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import jakarta.inject.Inject;
+
+import org.apache.james.mailetcontainer.api.ProcessingStepStatistics;
+import org.apache.james.util.streams.Limit;
+import org.apache.james.webadmin.Routes;
+import org.apache.james.webadmin.dto.ProcessingStepDTO;
+import org.apache.james.webadmin.utils.ErrorResponder;
+import org.apache.james.webadmin.utils.JsonTransformer;
+import org.apache.james.webadmin.utils.ParametersExtractor;
+import org.eclipse.jetty.http.HttpStatus;
+
+import com.google.common.collect.ImmutableList;
+
+import spark.Request;
+import spark.Service;
+
+/**
+ * Lists the slowest steps (matchers and mailets) of the processors having step metrics enabled.
+ */
+public class ProcessingStepsRoutes implements Routes {
+    public static final String BASE_URL = "/mailetContainer/processingSteps";
+    private static final String SORT_BY_QUERY_PARAM = "sortBy";
+    private static final Limit DEFAULT_LIMIT = Limit.limit(10);
+
+    enum SortBy {
+        MEAN(ProcessingStepStatistics.Step::getMeanDuration),
+        MAX(ProcessingStepStatistics.Step::getMaxDuration),
+        TOTAL(ProcessingStepStatistics.Step::getTotalDuration);
+
+        static SortBy parse(String value) {
+            for (SortBy sortBy : values()) {
+                if (sortBy.name().equalsIgnoreCase(value)) {
+                    return sortBy;
+                }
+            }
+            throw ErrorResponder.builder()
+                .statusCode(HttpStatus.BAD_REQUEST_400)
+                .type(ErrorResponder.ErrorType.INVALID_ARGUMENT)
+                .message("Invalid 'sortBy' query parameter: expecting one of 'mean', 'max', 'total'")
+                .haltError();
+        }
+
+        private final Function<ProcessingStepStatistics.Step, Duration> extractor;
+
+        SortBy(Function<ProcessingStepStatistics.Step, Duration> extractor) {
+            this.extractor = extractor;
+        }
+
+        Comparator<ProcessingStepStatistics.Step> slowestFirst() {
+            return Comparator.comparing(extractor).reversed();
+        }
+    }
+
+    private final ProcessingStepStatistics processingStepStatistics;
+    private final JsonTransformer jsonTransformer;
+
+    @Inject
+    public ProcessingStepsRoutes(ProcessingStepStatistics processingStepStatistics, JsonTransformer jsonTransformer) {
+        this.processingStepStatistics = processingStepStatistics;
+        this.jsonTransformer = jsonTransformer;
+    }
+
+    @Override
+    public String getBasePath() {
+        return BASE_URL;
+    }
+
+    @Override
+    public void define(Service service) {
+        service.get(BASE_URL, (request, response) -> slowestSteps(request), jsonTransformer);
+    }
+
+    private List<ProcessingStepDTO> slowestSteps(Request request) {
+        SortBy sortBy = Optional.ofNullable(request.queryParams(SORT_BY_QUERY_PARAM))
+            .map(SortBy::parse)
+            .orElse(SortBy.MEAN);
+        Limit limit = Optional.of(ParametersExtractor.extractLimit(request))
+            .filter(requestedLimit -> !requestedLimit.isUnlimited())
+            .orElse(DEFAULT_LIMIT);
+
+        return limit.applyOnStream(processingStepStatistics.steps()
+                .stream()
+                .filter(step -> step.getCount() > 0)
+                .sorted(sortBy.slowestFirst()))
+            .map(ProcessingStepDTO::from)
+            .collect(ImmutableList.toImmutableList());
+    }
+}
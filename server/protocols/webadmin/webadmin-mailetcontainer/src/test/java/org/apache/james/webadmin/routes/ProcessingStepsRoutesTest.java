@@ -0,0 +1,150 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.webadmin.routes;
+
+import static io.restassured.RestAssured.given;
+import static io.restassured.RestAssured.when;
+import static net.javacrumbs.jsonunit.assertj.JsonAssertions.assertThatJson;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.apache.james.mailetcontainer.api.ProcessingStepStatistics;
+import org.apache.james.mailetcontainer.api.ProcessingStepStatistics.Step;
+import org.apache.james.mailetcontainer.api.ProcessingStepStatistics.StepType;
+import org.apache.james.webadmin.WebAdminServer;
+import org.apache.james.webadmin.WebAdminUtils;
+import org.apache.james.webadmin.utils.JsonTransformer;
+import org.eclipse.jetty.http.HttpStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import io.restassured.RestAssured;
+
+class ProcessingStepsRoutesTest {
+    private static final Step FAST_MATCHER = new Step("root", 0, StepType.MATCHER, "All", 10, Duration.ofMillis(10), Duration.ofMillis(5));
+    private static final Step SLOW_MAILET = new Step("root", 0, StepType.MAILET, "SpamAssassin", 10, Duration.ofMillis(1000), Duration.ofMillis(150));
+    private static final Step SPIKY_MAILET = new Step("transport", 3, StepType.MAILET, "RemoteDelivery", 2, Duration.ofMillis(600), Duration.ofMillis(590));
+    private static final Step UNUSED_MAILET = new Step("transport", 4, StepType.MAILET, "Null", 0, Duration.ZERO, Duration.ZERO);
+
+    private WebAdminServer webAdminServer;
+    private List<Step> steps;
+
+    @BeforeEach
+    void setUp() {
+        steps = ImmutableList.of(FAST_MATCHER, SLOW_MAILET, SPIKY_MAILET, UNUSED_MAILET);
+        ProcessingStepStatistics statistics = () -> steps;
+        webAdminServer = WebAdminUtils.createWebAdminServer(new ProcessingStepsRoutes(statistics, new JsonTransformer()))
+            .start();
+        RestAssured.requestSpecification = WebAdminUtils.buildRequestSpecification(webAdminServer)
+            .setBasePath(ProcessingStepsRoutes.BASE_URL)
+            .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        webAdminServer.destroy();
+    }
+
+    @Test
+    void getShouldReturnStepsSortedByMeanDuration() {
+        String body = when()
+            .get()
+        .then()
+            .statusCode(HttpStatus.OK_200)
+            .extract()
+            .body()
+            .asString();
+
+        assertThatJson(body).isEqualTo("[" +
+            "  {\"processor\":\"transport\",\"index\":3,\"type\":\"mailet\",\"name\":\"RemoteDelivery\",\"count\":2," +
+            "   \"meanDurationInMs\":300,\"maxDurationInMs\":590,\"totalDurationInMs\":600}," +
+            "  {\"processor\":\"root\",\"index\":0,\"type\":\"mailet\",\"name\":\"SpamAssassin\",\"count\":10," +
+            "   \"meanDurationInMs\":100,\"maxDurationInMs\":150,\"totalDurationInMs\":1000}," +
+            "  {\"processor\":\"root\",\"index\":0,\"type\":\"matcher\",\"name\":\"All\",\"count\":10," +
+            "   \"meanDurationInMs\":1,\"maxDurationInMs\":5,\"totalDurationInMs\":10}" +
+            "]");
+    }
+
+    @Test
+    void getShouldAllowSortingByTotalDuration() {
+        given()
+            .queryParam("sortBy", "total")
+            .get()
+        .then()
+            .statusCode(HttpStatus.OK_200)
+            .body("name", equalTo(ImmutableList.of("SpamAssassin", "RemoteDelivery", "All")));
+    }
+
+    @Test
+    void getShouldAllowSortingByMaxDuration() {
+        given()
+            .queryParam("sortBy", "max")
+            .get()
+        .then()
+            .statusCode(HttpStatus.OK_200)
+            .body("name", equalTo(ImmutableList.of("RemoteDelivery", "SpamAssassin", "All")));
+    }
+
+    @Test
+    void getShouldApplyLimit() {
+        given()
+            .queryParam("limit", 1)
+            .get()
+        .then()
+            .statusCode(HttpStatus.OK_200)
+            .body("name", equalTo(ImmutableList.of("RemoteDelivery")));
+    }
+
+    @Test
+    void getShouldReturnEmptyWhenNoStepMetrics() {
+        steps = ImmutableList.of();
+
+        when()
+            .get()
+        .then()
+            .statusCode(HttpStatus.OK_200)
+            .body(".", hasSize(0));
+    }
+
+    @Test
+    void getShouldRejectInvalidSortBy() {
+        given()
+            .queryParam("sortBy", "invalid")
+            .get()
+        .then()
+            .statusCode(HttpStatus.BAD_REQUEST_400)
+            .body("type", equalTo("InvalidArgument"));
+    }
+
+    @Test
+    void getShouldRejectInvalidLimit() {
+        given()
+            .queryParam("limit", -1)
+            .get()
+        .then()
+            .statusCode(HttpStatus.BAD_REQUEST_400);
+    }
+}
@@ -127,6 +127,12 @@ class ActiveMQMetricCollectorTest {
             return this;
         }
 
+        @Override
+        public GaugeRegistry unregister(String name) {
+            gauges.remove(name);
+            return this;
+        }
+
         @Override
         public <T> SettableGauge<T> settableGauge(String name) {
             return t -> gauges.put(name, () -> t);
@@ -0,0 +1,96 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.queue.memory;
+
+import java.util.Collection;
+import java.util.Optional;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+
+import org.apache.james.core.MailAddress;
+import org.apache.james.core.MaybeSender;
+import org.apache.james.queue.api.MailQueue.MailQueueException;
+import org.apache.james.server.core.MailImpl;
+import org.apache.mailet.Mail;
+
+import com.github.fge.lambdas.Throwing;
+
+/**
+ * Keeps a copy of each enqueued mail on the heap.
+ */
+public class HeapMailStorage implements MailStorage {
+    private static class HeapStoredMail implements StoredMail {
+        private final Mail mail;
+
+        private HeapStoredMail(Mail mail) {
+            this.mail = mail;
+        }
+
+        @Override
+        public String getName() {
+            return mail.getName();
+        }
+
+        @Override
+        public MaybeSender getMaybeSender() {
+            return mail.getMaybeSender();
+        }
+
+        @Override
+        public Collection<MailAddress> getRecipients() {
+            return mail.getRecipients();
+        }
+
+        @Override
+        public Mail read() {
+            return mail;
+        }
+
+        @Override
+        public void release() {
+
+        }
+    }
+
+    @Override
+    public StoredMail store(Mail mail) throws MailQueueException {
+        try {
+            return new HeapStoredMail(cloneMail(mail));
+        } catch (MessagingException e) {
+            throw new MailQueueException("Error while copying mail " + mail.getName(), e);
+        }
+    }
+
+    private Mail cloneMail(Mail mail) throws MessagingException {
+        MailImpl mailImpl = MailImpl.duplicate(mail);
+        mailImpl.setName(mail.getName());
+        mailImpl.setState(mail.getState());
+        mailImpl.addAllSpecificHeaderForRecipient(mail.getPerRecipientSpecificHeaders());
+        Optional.ofNullable(mail.getMessage())
+                .ifPresent(Throwing.consumer(message -> mailImpl.setMessage(new MimeMessage(message))));
+        return mailImpl;
+    }
+
+    @Override
+    public void close() {
+
+    }
+}
@@ -0,0 +1,58 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.queue.memory;
+
+import java.util.Collection;
+
+import org.apache.james.core.MailAddress;
+import org.apache.james.core.MaybeSender;
+import org.apache.james.queue.api.MailQueue.MailQueueException;
+import org.apache.mailet.Mail;
+
+/**
+ * Holds the mails of a {@link MemoryMailQueueFactory.MemoryCacheableMailQueue}.
+ *
+ * The queue only keeps the {@link StoredMail} handles, enabling implementations to keep the mail content out of the
+ * heap.
+ */
+public interface MailStorage extends AutoCloseable {
+    interface StoredMail {
+        String getName();
+
+        MaybeSender getMaybeSender();
+
+        Collection<MailAddress> getRecipients();
+
+        /**
+         * @return the stored mail. Implementations might load it on each call.
+         */
+        Mail read() throws MailQueueException;
+
+        /**
+         * Called once the queue no longer references this mail, allowing its resources to be reclaimed.
+         */
+        void release();
+    }
+
+    StoredMail store(Mail mail) throws MailQueueException;
+
+    @Override
+    void close();
+}
@@ -0,0 +1,49 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.queue.memory;
+
+import java.io.File;
+import java.time.Clock;
+
+import org.apache.james.queue.api.MailQueueFactory;
+import org.apache.james.queue.api.MailQueueItemDecoratorFactory;
+import org.apache.james.queue.api.MailQueueName;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * {@link MailQueueFactory} keeping the content of enqueued mails in memory-mapped segment files (see
+ * {@link MappedMailStorage}), only compact metadata (name, envelope, next delivery) being kept on the heap.
+ *
+ * Queues otherwise behave as the ones of {@link MemoryMailQueueFactory}: content does not survive a restart. This
+ * allows absorbing bursts of incoming mails without requiring a heap sized after the queue depth.
+ */
+public class MappedMailQueueFactory extends MemoryMailQueueFactory {
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    public MappedMailQueueFactory(MailQueueItemDecoratorFactory mailQueueItemDecoratorFactory, Clock clock, File directory, int segmentSize) {
+        super(mailQueueItemDecoratorFactory, clock, name -> new MappedMailStorage(name.asString(), new File(directory, directoryName(name)), segmentSize));
+        Preconditions.checkArgument(segmentSize > 0, "'segmentSize' needs to be strictly positive");
+    }
+
+    private static String directoryName(MailQueueName name) {
+        return name.asString().replaceAll("[^a-zA-Z0-9._-]", "_");
+    }
+}
@@ -0,0 +1,197 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.queue.memory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+
+import jakarta.mail.MessagingException;
+
+import org.apache.james.core.MailAddress;
+import org.apache.james.core.MaybeSender;
+import org.apache.james.queue.api.MailQueue.MailQueueException;
+import org.apache.james.server.core.MailImpl;
+import org.apache.james.server.core.MimeMessageSource;
+import org.apache.james.server.core.MimeMessageWrapper;
+import org.apache.mailet.Mail;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Keeps enqueued mails in memory-mapped segment files, only their envelope summary (name, sender, recipients) being
+ * kept on the heap.
+ *
+ * Mails are streamed into the mapping and read back lazily: the MIME content is exposed through a
+ * {@link MimeMessageWrapper} over the mapped region, and is only parsed when accessed.
+ */
+public class MappedMailStorage implements MailStorage {
+    private static final int NO_MESSAGE = -1;
+    private static final long ENVELOPE_SIZE_ESTIMATE = 4096;
+
+    private class MappedStoredMail implements StoredMail {
+        private final MappedSegments.Record record;
+        private final String name;
+        private final MaybeSender sender;
+        private final Collection<MailAddress> recipients;
+
+        private MappedStoredMail(MappedSegments.Record record, Mail mail) {
+            this.record = record;
+            this.name = mail.getName();
+            this.sender = mail.getMaybeSender();
+            this.recipients = ImmutableList.copyOf(mail.getRecipients());
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public MaybeSender getMaybeSender() {
+            return sender;
+        }
+
+        @Override
+        public Collection<MailAddress> getRecipients() {
+            return recipients;
+        }
+
+        @Override
+        public Mail read() throws MailQueueException {
+            try {
+                return deserialize(record);
+            } catch (IOException | MessagingException | ClassNotFoundException e) {
+                throw new MailQueueException("Cannot read mail " + name + " from " + record.id(), e);
+            }
+        }
+
+        @Override
+        public void release() {
+            segments.release(record);
+        }
+    }
+
+    private final String sourceIdPrefix;
+    private final MappedSegments segments;
+
+    public MappedMailStorage(String sourceIdPrefix, File directory, int segmentSize) {
+        this.sourceIdPrefix = sourceIdPrefix;
+        this.segments = new MappedSegments(directory, segmentSize);
+    }
+
+    @Override
+    public StoredMail store(Mail mail) throws MailQueueException {
+        try {
+            MappedSegments.Record record = segments.append(output -> serialize(mail, output), sizeHint(mail));
+            return new MappedStoredMail(record, mail);
+        } catch (IOException | MessagingException e) {
+            throw new MailQueueException("Error while storing mail " + mail.getName(), e);
+        }
+    }
+
+    private long sizeHint(Mail mail) throws MessagingException {
+        return ENVELOPE_SIZE_ESTIMATE + Math.max(mail.getMessageSize(), 0);
+    }
+
+    /**
+     * Layout: envelope length (int), serialized envelope, message length (int, -1 when absent), message.
+     */
+    private void serialize(Mail mail, MappedSegments.RecordOutputStream output) throws IOException {
+        try {
+            MailImpl envelope = MailImpl.duplicateWithoutMessage(mail).build();
+            envelope.setName(mail.getName());
+            envelope.setState(mail.getState());
+            envelope.addAllSpecificHeaderForRecipient(mail.getPerRecipientSpecificHeaders());
+
+            int envelopeLengthOffset = output.reserveInt();
+            ObjectOutputStream objectOutput = new ObjectOutputStream(output);
+            objectOutput.writeObject(envelope);
+            objectOutput.flush();
+            output.putInt(envelopeLengthOffset, output.written() - envelopeLengthOffset - Integer.BYTES);
+
+            int messageLengthOffset = output.reserveInt();
+            if (mail.getMessage() == null) {
+                output.putInt(messageLengthOffset, NO_MESSAGE);
+                return;
+            }
+            mail.getMessage().writeTo(output);
+            output.putInt(messageLengthOffset, output.written() - messageLengthOffset - Integer.BYTES);
+        } catch (MessagingException e) {
+            throw new IOException("Cannot serialize mail " + mail.getName(), e);
+        }
+    }
+
+    private Mail deserialize(MappedSegments.Record record) throws IOException, MessagingException, ClassNotFoundException {
+        ByteBuffer content = record.content();
+        int envelopeLength = content.getInt(0);
+        MailImpl mail;
+        try (ObjectInputStream in = new ObjectInputStream(new MappedSegments.ByteBufferInputStream(content.slice(Integer.BYTES, envelopeLength)))) {
+            mail = (MailImpl) in.readObject();
+        }
+        int messageOffset = Integer.BYTES + envelopeLength;
+        int messageLength = content.getInt(messageOffset);
+        if (messageLength != NO_MESSAGE) {
+            ByteBuffer message = content.slice(messageOffset + Integer.BYTES, messageLength);
+            mail.setMessage(new MimeMessageWrapper(new MappedMimeMessageSource(sourceIdPrefix + ":" + record.id(), message)));
+        }
+        return mail;
+    }
+
+    @VisibleForTesting
+    int segmentCount() {
+        return segments.segmentCount();
+    }
+
+    @Override
+    public void close() {
+        segments.close();
+    }
+
+    private static class MappedMimeMessageSource implements MimeMessageSource {
+        private final String sourceId;
+        private final ByteBuffer content;
+
+        private MappedMimeMessageSource(String sourceId, ByteBuffer content) {
+            this.sourceId = sourceId;
+            this.content = content;
+        }
+
+        @Override
+        public String getSourceId() {
+            return sourceId;
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return new MappedSegments.ByteBufferInputStream(content.duplicate());
+        }
+
+        @Override
+        public long getMessageSize() {
+            return content.remaining();
+        }
+    }
+}
@@ -0,0 +1,395 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.queue.memory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+
+/**
+ * Append only storage of records within memory-mapped segment files.
+ *
+ * Records are streamed into the current segment until it is full, a new segment is then started. A segment file
+ * is deleted once all of its records had been released, letting the operating system reclaim both the disk
+ * space and the page cache once the mapping is garbage collected.
+ *
+ * Sealed segments whose live content falls under {@link #COMPACTION_THRESHOLD} of their capacity are compacted:
+ * their remaining records are copied to the current segment and the segment is deleted. A few long-delayed records
+ * hence do not retain whole segments. Readers holding the content of a relocated record keep reading the former
+ * mapping, which stays valid until it is garbage collected.
+ *
+ * Appends are serialized, the record being written while holding the lock.
+ *
+ * Content is not expected to survive a restart: leftover segments are deleted upon creation.
+ */
+class MappedSegments implements AutoCloseable {
+    static final double COMPACTION_THRESHOLD = 0.25;
+
+    @FunctionalInterface
+    interface RecordWriter {
+        void write(RecordOutputStream output) throws IOException;
+    }
+
+    static class Record {
+        private volatile Location location;
+        private final int length;
+
+        private Record(Location location, int length) {
+            this.location = location;
+            this.length = length;
+        }
+
+        ByteBuffer content() {
+            Location current = location;
+            return current.segment.buffer.slice(current.offset, length);
+        }
+
+        int length() {
+            return length;
+        }
+
+        String id() {
+            Location current = location;
+            return current.segment.file.getName() + ":" + current.offset;
+        }
+    }
+
+    private static class Location {
+        private final Segment segment;
+        private final int offset;
+
+        private Location(Segment segment, int offset) {
+            this.segment = segment;
+            this.offset = offset;
+        }
+    }
+
+    private static class Segment {
+        private final File file;
+        private final MappedByteBuffer buffer;
+        private final Set<Record> records;
+        private int position;
+        private long liveBytes;
+        private boolean sealed;
+
+        private Segment(File file, MappedByteBuffer buffer) {
+            this.file = file;
+            this.buffer = buffer;
+            this.records = new LinkedHashSet<>();
+            this.position = 0;
+            this.liveBytes = 0;
+            this.sealed = false;
+        }
+
+        private boolean fits(long length) {
+            return buffer.capacity() - position >= length;
+        }
+
+        private boolean isSparse() {
+            return liveBytes < buffer.capacity() * COMPACTION_THRESHOLD;
+        }
+    }
+
+    /**
+     * Writes straight into the mapping, failing with a {@link SegmentOverflowException} once the segment is full.
+     */
+    static class RecordOutputStream extends OutputStream {
+        private final ByteBuffer buffer;
+        private final int start;
+        private int position;
+        private boolean overflowed;
+
+        private RecordOutputStream(ByteBuffer buffer, int start) {
+            this.buffer = buffer;
+            this.start = start;
+            this.position = start;
+            this.overflowed = false;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            ensureCapacity(1);
+            buffer.put(position, (byte) b);
+            position++;
+        }
+
+        @Override
+        public void write(byte[] bytes, int off, int len) throws IOException {
+            ensureCapacity(len);
+            buffer.put(position, bytes, off, len);
+            position += len;
+        }
+
+        /**
+         * @return the offset, relative to the record start, of the reserved int
+         */
+        int reserveInt() throws IOException {
+            int offset = written();
+            ensureCapacity(Integer.BYTES);
+            position += Integer.BYTES;
+            return offset;
+        }
+
+        void putInt(int offset, int value) {
+            buffer.putInt(start + offset, value);
+        }
+
+        int written() {
+            return position - start;
+        }
+
+        private void ensureCapacity(int length) throws SegmentOverflowException {
+            if (buffer.capacity() - position < length) {
+                overflowed = true;
+                throw new SegmentOverflowException();
+            }
+        }
+    }
+
+    static class SegmentOverflowException extends IOException {
+        SegmentOverflowException() {
+            super("Mail queue segment is full");
+        }
+    }
+
+    static class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            return buffer.get() & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] bytes, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int read = Math.min(len, buffer.remaining());
+            buffer.get(bytes, off, read);
+            return read;
+        }
+
+        @Override
+        public long skip(long n) {
+            int skipped = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MappedSegments.class);
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".dat";
+
+    private final File directory;
+    private final int segmentSize;
+    private final List<Segment> segments;
+    private Optional<Segment> current;
+    private long nextSegmentId;
+
+    MappedSegments(File directory, int segmentSize) {
+        Preconditions.checkArgument(segmentSize > 0, "'segmentSize' needs to be strictly positive");
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.segments = new ArrayList<>();
+        this.current = Optional.empty();
+        this.nextSegmentId = 0;
+        try {
+            Files.createDirectories(directory.toPath());
+            deleteLeftoverSegments();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot prepare mail queue segment directory " + directory.getAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * Streams a record into the current segment. Should the record not fit, the write is restarted in a new segment,
+     * sized after the expected length when larger than the default segment size.
+     *
+     * @param sizeHint expected length of the record, used to pick a segment able to hold it
+     */
+    synchronized Record append(RecordWriter writer, long sizeHint) throws IOException {
+        long expectedLength = Math.max(sizeHint, 1);
+        while (true) {
+            Segment segment = segmentFor(expectedLength);
+            RecordOutputStream output = new RecordOutputStream(segment.buffer, segment.position);
+            try {
+                writer.write(output);
+                return register(segment, output.start, output.written());
+            } catch (IOException e) {
+                if (!output.overflowed) {
+                    throw e;
+                }
+                // The record is bigger than what is left in this segment: start over in a segment able to hold it
+                expectedLength = Math.max(expectedLength * 2, segment.buffer.capacity() - output.start + 1L);
+            }
+        }
+    }
+
+    synchronized void release(Record record) {
+        Segment segment = record.location.segment;
+        if (!segment.records.remove(record)) {
+            return;
+        }
+        segment.liveBytes -= record.length;
+        if (!segment.sealed) {
+            return;
+        }
+        if (segment.records.isEmpty()) {
+            delete(segment);
+        } else if (segment.isSparse()) {
+            compact(segment);
+        }
+    }
+
+    @VisibleForTesting
+    synchronized int segmentCount() {
+        return segments.size();
+    }
+
+    @Override
+    public synchronized void close() {
+        new ArrayList<>(segments).forEach(this::delete);
+        current = Optional.empty();
+    }
+
+    private Record register(Segment segment, int offset, int length) {
+        segment.position = offset + length;
+        Record record = new Record(new Location(segment, offset), length);
+        track(segment, record);
+        return record;
+    }
+
+    private void track(Segment segment, Record record) {
+        segment.records.add(record);
+        segment.liveBytes += record.length;
+    }
+
+    private void compact(Segment sparseSegment) {
+        try {
+            for (Record record : new ArrayList<>(sparseSegment.records)) {
+                Segment target = segmentFor(record.length);
+                int offset = target.position;
+                target.buffer.put(offset, sparseSegment.buffer, record.location.offset, record.length);
+                target.position = offset + record.length;
+                record.location = new Location(target, offset);
+                track(target, record);
+                sparseSegment.records.remove(record);
+                sparseSegment.liveBytes -= record.length;
+            }
+            delete(sparseSegment);
+        } catch (IOException e) {
+            LOGGER.warn("Could not compact mail queue segment {}", sparseSegment.file.getAbsolutePath(), e);
+        }
+    }
+
+    private Segment segmentFor(long length) throws IOException {
+        Optional<Segment> fitting = current.filter(segment -> segment.fits(length));
+        if (fitting.isPresent()) {
+            return fitting.get();
+        }
+        current.ifPresent(this::seal);
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException("Mail queue records are limited to " + Integer.MAX_VALUE + " bytes");
+        }
+        Segment segment = newSegment((int) Math.max(length, segmentSize));
+        current = Optional.of(segment);
+        return segment;
+    }
+
+    private void seal(Segment segment) {
+        segment.sealed = true;
+        if (segment.records.isEmpty()) {
+            delete(segment);
+        }
+    }
+
+    private Segment newSegment(int size) throws IOException {
+        File file = new File(directory, SEGMENT_PREFIX + nextSegmentId++ + SEGMENT_SUFFIX);
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            Segment segment = new Segment(file, buffer);
+            segments.add(segment);
+            return segment;
+        }
+    }
+
+    private void delete(Segment segment) {
+        segments.remove(segment);
+        if (current.map(segment::equals).orElse(false)) {
+            current = Optional.empty();
+        }
+        try {
+            // The mapping itself is released once the buffer gets garbage collected
+            Files.deleteIfExists(segment.file.toPath());
+        } catch (IOException e) {
+            LOGGER.warn("Could not delete mail queue segment {}", segment.file.getAbsolutePath(), e);
+        }
+    }
+
+    private void deleteLeftoverSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory.toPath())) {
+            files.filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                .forEach(path -> {
+                    try {
+                        Files.deleteIfExists(path);
+                    } catch (IOException e) {
+                        LOGGER.warn("Could not delete leftover mail queue segment {}", path, e);
+                    }
+                });
+        }
+    }
+}
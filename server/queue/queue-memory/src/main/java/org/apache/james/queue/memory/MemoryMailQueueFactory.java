@@ -27,6 +27,7 @@ import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.Optional;
 import java.util.Set;
@@ -36,21 +37,20 @@ import java.util.concurrent.Delayed;
 import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 import jakarta.annotation.PreDestroy;
 import jakarta.inject.Inject;
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
 
 import org.apache.commons.lang3.NotImplementedException;
 import org.apache.james.core.MailAddress;
+import org.apache.james.core.MaybeSender;
 import org.apache.james.lifecycle.api.LifecycleUtil;
 import org.apache.james.queue.api.MailQueue;
 import org.apache.james.queue.api.MailQueueFactory;
 import org.apache.james.queue.api.MailQueueItemDecoratorFactory;
 import org.apache.james.queue.api.MailQueueName;
 import org.apache.james.queue.api.ManageableMailQueue;
-import org.apache.james.server.core.MailImpl;
 import org.apache.mailet.Mail;
 import org.reactivestreams.Publisher;
 import org.threeten.extra.Temporals;
@@ -71,12 +71,19 @@ public class MemoryMailQueueFactory implements MailQueueFactory<MemoryMailQueueF
     private final ConcurrentHashMap<MailQueueName, MemoryCacheableMailQueue> mailQueues;
     private final MailQueueItemDecoratorFactory mailQueueItemDecoratorFactory;
     private final Clock clock;
+    private final Function<MailQueueName, MailStorage> mailStorageFactory;
 
     @Inject
     public MemoryMailQueueFactory(MailQueueItemDecoratorFactory mailQueueItemDecoratorFactory, Clock clock) {
+        this(mailQueueItemDecoratorFactory, clock, any -> new HeapMailStorage());
+    }
+
+    protected MemoryMailQueueFactory(MailQueueItemDecoratorFactory mailQueueItemDecoratorFactory, Clock clock,
+                                     Function<MailQueueName, MailStorage> mailStorageFactory) {
         this.mailQueues = new ConcurrentHashMap<>();
         this.mailQueueItemDecoratorFactory = mailQueueItemDecoratorFactory;
         this.clock = clock;
+        this.mailStorageFactory = mailStorageFactory;
     }
 
     public MemoryMailQueueFactory(MailQueueItemDecoratorFactory mailQueueItemDecoratorFactory) {
@@ -85,6 +92,7 @@ public class MemoryMailQueueFactory implements MailQueueFactory<MemoryMailQueueF
 
     @PreDestroy
     public void clean() {
+        mailQueues.values().forEach(MemoryCacheableMailQueue::dispose);
         mailQueues.clear();
     }
 
@@ -105,7 +113,7 @@ public class MemoryMailQueueFactory implements MailQueueFactory<MemoryMailQueueF
 
     @Override
     public MemoryCacheableMailQueue createQueue(MailQueueName name, PrefetchCount prefetchCount) {
-        MemoryCacheableMailQueue queue = mailQueues.computeIfAbsent(name, mailQueueName -> new MemoryCacheableMailQueue(mailQueueName, mailQueueItemDecoratorFactory, clock));
+        MemoryCacheableMailQueue queue = mailQueues.computeIfAbsent(name, mailQueueName -> new MemoryCacheableMailQueue(mailQueueName, mailQueueItemDecoratorFactory, clock, mailStorageFactory.apply(mailQueueName)));
         queue.reference();
         return queue;
     }
@@ -118,9 +126,15 @@ public class MemoryMailQueueFactory implements MailQueueFactory<MemoryMailQueueF
         private final Flux<MailQueueItem> flux;
         private final Scheduler scheduler;
         private final Clock clock;
+        private final MailStorage mailStorage;
 
         public MemoryCacheableMailQueue(MailQueueName name, MailQueueItemDecoratorFactory mailQueueItemDecoratorFactory, Clock clock) {
+            this(name, mailQueueItemDecoratorFactory, clock, new HeapMailStorage());
+        }
+
+        public MemoryCacheableMailQueue(MailQueueName name, MailQueueItemDecoratorFactory mailQueueItemDecoratorFactory, Clock clock, MailStorage mailStorage) {
             this.clock = clock;
+            this.mailStorage = mailStorage;
             this.mailItems = new DelayQueue<>();
             this.inProcessingMailItems = new LinkedBlockingDeque<>();
             this.name = name;
@@ -148,15 +162,20 @@ public class MemoryMailQueueFactory implements MailQueueFactory<MemoryMailQueueF
         @Override
         public void close() {
             if (references.decrementAndGet() <= 0) {
-                this.scheduler.dispose();
-
-                mailItems.forEach(LifecycleUtil::dispose);
-                inProcessingMailItems.forEach(LifecycleUtil::dispose);
-                mailItems.clear();
-                inProcessingMailItems.clear();
+                dispose();
             }
         }
 
+        void dispose() {
+            this.scheduler.dispose();
+
+            mailItems.forEach(LifecycleUtil::dispose);
+            inProcessingMailItems.forEach(LifecycleUtil::dispose);
+            mailItems.clear();
+            inProcessingMailItems.clear();
+            mailStorage.close();
+        }
+
         @Override
         public MailQueueName getName() {
             return name;
@@ -165,11 +184,7 @@ public class MemoryMailQueueFactory implements MailQueueFactory<MemoryMailQueueF
         @Override
         public void enQueue(Mail mail, Duration delay) throws MailQueueException {
             ZonedDateTime nextDelivery = calculateNextDelivery(delay);
-            try {
-                mailItems.put(new MemoryMailQueueItem(cloneMail(mail), this, clock, nextDelivery));
-            } catch (MessagingException e) {
-                throw new MailQueueException("Error while copying mail " + mail.getName(), e);
-            }
+            mailItems.put(new MemoryMailQueueItem(mailStorage.store(mail), this, clock, nextDelivery));
         }
 
         @Override
@@ -194,16 +209,6 @@ public class MemoryMailQueueFactory implements MailQueueFactory<MemoryMailQueueF
             enQueue(mail, 0, TimeUnit.SECONDS);
         }
 
-        private Mail cloneMail(Mail mail) throws MessagingException {
-            MailImpl mailImpl = MailImpl.duplicate(mail);
-            mailImpl.setName(mail.getName());
-            mailImpl.setState(mail.getState());
-            mailImpl.addAllSpecificHeaderForRecipient(mail.getPerRecipientSpecificHeaders());
-            Optional.ofNullable(mail.getMessage())
-                    .ifPresent(Throwing.consumer(message -> mailImpl.setMessage(new MimeMessage(message))));
-            return mailImpl;
-        }
-
         @Override
         public Flux<MailQueueItem> deQueue() {
             return flux;
@@ -223,11 +228,11 @@ public class MemoryMailQueueFactory implements MailQueueFactory<MemoryMailQueueF
         }
 
         @Override
-        public long flush() throws MailQueueException {
+        public long flush() {
             int count = 0;
             for (MemoryMailQueueItem item: mailItems) {
                 if (mailItems.remove(item)) {
-                    enQueue(item.getMail());
+                    mailItems.put(item.deliverNow());
                     count += 1;
                 }
             }
@@ -236,30 +241,49 @@ public class MemoryMailQueueFactory implements MailQueueFactory<MemoryMailQueueF
 
         @Override
         public long clear() {
-            int size = mailItems.size();
-            mailItems.clear();
-            return size;
+            int count = 0;
+            for (MemoryMailQueueItem item: mailItems) {
+                if (mailItems.remove(item)) {
+                    item.storedMail.release();
+                    count += 1;
+                }
+            }
+            return count;
         }
 
         @Override
         public long remove(Type type, String value) {
             ImmutableList<MemoryMailQueueItem> toBeRemoved = mailItems.stream()
-                .filter(item -> shouldRemove(item, type, value))
+                .filter(item -> shouldRemove(item.storedMail, type, value))
                 .collect(ImmutableList.toImmutableList());
-            toBeRemoved.forEach(mailItems::remove);
-            return toBeRemoved.size();
+            int count = 0;
+            for (MemoryMailQueueItem item: toBeRemoved) {
+                if (mailItems.remove(item)) {
+                    item.storedMail.release();
+                    count += 1;
+                }
+            }
+            return count;
         }
 
         public boolean shouldRemove(MailQueueItem item, Type type, String value) {
+            return shouldRemove(item.getMail().getName(), item.getMail().getMaybeSender(), item.getMail().getRecipients(), type, value);
+        }
+
+        private boolean shouldRemove(MailStorage.StoredMail storedMail, Type type, String value) {
+            return shouldRemove(storedMail.getName(), storedMail.getMaybeSender(), storedMail.getRecipients(), type, value);
+        }
+
+        private boolean shouldRemove(String mailName, MaybeSender sender, Collection<MailAddress> recipients, Type type, String value) {
             switch (type) {
                 case Name:
-                    return item.getMail().getName().equals(value);
+                    return mailName.equals(value);
                 case Recipient:
-                    return item.getMail().getRecipients().stream()
+                    return recipients.stream()
                         .map(MailAddress::asString)
                         .anyMatch(value::equals);
                 case Sender:
-                    return item.getMail().getMaybeSender()
+                    return sender
                         .asString()
                         .equals(value);
                 default:
@@ -269,14 +293,16 @@ public class MemoryMailQueueFactory implements MailQueueFactory<MemoryMailQueueF
 
         private void markProcessingAsFinished(MemoryMailQueueItem item) {
             inProcessingMailItems.remove(item);
+            item.storedMail.release();
         }
 
         @Override
-        public MailQueueIterator browse() {
-            Iterator<DefaultMailQueueItemView> underlying = ImmutableList.copyOf(mailItems)
-                .stream()
-                .map(item -> new DefaultMailQueueItemView(item.getMail(), item.delivery))
-                .iterator();
+        public MailQueueIterator browse() throws MailQueueException {
+            ImmutableList.Builder<DefaultMailQueueItemView> views = ImmutableList.builder();
+            for (MemoryMailQueueItem item : ImmutableList.copyOf(mailItems)) {
+                views.add(new DefaultMailQueueItemView(item.storedMail.read(), item.delivery));
+            }
+            Iterator<DefaultMailQueueItemView> underlying = views.build().iterator();
 
             return new MailQueueIterator() {
                 @Override
@@ -314,29 +340,41 @@ public class MemoryMailQueueFactory implements MailQueueFactory<MemoryMailQueueF
     }
 
     public static class MemoryMailQueueItem implements MailQueue.MailQueueItem, Delayed {
-        private final Mail mail;
+        private final MailStorage.StoredMail storedMail;
         private final MemoryCacheableMailQueue queue;
         private final Clock clock;
         private final ZonedDateTime delivery;
+        private Mail mail;
 
-        public MemoryMailQueueItem(Mail mail, MemoryCacheableMailQueue queue, Clock clock, ZonedDateTime delivery) {
-            this.mail = mail;
+        public MemoryMailQueueItem(MailStorage.StoredMail storedMail, MemoryCacheableMailQueue queue, Clock clock, ZonedDateTime delivery) {
+            this.storedMail = storedMail;
             this.queue = queue;
             this.clock = clock;
             this.delivery = delivery;
         }
 
         @Override
-        public Mail getMail() {
+        public synchronized Mail getMail() {
+            if (mail == null) {
+                try {
+                    mail = storedMail.read();
+                } catch (MailQueue.MailQueueException e) {
+                    throw new IllegalStateException("Cannot read mail " + storedMail.getName(), e);
+                }
+            }
             return mail;
         }
 
+        private MemoryMailQueueItem deliverNow() {
+            return new MemoryMailQueueItem(storedMail, queue, clock, ZonedDateTime.now(clock));
+        }
+
         @Override
         public void done(CompletionStatus success) throws MailQueue.MailQueueException {
-            queue.markProcessingAsFinished(this);
             if (success == CompletionStatus.RETRY) {
-                queue.enQueue(mail);
+                queue.enQueue(getMail());
             }
+            queue.markProcessingAsFinished(this);
         }
 
         @Override
@@ -0,0 +1,163 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.queue.memory;
+
+import static org.apache.james.queue.api.Mails.defaultMail;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.james.core.builder.MimeMessageBuilder;
+import org.apache.james.queue.api.DelayedManageableMailQueueContract;
+import org.apache.james.queue.api.MailQueue;
+import org.apache.james.queue.api.MailQueueName;
+import org.apache.james.queue.api.ManageableMailQueue;
+import org.apache.james.queue.api.RawMailQueueItemDecoratorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import reactor.core.publisher.Flux;
+
+public class MappedMailQueueTest implements DelayedManageableMailQueueContract {
+    private static final int SEGMENT_SIZE = 16 * 1024;
+
+    @TempDir
+    File directory;
+
+    private MappedMailStorage storage;
+    private MemoryMailQueueFactory.MemoryCacheableMailQueue mailQueue;
+
+    @BeforeEach
+    public void setUp() {
+        storage = new MappedMailStorage("test", directory, SEGMENT_SIZE);
+        mailQueue = new MemoryMailQueueFactory.MemoryCacheableMailQueue(MailQueueName.of("test"), new RawMailQueueItemDecoratorFactory(),
+            Clock.systemUTC(), storage);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        mailQueue.close();
+    }
+
+    @Override
+    public MailQueue getMailQueue() {
+        return mailQueue;
+    }
+
+    @Override
+    public ManageableMailQueue getManageableMailQueue() {
+        return mailQueue;
+    }
+
+    @Test
+    public void segmentsShouldBeDeletedOnceTheirMailsAreProcessed() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            mailQueue.enQueue(defaultMail()
+                .name("name" + i)
+                .build());
+        }
+        assertThat(storage.segmentCount()).isGreaterThan(1);
+
+        Flux.from(mailQueue.deQueue())
+            .take(20)
+            .doOnNext(item -> {
+                try {
+                    item.done(MailQueue.MailQueueItem.CompletionStatus.SUCCESS);
+                } catch (MailQueue.MailQueueException e) {
+                    throw new RuntimeException(e);
+                }
+            })
+            .blockLast();
+
+        assertThat(storage.segmentCount()).isLessThanOrEqualTo(1);
+        assertThat(directory.listFiles()).hasSizeLessThanOrEqualTo(1);
+    }
+
+    @Test
+    public void sparseSegmentsShouldBeCompacted() throws Exception {
+        mailQueue.enQueue(defaultMail()
+            .name("delayed")
+            .build(), 1, TimeUnit.HOURS);
+        for (int i = 0; i < 20; i++) {
+            mailQueue.enQueue(defaultMail()
+                .name("name" + i)
+                .build());
+        }
+        assertThat(storage.segmentCount()).isGreaterThan(1);
+
+        Flux.from(mailQueue.deQueue())
+            .take(20)
+            .doOnNext(item -> {
+                try {
+                    item.done(MailQueue.MailQueueItem.CompletionStatus.SUCCESS);
+                } catch (MailQueue.MailQueueException e) {
+                    throw new RuntimeException(e);
+                }
+            })
+            .blockLast();
+
+        assertThat(storage.segmentCount()).isLessThanOrEqualTo(1);
+        assertThat(mailQueue.browse()).toIterable()
+            .extracting(view -> view.getMail().getName())
+            .containsOnly("delayed");
+        assertThat(mailQueue.browse().next().getMail().getMessage().getHeader("testheader")).containsExactly("testvalue");
+    }
+
+    @Test
+    public void clearShouldDeleteSegments() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            mailQueue.enQueue(defaultMail()
+                .name("name" + i)
+                .build(), 1, TimeUnit.HOURS);
+        }
+
+        mailQueue.clear();
+
+        assertThat(storage.segmentCount()).isLessThanOrEqualTo(1);
+    }
+
+    @Test
+    public void closeShouldDeleteSegments() throws Exception {
+        mailQueue.enQueue(defaultMail()
+            .name("name")
+            .build());
+
+        mailQueue.close();
+
+        assertThat(directory.listFiles()).isEmpty();
+    }
+
+    @Test
+    public void mailsLargerThanASegmentShouldBeEnqueued() throws Exception {
+        mailQueue.enQueue(defaultMail()
+            .name("name")
+            .mimeMessage(MimeMessageBuilder.mimeMessageBuilder()
+                .setText("a".repeat(4 * SEGMENT_SIZE)))
+            .build());
+
+        MailQueue.MailQueueItem item = Flux.from(mailQueue.deQueue()).blockFirst();
+
+        assertThat(item.getMail().getMessage().getContent().toString()).hasSize(4 * SEGMENT_SIZE);
+    }
+}
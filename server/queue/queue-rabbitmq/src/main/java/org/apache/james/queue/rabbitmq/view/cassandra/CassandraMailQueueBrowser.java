@@ -101,7 +101,7 @@ public class CassandraMailQueueBrowser {
         this.browseStartDao = browseStartDao;
         this.deletedMailsDao = deletedMailsDao;
         this.enqueuedMailsDao = enqueuedMailsDao;
-        this.mimeMessageStore = mimeMessageStoreFactory.mimeMessageStore();
+        this.mimeMessageStore = mimeMessageStoreFactory.lazyMimeMessageStore();
         this.configuration = configuration;
         this.clock = clock;
     }